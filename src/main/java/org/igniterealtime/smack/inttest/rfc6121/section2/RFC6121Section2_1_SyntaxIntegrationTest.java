@@ -5,6 +5,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.ResultSyncPoint;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.*;
@@ -53,6 +54,7 @@ public class RFC6121Section2_1_SyntaxIntegrationTest extends AbstractSmackIntegr
     public void testRosterSetWithInvalidSubscriptionAttribute() throws XmppStringprepException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, XMPPException.XMPPErrorException, SmackException.NotLoggedInException, TimeoutException
     {
         // Setup test fixture
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final SimpleIQ request = new SimpleIQ(RosterPacket.ELEMENT, RosterPacket.NAMESPACE) { // Smack's RosterPacket doesn't allow us to set the same multiple items.
@@ -82,10 +84,12 @@ public class RFC6121Section2_1_SyntaxIntegrationTest extends AbstractSmackIntegr
         rosterOne.addRosterListener(rosterListener);
 
         // Execute system under test
+        Phases.execute();
         try {
             final IQ result = conOne.sendIqRequestAndWaitForResponse(request); // After receiving the result, the expected roster push can still be being processed by Smack (possibly even if it was received earlier)! Don't expect roster.getEntry() to reliably result the entry that was added. Use a roster event listener instead.
 
             // Verify result
+            Phases.verify();
             assertEquals(IQ.Type.result, result.getType(), "Unexpected response type received by '" + conOne.getUser() + "' after it sent a Roster Set that included a subscription attribute with a value of 'both'. It was expected that the server would ignore this value.");
             final RosterEntry entry = assertResult(targetFoundOnRoster, "Expected the roster of '" + conOne.getUser() + "' to have received a push for '" + target + "', even if it was added with an invalid subscription attribute. The expectation is for the server to ignore this value. However, the roster entry was not found.");
             assertNotNull(entry, "Expected the roster of '" + conOne.getUser() + "' to contain an entry for '" + target + "', even if it was added with an invalid subscription attribute. The expectation is for the server to ignore this value. However, the roster entry was not found.");
@@ -94,6 +98,7 @@ public class RFC6121Section2_1_SyntaxIntegrationTest extends AbstractSmackIntegr
             fail("Unexpected response type received by '" + conOne.getUser() + "' after it sent a Roster Set that included a subscription attribute with a value of 'both'. It was expected that the server would ignore this value (instead, an error was received): " + e.getStanzaError());
         } finally {
             // Tear down test fixture
+            Phases.teardown();
             rosterOne.removeRosterListener(rosterListener);
             final Roster roster = Roster.getInstanceFor(conOne);
             final RosterEntry entry = roster.getEntry(target);
@@ -107,6 +112,7 @@ public class RFC6121Section2_1_SyntaxIntegrationTest extends AbstractSmackIntegr
     public void testRosterSetWithIrregularSubscriptionAttribute() throws Exception
     {
         // Setup test fixture
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final SimpleIQ request = new SimpleIQ(RosterPacket.ELEMENT, RosterPacket.NAMESPACE) { // Smack's RosterPacket doesn't allow us to set the same multiple items.
@@ -149,6 +155,7 @@ public class RFC6121Section2_1_SyntaxIntegrationTest extends AbstractSmackIntegr
         rosterOne.addRosterListener(rosterListener);
 
         // Execute system under test
+        Phases.execute();
         try {
             final SmackFuture<IQ, Exception> iqExceptionSmackFuture = conOne.sendIqRequestAsync(request);
             iqExceptionSmackFuture.onCompletion(r -> {
@@ -160,6 +167,7 @@ public class RFC6121Section2_1_SyntaxIntegrationTest extends AbstractSmackIntegr
             syncPoint.waitForResult(timeout);
 
             // Verify result
+            Phases.verify();
             if (unparsableData[0] != null) {
                 throw new TestNotPossibleException("Smack was unable to parse the data sent by the server: " + unparsableData[0].getContent());
             } else if (exception[0] != null) {
@@ -172,6 +180,7 @@ public class RFC6121Section2_1_SyntaxIntegrationTest extends AbstractSmackIntegr
             }
         } finally {
             // Tear down test fixture
+            Phases.teardown();
             ((AbstractXMPPConnection) conOne).setParsingExceptionCallback(oldParsingExceptionCallback);
 
             rosterOne.removeRosterListener(rosterListener);
@@ -186,6 +195,7 @@ public class RFC6121Section2_1_SyntaxIntegrationTest extends AbstractSmackIntegr
     public void testRosterSetAddressedToDifferentUser() throws XmppStringprepException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, SmackException.NotLoggedInException, InterruptedException
     {
         // Setup test fixture
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final RosterPacket request = new RosterPacket();
@@ -195,11 +205,13 @@ public class RFC6121Section2_1_SyntaxIntegrationTest extends AbstractSmackIntegr
 
         try {
             // Execute system under test / verify result
+            Phases.execute();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> conOne.sendIqRequestAndWaitForResponse(request),
                 "Expected user '" + conOne.getUser() + "' to receive an error in response to the Roster Set stanza that it sent that was addressed to '" + request.getTo() + "' (where it is assumed that '" + conOne.getUser().asBareJid() + "' is not authorized to update the roster of '" + request.getTo().asBareJid() + "') but the server did not return an error.");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conOne.getUser() + "' after it sent a Roster Set that was addressed to '" + request.getTo() + "' (where it is assumed that '" + conOne.getUser().asBareJid() + "' is not authorized to update the roster of '" + request.getTo().asBareJid() + "'");
         } finally {
             // Tear down test fixture
+            Phases.teardown();
             final Roster rosterOne = Roster.getInstanceFor(conOne);
             final RosterEntry entryA = rosterOne.getEntry(target);
             if (entryA != null) {
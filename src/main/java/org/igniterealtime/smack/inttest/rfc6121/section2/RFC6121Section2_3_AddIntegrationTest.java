@@ -6,6 +6,7 @@ import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
 import org.igniterealtime.smack.inttest.util.AccountUtilities;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.*;
 import org.jivesoftware.smack.packet.*;
@@ -63,6 +64,7 @@ public class RFC6121Section2_3_AddIntegrationTest extends AbstractSmackIntegrati
     public void testRosterSetResult() throws XmppStringprepException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, SmackException.NotLoggedInException
     {
         // Setup test fixture
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
         final String rosterItemName = "Test User";
         final String rosterItemGroupName = "Test Group";
@@ -74,15 +76,18 @@ public class RFC6121Section2_3_AddIntegrationTest extends AbstractSmackIntegrati
         request.addRosterItem(item);
 
         // Execute system under test
+        Phases.execute();
         try {
             final IQ result = conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result
+            Phases.verify();
             assertEquals(IQ.Type.result, result.getType(), "Unexpected response type received by '" + conOne.getUser() + "' after it sent a normal Roster Set.");
         } catch (XMPPException.XMPPErrorException e) {
             fail("Unexpected error response received by '" + conOne.getUser() + "' after it sent a normal Roster Set.");
         } finally {
             // Tear down test fixture
+            Phases.teardown();
             final RosterEntry entry = Roster.getInstanceFor(conOne).getEntry(target);
             if (entry != null) {
                 Roster.getInstanceFor(conOne).removeEntry(entry);
@@ -94,6 +99,7 @@ public class RFC6121Section2_3_AddIntegrationTest extends AbstractSmackIntegrati
     public void testRosterSetGeneratesPushToInterestedResourceSelfWithInitialPresence() throws XmppStringprepException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, SmackException.NotLoggedInException, TimeoutException
     {
         // Setup test fixture.
+        Phases.setup();
         if (!isSendPresence) {
             // Ensure that initial presence is sent.
             conOne.sendStanza(PresenceBuilder.buildPresence().build());
@@ -119,9 +125,11 @@ public class RFC6121Section2_3_AddIntegrationTest extends AbstractSmackIntegrati
 
         try {
             // Execute system under test.
+            Phases.execute();
             rosterOne.createItem(target, rosterItemName, new String[]{rosterItemGroupName});
 
             // Verify result.
+            Phases.verify();
             assertResult(receivedPush, "Expected '" + conOne.getUser() + "' to receive a roster push after a roster item was added through the same resource, after the connection had earlier send initial presence and obtained the roster, thus making it an 'interested resource'. The roster push was not received.");
 
             // After the roster push was received, the roster should now contain the updated item, which is inspected below to see if the expected changes
@@ -136,6 +144,7 @@ public class RFC6121Section2_3_AddIntegrationTest extends AbstractSmackIntegrati
             assertEquals(rosterItemGroupName, pushedEntry.getGroups().get(0).getName(), "Unexpected group name for the roster item of '" + target + "' on the roster of '" + conOne.getUser() + "': Expected to group name to be equal to that what was used in a Roster Set by the same user (but it was not).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             rosterOne.removeRosterListener(rosterListener);
             final RosterEntry entry = rosterOne.getEntry(target);
             if (entry != null) {
@@ -152,6 +161,7 @@ public class RFC6121Section2_3_AddIntegrationTest extends AbstractSmackIntegrati
         }
 
         // Setup test fixture.
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
         final String rosterItemName = "Test User";
         final String rosterItemGroupName = "Test Group";
@@ -173,9 +183,11 @@ public class RFC6121Section2_3_AddIntegrationTest extends AbstractSmackIntegrati
 
         try {
             // Execute system under test.
+            Phases.execute();
             rosterOne.createItem(target, rosterItemName, new String[]{rosterItemGroupName});
 
             // Verify result.
+            Phases.verify();
             assertResult(receivedPush, "Expected '" + conOne.getUser() + "' to receive a roster push after a roster item was added through the same resource, after the connection had earlier obtained the roster (without sending initial presence), thus making it an 'interested resource'. The roster push was not received.");
 
             // After the roster push was received, the roster should now contain the updated item, which is inspected below to see if the expected changes
@@ -190,6 +202,7 @@ public class RFC6121Section2_3_AddIntegrationTest extends AbstractSmackIntegrati
             assertEquals(rosterItemGroupName, pushedEntry.getGroups().get(0).getName(), "Unexpected group name for the roster item of '" + target + "' on the roster of '" + conOne.getUser() + "': Expected to group name to be equal to that what was used in a Roster Set by the same user (but it was not).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             rosterOne.removeRosterListener(rosterListener);
             final RosterEntry entry = rosterOne.getEntry(target);
             if (entry != null) {
@@ -204,6 +217,7 @@ public class RFC6121Section2_3_AddIntegrationTest extends AbstractSmackIntegrati
         final AbstractXMPPConnection conOneSecondary = AccountUtilities.spawnNewConnection(environment, sinttestConfiguration);
         try {
             // Setup test fixture.
+            Phases.setup();
             final BareJid target = JidCreate.bareFrom(Localpart.from("test-target-" + StringUtils.randomString(5)), conOneSecondary.getXMPPServiceDomain());
             final String rosterItemName = "Test User";
             final String rosterItemGroupName = "Test Group";
@@ -233,9 +247,11 @@ public class RFC6121Section2_3_AddIntegrationTest extends AbstractSmackIntegrati
 
             try {
                 // Execute system under test.
+                Phases.execute();
                 rosterOnePrimary.createItem(target, rosterItemName, new String[]{rosterItemGroupName});
 
                 // Verify result.
+                Phases.verify();
                 assertResult(receivedPush, "Expected '" + conOneSecondary.getUser() + "' to receive a roster push after a roster item was added by a different resource of that user ('" + conOne.getUser() + "'), after the connection had earlier send initial presence and obtained the roster, thus making it an 'interested resource'. The roster push was not received.");
 
                 // After the roster push was received, the roster should now contain the updated item, which is inspected below to see if the expected changes
@@ -250,6 +266,7 @@ public class RFC6121Section2_3_AddIntegrationTest extends AbstractSmackIntegrati
                 assertEquals(rosterItemGroupName, pushedEntry.getGroups().get(0).getName(), "Unexpected group name for the roster item of '" + target + "' on the roster of '" + conOne.getUser() + "': Expected to group name to be equal to that what was used in a Roster Set by a different resource of the same user (but it was not).");
             } finally {
                 // Tear down test fixture.
+                Phases.teardown();
                 rosterOneSecondary.removeRosterListener(rosterListener);
                 final RosterEntry entry = rosterOnePrimary.getEntry(target);
                 if (entry != null) {
@@ -277,6 +294,7 @@ public class RFC6121Section2_3_AddIntegrationTest extends AbstractSmackIntegrati
         final AbstractXMPPConnection conOneSecondary = AccountUtilities.spawnNewConnection(environment, sinttestConfiguration);
         try {
             // Setup test fixture.
+            Phases.setup();
             conOneSecondary.connect();
             conOneSecondary.login(((AbstractXMPPConnection)conOne).getConfiguration().getUsername(), ((AbstractXMPPConnection)conOne).getConfiguration().getPassword(), Resourcepart.from(StringUtils.randomString(7)));
 
@@ -298,9 +316,11 @@ public class RFC6121Section2_3_AddIntegrationTest extends AbstractSmackIntegrati
 
             try {
                 // Execute system under test.
+                Phases.execute();
                 rosterOnePrimary.createItem(target, rosterItemName, new String[]{rosterItemGroupName});
 
                 // Verify result.
+                Phases.verify();
                 assertResult(receivedPush, "Expected '" + conOneSecondary.getUser() + "' to receive a roster push after a roster item was added by a different resource of that user ('" + conOne.getUser() + "'), after the connection had earlier obtained the roster (without sending initial presence), thus making it an 'interested resource'. The roster push was not received.");
 
                 // After the roster push was received, the roster should now contain the updated item, which is inspected below to see if the expected changes
@@ -316,6 +336,7 @@ public class RFC6121Section2_3_AddIntegrationTest extends AbstractSmackIntegrati
 
             } finally {
                 // Tear down test fixture.
+                Phases.teardown();
                 rosterOneSecondary.removeRosterListener(rosterListener);
                 final RosterEntry entry = rosterOnePrimary.getEntry(target);
                 if (entry != null) {
@@ -333,6 +354,7 @@ public class RFC6121Section2_3_AddIntegrationTest extends AbstractSmackIntegrati
     public void testRosterSetMultipleItems() throws XmppStringprepException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, SmackException.NotLoggedInException, InterruptedException
     {
         // Setup test fixture
+        Phases.setup();
         final BareJid targetA = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
         final BareJid targetB = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
@@ -343,11 +365,13 @@ public class RFC6121Section2_3_AddIntegrationTest extends AbstractSmackIntegrati
             request.addRosterItem(new RosterPacket.Item(targetB, null));
 
             // Execute system under test / verify result
+            Phases.execute();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> conOne.sendIqRequestAndWaitForResponse(request),
                 "Expected user '" + conOne.getUser() + "' to receive an error in response to the Roster Set stanza that contained more than one <item/> child element (but the server did not return an error).");
             assertEquals(StanzaError.Condition.bad_request, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conOne.getUser() + "' after it sent a Roster Set that contained more than one <item/> child element.");
         } finally {
             // Tear down test fixture
+            Phases.teardown();
             final Roster rosterOne = Roster.getInstanceFor(conOne);
             final RosterEntry entryA = rosterOne.getEntry(targetA);
             if (entryA != null) {
@@ -364,6 +388,7 @@ public class RFC6121Section2_3_AddIntegrationTest extends AbstractSmackIntegrati
     public void testRosterSetNotAuthorized() throws XmppStringprepException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, SmackException.NotLoggedInException, InterruptedException
     {
         // Setup test fixture
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         try {
@@ -373,11 +398,13 @@ public class RFC6121Section2_3_AddIntegrationTest extends AbstractSmackIntegrati
             request.setTo(conTwo.getUser().asBareJid()); // Address to a _different_ user than the one that will be sending the request.
 
             // Execute system under test / verify result
+            Phases.execute();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> conOne.sendIqRequestAndWaitForResponse(request),
                 "Expected user '" + conOne.getUser() + "' to receive an error in response to the Roster Set stanza that it sent that was addressed to '" + request.getTo() + "' (where it is assumed that '" + conOne.getUser().asBareJid() + "' is not authorized to update the roster of '" + request.getTo().asBareJid() + "') but the server did not return an error.");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conOne.getUser() + "' after it sent a Roster Set that was addressed to '" + request.getTo() + "' (where it is assumed that '" + conOne.getUser().asBareJid() + "' is not authorized to update the roster of '" + request.getTo().asBareJid() + "'");
         } finally {
             // Tear down test fixture
+            Phases.teardown();
             final Roster rosterOne = Roster.getInstanceFor(conOne);
             final RosterEntry entryA = rosterOne.getEntry(target);
             if (entryA != null) {
@@ -395,6 +422,7 @@ public class RFC6121Section2_3_AddIntegrationTest extends AbstractSmackIntegrati
     public void testRosterSetDuplicateGroups() throws XmppStringprepException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, SmackException.NotLoggedInException, InterruptedException
     {
         // Setup test fixture
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final SimpleIQ request = new SimpleIQ(RosterPacket.ELEMENT, RosterPacket.NAMESPACE) { // Smack's RosterPacket doesn't allow us to set the same group name twice.
@@ -415,11 +443,13 @@ public class RFC6121Section2_3_AddIntegrationTest extends AbstractSmackIntegrati
 
         try {
             // Execute system under test / verify result
+            Phases.execute();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> conOne.sendIqRequestAndWaitForResponse(request),
                 "Expected user '" + conOne.getUser() + "' to receive an error in response to the Roster Set stanza that contained an <item/> child element that has two groups with an identical name (but the server did not return an error).");
             assertEquals(StanzaError.Condition.bad_request, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conOne.getUser() + "' after it sent a Roster Set that contained an <item/> child element that has two groups with an identical name.");
         } finally {
             // Tear down test fixture
+            Phases.teardown();
             final Roster roster = Roster.getInstanceFor(conOne);
             final RosterEntry entry = roster.getEntry(target);
             if (entry != null) {
@@ -432,6 +462,7 @@ public class RFC6121Section2_3_AddIntegrationTest extends AbstractSmackIntegrati
     public void testRosterSetZeroLengthGroup() throws XmppStringprepException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, SmackException.NotLoggedInException, InterruptedException
     {
         // Setup test fixture
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final RosterPacket request = new RosterPacket();
@@ -442,11 +473,13 @@ public class RFC6121Section2_3_AddIntegrationTest extends AbstractSmackIntegrati
 
         try {
             // Execute system under test / verify result
+            Phases.execute();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> conOne.sendIqRequestAndWaitForResponse(request),
                 "Expected user '" + conOne.getUser() + "' to receive an error in response to the Roster Set stanza that contained an empty group element (but the server did not return an error).");
             assertEquals(StanzaError.Condition.not_acceptable, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conOne.getUser() + "' after it sent a Roster Set that contained an empty group element.");
         } finally {
             // Tear down test fixture
+            Phases.teardown();
             final Roster roster = Roster.getInstanceFor(conOne);
             final RosterEntry entry = roster.getEntry(target);
             if (entry != null) {
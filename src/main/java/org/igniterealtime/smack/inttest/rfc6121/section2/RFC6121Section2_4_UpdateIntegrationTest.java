@@ -6,6 +6,7 @@ import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
 import org.igniterealtime.smack.inttest.util.AccountUtilities;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.AbstractXMPPConnection;
 import org.jivesoftware.smack.SmackException;
@@ -67,10 +68,12 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
     public void testRosterUpdateAddGroup() throws XmppStringprepException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, SmackException.NotLoggedInException
     {
         // Setup test fixture
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("romeo-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
         Roster.getInstanceFor(conOne).createItem(target, "Romeo", new String[] { "Friends" });
 
         // Execute system under test
+        Phases.execute();
         try {
             final RosterPacket request = new RosterPacket();
             request.setType(IQ.Type.set);
@@ -81,6 +84,7 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
             conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result
+            Phases.verify();
             final Roster roster = Roster.getInstanceFor(conOne);
             roster.reloadAndWait();
 
@@ -93,6 +97,7 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
             fail("Unexpected error response received by '" + conOne.getUser() + "' after it sent a a Roster Update that intended to add a group to a preexisting roster item.");
         } finally {
             // Tear down test fixture
+            Phases.teardown();
             final RosterEntry entry = Roster.getInstanceFor(conOne).getEntry(target);
             if (entry != null) {
                 Roster.getInstanceFor(conOne).removeEntry(entry);
@@ -104,10 +109,12 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
     public void testRosterUpdateDeleteGroup() throws XmppStringprepException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, SmackException.NotLoggedInException
     {
         // Setup test fixture
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("romeo-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
         Roster.getInstanceFor(conOne).createItem(target, "Romeo", new String[] { "Friends", "Lovers" });
 
         // Execute system under test
+        Phases.execute();
         try {
             final RosterPacket request = new RosterPacket();
             request.setType(IQ.Type.set);
@@ -117,6 +124,7 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
             conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result
+            Phases.verify();
             final Roster roster = Roster.getInstanceFor(conOne);
             roster.reloadAndWait();
 
@@ -128,6 +136,7 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
             fail("Unexpected error response received by '" + conOne.getUser() + "' after it sent a a Roster Update that intended to remove a group from a preexisting roster item.");
         } finally {
             // Tear down test fixture
+            Phases.teardown();
             final RosterEntry entry = Roster.getInstanceFor(conOne).getEntry(target);
             if (entry != null) {
                 Roster.getInstanceFor(conOne).removeEntry(entry);
@@ -139,10 +148,12 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
     public void testRosterUpdateDeleteAllGroups() throws XmppStringprepException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, SmackException.NotLoggedInException
     {
         // Setup test fixture
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("romeo-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
         Roster.getInstanceFor(conOne).createItem(target, "Romeo", new String[] { "Friends" });
 
         // Execute system under test
+        Phases.execute();
         try {
             final RosterPacket request = new RosterPacket();
             request.setType(IQ.Type.set);
@@ -151,6 +162,7 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
             conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result
+            Phases.verify();
             final Roster roster = Roster.getInstanceFor(conOne);
             roster.reloadAndWait();
 
@@ -161,6 +173,7 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
             fail("Unexpected error response received by '" + conOne.getUser() + "' after it sent a a Roster Update that intended to remove the last group from a preexisting roster item.");
         } finally {
             // Tear down test fixture
+            Phases.teardown();
             final RosterEntry entry = Roster.getInstanceFor(conOne).getEntry(target);
             if (entry != null) {
                 Roster.getInstanceFor(conOne).removeEntry(entry);
@@ -172,10 +185,12 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
     public void testRosterUpdateChangeHandle() throws XmppStringprepException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, SmackException.NotLoggedInException
     {
         // Setup test fixture
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("romeo-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
         Roster.getInstanceFor(conOne).createItem(target, "Romeo", new String[0]);
 
         // Execute system under test
+        Phases.execute();
         try {
             final RosterPacket request = new RosterPacket();
             request.setType(IQ.Type.set);
@@ -184,6 +199,7 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
             conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result
+            Phases.verify();
             final Roster roster = Roster.getInstanceFor(conOne);
             roster.reloadAndWait();
 
@@ -193,6 +209,7 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
             fail("Unexpected error response received by '" + conOne.getUser() + "' after it sent a a Roster Update that intended to update the handle a preexisting roster item.");
         } finally {
             // Tear down test fixture
+            Phases.teardown();
             final RosterEntry entry = Roster.getInstanceFor(conOne).getEntry(target);
             if (entry != null) {
                 Roster.getInstanceFor(conOne).removeEntry(entry);
@@ -204,10 +221,12 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
     public void testRosterUpdateDeleteHandle() throws XmppStringprepException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, SmackException.NotLoggedInException
     {
         // Setup test fixture
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("romeo-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
         Roster.getInstanceFor(conOne).createItem(target, "Romeo", new String[0]);
 
         // Execute system under test
+        Phases.execute();
         try {
             final RosterPacket request = new RosterPacket();
             request.setType(IQ.Type.set);
@@ -216,6 +235,7 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
             conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result
+            Phases.verify();
             final Roster roster = Roster.getInstanceFor(conOne);
             roster.reloadAndWait();
 
@@ -225,6 +245,7 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
             fail("Unexpected error response received by '" + conOne.getUser() + "' after it sent a a Roster Update that intended to remove the handle of a preexisting roster item.");
         } finally {
             // Tear down test fixture
+            Phases.teardown();
             final RosterEntry entry = Roster.getInstanceFor(conOne).getEntry(target);
             if (entry != null) {
                 Roster.getInstanceFor(conOne).removeEntry(entry);
@@ -236,6 +257,7 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
     public void testRosterUpdateResult() throws XmppStringprepException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, SmackException.NotLoggedInException
     {
         // Setup test fixture
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
         Roster.getInstanceFor(conOne).createItem(target, "Test User", new String[] { "Test Group" });
 
@@ -246,15 +268,18 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
         request.addRosterItem(item);
 
         // Execute system under test
+        Phases.execute();
         try {
             final IQ result = conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result
+            Phases.verify();
             assertEquals(IQ.Type.result, result.getType(), "Unexpected response type received by '" + conOne.getUser() + "' after it sent a normal Roster Update.");
         } catch (XMPPException.XMPPErrorException e) {
             fail("Unexpected error response received by '" + conOne.getUser() + "' after it sent a normal Roster Update.");
         } finally {
             // Tear down test fixture
+            Phases.teardown();
             final RosterEntry entry = Roster.getInstanceFor(conOne).getEntry(target);
             if (entry != null) {
                 Roster.getInstanceFor(conOne).removeEntry(entry);
@@ -266,6 +291,7 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
     public void testRosterUpdateGeneratesPushToInterestedResourceSelfWithInitialPresence() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         if (!isSendPresence) {
             // Ensure that initial presence is sent.
             conOne.sendStanza(PresenceBuilder.buildPresence().build());
@@ -311,9 +337,11 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
             request.addRosterItem(item);
 
             // Execute system under test.
+            Phases.execute();
             conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             assertResult(receivedUpdate, "Expected '" + conOne.getUser() + "' to receive a roster push after a roster item was updated through the same resource, after the connection had earlier send initial presence and obtained the roster, thus making it an 'interested resource'. The roster push was not received.");
 
             // After the roster push was received, the roster should now contain the updated item, which is inspected below to see if the expected changes
@@ -328,6 +356,7 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
             assertEquals(rosterItemUpdatedGroupName, pushedEntry.getGroups().get(0).getName(), "Unexpected group name for the roster item of '" + target + "' on the roster of '" + conOne.getUser() + "': Expected to group name to be equal to that what was used in a Roster Update by the same user (but it was not).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             rosterOne.removeRosterListener(rosterListener);
             final RosterEntry entry = rosterOne.getEntry(target);
             if (entry != null) {
@@ -344,6 +373,7 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
         }
 
         // Setup test fixture.
+        Phases.setup();
         final Roster rosterOne = Roster.getInstanceFor(conOne); // Ensure that this resource is an 'interested resource' by loading the roster (Smack probably already did this through Roster#rosterLoadedAtLoginDefault, but it doesn't hurt to be certain).
 
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
@@ -385,9 +415,11 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
             updateRequest.addRosterItem(item);
 
             // Execute system under test.
+            Phases.execute();
             conOne.sendIqRequestAndWaitForResponse(updateRequest);
 
             // Verify result.
+            Phases.verify();
             assertResult(receivedUpdate, "Expected '" + conOne.getUser() + "' to receive a roster push after a roster item was updated through the same resource, after the connection had earlier obtained the roster (without sending initial presence), thus making it an 'interested resource'. The roster push was not received.");
 
             // After the roster push was received, the roster should now contain the updated item, which is inspected below to see if the expected changes
@@ -402,6 +434,7 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
             assertEquals(rosterItemUpdatedGroupName, pushedEntry.getGroups().get(0).getName(), "Unexpected group name for the roster item of '" + target + "' on the roster of '" + conOne.getUser() + "': Expected to group name to be equal to that what was used in a Roster Update by the same user (but it was not).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             rosterOne.removeRosterListener(rosterListener);
             final RosterEntry entry = rosterOne.getEntry(target);
             if (entry != null) {
@@ -416,6 +449,7 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
         final AbstractXMPPConnection conOneSecondary = AccountUtilities.spawnNewConnection(environment, sinttestConfiguration);
         try {
             // Setup test fixture.
+            Phases.setup();
             conOneSecondary.connect();
             conOneSecondary.login(((AbstractXMPPConnection)conOne).getConfiguration().getUsername(), ((AbstractXMPPConnection)conOne).getConfiguration().getPassword(), Resourcepart.from(StringUtils.randomString(7)));
             if (!isSendPresence) {
@@ -464,9 +498,11 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
                 updateRequest.addRosterItem(item);
 
                 // Execute system under test.
+                Phases.execute();
                 conOne.sendIqRequestAndWaitForResponse(updateRequest);
 
                 // Verify result.
+                Phases.verify();
                 assertResult(receivedUpdate, "Expected '" + conOneSecondary.getUser() + "' to receive a roster push after a roster item was updated by a different resource of that user ('" + conOne.getUser() + "'), after the connection had earlier send initial presence and obtained the roster, thus making it an 'interested resource'. The roster push was not received.");
 
                 // After the roster push was received, the roster should now contain the updated item, which is inspected below to see if the expected changes
@@ -481,6 +517,7 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
                 assertEquals(rosterItemUpdatedGroupName, pushedEntry.getGroups().get(0).getName(), "Unexpected group name for the roster item of '" + target + "' on the roster of '" + conOne.getUser() + "': Expected to group name to be equal to that what was used in a Roster Update by a different resource of the same user (but it was not).");
             } finally {
                 // Tear down test fixture.
+                Phases.teardown();
                 rosterOneSecondary.removeRosterListener(rosterListener);
                 final RosterEntry entry = rosterOnePrimary.getEntry(target);
                 if (entry != null) {
@@ -504,6 +541,7 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
         final AbstractXMPPConnection conOneSecondary = AccountUtilities.spawnNewConnection(environment, sinttestConfiguration);
         try {
             // Setup test fixture.
+            Phases.setup();
             conOneSecondary.connect();
             conOneSecondary.login(((AbstractXMPPConnection)conOne).getConfiguration().getUsername(), ((AbstractXMPPConnection)conOne).getConfiguration().getPassword(), Resourcepart.from(StringUtils.randomString(7)));
 
@@ -549,9 +587,11 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
                 updateRequest.addRosterItem(item);
 
                 // Execute system under test.
+                Phases.execute();
                 conOne.sendIqRequestAndWaitForResponse(updateRequest);
 
                 // Verify result.
+                Phases.verify();
                 assertResult(receivedUpdate, "Expected '" + conOneSecondary.getUser() + "' to receive a roster push after a roster item was updated by a different resource of that user ('" + conOne.getUser() + "'), after the connection had earlier obtained the roster (without sending initial presence), thus making it an 'interested resource'. The roster push was not received.");
 
                 // After the roster push was received, the roster should now contain the updated item, which is inspected below to see if the expected changes
@@ -566,6 +606,7 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
                 assertEquals(rosterItemUpdatedGroupName, pushedEntry.getGroups().get(0).getName(), "Unexpected group name for the roster item of '" + target + "' on the roster of '" + conOne.getUser() + "': Expected to group name to be equal to that what was used in a Roster Update by a different resource of the same user (but it was not).");
             } finally {
                 // Tear down test fixture.
+                Phases.teardown();
                 rosterOneSecondary.removeRosterListener(rosterListener);
                 final RosterEntry entry = rosterOnePrimary.getEntry(target);
                 if (entry != null) {
@@ -583,6 +624,7 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
     public void testRosterUpdateMultipleItems() throws XmppStringprepException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, SmackException.NotLoggedInException
     {
         // Setup test fixture
+        Phases.setup();
         final BareJid targetA = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
         final BareJid targetB = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
@@ -602,12 +644,14 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
         requestUpdate.addRosterItem(new RosterPacket.Item(targetB, "Test User Update B"));
 
         // Execute system under test / verify result
+        Phases.execute();
         try {
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> conOne.sendIqRequestAndWaitForResponse(requestUpdate),
                 "Expected user '" + conOne.getUser() + "' to receive an error in response to the Roster Update stanza that contained more than one <item/> child element (but the server did not return an error).");
             assertEquals(StanzaError.Condition.bad_request, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conOne.getUser() + "' after it sent a Roster Update that contained more than one <item/> child element.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             final Roster rosterOne = Roster.getInstanceFor(conOne);
             final RosterEntry entryA = rosterOne.getEntry(targetA);
             if (entryA != null) {
@@ -624,6 +668,7 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
     public void testRosterUpdateNotAuthorized() throws XmppStringprepException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, SmackException.NotLoggedInException, InterruptedException
     {
         // Setup test fixture
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final Roster rosterTwo = Roster.getInstanceFor(conTwo);
@@ -636,11 +681,13 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
 
         try {
             // Execute system under test / verify result
+            Phases.execute();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> conOne.sendIqRequestAndWaitForResponse(request),
                 "Expected user '" + conOne.getUser() + "' to receive an error in response to the Roster Update stanza that it sent that was addressed to '" + request.getTo() + "' (where it is assumed that '" + conOne.getUser().asBareJid() + "' is not authorized to update the roster of '" + request.getTo().asBareJid() + "') but the server did not return an error.");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conOne.getUser() + "' after it sent a Roster Update that was addressed to '" + request.getTo() + "' (where it is assumed that '" + conOne.getUser().asBareJid() + "' is not authorized to update the roster of '" + request.getTo().asBareJid() + "'");
         } finally {
             // Tear down test fixture
+            Phases.teardown();
             final Roster rosterOne = Roster.getInstanceFor(conOne);
             final RosterEntry entryA = rosterOne.getEntry(target);
             if (entryA != null) {
@@ -657,6 +704,7 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
     public void testRosterUpdateDuplicateGroups() throws XmppStringprepException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, SmackException.NotLoggedInException, InterruptedException
     {
         // Setup test fixture
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final Roster rosterOne = Roster.getInstanceFor(conOne);
@@ -680,11 +728,13 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
 
         try {
             // Execute system under test / verify result
+            Phases.execute();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> conOne.sendIqRequestAndWaitForResponse(request),
                 "Expected user '" + conOne.getUser() + "' to receive an error in response to the Roster Update stanza that contained an <item/> child element that has two groups with an identical name (but the server did not return an error).");
             assertEquals(StanzaError.Condition.bad_request, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conOne.getUser() + "' after it sent a Roster Update that contained an <item/> child element that has two groups with an identical name.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             final RosterEntry entry = rosterOne.getEntry(target);
             if (entry != null) {
                 rosterOne.removeEntry(entry);
@@ -696,6 +746,7 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
     public void testRosterUpdateZeroLengthGroup() throws XmppStringprepException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, SmackException.NotLoggedInException, InterruptedException
     {
         // Setup test fixture
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final Roster rosterOne = Roster.getInstanceFor(conOne);
@@ -709,11 +760,13 @@ public class RFC6121Section2_4_UpdateIntegrationTest extends AbstractSmackIntegr
 
         try {
             // Execute system under test / verify result
+            Phases.execute();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> conOne.sendIqRequestAndWaitForResponse(request),
                 "Expected user '" + conOne.getUser() + "' to receive an error in response to the Roster Update stanza that contained an empty group element (but the server did not return an error).");
             assertEquals(StanzaError.Condition.not_acceptable, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conOne.getUser() + "' after it sent a Roster Update that contained an empty group element.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             final RosterEntry entry = rosterOne.getEntry(target);
             if (entry != null) {
                 rosterOne.removeEntry(entry);
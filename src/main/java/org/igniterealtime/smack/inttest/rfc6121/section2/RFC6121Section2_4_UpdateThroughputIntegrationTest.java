@@ -0,0 +1,232 @@
+package org.igniterealtime.smack.inttest.rfc6121.section2;
+
+import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.AccountUtilities;
+import org.igniterealtime.smack.inttest.util.BenchmarkConfiguration;
+import org.igniterealtime.smack.inttest.util.BenchmarkReport;
+import org.igniterealtime.smack.inttest.util.LatencyRecorder;
+import org.igniterealtime.smack.inttest.util.Phases;
+import org.igniterealtime.smack.inttest.util.ResultSyncPoint;
+import org.jivesoftware.smack.AbstractXMPPConnection;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.XMPPConnection;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smack.packet.IQ;
+import org.jivesoftware.smack.packet.StanzaError;
+import org.jivesoftware.smack.roster.Roster;
+import org.jivesoftware.smack.roster.packet.RosterPacket;
+import org.jivesoftware.smack.util.StringUtils;
+import org.jxmpp.jid.BareJid;
+import org.jxmpp.jid.Jid;
+import org.jxmpp.jid.impl.JidCreate;
+import org.jxmpp.jid.parts.Localpart;
+import org.jxmpp.jid.parts.Resourcepart;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests that verify that behavior defined in section 2.4 "Updating a Roster Item" of section 2 "Managing the
+ * Roster" of RFC6121 is maintained when many roster items are modified in quick succession, as happens when a user
+ * imports contacts in bulk. Apart from verifying behavior, these tests report how quickly the server processes roster
+ * sets (see {@link BenchmarkReport}).
+ *
+ * The amount of roster items that is used can be configured with the system property
+ * <tt>sinttest.benchmark.roster.items</tt> (default: 200). The maximum amount of roster sets that are awaiting a
+ * response at any time can be configured with <tt>sinttest.benchmark.roster.window</tt> (default: 50).
+ *
+ * @author Guus der Kinderen, guus.der.kinderen@gmail.com
+ */
+@SpecificationReference(document = "RFC6121")
+public class RFC6121Section2_4_UpdateThroughputIntegrationTest extends AbstractSmackIntegrationTest
+{
+    private final SmackIntegrationTestEnvironment environment;
+
+    private final int itemCount;
+    private final int window;
+
+    public RFC6121Section2_4_UpdateThroughputIntegrationTest(SmackIntegrationTestEnvironment environment) throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
+    {
+        super(environment);
+        BenchmarkConfiguration.requireEnabled();
+
+        this.environment = environment;
+
+        try {
+            conOne.sendIqRequestAndWaitForResponse(new RosterPacket());
+        } catch (XMPPException.XMPPErrorException e) {
+            if (e.getStanzaError().getCondition() == StanzaError.Condition.service_unavailable) {
+                throw new TestNotPossibleException("Server does not support the roster namespace."); // This error is defined in RFC6121 Section 2.2
+            }
+        }
+
+        itemCount = BenchmarkConfiguration.getInt("roster.items", 200);
+        window = BenchmarkConfiguration.getInt("roster.window", 50);
+        if (itemCount < 1 || window < 1) {
+            throw new TestNotPossibleException("The configured amount of roster items (" + itemCount + ") and/or window size (" + window + ") is not a positive number.");
+        }
+    }
+
+    /**
+     * Pipelines a large amount of roster sets (adding, then updating, then removing items) from one resource, and
+     * verifies that each set is answered with a result, and that the corresponding roster pushes are received by
+     * another resource of the same user, in the order in which the sets were sent.
+     *
+     * The time between sending each set and receiving its result, the time between sending each set and another
+     * resource receiving the corresponding push, and the amount of roster sets processed per second are reported.
+     */
+    @SmackIntegrationTest(section = "2.4.2", quote = "As with adding a roster item, if the roster item can be successfully processed then the server MUST update the item in the user's roster, send a roster push to all of the user's interested resources, and send an IQ result to the initiating resource")
+    public void testRosterBulkMutationPipelined() throws Exception
+    {
+        final AbstractXMPPConnection conOneSecondary = AccountUtilities.spawnNewConnection(environment, sinttestConfiguration);
+        RosterPushRecorder recorder = null;
+        final List<BareJid> targets = new ArrayList<>(itemCount);
+        try {
+            // Setup test fixture.
+            Phases.setup();
+            conOneSecondary.connect();
+            conOneSecondary.login(((AbstractXMPPConnection)conOne).getConfiguration().getUsername(), ((AbstractXMPPConnection)conOne).getConfiguration().getPassword(), Resourcepart.from(StringUtils.randomString(7)));
+            // A resource becomes an 'interested resource' by requesting the roster (RFC 6121 section 2.1.6). Smack typically
+            // does this at login, but make sure that it happened before any roster pushes are expected.
+            final Roster rosterSecondary = Roster.getInstanceFor(conOneSecondary);
+            if (!rosterSecondary.isLoaded()) {
+                rosterSecondary.reloadAndWait();
+            }
+            recorder = RosterPushRecorder.installOn(conOneSecondary, Math.max(RosterPushRecorder.DEFAULT_CAPACITY, itemCount * 3));
+
+            final String prefix = "bulk-" + StringUtils.randomString(5) + "-";
+            for (int i = 0; i < itemCount; i++) {
+                targets.add(JidCreate.bareFrom(Localpart.from(prefix + i), conOne.getXMPPServiceDomain()));
+            }
+
+            final BenchmarkReport report = new BenchmarkReport("RFC6121 pipelined roster mutation (" + itemCount + " items, window of " + window + ")", conOne.getXMPPServiceDomain());
+
+            // Execute system under test & verify result.
+            Phases.execute();
+            executePhase("add", targets, target -> {
+                final RosterPacket.Item item = new RosterPacket.Item(target, "Imported contact");
+                item.addGroupName("Imported");
+                return item;
+            }, conOneSecondary, recorder, report);
+            executePhase("update", targets, target -> {
+                final RosterPacket.Item item = new RosterPacket.Item(target, "Updated contact");
+                item.addGroupName("Imported");
+                item.addGroupName("Updated");
+                return item;
+            }, conOneSecondary, recorder, report);
+            executePhase("remove", targets, target -> {
+                final RosterPacket.Item item = new RosterPacket.Item(target, null);
+                item.setItemType(RosterPacket.ItemType.remove);
+                return item;
+            }, conOneSecondary, recorder, report);
+            targets.clear(); // Nothing left to clean up.
+
+            report.add("push rate over all phases, observed by other resource (pushes/sec)", String.format("%.1f", recorder.getPushRate(0)));
+            report.publish();
+        } finally {
+            // Tear down test fixture.
+            Phases.teardown();
+            if (recorder != null) {
+                recorder.uninstall();
+            }
+            for (final BareJid target : targets) {
+                final RosterPacket request = new RosterPacket();
+                request.setType(IQ.Type.set);
+                final RosterPacket.Item item = new RosterPacket.Item(target, null);
+                item.setItemType(RosterPacket.ItemType.remove);
+                request.addRosterItem(item);
+                conOne.sendIqRequestAsync(request); // Fire and forget: a failure to remove an item that might not have been added is not an issue.
+            }
+            conOneSecondary.disconnect();
+        }
+    }
+
+    /**
+     * Sends one roster set per target, without waiting for each response before sending the next request (but keeping
+     * at most 'window' requests outstanding). Waits for all responses and all pushes on the other resource, asserts
+     * that these are as expected, and adds the measurements to the report.
+     */
+    private void executePhase(final String phase, final List<BareJid> targets, final Function<BareJid, RosterPacket.Item> itemFactory, final XMPPConnection observer, final RosterPushRecorder recorder, final BenchmarkReport report) throws Exception
+    {
+        final long mark = recorder.mark();
+        final ResultSyncPoint<List<RosterPacket>, Exception> pushesReceived = recorder.whenAmount(mark, targets.size());
+
+        final LatencyRecorder resultLatency = new LatencyRecorder();
+        final Queue<String> errors = new ConcurrentLinkedQueue<>();
+        final Map<Jid, Long> sentNanos = new HashMap<>();
+        final Semaphore outstanding = new Semaphore(window);
+        final CountDownLatch responses = new CountDownLatch(targets.size());
+
+        final long start = System.nanoTime();
+        for (final BareJid target : targets) {
+            final RosterPacket request = new RosterPacket();
+            request.setType(IQ.Type.set);
+            request.addRosterItem(itemFactory.apply(target));
+
+            if (!outstanding.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+                fail("Timeout while waiting for the server to respond to roster sets (" + phase + ") sent by '" + conOne.getUser() + "'. " + responses.getCount() + " of " + targets.size() + " requests have not been answered.");
+            }
+            final long sent = System.nanoTime();
+            sentNanos.put(target, sent);
+            conOne.sendIqRequestAsync(request)
+                .onSuccess(response -> {
+                    resultLatency.recordSince(sent);
+                    outstanding.release();
+                    responses.countDown();
+                })
+                .onError(exception -> {
+                    errors.add(target + ": " + exception);
+                    outstanding.release();
+                    responses.countDown();
+                });
+        }
+
+        final long bulkTimeout = timeout + (long) targets.size() * timeout / window;
+        assertTrue(responses.await(bulkTimeout, TimeUnit.MILLISECONDS), "Expected '" + conOne.getUser() + "' to receive a response to each of the " + targets.size() + " roster sets (" + phase + ") that it sent, but " + responses.getCount() + " were not answered within " + bulkTimeout + "ms.");
+        final Duration resultsElapsed = Duration.ofNanos(System.nanoTime() - start);
+        assertTrue(errors.isEmpty(), "Expected '" + conOne.getUser() + "' to receive a result for each of the roster sets (" + phase + ") that it sent, but " + errors.size() + " resulted in an error (first error: " + errors.peek() + ").");
+
+        final List<RosterPacket> pushes;
+        try {
+            pushes = pushesReceived.waitForResult(bulkTimeout);
+        } catch (TimeoutException e) {
+            throw new AssertionError("Expected '" + observer.getUser() + "' to receive a roster push for each of the " + targets.size() + " roster sets (" + phase + ") sent by another resource of the same user ('" + conOne.getUser() + "'), but only " + (recorder.getCount() - mark) + " pushes were received within " + bulkTimeout + "ms.", e);
+        }
+        final Duration pushesElapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        final List<Jid> pushOrder = pushes.stream().flatMap(push -> push.getRosterItems().stream()).map(RosterPacket.Item::getJid).collect(Collectors.toList());
+        assertEquals(targets, pushOrder, "Expected the roster pushes (" + phase + ") received by '" + observer.getUser() + "' to be in the order in which the roster sets were sent by '" + conOne.getUser() + "' (but they were not).");
+
+        final LatencyRecorder pushLatency = new LatencyRecorder();
+        for (final RosterPushRecorder.RecordedPush push : recorder.getPushes(mark)) {
+            for (final RosterPacket.Item item : push.getPacket().getRosterItems()) {
+                final Long sent = sentNanos.get(item.getJid());
+                if (sent != null) {
+                    pushLatency.record(push.getReceivedNanos() - sent);
+                }
+            }
+        }
+
+        report.add(phase + ": set-to-result latency", resultLatency);
+        report.add(phase + ": set-to-push latency (other resource)", pushLatency);
+        report.addRate(phase + ": roster sets/sec", targets.size(), resultsElapsed);
+        report.addRate(phase + ": roster pushes/sec (other resource)", targets.size(), pushesElapsed);
+    }
+}
@@ -7,6 +7,7 @@ import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
 import org.igniterealtime.smack.inttest.util.AccountUtilities;
 import org.igniterealtime.smack.inttest.util.IntegrationTestRosterUtil;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.AbstractXMPPConnection;
 import org.jivesoftware.smack.ListenerHandle;
@@ -69,6 +70,7 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
     public void testRosterDeleteResult() throws XmppStringprepException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, SmackException.NotLoggedInException
     {
         // Setup test fixture
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
         Roster.getInstanceFor(conOne).createItem(target, "Test User", new String[] { "Test Group" });
 
@@ -79,15 +81,18 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
         request.addRosterItem(item);
 
         // Execute system under test
+        Phases.execute();
         try {
             final IQ result = conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result
+            Phases.verify();
             assertEquals(IQ.Type.result, result.getType(), "Unexpected response type received by '" + conOne.getUser() + "' after it sent a normal Roster Item Delete.");
         } catch (XMPPException.XMPPErrorException e) {
             fail("Unexpected error response received by '" + conOne.getUser() + "' after it sent a normal Roster Item Delete.");
         } finally {
             // Tear down test fixture
+            Phases.teardown();
             final RosterEntry entry = Roster.getInstanceFor(conOne).getEntry(target);
             if (entry != null) {
                 Roster.getInstanceFor(conOne).removeEntry(entry);
@@ -99,6 +104,7 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
     public void testRosterDeleteGeneratesPushToInterestedResourceSelfWithInitialPresence() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         if (!isSendPresence) {
             // Ensure that initial presence is sent.
             conOne.sendStanza(PresenceBuilder.buildPresence().build());
@@ -135,6 +141,7 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
             receivedSet.waitForResult(timeout); // Wait for the push for the original set to have arrived.
 
             // Execute system under test.
+            Phases.execute();
             final RosterPacket request = new RosterPacket();
             request.setType(IQ.Type.set);
             final RosterPacket.Item item = new RosterPacket.Item(target, null);
@@ -144,6 +151,7 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
             conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             assertResult(receivedDelete, "Expected '" + conOne.getUser() + "' to receive a roster push after a roster item was deleted through the same resource, after the connection had earlier send initial presence and obtained the roster, thus making it an 'interested resource'. The roster push was not received.");
 
             // After the roster push was received, the roster should no longer contain the item.
@@ -153,6 +161,7 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
             assertNull(removedEntry, "Expected the roster of '" + conOne.getUser() + "' to no longer contain an item for '" + target + "' after it was removed (but a roster item was still found)");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             rosterOne.removeRosterListener(rosterListener);
             final RosterEntry entry = rosterOne.getEntry(target);
             if (entry != null) {
@@ -169,6 +178,7 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
         }
 
         // Setup test fixture.
+        Phases.setup();
         final Roster rosterOne = Roster.getInstanceFor(conOne); // Ensure that this resource is an 'interested resource' by loading the roster (Smack probably already did this through Roster#rosterLoadedAtLoginDefault, but it doesn't hurt to be certain).
 
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
@@ -199,6 +209,7 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
             receivedSet.waitForResult(timeout); // Wait for the push for the original set to have arrived.
 
             // Execute system under test.
+            Phases.execute();
             final RosterPacket request = new RosterPacket();
             request.setType(IQ.Type.set);
             final RosterPacket.Item item = new RosterPacket.Item(target, null);
@@ -208,6 +219,7 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
             conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             assertResult(receivedDelete, "Expected '" + conOne.getUser() + "' to receive a roster push after a roster item was deleted through the same resource, after the connection had earlier obtained the roster (without sending initial presence), thus making it an 'interested resource'. The roster push was not received.");
 
             // After the roster push was received, the roster should no longer contain the item.
@@ -217,6 +229,7 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
             assertNull(removedEntry, "Expected the roster of '" + conOne.getUser() + "' to no longer contain an item for '" + target + "' after it was removed (but a roster item was still found)");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             rosterOne.removeRosterListener(rosterListener);
             final RosterEntry entry = rosterOne.getEntry(target);
             if (entry != null) {
@@ -231,6 +244,7 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
         final AbstractXMPPConnection conOneSecondary = AccountUtilities.spawnNewConnection(environment, sinttestConfiguration);
         try {
             // Setup test fixture.
+            Phases.setup();
             conOneSecondary.connect();
             conOneSecondary.login(((AbstractXMPPConnection)conOne).getConfiguration().getUsername(), ((AbstractXMPPConnection)conOne).getConfiguration().getPassword(), Resourcepart.from(StringUtils.randomString(7)));
             if (!isSendPresence) {
@@ -268,6 +282,7 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
                 receivedSet.waitForResult(timeout); // Wait for the push for the original set to have arrived.
 
                 // Execute system under test.
+                Phases.execute();
                 final RosterPacket request = new RosterPacket();
                 request.setType(IQ.Type.set);
                 final RosterPacket.Item item = new RosterPacket.Item(target, null);
@@ -277,6 +292,7 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
                 conOne.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
                 assertResult(receivedDelete, "Expected '" + conOneSecondary.getUser() + "' to receive a roster push after a roster item was deleted by a different resource of that user ('" + conOne.getUser() + "'), after the connection had earlier send initial presence and obtained the roster, thus making it an 'interested resource'. The roster push was not received.");
 
                 // After the roster push was received, the roster should no longer contain the item.
@@ -285,6 +301,7 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
                 assertNull(removedEntry, "Expected the roster of '" + conOneSecondary.getUser() + "' to no longer contain an item for '" + target + "' after it was removed (but a roster item was still found)");
             } finally {
                 // Tear down test fixture.
+                Phases.teardown();
                 rosterOneSecondary.removeRosterListener(rosterListener);
                 final RosterEntry entry = rosterOnePrimary.getEntry(target);
                 if (entry != null) {
@@ -308,6 +325,7 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
         final AbstractXMPPConnection conOneSecondary = AccountUtilities.spawnNewConnection(environment, sinttestConfiguration);
         try {
             // Setup test fixture.
+            Phases.setup();
             conOneSecondary.connect();
             conOneSecondary.login(((AbstractXMPPConnection)conOne).getConfiguration().getUsername(), ((AbstractXMPPConnection)conOne).getConfiguration().getPassword(), Resourcepart.from(StringUtils.randomString(7)));
 
@@ -342,6 +360,7 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
                 receivedSet.waitForResult(timeout); // Wait for the push for the original set to have arrived.
 
                 // Execute system under test.
+                Phases.execute();
                 final RosterPacket request = new RosterPacket();
                 request.setType(IQ.Type.set);
                 final RosterPacket.Item item = new RosterPacket.Item(target, null);
@@ -351,6 +370,7 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
                 conOne.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
                 assertResult(receivedDelete, "Expected '" + conOneSecondary.getUser() + "' to receive a roster push after a roster item was deleted by a different resource of that user ('" + conOne.getUser() + "'), after the connection had earlier obtained the roster (without sending initial presence), thus making it an 'interested resource'. The roster push was not received.");
 
                 // After the roster push was received, the roster should no longer contain the item.
@@ -359,6 +379,7 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
                 assertNull(removedEntry, "Expected the roster of '" + conOneSecondary.getUser() + "' to no longer contain an item for '" + target + "' after it was removed (but a roster item was still found)");
             } finally {
                 // Tear down test fixture.
+                Phases.teardown();
                 rosterOneSecondary.removeRosterListener(rosterListener);
                 final RosterEntry entry = rosterOnePrimary.getEntry(target);
                 if (entry != null) {
@@ -376,6 +397,7 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
     public void testRosterDeleteCausesUnsubscribe() throws Exception
     {
         // Setup test fixture
+        Phases.setup();
         final BareJid target = conTwo.getUser().asBareJid();
         Roster.getInstanceFor(conOne).createItem(target, "Test User", new String[] { "Test Group" });
         IntegrationTestRosterUtil.ensureSubscribedTo(conTwo, conOne, timeout);
@@ -390,13 +412,16 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
             request.addRosterItem(item);
 
             // Execute system under test
+            Phases.execute();
             try {
                 conOne.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result
+                Phases.verify();
                 assertResult(unsubscribeReceived, "Expected contact '" + conTwo.getUser() + "' to receive a presence stanza of type 'unsubscribe' from '" + conOne.getUser() + "' after the latter removed the former from their roster (but no such presence stanza was received).");
             } finally {
                 // Tear down test fixture
+                Phases.teardown();
                 IntegrationTestRosterUtil.ensureBothAccountsAreNotInEachOthersRoster(conOne, conTwo);
             }
         }
@@ -406,6 +431,7 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
     public void testRosterDeleteCausesUnsubscribed() throws Exception
     {
         // Setup test fixture
+        Phases.setup();
         final BareJid target = conTwo.getUser().asBareJid();
         Roster.getInstanceFor(conOne).createItem(target, "Test User", new String[] { "Test Group" });
         IntegrationTestRosterUtil.ensureSubscribedTo(conOne, conTwo, timeout);
@@ -420,13 +446,16 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
             request.addRosterItem(item);
 
             // Execute system under test
+            Phases.execute();
             try {
                 conOne.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result
+                Phases.verify();
                 assertResult(unsubscribedReceived, "Expected contact '" + conTwo.getUser() + "' to receive a presence stanza of type 'unsubscribed' from '" + conOne.getUser() + "' after the latter removed the former from their roster (but no such presence stanza was received).");
             } finally {
                 // Tear down test fixture
+                Phases.teardown();
                 IntegrationTestRosterUtil.ensureBothAccountsAreNotInEachOthersRoster(conOne, conTwo);
             }
         }
@@ -436,6 +465,7 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
     public void testRosterDeleteCausesUnsubscribeAndUnsubscribed() throws Exception
     {
         // Setup test fixture
+        Phases.setup();
         final BareJid target = conTwo.getUser().asBareJid();
         Roster.getInstanceFor(conOne).createItem(target, "Test User", new String[] { "Test Group" });
         IntegrationTestRosterUtil.ensureBothAccountsAreSubscribedToEachOther(conOne, conTwo, timeout);
@@ -452,14 +482,17 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
             request.addRosterItem(item);
 
             // Execute system under test
+            Phases.execute();
             try {
                 conOne.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result
+                Phases.verify();
                 assertResult(unsubscribeReceived, "Expected contact '" + conTwo.getUser() + "' to receive a presence stanza of type 'unsubscribe' from '" + conOne.getUser() + "' after the latter removed the former from their roster (but no such presence stanza was received).");
                 assertResult(unsubscribedReceived, "Expected contact '" + conTwo.getUser() + "' to receive a presence stanza of type 'unsubscribed' from '" + conOne.getUser() + "' after the latter removed the former from their roster (but no such presence stanza was received).");
             } finally {
                 // Tear down test fixture
+                Phases.teardown();
                 IntegrationTestRosterUtil.ensureBothAccountsAreNotInEachOthersRoster(conOne, conTwo);
             }
         }
@@ -469,6 +502,7 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
     public void testRosterDeleteNonExistingItem() throws XmppStringprepException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, SmackException.NotLoggedInException
     {
         // Setup test fixture
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final RosterPacket request = new RosterPacket();
@@ -478,6 +512,7 @@ public class RFC6121Section2_5_DeleteIntegrationTest extends AbstractSmackIntegr
         request.addRosterItem(item);
 
         // Execute system under test / verify result
+        Phases.execute();
         final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> conOne.sendIqRequestAndWaitForResponse(request),
             "Expected user '" + conOne.getUser() + "' to receive an error in response to the Roster Item Delete stanza that referenced an item that is not on the roster (with jid '" + target + "') (but the server did not return an error).");
         assertEquals(StanzaError.Condition.item_not_found, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conOne.getUser() + "' after it sent a Roster Item Delete that referenced an item that is not on the roster (with jid '" + target + "')");
@@ -5,6 +5,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.ResultSyncPoint;
 import org.jivesoftware.smack.*;
 import org.jivesoftware.smack.iqrequest.IQRequestHandler;
@@ -55,15 +56,18 @@ public class RFC6121Section2_6a_VerStreamFeatureIntegrationTest extends Abstract
     public void testRosterVerEmpty() throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture
+        Phases.setup();
         final RosterPacket request = new RosterPacket();
         request.setType(IQ.Type.get);
         request.setVersion("");
 
         // Execute system under test
+        Phases.execute();
         try {
             final IQ result = conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result
+            Phases.verify();
             assertEquals(IQ.Type.result, result.getType(), "Unexpected response type received by '" + conOne.getUser() + "' after it sent a request to bootstrap the use of roster versioning (by setting the 'ver' attribute to the empty string).");
         } catch (XMPPException.XMPPErrorException e) {
             fail("Unexpected response type received by '" + conOne.getUser() + "' after it sent a requested to bootstrap the use of roster versioning (by setting the 'ver' attribute to the empty string). Expected a (non-error) result, but instead received an error: " + e.getStanzaError());
@@ -77,14 +81,17 @@ public class RFC6121Section2_6a_VerStreamFeatureIntegrationTest extends Abstract
     public void testRosterVerMissing() throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture
+        Phases.setup();
         final RosterPacket request = new RosterPacket();
         request.setType(IQ.Type.get);
 
         // Execute system under test
+        Phases.execute();
         try {
             final IQ result = conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result
+            Phases.verify();
             assertEquals(IQ.Type.result, result.getType(), "Unexpected response type received by '" + conOne.getUser() + "' after it sent a roster request without using the 'ver' attribute (expected clients that do not support roster versioning to be able to retrieve a roster).");
         } catch (XMPPException.XMPPErrorException e) {
             fail("Unexpected response type received by '" + conOne.getUser() + "' after it sent a roster request without using the 'ver' attribute (expected clients that do not support roster versioning to be able to retrieve a roster). Expected a (non-error) result, but instead received an error: " + e.getStanzaError());
@@ -120,6 +127,7 @@ public class RFC6121Section2_6a_VerStreamFeatureIntegrationTest extends Abstract
     public void testRosterVerEmptyGetsRosterAdd() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
         final RosterPacket addItemRequest = new RosterPacket();
         addItemRequest.setType(IQ.Type.set);
@@ -132,6 +140,7 @@ public class RFC6121Section2_6a_VerStreamFeatureIntegrationTest extends Abstract
         rosterPushHandler.setDelegate(oldHandler); // Allows Smack internal classes (like Roster) to keep on processing roster changes.
         try {
             // Execute system under test.
+            Phases.execute();
             final ResultSyncPoint<RosterPacket, Exception> rosterPushReceived = new ResultSyncPoint<>();
             rosterPushHandler.registerSyncPointFor(rosterPushReceived, target);
 
@@ -141,6 +150,7 @@ public class RFC6121Section2_6a_VerStreamFeatureIntegrationTest extends Abstract
             final IQ response = conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result. Either the response contains the roster (has a 'query' element), or there will be roster pushes (in which case the response _wil not_ have a query element).
+            Phases.verify();
             if (response instanceof RosterPacket) {
                 // contains the roster.
                 assertTrue(((RosterPacket) response).getRosterItems().stream().anyMatch(item -> item.getJid().equals(target)), "Expected the roster that was returned to '" + conOne.getUser() + "' in response to a roster request with an empty string value in the 'ver' attribute to include an item for '" + target + "' (but that item was not found on the roster).");
@@ -194,6 +204,7 @@ public class RFC6121Section2_6a_VerStreamFeatureIntegrationTest extends Abstract
     public void testRosterVerStable() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
         final String originalName = "Test Name";
 
@@ -205,12 +216,14 @@ public class RFC6121Section2_6a_VerStreamFeatureIntegrationTest extends Abstract
 
         try {
             // Execute system under test.
+            Phases.execute();
             final RosterPacket request = new RosterPacket();
             request.setType(IQ.Type.get);
             request.setVersion(rosterVer);
             final IQ response = conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result. Either the response contains the roster (has a 'query' element), or there will be roster pushes (in which case the response _wil not_ have a query element).
+            Phases.verify();
             if (response instanceof RosterPacket) {
                 // contains the roster.
                 assertTrue(((RosterPacket) response).getRosterItems().stream().anyMatch(item -> item.getJid().equals(target) && item.getName().equals(originalName)), "Expected the roster that was returned to '" + conOne.getUser() + "' in response to a roster request with value '" + rosterVer + "' in the 'ver' attribute to include an item for '" + target + "' with a name that equals '" + originalName + "' (but that item was not found on the roster).");
@@ -237,6 +250,7 @@ public class RFC6121Section2_6a_VerStreamFeatureIntegrationTest extends Abstract
     public void testRosterInterimPushesAreCondensed() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final RosterPacket addItemRequest = new RosterPacket();
@@ -271,6 +285,7 @@ public class RFC6121Section2_6a_VerStreamFeatureIntegrationTest extends Abstract
         rosterPushHandler.setDelegate(oldHandler); // Allows Smack internal classes (like Roster) to keep on processing roster changes.
         try {
             // Execute system under test.
+            Phases.execute();
             final ResultSyncPoint<RosterPacket, Exception> rosterPushReceived = new ResultSyncPoint<>();
             rosterPushHandler.registerSyncPointFor(rosterPushReceived, target);
 
@@ -280,6 +295,7 @@ public class RFC6121Section2_6a_VerStreamFeatureIntegrationTest extends Abstract
             final IQ response = conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result. Either the response contains the roster (has a 'query' element), or there will be roster pushes (in which case the response _wil not_ have a query element).
+            Phases.verify();
             if (response instanceof RosterPacket) {
                 // Contains the roster, which means we won't get roster pushes.
                 throw new TestNotPossibleException("Instead of individual roster pushes, the server sent the entire roster in response to a roster 'ver' request. That's acceptable behavior, but not useful for the purpose of this test.");
@@ -307,6 +323,7 @@ public class RFC6121Section2_6a_VerStreamFeatureIntegrationTest extends Abstract
     public void testRosterPushOrder() throws Exception
     {
         // Setup test fixture: send off a list of changes (and record their 'ver' identifiers).
+        Phases.setup();
         final BareJid targetStart = JidCreate.bareFrom( Localpart.from("test-target-start-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
         final RosterPacket changeRequestStart = new RosterPacket();
         changeRequestStart.setType(IQ.Type.set);
@@ -349,16 +366,13 @@ public class RFC6121Section2_6a_VerStreamFeatureIntegrationTest extends Abstract
             .get(0)
             .getVersion();
 
-        final RosterPushListenerForAmount rosterPushHandler = new RosterPushListenerForAmount();
-        final IQRequestHandler oldHandler = conOne.registerIQRequestHandler(rosterPushHandler);
-        rosterPushHandler.setDelegate(oldHandler); // Allows Smack internal classes (like Roster) to keep on processing roster changes.
-
-        final ResultSyncPoint<List<RosterPacket>, Exception> rosterPushesReceived = new ResultSyncPoint<>();
-        rosterPushHandler.registerSyncPointFor(rosterPushesReceived, 5);
+        final RosterPushRecorder rosterPushRecorder = RosterPushRecorder.installOn(conOne); // Delegates to the original handler, which allows Smack internal classes (like Roster) to keep on processing roster changes.
+        final ResultSyncPoint<List<RosterPacket>, Exception> rosterPushesReceived = rosterPushRecorder.whenAmount(rosterPushRecorder.mark(), 5);
 
         try
         {
             // Execute system under test.
+            Phases.execute();
             final RosterPacket request = new RosterPacket();
             request.setType(IQ.Type.get);
             request.setVersion(startingPointVer); // Request all changes after the first change!
@@ -366,6 +380,7 @@ public class RFC6121Section2_6a_VerStreamFeatureIntegrationTest extends Abstract
             final IQ response = conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result. Either the response contains the roster (has a 'query' element), or there will be roster pushes (in which case the response _wil not_ have a query element).
+            Phases.verify();
             if (response instanceof RosterPacket) {
                 // Contains the roster, which means we won't get roster pushes.
                 throw new TestNotPossibleException("Instead of individual roster pushes, the server sent the entire roster in response to a roster 'ver' request. That's acceptable behavior, but not useful for the purpose of this test.");
@@ -381,11 +396,7 @@ public class RFC6121Section2_6a_VerStreamFeatureIntegrationTest extends Abstract
         finally
         {
             // Clean up test fixture.
-            if (oldHandler != null) {
-                conOne.registerIQRequestHandler(oldHandler);
-            } else {
-                conOne.unregisterIQRequestHandler(rosterPushHandler);
-            }
+            rosterPushRecorder.uninstall();
 
             final Roster roster = Roster.getInstanceFor(conOne);
             final RosterEntry entryStart = roster.getEntry(targetStart);
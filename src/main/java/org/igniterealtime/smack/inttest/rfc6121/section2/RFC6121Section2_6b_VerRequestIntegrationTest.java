@@ -5,6 +5,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.ResultSyncPoint;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
@@ -57,6 +58,7 @@ public class RFC6121Section2_6b_VerRequestIntegrationTest extends AbstractSmackI
     public void testRosterItemAddition() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid targetOne = JidCreate.bareFrom( Localpart.from("test-targetone-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
         final BareJid targetTwo = JidCreate.bareFrom( Localpart.from("test-targettwo-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
@@ -79,6 +81,7 @@ public class RFC6121Section2_6b_VerRequestIntegrationTest extends AbstractSmackI
     public void testRosterItemRemoval() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-targetone-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final RosterPacket startingPoint = new RosterPacket();
@@ -102,6 +105,7 @@ public class RFC6121Section2_6b_VerRequestIntegrationTest extends AbstractSmackI
     public void testRosterItemModificationHandleAddition() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final RosterPacket startingPoint = new RosterPacket();
@@ -123,6 +127,7 @@ public class RFC6121Section2_6b_VerRequestIntegrationTest extends AbstractSmackI
     public void testRosterItemModificationHandleModification() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final RosterPacket startingPoint = new RosterPacket();
@@ -144,6 +149,7 @@ public class RFC6121Section2_6b_VerRequestIntegrationTest extends AbstractSmackI
     public void testRosterItemModificationHandleRemoval() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final RosterPacket startingPoint = new RosterPacket();
@@ -165,6 +171,7 @@ public class RFC6121Section2_6b_VerRequestIntegrationTest extends AbstractSmackI
     public void testRosterItemModificationGroupAddition() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final RosterPacket startingPoint = new RosterPacket();
@@ -188,6 +195,7 @@ public class RFC6121Section2_6b_VerRequestIntegrationTest extends AbstractSmackI
     public void testRosterItemModificationGroupAdditionAnother() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final RosterPacket startingPoint = new RosterPacket();
@@ -214,6 +222,7 @@ public class RFC6121Section2_6b_VerRequestIntegrationTest extends AbstractSmackI
     public void testRosterItemModificationGroupModification() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final RosterPacket startingPoint = new RosterPacket();
@@ -239,6 +248,7 @@ public class RFC6121Section2_6b_VerRequestIntegrationTest extends AbstractSmackI
     public void testRosterItemModificationGroupRemoval() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final RosterPacket startingPoint = new RosterPacket();
@@ -265,6 +275,7 @@ public class RFC6121Section2_6b_VerRequestIntegrationTest extends AbstractSmackI
     public void testRosterItemModificationGroupRemovalLast() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final RosterPacket startingPoint = new RosterPacket();
@@ -325,14 +336,17 @@ public class RFC6121Section2_6b_VerRequestIntegrationTest extends AbstractSmackI
         }
 
         // Setup test fixture
+        Phases.setup();
         final BareJid startingPointTarget = startingPoint.getRosterItems().iterator().next().getJid();
         final RosterPacket.Item changeItem = change.getRosterItems().iterator().next();
         final BareJid changeTarget = changeItem.getJid();
 
         // Setup test fixture: get the roster in a 'starting point' state.
+        Phases.setup();
         final String rosterVerWithoutModification = RosterPushListenerWithTarget.sendRosterChangeAndWaitForResultAndPush(conOne, timeout, startingPoint).getVersion();
 
         // Setup test fixture: apply a roster change.
+        Phases.setup();
         final String rosterVerAfterModification = RosterPushListenerWithTarget.sendRosterChangeAndWaitForResultAndPush(conOne, timeout, change).getVersion();
 
         final RosterPushListenerWithTarget rosterPushHandler = new RosterPushListenerWithTarget();
@@ -342,6 +356,7 @@ public class RFC6121Section2_6b_VerRequestIntegrationTest extends AbstractSmackI
         try
         {
             // Execute system under test: ask for the roster, using a 'ver' that represents the 'old' state.
+            Phases.execute();
             final ResultSyncPoint<RosterPacket, Exception> rosterPushReceived = new ResultSyncPoint<>();
             rosterPushHandler.registerSyncPointFor(rosterPushReceived, changeTarget);
 
@@ -351,6 +366,7 @@ public class RFC6121Section2_6b_VerRequestIntegrationTest extends AbstractSmackI
             final IQ response = conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result: Either the response contains the roster (has a 'query' element), or there will be roster pushes (in which case the response _wil not_ have a query element).
+            Phases.verify();
             if (response instanceof RosterPacket) {
                 // Result contains the roster.
                 if (RosterPacket.ItemType.remove == changeItem.getItemType()) {
@@ -369,6 +385,7 @@ public class RFC6121Section2_6b_VerRequestIntegrationTest extends AbstractSmackI
             }
 
             // Verify result.
+            Phases.verify();
             assertNotEquals(rosterVerWithoutModification, rosterVerAfterModification, "Expected that the roster 'ver' value that is pushed to '" + conOne.getUser() + "' after its roster was changed (" + descriptionOfChange + ") is different from the value that was pushed prior the change, but the same roster 'ver' value was received!");
         }
         finally
@@ -5,6 +5,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.ResultSyncPoint;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
@@ -57,6 +58,7 @@ public class RFC6121Section2_6c_VerSuccessIntegrationTest extends AbstractSmackI
     public void testRosterItemAddition() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid targetOne = JidCreate.bareFrom( Localpart.from("test-targetone-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
         final BareJid targetTwo = JidCreate.bareFrom( Localpart.from("test-targettwo-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
@@ -79,6 +81,7 @@ public class RFC6121Section2_6c_VerSuccessIntegrationTest extends AbstractSmackI
     public void testRosterItemRemoval() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-targetone-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final RosterPacket startingPoint = new RosterPacket();
@@ -102,6 +105,7 @@ public class RFC6121Section2_6c_VerSuccessIntegrationTest extends AbstractSmackI
     public void testRosterItemModificationHandleAddition() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final RosterPacket startingPoint = new RosterPacket();
@@ -123,6 +127,7 @@ public class RFC6121Section2_6c_VerSuccessIntegrationTest extends AbstractSmackI
     public void testRosterItemModificationHandleModification() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final RosterPacket startingPoint = new RosterPacket();
@@ -144,6 +149,7 @@ public class RFC6121Section2_6c_VerSuccessIntegrationTest extends AbstractSmackI
     public void testRosterItemModificationHandleRemoval() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final RosterPacket startingPoint = new RosterPacket();
@@ -165,6 +171,7 @@ public class RFC6121Section2_6c_VerSuccessIntegrationTest extends AbstractSmackI
     public void testRosterItemModificationGroupAddition() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final RosterPacket startingPoint = new RosterPacket();
@@ -188,6 +195,7 @@ public class RFC6121Section2_6c_VerSuccessIntegrationTest extends AbstractSmackI
     public void testRosterItemModificationGroupAdditionAnother() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final RosterPacket startingPoint = new RosterPacket();
@@ -214,6 +222,7 @@ public class RFC6121Section2_6c_VerSuccessIntegrationTest extends AbstractSmackI
     public void testRosterItemModificationGroupModification() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final RosterPacket startingPoint = new RosterPacket();
@@ -239,6 +248,7 @@ public class RFC6121Section2_6c_VerSuccessIntegrationTest extends AbstractSmackI
     public void testRosterItemModificationGroupRemoval() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final RosterPacket startingPoint = new RosterPacket();
@@ -265,6 +275,7 @@ public class RFC6121Section2_6c_VerSuccessIntegrationTest extends AbstractSmackI
     public void testRosterItemModificationGroupRemovalLast() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid target = JidCreate.bareFrom( Localpart.from("test-target-" + StringUtils.randomString(5) ), conOne.getXMPPServiceDomain() );
 
         final RosterPacket startingPoint = new RosterPacket();
@@ -319,10 +330,12 @@ public class RFC6121Section2_6c_VerSuccessIntegrationTest extends AbstractSmackI
         }
 
         // Setup test fixture.
+        Phases.setup();
         final BareJid startingPointTarget = startingPoint.getRosterItems().iterator().next().getJid();
         final BareJid changeTarget = change.getRosterItems().iterator().next().getJid();
 
         // Setup test fixture: get the roster in a 'starting point' state.
+        Phases.setup();
         final String rosterVerWithoutModification = RosterPushListenerWithTarget.sendRosterChangeAndWaitForResultAndPush(conOne, timeout, startingPoint).getVersion();
 
         final RosterPushListenerWithTarget rosterPushHandler = new RosterPushListenerWithTarget();
@@ -332,6 +345,7 @@ public class RFC6121Section2_6c_VerSuccessIntegrationTest extends AbstractSmackI
         try
         {
             // Execute System Under test: apply a roster change.
+            Phases.execute();
             final ResultSyncPoint<RosterPacket, Exception> rosterUpdatePushReceived = new ResultSyncPoint<>();
             rosterPushHandler.registerSyncPointFor(rosterUpdatePushReceived, changeTarget);
 
@@ -340,6 +354,7 @@ public class RFC6121Section2_6c_VerSuccessIntegrationTest extends AbstractSmackI
             final String rosterVerAfterModification = rosterUpdatePushReceived.waitForResult(timeout).getVersion();
 
             // Verify result.
+            Phases.verify();
             assertNotEquals(rosterVerWithoutModification, rosterVerAfterModification, "Expected that the roster 'ver' value that is pushed to '" + conOne.getUser() + "' after its roster was changed (" + descriptionOfChange + ") is different from the value that was pushed prior the change, but the same roster 'ver' value was received!");
         }
         finally
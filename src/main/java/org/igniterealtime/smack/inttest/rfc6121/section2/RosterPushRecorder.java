@@ -0,0 +1,337 @@
+package org.igniterealtime.smack.inttest.rfc6121.section2;
+
+import org.igniterealtime.smack.inttest.util.ResultSyncPoint;
+import org.jivesoftware.smack.XMPPConnection;
+import org.jivesoftware.smack.iqrequest.AbstractIqRequestHandler;
+import org.jivesoftware.smack.iqrequest.IQRequestHandler;
+import org.jivesoftware.smack.packet.IQ;
+import org.jivesoftware.smack.roster.packet.RosterPacket;
+import org.jxmpp.jid.Jid;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * A Smack AbstractIqRequestHandler that intends to replace the handler that is used by Smack internally, to manage
+ * its 'Roster' implementation. This replacement delegates to the original (as to not break Smack functionality), and
+ * records every roster push that is received, together with the time of its arrival.
+ *
+ * Roster pushes are stored in a fixed-size ring buffer that is written without taking locks. Each push is assigned a
+ * sequence number. Sync points can be obtained for pushes that satisfy a particular condition, or for a number of
+ * pushes. Contrary to {@link RosterPushListenerWithTarget}, these sync points are also signalled for pushes that were
+ * recorded <em>before</em> the sync point was requested (as long as they are still in the buffer), which removes the
+ * need to register a listener before the stanza that triggers a push is sent. A sync point that is requested for pushes
+ * that are no longer in the buffer fails immediately.
+ *
+ * Typical usage:
+ * <pre>
+ * final RosterPushRecorder recorder = RosterPushRecorder.installOn(connection);
+ * try {
+ *     final long mark = recorder.mark();
+ *     // ... send roster changes ...
+ *     final RosterPacket push = assertResult(recorder.whenItem(mark, target, item -&gt; item.getItemType() == RosterPacket.ItemType.both), "...");
+ * } finally {
+ *     recorder.uninstall();
+ * }
+ * </pre>
+ */
+final class RosterPushRecorder extends AbstractIqRequestHandler
+{
+    /**
+     * The default amount of pushes that are retained.
+     */
+    static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * A roster push, as recorded by this handler.
+     */
+    static final class RecordedPush
+    {
+        final long sequence;
+        final long receivedNanos;
+        final RosterPacket packet;
+
+        RecordedPush(final long sequence, final long receivedNanos, final RosterPacket packet)
+        {
+            this.sequence = sequence;
+            this.receivedNanos = receivedNanos;
+            this.packet = packet;
+        }
+
+        public long getSequence()
+        {
+            return sequence;
+        }
+
+        /**
+         * The value of {@link System#nanoTime()} at the moment that the push was received.
+         */
+        public long getReceivedNanos()
+        {
+            return receivedNanos;
+        }
+
+        public RosterPacket getPacket()
+        {
+            return packet;
+        }
+    }
+
+    /**
+     * Something that awaits one or more pushes. Implementations must be able to cope with the same push being offered
+     * more than once, and with pushes being offered out of order.
+     */
+    private interface Waiter
+    {
+        /**
+         * Offers a push to this waiter.
+         *
+         * @return true if this waiter is done, and no longer needs to be offered pushes.
+         */
+        boolean offer(RecordedPush push);
+    }
+
+    private final XMPPConnection connection;
+    private final AtomicReferenceArray<RecordedPush> ring;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private volatile IQRequestHandler delegate;
+
+    private RosterPushRecorder(final XMPPConnection connection, final int capacity)
+    {
+        super(RosterPacket.ELEMENT, RosterPacket.NAMESPACE, IQ.Type.set, Mode.sync);
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be a positive number, but was: " + capacity);
+        }
+        this.connection = connection;
+        this.ring = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Registers a new recorder on the provided connection, using the default capacity. The handler that was registered
+     * before is used as a delegate, so that Smack internal classes (like Roster) keep on processing roster changes.
+     *
+     * @param connection The connection on which roster pushes are to be recorded.
+     * @return The recorder, which should be removed again by invoking {@link #uninstall()}.
+     */
+    static RosterPushRecorder installOn(final XMPPConnection connection)
+    {
+        return installOn(connection, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Registers a new recorder on the provided connection. The handler that was registered before is used as a
+     * delegate, so that Smack internal classes (like Roster) keep on processing roster changes.
+     *
+     * @param connection The connection on which roster pushes are to be recorded.
+     * @param capacity The maximum amount of pushes that are retained (older pushes are overwritten).
+     * @return The recorder, which should be removed again by invoking {@link #uninstall()}.
+     */
+    static RosterPushRecorder installOn(final XMPPConnection connection, final int capacity)
+    {
+        final RosterPushRecorder recorder = new RosterPushRecorder(connection, capacity);
+        recorder.delegate = connection.registerIQRequestHandler(recorder);
+        return recorder;
+    }
+
+    /**
+     * Restores the handler that was registered on the connection before this recorder was installed.
+     */
+    void uninstall()
+    {
+        final IQRequestHandler oldHandler = delegate;
+        if (oldHandler != null) {
+            connection.registerIQRequestHandler(oldHandler);
+        } else {
+            connection.unregisterIQRequestHandler(this);
+        }
+    }
+
+    @Override
+    public IQ handleIQRequest(IQ iqRequest)
+    {
+        final long receivedNanos = System.nanoTime();
+        final IQRequestHandler handler = delegate;
+        final IQ result = handler != null ? handler.handleIQRequest(iqRequest) : IQ.createResultIQ(iqRequest);
+
+        final RecordedPush push = new RecordedPush(nextSequence.getAndIncrement(), receivedNanos, (RosterPacket) iqRequest);
+        ring.set(slot(push.sequence), push);
+
+        for (final Waiter waiter : waiters) {
+            if (waiter.offer(push)) {
+                waiters.remove(waiter);
+            }
+        }
+        return result;
+    }
+
+    private int slot(final long sequence)
+    {
+        return (int) (sequence % ring.length());
+    }
+
+    /**
+     * Returns the sequence number that will be assigned to the next push that is received. This value can be used to
+     * wait for pushes that are received after 'now'.
+     */
+    long mark()
+    {
+        return nextSequence.get();
+    }
+
+    /**
+     * Returns the total amount of pushes that were received (including those that are no longer retained).
+     */
+    long getCount()
+    {
+        return nextSequence.get();
+    }
+
+    /**
+     * Returns all retained pushes that have a sequence number equal to or larger than the provided value, ordered by
+     * sequence number.
+     */
+    List<RecordedPush> getPushes(final long fromSequence)
+    {
+        final long end = nextSequence.get();
+        final long start = Math.max(fromSequence, end - ring.length());
+        final List<RecordedPush> result = new ArrayList<>((int) Math.max(0, end - start));
+        for (long sequence = Math.max(0, start); sequence < end; sequence++) {
+            final RecordedPush push = ring.get(slot(sequence));
+            if (push != null && push.sequence == sequence) { // Skip slots that are not yet written, or already overwritten.
+                result.add(push);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the time that passed between the arrival of each retained push (with a sequence number equal to or
+     * larger than the provided value) and the push that preceded it.
+     */
+    List<Duration> getInterArrivalTimes(final long fromSequence)
+    {
+        final List<RecordedPush> pushes = getPushes(fromSequence);
+        final List<Duration> result = new ArrayList<>(Math.max(0, pushes.size() - 1));
+        for (int i = 1; i < pushes.size(); i++) {
+            result.add(Duration.ofNanos(pushes.get(i).receivedNanos - pushes.get(i - 1).receivedNanos));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the rate, in pushes per second, at which the retained pushes (with a sequence number equal to or larger
+     * than the provided value) were received, or -1 when fewer than two pushes are available.
+     */
+    double getPushRate(final long fromSequence)
+    {
+        final List<RecordedPush> pushes = getPushes(fromSequence);
+        if (pushes.size() < 2) {
+            return -1;
+        }
+        final long elapsed = pushes.get(pushes.size() - 1).receivedNanos - pushes.get(0).receivedNanos;
+        return elapsed <= 0 ? -1 : (pushes.size() - 1) * 1_000_000_000d / elapsed;
+    }
+
+    /**
+     * Returns a sync point that is signalled with the first push (with a sequence number equal to or larger than the
+     * provided value) that satisfies the provided condition.
+     */
+    ResultSyncPoint<RecordedPush, Exception> whenPush(final long fromSequence, final Predicate<RecordedPush> condition)
+    {
+        final ResultSyncPoint<RecordedPush, Exception> syncPoint = new ResultSyncPoint<>();
+        final AtomicBoolean signalled = new AtomicBoolean();
+        register(push -> {
+            if (push.sequence >= fromSequence && condition.test(push) && signalled.compareAndSet(false, true)) {
+                syncPoint.signal(push);
+            }
+            return signalled.get();
+        }, fromSequence, syncPoint);
+        return syncPoint;
+    }
+
+    /**
+     * Returns a sync point that is signalled with the first push (with a sequence number equal to or larger than the
+     * provided value) that contains an item for the provided JID which satisfies the provided condition.
+     */
+    ResultSyncPoint<RosterPacket, Exception> whenItem(final long fromSequence, final Jid target, final Predicate<RosterPacket.Item> condition)
+    {
+        final ResultSyncPoint<RosterPacket, Exception> syncPoint = new ResultSyncPoint<>();
+        final AtomicBoolean signalled = new AtomicBoolean();
+        register(push -> {
+            if (push.sequence >= fromSequence && !signalled.get()) {
+                for (final RosterPacket.Item item : push.packet.getRosterItems()) {
+                    if (item.getJid().equals(target) && condition.test(item) && signalled.compareAndSet(false, true)) {
+                        syncPoint.signal(push.packet);
+                        break;
+                    }
+                }
+            }
+            return signalled.get();
+        }, fromSequence, syncPoint);
+        return syncPoint;
+    }
+
+    /**
+     * Returns a sync point that is signalled with the first push (with a sequence number equal to or larger than the
+     * provided value) that contains an item for the provided JID.
+     */
+    ResultSyncPoint<RosterPacket, Exception> whenItem(final long fromSequence, final Jid target)
+    {
+        return whenItem(fromSequence, target, item -> true);
+    }
+
+    /**
+     * Returns a sync point that is signalled once the provided amount of pushes, starting with the push that has the
+     * provided sequence number, have been received. The pushes are provided in the order in which they were received.
+     */
+    ResultSyncPoint<List<RosterPacket>, Exception> whenAmount(final long fromSequence, final int amount)
+    {
+        final ResultSyncPoint<List<RosterPacket>, Exception> syncPoint = new ResultSyncPoint<>();
+        final ConcurrentSkipListMap<Long, RosterPacket> collected = new ConcurrentSkipListMap<>();
+        final AtomicBoolean signalled = new AtomicBoolean();
+        register(push -> {
+            // Only pushes in the requested range are collected. This guarantees that no push is skipped, even when pushes are offered out of order.
+            if (push.sequence >= fromSequence && push.sequence < fromSequence + amount) {
+                collected.putIfAbsent(push.sequence, push.packet);
+                if (collected.size() == amount && signalled.compareAndSet(false, true)) {
+                    syncPoint.signal(new ArrayList<>(collected.values()));
+                }
+            }
+            return signalled.get();
+        }, fromSequence, syncPoint);
+        return syncPoint;
+    }
+
+    /**
+     * Registers a waiter, and offers it all retained pushes from the provided sequence number onwards. When some of
+     * those pushes are no longer retained, the outcome for the waiter cannot be determined: the sync point is then
+     * signalled with an exception straight away (rather than it never being signalled).
+     */
+    private void register(final Waiter waiter, final long fromSequence, final ResultSyncPoint<?, Exception> syncPoint)
+    {
+        // First register, then replay what is already recorded. A push that is recorded concurrently is either seen by
+        // the replay, or is offered to the waiter by the thread that records it (and possibly both).
+        waiters.add(waiter);
+        final long oldestRetained = nextSequence.get() - ring.length();
+        if (fromSequence < oldestRetained) {
+            waiters.remove(waiter);
+            syncPoint.signal(new IllegalStateException("Roster pushes starting at sequence number " + fromSequence + " are requested, but pushes before sequence number " + oldestRetained + " are no longer retained. Install the recorder with a capacity larger than " + ring.length() + "."));
+            return;
+        }
+        for (final RecordedPush push : getPushes(fromSequence)) {
+            if (waiter.offer(push)) {
+                waiters.remove(waiter);
+                return;
+            }
+        }
+    }
+}
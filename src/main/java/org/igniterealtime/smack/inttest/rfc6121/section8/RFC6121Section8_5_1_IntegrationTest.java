@@ -19,6 +19,7 @@ import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
 import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.StanzaCollector;
 import org.jivesoftware.smack.XMPPException;
@@ -59,15 +60,18 @@ public class RFC6121Section8_5_1_IntegrationTest extends AbstractSmackIntegratio
     public void testLocalDomainNoSuchUserIQBareJid() throws XmppStringprepException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, XMPPException.XMPPErrorException
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid localDomainNoSuchUser = JidCreate.bareFrom(Localpart.from("nonexistingusername-" + StringUtils.randomString(5)), conOne.getXMPPServiceDomain());
         final IQ outboundStanza = new Ping();
         outboundStanza.setTo(localDomainNoSuchUser);
 
         // Execute system under test.
+        Phases.execute();
         try {
             final IQ response = conOne.sendIqRequestAndWaitForResponse(outboundStanza);
 
             // Verify result.
+            Phases.verify();
             fail("Expected '" + conOne.getUser() + "' to receive a stanza error after sending an IQ request addressed to a bare JID '" + outboundStanza.getTo() + "', which is referencing a non-existing user account on the local server. A (non-error) IQ result was received instead.");
         } catch (XMPPException.XMPPErrorException e) {
             assertEquals(StanzaError.Condition.service_unavailable, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was received by '" + conOne.getUser() + "' after sending an IQ request addressed to a bare JID '" + outboundStanza.getTo() + "', which is referencing a non-existing user account on the local server.");
@@ -80,15 +84,18 @@ public class RFC6121Section8_5_1_IntegrationTest extends AbstractSmackIntegratio
     public void testLocalDomainNoSuchUserIQFullJid() throws XmppStringprepException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, XMPPException.XMPPErrorException
     {
         // Setup test fixture.
+        Phases.setup();
         final FullJid localDomainNoSuchUser = JidCreate.fullFrom(Localpart.from("nonexistingusername-" + StringUtils.randomString(5)), conOne.getXMPPServiceDomain(), Resourcepart.from(StringUtils.randomString(5)));
         final IQ outboundStanza = new Ping();
         outboundStanza.setTo(localDomainNoSuchUser);
 
         // Execute system under test.
+        Phases.execute();
         try {
             final IQ response = conOne.sendIqRequestAndWaitForResponse(outboundStanza);
 
             // Verify result.
+            Phases.verify();
             fail("Expected '" + conOne.getUser() + "' to receive a stanza error after sending an IQ request addressed to a full JID '" + outboundStanza.getTo() + "', which is referencing a non-existing user account on the local server. A (non-error) IQ result was received instead.");
         } catch (XMPPException.XMPPErrorException e) {
             assertEquals(StanzaError.Condition.service_unavailable, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was received by '" + conOne.getUser() + "' after sending an IQ request addressed to a full JID '" + outboundStanza.getTo() + "', which is referencing a non-existing user account on the local server.");
@@ -101,13 +108,16 @@ public class RFC6121Section8_5_1_IntegrationTest extends AbstractSmackIntegratio
     public void testLocalDomainNoSuchUserMessageBareJid() throws XmppStringprepException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, XMPPException.XMPPErrorException
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid localDomainNoSuchUser = JidCreate.bareFrom(Localpart.from("nonexistingusername-" + StringUtils.randomString(5)), conOne.getXMPPServiceDomain());
         final Message outboundStanza = MessageBuilder.buildMessage().setBody("Test message " + StringUtils.randomString(3)).to(localDomainNoSuchUser).build().asBuilder(StringUtils.randomString(9)).build();
 
         // Execute system under test.
+        Phases.execute();
         final StanzaCollector collector = conOne.createStanzaCollectorAndSend(new OrFilter(new StanzaIdFilter(outboundStanza), FromMatchesFilter.createBare(localDomainNoSuchUser)), outboundStanza);
 
         // Verify result.
+        Phases.verify();
         final IQ request = new Ping();
         request.setTo(conOne.getUser());
         conOne.sendIqRequestAndWaitForResponse(request); // Wait until the _next_ stanza is processed. The original stanza must have been processed by then.
@@ -129,13 +139,16 @@ public class RFC6121Section8_5_1_IntegrationTest extends AbstractSmackIntegratio
     public void testLocalDomainNoSuchUserMessageFullJid() throws XmppStringprepException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, XMPPException.XMPPErrorException
     {
         // Setup test fixture.
+        Phases.setup();
         final FullJid localDomainNoSuchUser = JidCreate.fullFrom(Localpart.from("nonexistingusername-" + StringUtils.randomString(5)), conOne.getXMPPServiceDomain(), Resourcepart.from(StringUtils.randomString(5)));
         final Message outboundStanza = MessageBuilder.buildMessage().setBody("Test message " + StringUtils.randomString(3)).to(localDomainNoSuchUser).build().asBuilder(StringUtils.randomString(9)).build();
 
         // Execute system under test.
+        Phases.execute();
         final StanzaCollector collector = conOne.createStanzaCollectorAndSend(new OrFilter(new StanzaIdFilter(outboundStanza), FromMatchesFilter.createBare(localDomainNoSuchUser)), outboundStanza);
 
         // Verify result.
+        Phases.verify();
         final IQ request = new Ping();
         request.setTo(conOne.getUser());
         conOne.sendIqRequestAndWaitForResponse(request); // Wait until the _next_ stanza is processed. The original stanza must have been processed by then.
@@ -157,6 +170,7 @@ public class RFC6121Section8_5_1_IntegrationTest extends AbstractSmackIntegratio
     public void testLocalDomainNoSuchUserPresenceNoTypeBareJid() throws XmppStringprepException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, XMPPException.XMPPErrorException
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid localDomainNoSuchUser = JidCreate.bareFrom(Localpart.from("nonexistingusername-" + StringUtils.randomString(5)), conOne.getXMPPServiceDomain());
         doTestLocalDomainNoSuchUserPresenceOfType(localDomainNoSuchUser, null);
     }
@@ -165,6 +179,7 @@ public class RFC6121Section8_5_1_IntegrationTest extends AbstractSmackIntegratio
     public void testLocalDomainNoSuchUserPresenceNoTypeFullJid() throws XmppStringprepException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, XMPPException.XMPPErrorException
     {
         // Setup test fixture.
+        Phases.setup();
         final FullJid localDomainNoSuchUser = JidCreate.fullFrom(Localpart.from("nonexistingusername-" + StringUtils.randomString(5)), conOne.getXMPPServiceDomain(), Resourcepart.from(StringUtils.randomString(5)));
         doTestLocalDomainNoSuchUserPresenceOfType(localDomainNoSuchUser, null);
     }
@@ -173,6 +188,7 @@ public class RFC6121Section8_5_1_IntegrationTest extends AbstractSmackIntegratio
     public void testLocalDomainNoSuchUserPresenceUnavailableTypeBareJid() throws XmppStringprepException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, XMPPException.XMPPErrorException
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid localDomainNoSuchUser = JidCreate.bareFrom(Localpart.from("nonexistingusername-" + StringUtils.randomString(5)), conOne.getXMPPServiceDomain());
         doTestLocalDomainNoSuchUserPresenceOfType(localDomainNoSuchUser, Presence.Type.unavailable);
     }
@@ -188,11 +204,13 @@ public class RFC6121Section8_5_1_IntegrationTest extends AbstractSmackIntegratio
     public void testLocalDomainNoSuchUserPresenceSubscribeTypeBareJid() throws XmppStringprepException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, XMPPException.XMPPErrorException, SmackException.NotLoggedInException
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid localDomainNoSuchUser = JidCreate.bareFrom(Localpart.from("nonexistingusername-" + StringUtils.randomString(5)), conOne.getXMPPServiceDomain());
         try {
             doTestLocalDomainNoSuchUserPresenceOfType(localDomainNoSuchUser, Presence.Type.subscribe);
         } finally {
             // Tear down test fixture
+            Phases.teardown();
             final Roster roster = Roster.getInstanceFor(conOne);
             final RosterEntry entry = roster.getEntry(localDomainNoSuchUser);
             if (entry != null) {
@@ -209,6 +227,7 @@ public class RFC6121Section8_5_1_IntegrationTest extends AbstractSmackIntegratio
             doTestLocalDomainNoSuchUserPresenceOfType(localDomainNoSuchUser, Presence.Type.subscribe);
         } finally {
             // Tear down test fixture
+            Phases.teardown();
             final Roster roster = Roster.getInstanceFor(conOne);
             final RosterEntry entry = roster.getEntry(localDomainNoSuchUser.asBareJid());
             if (entry != null) {
@@ -221,11 +240,13 @@ public class RFC6121Section8_5_1_IntegrationTest extends AbstractSmackIntegratio
     public void testLocalDomainNoSuchUserPresenceSubscribedTypeBareJid() throws XmppStringprepException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, XMPPException.XMPPErrorException, SmackException.NotLoggedInException
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid localDomainNoSuchUser = JidCreate.bareFrom(Localpart.from("nonexistingusername-" + StringUtils.randomString(5)), conOne.getXMPPServiceDomain());
         try {
             doTestLocalDomainNoSuchUserPresenceOfType(localDomainNoSuchUser, Presence.Type.subscribed);
         } finally {
             // Tear down test fixture
+            Phases.teardown();
             final Roster roster = Roster.getInstanceFor(conOne);
             final RosterEntry entry = roster.getEntry(localDomainNoSuchUser);
             if (entry != null) {
@@ -242,6 +263,7 @@ public class RFC6121Section8_5_1_IntegrationTest extends AbstractSmackIntegratio
             doTestLocalDomainNoSuchUserPresenceOfType(localDomainNoSuchUser, Presence.Type.subscribed);
         } finally {
             // Tear down test fixture
+            Phases.teardown();
             final Roster roster = Roster.getInstanceFor(conOne);
             final RosterEntry entry = roster.getEntry(localDomainNoSuchUser.asBareJid());
             if (entry != null) {
@@ -254,6 +276,7 @@ public class RFC6121Section8_5_1_IntegrationTest extends AbstractSmackIntegratio
     public void testLocalDomainNoSuchUserPresenceUnsubscribeTypeBareJid() throws XmppStringprepException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, XMPPException.XMPPErrorException
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid localDomainNoSuchUser = JidCreate.bareFrom(Localpart.from("nonexistingusername-" + StringUtils.randomString(5)), conOne.getXMPPServiceDomain());
         doTestLocalDomainNoSuchUserPresenceOfType(localDomainNoSuchUser, Presence.Type.unsubscribe);
     }
@@ -269,6 +292,7 @@ public class RFC6121Section8_5_1_IntegrationTest extends AbstractSmackIntegratio
     public void testLocalDomainNoSuchUserPresenceUnsubscribedTypeBareJid() throws XmppStringprepException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, XMPPException.XMPPErrorException
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid localDomainNoSuchUser = JidCreate.bareFrom(Localpart.from("nonexistingusername-" + StringUtils.randomString(5)), conOne.getXMPPServiceDomain());
         doTestLocalDomainNoSuchUserPresenceOfType(localDomainNoSuchUser, Presence.Type.unsubscribed);
     }
@@ -284,13 +308,16 @@ public class RFC6121Section8_5_1_IntegrationTest extends AbstractSmackIntegratio
     public void testLocalDomainNoSuchUserPresenceProbeBareJid() throws XmppStringprepException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, XMPPException.XMPPErrorException
     {
         // Setup test fixture.
+        Phases.setup();
         final BareJid localDomainNoSuchUser = JidCreate.bareFrom(Localpart.from("nonexistingusername-" + StringUtils.randomString(5)), conOne.getXMPPServiceDomain());
         final Presence outboundStanza = PresenceBuilder.buildPresence(StringUtils.randomString(9)).ofType(Presence.Type.probe).to(localDomainNoSuchUser).build();
 
         // Execute system under test.
+        Phases.execute();
         final StanzaCollector collector = conOne.createStanzaCollectorAndSend(new OrFilter(new StanzaIdFilter(outboundStanza), FromMatchesFilter.createBare(localDomainNoSuchUser)), outboundStanza);
 
         // Verify result.
+        Phases.verify();
         final IQ request = new Ping();
         request.setTo(conOne.getUser());
         conOne.sendIqRequestAndWaitForResponse(request); // Wait until the _next_ stanza is processed. The original stanza must have been processed by then.
@@ -314,9 +341,11 @@ public class RFC6121Section8_5_1_IntegrationTest extends AbstractSmackIntegratio
         final Presence outboundStanza = PresenceBuilder.buildPresence(StringUtils.randomString(9)).ofType(Presence.Type.probe).to(localDomainNoSuchUser).build();
 
         // Execute system under test.
+        Phases.execute();
         final StanzaCollector collector = conOne.createStanzaCollectorAndSend(new OrFilter(new StanzaIdFilter(outboundStanza), FromMatchesFilter.createBare(localDomainNoSuchUser)), outboundStanza);
 
         // Verify result.
+        Phases.verify();
         final IQ request = new Ping();
         request.setTo(conOne.getUser());
         conOne.sendIqRequestAndWaitForResponse(request); // Wait until the _next_ stanza is processed. The original stanza must have been processed by then.
@@ -336,6 +365,7 @@ public class RFC6121Section8_5_1_IntegrationTest extends AbstractSmackIntegratio
     void doTestLocalDomainNoSuchUserPresenceOfType(final Jid localDomainNoSuchUser, final Presence.Type type) throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
+        Phases.setup();
         final PresenceBuilder presenceBuilder = PresenceBuilder.buildPresence(StringUtils.randomString(9)).to(localDomainNoSuchUser);
         if (type != null) {
             presenceBuilder.ofType(type);
@@ -343,9 +373,11 @@ public class RFC6121Section8_5_1_IntegrationTest extends AbstractSmackIntegratio
         final Presence outboundStanza = presenceBuilder.build();
 
         // Execute system under test.
+        Phases.execute();
         final StanzaCollector collector = conOne.createStanzaCollectorAndSend(new OrFilter(new StanzaIdFilter(outboundStanza), FromMatchesFilter.createBare(localDomainNoSuchUser)), outboundStanza);
 
         // Verify result.
+        Phases.verify();
         final IQ request = new Ping();
         request.setTo(conOne.getUser());
         conOne.sendIqRequestAndWaitForResponse(request); // Wait until the _next_ stanza is processed. The original stanza must have been processed by then.
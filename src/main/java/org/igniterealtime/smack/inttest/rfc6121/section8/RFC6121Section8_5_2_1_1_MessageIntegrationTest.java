@@ -20,6 +20,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
 import org.igniterealtime.smack.inttest.util.AccountUtilities;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.*;
 import org.jivesoftware.smack.filter.*;
@@ -579,6 +580,7 @@ public class RFC6121Section8_5_2_1_1_MessageIntegrationTest extends AbstractSmac
         }
 
         // Setup test fixture.
+        Phases.setup();
         final List<AbstractXMPPConnection> additionalConnections = new ArrayList<>(resourcePriorities.size()-1);
         for (int i = 0; i < resourcePriorities.size()-1; i++) {
             additionalConnections.add(AccountUtilities.spawnNewConnection(environment, sinttestConfiguration));
@@ -589,12 +591,14 @@ public class RFC6121Section8_5_2_1_1_MessageIntegrationTest extends AbstractSmac
         final Collection<ListenerHandle> listenerHandles = new HashSet<>(); // keep track so that the associated listener can be deregistered after the test is done.
         try {
             // Setup test fixture: create connections for the additional resources (based on the user used for 'conTwo').
+            Phases.setup();
             for (final AbstractXMPPConnection additionalConnection : additionalConnections) {
                 additionalConnection.connect();
                 additionalConnection.login(((AbstractXMPPConnection) conTwo).getConfiguration().getUsername(), ((AbstractXMPPConnection) conTwo).getConfiguration().getPassword(), Resourcepart.from(StringUtils.randomString(7)));
             }
 
             // Setup test fixture: configure the desired resource priority for each of the resource connections.
+            Phases.setup();
             for (int i = 0; i < resourcePriorities.size(); i++) {
                 final XMPPConnection resourceConnection = i == 0 ? conTwo : additionalConnections.get(i-1);
                 final int resourcePriority = resourcePriorities.get(i);
@@ -612,11 +616,13 @@ public class RFC6121Section8_5_2_1_1_MessageIntegrationTest extends AbstractSmac
             }
 
             // Setup test fixture: prepare for the message stanza that is sent to the bare JID to be sent, and collected while being received by the various resources.
+            Phases.setup();
             final String needle = StringUtils.randomString(9);
             final StanzaFilter needleDetector = new AndFilter(FromMatchesFilter.createFull(conOne.getUser()), (s -> s instanceof Message && ((Message) s).getType() == messageType), new StanzaIdFilter(needle));
             final Map<EntityFullJid, Stanza> receivedBy = new ConcurrentHashMap<>(); // This is what will be evaluated by this test's assertions.
 
             // Setup test fixture: detect the message stanza that's sent to signal that the test stanza has been sent and processed
+            Phases.setup();
             final SimpleResultSyncPoint testStanzaProcessedSyncPoint = new SimpleResultSyncPoint();
             final StanzaListener stopListenerRecipients = new StanzaListener() {
                 final Set<Jid> recipients = new HashSet<>(allResources);
@@ -639,17 +645,20 @@ public class RFC6121Section8_5_2_1_1_MessageIntegrationTest extends AbstractSmac
             }
 
             // Setup test fixture: detect the message stanza that's sent to signal the sender need not wait any longer for any potential stanza delivery errors.
+            Phases.setup();
             final String stopNeedleSender = StringUtils.randomString(7);
             final StanzaFilter stopDetectorSender = new AndFilter(FromMatchesFilter.createBare(conTwo.getUser()), StanzaTypeFilter.MESSAGE, new StanzaIdFilter(stopNeedleSender));
             final SimpleResultSyncPoint stopListenerSenderSyncPoint = new SimpleResultSyncPoint();
             listenerHandles.add(conOne.addStanzaListener(s -> stopListenerSenderSyncPoint.signal(), stopDetectorSender));
 
             // Setup test fixture: detect an error that is sent back to the sender.
+            Phases.setup();
             final StanzaFilter errorDetector = new AndFilter(MessageTypeFilter.ERROR, new StanzaIdFilter(needle));
             final Stanza[] errorReceived = { null };
             listenerHandles.add(conOne.addStanzaListener(stanza -> errorReceived[0] = stanza, errorDetector));
 
             // Execute system under test.
+            Phases.execute();
             final Message testStanza = StanzaBuilder.buildMessage(needle)
                 .ofType(messageType)
                 .to(conTwo.getUser().asBareJid())
@@ -683,9 +692,11 @@ public class RFC6121Section8_5_2_1_1_MessageIntegrationTest extends AbstractSmac
             }
 
             // Verify result.
+            Phases.verify();
             assertions.test(allResources, allNonNegativeResources, receivedBy, testStanza, Optional.ofNullable(errorReceived[0]));
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             listenerHandles.forEach(ListenerHandle::close);
             additionalConnections.forEach(AbstractXMPPConnection::disconnect);
             conTwo.sendStanza(PresenceBuilder.buildPresence().ofType(Presence.Type.available).build()); // This intends to mimic the 'initial presence'.
@@ -21,6 +21,7 @@ import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
 import org.igniterealtime.smack.inttest.util.AccountUtilities;
 import org.igniterealtime.smack.inttest.util.MarkerExtension;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.*;
 import org.jivesoftware.smack.filter.*;
@@ -254,6 +255,7 @@ public class RFC6121Section8_5_2_1_2_PresenceIntegrationTest extends AbstractSma
         }
 
         // Setup test fixture.
+        Phases.setup();
         final List<AbstractXMPPConnection> additionalConnections = new ArrayList<>(resourcePriorities.size()-1);
         for (int i = 0; i < resourcePriorities.size()-1; i++) {
             additionalConnections.add(AccountUtilities.spawnNewConnection(environment, sinttestConfiguration));
@@ -263,12 +265,14 @@ public class RFC6121Section8_5_2_1_2_PresenceIntegrationTest extends AbstractSma
         final Collection<ListenerHandle> listenerHandles = new HashSet<>(); // keep track so that the associated listener can be deregistered after the test is done.
         try {
             // Setup test fixture: create connections for the additional resources (based on the user used for 'conTwo').
+            Phases.setup();
             for (final AbstractXMPPConnection additionalConnection : additionalConnections) {
                 additionalConnection.connect();
                 additionalConnection.login(((AbstractXMPPConnection) conTwo).getConfiguration().getUsername(), ((AbstractXMPPConnection) conTwo).getConfiguration().getPassword(), Resourcepart.from(StringUtils.randomString(7)));
             }
 
             // Setup test fixture: configure the desired resource priority for each of the resource connections.
+            Phases.setup();
             for (int i = 0; i < resourcePriorities.size(); i++) {
                 final XMPPConnection resourceConnection = i == 0 ? conTwo : additionalConnections.get(i-1);
                 final int resourcePriority = resourcePriorities.get(i);
@@ -283,6 +287,7 @@ public class RFC6121Section8_5_2_1_2_PresenceIntegrationTest extends AbstractSma
             }
 
             // Setup test fixture: prepare for the stanza that is sent to the bare JID to be sent, and collected while being received by the various resources.
+            Phases.setup();
             final String needle = StringUtils.randomString(9);
             final StanzaFilter needleDetector = new AndFilter(FromMatchesFilter.createFull(conOne.getUser()), new ExtensionElementFilter<>(MarkerExtension.class), (s -> s instanceof Presence && ((Presence) s).getType() == presenceType && s.getExtension(MarkerExtension.class).getValue().equals(needle)));
             final Map<EntityFullJid, Stanza> receivedBy = new ConcurrentHashMap<>(); // This is what will be evaluated by this test's assertions.
@@ -300,6 +305,7 @@ public class RFC6121Section8_5_2_1_2_PresenceIntegrationTest extends AbstractSma
             }
 
             // Execute system under test.
+            Phases.execute();
             final Presence testStanza = StanzaBuilder.buildPresence()
                 .ofType(presenceType)
                 .to(conTwo.getUser().asBareJid())
@@ -317,6 +323,7 @@ public class RFC6121Section8_5_2_1_2_PresenceIntegrationTest extends AbstractSma
             }
 
             // Verify result.
+            Phases.verify();
             final Set<FullJid> missing = new HashSet<>(allResources);
             receivedBy.keySet().forEach(missing::remove);
 
@@ -327,6 +334,7 @@ public class RFC6121Section8_5_2_1_2_PresenceIntegrationTest extends AbstractSma
             assertTrue(invalidAddressees.isEmpty(), "Expected the 'to' attribute of the presence stanza sent by '" + conOne.getUser() + "' to remain unchanged ('" + testStanza.getTo() + "'). Instead, these resources received attribute values that were modified: " + errorMessage + ".");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             listenerHandles.forEach(ListenerHandle::close);
             additionalConnections.forEach(AbstractXMPPConnection::disconnect);
             conTwo.sendStanza(PresenceBuilder.buildPresence().ofType(Presence.Type.available).build()); // This intends to mimic the 'initial presence'.
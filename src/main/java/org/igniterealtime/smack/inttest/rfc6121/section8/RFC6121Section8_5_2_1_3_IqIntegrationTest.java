@@ -21,6 +21,7 @@ import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
 import org.igniterealtime.smack.inttest.util.AccountUtilities;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.*;
 import org.jivesoftware.smack.filter.*;
@@ -457,6 +458,7 @@ public class RFC6121Section8_5_2_1_3_IqIntegrationTest extends AbstractSmackInte
         }
 
         // Setup test fixture.
+        Phases.setup();
         final List<AbstractXMPPConnection> additionalConnections = new ArrayList<>(resourcePriorities.size()-1);
         for (int i = 0; i < resourcePriorities.size()-1; i++) {
             additionalConnections.add(AccountUtilities.spawnNewConnection(environment, sinttestConfiguration));
@@ -467,12 +469,14 @@ public class RFC6121Section8_5_2_1_3_IqIntegrationTest extends AbstractSmackInte
         final Collection<IQRequestHandler> receivedHandlers = new HashSet<>();
         try {
             // Setup test fixture: create connections for the additional resources (based on the user used for 'conTwo').
+            Phases.setup();
             for (final AbstractXMPPConnection additionalConnection : additionalConnections) {
                 additionalConnection.connect();
                 additionalConnection.login(((AbstractXMPPConnection) conTwo).getConfiguration().getUsername(), ((AbstractXMPPConnection) conTwo).getConfiguration().getPassword(), Resourcepart.from(StringUtils.randomString(7)));
             }
 
             // Setup test fixture: configure the desired resource priority for each of the resource connections.
+            Phases.setup();
             for (int i = 0; i < resourcePriorities.size(); i++) {
                 final XMPPConnection resourceConnection = i == 0 ? conTwo : additionalConnections.get(i-1);
                 final int resourcePriority = resourcePriorities.get(i);
@@ -487,9 +491,11 @@ public class RFC6121Section8_5_2_1_3_IqIntegrationTest extends AbstractSmackInte
             }
 
             // Setup test fixture: prepare for the IQ request that is sent to the bare JID to be sent, and collected if being received by the various resources of the recipient.
+            Phases.setup();
             final Map<EntityFullJid, Stanza> receivedBy = new ConcurrentHashMap<>(); // This is what will be evaluated by this test's assertions.
 
             // Setup test fixture: detect the message stanza that's sent to signal that the test stanza has been sent and processed
+            Phases.setup();
             final SimpleResultSyncPoint testStanzaProcessedSyncPoint = new SimpleResultSyncPoint();
             final StanzaListener stopListenerRecipients = new StanzaListener() {
                 final Set<Jid> recipients = new HashSet<>(allResources);
@@ -521,6 +527,7 @@ public class RFC6121Section8_5_2_1_3_IqIntegrationTest extends AbstractSmackInte
             }
 
             // Execute system under test.
+            Phases.execute();
             IQ testResponse;
             try {
                 testStanza.setTo(conTwo.getUser().asBareJid());
@@ -543,9 +550,11 @@ public class RFC6121Section8_5_2_1_3_IqIntegrationTest extends AbstractSmackInte
             }
 
             // Verify result.
+            Phases.verify();
             assertions.test(receivedBy, testStanza, testResponse);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             listenerHandles.forEach(ListenerHandle::close);
             for (int i = 0; i < resourcePriorities.size(); i++) {
                 final XMPPConnection resourceConnection = i == 0 ? conTwo : additionalConnections.get(i - 1);
@@ -22,6 +22,7 @@ import org.igniterealtime.smack.inttest.annotations.AfterClass;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
 import org.igniterealtime.smack.inttest.util.AccountUtilities;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.ListenerHandle;
 import org.jivesoftware.smack.filter.AndFilter;
@@ -84,6 +85,7 @@ public class RFC6121Section8_5_2_2_1_MessageIntegrationTest extends AbstractSmac
     public void testGroupchat() throws Exception
     {
         // Setup test fixture: detect an error that is sent back to the sender.
+        Phases.setup();
         final String needle = StringUtils.randomString(9);
 
         final StanzaFilter errorDetector = new AndFilter(MessageTypeFilter.ERROR, new StanzaIdFilter(needle));
@@ -91,6 +93,7 @@ public class RFC6121Section8_5_2_2_1_MessageIntegrationTest extends AbstractSmac
         try (final ListenerHandle ignored = conOne.addStanzaListener(stanza -> errorReceivedBySender.signal(), errorDetector))
         {
             // Execute system under test.
+            Phases.execute();
             final Message testStanza = StanzaBuilder.buildMessage(needle)
                 .ofType(Message.Type.groupchat)
                 .to(entityWithoutResources)
@@ -100,6 +103,7 @@ public class RFC6121Section8_5_2_2_1_MessageIntegrationTest extends AbstractSmac
             conOne.sendStanza(testStanza);
 
             // Verify result
+            Phases.verify();
             assertResult(errorReceivedBySender, "Expected '" + conOne.getUser() + "' to receive an error after trying to send a message stanza of type '" + testStanza.getType() + "' to the bare JID of '" + entityWithoutResources + "' that is known to not have any available or connected resources (but no error was received)." );
         }
     }
@@ -119,14 +123,17 @@ public class RFC6121Section8_5_2_2_1_MessageIntegrationTest extends AbstractSmac
     public void doTestExpectingSilentIgnore(final Message.Type messageType) throws Exception
     {
         // Setup test fixture: detect an error that is sent back to the sender.
+        Phases.setup();
         final String needle = StringUtils.randomString(9);
 
         // Setup test fixture: detect an error that is sent back to the sender.
+        Phases.setup();
         final StanzaFilter errorDetector = new AndFilter(MessageTypeFilter.ERROR, new StanzaIdFilter(needle));
         final Stanza[] errorReceivedBySender = {null};
         try (final ListenerHandle ignored = conOne.addStanzaListener(stanza -> errorReceivedBySender[0] = stanza, errorDetector))
         {
             // Execute system under test.
+            Phases.execute();
             final Message testStanza = StanzaBuilder.buildMessage(needle)
                 .ofType(messageType)
                 .to(entityWithoutResources)
@@ -138,6 +145,7 @@ public class RFC6121Section8_5_2_2_1_MessageIntegrationTest extends AbstractSmac
             PingManager.getInstanceFor(conOne).pingMyServer(); // No matter if the server supports ping or not, when the request gets responded to, processing of testStanza must already have been concluded.
 
             // Verify result
+            Phases.verify();
             assertNull(errorReceivedBySender[0], "Expected the stanza that was sent by '" + conOne.getUser() + "',a message stanza of type '" + testStanza.getType() + "' sent to the bare JID of '" + entityWithoutResources + "' that is known to not have any available or connected resources, to be silently ignored. However the sender received an error.");
         }
     }
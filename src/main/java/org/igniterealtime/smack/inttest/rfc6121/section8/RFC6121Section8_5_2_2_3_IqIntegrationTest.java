@@ -22,6 +22,7 @@ import org.igniterealtime.smack.inttest.annotations.AfterClass;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
 import org.igniterealtime.smack.inttest.util.AccountUtilities;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.*;
 import org.jivesoftware.smack.filter.*;
@@ -129,6 +130,7 @@ public class RFC6121Section8_5_2_2_3_IqIntegrationTest extends AbstractSmackInte
     public void doTestUnsupportedIQ(final IQ.Type iqType) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final TestIQ testStanza = new TestIQ();
         testStanza.setType(iqType);
         final String needle = StringUtils.randomString(9);
@@ -136,6 +138,7 @@ public class RFC6121Section8_5_2_2_3_IqIntegrationTest extends AbstractSmackInte
         testStanza.setTo(entityWithoutResources);
 
         // Execute system under test.
+        Phases.execute();
         IQ testResponse;
         try {
             testResponse = conOne.sendIqRequestAndWaitForResponse(testStanza);
@@ -144,6 +147,7 @@ public class RFC6121Section8_5_2_2_3_IqIntegrationTest extends AbstractSmackInte
         }
 
         // Verify result.
+        Phases.verify();
         assertNotNull(testResponse, "Expected '" + conOne.getUser() + "' to have received a response (presumably generated by the server) to the IQ request of type '" + testStanza.getType() + "' with ID '" + testStanza.getStanzaId() + "' that it sent to the bare JID of '" + entityWithoutResources + "' that does not have any online resources (but no response was received).");
         assertEquals(IQ.Type.error, testResponse.getType(), "Expected '" + conOne.getUser() + "' to have received an IQ error response (as the semantics of the qualifying namespace - which we've made up - cannot be understood by the server) to the IQ request of type '" + testStanza.getType() + "' with ID '" + testStanza.getStanzaId() + "' that it sent to the bare JID of '" + entityWithoutResources + "' that does not have any online resources.");
         assertNotNull(testResponse.getError(), "Expected '" + conOne.getUser() + "' to have received an error response (as the semantics of the qualifying namespace - which we've made up - cannot be understood by the server) to the IQ request of type '" + testStanza.getType() + "' with ID '" + testStanza.getStanzaId() + "' that it sent to the bare JID of '" + entityWithoutResources + "' that does not have any online resources(but the response did not contain an error).");
@@ -164,11 +168,13 @@ public class RFC6121Section8_5_2_2_3_IqIntegrationTest extends AbstractSmackInte
     public void doTestSupportedIQ(final IQ.Type iqType) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final RosterPacket testStanza = new RosterPacket();
         testStanza.setType(iqType); // Neither a 'set' nor 'get' roster request to another person's JID is expected to change state of their roster (so it can be considered quite safe to use for testing purposes).
         testStanza.setTo(entityWithoutResources);
 
         // Execute system under test.
+        Phases.execute();
         IQ testResponse;
         try {
             testResponse = conOne.sendIqRequestAndWaitForResponse(testStanza);
@@ -177,6 +183,7 @@ public class RFC6121Section8_5_2_2_3_IqIntegrationTest extends AbstractSmackInte
         }
 
         // Verify result.
+        Phases.verify();
         assertNotNull(testResponse, "Expected '" + conOne.getUser() + "' to have received a response (presumably generated by the server) to the IQ request of type '" + testStanza.getType() + "' with ID '" + testStanza.getStanzaId() + "' that it sent to the bare JID of '" + entityWithoutResources + "' that does not have any online resources (but no response was received).");
         assertTrue(testResponse.isResponseIQ(), "Expected '" + conOne.getUser() + "' to have received an IQ response to the IQ request of type '" + testStanza.getType() + "' with ID '" + testStanza.getStanzaId() + "' that it sent to the bare JID of '" + entityWithoutResources + "' that does not have any online resources.");
     }
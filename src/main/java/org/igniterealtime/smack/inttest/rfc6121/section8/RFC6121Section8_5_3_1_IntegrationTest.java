@@ -20,6 +20,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.ListenerHandle;
 import org.jivesoftware.smack.SmackException;
@@ -65,6 +66,7 @@ public class RFC6121Section8_5_3_1_IntegrationTest extends AbstractSmackIntegrat
     public void testIqErrorUnsupported() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final TestIQ stanzaToSend = new TestIQ();
         stanzaToSend.setType(IQ.Type.error);
         stanzaToSend.setError(StanzaError.getBuilder(StanzaError.Condition.undefined_condition).build());
@@ -77,9 +79,11 @@ public class RFC6121Section8_5_3_1_IntegrationTest extends AbstractSmackIntegrat
         try (final ListenerHandle ignored = conTwo.addStanzaListener(stanza -> stanzaReceived.signal(), new AndFilter(StanzaTypeFilter.IQ, IQTypeFilter.ERROR, new StanzaIdFilter(stanzaToSend.getStanzaId()))))
         {
             // Execute System Under Test.
+            Phases.execute();
             conOne.sendStanza(stanzaToSend);
 
             // Verify result.
+            Phases.verify();
             assertResult(stanzaReceived, "Expected '" + conTwo.getUser() + "' to receive the IQ stanza of type '" + stanzaToSend.getType() + "' with stanza ID '" + stanzaToSend.getStanzaId() + "' that was sent to its full JID by '" + conOne.getUser() + "' (but the stanza was not received).");
         }
     }
@@ -88,6 +92,7 @@ public class RFC6121Section8_5_3_1_IntegrationTest extends AbstractSmackIntegrat
     public void testIqResultUnsupported() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final TestIQ stanzaToSend = new TestIQ();
         stanzaToSend.setType(IQ.Type.result);
         final String needle = StringUtils.randomString(9);
@@ -99,9 +104,11 @@ public class RFC6121Section8_5_3_1_IntegrationTest extends AbstractSmackIntegrat
         try (final ListenerHandle ignored = conTwo.addStanzaListener(stanza -> stanzaReceived.signal(), new AndFilter(StanzaTypeFilter.IQ, IQTypeFilter.RESULT, new StanzaIdFilter(stanzaToSend.getStanzaId()))))
         {
             // Execute System Under Test.
+            Phases.execute();
             conOne.sendStanza(stanzaToSend);
 
             // Verify result.
+            Phases.verify();
             assertResult(stanzaReceived, "Expected '" + conTwo.getUser() + "' to receive the IQ stanza of type '" + stanzaToSend.getType() + "' with stanza ID '" + stanzaToSend.getStanzaId() + "' that was sent to its full JID by '" + conOne.getUser() + "' (but the stanza was not received).");
         }
     }
@@ -110,6 +117,7 @@ public class RFC6121Section8_5_3_1_IntegrationTest extends AbstractSmackIntegrat
     public void testIqErrorSupported() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final RosterPacket stanzaToSend = new RosterPacket();
         stanzaToSend.setType(IQ.Type.error);
         stanzaToSend.setError(StanzaError.getBuilder(StanzaError.Condition.undefined_condition).build());
@@ -121,9 +129,11 @@ public class RFC6121Section8_5_3_1_IntegrationTest extends AbstractSmackIntegrat
         try (final ListenerHandle ignored = conTwo.addStanzaListener(stanza -> stanzaReceived.signal(), new AndFilter(StanzaTypeFilter.IQ, IQTypeFilter.ERROR, new StanzaIdFilter(stanzaToSend.getStanzaId()))))
         {
             // Execute System Under Test.
+            Phases.execute();
             conOne.sendStanza(stanzaToSend);
 
             // Verify result.
+            Phases.verify();
             assertResult(stanzaReceived, "Expected '" + conTwo.getUser() + "' to receive the IQ stanza of type '" + stanzaToSend.getType() + "' with stanza ID '" + stanzaToSend.getStanzaId() + "' that was sent to its full JID by '" + conOne.getUser() + "' (but the stanza was not received).");
         }
     }
@@ -132,6 +142,7 @@ public class RFC6121Section8_5_3_1_IntegrationTest extends AbstractSmackIntegrat
     public void testIqResultSupported() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final RosterPacket stanzaToSend = new RosterPacket();
         stanzaToSend.setType(IQ.Type.result);
         final String needle = StringUtils.randomString(9);
@@ -142,9 +153,11 @@ public class RFC6121Section8_5_3_1_IntegrationTest extends AbstractSmackIntegrat
         try (final ListenerHandle ignored = conTwo.addStanzaListener(stanza -> stanzaReceived.signal(), new AndFilter(StanzaTypeFilter.IQ, IQTypeFilter.RESULT, new StanzaIdFilter(stanzaToSend.getStanzaId()))))
         {
             // Execute System Under Test.
+            Phases.execute();
             conOne.sendStanza(stanzaToSend);
 
             // Verify result.
+            Phases.verify();
             assertResult(stanzaReceived, "Expected '" + conTwo.getUser() + "' to receive the IQ stanza of type '" + stanzaToSend.getType() + "' with stanza ID '" + stanzaToSend.getStanzaId() + "' that was sent to its full JID by '" + conOne.getUser() + "' (but the stanza was not received).");
         }
     }
@@ -194,6 +207,7 @@ public class RFC6121Section8_5_3_1_IntegrationTest extends AbstractSmackIntegrat
     private void doTestMessage(final Message.Type type) throws SmackException.NotConnectedException, InterruptedException, TimeoutException
     {
         // Setup test fixture.
+        Phases.setup();
         final String needle = StringUtils.randomString(9);
         final Message stanzaToSend = MessageBuilder.buildMessage(needle)
             .ofType(type)
@@ -205,9 +219,11 @@ public class RFC6121Section8_5_3_1_IntegrationTest extends AbstractSmackIntegrat
         try (final ListenerHandle listenerHandle = conTwo.addStanzaListener(stanza -> stanzaReceived.signal(), new AndFilter(StanzaTypeFilter.MESSAGE, new StanzaIdFilter(stanzaToSend.getStanzaId()))))
         {
             // Execute System Under Test.
+            Phases.execute();
             conOne.sendStanza(stanzaToSend);
 
             // Verify result.
+            Phases.verify();
             assertResult(stanzaReceived, "Expected '" + conTwo.getUser() + "' to receive the Message stanza of type '" + stanzaToSend.getType() + "' with stanza ID '" + stanzaToSend.getStanzaId() + "' that was sent to its full JID by '" + conOne.getUser() + "' (but the stanza was not received).");
         }
     }
@@ -215,6 +231,7 @@ public class RFC6121Section8_5_3_1_IntegrationTest extends AbstractSmackIntegrat
     private void doTestPresence(final Presence.Type type) throws SmackException.NotConnectedException, InterruptedException, TimeoutException
     {
         // Setup test fixture.
+        Phases.setup();
         final String needle = StringUtils.randomString(9);
         final Presence stanzaToSend = PresenceBuilder.buildPresence(needle)
             .ofType(type)
@@ -226,9 +243,11 @@ public class RFC6121Section8_5_3_1_IntegrationTest extends AbstractSmackIntegrat
         try (final ListenerHandle ignored = conTwo.addStanzaListener(stanza -> stanzaReceived.signal(), new AndFilter(StanzaTypeFilter.PRESENCE, new StanzaIdFilter(stanzaToSend.getStanzaId()))))
         {
             // Execute System Under Test.
+            Phases.execute();
             conOne.sendStanza(stanzaToSend);
 
             // Verify result.
+            Phases.verify();
             assertResult(stanzaReceived, "Expected '" + conTwo.getUser() + "' to receive the Presence stanza of type '" + stanzaToSend.getType() + "' with stanza ID '" + stanzaToSend.getStanzaId() + "' that was sent to its full JID by '" + conOne.getUser() + "' (but the stanza was not received).");
         }
     }
@@ -20,6 +20,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
 import org.igniterealtime.smack.inttest.util.AccountUtilities;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.*;
 import org.jivesoftware.smack.filter.*;
@@ -305,6 +306,7 @@ public class RFC6121Section8_5_3_2_1_MessageIntegrationTest extends AbstractSmac
     {
         try {
             // Setup test fixture.
+            Phases.setup();
             final List<AbstractXMPPConnection> additionalConnections;
             switch (resourcePriorities.size()) {
                 case 0:
@@ -329,12 +331,14 @@ public class RFC6121Section8_5_3_2_1_MessageIntegrationTest extends AbstractSmac
             final Collection<ListenerHandle> listenerHandles = new HashSet<>(); // keep track so that the associated listener can be deregistered after the test is done.
             try {
                 // Setup test fixture: create connections for the additional resources (based on the user used for 'conTwo').
+                Phases.setup();
                 for (final AbstractXMPPConnection additionalConnection : additionalConnections) {
                     additionalConnection.connect();
                     additionalConnection.login(((AbstractXMPPConnection) conTwo).getConfiguration().getUsername(), ((AbstractXMPPConnection) conTwo).getConfiguration().getPassword(), Resourcepart.from(StringUtils.randomString(7)));
                 }
 
                 // Setup test fixture: configure the desired resource priority for each of the resource connections.
+                Phases.setup();
                 for (int i = 0; i < resourcePriorities.size(); i++) {
                     final XMPPConnection resourceConnection = i == 0 ? conTwo : additionalConnections.get(i - 1);
                     final int resourcePriority = resourcePriorities.get(i);
@@ -349,11 +353,13 @@ public class RFC6121Section8_5_3_2_1_MessageIntegrationTest extends AbstractSmac
                 }
 
                 // Setup test fixture: prepare for the message stanza that is sent to the full JID (that has no online resource) to be sent, and collected while being received by the various resources.
+                Phases.setup();
                 final String needle = StringUtils.randomString(9);
                 final StanzaFilter needleDetector = new AndFilter(FromMatchesFilter.createFull(conOne.getUser()), (s -> s instanceof Message && ((Message) s).getType() == messageType), new StanzaIdFilter(needle));
                 final Map<EntityFullJid, Stanza> receivedBy = new ConcurrentHashMap<>(); // This is what will be evaluated by this test's assertions.
 
                 // Setup test fixture: detect the message stanza that's sent to signal that the test stanza has been sent and processed
+                Phases.setup();
                 final SimpleResultSyncPoint testStanzaProcessedSyncPoint = new SimpleResultSyncPoint();
                 final StanzaListener stopListenerRecipients = new StanzaListener() {
                     final Set<Jid> recipients = new HashSet<>(allResources);
@@ -377,9 +383,11 @@ public class RFC6121Section8_5_3_2_1_MessageIntegrationTest extends AbstractSmac
                 }
 
                 // Setup test fixture: construct the address of the user (that does exist) for a resource that is not online.
+                Phases.setup();
                 final EntityFullJid conTwoOfflineResource = JidCreate.entityFullFrom( conTwo.getUser().asEntityBareJid(), Resourcepart.from("not-online-" + StringUtils.randomString(7)) );
 
                 // Execute system under test.
+                Phases.execute();
                 final Message testStanza = StanzaBuilder.buildMessage(needle)
                     .ofType(messageType)
                     .to(conTwoOfflineResource)
@@ -404,11 +412,13 @@ public class RFC6121Section8_5_3_2_1_MessageIntegrationTest extends AbstractSmac
                 }
 
                 // Verify result.
+                Phases.verify();
                 assertTrue(receivedBy.isEmpty(), "Expected the Message stanza of type '" + testStanza.getType() + "' that was sent by '" + conOne.getUser() + "' to '" + conTwoOfflineResource + "' (a resource of an existing user that is not online) to NOT have been received by any other of that user's resources. However, it was received by: " + receivedBy.keySet().stream().map(Object::toString).collect(Collectors.joining(", ")));
             }
             finally
             {
                 // Tear down test fixture.
+                Phases.teardown();
                 listenerHandles.forEach(ListenerHandle::close);
                 additionalConnections.forEach(AbstractXMPPConnection::disconnect);
             }
@@ -416,6 +426,7 @@ public class RFC6121Section8_5_3_2_1_MessageIntegrationTest extends AbstractSmac
         finally
         {
             // Tear down test fixture.
+            Phases.teardown();
             if (!conTwo.isConnected()) {
                 // If conTwo was disconnected in the setup of this test, reconnect it now!
                 ((AbstractXMPPConnection) conTwo).connect();
@@ -477,6 +488,7 @@ public class RFC6121Section8_5_3_2_1_MessageIntegrationTest extends AbstractSmac
         final int theNonNegativePriorityValue = resourcePriorities.stream().filter(r -> r >= 0).findAny().orElseThrow();
 
         // Setup test fixture.
+        Phases.setup();
         final Message.Type messageType = Message.Type.chat;
 
         final List<AbstractXMPPConnection> additionalConnections = new ArrayList<>(resourcePriorities.size() - 1);
@@ -489,17 +501,20 @@ public class RFC6121Section8_5_3_2_1_MessageIntegrationTest extends AbstractSmac
         final Collection<ListenerHandle> listenerHandles = new HashSet<>(); // keep track so that the associated listener can be deregistered after the test is done.
         try {
             // Setup test fixture: prepare for the message stanza that is sent to the full JID (that has no online resource) to be sent.
+            Phases.setup();
             final String needle = StringUtils.randomString(9);
             final StanzaFilter needleDetector = new AndFilter(FromMatchesFilter.createFull(conOne.getUser()), (s -> s instanceof Message && ((Message) s).getType() == messageType), new StanzaIdFilter(needle));
             final SimpleResultSyncPoint stanzaReceived = new SimpleResultSyncPoint();
 
             // Setup test fixture: create connections for the additional resources (based on the user used for 'conTwo').
+            Phases.setup();
             for (final AbstractXMPPConnection additionalConnection : additionalConnections) {
                 additionalConnection.connect();
                 additionalConnection.login(((AbstractXMPPConnection) conTwo).getConfiguration().getUsername(), ((AbstractXMPPConnection) conTwo).getConfiguration().getPassword(), Resourcepart.from(StringUtils.randomString(7)));
             }
 
             // Setup test fixture: configure the desired resource priority for each of the resource connections.
+            Phases.setup();
             for (int i = 0; i < resourcePriorities.size(); i++) {
                 final XMPPConnection resourceConnection = i == 0 ? conTwo : additionalConnections.get(i - 1);
                 final int resourcePriority = resourcePriorities.get(i);
@@ -511,6 +526,7 @@ public class RFC6121Section8_5_3_2_1_MessageIntegrationTest extends AbstractSmac
                 }
 
                 // Setup test fixture: add a listener to the resource with non-negative presence to be able to detect that it has received the stanza.
+                Phases.setup();
                 if (resourcePriority >= 0) {
                     listenerHandles.add(resourceConnection.addStanzaListener(s -> stanzaReceived.signal(), needleDetector));
                     assert theNonNegativeResource == null : "The input validation to this method guarantees that there is exactly one resource with a non-negative presence priority value.";
@@ -520,9 +536,11 @@ public class RFC6121Section8_5_3_2_1_MessageIntegrationTest extends AbstractSmac
             assert theNonNegativeResource != null : "The input validation to this method guarantees that there is exactly one resource with a non-negative presence priority value.";
 
             // Setup test fixture: construct the address of the user (that does exist) for a resource that is not online.
+            Phases.setup();
             final EntityFullJid conTwoOfflineResource = JidCreate.entityFullFrom( conTwo.getUser().asEntityBareJid(), Resourcepart.from("not-online-" + StringUtils.randomString(7)) );
 
             // Execute system under test.
+            Phases.execute();
             final Message testStanza = StanzaBuilder.buildMessage(needle)
                 .ofType(messageType)
                 .to(conTwoOfflineResource)
@@ -532,11 +550,13 @@ public class RFC6121Section8_5_3_2_1_MessageIntegrationTest extends AbstractSmac
             conOne.sendStanza(testStanza);
 
             // Verify result.
+            Phases.verify();
             assertResult(stanzaReceived, "Expected the Message stanza of type '" + testStanza.getType() + "' that was sent by '" + conOne.getUser() + "' to '" + conTwoOfflineResource + "' (a resource of an existing user that is not online) to have been received by the only other resource of that user that has a non-negative resource priority (of value '" + theNonNegativePriorityValue + "'): '" + theNonNegativeResource + "'. However, the stanza was not received.");
         }
         finally
         {
             // Tear down test fixture.
+            Phases.teardown();
             listenerHandles.forEach(ListenerHandle::close);
             conTwo.sendStanza(PresenceBuilder.buildPresence().ofType(Presence.Type.available).build()); // This intends to reset presence to mimic the 'initial presence'.
             additionalConnections.forEach(AbstractXMPPConnection::disconnect);
@@ -690,10 +710,12 @@ public class RFC6121Section8_5_3_2_1_MessageIntegrationTest extends AbstractSmac
     public void doTestMessageError(final List<Integer> resourcePriorities) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final Message.Type messageType = Message.Type.error;
 
         try {
             // Setup test fixture.
+            Phases.setup();
             final List<AbstractXMPPConnection> additionalConnections;
             switch (resourcePriorities.size()) {
                 case 0:
@@ -718,12 +740,14 @@ public class RFC6121Section8_5_3_2_1_MessageIntegrationTest extends AbstractSmac
             final Collection<ListenerHandle> listenerHandles = new HashSet<>(); // keep track so that the associated listener can be deregistered after the test is done.
             try {
                 // Setup test fixture: create connections for the additional resources (based on the user used for 'conTwo').
+                Phases.setup();
                 for (final AbstractXMPPConnection additionalConnection : additionalConnections) {
                     additionalConnection.connect();
                     additionalConnection.login(((AbstractXMPPConnection) conTwo).getConfiguration().getUsername(), ((AbstractXMPPConnection) conTwo).getConfiguration().getPassword(), Resourcepart.from(StringUtils.randomString(7)));
                 }
 
                 // Setup test fixture: configure the desired resource priority for each of the resource connections.
+                Phases.setup();
                 for (int i = 0; i < resourcePriorities.size(); i++) {
                     final XMPPConnection resourceConnection = i == 0 ? conTwo : additionalConnections.get(i - 1);
                     final int resourcePriority = resourcePriorities.get(i);
@@ -738,11 +762,13 @@ public class RFC6121Section8_5_3_2_1_MessageIntegrationTest extends AbstractSmac
                 }
 
                 // Setup test fixture: prepare for the message stanza that is sent to the bare JID to be sent, and collected while being received by the various resources.
+                Phases.setup();
                 final String needle = StringUtils.randomString(9);
                 final StanzaFilter needleDetector = new AndFilter(FromMatchesFilter.createFull(conOne.getUser()), (s -> s instanceof Message && ((Message) s).getType() == messageType), new StanzaIdFilter(needle));
                 final Map<EntityFullJid, Stanza> receivedBy = new ConcurrentHashMap<>(); // This is what will be evaluated by this test's assertions.
 
                 // Setup test fixture: detect the message stanza that's sent to signal that the test stanza has been sent and processed
+                Phases.setup();
                 final SimpleResultSyncPoint testStanzaProcessedSyncPoint = new SimpleResultSyncPoint();
                 final StanzaListener stopListenerRecipients = new StanzaListener()
                 {
@@ -767,20 +793,24 @@ public class RFC6121Section8_5_3_2_1_MessageIntegrationTest extends AbstractSmac
                 }
 
                 // Setup test fixture: detect the message stanza that's sent to signal the sender need not wait any longer for any potential stanza delivery errors.
+                Phases.setup();
                 final String stopNeedleSender = StringUtils.randomString(7);
                 final StanzaFilter stopDetectorSender = new AndFilter(FromMatchesFilter.createBare(conThree.getUser()), StanzaTypeFilter.MESSAGE, new StanzaIdFilter(stopNeedleSender));
                 final SimpleResultSyncPoint stopListenerSenderSyncPoint = new SimpleResultSyncPoint();
                 listenerHandles.add(conOne.addStanzaListener(stanza -> stopListenerSenderSyncPoint.signal(), stopDetectorSender));
 
                 // Setup test fixture: detect an error that is sent back to the sender.
+                Phases.setup();
                 final StanzaFilter errorDetector = new AndFilter(MessageTypeFilter.ERROR, new StanzaIdFilter(needle));
                 final Stanza[] errorReceived = {null};
                 listenerHandles.add(conOne.addStanzaListener(stanza -> errorReceived[0] = stanza, errorDetector));
 
                 // Setup test fixture: construct the address of the user (that does exist) for a resource that is not online.
+                Phases.setup();
                 final EntityFullJid conTwoOfflineResource = JidCreate.entityFullFrom( conTwo.getUser().asEntityBareJid(), Resourcepart.from("not-online-" + StringUtils.randomString(7)) );
 
                 // Execute system under test.
+                Phases.execute();
                 final Message testStanza = StanzaBuilder.buildMessage(needle)
                     .ofType(messageType)
                     .to(conTwoOfflineResource)
@@ -816,15 +846,18 @@ public class RFC6121Section8_5_3_2_1_MessageIntegrationTest extends AbstractSmac
                 }
 
                 // Verify result.
+                Phases.verify();
                 assertTrue(receivedBy.isEmpty(), "Expected the Message stanza of type '" + testStanza.getType() + "' that was sent by '" + conOne.getUser() + "' to '" + conTwoOfflineResource + "' (a resource of an existing user that is not online) to be silently ignored and thus to NOT have been received by any other of that user's resources. However, it was received by: " + receivedBy.keySet().stream().map(Object::toString).collect(Collectors.joining(", ")));
                 assertNull(errorReceived[0], "Expected the Message stanza of type '" + testStanza.getType() + "' that was sent by '" + conOne.getUser() + "' to '" + conTwoOfflineResource + "' (a resource of an existing user that is not online) to be silently ignored and thus to NOT cause an error to be sent back to the sender. Howver, such an error was received.");
             } finally {
                 // Tear down test fixture.
+                Phases.teardown();
                 listenerHandles.forEach(ListenerHandle::close);
                 additionalConnections.forEach(AbstractXMPPConnection::disconnect);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             if (!conTwo.isConnected()) {
                 // If conTwo was disconnected in the setup of this test, reconnect it now!
                 ((AbstractXMPPConnection) conTwo).connect();
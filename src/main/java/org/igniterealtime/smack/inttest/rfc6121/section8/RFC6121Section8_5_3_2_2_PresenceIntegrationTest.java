@@ -21,6 +21,7 @@ import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
 import org.igniterealtime.smack.inttest.util.AccountUtilities;
 import org.igniterealtime.smack.inttest.util.MarkerExtension;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.*;
 import org.jivesoftware.smack.filter.*;
@@ -473,8 +474,10 @@ public class RFC6121Section8_5_3_2_2_PresenceIntegrationTest extends AbstractSma
         }
 
         // Setup test fixture.
+        Phases.setup();
         try {
             // Setup test fixture.
+            Phases.setup();
             final List<AbstractXMPPConnection> additionalConnections;
             switch (resourcePriorities.size()) {
                 case 0:
@@ -499,12 +502,14 @@ public class RFC6121Section8_5_3_2_2_PresenceIntegrationTest extends AbstractSma
             final Collection<ListenerHandle> listenerHandles = new HashSet<>(); // keep track so that the associated listener can be deregistered after the test is done.
             try {
                 // Setup test fixture: create connections for the additional resources (based on the user used for 'conTwo').
+                Phases.setup();
                 for (final AbstractXMPPConnection additionalConnection : additionalConnections) {
                     additionalConnection.connect();
                     additionalConnection.login(((AbstractXMPPConnection) conTwo).getConfiguration().getUsername(), ((AbstractXMPPConnection) conTwo).getConfiguration().getPassword(), Resourcepart.from(StringUtils.randomString(7)));
                 }
 
                 // Setup test fixture: configure the desired resource priority for each of the resource connections.
+                Phases.setup();
                 for (int i = 0; i < resourcePriorities.size(); i++) {
                     final XMPPConnection resourceConnection = i == 0 ? conTwo : additionalConnections.get(i - 1);
                     final int resourcePriority = resourcePriorities.get(i);
@@ -519,11 +524,13 @@ public class RFC6121Section8_5_3_2_2_PresenceIntegrationTest extends AbstractSma
                 }
 
                 // Setup test fixture: prepare for the message stanza that is sent to the bare JID to be sent, and collected while being received by the various resources.
+                Phases.setup();
                 final String needle = StringUtils.randomString(9);
                 final StanzaFilter needleDetector = new AndFilter(FromMatchesFilter.createFull(conOne.getUser()), new ExtensionElementFilter<>(MarkerExtension.class), s -> s instanceof Presence && ((Presence) s).getType() == presenceType, new StanzaIdFilter(needle));
                 final Map<EntityFullJid, Stanza> receivedBy = new ConcurrentHashMap<>(); // This is what will be evaluated by this test's assertions.
 
                 // Setup test fixture: detect the message stanza that's sent to signal that the test stanza has been sent and processed
+                Phases.setup();
                 final SimpleResultSyncPoint testStanzaProcessedSyncPoint = new SimpleResultSyncPoint();
                 final StanzaListener stopListenerRecipients = new StanzaListener()
                 {
@@ -548,20 +555,24 @@ public class RFC6121Section8_5_3_2_2_PresenceIntegrationTest extends AbstractSma
                 }
 
                 // Setup test fixture: detect the message stanza that's sent to signal the sender need not wait any longer for any potential stanza delivery errors.
+                Phases.setup();
                 final String stopNeedleSender = StringUtils.randomString(7);
                 final StanzaFilter stopDetectorSender = new AndFilter(FromMatchesFilter.createBare(conThree.getUser()), StanzaTypeFilter.MESSAGE, new StanzaIdFilter(stopNeedleSender));
                 final SimpleResultSyncPoint stopListenerSenderSyncPoint = new SimpleResultSyncPoint();
                 listenerHandles.add(conOne.addStanzaListener(stanza -> stopListenerSenderSyncPoint.signal(), stopDetectorSender));
 
                 // Setup test fixture: detect an error that is sent back to the sender.
+                Phases.setup();
                 final StanzaFilter errorDetector = new AndFilter(MessageTypeFilter.ERROR, new StanzaIdFilter(needle));
                 final Stanza[] errorReceived = {null};
                 listenerHandles.add(conOne.addStanzaListener(stanza -> errorReceived[0] = stanza, errorDetector));
 
                 // Setup test fixture: construct the address of the user (that does exist) for a resource that is not online.
+                Phases.setup();
                 final EntityFullJid conTwoOfflineResource = JidCreate.entityFullFrom( conTwo.getUser().asEntityBareJid(), Resourcepart.from("not-online-" + StringUtils.randomString(7)) );
 
                 // Execute system under test.
+                Phases.execute();
                 final Presence testStanza = StanzaBuilder.buildPresence(needle)
                     .ofType(presenceType)
                     .to(conTwoOfflineResource)
@@ -597,15 +608,18 @@ public class RFC6121Section8_5_3_2_2_PresenceIntegrationTest extends AbstractSma
                 }
 
                 // Verify result.
+                Phases.verify();
                 assertTrue(receivedBy.isEmpty(), "Expected the Presence stanza of type '" + testStanza.getType() + "' that was sent by '" + conOne.getUser() + "' to '" + conTwoOfflineResource + "' (a resource of an existing user that is not online) to be silently ignored and thus to NOT have been received by any other of that user's resources. However, it was received by: " + receivedBy.keySet().stream().map(Object::toString).collect(Collectors.joining(", ")));
                 assertNull(errorReceived[0], "Expected the Presence stanza of type '" + testStanza.getType() + "' that was sent by '" + conOne.getUser() + "' to '" + conTwoOfflineResource + "' (a resource of an existing user that is not online) to be silently ignored and thus to NOT cause an error to be sent back to the sender. However, such an error was received.");
             } finally {
                 // Tear down test fixture.
+                Phases.teardown();
                 listenerHandles.forEach(ListenerHandle::close);
                 additionalConnections.forEach(AbstractXMPPConnection::disconnect);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             if (!conTwo.isConnected()) {
                 // If conTwo was disconnected in the setup of this test, reconnect it now!
                 ((AbstractXMPPConnection) conTwo).connect();
@@ -21,6 +21,7 @@ import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
 import org.igniterealtime.smack.inttest.util.AccountUtilities;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.jivesoftware.smack.*;
 import org.jivesoftware.smack.filter.*;
 import org.jivesoftware.smack.iqrequest.AbstractIqRequestHandler;
@@ -429,8 +430,10 @@ public class RFC6121Section8_5_3_2_3_IqIntegrationTest extends AbstractSmackInte
     public void doTest(final IQ testStanza, final List<Integer> resourcePriorities) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         try {
             // Setup test fixture.
+            Phases.setup();
             final List<AbstractXMPPConnection> additionalConnections;
             switch (resourcePriorities.size()) {
                 case 0:
@@ -454,12 +457,14 @@ public class RFC6121Section8_5_3_2_3_IqIntegrationTest extends AbstractSmackInte
             final Map<EntityFullJid, Map<IQRequestHandler, IQRequestHandler>> receivedHandlers = new HashMap<>();
             try {
                 // Setup test fixture: create connections for the additional resources (based on the user used for 'conTwo').
+                Phases.setup();
                 for (final AbstractXMPPConnection additionalConnection : additionalConnections) {
                     additionalConnection.connect();
                     additionalConnection.login(((AbstractXMPPConnection) conTwo).getConfiguration().getUsername(), ((AbstractXMPPConnection) conTwo).getConfiguration().getPassword(), Resourcepart.from(StringUtils.randomString(7)));
                 }
 
                 // Setup test fixture: configure the desired resource priority for each of the resource connections.
+                Phases.setup();
                 for (int i = 0; i < resourcePriorities.size(); i++) {
                     final XMPPConnection resourceConnection = i == 0 ? conTwo : additionalConnections.get(i - 1);
                     final int resourcePriority = resourcePriorities.get(i);
@@ -472,6 +477,7 @@ public class RFC6121Section8_5_3_2_3_IqIntegrationTest extends AbstractSmackInte
                 }
 
                 // Setup test fixture: prepare for any resource to collect the stanza that is sent (even if it's not expected to be received).
+                Phases.setup();
                 final Map<EntityFullJid, Stanza> receivedBy = new ConcurrentHashMap<>(); // This is what will be evaluated by this test's assertions.
                 for (int i = 0; i < resourcePriorities.size(); i++) {
                     final XMPPConnection resourceConnection = i == 0 ? conTwo : additionalConnections.get(i - 1);
@@ -494,9 +500,11 @@ public class RFC6121Section8_5_3_2_3_IqIntegrationTest extends AbstractSmackInte
                 }
 
                 // Setup test fixture: construct the address of the user (that does exist) for a resource that is not online.
+                Phases.setup();
                 final EntityFullJid conTwoOfflineResource = JidCreate.entityFullFrom( conTwo.getUser().asEntityBareJid(), Resourcepart.from("not-online-" + StringUtils.randomString(7)) );
 
                 // Execute system under test.
+                Phases.execute();
                 testStanza.setTo(conTwoOfflineResource);
                 IQ response;
                 try {
@@ -506,6 +514,7 @@ public class RFC6121Section8_5_3_2_3_IqIntegrationTest extends AbstractSmackInte
                 }
                 
                 // Verify result.
+                Phases.verify();
                 assertTrue(receivedBy.isEmpty(), "Expected the IQ stanza of type '" + testStanza.getType() + "' that was sent by '" + conOne.getUser() + "' to '" + conTwoOfflineResource + "' (a resource of an existing user that is not online) to be answered by the server and thus to NOT have been received by any other of that user's resources. However, it was received by: " + receivedBy.keySet().stream().map(Object::toString).collect(Collectors.joining(", ")));
                 assertNotNull(response, "Expected the IQ stanza of type '" + testStanza.getType() + "' that was sent by '" + conOne.getUser() + "' to '" + conTwoOfflineResource + "' (a resource of an existing user that is not online) to be answered by the server (but no response was received).");
                 assertEquals(IQ.Type.error, response.getType(), "Expected the IQ stanza of type '" + testStanza.getType() + "' that was sent by '" + conOne.getUser() + "' to '" + conTwoOfflineResource + "' (a resource of an existing user that is not online) to be answered by the server with an error (but the response was not of the error type).");
@@ -513,6 +522,7 @@ public class RFC6121Section8_5_3_2_3_IqIntegrationTest extends AbstractSmackInte
                 assertEquals(StanzaError.Condition.service_unavailable, response.getError().getCondition(), "Expected the IQ stanza of type '" + testStanza.getType() + "' that was sent by '" + conOne.getUser() + "' to '" + conTwoOfflineResource + "' (a resource of an existing user that is not online) to be answered by the server with a specific error condition (but the response did not contain that condition).");
             } finally {
                 // Tear down test fixture.
+                Phases.teardown();
                 for (int i = 0; i < resourcePriorities.size(); i++) {
                     final XMPPConnection resourceConnection = i == 0 ? conTwo : additionalConnections.get(i - 1);
                     final Map<IQRequestHandler, IQRequestHandler> handlersNewAndOld = receivedHandlers.remove(resourceConnection.getUser());
@@ -529,6 +539,7 @@ public class RFC6121Section8_5_3_2_3_IqIntegrationTest extends AbstractSmackInte
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             if (!conTwo.isConnected()) {
                 // If conTwo was disconnected in the setup of this test, reconnect it now!
                 ((AbstractXMPPConnection) conTwo).connect();
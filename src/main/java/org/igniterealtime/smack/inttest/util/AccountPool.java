@@ -0,0 +1,186 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import org.igniterealtime.smack.inttest.Configuration;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.jivesoftware.smack.AbstractXMPPConnection;
+import org.jivesoftware.smack.util.StringUtils;
+import org.jxmpp.jid.parts.Resourcepart;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A set of dynamically provisioned accounts, each with a (connected and authenticated) connection, for use by tests
+ * that need more than the three connections that are provided by the framework.
+ *
+ * Accounts are created, and their connections established, in parallel. When the pool is closed, all connections are
+ * disconnected and all accounts are removed again.
+ *
+ * @author Guus der Kinderen, guus@goodbytes.nl
+ */
+public class AccountPool implements AutoCloseable
+{
+    private static final Logger LOGGER = Logger.getLogger(AccountPool.class.getName());
+
+    private final SmackIntegrationTestEnvironment environment;
+    private final List<String> usernames = Collections.synchronizedList(new ArrayList<>());
+    private final List<AbstractXMPPConnection> connections = Collections.synchronizedList(new ArrayList<>());
+    private final String password = StringUtils.randomString(12);
+
+    private AccountPool(final SmackIntegrationTestEnvironment environment)
+    {
+        this.environment = environment;
+    }
+
+    /**
+     * Creates a pool of accounts, each with a connection that is connected and authenticated.
+     *
+     * @param environment The environment of the test that uses the pool.
+     * @param configuration The configuration used to create new connections.
+     * @param prefix A prefix for the usernames of the accounts that are created.
+     * @param size The amount of accounts to create.
+     * @param parallelism The maximum amount of accounts that are created (and connections that are established) in parallel.
+     * @return The pool of accounts.
+     */
+    public static AccountPool create(final SmackIntegrationTestEnvironment environment, final Configuration configuration, final String prefix, final int size, final int parallelism) throws Exception
+    {
+        return create(environment, configuration, prefix, size, parallelism, connection -> {});
+    }
+
+    /**
+     * Creates a pool of accounts, each with a connection that is connected and authenticated.
+     *
+     * @param environment The environment of the test that uses the pool.
+     * @param configuration The configuration used to create new connections.
+     * @param prefix A prefix for the usernames of the accounts that are created.
+     * @param size The amount of accounts to create.
+     * @param parallelism The maximum amount of accounts that are created (and connections that are established) in parallel.
+     * @param beforeLogin Invoked for each connection before it connects (eg: to configure Smack managers).
+     * @return The pool of accounts.
+     */
+    public static AccountPool create(final SmackIntegrationTestEnvironment environment, final Configuration configuration, final String prefix, final int size, final int parallelism, final Consumer<AbstractXMPPConnection> beforeLogin) throws Exception
+    {
+        final AccountPool pool = new AccountPool(environment);
+        final String runId = StringUtils.randomString(5);
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, size)));
+        final List<Future<AbstractXMPPConnection>> futures = new ArrayList<>(size);
+        try {
+            for (int i = 0; i < size; i++) {
+                final String username = (prefix + "-" + runId + "-" + i).toLowerCase();
+                futures.add(executor.submit(() -> {
+                    AccountUtilities.createNonConnectedLocalUser(environment, username, pool.password);
+                    pool.usernames.add(username);
+
+                    final AbstractXMPPConnection connection = AccountUtilities.spawnNewConnection(environment, configuration);
+                    try {
+                        beforeLogin.accept(connection);
+                        connection.connect();
+                        connection.login(username, pool.password, Resourcepart.from(StringUtils.randomString(7)));
+                    } catch (Exception e) {
+                        connection.disconnect();
+                        throw e;
+                    }
+                    return connection;
+                }));
+            }
+            // Retain the order in which the accounts were requested, to make it easier for tests to address specific connections.
+            for (final Future<AbstractXMPPConnection> future : futures) {
+                pool.connections.add(future.get());
+            }
+        } catch (Exception e) {
+            // Do not start creating any more accounts, but wait for those that are being created, to be able to clean up all of them.
+            futures.forEach(future -> future.cancel(false));
+            for (final Future<AbstractXMPPConnection> future : futures) {
+                if (future.isCancelled()) {
+                    continue;
+                }
+                try {
+                    final AbstractXMPPConnection connection = future.get();
+                    if (!pool.connections.contains(connection)) {
+                        pool.connections.add(connection);
+                    }
+                } catch (Exception ignored) {
+                    // The cause of the failure is rethrown below. Other failures are of no interest.
+                }
+            }
+            pool.close();
+            throw e;
+        } finally {
+            executor.shutdownNow();
+        }
+        return pool;
+    }
+
+    public List<AbstractXMPPConnection> getConnections()
+    {
+        synchronized (connections) {
+            return new ArrayList<>(connections);
+        }
+    }
+
+    public AbstractXMPPConnection get(final int index)
+    {
+        return connections.get(index);
+    }
+
+    public int size()
+    {
+        return connections.size();
+    }
+
+    public String getPassword()
+    {
+        return password;
+    }
+
+    /**
+     * Disconnects all connections, and removes all accounts of this pool.
+     */
+    @Override
+    public void close()
+    {
+        for (final AbstractXMPPConnection connection : getConnections()) {
+            try {
+                connection.disconnect();
+            } catch (Throwable t) {
+                LOGGER.log(Level.FINE, "Unable to disconnect connection of pooled account " + connection.getUser(), t);
+            }
+        }
+        connections.clear();
+
+        final List<String> toRemove;
+        synchronized (usernames) {
+            toRemove = new ArrayList<>(usernames);
+            usernames.clear();
+        }
+        for (final String username : toRemove) {
+            try {
+                AccountUtilities.removeNonConnectedLocalUser(environment, username, password);
+            } catch (Throwable t) {
+                LOGGER.log(Level.WARNING, "Unable to remove pooled account " + username, t);
+            }
+        }
+    }
+}
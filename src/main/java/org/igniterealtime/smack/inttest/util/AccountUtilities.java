@@ -49,6 +49,7 @@ public class AccountUtilities
     public static void createNonConnectedLocalUser(final SmackIntegrationTestEnvironment environment, final String username, final String password) throws NoSuchMethodException, InvocationTargetException, IllegalAccessException
     {
         // TODO Although it is desirable to use the provisioning API in Smack's Integration Testing Framework (as we do here), find a better way than this reflection-based one.
+        final FlightRecorderEvents.FixtureCreated event = FlightRecorderEvents.fixtureCreating();
         final Method method = environment.connectionManager.getClass().getDeclaredMethod("registerAccount", String.class, String.class);
         try {
             method.setAccessible(true);
@@ -56,6 +57,7 @@ public class AccountUtilities
         } finally {
             method.setAccessible(false);
         }
+        FlightRecorderEvents.fixtureCreated(event, "account", username);
     }
 
     /**
@@ -111,6 +113,7 @@ public class AccountUtilities
     // FIXME A method like this aught to be provided by SINT's XmppConnectionManager class.
     public static AbstractXMPPConnection spawnNewConnection(final SmackIntegrationTestEnvironment environment, final Configuration sinttestConfiguration) throws InvocationTargetException, InstantiationException, IllegalAccessException
     {
+        final FlightRecorderEvents.FixtureCreated event = FlightRecorderEvents.fixtureCreating();
         List<ConnectionConfigurationBuilderApplier> connectionConfigurationAppliers = new ArrayList<>();
 
         final XmppConnectionManager connectionManager = environment.connectionManager;
@@ -142,6 +145,8 @@ public class AccountUtilities
             connectionConfigurationAppliers.add(applier);
         }
 
-        return connectionManager.getDefaultConnectionDescriptor().construct(sinttestConfiguration, connectionConfigurationAppliers);
+        final AbstractXMPPConnection connection = connectionManager.getDefaultConnectionDescriptor().construct(sinttestConfiguration, connectionConfigurationAppliers);
+        FlightRecorderEvents.fixtureCreated(event, "connection", String.valueOf(connection.getXMPPServiceDomain()));
+        return connection;
     }
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the configuration of benchmark-style tests from system properties.
+ *
+ * All properties are prefixed with 'sinttest.benchmark.' (eg: <tt>-Dsinttest.benchmark.roster.items=500</tt>).
+ *
+ * Benchmarks put considerably more load on a server than conformance tests do. They are therefore not executed, unless
+ * they are explicitly enabled with <tt>-Dsinttest.benchmark.enabled=true</tt>. Benchmark classes should invoke
+ * {@link #requireEnabled()} in their constructor.
+ *
+ * @author Guus der Kinderen, guus@goodbytes.nl
+ */
+public final class BenchmarkConfiguration
+{
+    public static final String PREFIX = "sinttest.benchmark.";
+
+    private BenchmarkConfiguration() {}
+
+    /**
+     * Returns whether benchmarks are enabled, which is controlled by the <tt>sinttest.benchmark.enabled</tt> system
+     * property (default: false).
+     */
+    public static boolean isEnabled()
+    {
+        return Boolean.parseBoolean(getString("enabled", "false"));
+    }
+
+    /**
+     * Verifies that benchmarks are enabled.
+     *
+     * @throws TestNotPossibleException when benchmarks are not enabled.
+     */
+    public static void requireEnabled() throws TestNotPossibleException
+    {
+        if (!isEnabled()) {
+            throw new TestNotPossibleException("Benchmarks are not enabled. Set the system property '" + PREFIX + "enabled' to 'true' to enable them.");
+        }
+    }
+
+    public static String getString(final String name, final String defaultValue)
+    {
+        final String value = System.getProperty(PREFIX + name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        return value.trim();
+    }
+
+    public static int getInt(final String name, final int defaultValue)
+    {
+        final String value = System.getProperty(PREFIX + name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unable to parse value of system property '" + PREFIX + name + "' as a number: " + value, e);
+        }
+    }
+
+    public static long getLong(final String name, final long defaultValue)
+    {
+        final String value = System.getProperty(PREFIX + name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unable to parse value of system property '" + PREFIX + name + "' as a number: " + value, e);
+        }
+    }
+
+    /**
+     * Parses a data size, that can use 'KiB', 'MiB' and 'GiB' suffixes (eg: "64KiB").
+     */
+    public static long getSize(final String name, final String defaultValue)
+    {
+        final String value = System.getProperty(PREFIX + name);
+        if (value == null || value.isBlank()) {
+            return parseSize(defaultValue);
+        }
+        return parseSize(value.trim());
+    }
+
+    /**
+     * Parses a comma-separated list of data sizes, that can use 'KiB', 'MiB' and 'GiB' suffixes (eg: "1KiB,64KiB,2MiB").
+     */
+    public static List<Long> getSizes(final String name, final String defaultValue)
+    {
+        String value = System.getProperty(PREFIX + name);
+        if (value == null || value.isBlank()) {
+            value = defaultValue;
+        }
+        final List<Long> result = new ArrayList<>();
+        for (final String part : value.split(",")) {
+            if (!part.isBlank()) {
+                result.add(parseSize(part.trim()));
+            }
+        }
+        return result;
+    }
+
+    static long parseSize(final String value)
+    {
+        final String lower = value.toLowerCase();
+        final long multiplier;
+        final String number;
+        if (lower.endsWith("gib")) {
+            multiplier = 1024L * 1024 * 1024;
+            number = lower.substring(0, lower.length() - 3);
+        } else if (lower.endsWith("mib")) {
+            multiplier = 1024L * 1024;
+            number = lower.substring(0, lower.length() - 3);
+        } else if (lower.endsWith("kib")) {
+            multiplier = 1024L;
+            number = lower.substring(0, lower.length() - 3);
+        } else if (lower.endsWith("b")) {
+            multiplier = 1;
+            number = lower.substring(0, lower.length() - 1);
+        } else {
+            multiplier = 1;
+            number = lower;
+        }
+        try {
+            return Long.parseLong(number.trim()) * multiplier;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unable to parse data size: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import org.jxmpp.jid.DomainBareJid;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Collects the measurements of a benchmark-style test, and publishes them.
+ *
+ * Published reports are logged, and (when the 'logDir' system property is set) appended to a file named
+ * 'benchmarks.txt' in that directory, which allows results of different runs (against different servers) to be
+ * compared.
+ *
+ * @author Guus der Kinderen, guus@goodbytes.nl
+ */
+public class BenchmarkReport
+{
+    private static final Logger LOGGER = Logger.getLogger(BenchmarkReport.class.getName());
+
+    private static final Object FILE_LOCK = new Object();
+
+    private final String name;
+    private final DomainBareJid service;
+    private final Map<String, String> values = new LinkedHashMap<>();
+
+    /**
+     * Creates a new report.
+     *
+     * @param name A human-readable description of the benchmark.
+     * @param service The XMPP domain of the server under test.
+     */
+    public BenchmarkReport(final String name, final DomainBareJid service)
+    {
+        this.name = name;
+        this.service = service;
+    }
+
+    public synchronized BenchmarkReport add(final String key, final Object value)
+    {
+        values.put(key, String.valueOf(value));
+        return this;
+    }
+
+    public synchronized BenchmarkReport add(final String key, final Duration value)
+    {
+        values.put(key, LatencyRecorder.format(value));
+        return this;
+    }
+
+    /**
+     * Adds the amount of events per second.
+     *
+     * @param key The name of the rate (eg: "roster sets/sec")
+     * @param amount The amount of events that occurred.
+     * @param elapsed The duration in which the events occurred.
+     */
+    public synchronized BenchmarkReport addRate(final String key, final long amount, final Duration elapsed)
+    {
+        values.put(key, String.format("%.1f", rate(amount, elapsed)));
+        return this;
+    }
+
+    /**
+     * Returns the amount of events per second, or 0 if no time elapsed.
+     */
+    public static double rate(final long amount, final Duration elapsed)
+    {
+        if (elapsed.isZero() || elapsed.isNegative()) {
+            return 0;
+        }
+        return amount * 1_000_000_000d / elapsed.toNanos();
+    }
+
+    public synchronized Map<String, String> getValues()
+    {
+        return new LinkedHashMap<>(values);
+    }
+
+    /**
+     * Logs the report, and appends it to the 'benchmarks.txt' file in the log directory (if one is configured).
+     */
+    public void publish()
+    {
+        final String text = toString();
+        LOGGER.info(text);
+
+        final String logDir = System.getProperty("logDir");
+        if (logDir == null) {
+            return;
+        }
+        final Path file = Paths.get(logDir).resolve("benchmarks.txt");
+        synchronized (FILE_LOCK) {
+            try {
+                Files.createDirectories(file.getParent());
+                try (final Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    writer.append(text).append(System.lineSeparator());
+                }
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Unable to write benchmark report to " + file, e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(Instant.now()).append(" [").append(service).append("] ").append(name).append(System.lineSeparator());
+        for (final Map.Entry<String, String> entry : values.entrySet()) {
+            sb.append("    ").append(entry.getKey()).append(": ").append(entry.getValue()).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestFramework;
+import org.jivesoftware.smack.XMPPConnection;
+import org.jivesoftware.smack.packet.IQ;
+import org.jivesoftware.smack.packet.Message;
+import org.jivesoftware.smack.packet.Nonza;
+import org.jivesoftware.smack.packet.Presence;
+import org.jivesoftware.smack.packet.Stanza;
+import org.jivesoftware.smack.packet.TopLevelStreamElement;
+import org.jivesoftware.smackx.muc.packet.MUCUser;
+
+import java.lang.reflect.Method;
+
+/**
+ * Java Flight Recorder events that are emitted by the test harness. When a flight recording is made of a test run (eg:
+ * by starting the JVM with <tt>-XX:StartFlightRecording</tt>), these events allow CPU, GC and allocation data to be
+ * correlated with individual tests, test fixtures and stanzas.
+ *
+ * Events are only populated when they are enabled in the recording, which keeps the overhead negligible otherwise.
+ *
+ * @author Guus der Kinderen, guus@goodbytes.nl
+ */
+public final class FlightRecorderEvents
+{
+    private FlightRecorderEvents() {}
+
+    @Name("org.igniterealtime.sinttest.TestStarted")
+    @Label("Test Started")
+    @Category({"XMPP", "Integration Tests"})
+    @StackTrace(false)
+    public static class TestStarted extends Event
+    {
+        @Label("Test Class")
+        String testClass;
+
+        @Label("Test Method")
+        String testMethod;
+
+        @Label("Specification")
+        String specification;
+
+        @Label("Section")
+        String section;
+    }
+
+    @Name("org.igniterealtime.sinttest.TestFinished")
+    @Label("Test Finished")
+    @Description("The execution of a test, from its start until it finished.")
+    @Category({"XMPP", "Integration Tests"})
+    @StackTrace(false)
+    public static class TestFinished extends Event
+    {
+        @Label("Test Class")
+        String testClass;
+
+        @Label("Test Method")
+        String testMethod;
+
+        @Label("Specification")
+        String specification;
+
+        @Label("Section")
+        String section;
+
+        @Label("Successful")
+        boolean successful;
+
+        @Label("Failure")
+        String failure;
+    }
+
+    @Name("org.igniterealtime.sinttest.StanzaSent")
+    @Label("Stanza Sent")
+    @Category({"XMPP", "Traffic"})
+    @StackTrace(false)
+    public static class StanzaSent extends Event
+    {
+        @Label("Connection")
+        String connection;
+
+        @Label("Kind")
+        String kind;
+
+        @Label("Type")
+        String type;
+
+        @Label("Namespace")
+        String namespace;
+
+        @Label("Size")
+        @Description("The amount of characters of the serialized element.")
+        @DataAmount(DataAmount.BYTES)
+        long size;
+    }
+
+    @Name("org.igniterealtime.sinttest.StanzaReceived")
+    @Label("Stanza Received")
+    @Category({"XMPP", "Traffic"})
+    @StackTrace(false)
+    public static class StanzaReceived extends Event
+    {
+        @Label("Connection")
+        String connection;
+
+        @Label("Kind")
+        String kind;
+
+        @Label("Type")
+        String type;
+
+        @Label("Namespace")
+        String namespace;
+
+        @Label("Size")
+        @Description("The amount of characters of the serialized element.")
+        @DataAmount(DataAmount.BYTES)
+        long size;
+    }
+
+    @Name("org.igniterealtime.sinttest.FixtureCreated")
+    @Label("Fixture Created")
+    @Description("The creation of a test fixture: an account, a connection or a multi-user chat room.")
+    @Category({"XMPP", "Integration Tests"})
+    public static class FixtureCreated extends Event
+    {
+        @Label("Kind")
+        String kind;
+
+        @Label("Identifier")
+        String identifier;
+    }
+
+    public static TestFinished testStarted(final SmackIntegrationTestFramework.ConcreteTest test)
+    {
+        final Method method = test.getMethod();
+
+        final TestStarted started = new TestStarted();
+        if (started.isEnabled()) {
+            started.testClass = method.getDeclaringClass().getName();
+            started.testMethod = method.getName();
+            started.specification = JUnitXmlTestRunResultProcessor.getSpecificationReference(method);
+            started.section = JUnitXmlTestRunResultProcessor.getSpecificationSection(method);
+            started.commit();
+        }
+
+        final TestFinished finished = new TestFinished();
+        finished.begin();
+        return finished;
+    }
+
+    public static void testFinished(final TestFinished event, final SmackIntegrationTestFramework.ConcreteTest test, final Throwable failure)
+    {
+        if (event == null || !event.isEnabled()) {
+            return;
+        }
+        final Method method = test.getMethod();
+        event.end();
+        event.testClass = method.getDeclaringClass().getName();
+        event.testMethod = method.getName();
+        event.specification = JUnitXmlTestRunResultProcessor.getSpecificationReference(method);
+        event.section = JUnitXmlTestRunResultProcessor.getSpecificationSection(method);
+        event.successful = failure == null;
+        event.failure = failure == null ? null : failure.getClass().getName();
+        event.commit();
+    }
+
+    public static void stanzaSent(final XMPPConnection connection, final TopLevelStreamElement element)
+    {
+        final StanzaSent event = new StanzaSent();
+        if (event.isEnabled()) {
+            event.connection = String.valueOf(connection.getUser());
+            event.kind = kindOf(element);
+            event.type = typeOf(element);
+            event.namespace = namespaceOf(element);
+            event.size = element.toXML().length();
+            event.commit();
+        }
+    }
+
+    public static void stanzaReceived(final XMPPConnection connection, final TopLevelStreamElement element)
+    {
+        final StanzaReceived event = new StanzaReceived();
+        if (event.isEnabled()) {
+            event.connection = String.valueOf(connection.getUser());
+            event.kind = kindOf(element);
+            event.type = typeOf(element);
+            event.namespace = namespaceOf(element);
+            event.size = element.toXML().length();
+            event.commit();
+        }
+    }
+
+    /**
+     * Starts the timing of the creation of a test fixture. The returned event is to be passed to
+     * {@link #fixtureCreated(FixtureCreated, String, String)} after the fixture has been created.
+     */
+    public static FixtureCreated fixtureCreating()
+    {
+        final FixtureCreated event = new FixtureCreated();
+        event.begin();
+        return event;
+    }
+
+    public static void fixtureCreated(final FixtureCreated event, final String kind, final String identifier)
+    {
+        if (event.isEnabled()) {
+            event.end();
+            event.kind = kind;
+            event.identifier = identifier;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records the creation of a multi-user chat room, when the presence that is received by the owner of the room
+     * indicates that the room was newly created (status code 201).
+     */
+    public static void detectRoomCreation(final TopLevelStreamElement element)
+    {
+        if (!(element instanceof Presence)) {
+            return;
+        }
+        final MUCUser mucUser = MUCUser.from((Presence) element);
+        if (mucUser != null && mucUser.getStatus().contains(MUCUser.Status.ROOM_CREATED_201)) {
+            fixtureCreated(new FixtureCreated(), "room", String.valueOf(((Presence) element).getFrom().asBareJid()));
+        }
+    }
+
+    static String kindOf(final TopLevelStreamElement element)
+    {
+        if (element instanceof IQ) {
+            return "iq";
+        }
+        if (element instanceof Message) {
+            return "message";
+        }
+        if (element instanceof Presence) {
+            return "presence";
+        }
+        return "nonza";
+    }
+
+    static String typeOf(final TopLevelStreamElement element)
+    {
+        if (element instanceof IQ) {
+            return ((IQ) element).getType().toString();
+        }
+        if (element instanceof Message) {
+            return ((Message) element).getType().toString();
+        }
+        if (element instanceof Presence) {
+            return ((Presence) element).getType().toString();
+        }
+        return null;
+    }
+
+    static String namespaceOf(final TopLevelStreamElement element)
+    {
+        if (element instanceof IQ) {
+            return ((IQ) element).getChildElementNamespace();
+        }
+        if (element instanceof Stanza) {
+            final var extensions = ((Stanza) element).getExtensions();
+            return extensions.isEmpty() ? null : extensions.get(0).getNamespace();
+        }
+        if (element instanceof Nonza) {
+            return ((Nonza) element).getNamespace();
+        }
+        return null;
+    }
+}
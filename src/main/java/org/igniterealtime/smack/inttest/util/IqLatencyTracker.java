@@ -0,0 +1,258 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import org.igniterealtime.smack.inttest.SmackIntegrationTestFramework;
+import org.jivesoftware.smack.packet.IQ;
+import org.jivesoftware.smack.packet.TopLevelStreamElement;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures the round-trip time of IQ requests, by correlating the requests that are sent by a connection with the
+ * responses that it receives (by stanza ID).
+ *
+ * Round-trip times are collected in a {@link LatencyHistogram} per combination of the namespace of the child element and
+ * the type of the request, for the test that is currently being executed, as well as for the entire test run. Requests
+ * that are sent outside of a test (eg: while creating test fixtures in a constructor) only contribute to the latter.
+ *
+ * @author Guus der Kinderen, guus@goodbytes.nl
+ */
+public class IqLatencyTracker
+{
+    private static final Map<String, Duration> medians = new ConcurrentHashMap<>();
+
+    private final Map<Key, LatencyHistogram> runWide = new ConcurrentHashMap<>();
+    private volatile Map<Key, LatencyHistogram> currentTest;
+
+    public void testStarted()
+    {
+        currentTest = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Ends the collection of round-trip times for the test that is currently being executed.
+     *
+     * @param test The test that finished.
+     * @return The round-trip times of the requests that were sent during the test.
+     */
+    public SortedMap<Key, LatencyHistogram> testFinished(final SmackIntegrationTestFramework.ConcreteTest test)
+    {
+        final Map<Key, LatencyHistogram> result = currentTest;
+        currentTest = null;
+        if (result == null) {
+            return new TreeMap<>();
+        }
+
+        final LatencyHistogram combined = new LatencyHistogram();
+        result.values().forEach(combined::add);
+        if (combined.getCount() > 0) {
+            medians.put(test.toString(), combined.getPercentile(50));
+        }
+        return new TreeMap<>(result);
+    }
+
+    /**
+     * Returns the median round-trip time of all IQ requests (regardless of namespace and type) that were sent during a
+     * test, or null if no round-trip times were measured for the test.
+     */
+    public static Duration getMedian(final SmackIntegrationTestFramework.ConcreteTest test)
+    {
+        return medians.get(test.toString());
+    }
+
+    /**
+     * Returns the round-trip times of all requests that were sent during the test run.
+     */
+    public SortedMap<Key, LatencyHistogram> getRunWide()
+    {
+        return new TreeMap<>(runWide);
+    }
+
+    /**
+     * Creates a correlator for the requests and responses of one connection.
+     */
+    public Correlator newCorrelator()
+    {
+        return new Correlator();
+    }
+
+    /**
+     * Writes round-trip times to a file, as JSON.
+     */
+    public static void writeJson(final Path file, final SortedMap<Key, LatencyHistogram> histograms) throws IOException
+    {
+        final StringBuilder sb = new StringBuilder("{\n  \"iq\": [");
+        boolean first = true;
+        for (final Map.Entry<Key, LatencyHistogram> entry : histograms.entrySet()) {
+            final LatencyHistogram histogram = entry.getValue();
+            sb.append(first ? "\n" : ",\n");
+            first = false;
+            sb.append("    {")
+                .append("\"namespace\": ").append(quote(entry.getKey().getNamespace()))
+                .append(", \"type\": ").append(quote(entry.getKey().getType()))
+                .append(", \"count\": ").append(histogram.getCount())
+                .append(", \"min_ms\": ").append(millis(histogram.getMin()))
+                .append(", \"mean_ms\": ").append(millis(histogram.getMean()))
+                .append(", \"p50_ms\": ").append(millis(histogram.getPercentile(50)))
+                .append(", \"p90_ms\": ").append(millis(histogram.getPercentile(90)))
+                .append(", \"p99_ms\": ").append(millis(histogram.getPercentile(99)))
+                .append(", \"p999_ms\": ").append(millis(histogram.getPercentile(99.9)))
+                .append(", \"max_ms\": ").append(millis(histogram.getMax()))
+                .append('}');
+        }
+        sb.append(first ? "]\n}\n" : "\n  ]\n}\n");
+        Files.writeString(file, sb);
+    }
+
+    private static String millis(final Duration duration)
+    {
+        return String.format(Locale.ROOT, "%.3f", duration.toNanos() / 1_000_000.0);
+    }
+
+    private static String quote(final String value)
+    {
+        final StringBuilder sb = new StringBuilder("\"");
+        for (final char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * Correlates the IQ requests that are sent by one connection with the responses that it receives. Instances are
+     * thread-safe.
+     */
+    public class Correlator
+    {
+        private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+
+        public void onOutgoing(final TopLevelStreamElement element)
+        {
+            if (!(element instanceof IQ)) {
+                return;
+            }
+            final IQ iq = (IQ) element;
+            if (!iq.isRequestIQ() || iq.getStanzaId() == null) {
+                return;
+            }
+            final String namespace = iq.getChildElementNamespace();
+            pending.put(iq.getStanzaId(), new Pending(new Key(namespace == null ? "" : namespace, iq.getType().toString()), currentTest, System.nanoTime()));
+        }
+
+        public void onIncoming(final TopLevelStreamElement element)
+        {
+            if (!(element instanceof IQ)) {
+                return;
+            }
+            final IQ iq = (IQ) element;
+            if (iq.isRequestIQ() || iq.getStanzaId() == null) {
+                return;
+            }
+            final Pending request = pending.remove(iq.getStanzaId());
+            if (request == null) {
+                return;
+            }
+            final long rtt = System.nanoTime() - request.sentNanos;
+            runWide.computeIfAbsent(request.key, k -> new LatencyHistogram()).record(rtt);
+            if (request.test != null) {
+                request.test.computeIfAbsent(request.key, k -> new LatencyHistogram()).record(rtt);
+            }
+        }
+    }
+
+    private static class Pending
+    {
+        final Key key;
+        final Map<Key, LatencyHistogram> test;
+        final long sentNanos;
+
+        Pending(final Key key, final Map<Key, LatencyHistogram> test, final long sentNanos)
+        {
+            this.key = key;
+            this.test = test;
+            this.sentNanos = sentNanos;
+        }
+    }
+
+    /**
+     * The combination of the namespace of the child element and the type of an IQ request.
+     */
+    public static class Key implements Comparable<Key>
+    {
+        private final String namespace;
+        private final String type;
+
+        public Key(final String namespace, final String type)
+        {
+            this.namespace = namespace;
+            this.type = type;
+        }
+
+        public String getNamespace()
+        {
+            return namespace;
+        }
+
+        public String getType()
+        {
+            return type;
+        }
+
+        @Override
+        public int compareTo(final Key o)
+        {
+            final int result = namespace.compareTo(o.namespace);
+            return result != 0 ? result : type.compareTo(o.type);
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final Key key = (Key) o;
+            return namespace.equals(key.namespace) && type.equals(key.type);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(namespace, type);
+        }
+
+        @Override
+        public String toString()
+        {
+            return namespace + " (" + type + ")";
+        }
+    }
+}
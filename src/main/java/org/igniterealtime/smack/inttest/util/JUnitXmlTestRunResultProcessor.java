@@ -80,8 +80,7 @@ public class JUnitXmlTestRunResultProcessor implements SmackIntegrationTestFrame
         }
         System.out.println("Saving JUnit-compatible XML file with results to " + logFile.toAbsolutePath());
 
-        specifications = new Properties();
-        specifications.load(JUnitXmlTestRunResultProcessor.class.getResourceAsStream("/specifications.properties"));
+        specifications = TestIndex.getSpecificationTitles();
     }
     @Override
     public void process(SmackIntegrationTestFramework.TestRunResult testRunResult)
@@ -169,7 +168,7 @@ public class JUnitXmlTestRunResultProcessor implements SmackIntegrationTestFrame
                     final Element testcaseElement = doc.createElement("testcase");
                     testcaseElement.setAttribute("name", testResult.concreteTest.toString());
                     testcaseElement.setAttribute("classname", testResult.concreteTest.getMethod().getDeclaringClass().getName());
-                    testcaseElement.setAttribute("time", String.valueOf(testResult.duration.getSeconds()));
+                    testcaseElement.setAttribute("time", String.valueOf(testResult.duration.toMillis() / 1000.0));
                     if (testResult instanceof TestNotPossible) {
                         final TestNotPossible testNotPossible = (TestNotPossible) testResult;
                         final Element skippedElement = doc.createElement("skipped");
@@ -232,6 +231,46 @@ public class JUnitXmlTestRunResultProcessor implements SmackIntegrationTestFrame
                         specificationUrlElement.setAttribute("value", generateLink(specification, specificationSection).toString());
                         propertiesElement.appendChild(specificationUrlElement);
                     }
+
+                    final Duration baselineRtt = RttSampler.getInstance().getBaseline(testResult.concreteTest);
+                    if (baselineRtt != null) {
+                        final Element baselineRttElement = doc.createElement("property");
+                        baselineRttElement.setAttribute("name", "baseline RTT");
+                        baselineRttElement.setAttribute("value", LatencyRecorder.format(baselineRtt));
+                        propertiesElement.appendChild(baselineRttElement);
+
+                        final Element durationInRttElement = doc.createElement("property");
+                        durationInRttElement.setAttribute("name", "duration in baseline RTT units");
+                        durationInRttElement.setAttribute("value", String.format("%.1f", RttSampler.inBaselineUnits(testResult.duration, baselineRtt)));
+                        propertiesElement.appendChild(durationInRttElement);
+                    }
+                    for (final Map.Entry<Phases.Phase, Duration> phase : Phases.getTimings(testResult.concreteTest).entrySet()) {
+                        final Element phaseElement = doc.createElement("property");
+                        phaseElement.setAttribute("name", "phase " + phase.getKey().getLabel());
+                        phaseElement.setAttribute("value", LatencyRecorder.format(phase.getValue()));
+                        propertiesElement.appendChild(phaseElement);
+                    }
+                    for (final Map.Entry<String, Long[]> statistic : ServerStatisticsSampler.getInstance().getStatistics(testResult.concreteTest).entrySet()) {
+                        final Element statisticElement = doc.createElement("property");
+                        statisticElement.setAttribute("name", "server " + statistic.getKey());
+                        statisticElement.setAttribute("value", statistic.getValue()[0] + " → " + statistic.getValue()[1]);
+                        propertiesElement.appendChild(statisticElement);
+                    }
+                    final TrafficAccounting.Traffic traffic = TrafficAccounting.getTraffic(testResult.concreteTest);
+                    if (traffic != null) {
+                        for (final TrafficAccounting.Direction direction : TrafficAccounting.Direction.values()) {
+                            final Element trafficElement = doc.createElement("property");
+                            trafficElement.setAttribute("name", "traffic " + direction.getLabel());
+                            trafficElement.setAttribute("value", traffic.describe(direction));
+                            propertiesElement.appendChild(trafficElement);
+                        }
+                        for (final Map.Entry<TrafficAccounting.Flow, TrafficAccounting.Counter> flow : traffic.getFlows().entrySet()) {
+                            final Element flowElement = doc.createElement("property");
+                            flowElement.setAttribute("name", "traffic " + flow.getKey());
+                            flowElement.setAttribute("value", flow.getValue().getStanzas() + " stanzas, " + flow.getValue().getBytes() + " bytes");
+                            propertiesElement.appendChild(flowElement);
+                        }
+                    }
                     testcaseElement.appendChild(propertiesElement);
 
                     // Seems to always be null.
@@ -329,6 +368,10 @@ public class JUnitXmlTestRunResultProcessor implements SmackIntegrationTestFrame
     }
 
     public static String getSpecificationReference(Class<?> clazz) {
+        final String indexed = TestIndex.getInstance().getSpecification(clazz);
+        if (indexed != null) {
+            return indexed;
+        }
         final SpecificationReference spec = clazz.getAnnotation(SpecificationReference.class);
         if (spec == null || spec.document().isBlank()) {
             return "";
@@ -341,6 +384,10 @@ public class JUnitXmlTestRunResultProcessor implements SmackIntegrationTestFrame
     }
 
     public static String getSpecificationSection(Method method) {
+        final TestIndex.Entry indexed = TestIndex.getInstance().getEntry(method);
+        if (indexed != null) {
+            return indexed.getSection();
+        }
         final SmackIntegrationTest test = method.getAnnotation(SmackIntegrationTest.class);
         if (!test.section().isBlank()) {
             return test.section().trim();
@@ -349,6 +396,10 @@ public class JUnitXmlTestRunResultProcessor implements SmackIntegrationTestFrame
     }
 
     public static String getSpecificationQuote(Method method) {
+        final TestIndex.Entry indexed = TestIndex.getInstance().getEntry(method);
+        if (indexed != null) {
+            return indexed.getQuote();
+        }
         final SmackIntegrationTest test = method.getAnnotation(SmackIntegrationTest.class);
         if (!test.quote().isBlank()) {
             return test.quote().trim();
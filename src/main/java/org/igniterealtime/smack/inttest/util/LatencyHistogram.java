@@ -0,0 +1,186 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import java.time.Duration;
+
+/**
+ * A histogram of latencies (in nanoseconds) that uses a fixed amount of memory, regardless of the amount of samples
+ * that are recorded.
+ *
+ * Samples are counted in buckets of which the width grows with the magnitude of the sample, so that the value that is
+ * reported for any bucket differs less than 1% from the samples that were counted in it (much like HdrHistogram with two
+ * significant digits). Unlike {@link LatencyRecorder}, this makes it suitable for run-wide aggregation. The minimum,
+ * maximum and mean are exact. Instances are thread-safe.
+ *
+ * @author Guus der Kinderen, guus@goodbytes.nl
+ */
+public class LatencyHistogram
+{
+    /**
+     * The amount of bits used to distinguish values within the same order of magnitude (base 2).
+     */
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_HALF_COUNT = 1 << (SUB_BUCKET_BITS - 1);
+
+    private final long[] counts = new long[(64 - SUB_BUCKET_BITS + 2) * SUB_BUCKET_HALF_COUNT];
+    private long count;
+    private long total;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    /**
+     * Records a sample. Negative values are recorded as zero.
+     *
+     * @param nanos the latency, in nanoseconds.
+     */
+    public synchronized void record(final long nanos)
+    {
+        final long value = Math.max(0, nanos);
+        counts[indexOf(value)]++;
+        count++;
+        total += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Records the time that elapsed since the provided start time.
+     *
+     * @param startNanos A value obtained from {@link System#nanoTime()}.
+     */
+    public void recordSince(final long startNanos)
+    {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Adds all samples that were recorded by another histogram to this histogram.
+     */
+    public void add(final LatencyHistogram other)
+    {
+        final long[] otherCounts;
+        final long otherCount, otherTotal, otherMin, otherMax;
+        synchronized (other) {
+            otherCounts = other.counts.clone();
+            otherCount = other.count;
+            otherTotal = other.total;
+            otherMin = other.min;
+            otherMax = other.max;
+        }
+        synchronized (this) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += otherCounts[i];
+            }
+            count += otherCount;
+            total += otherTotal;
+            min = Math.min(min, otherMin);
+            max = Math.max(max, otherMax);
+        }
+    }
+
+    public synchronized long getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Returns the (approximate) sample at the provided percentile.
+     *
+     * @param percentile a value between 0 (exclusive) and 100 (inclusive).
+     * @return the latency at the requested percentile, or Duration.ZERO when no samples have been recorded.
+     */
+    public synchronized Duration getPercentile(final double percentile)
+    {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be larger than 0 and not exceed 100, but was: " + percentile);
+        }
+        if (count == 0) {
+            return Duration.ZERO;
+        }
+        final long rank = (long) Math.ceil(percentile / 100.0 * count);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // Never report a value outside of the range of values that were actually recorded.
+                return Duration.ofNanos(Math.max(min, Math.min(max, representativeValueOf(i))));
+            }
+        }
+        return Duration.ofNanos(max);
+    }
+
+    public synchronized Duration getMin()
+    {
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(min);
+    }
+
+    public synchronized Duration getMax()
+    {
+        return Duration.ofNanos(max);
+    }
+
+    /**
+     * Returns the sum of all recorded samples.
+     */
+    public synchronized Duration getTotal()
+    {
+        return Duration.ofNanos(total);
+    }
+
+    public synchronized Duration getMean()
+    {
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(total / count);
+    }
+
+    static int indexOf(final long value)
+    {
+        // Values that fit in the sub-bucket range are counted exactly. Larger values are shifted right until they fit,
+        // which places them in the upper half of the sub-bucket range of the bucket that corresponds with the shift.
+        final int shift = Math.max(0, 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return shift * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift);
+    }
+
+    static long lowestValueOf(final int index)
+    {
+        final int shift = Math.max(0, index / SUB_BUCKET_HALF_COUNT - 1);
+        return (long) (index - shift * SUB_BUCKET_HALF_COUNT) << shift;
+    }
+
+    static long representativeValueOf(final int index)
+    {
+        final int shift = Math.max(0, index / SUB_BUCKET_HALF_COUNT - 1);
+        return lowestValueOf(index) + ((1L << shift) >>> 1);
+    }
+
+    /**
+     * Returns a human-readable, single-line summary of the recorded samples.
+     */
+    @Override
+    public synchronized String toString()
+    {
+        if (count == 0) {
+            return "n=0";
+        }
+        return "n=" + count
+            + ", min=" + LatencyRecorder.format(getMin())
+            + ", mean=" + LatencyRecorder.format(getMean())
+            + ", p50=" + LatencyRecorder.format(getPercentile(50))
+            + ", p90=" + LatencyRecorder.format(getPercentile(90))
+            + ", p99=" + LatencyRecorder.format(getPercentile(99))
+            + ", max=" + LatencyRecorder.format(getMax());
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Collects latency samples (in nanoseconds) and computes basic statistics over them.
+ *
+ * All samples are retained, which makes this class suitable for the amounts of samples that are typically collected
+ * by a single test (up to a few hundred thousand), but not for run-wide aggregation. Instances are thread-safe.
+ *
+ * @author Guus der Kinderen, guus@goodbytes.nl
+ */
+public class LatencyRecorder
+{
+    private long[] samples = new long[64];
+    private int count;
+    private boolean sorted = true;
+
+    /**
+     * Records a sample.
+     *
+     * @param nanos the latency, in nanoseconds.
+     */
+    public synchronized void record(final long nanos)
+    {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, samples.length * 2);
+        }
+        if (count > 0 && samples[count - 1] > nanos) {
+            sorted = false;
+        }
+        samples[count++] = nanos;
+    }
+
+    /**
+     * Records a sample.
+     *
+     * @param latency the latency.
+     */
+    public void record(final Duration latency)
+    {
+        record(latency.toNanos());
+    }
+
+    /**
+     * Records the time that elapsed since the provided start time.
+     *
+     * @param startNanos A value obtained from {@link System#nanoTime()}.
+     */
+    public void recordSince(final long startNanos)
+    {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public synchronized int getCount()
+    {
+        return count;
+    }
+
+    public synchronized boolean isEmpty()
+    {
+        return count == 0;
+    }
+
+    /**
+     * Returns the sample at the provided percentile (using the nearest-rank method).
+     *
+     * @param percentile a value between 0 (exclusive) and 100 (inclusive).
+     * @return the latency at the requested percentile, or Duration.ZERO when no samples have been recorded.
+     */
+    public synchronized Duration getPercentile(final double percentile)
+    {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be larger than 0 and not exceed 100, but was: " + percentile);
+        }
+        if (count == 0) {
+            return Duration.ZERO;
+        }
+        sort();
+        final int rank = (int) Math.ceil(percentile / 100.0 * count);
+        return Duration.ofNanos(samples[Math.max(0, rank - 1)]);
+    }
+
+    public synchronized Duration getMin()
+    {
+        if (count == 0) {
+            return Duration.ZERO;
+        }
+        sort();
+        return Duration.ofNanos(samples[0]);
+    }
+
+    public synchronized Duration getMax()
+    {
+        if (count == 0) {
+            return Duration.ZERO;
+        }
+        sort();
+        return Duration.ofNanos(samples[count - 1]);
+    }
+
+    public synchronized Duration getMean()
+    {
+        if (count == 0) {
+            return Duration.ZERO;
+        }
+        double total = 0;
+        for (int i = 0; i < count; i++) {
+            total += samples[i];
+        }
+        return Duration.ofNanos(Math.round(total / count));
+    }
+
+    /**
+     * Returns a copy of all recorded samples, in nanoseconds, ordered from low to high.
+     */
+    public synchronized long[] getSamples()
+    {
+        sort();
+        return Arrays.copyOf(samples, count);
+    }
+
+    private void sort()
+    {
+        if (!sorted) {
+            Arrays.sort(samples, 0, count);
+            sorted = true;
+        }
+    }
+
+    /**
+     * Formats a duration as a (fractional) amount of milliseconds.
+     */
+    public static String format(final Duration duration)
+    {
+        return String.format("%.3fms", duration.toNanos() / 1_000_000.0);
+    }
+
+    /**
+     * Returns a human-readable, single-line summary of the recorded samples.
+     */
+    @Override
+    public synchronized String toString()
+    {
+        if (count == 0) {
+            return "n=0";
+        }
+        return "n=" + count
+            + ", min=" + format(getMin())
+            + ", mean=" + format(getMean())
+            + ", p50=" + format(getPercentile(50))
+            + ", p90=" + format(getPercentile(90))
+            + ", p99=" + format(getPercentile(99))
+            + ", max=" + format(getMax());
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import com.sun.net.httpserver.HttpServer;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestFramework;
+import org.jivesoftware.smack.XMPPConnection;
+import org.jivesoftware.smack.packet.TopLevelStreamElement;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Collects metrics of a test run while it is in progress, and exposes them in the OpenMetrics text format, so that
+ * progress, throughput and latency can be monitored (eg: by Prometheus) before the run finishes.
+ *
+ * The metrics are: the amount of tests that were started, that passed and that failed (per specification), the amount
+ * of stanzas that were sent and received (per kind), the amount of characters that were sent and received, the
+ * round-trip time of IQ requests (per namespace and IQ type) and the amount of connections that are open.
+ *
+ * Metrics are exposed by an embedded HTTP server on the port that is configured with the <tt>sinttest.metrics.port</tt>
+ * system property (not started by default), and/or by periodically writing a file named 'metrics.prom' in the log
+ * directory, at the interval (in seconds) that is configured with the <tt>sinttest.metrics.interval</tt> system property
+ * (default: 15, use 0 to disable). When neither is active, no metrics are collected.
+ *
+ * Instances are driven by {@link ModifiedStandardSinttestDebugger}, which observes all tests, connections and stanzas.
+ *
+ * @author Guus der Kinderen, guus@goodbytes.nl
+ */
+public final class MetricsRegistry
+{
+    private static final Logger LOGGER = Logger.getLogger(MetricsRegistry.class.getName());
+
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    private static final double[] QUANTILES = { 0.5, 0.9, 0.99 };
+
+    private final Map<String, LongAdder> testsStarted = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> testsPassed = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> testsFailed = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> stanzasSent = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> stanzasReceived = new ConcurrentHashMap<>();
+    private final LongAdder charactersSent = new LongAdder();
+    private final LongAdder charactersReceived = new LongAdder();
+    private final Set<XMPPConnection> connections = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private volatile Supplier<SortedMap<IqLatencyTracker.Key, LatencyHistogram>> iqLatencySource;
+
+    private volatile boolean enabled;
+    private boolean started;
+    private HttpServer server;
+    private ScheduledExecutorService executor;
+    private Path file;
+
+    private MetricsRegistry() {}
+
+    public static MetricsRegistry getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts exposing metrics (as configured), if that has not already been done.
+     *
+     * @param logDir The directory in which metrics are periodically written (can be null).
+     */
+    synchronized void start(final Path logDir)
+    {
+        if (started) {
+            return;
+        }
+        started = true;
+
+        final String port = System.getProperty("sinttest.metrics.port");
+        if (port != null && !port.isBlank()) {
+            try {
+                server = HttpServer.create(new InetSocketAddress(Integer.parseInt(port.trim())), 0);
+                server.createContext("/metrics", exchange -> {
+                    final byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (final OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                });
+                server.start();
+                enabled = true;
+                LOGGER.info("Exposing metrics on http://localhost:" + server.getAddress().getPort() + "/metrics");
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Unable to expose metrics on port " + port, e);
+            }
+        }
+
+        final long interval = Long.parseLong(System.getProperty("sinttest.metrics.interval", "15").trim());
+        if (logDir != null && interval > 0) {
+            file = logDir.resolve("metrics.prom");
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "sinttest-metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.SECONDS);
+            enabled = true;
+        }
+    }
+
+    /**
+     * Stops exposing metrics, after writing them to file one last time.
+     */
+    synchronized void stop()
+    {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+            flush();
+        }
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        enabled = false;
+    }
+
+    private void flush()
+    {
+        if (file == null) {
+            return;
+        }
+        try {
+            // Write to a temporary file first, to prevent a scraper from reading a partially written file.
+            final Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(temporary, scrape());
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Unable to write metrics to " + file, e);
+        }
+    }
+
+    void setIqLatencySource(final Supplier<SortedMap<IqLatencyTracker.Key, LatencyHistogram>> source)
+    {
+        this.iqLatencySource = source;
+    }
+
+    void observe(final XMPPConnection connection)
+    {
+        connections.add(connection);
+    }
+
+    void testStarted(final SmackIntegrationTestFramework.ConcreteTest test)
+    {
+        if (enabled) {
+            count(testsStarted, JUnitXmlTestRunResultProcessor.getSpecificationReference(test.getMethod()));
+        }
+    }
+
+    void testFinished(final SmackIntegrationTestFramework.ConcreteTest test, final boolean passed)
+    {
+        if (enabled) {
+            count(passed ? testsPassed : testsFailed, JUnitXmlTestRunResultProcessor.getSpecificationReference(test.getMethod()));
+        }
+    }
+
+    void stanzaSent(final TopLevelStreamElement element)
+    {
+        if (enabled) {
+            count(stanzasSent, FlightRecorderEvents.kindOf(element));
+            charactersSent.add(element.toXML().length());
+        }
+    }
+
+    void stanzaReceived(final TopLevelStreamElement element)
+    {
+        if (enabled) {
+            count(stanzasReceived, FlightRecorderEvents.kindOf(element));
+            charactersReceived.add(element.toXML().length());
+        }
+    }
+
+    private static void count(final Map<String, LongAdder> counters, final String label)
+    {
+        counters.computeIfAbsent(label, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Returns all metrics, in the OpenMetrics text format.
+     */
+    public String scrape()
+    {
+        final StringBuilder sb = new StringBuilder();
+        counter(sb, "sinttest_tests_started", "Tests that were started.", "specification", testsStarted);
+        counter(sb, "sinttest_tests_passed", "Tests that passed.", "specification", testsPassed);
+        counter(sb, "sinttest_tests_failed", "Tests that failed.", "specification", testsFailed);
+        counter(sb, "sinttest_stanzas_sent", "Stanzas (and nonzas) that were sent.", "kind", stanzasSent);
+        counter(sb, "sinttest_stanzas_received", "Stanzas (and nonzas) that were received.", "kind", stanzasReceived);
+        counter(sb, "sinttest_characters_sent", "Characters of serialized stanzas (and nonzas) that were sent.", null, Map.of("", charactersSent));
+        counter(sb, "sinttest_characters_received", "Characters of serialized stanzas (and nonzas) that were received.", null, Map.of("", charactersReceived));
+
+        final long open;
+        synchronized (connections) {
+            open = connections.stream().filter(XMPPConnection::isConnected).count();
+        }
+        sb.append("# TYPE sinttest_connections_open gauge\n");
+        sb.append("# HELP sinttest_connections_open Connections that are connected to the server.\n");
+        sb.append("sinttest_connections_open ").append(open).append('\n');
+
+        final Supplier<SortedMap<IqLatencyTracker.Key, LatencyHistogram>> source = iqLatencySource;
+        if (source != null) {
+            sb.append("# TYPE sinttest_iq_round_trip_seconds summary\n");
+            sb.append("# UNIT sinttest_iq_round_trip_seconds seconds\n");
+            sb.append("# HELP sinttest_iq_round_trip_seconds Round-trip time of IQ requests.\n");
+            for (final Map.Entry<IqLatencyTracker.Key, LatencyHistogram> entry : source.get().entrySet()) {
+                final String labels = "namespace=\"" + escape(entry.getKey().getNamespace()) + "\",type=\"" + escape(entry.getKey().getType()) + "\"";
+                final LatencyHistogram histogram = entry.getValue();
+                for (final double quantile : QUANTILES) {
+                    sb.append("sinttest_iq_round_trip_seconds{").append(labels).append(",quantile=\"").append(quantile).append("\"} ").append(seconds(histogram.getPercentile(quantile * 100).toNanos())).append('\n');
+                }
+                sb.append("sinttest_iq_round_trip_seconds_sum{").append(labels).append("} ").append(seconds(histogram.getTotal().toNanos())).append('\n');
+                sb.append("sinttest_iq_round_trip_seconds_count{").append(labels).append("} ").append(histogram.getCount()).append('\n');
+            }
+        }
+        sb.append("# EOF\n");
+        return sb.toString();
+    }
+
+    private static void counter(final StringBuilder sb, final String name, final String help, final String labelName, final Map<String, LongAdder> values)
+    {
+        sb.append("# TYPE ").append(name).append(" counter\n");
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        for (final Map.Entry<String, LongAdder> entry : new TreeMap<>(values).entrySet()) {
+            sb.append(name).append("_total");
+            if (labelName != null) {
+                sb.append('{').append(labelName).append("=\"").append(escape(entry.getKey())).append("\"}");
+            }
+            sb.append(' ').append(entry.getValue().sum()).append('\n');
+        }
+    }
+
+    private static String seconds(final long nanos)
+    {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1_000_000_000.0);
+    }
+
+    static String escape(final String value)
+    {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
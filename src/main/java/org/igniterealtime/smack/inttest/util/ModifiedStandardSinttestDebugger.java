@@ -5,16 +5,21 @@ import org.igniterealtime.smack.inttest.debugger.SinttestDebugger;
 import org.jivesoftware.smack.XMPPConnection;
 import org.jivesoftware.smack.debugger.SimpleAbstractDebugger;
 import org.jivesoftware.smack.debugger.SmackDebuggerFactory;
+import org.jivesoftware.smack.packet.TopLevelStreamElement;
 import org.jivesoftware.smack.util.ExceptionUtil;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
 import java.io.Writer;
 import java.lang.reflect.Method;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.SortedMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -27,6 +32,31 @@ import java.util.logging.Logger;
  *
  * It also appends to pre-existing files, rather than failing to run if those already exist.
  *
+ * Additionally, it drives the {@link RttSampler}, and records the baseline round-trip time of each test in a file named
+ * 'baseline-rtt' next to the log of the test. Similarly, it tracks the test that is being executed for {@link Phases},
+ * and records the time spent in each phase of a test in a file named 'phases'.
+ *
+ * Unless disabled (with the 'metrics=off' option, or the <tt>sinttest.debugger.metrics=off</tt> system property), it
+ * also measures the round-trip time of IQ requests (see {@link IqLatencyTracker}). These are written, per namespace and
+ * IQ type, to a file named 'latency.json' next to the log of each test, and for the entire test run to a file by the
+ * same name in the log directory.
+ *
+ * Unless disabled (with the 'traffic=off' option, or the <tt>sinttest.debugger.traffic=off</tt> system property), it
+ * accounts for the traffic of each connection and each test (see {@link TrafficAccounting}), which is written to a file
+ * named 'traffic' next to the log of each test, and for the entire test run (including the traffic of each connection)
+ * to a file by the same name in the log directory.
+ *
+ * It also drives the {@link ServerStatisticsSampler}, of which all samples are written to a file named
+ * 'server-statistics.tsv' in the log directory.
+ *
+ * When enabled, stacks of the threads of the test harness are sampled while a test is being executed (see
+ * {@link StackSampler}). When a test fails or is slow, these are written as collapsed stacks to a file named
+ * 'stacks.collapsed' next to the log of the test.
+ *
+ * Finally, it emits Java Flight Recorder events (see {@link FlightRecorderEvents}) for the start and end of each test,
+ * each stanza that is sent or received, and each multi-user chat room that is created. The same observations feed the
+ * {@link MetricsRegistry}, which exposes them while the test run is in progress.
+ *
  * Ideally, this entire implementation is replaced with usage of the StandardSinttestDebugger once its bugs are fixed.
  */
 public class ModifiedStandardSinttestDebugger implements SinttestDebugger
@@ -40,11 +70,15 @@ public class ModifiedStandardSinttestDebugger implements SinttestDebugger
 
     private Path currentTestMethodDirectory;
 
+    private FlightRecorderEvents.TestFinished currentTestEvent;
+
     private final Path basePath;
     private final Writer completeWriter;
     private final Writer outsideTestWriter;
     private final Writer testsWriter;
     private final boolean console;
+    private final IqLatencyTracker iqLatencyTracker;
+    private final boolean accountTraffic;
 
     public ModifiedStandardSinttestDebugger(ZonedDateTime restRunStart, String testRunId, String options) {
         String tmpdir = System.getProperty("java.io.tmpdir");
@@ -62,6 +96,9 @@ public class ModifiedStandardSinttestDebugger implements SinttestDebugger
         basePath = System.getProperty("logDir");
 
         boolean console = false;
+        // Options cannot be specified (see above), which is why this can also be controlled by a system property.
+        boolean metrics = !"off".equals(System.getProperty("sinttest.debugger.metrics", "on"));
+        boolean traffic = !"off".equals(System.getProperty("sinttest.debugger.traffic", "on"));
 
         if (options != null) {
             for (String keyValue : options.split(",")) {
@@ -86,6 +123,32 @@ public class ModifiedStandardSinttestDebugger implements SinttestDebugger
                                     "Invalid argument console=" + value + ", only off/on are allowed");
                         }
                         break;
+                    case "metrics":
+                        switch (value) {
+                            case "on":
+                                metrics = true;
+                                break;
+                            case "off":
+                                metrics = false;
+                                break;
+                            default:
+                                throw new IllegalArgumentException(
+                                    "Invalid argument metrics=" + value + ", only off/on are allowed");
+                        }
+                        break;
+                    case "traffic":
+                        switch (value) {
+                            case "on":
+                                traffic = true;
+                                break;
+                            case "off":
+                                traffic = false;
+                                break;
+                            default:
+                                throw new IllegalArgumentException(
+                                    "Invalid argument traffic=" + value + ", only off/on are allowed");
+                        }
+                        break;
                     case "dir":
                         switch (value) {
                             case "off":
@@ -128,12 +191,63 @@ public class ModifiedStandardSinttestDebugger implements SinttestDebugger
             testsWriter = null;
         }
         this.console = console;
+        this.iqLatencyTracker = metrics ? new IqLatencyTracker() : null;
+        this.accountTraffic = traffic;
+
+        MetricsRegistry.getInstance().start(this.basePath);
+        if (iqLatencyTracker != null) {
+            MetricsRegistry.getInstance().setIqLatencySource(iqLatencyTracker::getRunWide);
+        }
     }
 
     private class ModifiedStandardSinttestSmackDebugger extends SimpleAbstractDebugger
     {
+        private final IqLatencyTracker.Correlator correlator;
+        private final TrafficAccounting.ConnectionTraffic traffic;
+
         ModifiedStandardSinttestSmackDebugger(XMPPConnection connection) {
             super(connection);
+            correlator = iqLatencyTracker == null ? null : iqLatencyTracker.newCorrelator();
+            traffic = accountTraffic ? TrafficAccounting.observe(connection) : null;
+        }
+
+        @Override
+        public Reader newConnectionReader(Reader reader) {
+            final Reader result = super.newConnectionReader(reader);
+            return traffic == null ? result : traffic.countReceived(result);
+        }
+
+        @Override
+        public Writer newConnectionWriter(Writer writer) {
+            final Writer result = super.newConnectionWriter(writer);
+            return traffic == null ? result : traffic.countSent(result);
+        }
+
+        @Override
+        public void onIncomingStreamElement(TopLevelStreamElement streamElement) {
+            if (correlator != null) {
+                correlator.onIncoming(streamElement);
+            }
+            if (traffic != null) {
+                traffic.record(TrafficAccounting.Direction.RECEIVED, streamElement);
+            }
+            FlightRecorderEvents.stanzaReceived(connection, streamElement);
+            MetricsRegistry.getInstance().stanzaReceived(streamElement);
+            FlightRecorderEvents.detectRoomCreation(streamElement);
+            super.onIncomingStreamElement(streamElement);
+        }
+
+        @Override
+        public void onOutgoingStreamElement(TopLevelStreamElement streamElement) {
+            if (correlator != null) {
+                correlator.onOutgoing(streamElement);
+            }
+            if (traffic != null) {
+                traffic.record(TrafficAccounting.Direction.SENT, streamElement);
+            }
+            FlightRecorderEvents.stanzaSent(connection, streamElement);
+            MetricsRegistry.getInstance().stanzaSent(streamElement);
+            super.onOutgoingStreamElement(streamElement);
         }
 
         @Override
@@ -181,11 +295,38 @@ public class ModifiedStandardSinttestDebugger implements SinttestDebugger
 
     @Override
     public SmackDebuggerFactory getSmackDebuggerFactory() {
-        return c -> new ModifiedStandardSinttestDebugger.ModifiedStandardSinttestSmackDebugger(c);
+        return c -> {
+            if (RttSampler.isConstructingSamplerConnection()) {
+                // Do not log the pings of the round-trip time sampler, as those are unrelated to any test.
+                return new SimpleAbstractDebugger(c) {
+                    @Override
+                    protected void logSink(String logMessage) {}
+                };
+            }
+            RttSampler.getInstance().observe(c);
+            ServerStatisticsSampler.getInstance().observe(c);
+            MetricsRegistry.getInstance().observe(c);
+            return new ModifiedStandardSinttestDebugger.ModifiedStandardSinttestSmackDebugger(c);
+        };
     }
 
     @Override
     public void onTestStart(SmackIntegrationTestFramework.ConcreteTest test, ZonedDateTime startTime) throws IOException {
+        RttSampler.getInstance().start();
+        RttSampler.getInstance().testStarted(test);
+        ServerStatisticsSampler.getInstance().start();
+        ServerStatisticsSampler.getInstance().testStarted(test);
+        Phases.testStarted(test);
+        StackSampler.getInstance().testStarted();
+        currentTestEvent = FlightRecorderEvents.testStarted(test);
+        MetricsRegistry.getInstance().testStarted(test);
+        if (iqLatencyTracker != null) {
+            iqLatencyTracker.testStarted();
+        }
+        if (accountTraffic) {
+            TrafficAccounting.testStarted(test);
+        }
+
         if (basePath == null) {
             return;
         }
@@ -241,6 +382,60 @@ public class ModifiedStandardSinttestDebugger implements SinttestDebugger
         testsWriter.append('\n');
     }
 
+    private void recordBaselineRtt(SmackIntegrationTestFramework.ConcreteTest test) throws IOException {
+        RttSampler.getInstance().testFinished(test);
+
+        final Duration baseline = RttSampler.getInstance().getBaseline(test);
+        if (baseline != null && currentTestMethodDirectory != null) {
+            Files.writeString(currentTestMethodDirectory.resolve("baseline-rtt"), LatencyRecorder.format(baseline));
+        }
+    }
+
+    private void recordPhases(SmackIntegrationTestFramework.ConcreteTest test) throws IOException {
+        Phases.testFinished(test);
+
+        final Map<Phases.Phase, Duration> timings = Phases.getTimings(test);
+        if (!timings.isEmpty() && currentTestMethodDirectory != null) {
+            Files.writeString(currentTestMethodDirectory.resolve("phases"), Phases.format(timings));
+        }
+    }
+
+    private void recordStackSamples(boolean failed) throws IOException {
+        final Path file = StackSampler.getInstance().testFinished(currentTestMethodDirectory, failed);
+        if (file != null) {
+            logSink("Wrote stack samples to file://" + file);
+        }
+    }
+
+    private void recordTraffic(SmackIntegrationTestFramework.ConcreteTest test) throws IOException {
+        TrafficAccounting.testFinished(test);
+
+        final TrafficAccounting.Traffic traffic = TrafficAccounting.getTraffic(test);
+        if (traffic != null && currentTestMethodDirectory != null) {
+            Files.writeString(currentTestMethodDirectory.resolve("traffic"), traffic.format());
+        }
+    }
+
+    private void recordIqLatency(SmackIntegrationTestFramework.ConcreteTest test) throws IOException {
+        if (iqLatencyTracker == null) {
+            return;
+        }
+
+        final SortedMap<IqLatencyTracker.Key, LatencyHistogram> histograms = iqLatencyTracker.testFinished(test);
+        if (currentTestMethodDirectory != null) {
+            IqLatencyTracker.writeJson(currentTestMethodDirectory.resolve("latency.json"), histograms);
+        }
+    }
+
+    private static void writeTraffic(Path file) throws IOException {
+        final StringBuilder sb = new StringBuilder(TrafficAccounting.getRunWide().format());
+        sb.append('\n');
+        for (final TrafficAccounting.ConnectionTraffic connection : TrafficAccounting.getConnections()) {
+            sb.append(String.format("%-60s sent: %s, received: %s%n", connection.getLabel(), connection.describe(TrafficAccounting.Direction.SENT), connection.describe(TrafficAccounting.Direction.RECEIVED)));
+        }
+        Files.writeString(file, sb);
+    }
+
     private Path createTestMarkerFile(String name) throws IOException {
         if (currentTestMethodDirectory == null) {
             return null;
@@ -257,9 +452,20 @@ public class ModifiedStandardSinttestDebugger implements SinttestDebugger
     public void onTestSuccess(SmackIntegrationTestFramework.ConcreteTest test, ZonedDateTime endTime) throws IOException {
         logSink("TEST SUCCESSFUL: " + test);
 
-        createTestMarkerFile("successful");
-
-        onTestEnd(null);
+        // Always end the test, to not have the log of the next test be written to the log of this one.
+        try {
+            createTestMarkerFile("successful");
+            recordStackSamples(false);
+            FlightRecorderEvents.testFinished(currentTestEvent, test, null);
+            MetricsRegistry.getInstance().testFinished(test, true);
+            ServerStatisticsSampler.getInstance().testFinished(test);
+            recordBaselineRtt(test);
+            recordPhases(test);
+            recordIqLatency(test);
+            recordTraffic(test);
+        } finally {
+            onTestEnd(null);
+        }
     }
 
     @Override
@@ -268,30 +474,58 @@ public class ModifiedStandardSinttestDebugger implements SinttestDebugger
 
         logSink("TEST FAILED: " + test + "\n" + stacktrace);
 
-        Path markerFile = createTestMarkerFile("failed");
-        if (markerFile != null) {
-            Files.writeString(markerFile, stacktrace);
-        }
-        if (currentTestMethodDirectory != null) {
-            if (throwable instanceof ResultSyncPoint.ResultSyncPointTimeoutException) {
-                var resultSyncPointTimeoutException = (ResultSyncPoint.ResultSyncPointTimeoutException) throwable;
-                var threadDump = resultSyncPointTimeoutException.getThreadDump();
-                var threadDumpFile = currentTestMethodDirectory.resolve("thread-dump");
-                Files.writeString(threadDumpFile, threadDump);
+        // Always end the test, to not have the log of the next test be written to the log of this one.
+        try {
+            FlightRecorderEvents.testFinished(currentTestEvent, test, throwable);
+            MetricsRegistry.getInstance().testFinished(test, false);
+            ServerStatisticsSampler.getInstance().testFinished(test);
+            recordStackSamples(true);
 
-                logSink("Wrote thread dump to file://" + threadDumpFile);
+            Path markerFile = createTestMarkerFile("failed");
+            if (markerFile != null) {
+                Files.writeString(markerFile, stacktrace);
+            }
+            if (currentTestMethodDirectory != null) {
+                if (throwable instanceof ResultSyncPoint.ResultSyncPointTimeoutException) {
+                    var resultSyncPointTimeoutException = (ResultSyncPoint.ResultSyncPointTimeoutException) throwable;
+                    var threadDump = resultSyncPointTimeoutException.getThreadDump();
+                    var threadDumpFile = currentTestMethodDirectory.resolve("thread-dump");
+                    Files.writeString(threadDumpFile, threadDump);
+
+                    logSink("Wrote thread dump to file://" + threadDumpFile);
+                }
             }
-        }
 
-        onTestEnd(throwable);
+            recordBaselineRtt(test);
+            recordPhases(test);
+            recordIqLatency(test);
+            recordTraffic(test);
+        } finally {
+            onTestEnd(throwable);
+        }
     }
 
     @Override
     public void onSinttestFinished(SmackIntegrationTestFramework.TestRunResult testRunResult) throws IOException {
+        RttSampler.getInstance().stop();
+        MetricsRegistry.getInstance().stop();
+        StackSampler.getInstance().stop();
+        ServerStatisticsSampler.getInstance().stop();
+
         if (basePath == null) {
             return;
         }
 
+        if (iqLatencyTracker != null) {
+            IqLatencyTracker.writeJson(basePath.resolve("latency.json"), iqLatencyTracker.getRunWide());
+        }
+        if (accountTraffic) {
+            writeTraffic(basePath.resolve("traffic"));
+        }
+        if (!ServerStatisticsSampler.getInstance().getSamples().isEmpty()) {
+            ServerStatisticsSampler.getInstance().writeTsv(basePath.resolve("server-statistics.tsv"));
+        }
+
         outsideTestWriter.close();
         completeWriter.close();
         testsWriter.close();
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import org.igniterealtime.smack.inttest.SmackIntegrationTestFramework;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * A file-based store of performance metrics (test durations, per-phase timings and latencies) of earlier test runs.
+ *
+ * Metrics are kept in an append-only file of tab-separated values, in which every line holds one metric of one test in
+ * one test run: the test run ID, the time at which the run was stored (in milliseconds since the epoch), the test ID
+ * (the name of the test class, followed by '#' and the name of the test), the name of the metric and its value (in
+ * nanoseconds). Lines starting with '#' are comments. As lines are only ever appended, the file can be kept between
+ * runs (eg: as a CI cache) and be inspected or trimmed with standard command line tools.
+ *
+ * @author Guus der Kinderen, guus@goodbytes.nl
+ */
+public class PerformanceHistory
+{
+    private static final Logger LOGGER = Logger.getLogger(PerformanceHistory.class.getName());
+
+    public static final String DURATION = "duration";
+    public static final String BASELINE_RTT = "baseline rtt";
+    public static final String IQ_MEDIAN = "iq median";
+
+    private static final String HEADER = "# run\ttimestamp\ttest\tmetric\tnanos";
+
+    private final Path file;
+
+    /**
+     * Metric values by test ID and metric name, in the order in which the runs were stored (oldest first).
+     */
+    private final Map<String, Map<String, List<Long>>> samples = new HashMap<>();
+
+    private final List<String> runs = new ArrayList<>();
+
+    private PerformanceHistory(final Path file)
+    {
+        this.file = file;
+    }
+
+    /**
+     * Reads the history from a file. When the file does not exist, an empty history is returned (to which runs can be
+     * added).
+     */
+    public static PerformanceHistory read(final Path file) throws IOException
+    {
+        final PerformanceHistory result = new PerformanceHistory(file);
+        if (!Files.exists(file)) {
+            return result;
+        }
+        try (final BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                final String[] fields = line.split("\t", -1);
+                if (fields.length != 5) {
+                    // A run that was interrupted while being stored can leave a partial line. Ignore it, rather than discarding all history.
+                    LOGGER.warning("Ignoring malformed line " + lineNumber + " in performance history file " + file);
+                    continue;
+                }
+                try {
+                    result.add(fields[0], fields[2], fields[3], Long.parseLong(fields[4]));
+                } catch (NumberFormatException e) {
+                    LOGGER.warning("Ignoring line " + lineNumber + " with malformed value in performance history file " + file);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void add(final String runId, final String testId, final String metric, final long nanos)
+    {
+        if (runs.isEmpty() || !runs.get(runs.size() - 1).equals(runId)) {
+            runs.add(runId);
+        }
+        samples.computeIfAbsent(testId, k -> new HashMap<>()).computeIfAbsent(metric, k -> new ArrayList<>()).add(nanos);
+    }
+
+    /**
+     * Returns the values of a metric of a test, in the order in which the runs were stored (oldest first).
+     *
+     * @param testId The ID of a test, as returned by {@link #idOf(SmackIntegrationTestFramework.ConcreteTest)}.
+     * @param metric The name of a metric.
+     * @return The recorded values, in nanoseconds (possibly empty).
+     */
+    public List<Long> getValues(final String testId, final String metric)
+    {
+        final List<Long> values = samples.getOrDefault(testId, Collections.emptyMap()).get(metric);
+        return values == null ? Collections.emptyList() : Collections.unmodifiableList(values);
+    }
+
+    /**
+     * Returns the amount of distinct test runs in the history.
+     */
+    public int getRunCount()
+    {
+        return runs.size();
+    }
+
+    /**
+     * Appends the metrics of a test run to the file that backs this history (as well as to this instance).
+     *
+     * @param runId The ID of the test run.
+     * @param metrics Metric values (in nanoseconds) by metric name, by test ID.
+     */
+    public synchronized void append(final String runId, final Map<String, Map<String, Long>> metrics) throws IOException
+    {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        final boolean isNew = !Files.exists(file);
+        final long timestamp = System.currentTimeMillis();
+        try (final BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (isNew) {
+                writer.write(HEADER);
+                writer.newLine();
+            }
+            for (final Map.Entry<String, Map<String, Long>> test : metrics.entrySet()) {
+                for (final Map.Entry<String, Long> metric : test.getValue().entrySet()) {
+                    writer.write(sanitize(runId) + '\t' + timestamp + '\t' + sanitize(test.getKey()) + '\t' + sanitize(metric.getKey()) + '\t' + metric.getValue());
+                    writer.newLine();
+                    add(sanitize(runId), sanitize(test.getKey()), sanitize(metric.getKey()), metric.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the metrics of a test that was executed in the current test run: its duration, the duration of each of
+     * its phases (see {@link Phases}), the baseline round-trip time (see {@link RttSampler}) and the median round-trip
+     * time of its IQ requests (see {@link IqLatencyTracker}), when available.
+     *
+     * @return Metric values (in nanoseconds) by metric name.
+     */
+    public static Map<String, Long> collect(final SmackIntegrationTestFramework.ConcreteTest test, final Duration duration)
+    {
+        final Map<String, Long> result = new LinkedHashMap<>();
+        result.put(DURATION, duration.toNanos());
+        for (final Map.Entry<Phases.Phase, Duration> phase : Phases.getTimings(test).entrySet()) {
+            result.put("phase " + phase.getKey().getLabel(), phase.getValue().toNanos());
+        }
+        final Duration baselineRtt = RttSampler.getInstance().getBaseline(test);
+        if (baselineRtt != null) {
+            result.put(BASELINE_RTT, baselineRtt.toNanos());
+        }
+        final Duration iqMedian = IqLatencyTracker.getMedian(test);
+        if (iqMedian != null) {
+            result.put(IQ_MEDIAN, iqMedian.toNanos());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the identifier under which the metrics of a test are stored. This is the same combination of class name
+     * and test name that identifies a test in the JUnit-compatible XML file (see {@link TestDurationBaseline}).
+     */
+    public static String idOf(final SmackIntegrationTestFramework.ConcreteTest test)
+    {
+        return test.getMethod().getDeclaringClass().getName() + '#' + test;
+    }
+
+    private static String sanitize(final String value)
+    {
+        return value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+}
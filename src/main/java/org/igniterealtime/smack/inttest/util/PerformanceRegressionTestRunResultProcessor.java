@@ -0,0 +1,423 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import org.igniterealtime.smack.inttest.SmackIntegrationTestFramework;
+import org.igniterealtime.smack.inttest.TestResult;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.TransformerException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Detects performance regressions, by comparing the duration of each test in the current test run with the durations
+ * of the same test in earlier runs, as kept in a {@link PerformanceHistory}. After the comparison, the metrics of the
+ * current run are added to that history.
+ *
+ * A test is considered to have regressed when a one-sided Mann-Whitney U test finds its recent durations to be
+ * significantly larger than its earlier durations, and the median of its recent durations exceeds the median of its
+ * earlier durations by a minimum percentage. Being rank-based, this test is not thrown off by the occasional outlier
+ * (eg: a garbage collection pause) and makes no assumptions about how durations are distributed.
+ *
+ * The result is printed on the standard output, and is written as a JUnit-compatible XML file named
+ * 'performance-regressions.xml' in the log directory, in which every regression is reported as a failed test. This
+ * allows a CI environment to fail a build on performance regressions, in the same way as it does on conformance
+ * failures.
+ *
+ * The following system properties are used:
+ * <ul>
+ *     <li><tt>sinttest.history.file</tt> - the file in which metrics are kept (default: 'performance-history.tsv' in the log directory)</li>
+ *     <li><tt>sinttest.history.runs</tt> - the maximum amount of earlier runs to compare with (default: 20)</li>
+ *     <li><tt>sinttest.history.minimumRuns</tt> - the minimum amount of earlier runs of a test that are needed to compare with (default: the smallest amount for which a significant result is possible, eg: 20 when comparing only the current run with an alpha of 0.05)</li>
+ *     <li><tt>sinttest.history.recent</tt> - the amount of runs (including the current one) that are considered 'recent' (default: 1)</li>
+ *     <li><tt>sinttest.history.alpha</tt> - the significance level of the statistical test (default: 0.05)</li>
+ *     <li><tt>sinttest.history.minimumIncrease</tt> - the minimum increase of the median duration, in percent (default: 20)</li>
+ * </ul>
+ *
+ * @author Guus der Kinderen, guus@goodbytes.nl
+ */
+public class PerformanceRegressionTestRunResultProcessor implements SmackIntegrationTestFramework.TestRunResultProcessor
+{
+    /**
+     * The largest product of sample sizes for which the exact distribution of the U statistic is computed. Larger
+     * samples use the normal approximation.
+     */
+    static final int EXACT_LIMIT = 1000;
+
+    private final Path historyFile;
+    private final Path logFile;
+
+    public PerformanceRegressionTestRunResultProcessor()
+    {
+        final String logDir = System.getProperty("logDir");
+        if (logDir == null) {
+            throw new IllegalStateException("Unable to read 'logDir' system property.");
+        }
+        final Path logDirPath = Paths.get(logDir);
+        try {
+            Files.createDirectories(logDirPath);
+        } catch (IOException e) {
+            throw new IllegalStateException("Logging location does not exist or is not writable: " + logDirPath.toAbsolutePath(), e);
+        }
+        this.logFile = logDirPath.resolve("performance-regressions.xml");
+
+        final String history = System.getProperty("sinttest.history.file");
+        this.historyFile = history == null || history.isBlank() ? logDirPath.resolve("performance-history.tsv") : Paths.get(history.trim());
+        System.out.println("Using performance history in " + historyFile.toAbsolutePath() + ", saving performance regressions to " + logFile.toAbsolutePath());
+    }
+
+    @Override
+    public void process(final SmackIntegrationTestFramework.TestRunResult testRunResult)
+    {
+        final int recent = Math.max(1, Integer.parseInt(System.getProperty("sinttest.history.recent", "1").trim()));
+        final double alpha = Double.parseDouble(System.getProperty("sinttest.history.alpha", "0.05").trim());
+        final int runs = Integer.parseInt(System.getProperty("sinttest.history.runs", "20").trim());
+        final String minimumRunsValue = System.getProperty("sinttest.history.minimumRuns");
+        final int minimumRuns = minimumRunsValue == null || minimumRunsValue.isBlank() ? minimumReferenceSize(recent, alpha) : Integer.parseInt(minimumRunsValue.trim());
+        final double minimumIncrease = Double.parseDouble(System.getProperty("sinttest.history.minimumIncrease", "20").trim());
+
+        final PerformanceHistory history;
+        try {
+            history = PerformanceHistory.read(historyFile);
+        } catch (IOException e) {
+            System.err.println("Unable to read performance history file: " + e.getMessage());
+            return;
+        }
+
+        final List<TestResult> executed = new ArrayList<>();
+        executed.addAll(testRunResult.getSuccessfulTests());
+        executed.addAll(testRunResult.getFailedTests());
+        executed.sort(Comparator.comparing(testResult -> PerformanceHistory.idOf(testResult.concreteTest)));
+
+        final List<Comparison> comparisons = new ArrayList<>();
+        final Map<String, Map<String, Long>> metrics = new LinkedHashMap<>();
+        for (final TestResult testResult : executed) {
+            final String testId = PerformanceHistory.idOf(testResult.concreteTest);
+            metrics.put(testId, PerformanceHistory.collect(testResult.concreteTest, testResult.duration));
+
+            // The most recent earlier runs are combined with the current run, and compared with the runs before those.
+            final List<Long> earlier = history.getValues(testId, PerformanceHistory.DURATION);
+            final int recentEarlier = Math.min(recent - 1, earlier.size());
+            final List<Long> recentValues = new ArrayList<>(earlier.subList(earlier.size() - recentEarlier, earlier.size()));
+            recentValues.add(testResult.duration.toNanos());
+            final List<Long> referenceValues = earlier.subList(Math.max(0, earlier.size() - recentEarlier - runs), earlier.size() - recentEarlier);
+
+            comparisons.add(new Comparison(testResult, toArray(recentValues), toArray(referenceValues), minimumRuns, alpha, minimumIncrease));
+        }
+
+        print(comparisons, history.getRunCount(), runs, alpha, minimumIncrease);
+        try {
+            write(testRunResult, comparisons);
+        } catch (IOException | TransformerException | ParserConfigurationException e) {
+            System.err.println("Unable to write performance regressions file: " + e.getMessage());
+        }
+
+        try {
+            history.append(testRunResult.getTestRunId(), metrics);
+        } catch (IOException e) {
+            System.err.println("Unable to update performance history file: " + e.getMessage());
+        }
+    }
+
+    private static void print(final List<Comparison> comparisons, final int recordedRuns, final int runs, final double alpha, final double minimumIncrease)
+    {
+        final long compared = comparisons.stream().filter(comparison -> comparison.pValue != null).count();
+        final List<Comparison> regressions = new ArrayList<>();
+        comparisons.stream().filter(comparison -> comparison.regressed).forEach(regressions::add);
+        regressions.sort(Comparator.comparingDouble((Comparison comparison) -> comparison.pValue));
+
+        System.out.println();
+        if (compared == 0) {
+            System.out.println("No tests have enough performance history (" + recordedRuns + " earlier runs were recorded) to detect regressions. History is recorded for future test runs.");
+            return;
+        }
+        final String criteria = "(Mann-Whitney U, p < " + alpha + ", median +" + minimumIncrease + "% or more, against up to " + runs + " earlier runs)";
+        if (regressions.isEmpty()) {
+            System.out.println("None of the " + compared + " tests with enough performance history regressed " + criteria + ".");
+            return;
+        }
+        System.out.println("⚠ " + regressions.size() + " of the " + compared + " tests with enough performance history regressed " + criteria + ": ⚠");
+        for (final Comparison comparison : regressions) {
+            System.out.println("• " + comparison.describe() + " " + comparison.testResult.concreteTest);
+        }
+    }
+
+    private void write(final SmackIntegrationTestFramework.TestRunResult testRunResult, final List<Comparison> comparisons) throws IOException, TransformerException, ParserConfigurationException
+    {
+        final Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+
+        final long regressed = comparisons.stream().filter(comparison -> comparison.regressed).count();
+        final long skipped = comparisons.stream().filter(comparison -> comparison.pValue == null).count();
+        final String time = String.valueOf(comparisons.stream().map(comparison -> comparison.testResult.duration).reduce(Duration.ZERO, Duration::plus).toMillis() / 1000.0);
+
+        final Element rootElement = doc.createElement("testsuites");
+        rootElement.setAttribute("name", "Performance regressions of XMPP specification test run with ID " + testRunResult.getTestRunId());
+        rootElement.setAttribute("tests", String.valueOf(comparisons.size()));
+        rootElement.setAttribute("failures", String.valueOf(regressed));
+        rootElement.setAttribute("skipped", String.valueOf(skipped));
+        rootElement.setAttribute("time", time);
+        rootElement.setAttribute("timestamp", Instant.now().atOffset(ZoneOffset.UTC).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        doc.appendChild(rootElement);
+
+        final Element testsuiteElement = doc.createElement("testsuite");
+        testsuiteElement.setAttribute("name", "Performance regressions");
+        testsuiteElement.setAttribute("tests", String.valueOf(comparisons.size()));
+        testsuiteElement.setAttribute("failures", String.valueOf(regressed));
+        testsuiteElement.setAttribute("skipped", String.valueOf(skipped));
+        testsuiteElement.setAttribute("time", time);
+        rootElement.appendChild(testsuiteElement);
+
+        for (final Comparison comparison : comparisons) {
+            final Element testcaseElement = doc.createElement("testcase");
+            testcaseElement.setAttribute("name", comparison.testResult.concreteTest.toString());
+            testcaseElement.setAttribute("classname", comparison.testResult.concreteTest.getMethod().getDeclaringClass().getName());
+            testcaseElement.setAttribute("time", String.valueOf(comparison.testResult.duration.toMillis() / 1000.0));
+            if (comparison.pValue == null) {
+                final Element skippedElement = doc.createElement("skipped");
+                skippedElement.setAttribute("message", "Not enough performance history (" + comparison.reference.length + " earlier runs) to detect a regression.");
+                testcaseElement.appendChild(skippedElement);
+            } else if (comparison.regressed) {
+                final Element failureElement = doc.createElement("failure");
+                failureElement.setAttribute("type", "PerformanceRegression");
+                failureElement.setAttribute("message", "Duration regressed: " + comparison.describe());
+                testcaseElement.appendChild(failureElement);
+            }
+            if (comparison.pValue != null) {
+                final Element propertiesElement = doc.createElement("properties");
+                addProperty(doc, propertiesElement, "median duration", LatencyRecorder.format(Duration.ofNanos(Math.round(comparison.recentMedian))));
+                addProperty(doc, propertiesElement, "earlier median duration", LatencyRecorder.format(Duration.ofNanos(Math.round(comparison.referenceMedian))));
+                addProperty(doc, propertiesElement, "earlier runs", String.valueOf(comparison.reference.length));
+                addProperty(doc, propertiesElement, "p-value", String.format(Locale.ROOT, "%.4f", comparison.pValue));
+                testcaseElement.appendChild(propertiesElement);
+            }
+            testsuiteElement.appendChild(testcaseElement);
+        }
+
+        try (final FileOutputStream output = new FileOutputStream(logFile.toFile())) {
+            JUnitXmlTestRunResultProcessor.writeXml(doc, output);
+        }
+    }
+
+    private static void addProperty(final Document doc, final Element propertiesElement, final String name, final String value)
+    {
+        final Element propertyElement = doc.createElement("property");
+        propertyElement.setAttribute("name", name);
+        propertyElement.setAttribute("value", value);
+        propertiesElement.appendChild(propertyElement);
+    }
+
+    private static double[] toArray(final List<Long> values)
+    {
+        return values.stream().mapToDouble(Long::doubleValue).toArray();
+    }
+
+    static double median(final double[] values)
+    {
+        final double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        final int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    /**
+     * Returns the smallest size of a reference sample for which a Mann-Whitney U test can yield a p-value below alpha,
+     * given the size of the other sample. The smallest p-value that can be obtained is 1 / (n1 + n2 choose n1).
+     */
+    static int minimumReferenceSize(final int sampleSize, final double alpha)
+    {
+        int referenceSize = 1;
+        double combinations = sampleSize + 1;
+        while (1 / combinations >= alpha) {
+            referenceSize++;
+            combinations = combinations * (sampleSize + referenceSize) / referenceSize;
+        }
+        return referenceSize;
+    }
+
+    /**
+     * Computes the p-value of a one-sided Mann-Whitney U test, of which the alternative hypothesis is that values in the
+     * first sample tend to be larger than values in the second sample.
+     *
+     * For small samples, the p-value is computed from the exact distribution of the U statistic (which is conservative
+     * in the presence of ties). For larger samples, the normal approximation (with tie and continuity correction) is
+     * used.
+     *
+     * @param sample The sample that is tested for being larger (eg: recent durations).
+     * @param reference The sample to compare with (eg: earlier durations).
+     * @return The probability of observing a U statistic at least as large, if both samples come from the same distribution.
+     */
+    static double mannWhitneyGreater(final double[] sample, final double[] reference)
+    {
+        final int n1 = sample.length;
+        final int n2 = reference.length;
+        if (n1 == 0 || n2 == 0) {
+            throw new IllegalArgumentException("Both samples must contain at least one value.");
+        }
+
+        // Rank all values, assigning the average rank to tied values.
+        final int n = n1 + n2;
+        final double[][] all = new double[n][];
+        for (int i = 0; i < n1; i++) {
+            all[i] = new double[] { sample[i], 0 };
+        }
+        for (int i = 0; i < n2; i++) {
+            all[n1 + i] = new double[] { reference[i], 1 };
+        }
+        Arrays.sort(all, Comparator.comparingDouble(value -> value[0]));
+
+        double rankSum = 0;
+        double tieCorrection = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j < n && all[j][0] == all[i][0]) {
+                j++;
+            }
+            final double rank = (i + 1 + j) / 2.0;
+            for (int k = i; k < j; k++) {
+                if (all[k][1] == 0) {
+                    rankSum += rank;
+                }
+            }
+            final double ties = j - i;
+            tieCorrection += ties * ties * ties - ties;
+            i = j;
+        }
+        final double u = rankSum - n1 * (n1 + 1) / 2.0;
+
+        if ((long) n1 * n2 <= EXACT_LIMIT) {
+            return exactUpperTail(n1, n2, (int) Math.floor(u));
+        }
+
+        final double mean = n1 * (double) n2 / 2.0;
+        final double variance = n1 * (double) n2 / 12.0 * ((n + 1) - tieCorrection / ((double) n * (n - 1)));
+        if (variance <= 0) {
+            return 1.0;
+        }
+        final double z = (u - mean - 0.5) / Math.sqrt(variance);
+        return 1.0 - standardNormalCdf(z);
+    }
+
+    /**
+     * Returns the probability that the U statistic for samples of sizes n1 and n2 (without ties) is at least u.
+     */
+    static double exactUpperTail(final int n1, final int n2, final int u)
+    {
+        final int max = n1 * n2;
+        if (u <= 0) {
+            return 1.0;
+        }
+        if (u > max) {
+            return 0.0;
+        }
+
+        // distribution[m][k] holds the probability of U = k for sizes m and the current n, built up using the recurrence
+        // p(m, n, k) = m / (m + n) * p(m - 1, n, k - n) + n / (m + n) * p(m, n - 1, k).
+        double[][] previous = new double[n1 + 1][];
+        for (int m = 0; m <= n1; m++) {
+            previous[m] = new double[] { 1.0 }; // n = 0: U is always 0.
+        }
+        for (int size = 1; size <= n2; size++) {
+            final double[][] current = new double[n1 + 1][];
+            current[0] = new double[] { 1.0 }; // m = 0: U is always 0.
+            for (int m = 1; m <= n1; m++) {
+                final double[] distribution = new double[m * size + 1];
+                final double fromFirst = m / (double) (m + size);
+                final double fromSecond = size / (double) (m + size);
+                for (int k = 0; k < distribution.length; k++) {
+                    final double[] a = current[m - 1];
+                    final double[] b = previous[m];
+                    final double pa = k - size >= 0 && k - size < a.length ? a[k - size] : 0;
+                    final double pb = k < b.length ? b[k] : 0;
+                    distribution[k] = fromFirst * pa + fromSecond * pb;
+                }
+                current[m] = distribution;
+            }
+            previous = current;
+        }
+
+        double result = 0;
+        for (int k = u; k <= max; k++) {
+            result += previous[n1][k];
+        }
+        return Math.min(1.0, result);
+    }
+
+    /**
+     * The cumulative distribution function of the standard normal distribution (Abramowitz and Stegun, 7.1.26).
+     */
+    static double standardNormalCdf(final double z)
+    {
+        final double x = Math.abs(z) / Math.sqrt(2);
+        final double t = 1 / (1 + 0.3275911 * x);
+        final double erf = 1 - ((((1.061405429 * t - 1.453152027) * t + 1.421413741) * t - 0.284496736) * t + 0.254829592) * t * Math.exp(-x * x);
+        return z >= 0 ? (1 + erf) / 2 : (1 - erf) / 2;
+    }
+
+    private static class Comparison
+    {
+        final TestResult testResult;
+        final double[] recent;
+        final double[] reference;
+        final Double pValue;
+        final double recentMedian;
+        final double referenceMedian;
+        final boolean regressed;
+
+        Comparison(final TestResult testResult, final double[] recent, final double[] reference, final int minimumRuns, final double alpha, final double minimumIncrease)
+        {
+            this.testResult = testResult;
+            this.recent = recent;
+            this.reference = reference;
+            this.recentMedian = median(recent);
+            if (reference.length < Math.max(1, minimumRuns)) {
+                this.pValue = null;
+                this.referenceMedian = Double.NaN;
+                this.regressed = false;
+            } else {
+                this.pValue = mannWhitneyGreater(recent, reference);
+                this.referenceMedian = median(reference);
+                this.regressed = pValue < alpha && recentMedian > referenceMedian * (1 + minimumIncrease / 100.0);
+            }
+        }
+
+        String describe()
+        {
+            final double increase = referenceMedian == 0 ? Double.POSITIVE_INFINITY : 100.0 * (recentMedian - referenceMedian) / referenceMedian;
+            return String.format(Locale.ROOT, "%s (was %s, %+.0f%%, p=%.4f, %d recent / %d earlier runs)",
+                LatencyRecorder.format(Duration.ofNanos(Math.round(recentMedian))),
+                LatencyRecorder.format(Duration.ofNanos(Math.round(referenceMedian))),
+                increase, pValue, recent.length, reference.length);
+        }
+    }
+}
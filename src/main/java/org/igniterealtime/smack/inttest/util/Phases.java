@@ -0,0 +1,260 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import org.igniterealtime.smack.inttest.SmackIntegrationTestFramework;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.WeakHashMap;
+
+/**
+ * Records how much of the duration of a test is spent in each of its phases: setting up the test fixture, executing the
+ * system under test, verifying the result and tearing down the test fixture.
+ *
+ * Tests mark the start of a phase next to the comment that already describes it:
+ *
+ * <pre>
+ * // Setup test fixture.
+ * Phases.setup();
+ * ...
+ * // Execute system under test.
+ * Phases.execute();
+ * </pre>
+ *
+ * Each phase lasts until the next one starts, or until the test ends. Where a phase does not fit in that sequence (eg:
+ * a tear-down in a helper method), it can be timed with a try-with-resources block instead:
+ *
+ * <pre>
+ * try (final Phases.Timer ignored = Phases.time(Phases.Phase.TEARDOWN)) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * The time spent in a phase is accumulated when a phase is entered more than once. Time that is not spent in any of the
+ * phases (eg: before the first phase is marked) is not attributed.
+ *
+ * Phases are recorded for the test that is currently being executed, which is tracked by
+ * {@link ModifiedStandardSinttestDebugger}. When that debugger is not configured, marking a phase has no effect.
+ *
+ * @author Guus der Kinderen, guus@goodbytes.nl
+ */
+public final class Phases
+{
+    public enum Phase
+    {
+        SETUP("setup"),
+        EXECUTE("execute"),
+        VERIFY("verify"),
+        TEARDOWN("teardown");
+
+        private final String label;
+
+        Phase(final String label)
+        {
+            this.label = label;
+        }
+
+        public String getLabel()
+        {
+            return label;
+        }
+    }
+
+    /**
+     * Recorders, keyed by their test. Tests are retained by the result of the test run, which is used by result
+     * processors to look up timings after the run finished. Using weak keys allows recorders to be garbage collected
+     * once that result is no longer used.
+     */
+    private static final Map<SmackIntegrationTestFramework.ConcreteTest, Recorder> recorders = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static volatile Recorder current;
+
+    private Phases() {}
+
+    /**
+     * Marks the start of the setup of the test fixture, ending any phase that was in progress.
+     */
+    public static void setup()
+    {
+        enter(Phase.SETUP);
+    }
+
+    /**
+     * Marks the start of the execution of the system under test, ending any phase that was in progress.
+     */
+    public static void execute()
+    {
+        enter(Phase.EXECUTE);
+    }
+
+    /**
+     * Marks the start of the verification of the result, ending any phase that was in progress.
+     */
+    public static void verify()
+    {
+        enter(Phase.VERIFY);
+    }
+
+    /**
+     * Marks the start of the tear-down of the test fixture, ending any phase that was in progress.
+     */
+    public static void teardown()
+    {
+        enter(Phase.TEARDOWN);
+    }
+
+    public static void enter(final Phase phase)
+    {
+        final Recorder recorder = current;
+        if (recorder != null) {
+            recorder.enter(phase);
+        }
+    }
+
+    /**
+     * Starts a phase that ends when the returned timer is closed (after which no phase is in progress).
+     */
+    public static Timer time(final Phase phase)
+    {
+        final Recorder recorder = current;
+        if (recorder != null) {
+            recorder.enter(phase);
+        }
+        return new Timer(recorder, phase);
+    }
+
+    static void testStarted(final SmackIntegrationTestFramework.ConcreteTest test)
+    {
+        final Recorder previous = current;
+        if (previous != null) {
+            // Tests that are impossible to run do not finish. Do not let their last phase continue in the next test.
+            previous.end();
+        }
+        final Recorder recorder = new Recorder();
+        recorders.put(test, recorder);
+        current = recorder;
+    }
+
+    static void testFinished(final SmackIntegrationTestFramework.ConcreteTest test)
+    {
+        final Recorder recorder = recorders.get(test);
+        if (recorder != null) {
+            recorder.end();
+            if (current == recorder) {
+                current = null;
+            }
+        }
+    }
+
+    /**
+     * Returns the time spent in each phase of a test, in the order of the phases. Phases that were not entered are
+     * absent. The result is empty if no phases were recorded for the test.
+     */
+    public static Map<Phase, Duration> getTimings(final SmackIntegrationTestFramework.ConcreteTest test)
+    {
+        final Recorder recorder = recorders.get(test);
+        if (recorder == null) {
+            return Collections.emptyMap();
+        }
+        return recorder.getTimings();
+    }
+
+    /**
+     * Returns the time spent in each phase, summed over a number of tests.
+     */
+    public static Map<Phase, Duration> getTotals(final Collection<SmackIntegrationTestFramework.ConcreteTest> tests)
+    {
+        final Map<Phase, Duration> result = new EnumMap<>(Phase.class);
+        for (final SmackIntegrationTestFramework.ConcreteTest test : tests) {
+            getTimings(test).forEach((phase, duration) -> result.merge(phase, duration, Duration::plus));
+        }
+        return result;
+    }
+
+    /**
+     * Formats phase timings as a human-readable string, eg: "setup: 1.2s, execute: 35ms, verify: 0ms".
+     */
+    public static String format(final Map<Phase, Duration> timings)
+    {
+        final StringJoiner result = new StringJoiner(", ");
+        timings.forEach((phase, duration) -> result.add(phase.getLabel() + ": " + LatencyRecorder.format(duration)));
+        return result.toString();
+    }
+
+    /**
+     * Ends a phase that was started by {@link #time(Phase)}.
+     */
+    public static class Timer implements AutoCloseable
+    {
+        private final Recorder recorder;
+        private final Phase phase;
+
+        Timer(final Recorder recorder, final Phase phase)
+        {
+            this.recorder = recorder;
+            this.phase = phase;
+        }
+
+        @Override
+        public void close()
+        {
+            if (recorder != null) {
+                recorder.exit(phase);
+            }
+        }
+    }
+
+    static class Recorder
+    {
+        private final Map<Phase, Long> nanos = new EnumMap<>(Phase.class);
+        private Phase active;
+        private long activeSince;
+
+        synchronized void enter(final Phase phase)
+        {
+            end();
+            active = phase;
+            activeSince = System.nanoTime();
+        }
+
+        synchronized void exit(final Phase phase)
+        {
+            if (active == phase) {
+                end();
+            }
+        }
+
+        synchronized void end()
+        {
+            if (active != null) {
+                nanos.merge(active, System.nanoTime() - activeSince, Long::sum);
+                active = null;
+            }
+        }
+
+        synchronized Map<Phase, Duration> getTimings()
+        {
+            final Map<Phase, Duration> result = new EnumMap<>(Phase.class);
+            nanos.forEach((phase, value) -> result.put(phase, Duration.ofNanos(value)));
+            return result;
+        }
+    }
+}
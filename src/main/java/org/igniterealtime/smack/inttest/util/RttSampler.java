@@ -0,0 +1,306 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import org.igniterealtime.smack.inttest.SmackIntegrationTestFramework;
+import org.jivesoftware.smack.AbstractXMPPConnection;
+import org.jivesoftware.smack.ConnectionConfiguration;
+import org.jivesoftware.smack.XMPPConnection;
+import org.jivesoftware.smack.util.StringUtils;
+import org.jivesoftware.smackx.ping.packet.Ping;
+import org.jxmpp.jid.parts.Resourcepart;
+
+import java.lang.reflect.Constructor;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Continuously measures the round-trip time (RTT) to the server under test, by sending XEP-0199 pings over a dedicated
+ * connection, so that the duration of tests can be put in perspective of the network conditions under which they ran.
+ *
+ * For every test, a baseline RTT is determined: the median of the RTT samples that were taken while the test ran (or,
+ * for short tests, of the most recent samples before the test finished). Result processors can use this to express
+ * test durations in baseline-RTT units, which makes durations comparable between runs against local and remote servers.
+ *
+ * The dedicated connection uses the connection type and settings of a connection that is created by the test framework,
+ * but logs in with an account that is not used by tests, to prevent the pings from affecting tests in any way. The
+ * credentials of that account are taken from the <tt>sinttest.benchmark.rtt.username</tt> and
+ * <tt>sinttest.benchmark.rtt.password</tt> system properties. When these are not configured, no samples are taken.
+ * The interval between pings (in milliseconds) is configured with <tt>sinttest.benchmark.rtt.interval</tt> (default:
+ * 1000, use 0 to disable sampling).
+ *
+ * Instances are driven by {@link ModifiedStandardSinttestDebugger}, which is notified of the start and end of each test.
+ *
+ * @author Guus der Kinderen, guus@goodbytes.nl
+ */
+public final class RttSampler
+{
+    private static final Logger LOGGER = Logger.getLogger(RttSampler.class.getName());
+
+    private static final RttSampler INSTANCE = new RttSampler();
+
+    /**
+     * The amount of most recent samples that is used to determine a baseline, when no samples were taken during a test.
+     */
+    static final int TRAILING_SAMPLES = 10;
+
+    /**
+     * The maximum amount of samples that is retained to determine baselines.
+     */
+    static final int MAX_RETAINED_SAMPLES = 10_000;
+
+    /**
+     * Set while a dedicated connection is being constructed, which allows the debugger to not log its traffic.
+     */
+    private static final ThreadLocal<Boolean> CONSTRUCTING = ThreadLocal.withInitial(() -> false);
+
+    private final LatencyRecorder roundTripTimes = new LatencyRecorder();
+    private final Deque<long[]> recentSamples = new ArrayDeque<>(); // Each element: { nanoTime when taken, rtt in nanos }
+    private final Map<String, Long> testStarts = new ConcurrentHashMap<>();
+    // Weakly keyed, so that the baseline of a test is retained only for as long as the result of the test run is.
+    private final Map<SmackIntegrationTestFramework.ConcreteTest, Duration> baselines = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private volatile AbstractXMPPConnection template;
+    private ScheduledExecutorService executor;
+    private volatile AbstractXMPPConnection connection;
+    private boolean started;
+    private volatile int failures;
+
+    private RttSampler() {}
+
+    public static RttSampler getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns true when the calling thread is constructing the dedicated connection of a sampler.
+     */
+    static boolean isConstructingSamplerConnection()
+    {
+        return CONSTRUCTING.get();
+    }
+
+    /**
+     * Registers a connection that was created by the test framework, which type and settings are used to create the
+     * dedicated connection of the sampler.
+     */
+    void observe(final XMPPConnection connection)
+    {
+        if (template == null && connection instanceof AbstractXMPPConnection && !isConstructingSamplerConnection()) {
+            template = (AbstractXMPPConnection) connection;
+        }
+    }
+
+    /**
+     * Starts sampling, if that has not already been done.
+     */
+    synchronized void start()
+    {
+        if (started) {
+            return;
+        }
+        started = true;
+
+        final long interval = BenchmarkConfiguration.getLong("rtt.interval", 1000);
+        if (interval <= 0) {
+            return;
+        }
+        final String username = BenchmarkConfiguration.getString("rtt.username", null);
+        final String password = BenchmarkConfiguration.getString("rtt.password", null);
+        if (username == null || password == null) {
+            LOGGER.info("Not sampling the round-trip time to the server, as no credentials are configured for a dedicated account (use 'sinttest.benchmark.rtt.username' and 'sinttest.benchmark.rtt.password').");
+            return;
+        }
+        if (template == null) {
+            LOGGER.info("Not sampling the round-trip time to the server, as no connection of the test framework was observed to base a dedicated connection on.");
+            return;
+        }
+
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "rtt-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(() -> {
+            try {
+                connection = constructConnection(template);
+                connection.connect();
+                connection.login(username, password, Resourcepart.from("rtt-sampler-" + StringUtils.randomString(5)));
+            } catch (Throwable t) {
+                LOGGER.log(Level.WARNING, "Unable to establish a dedicated connection to sample the round-trip time to the server. No samples will be taken.", t);
+                executor.shutdown();
+                return;
+            }
+            executor.scheduleWithFixedDelay(this::sample, 0, interval, TimeUnit.MILLISECONDS);
+        });
+        this.executor = executor;
+    }
+
+    /**
+     * Constructs a new connection of the same type and with the same configuration as the provided connection. Traffic
+     * of the new connection is not logged by the debugger.
+     */
+    static AbstractXMPPConnection constructConnection(final AbstractXMPPConnection template) throws ReflectiveOperationException
+    {
+        final ConnectionConfiguration configuration = template.getConfiguration();
+        for (final Constructor<?> constructor : template.getClass().getConstructors()) {
+            if (constructor.getParameterCount() == 1 && constructor.getParameterTypes()[0].isInstance(configuration)) {
+                CONSTRUCTING.set(true);
+                try {
+                    return (AbstractXMPPConnection) constructor.newInstance(configuration);
+                } finally {
+                    CONSTRUCTING.set(false);
+                }
+            }
+        }
+        throw new NoSuchMethodException("Unable to find a constructor of " + template.getClass() + " that accepts a " + configuration.getClass());
+    }
+
+    private void sample()
+    {
+        try {
+            final Ping ping = new Ping(connection, connection.getXMPPServiceDomain());
+            final long start = System.nanoTime();
+            connection.sendIqRequestAndWaitForResponse(ping);
+            final long end = System.nanoTime();
+            roundTripTimes.record(end - start);
+            synchronized (recentSamples) {
+                recentSamples.addLast(new long[] { end, end - start });
+                if (recentSamples.size() > MAX_RETAINED_SAMPLES) {
+                    recentSamples.removeFirst();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable t) {
+            // Do not log every failure, as that might flood the logs if the server becomes unavailable.
+            if (failures++ == 0) {
+                LOGGER.log(Level.WARNING, "Unable to sample the round-trip time to the server. Further failures will not be logged.", t);
+            }
+        }
+    }
+
+    /**
+     * Stops sampling, and publishes the RTT samples that were collected as a benchmark report.
+     */
+    synchronized void stop()
+    {
+        if (executor != null) {
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            executor = null;
+        }
+        if (connection != null) {
+            if (!roundTripTimes.isEmpty()) {
+                new BenchmarkReport("XEP-0199 round-trip time, sampled throughout the test run", connection.getXMPPServiceDomain())
+                    .add("round-trip time", roundTripTimes)
+                    .add("failed samples", failures)
+                    .publish();
+            }
+            connection.disconnect();
+            connection = null;
+        }
+    }
+
+    void testStarted(final SmackIntegrationTestFramework.ConcreteTest test)
+    {
+        testStarts.put(test.toString(), System.nanoTime());
+    }
+
+    void testFinished(final SmackIntegrationTestFramework.ConcreteTest test)
+    {
+        final Long start = testStarts.remove(test.toString());
+        final Duration baseline = determineBaseline(start == null ? System.nanoTime() : start, System.nanoTime());
+        if (baseline != null) {
+            baselines.put(test, baseline);
+        }
+    }
+
+    private Duration determineBaseline(final long startNanos, final long endNanos)
+    {
+        final long[] window;
+        synchronized (recentSamples) {
+            if (recentSamples.isEmpty()) {
+                return null;
+            }
+            window = recentSamples.stream().filter(s -> s[0] - startNanos >= 0 && endNanos - s[0] >= 0).mapToLong(s -> s[1]).toArray();
+            if (window.length == 0) {
+                final long[] trailing = new long[Math.min(TRAILING_SAMPLES, recentSamples.size())];
+                final Iterator<long[]> iterator = recentSamples.descendingIterator();
+                for (int i = 0; i < trailing.length; i++) {
+                    trailing[i] = iterator.next()[1];
+                }
+                return Duration.ofNanos(median(trailing));
+            }
+        }
+        return Duration.ofNanos(median(window));
+    }
+
+    static long median(final long[] values)
+    {
+        final long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[(sorted.length - 1) / 2];
+    }
+
+    /**
+     * Returns the baseline RTT that was determined for a test.
+     *
+     * @return the baseline, or null when no RTT samples were available.
+     */
+    public Duration getBaseline(final SmackIntegrationTestFramework.ConcreteTest test)
+    {
+        return baselines.get(test);
+    }
+
+    /**
+     * Returns all RTT samples that were taken during the test run.
+     */
+    public LatencyRecorder getRoundTripTimes()
+    {
+        return roundTripTimes;
+    }
+
+    /**
+     * Expresses a duration as a multiple of a baseline RTT.
+     *
+     * @return the duration in baseline-RTT units, or NaN when the baseline is null or zero.
+     */
+    public static double inBaselineUnits(final Duration duration, final Duration baseline)
+    {
+        if (baseline == null || baseline.isZero()) {
+            return Double.NaN;
+        }
+        return duration.toNanos() / (double) baseline.toNanos();
+    }
+}
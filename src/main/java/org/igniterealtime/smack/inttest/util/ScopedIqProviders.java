@@ -0,0 +1,184 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import org.jivesoftware.smack.XMPPConnection;
+import org.jivesoftware.smack.packet.IQ;
+import org.jivesoftware.smack.packet.IqData;
+import org.jivesoftware.smack.packet.UnparsedIQ;
+import org.jivesoftware.smack.packet.XmlEnvironment;
+import org.jivesoftware.smack.parsing.SmackParsingException;
+import org.jivesoftware.smack.provider.IqProvider;
+import org.jivesoftware.smack.provider.ProviderManager;
+import org.jivesoftware.smack.util.PacketParserUtils;
+import org.jivesoftware.smack.xml.XmlPullParser;
+import org.jivesoftware.smack.xml.XmlPullParserException;
+import org.jxmpp.JxmppContext;
+import org.jxmpp.jid.Jid;
+
+import javax.xml.namespace.QName;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Allows a test to parse IQs with a provider of its own choosing, for IQs that are addressed to one particular
+ * connection only.
+ *
+ * Smack resolves providers from the process-wide {@link ProviderManager}. Tests that replace a provider there (and
+ * restore the original afterwards) affect every other connection, which prevents such tests from safely running in
+ * parallel with anything that parses the same kind of IQ. Smack offers no way to resolve providers other than through
+ * that registry. This class therefore still registers a provider there, but one that only dispatches: it uses an
+ * override if one is installed for the connection that the IQ is addressed to, and delegates to the provider that was
+ * registered before it otherwise. Other connections are thus not affected.
+ *
+ * Overrides are scoped: they are removed when the {@link Scope} that is returned when installing them is closed. When
+ * the last override for a child element is removed, the dispatching provider is removed from the registry, and the
+ * provider that was registered before it is restored.
+ *
+ * <pre>
+ * try (final ScopedIqProviders.Scope ignored = ScopedIqProviders.install(conOne, "slot", "urn:xmpp:http:upload:0", new SlotRawProvider())) {
+ *     final SlotRaw response = conOne.sendIqRequestAndWaitForResponse(request);
+ * }
+ * </pre>
+ *
+ * Note that IQs that are not explicitly addressed (that lack a 'to' attribute) are always parsed by the original
+ * provider. When something else registers a provider for the same child element while overrides are installed, that
+ * replaces the dispatching provider, after which the overrides are no longer used. This is logged when the override is
+ * removed. The dispatching provider is then reinstalled (with the new provider as its fallback) when another override is
+ * installed.
+ *
+ * @author Guus der Kinderen, guus@goodbytes.nl
+ */
+public final class ScopedIqProviders
+{
+    private static final Logger LOGGER = Logger.getLogger(ScopedIqProviders.class.getName());
+
+    private static final Map<QName, Dispatcher> DISPATCHERS = new ConcurrentHashMap<>();
+
+    private ScopedIqProviders() {}
+
+    /**
+     * Installs a provider that is used to parse IQs with the specified child element, but only those that are addressed
+     * to the specified connection.
+     *
+     * @param connection The (authenticated) connection that the override applies to.
+     * @param elementName The element name of the child element of the IQ.
+     * @param namespace The namespace of the child element of the IQ.
+     * @param provider The provider to use.
+     * @return A scope that, when closed, removes the override.
+     */
+    public static Scope install(final XMPPConnection connection, final String elementName, final String namespace, final IqProvider<? extends IQ> provider)
+    {
+        final Jid address = connection.getUser();
+        if (address == null) {
+            throw new IllegalStateException("Unable to install a scoped provider for a connection that is not authenticated.");
+        }
+        final QName key = new QName(namespace, elementName);
+        DISPATCHERS.compute(key, (k, existing) -> {
+            if (existing != null && existing.overrides.containsKey(address)) {
+                throw new IllegalStateException("A scoped provider for '" + key + "' is already installed for '" + address + "'.");
+            }
+            Dispatcher result = existing;
+            if (existing == null || ProviderManager.getIQProvider(elementName, namespace) != existing) {
+                // Another party might have registered a different provider since the dispatcher was installed. Retain that one as the fallback, as well as the overrides that are still in scope.
+                result = new Dispatcher(ProviderManager.getIQProvider(elementName, namespace));
+                if (existing != null) {
+                    result.overrides.putAll(existing.overrides);
+                }
+                ProviderManager.addIQProvider(elementName, namespace, result);
+            }
+            result.overrides.put(address, provider);
+            return result;
+        });
+        return new Scope(key, address, provider);
+    }
+
+    /**
+     * Removes an override. When no overrides remain, the dispatcher is removed, and the provider that was registered
+     * before it is restored (unless another provider has since replaced the dispatcher, which is then retained).
+     */
+    private static void uninstall(final QName key, final Jid address, final IqProvider<? extends IQ> provider)
+    {
+        DISPATCHERS.computeIfPresent(key, (k, dispatcher) -> {
+            dispatcher.overrides.remove(address, provider);
+            final boolean replaced = ProviderManager.getIQProvider(key.getLocalPart(), key.getNamespaceURI()) != dispatcher;
+            if (replaced) {
+                LOGGER.warning("The scoped provider for '" + key + "' that was installed for '" + address + "' was not in effect when it was removed, as another provider was registered for '" + key + "' in the meantime.");
+            }
+            if (!dispatcher.overrides.isEmpty()) {
+                return dispatcher;
+            }
+            if (!replaced) {
+                ProviderManager.removeIQProvider(key.getLocalPart(), key.getNamespaceURI());
+                if (dispatcher.fallback != null) {
+                    ProviderManager.addIQProvider(key.getLocalPart(), key.getNamespaceURI(), dispatcher.fallback);
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * An installed override, which is removed when closed.
+     */
+    public static final class Scope implements AutoCloseable
+    {
+        private final QName key;
+        private final Jid address;
+        private final IqProvider<? extends IQ> provider;
+
+        private Scope(final QName key, final Jid address, final IqProvider<? extends IQ> provider)
+        {
+            this.key = key;
+            this.address = address;
+            this.provider = provider;
+        }
+
+        @Override
+        public void close()
+        {
+            uninstall(key, address, provider);
+        }
+    }
+
+    static final class Dispatcher extends IqProvider<IQ>
+    {
+        private final IqProvider<IQ> fallback;
+        private final Map<Jid, IqProvider<? extends IQ>> overrides = new ConcurrentHashMap<>();
+
+        Dispatcher(final IqProvider<IQ> fallback)
+        {
+            this.fallback = fallback;
+        }
+
+        @Override
+        public IQ parse(final XmlPullParser parser, final int initialDepth, final IqData iqData, final XmlEnvironment xmlEnvironment, final JxmppContext jxmppContext) throws XmlPullParserException, IOException, SmackParsingException, ParseException
+        {
+            final IqProvider<? extends IQ> override = iqData.getTo() == null ? null : overrides.get(iqData.getTo());
+            if (override != null) {
+                return override.parse(parser, initialDepth, iqData, xmlEnvironment, jxmppContext);
+            }
+            if (fallback != null) {
+                return fallback.parse(parser, initialDepth, iqData, xmlEnvironment, jxmppContext);
+            }
+            // Mimic Smack's behavior for IQs for which no provider is registered.
+            return new UnparsedIQ(parser.getName(), parser.getNamespace(), PacketParserUtils.parseElement(parser));
+        }
+    }
+}
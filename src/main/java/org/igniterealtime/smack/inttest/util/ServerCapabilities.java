@@ -0,0 +1,265 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.xep0030.DiscoCrawler;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.XMPPConnection;
+import org.jivesoftware.smackx.disco.packet.DiscoverInfo;
+import org.jxmpp.jid.DomainBareJid;
+import org.jxmpp.jid.Jid;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * A model of the capabilities of the XMPP domain that is being tested, that is shared by all tests.
+ *
+ * The first time that a capability that depends on service discovery is queried, the service discovery information of
+ * the domain and of all of its items is retrieved once (with the items being queried in parallel), after which all
+ * queries are answered from that model. This allows test classes to check the capabilities that they depend on in
+ * their constructor, for example:
+ *
+ * <pre>
+ * ServerCapabilities.of(conOne).requireServerFeature(VCardManager.NAMESPACE, "Domain does not seem support XEP-0054 vcard-temp.");
+ * </pre>
+ *
+ * which throws a {@link TestNotPossibleException} when the capability is missing, without the test class having to do
+ * its own discovery (or having to set up connections) before it can determine that it cannot run.
+ *
+ * The following system properties are used:
+ * <ul>
+ *     <li><tt>sinttest.preflight.concurrency</tt> - the maximum amount of entities that are queried at the same time (default: 8)</li>
+ * </ul>
+ *
+ * @author Guus der Kinderen, guus@goodbytes.nl
+ */
+public final class ServerCapabilities
+{
+    private static final Logger LOGGER = Logger.getLogger(ServerCapabilities.class.getName());
+
+    private static final Map<DomainBareJid, ServerCapabilities> INSTANCES = new ConcurrentHashMap<>();
+
+    private final int concurrency = Integer.parseInt(System.getProperty("sinttest.preflight.concurrency", "8").trim());
+
+    private final XMPPConnection connection;
+    private boolean discovered;
+    private DiscoverInfo domainInfo;
+    private Map<DomainBareJid, DiscoverInfo> itemInfos;
+
+    private ServerCapabilities(final XMPPConnection connection)
+    {
+        this.connection = connection;
+    }
+
+    /**
+     * Returns the capabilities of the domain of the provided connection. The connection is used to perform service
+     * discovery, and to look up stream features, when that is first needed.
+     *
+     * @param connection A connection to the domain that is being tested.
+     * @return The capabilities of the domain (never null).
+     */
+    public static ServerCapabilities of(final XMPPConnection connection)
+    {
+        return INSTANCES.computeIfAbsent(connection.getXMPPServiceDomain(), domain -> new ServerCapabilities(connection));
+    }
+
+    /**
+     * Retrieves the service discovery information of the domain and its items, unless that already happened.
+     *
+     * A failure to retrieve the information is not retained: a subsequent invocation will try again.
+     */
+    private synchronized void discover() throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
+    {
+        if (discovered) {
+            return;
+        }
+        final DomainBareJid domain = connection.getXMPPServiceDomain();
+        final DiscoCrawler.Result result = new DiscoCrawler(connection, Math.max(1, concurrency), 1).crawl(new DiscoCrawler.Coordinates(domain, null));
+
+        final DiscoCrawler.TreeNode root = result.getRoot().getChildren().stream().findFirst().orElse(null);
+        // Order by address, to make the selection of a service deterministic when more than one is available.
+        final Map<DomainBareJid, DiscoverInfo> items = new TreeMap<>(Comparator.comparing(DomainBareJid::toString));
+        if (root != null) {
+            for (final DiscoCrawler.TreeNode child : root.getChildren()) {
+                // Only entities that are addressed by a domain are services. Nodes of an entity, or accounts, are not.
+                if (child.getCoordinates().getNode() == null && child.getCoordinates().getJid().isDomainBareJid()) {
+                    items.put(child.getCoordinates().getJid().asDomainBareJid(), child.getInfo());
+                }
+            }
+        }
+
+        domainInfo = root != null ? root.getInfo() : null;
+        itemInfos = Collections.unmodifiableMap(items);
+        discovered = true;
+        LOGGER.info("Discovered the capabilities of " + domain + " in " + result.getElapsed().toMillis() + "ms: " + (domainInfo != null ? domainInfo.getFeatures().size() : 0) + " features, " + itemInfos.size() + " services.");
+    }
+
+    /**
+     * Returns the service discovery information of the domain, or null when the domain responded with an error.
+     */
+    public DiscoverInfo getDomainInfo() throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
+    {
+        discover();
+        return domainInfo;
+    }
+
+    /**
+     * Returns the service discovery information of an entity (the domain or one of its items), or null when no
+     * information is available for that entity (for example because it responded with an error).
+     */
+    public DiscoverInfo getInfo(final Jid entity) throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
+    {
+        discover();
+        if (entity.equals(connection.getXMPPServiceDomain())) {
+            return domainInfo;
+        }
+        return entity.isDomainBareJid() ? itemInfos.get(entity.asDomainBareJid()) : null;
+    }
+
+    /**
+     * Returns whether the domain advertises a feature in its service discovery information.
+     */
+    public boolean serverSupportsFeature(final String feature) throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
+    {
+        final DiscoverInfo info = getDomainInfo();
+        return info != null && info.containsFeature(feature);
+    }
+
+    /**
+     * Returns whether the domain advertises a stream feature. This does not require service discovery.
+     */
+    public boolean hasStreamFeature(final String element, final String namespace)
+    {
+        return connection.hasFeature(element, namespace);
+    }
+
+    /**
+     * Returns the addresses of all services (the domain, followed by its items) that advertise a feature.
+     *
+     * @param feature The feature that the service must advertise.
+     * @param category The category of an identity that the service must have (or null for any).
+     * @param type The type of an identity that the service must have (or null for any).
+     */
+    public List<DomainBareJid> findServices(final String feature, final String category, final String type) throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
+    {
+        discover();
+        final Map<DomainBareJid, DiscoverInfo> candidates = new LinkedHashMap<>();
+        if (domainInfo != null) {
+            candidates.put(connection.getXMPPServiceDomain(), domainInfo);
+        }
+        candidates.putAll(itemInfos);
+
+        final List<DomainBareJid> result = new ArrayList<>();
+        for (final Map.Entry<DomainBareJid, DiscoverInfo> candidate : candidates.entrySet()) {
+            final DiscoverInfo info = candidate.getValue();
+            if (!info.containsFeature(feature)) {
+                continue;
+            }
+            if (category != null && type != null && !info.hasIdentity(category, type)) {
+                continue;
+            }
+            result.add(candidate.getKey());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the address of the first service (the domain, or one of its items) that advertises a feature, or null
+     * when no such service exists.
+     */
+    public DomainBareJid findService(final String feature, final String category, final String type) throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
+    {
+        final List<DomainBareJid> services = findServices(feature, category, type);
+        return services.isEmpty() ? null : services.get(0);
+    }
+
+    /**
+     * Verifies that the domain advertises a feature in its service discovery information.
+     *
+     * @throws TestNotPossibleException When the feature is not advertised (the exception uses the provided reason).
+     */
+    public void requireServerFeature(final String feature, final String reason) throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
+    {
+        if (!serverSupportsFeature(feature)) {
+            throw new TestNotPossibleException(reason);
+        }
+    }
+
+    /**
+     * Verifies that the domain advertises a stream feature.
+     *
+     * @throws TestNotPossibleException When the stream feature is not advertised (the exception uses the provided reason).
+     */
+    public void requireStreamFeature(final String element, final String namespace, final String reason) throws TestNotPossibleException
+    {
+        if (!hasStreamFeature(element, namespace)) {
+            throw new TestNotPossibleException(reason);
+        }
+    }
+
+    /**
+     * Verifies that a service (the domain, or one of its items) advertises a feature.
+     *
+     * @return The address of the first service that advertises the feature.
+     * @throws TestNotPossibleException When no such service exists (the exception uses the provided reason).
+     */
+    public DomainBareJid requireService(final String feature, final String reason) throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
+    {
+        return requireService(feature, null, null, reason);
+    }
+
+    /**
+     * Verifies that a service (the domain, or one of its items) advertises at least one of several features, which is
+     * useful when more than one version of a protocol is acceptable.
+     *
+     * @return The address of the first service that advertises the first feature that is found.
+     * @throws TestNotPossibleException When no such service exists (the exception uses the provided reason).
+     */
+    public DomainBareJid requireAnyService(final String reason, final String... features) throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
+    {
+        for (final String feature : features) {
+            final DomainBareJid service = findService(feature, null, null);
+            if (service != null) {
+                return service;
+            }
+        }
+        throw new TestNotPossibleException(reason);
+    }
+
+    /**
+     * Verifies that a service (the domain, or one of its items) with a particular identity advertises a feature.
+     *
+     * @return The address of the first service that matches.
+     * @throws TestNotPossibleException When no such service exists (the exception uses the provided reason).
+     */
+    public DomainBareJid requireService(final String feature, final String category, final String type, final String reason) throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
+    {
+        final DomainBareJid service = findService(feature, category, type);
+        if (service == null) {
+            throw new TestNotPossibleException(reason);
+        }
+        return service;
+    }
+}
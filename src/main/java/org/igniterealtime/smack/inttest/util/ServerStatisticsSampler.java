@@ -0,0 +1,393 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import org.igniterealtime.smack.inttest.SmackIntegrationTestFramework;
+import org.jivesoftware.smack.AbstractXMPPConnection;
+import org.jivesoftware.smack.XMPPConnection;
+import org.jivesoftware.smack.util.StringUtils;
+import org.jivesoftware.smackx.commands.AdHocCommand;
+import org.jivesoftware.smackx.commands.AdHocCommandManager;
+import org.jivesoftware.smackx.commands.packet.AdHocCommandData;
+import org.jivesoftware.smackx.disco.packet.DiscoverItems;
+import org.jivesoftware.smackx.xdata.FormField;
+import org.jivesoftware.smackx.xdata.form.FillableForm;
+import org.jxmpp.jid.Jid;
+import org.jxmpp.jid.parts.Resourcepart;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Periodically samples statistics of the server under test, using the XEP-0133 Service Administration commands that
+ * report the amount of online, active and registered users (and, optionally, the statistics of specific users), so
+ * that server-side state and load can be correlated with tests. A steady growth in the amount of online or registered
+ * users during a test run suggests that tests leak sessions or accounts.
+ *
+ * Commands are executed over a dedicated connection, that logs in with the admin account that is configured with the
+ * <tt>sinttest.adminAccountUsername</tt> and <tt>sinttest.adminAccountPassword</tt> system properties. When no admin
+ * account is configured, no samples are taken. Note that the session of the dedicated connection itself is included in
+ * the amount of online users. Only commands that are advertised by the server are executed.
+ *
+ * The following system properties are used:
+ * <ul>
+ *     <li><tt>sinttest.serverstats.interval</tt> - the interval between samples in seconds (default: 10, use 0 to disable)</li>
+ *     <li><tt>sinttest.serverstats.users</tt> - a comma-separated list of addresses of users for which the 'user-stats' command is executed (default: none)</li>
+ * </ul>
+ *
+ * Every sample is timestamped, and is associated with the test that was being executed when it was taken. For each
+ * test, the most recent sample that was taken before the start and before the end of the test are determined.
+ *
+ * Instances are driven by {@link ModifiedStandardSinttestDebugger}, which is notified of the start and end of each test.
+ *
+ * @author Guus der Kinderen, guus@goodbytes.nl
+ */
+public final class ServerStatisticsSampler
+{
+    private static final Logger LOGGER = Logger.getLogger(ServerStatisticsSampler.class.getName());
+
+    private static final ServerStatisticsSampler INSTANCE = new ServerStatisticsSampler();
+
+    static final String GET_NUMBER_OF_ONLINE_USERS = "http://jabber.org/protocol/admin#get-online-users-num";
+    static final String GET_NUMBER_OF_ACTIVE_USERS = "http://jabber.org/protocol/admin#get-active-users-num";
+    static final String GET_NUMBER_OF_REGISTERED_USERS = "http://jabber.org/protocol/admin#get-registered-users-num";
+    static final String GET_USER_STATISTICS = "http://jabber.org/protocol/admin#user-stats";
+
+    private final List<Sample> samples = new CopyOnWriteArrayList<>();
+    private final Map<String, Sample[]> byTest = new ConcurrentHashMap<>();
+
+    private volatile AbstractXMPPConnection template;
+    private ScheduledExecutorService executor;
+    private volatile AbstractXMPPConnection connection;
+    private volatile String currentTest;
+    private boolean started;
+    private volatile int failures;
+
+    private ServerStatisticsSampler() {}
+
+    public static ServerStatisticsSampler getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers a connection that was created by the test framework, which type and settings are used to create the
+     * dedicated connection of the sampler.
+     */
+    void observe(final XMPPConnection connection)
+    {
+        if (template == null && connection instanceof AbstractXMPPConnection && !RttSampler.isConstructingSamplerConnection()) {
+            template = (AbstractXMPPConnection) connection;
+        }
+    }
+
+    /**
+     * Starts sampling, if that has not already been done.
+     */
+    synchronized void start()
+    {
+        if (started) {
+            return;
+        }
+        started = true;
+
+        final long interval = Long.parseLong(System.getProperty("sinttest.serverstats.interval", "10").trim());
+        if (interval <= 0) {
+            return;
+        }
+        final String username = System.getProperty("sinttest.adminAccountUsername");
+        final String password = System.getProperty("sinttest.adminAccountPassword");
+        if (username == null || password == null) {
+            LOGGER.info("Not sampling server statistics, as no admin account is configured (use 'sinttest.adminAccountUsername' and 'sinttest.adminAccountPassword').");
+            return;
+        }
+        if (template == null) {
+            LOGGER.info("Not sampling server statistics, as no connection of the test framework was observed to base a dedicated connection on.");
+            return;
+        }
+
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "serverstats-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(() -> {
+            final Map<String, Jid> commands;
+            try {
+                connection = RttSampler.constructConnection(template);
+                connection.connect();
+                connection.login(username, password, Resourcepart.from("serverstats-sampler-" + StringUtils.randomString(5)));
+                commands = discoverCommands();
+            } catch (Throwable t) {
+                LOGGER.log(Level.WARNING, "Unable to establish a dedicated connection to sample server statistics. No samples will be taken.", t);
+                executor.shutdown();
+                return;
+            }
+            if (commands.isEmpty()) {
+                LOGGER.info("Not sampling server statistics, as the server does not advertise any of the supported XEP-0133 commands to '" + connection.getUser() + "'.");
+                executor.shutdown();
+                return;
+            }
+            executor.scheduleWithFixedDelay(() -> sample(commands), 0, interval, TimeUnit.SECONDS);
+        });
+        this.executor = executor;
+    }
+
+    /**
+     * Returns the address to send each supported command to, by command node. Commands are looked for on the service
+     * (as per XEP-0133) and, if none are found there, on the bare JID of the admin account (where some servers expose
+     * them too).
+     */
+    private Map<String, Jid> discoverCommands() throws Exception
+    {
+        final Set<String> wanted = Set.of(GET_NUMBER_OF_ONLINE_USERS, GET_NUMBER_OF_ACTIVE_USERS, GET_NUMBER_OF_REGISTERED_USERS, GET_USER_STATISTICS);
+        final AdHocCommandManager manager = AdHocCommandManager.getInstance(connection);
+        final Map<String, Jid> result = new LinkedHashMap<>();
+        for (final Jid jid : List.of(connection.getXMPPServiceDomain(), connection.getUser().asEntityBareJid())) {
+            final DiscoverItems items = manager.discoverCommands(jid);
+            for (final DiscoverItems.Item item : items.getItems()) {
+                if (wanted.contains(item.getNode())) {
+                    result.putIfAbsent(item.getNode(), jid);
+                }
+            }
+            if (!result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private void sample(final Map<String, Jid> commands)
+    {
+        final Instant timestamp = Instant.now();
+        final Map<String, Long> values = new LinkedHashMap<>();
+        try {
+            final AdHocCommandManager manager = AdHocCommandManager.getInstance(connection);
+            for (final Map.Entry<String, Jid> command : commands.entrySet()) {
+                if (GET_USER_STATISTICS.equals(command.getKey())) {
+                    for (final String user : getUsers()) {
+                        final AdHocCommand remote = manager.getRemoteCommand(command.getValue(), command.getKey());
+                        final FillableForm form = remote.execute().asExecutingOrThrow().getFillableForm();
+                        form.setAnswer("accountjids", Collections.singletonList(user));
+                        addValues(values, "user-stats " + user + " ", remote.complete(form.getSubmitForm()).getResponse());
+                    }
+                } else {
+                    final AdHocCommandData response = manager.getRemoteCommand(command.getValue(), command.getKey()).execute().getResponse();
+                    addValues(values, command.getKey().substring(command.getKey().indexOf('#') + 1) + " ", response);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Throwable t) {
+            // Do not log every failure, as that might flood the logs if the server becomes unavailable.
+            if (failures++ == 0) {
+                LOGGER.log(Level.WARNING, "Unable to sample server statistics. Further failures will not be logged.", t);
+            }
+            return;
+        }
+        samples.add(new Sample(timestamp, currentTest, values));
+    }
+
+    private static List<String> getUsers()
+    {
+        final String users = System.getProperty("sinttest.serverstats.users", "");
+        return List.of(users.split(",")).stream().map(String::trim).filter(user -> !user.isEmpty()).collect(Collectors.toList());
+    }
+
+    /**
+     * Adds the value of every numeric field of the form in a command response. The metric is named after the prefix
+     * and the name of the field.
+     */
+    private static void addValues(final Map<String, Long> values, final String prefix, final AdHocCommandData response)
+    {
+        if (response.getForm() == null) {
+            return;
+        }
+        for (final FormField field : response.getForm().getFields()) {
+            if (field.getType() == FormField.Type.hidden || field.getFirstValue() == null) {
+                continue;
+            }
+            try {
+                values.put(prefix + field.getFieldName(), Long.parseLong(field.getFirstValue().trim()));
+            } catch (NumberFormatException e) {
+                // Not a statistic that can be sampled (eg: a list of addresses).
+            }
+        }
+    }
+
+    /**
+     * Stops sampling, and publishes the first and last sample as a benchmark report.
+     */
+    synchronized void stop()
+    {
+        if (executor != null) {
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            executor = null;
+        }
+        if (connection != null) {
+            if (!samples.isEmpty()) {
+                final BenchmarkReport report = new BenchmarkReport("XEP-0133 server statistics, sampled throughout the test run", connection.getXMPPServiceDomain());
+                getGrowth().forEach((metric, values) -> report.add(metric, values[0] + " → " + values[1]));
+                report.add("samples", samples.size()).add("failed samples", failures).publish();
+            }
+            connection.disconnect();
+            connection = null;
+        }
+    }
+
+    void testStarted(final SmackIntegrationTestFramework.ConcreteTest test)
+    {
+        currentTest = test.toString();
+        byTest.put(test.toString(), new Sample[] { getLatest(), null });
+    }
+
+    void testFinished(final SmackIntegrationTestFramework.ConcreteTest test)
+    {
+        final Sample[] aligned = byTest.get(test.toString());
+        if (aligned != null) {
+            aligned[1] = getLatest();
+        }
+        currentTest = null;
+    }
+
+    private Sample getLatest()
+    {
+        final int size = samples.size();
+        return size == 0 ? null : samples.get(size - 1);
+    }
+
+    /**
+     * Returns the value of each statistic at the start and at the end of a test (as sampled most recently before each),
+     * or an empty map if no samples were taken.
+     *
+     * @return arrays of two values, where either can be null when no sample was available, by the name of the statistic.
+     */
+    public SortedMap<String, Long[]> getStatistics(final SmackIntegrationTestFramework.ConcreteTest test)
+    {
+        final SortedMap<String, Long[]> result = new TreeMap<>();
+        final Sample[] aligned = byTest.get(test.toString());
+        if (aligned == null) {
+            return result;
+        }
+        for (int i = 0; i < 2; i++) {
+            if (aligned[i] == null) {
+                continue;
+            }
+            for (final Map.Entry<String, Long> entry : aligned[i].values.entrySet()) {
+                result.computeIfAbsent(entry.getKey(), k -> new Long[2])[i] = entry.getValue();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the value of each statistic in the first and in the last sample of the test run.
+     */
+    public SortedMap<String, Long[]> getGrowth()
+    {
+        final SortedMap<String, Long[]> result = new TreeMap<>();
+        for (final Sample sample : samples) {
+            for (final Map.Entry<String, Long> entry : sample.values.entrySet()) {
+                final Long[] values = result.computeIfAbsent(entry.getKey(), k -> new Long[] { entry.getValue(), null });
+                values[1] = entry.getValue();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns all samples that were taken during the test run, in the order in which they were taken.
+     */
+    public List<Sample> getSamples()
+    {
+        return new ArrayList<>(samples);
+    }
+
+    /**
+     * Writes all samples as tab-separated values, with one line per statistic per sample: the time at which the sample
+     * was taken (in ISO-8601 format), the test that was being executed (empty when no test was being executed), the name
+     * of the statistic and its value.
+     */
+    public void writeTsv(final Path file) throws IOException
+    {
+        final StringBuilder sb = new StringBuilder("# timestamp\ttest\tstatistic\tvalue\n");
+        for (final Sample sample : samples) {
+            for (final Map.Entry<String, Long> entry : sample.values.entrySet()) {
+                sb.append(sample.timestamp).append('\t').append(sample.test == null ? "" : sample.test).append('\t').append(entry.getKey()).append('\t').append(entry.getValue()).append('\n');
+            }
+        }
+        Files.writeString(file, sb);
+    }
+
+    /**
+     * The values of all statistics at one moment in time.
+     */
+    public static class Sample
+    {
+        final Instant timestamp;
+        final String test;
+        final Map<String, Long> values;
+
+        Sample(final Instant timestamp, final String test, final Map<String, Long> values)
+        {
+            this.timestamp = timestamp;
+            this.test = test;
+            this.values = Collections.unmodifiableMap(values);
+        }
+
+        public Instant getTimestamp()
+        {
+            return timestamp;
+        }
+
+        /**
+         * Returns the name of the test that was being executed when the sample was taken, or null.
+         */
+        public String getTest()
+        {
+            return test;
+        }
+
+        public Map<String, Long> getValues()
+        {
+            return values;
+        }
+    }
+}
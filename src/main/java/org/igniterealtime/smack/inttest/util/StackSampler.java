@@ -0,0 +1,234 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Periodically takes samples of the stacks of the threads of the test harness while a test is being executed, so that
+ * it can be determined where the time of a slow or failing test went: client-side processing (eg: parsing), contention
+ * on locks (eg: in stanza listeners) or waiting for the server.
+ *
+ * Samples are kept in a ring buffer, which is cleared at the start of each test. Only the most recent samples are
+ * retained when a test takes longer than the buffer can hold. When a test fails, or when it took longer than a threshold,
+ * the samples can be written as 'collapsed stacks': one line per distinct stack, with the frames separated by
+ * semicolons (from the thread name to the leaf frame, followed by the state of the thread) and the amount of samples in
+ * which that stack was observed. That format can be turned into a flame graph by tools like FlameGraph or speedscope.
+ *
+ * Taking a sample of all stacks requires the JVM to reach a safepoint, which affects the timing of the tests that are
+ * being sampled. Sampling is therefore disabled by default.
+ *
+ * The following system properties are used:
+ * <ul>
+ *     <li><tt>sinttest.sampler.interval</tt> - the interval between samples in milliseconds (default: 0, which disables sampling)</li>
+ *     <li><tt>sinttest.sampler.capacity</tt> - the maximum amount of samples per thread that is retained (default: 3000)</li>
+ *     <li><tt>sinttest.sampler.threshold</tt> - the duration in milliseconds after which a successful test is considered slow (default: 5000)</li>
+ * </ul>
+ *
+ * Instances are driven by {@link ModifiedStandardSinttestDebugger}.
+ *
+ * @author Guus der Kinderen, guus@goodbytes.nl
+ */
+public final class StackSampler
+{
+    private static final Logger LOGGER = Logger.getLogger(StackSampler.class.getName());
+
+    private static final StackSampler INSTANCE = new StackSampler();
+
+    /**
+     * Threads of the JVM and of the test harness itself, that are unrelated to the execution of a test.
+     */
+    private static final Set<String> IGNORED_THREADS = Set.of("Reference Handler", "Finalizer", "Signal Dispatcher", "Common-Cleaner", "Attach Listener", "Notification Thread", "rtt-sampler", "serverstats-sampler", "sinttest-metrics", "sinttest-sampler");
+
+    private final long intervalMillis = Long.parseLong(System.getProperty("sinttest.sampler.interval", "0").trim());
+    private final int capacity = Integer.parseInt(System.getProperty("sinttest.sampler.capacity", "3000").trim());
+    private final Duration threshold = Duration.ofMillis(Long.parseLong(System.getProperty("sinttest.sampler.threshold", "5000").trim()));
+
+    private final Map<Thread, Ring> samples = new TreeMap<>((a, b) -> Long.compare(a.getId(), b.getId()));
+    private ScheduledExecutorService executor;
+    private boolean sampling;
+    private long testStart;
+
+    private StackSampler() {}
+
+    public static StackSampler getInstance()
+    {
+        return INSTANCE;
+    }
+
+    public boolean isEnabled()
+    {
+        return intervalMillis > 0 && capacity > 0;
+    }
+
+    /**
+     * Clears all samples, and starts taking samples (starting the sampling thread, if that has not already happened).
+     */
+    synchronized void testStarted()
+    {
+        if (!isEnabled()) {
+            return;
+        }
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "sinttest-sampler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.scheduleAtFixedRate(this::sample, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+        samples.clear();
+        testStart = System.nanoTime();
+        sampling = true;
+    }
+
+    /**
+     * Stops taking samples. When the test failed, or took longer than the configured threshold, the samples that were
+     * taken during the test are written to a file, as collapsed stacks.
+     *
+     * @param directory The directory in which to write the samples (can be null, in which case nothing is written).
+     * @param failed Whether the test failed.
+     * @return The file that was written, or null if no file was written.
+     */
+    synchronized Path testFinished(final Path directory, final boolean failed) throws IOException
+    {
+        if (!sampling) {
+            return null;
+        }
+        sampling = false;
+        final Duration duration = Duration.ofNanos(System.nanoTime() - testStart);
+        if (directory == null || samples.isEmpty() || (!failed && duration.compareTo(threshold) < 0)) {
+            return null;
+        }
+        final Path file = directory.resolve("stacks.collapsed");
+        Files.writeString(file, collapse());
+        return file;
+    }
+
+    /**
+     * Stops the sampling thread.
+     */
+    synchronized void stop()
+    {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        sampling = false;
+        samples.clear();
+    }
+
+    private synchronized void sample()
+    {
+        if (!sampling) {
+            return;
+        }
+        try {
+            for (final Map.Entry<Thread, StackTraceElement[]> entry : Thread.getAllStackTraces().entrySet()) {
+                final Thread thread = entry.getKey();
+                if (entry.getValue().length == 0 || IGNORED_THREADS.contains(thread.getName())) {
+                    continue;
+                }
+                samples.computeIfAbsent(thread, t -> new Ring(capacity)).add(new Sample(thread.getState(), entry.getValue()));
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.FINE, "Unable to take a sample of thread stacks.", e);
+        }
+    }
+
+    /**
+     * Returns the samples in the collapsed stack format, sorted alphabetically (which groups samples by thread).
+     */
+    synchronized String collapse()
+    {
+        final Map<String, Integer> counts = new TreeMap<>();
+        for (final Map.Entry<Thread, Ring> entry : samples.entrySet()) {
+            final String threadName = sanitize(entry.getKey().getName());
+            for (final Sample sample : entry.getValue().getSamples()) {
+                final StringBuilder stack = new StringBuilder(threadName);
+                // Stack traces start at the leaf frame, while collapsed stacks start at the root.
+                for (int i = sample.stack.length - 1; i >= 0; i--) {
+                    final StackTraceElement frame = sample.stack[i];
+                    stack.append(';').append(sanitize(frame.getClassName())).append('.').append(sanitize(frame.getMethodName()));
+                }
+                stack.append(";[").append(sample.state).append(']');
+                counts.merge(stack.toString(), 1, Integer::sum);
+            }
+        }
+        final StringBuilder sb = new StringBuilder();
+        counts.forEach((stack, count) -> sb.append(stack).append(' ').append(count).append('\n'));
+        return sb.toString();
+    }
+
+    private static String sanitize(final String value)
+    {
+        return value.replace(';', ':').replace(' ', '_').replace('\n', '_');
+    }
+
+    private static class Sample
+    {
+        final Thread.State state;
+        final StackTraceElement[] stack;
+
+        Sample(final Thread.State state, final StackTraceElement[] stack)
+        {
+            this.state = state;
+            this.stack = stack;
+        }
+    }
+
+    /**
+     * A fixed-size buffer that retains the most recently added samples.
+     */
+    private static class Ring
+    {
+        private final Sample[] samples;
+        private int next;
+        private int size;
+
+        Ring(final int capacity)
+        {
+            this.samples = new Sample[capacity];
+        }
+
+        void add(final Sample sample)
+        {
+            samples[next] = sample;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+        }
+
+        Sample[] getSamples()
+        {
+            final Sample[] result = new Sample[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = samples[(next - size + i + samples.length) % samples.length];
+            }
+            return result;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.lang.reflect.Method;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.stream.Collectors;
@@ -40,12 +41,7 @@ public class StdOutTestRunResultProcessor implements SmackIntegrationTestFramewo
         System.out.println();
         System.out.println("Results aggregated by specification:");
 
-        final Properties specTitles = new Properties();
-        try {
-            specTitles.load(JUnitXmlTestRunResultProcessor.class.getResourceAsStream("/specifications.properties"));
-        } catch (IOException e) {
-            System.err.println("Unable to load specifications.properties");
-        }
+        final Properties specTitles = TestIndex.getSpecificationTitles();
 
         final SortedMap<String, Collection<SuccessfulTest>> successFulTestsBySpec = aggregateBySpecification(testRunResult.getSuccessfulTests());
         final SortedMap<String, Collection<FailedTest>> failedTestsBySpec = aggregateBySpecification(testRunResult.getFailedTests());
@@ -73,6 +69,47 @@ public class StdOutTestRunResultProcessor implements SmackIntegrationTestFramewo
             System.out.println("• " + String.format("%-" + Math.max(1, longestSpecCharCount)+"s", title) + " " + String.format("%"+longestSuccCharCount+"s", success) + " ✔  " + String.format("%"+longestFailCharCount+"s", fail) + " \uD83D\uDC80 " + String.format("%3s", impossible) + " ✖");
         }
 
+        final RttSampler rttSampler = RttSampler.getInstance();
+        if (!rttSampler.getRoundTripTimes().isEmpty()) {
+            System.out.println();
+            System.out.println("Round-trip time to the server, sampled throughout the test run: " + rttSampler.getRoundTripTimes());
+            System.out.println("Duration of executed tests in baseline RTT units, aggregated by specification:");
+            for (final String specification : specifications) {
+                final List<TestResult> executed = new ArrayList<>();
+                executed.addAll(successFulTestsBySpec.getOrDefault(specification, Collections.emptySet()));
+                executed.addAll(failedTestsBySpec.getOrDefault(specification, Collections.emptySet()));
+                final double units = executed.stream()
+                    .mapToDouble(testResult -> RttSampler.inBaselineUnits(testResult.duration, rttSampler.getBaseline(testResult.concreteTest)))
+                    .filter(d -> !Double.isNaN(d))
+                    .sum();
+                if (!executed.isEmpty()) {
+                    System.out.println("• " + String.format("%-" + Math.max(1, longestSpecCharCount)+"s", titleBySpec.get(specification)) + " " + String.format("%10.1f", units) + " RTT");
+                }
+            }
+        }
+
+        final List<SmackIntegrationTestFramework.ConcreteTest> executedTests = new ArrayList<>();
+        testRunResult.getSuccessfulTests().forEach(testResult -> executedTests.add(testResult.concreteTest));
+        testRunResult.getFailedTests().forEach(testResult -> executedTests.add(testResult.concreteTest));
+        final Map<Phases.Phase, Duration> phaseTotals = Phases.getTotals(executedTests);
+        if (!phaseTotals.isEmpty()) {
+            final Duration executedTotal = JUnitXmlTestRunResultProcessor.getAggregatedTime(testRunResult.getSuccessfulTests()).plus(JUnitXmlTestRunResultProcessor.getAggregatedTime(testRunResult.getFailedTests()));
+            System.out.println();
+            System.out.println("Time spent in each phase of executed tests (total duration: " + LatencyRecorder.format(executedTotal) + "):");
+            for (final Map.Entry<Phases.Phase, Duration> entry : phaseTotals.entrySet()) {
+                final double share = executedTotal.isZero() ? 0 : 100.0 * entry.getValue().toNanos() / executedTotal.toNanos();
+                System.out.println("• " + String.format("%-10s", entry.getKey().getLabel()) + " " + String.format("%10s", LatencyRecorder.format(entry.getValue())) + String.format(" (%4.1f%%)", share));
+            }
+            final Duration unattributed = executedTotal.minus(phaseTotals.values().stream().reduce(Duration.ZERO, Duration::plus));
+            if (!unattributed.isNegative()) {
+                System.out.println("• " + String.format("%-10s", "other") + " " + String.format("%10s", LatencyRecorder.format(unattributed)));
+            }
+        }
+
+        printPerformance(testRunResult, titleBySpec, longestSpecCharCount);
+        printTraffic(testRunResult);
+        printServerStatistics(testRunResult);
+
         if (!impossibleTestsBySpec.isEmpty() || !impossibleTestClassesBySpec.isEmpty()) {
             System.out.println();
             System.out.println("✖ The following tests were impossible to run! ✖");
@@ -122,6 +159,10 @@ public class StdOutTestRunResultProcessor implements SmackIntegrationTestFramewo
                     blob.append("      \"" + quote + "\"").append(System.lineSeparator());
                     blob.append("  Failure reason  : " + failedTest.failureReason.getMessage()).append(System.lineSeparator());
                     blob.append("  Stanza log file : " + logPath).append(System.lineSeparator());
+                    final Duration baselineRtt = RttSampler.getInstance().getBaseline(failedTest.concreteTest);
+                    if (baselineRtt != null) {
+                        blob.append("  Duration        : " + LatencyRecorder.format(failedTest.duration) + String.format(" (%.1f × baseline RTT of ", RttSampler.inBaselineUnits(failedTest.duration, baselineRtt)) + LatencyRecorder.format(baselineRtt) + ")").append(System.lineSeparator());
+                    }
                     blob.append("  Test class      : " + failedTest.concreteTest.getMethod().getDeclaringClass().getName()).append(System.lineSeparator());
                     blob.append("  Test method     : " + failedTest.concreteTest.getMethod().getName()).append(System.lineSeparator());
                     blob.append(System.lineSeparator());
@@ -135,6 +176,175 @@ public class StdOutTestRunResultProcessor implements SmackIntegrationTestFramewo
         }
     }
 
+    /**
+     * Prints the slowest tests, the total and median duration of tests per specification, and the time spent in tests
+     * that were impossible to run.
+     *
+     * The amount of slowest tests that is printed is configured with the <tt>sinttest.report.slowest</tt> system
+     * property (default: 10). When the <tt>sinttest.report.baseline</tt> system property identifies a JUnit-compatible
+     * XML file of an earlier run, the duration of each test is compared with that of the same test in that file. Tests
+     * that took longer by more than the percentage configured with <tt>sinttest.report.regressionThreshold</tt>
+     * (default: 50) and by more than the amount of milliseconds configured with <tt>sinttest.report.regressionMinimum</tt>
+     * (default: 100) are listed as regressions.
+     */
+    static void printPerformance(final SmackIntegrationTestFramework.TestRunResult testRunResult, final Map<String, String> titleBySpec, final int longestSpecCharCount)
+    {
+        final List<TestResult> executed = new ArrayList<>();
+        executed.addAll(testRunResult.getSuccessfulTests());
+        executed.addAll(testRunResult.getFailedTests());
+        if (executed.isEmpty()) {
+            return;
+        }
+
+        System.out.println();
+        final int slowestCount = Integer.parseInt(System.getProperty("sinttest.report.slowest", "10").trim());
+        final List<TestResult> slowest = executed.stream()
+            .sorted(Comparator.comparing((TestResult testResult) -> testResult.duration).reversed())
+            .limit(Math.max(0, slowestCount))
+            .collect(Collectors.toList());
+        if (!slowest.isEmpty()) {
+            System.out.println("The " + slowest.size() + " slowest tests:");
+            for (final TestResult testResult : slowest) {
+                System.out.println("• " + String.format("%14s", LatencyRecorder.format(testResult.duration)) + " " + describe(testResult.concreteTest));
+            }
+        }
+
+        System.out.println("Duration of executed tests (total / median), aggregated by specification:");
+        for (final Map.Entry<String, Collection<TestResult>> entry : aggregateBySpecification(executed).entrySet()) {
+            final LatencyRecorder durations = new LatencyRecorder();
+            entry.getValue().forEach(testResult -> durations.record(testResult.duration));
+            final Duration total = JUnitXmlTestRunResultProcessor.getAggregatedTime(entry.getValue());
+            final String title = titleBySpec.getOrDefault(entry.getKey(), entry.getKey());
+            System.out.println("• " + String.format("%-" + Math.max(1, longestSpecCharCount)+"s", title) + " " + String.format("%14s", LatencyRecorder.format(total)) + " / " + String.format("%12s", LatencyRecorder.format(durations.getPercentile(50))));
+        }
+
+        final Duration impossible = JUnitXmlTestRunResultProcessor.getAggregatedTime(testRunResult.getNotPossibleTests());
+        System.out.println("Time spent in " + testRunResult.getNotPossibleTests().size() + " tests that turned out to be impossible to run: " + LatencyRecorder.format(impossible));
+
+        final String baselinePath = System.getProperty("sinttest.report.baseline");
+        if (baselinePath == null || baselinePath.isBlank()) {
+            return;
+        }
+        final TestDurationBaseline baseline;
+        try {
+            baseline = TestDurationBaseline.read(Paths.get(baselinePath.trim()));
+        } catch (IOException e) {
+            System.err.println("Unable to read baseline results file: " + e.getMessage());
+            return;
+        }
+        final double threshold = Double.parseDouble(System.getProperty("sinttest.report.regressionThreshold", "50").trim());
+        final Duration minimum = Duration.ofMillis(Long.parseLong(System.getProperty("sinttest.report.regressionMinimum", "100").trim()));
+
+        final SortedMap<Double, List<String>> regressions = new TreeMap<>(Comparator.reverseOrder());
+        int compared = 0;
+        for (final TestResult testResult : executed) {
+            final Duration before = baseline.getDuration(testResult.concreteTest);
+            if (before == null) {
+                continue;
+            }
+            compared++;
+            final Duration difference = testResult.duration.minus(before);
+            final double increase = before.isZero() ? Double.POSITIVE_INFINITY : 100.0 * difference.toNanos() / before.toNanos();
+            if (increase > threshold && difference.compareTo(minimum) > 0) {
+                regressions.computeIfAbsent(increase, k -> new ArrayList<>()).add(String.format("%14s", LatencyRecorder.format(testResult.duration)) + " (was " + LatencyRecorder.format(before) + String.format(", +%.0f%%) ", increase) + describe(testResult.concreteTest));
+            }
+        }
+        System.out.println();
+        if (regressions.isEmpty()) {
+            System.out.println("None of the " + compared + " tests that were also in the baseline (" + baselinePath + ") regressed by more than " + threshold + "%.");
+        } else {
+            final int regressed = regressions.values().stream().mapToInt(List::size).sum();
+            System.out.println("⚠ " + regressed + " of the " + compared + " tests that were also in the baseline (" + baselinePath + ") regressed by more than " + threshold + "%: ⚠");
+            regressions.values().forEach(lines -> lines.forEach(line -> System.out.println("• " + line)));
+        }
+    }
+
+    /**
+     * Prints the network traffic of the test run (as recorded by {@link TrafficAccounting}): the total amount of
+     * stanzas and bytes that were sent and received, and the flows (combinations of direction, kind of stanza and
+     * namespace) and tests that account for the most bytes. The amount of flows and tests that is printed is configured
+     * with the <tt>sinttest.report.heaviest</tt> system property (default: 10).
+     */
+    static void printTraffic(final SmackIntegrationTestFramework.TestRunResult testRunResult)
+    {
+        final TrafficAccounting.Traffic runWide = TrafficAccounting.getRunWide();
+        if (runWide.getFlows().isEmpty()) {
+            return;
+        }
+        final int heaviestCount = Math.max(0, Integer.parseInt(System.getProperty("sinttest.report.heaviest", "10").trim()));
+
+        System.out.println();
+        System.out.println("Traffic of " + TrafficAccounting.getConnections().size() + " connections, sent: " + runWide.describe(TrafficAccounting.Direction.SENT) + ", received: " + runWide.describe(TrafficAccounting.Direction.RECEIVED));
+
+        final List<Map.Entry<TrafficAccounting.Flow, TrafficAccounting.Counter>> flows = TrafficAccounting.heaviest(List.of(runWide));
+        System.out.println("The " + Math.min(heaviestCount, flows.size()) + " heaviest flows (by stanza bytes):");
+        for (final Map.Entry<TrafficAccounting.Flow, TrafficAccounting.Counter> flow : flows.subList(0, Math.min(heaviestCount, flows.size()))) {
+            System.out.println("• " + String.format("%12d bytes %8d stanzas ", flow.getValue().getBytes(), flow.getValue().getStanzas()) + flow.getKey());
+        }
+
+        final List<TestResult> executed = new ArrayList<>();
+        executed.addAll(testRunResult.getSuccessfulTests());
+        executed.addAll(testRunResult.getFailedTests());
+        final List<TestResult> heaviest = executed.stream()
+            .filter(testResult -> TrafficAccounting.getTraffic(testResult.concreteTest) != null)
+            .sorted(Comparator.comparingLong((TestResult testResult) -> TrafficAccounting.getTraffic(testResult.concreteTest).getTotalBytes()).reversed())
+            .limit(heaviestCount)
+            .collect(Collectors.toList());
+        if (!heaviest.isEmpty()) {
+            System.out.println("The " + heaviest.size() + " heaviest tests (by stanza bytes sent and received):");
+            for (final TestResult testResult : heaviest) {
+                System.out.println("• " + String.format("%12d bytes ", TrafficAccounting.getTraffic(testResult.concreteTest).getTotalBytes()) + describe(testResult.concreteTest));
+            }
+        }
+    }
+
+    /**
+     * Prints the server statistics that were sampled during the test run (see {@link ServerStatisticsSampler}): the
+     * value of each statistic at the start and at the end of the run, and the tests during which the amount of online or
+     * registered users grew (which suggests that those tests leak sessions or accounts).
+     */
+    static void printServerStatistics(final SmackIntegrationTestFramework.TestRunResult testRunResult)
+    {
+        final ServerStatisticsSampler sampler = ServerStatisticsSampler.getInstance();
+        final SortedMap<String, Long[]> growth = sampler.getGrowth();
+        if (growth.isEmpty()) {
+            return;
+        }
+        System.out.println();
+        System.out.println("Server statistics (XEP-0133), from the first to the last of " + sampler.getSamples().size() + " samples:");
+        final int longest = growth.keySet().stream().mapToInt(String::length).max().orElse(1);
+        for (final Map.Entry<String, Long[]> entry : growth.entrySet()) {
+            final long difference = entry.getValue()[1] - entry.getValue()[0];
+            System.out.println("• " + String.format("%-" + longest + "s", entry.getKey()) + " " + String.format("%8d → %8d (%+d)", entry.getValue()[0], entry.getValue()[1], difference));
+        }
+
+        final List<TestResult> executed = new ArrayList<>();
+        executed.addAll(testRunResult.getSuccessfulTests());
+        executed.addAll(testRunResult.getFailedTests());
+        final List<String> growing = new ArrayList<>();
+        for (final TestResult testResult : executed) {
+            for (final Map.Entry<String, Long[]> entry : sampler.getStatistics(testResult.concreteTest).entrySet()) {
+                final Long[] values = entry.getValue();
+                final boolean isUserCount = entry.getKey().startsWith("get-online-users-num") || entry.getKey().startsWith("get-registered-users-num");
+                if (isUserCount && values[0] != null && values[1] != null && values[1] > values[0]) {
+                    growing.add(entry.getKey() + String.format(" %+d ", values[1] - values[0]) + describe(testResult.concreteTest));
+                }
+            }
+        }
+        if (!growing.isEmpty()) {
+            System.out.println("The amount of online or registered users grew while these tests were executed (tests that run concurrently, and the sampling interval, affect accuracy):");
+            growing.forEach(line -> System.out.println("• " + line));
+        }
+    }
+
+    private static String describe(final SmackIntegrationTestFramework.ConcreteTest test)
+    {
+        final Method method = test.getMethod();
+        final String specification = humanReadibleSpec(JUnitXmlTestRunResultProcessor.getSpecificationReference(method));
+        final String section = JUnitXmlTestRunResultProcessor.getSpecificationSection(method);
+        return (specification.isEmpty() ? "(noname)" : specification) + (section != null ? ", Section " + section : "") + " (" + method.getDeclaringClass().getSimpleName() + "#" + method.getName() + ")";
+    }
+
     public static List<Method> getMethodsInImpossibleTestClasses(Collection<Class<? extends AbstractSmackIntTest>> testClasses)
     {
         final List<Method> result = new ArrayList<>();
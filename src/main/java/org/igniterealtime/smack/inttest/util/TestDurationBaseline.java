@@ -0,0 +1,95 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import org.igniterealtime.smack.inttest.SmackIntegrationTestFramework;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The durations of tests in an earlier test run, as read from the JUnit-compatible XML file that was generated by
+ * {@link JUnitXmlTestRunResultProcessor} for that run. Tests that were skipped (as they were impossible to run) are
+ * not included.
+ *
+ * @author Guus der Kinderen, guus@goodbytes.nl
+ */
+public class TestDurationBaseline
+{
+    private final Map<String, Duration> durations;
+
+    private TestDurationBaseline(final Map<String, Duration> durations)
+    {
+        this.durations = Collections.unmodifiableMap(durations);
+    }
+
+    public static TestDurationBaseline read(final Path file) throws IOException
+    {
+        final Document document;
+        try {
+            final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            document = factory.newDocumentBuilder().parse(file.toFile());
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("Unable to parse baseline results file " + file, e);
+        }
+
+        final Map<String, Duration> durations = new HashMap<>();
+        final NodeList testcases = document.getElementsByTagName("testcase");
+        for (int i = 0; i < testcases.getLength(); i++) {
+            final Element testcase = (Element) testcases.item(i);
+            if (testcase.getElementsByTagName("skipped").getLength() > 0 || testcase.getAttribute("time").isBlank()) {
+                continue;
+            }
+            try {
+                final double seconds = Double.parseDouble(testcase.getAttribute("time"));
+                durations.put(key(testcase.getAttribute("classname"), testcase.getAttribute("name")), Duration.ofNanos(Math.round(seconds * 1_000_000_000)));
+            } catch (NumberFormatException e) {
+                throw new IOException("Unable to parse the duration of test '" + testcase.getAttribute("name") + "' in baseline results file " + file, e);
+            }
+        }
+        return new TestDurationBaseline(durations);
+    }
+
+    /**
+     * Returns the duration of a test in the baseline, or null if the baseline does not contain the test.
+     */
+    public Duration getDuration(final SmackIntegrationTestFramework.ConcreteTest test)
+    {
+        return durations.get(key(test.getMethod().getDeclaringClass().getName(), test.toString()));
+    }
+
+    public int size()
+    {
+        return durations.size();
+    }
+
+    private static String key(final String className, final String testName)
+    {
+        return className + '#' + testName;
+    }
+}
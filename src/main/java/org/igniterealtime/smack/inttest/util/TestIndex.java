@@ -0,0 +1,241 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Provides access to the index of integration tests that is generated at build time by {@link TestIndexProcessor}, and to
+ * the titles of specifications in <tt>specifications.properties</tt>. Both are read once, and retained for the
+ * remainder of the test run.
+ *
+ * The index only covers tests that are compiled in this project. Tests that are provided by other libraries (such as
+ * the tests that are bundled with Smack) are not in the index. Callers should fall back to reflection for those.
+ *
+ * @author Guus der Kinderen, guus@goodbytes.nl
+ */
+public final class TestIndex
+{
+    private static final Logger LOGGER = Logger.getLogger(TestIndex.class.getName());
+
+    private static TestIndex instance;
+    private static Properties specificationTitles;
+
+    private final Map<String, Entry> entries;
+    private final Map<String, String> specificationByClass;
+
+    TestIndex(final Map<String, Entry> entries)
+    {
+        this.entries = entries;
+        this.specificationByClass = new HashMap<>();
+        for (final Entry entry : entries.values()) {
+            specificationByClass.put(entry.getClassName(), entry.getSpecification());
+        }
+    }
+
+    /**
+     * Returns the index, reading it from the classpath when this method is first invoked.
+     */
+    public static synchronized TestIndex getInstance()
+    {
+        if (instance == null) {
+            final Map<String, Entry> entries = new HashMap<>();
+            try {
+                // There can be more than one index, when tests from more than one project are on the classpath.
+                final Enumeration<URL> resources = TestIndex.class.getClassLoader().getResources(TestIndexProcessor.RESOURCE);
+                while (resources.hasMoreElements()) {
+                    try (final InputStream in = resources.nextElement().openStream()) {
+                        entries.putAll(parse(in));
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Unable to read the test index. Reflection is used instead.", e);
+            }
+            instance = new TestIndex(entries);
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the titles of specifications, keyed by the normalized document reference, as defined in
+     * <tt>specifications.properties</tt>. The properties are read when this method is first invoked.
+     */
+    public static synchronized Properties getSpecificationTitles()
+    {
+        if (specificationTitles == null) {
+            final Properties result = new Properties();
+            try (final InputStream in = TestIndex.class.getResourceAsStream("/specifications.properties")) {
+                if (in != null) {
+                    result.load(in);
+                }
+            } catch (IOException e) {
+                System.err.println("Unable to load specifications.properties");
+            }
+            specificationTitles = result;
+        }
+        return specificationTitles;
+    }
+
+    static Map<String, Entry> parse(final InputStream in) throws IOException
+    {
+        final Map<String, Entry> result = new HashMap<>();
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            final String[] columns = line.split("\t", -1);
+            if (columns.length != 6) {
+                LOGGER.fine("Ignoring malformed line in test index: " + line);
+                continue;
+            }
+            final Entry entry = new Entry(columns[0], columns[1], unescape(columns[2]), unescape(columns[3]), unescape(columns[4]), unescape(columns[5]));
+            result.put(columns[0] + '#' + columns[1], entry);
+        }
+        return result;
+    }
+
+    /**
+     * Returns whether the index holds an entry for the provided class.
+     */
+    public boolean contains(final Class<?> clazz)
+    {
+        return specificationByClass.containsKey(clazz.getName());
+    }
+
+    /**
+     * Returns the normalized specification reference of a class, or null when the class is not in the index.
+     */
+    public String getSpecification(final Class<?> clazz)
+    {
+        return specificationByClass.get(clazz.getName());
+    }
+
+    /**
+     * Returns the entry for a test method, or null when the method is not in the index.
+     */
+    public Entry getEntry(final Method method)
+    {
+        return entries.get(method.getDeclaringClass().getName() + '#' + method.getName());
+    }
+
+    /**
+     * Returns the names of all classes in the index.
+     */
+    public Set<String> getClassNames()
+    {
+        return Collections.unmodifiableSet(specificationByClass.keySet());
+    }
+
+    public int size()
+    {
+        return entries.size();
+    }
+
+    static String unescape(final String value)
+    {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        final StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c != '\\' || i == value.length() - 1) {
+                sb.append(c);
+                continue;
+            }
+            final char next = value.charAt(++i);
+            switch (next) {
+                case 't': sb.append('\t'); break;
+                case 'n': sb.append('\n'); break;
+                case 'r': sb.append('\r'); break;
+                default: sb.append(next);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * A test method, as recorded in the index.
+     */
+    public static final class Entry
+    {
+        private final String className;
+        private final String methodName;
+        private final String specification;
+        private final String version;
+        private final String section;
+        private final String quote;
+
+        Entry(final String className, final String methodName, final String document, final String version, final String section, final String quote)
+        {
+            this.className = className;
+            this.methodName = methodName;
+            this.specification = JUnitXmlTestRunResultProcessor.normalizeSpecification(document.trim());
+            this.version = version.isBlank() ? null : version.trim();
+            this.section = section.isBlank() ? null : section.trim();
+            this.quote = quote.isBlank() ? null : quote.trim();
+        }
+
+        public String getClassName()
+        {
+            return className;
+        }
+
+        public String getMethodName()
+        {
+            return methodName;
+        }
+
+        /**
+         * Returns the normalized document reference of the specification of the class of this test, or an empty string.
+         */
+        public String getSpecification()
+        {
+            return specification;
+        }
+
+        public String getVersion()
+        {
+            return version;
+        }
+
+        public String getSection()
+        {
+            return section;
+        }
+
+        public String getQuote()
+        {
+            return quote;
+        }
+    }
+}
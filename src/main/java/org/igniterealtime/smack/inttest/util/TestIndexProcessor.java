@@ -0,0 +1,151 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * An annotation processor that generates an index of all integration tests at build time: for every method that is
+ * annotated with <tt>SmackIntegrationTest</tt>, the name of its class and method, the document and version of the
+ * <tt>SpecificationReference</tt> of its class, and the section and quote of the test annotation. This allows that data
+ * to be looked up at runtime (see {@link TestIndex}) without reflection.
+ *
+ * The index is written to {@value #RESOURCE} in the class output, as tab-separated values with one line per test. This
+ * processor is configured in the Maven build, which compiles it before all other sources. It therefore must not depend
+ * on any other class of this project.
+ *
+ * @author Guus der Kinderen, guus@goodbytes.nl
+ */
+@SupportedAnnotationTypes(TestIndexProcessor.SMACK_INTEGRATION_TEST)
+public class TestIndexProcessor extends AbstractProcessor
+{
+    static final String SMACK_INTEGRATION_TEST = "org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest";
+    static final String SPECIFICATION_REFERENCE = "org.igniterealtime.smack.inttest.annotations.SpecificationReference";
+
+    /**
+     * The path of the index, relative to the root of the classpath.
+     */
+    public static final String RESOURCE = "META-INF/sinttest/test-index.tsv";
+
+    static final String HEADER = "# class\tmethod\tdocument\tversion\tsection\tquote";
+
+    /**
+     * Lines of the index, keyed (and sorted) by class and method name, which keeps the index stable between builds.
+     */
+    private final SortedMap<String, String> lines = new TreeMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion()
+    {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv)
+    {
+        if (roundEnv.processingOver()) {
+            write();
+            return false;
+        }
+
+        for (final TypeElement annotation : annotations) {
+            for (final Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.METHOD) {
+                    continue;
+                }
+                final TypeElement type = (TypeElement) element.getEnclosingElement();
+                final String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+                final String methodName = element.getSimpleName().toString();
+
+                final Map<String, String> test = getValues(element, SMACK_INTEGRATION_TEST);
+                final Map<String, String> specification = getValues(type, SPECIFICATION_REFERENCE);
+
+                lines.put(className + '#' + methodName, String.join("\t",
+                    className,
+                    methodName,
+                    escape(specification.getOrDefault("document", "")),
+                    escape(specification.getOrDefault("version", "")),
+                    escape(test.getOrDefault("section", "")),
+                    escape(test.getOrDefault("quote", ""))));
+            }
+        }
+        // Do not claim the annotation, as other processors might be interested in it.
+        return false;
+    }
+
+    /**
+     * Returns the values (including defaults) of the string-typed elements of an annotation on an element, or an empty
+     * map when the element is not annotated with that annotation.
+     */
+    private Map<String, String> getValues(final Element element, final String annotationName)
+    {
+        final Map<String, String> result = new TreeMap<>();
+        for (final AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (!((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName)) {
+                continue;
+            }
+            for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+                if (entry.getValue().getValue() instanceof String) {
+                    result.put(entry.getKey().getSimpleName().toString(), (String) entry.getValue().getValue());
+                }
+            }
+        }
+        return result;
+    }
+
+    private void write()
+    {
+        if (lines.isEmpty()) {
+            return;
+        }
+        try {
+            final FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", RESOURCE);
+            try (final Writer writer = resource.openWriter()) {
+                writer.write(HEADER);
+                writer.write('\n');
+                for (final String line : lines.values()) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write the test index " + RESOURCE + ": " + e);
+        }
+    }
+
+    static String escape(final String value)
+    {
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+}
@@ -0,0 +1,464 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import org.igniterealtime.smack.inttest.SmackIntegrationTestFramework;
+import org.jivesoftware.smack.XMPPConnection;
+import org.jivesoftware.smack.packet.TopLevelStreamElement;
+
+import java.io.FilterReader;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accounts for the network traffic of a test run: the amount of stanzas (and nonzas) and the amount of bytes that are
+ * sent and received, per 'flow' (the combination of direction, kind of stanza and namespace of its first child
+ * element), for each test, for each connection and for the entire test run.
+ *
+ * The size of a stanza is the amount of bytes of its UTF-8 encoded serialization. Additionally, the amount of bytes of
+ * the XML stream (which includes stream headers, stream features and whitespace keep-alives) is counted. That is the
+ * data that is subject to TLS: the encrypted amount of bytes on the wire is not observable by the test harness, but
+ * exceeds it by the TLS record overhead.
+ *
+ * Traffic is recorded by {@link ModifiedStandardSinttestDebugger}, which observes all connections that are created by
+ * the test harness (including those that are created by {@link AccountUtilities#spawnNewConnection}). When that
+ * debugger is not configured, no traffic is recorded.
+ *
+ * @author Guus der Kinderen, guus@goodbytes.nl
+ */
+public final class TrafficAccounting
+{
+    private static final Traffic runWide = new Traffic();
+    // Weakly keyed, so that the traffic of a test is retained only for as long as the result of the test run is.
+    private static final Map<SmackIntegrationTestFramework.ConcreteTest, Traffic> byTest = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final List<ConnectionTraffic> byConnection = new CopyOnWriteArrayList<>();
+    private static volatile Traffic current;
+
+    private TrafficAccounting() {}
+
+    public enum Direction
+    {
+        SENT("sent"),
+        RECEIVED("received");
+
+        private final String label;
+
+        Direction(final String label)
+        {
+            this.label = label;
+        }
+
+        public String getLabel()
+        {
+            return label;
+        }
+    }
+
+    static void testStarted(final SmackIntegrationTestFramework.ConcreteTest test)
+    {
+        final Traffic traffic = new Traffic();
+        byTest.put(test, traffic);
+        current = traffic;
+    }
+
+    static void testFinished(final SmackIntegrationTestFramework.ConcreteTest test)
+    {
+        if (current == byTest.get(test)) {
+            current = null;
+        }
+    }
+
+    /**
+     * Starts the accounting of the traffic of a connection.
+     */
+    static ConnectionTraffic observe(final XMPPConnection connection)
+    {
+        final ConnectionTraffic result = new ConnectionTraffic(connection);
+        byConnection.add(result);
+        return result;
+    }
+
+    /**
+     * Returns the traffic of a test, or null if no traffic was recorded for the test.
+     */
+    public static Traffic getTraffic(final SmackIntegrationTestFramework.ConcreteTest test)
+    {
+        return byTest.get(test);
+    }
+
+    /**
+     * Returns the traffic of the entire test run (including traffic outside of tests).
+     */
+    public static Traffic getRunWide()
+    {
+        return runWide;
+    }
+
+    /**
+     * Returns the traffic of each connection that was created during the test run.
+     */
+    public static List<ConnectionTraffic> getConnections()
+    {
+        return Collections.unmodifiableList(byConnection);
+    }
+
+    /**
+     * Returns the flows of a number of instances of traffic, ordered by the amount of bytes (largest first).
+     */
+    public static List<Map.Entry<Flow, Counter>> heaviest(final Collection<? extends Traffic> traffic)
+    {
+        final List<Map.Entry<Flow, Counter>> result = new ArrayList<>(Traffic.sum(traffic).entrySet());
+        result.sort((a, b) -> Long.compare(b.getValue().getBytes(), a.getValue().getBytes()));
+        return result;
+    }
+
+    /**
+     * The traffic of one connection. Besides accounting for the connection itself, this adds to the traffic of the test
+     * that is being executed and to that of the entire test run.
+     */
+    public static class ConnectionTraffic extends Traffic
+    {
+        // Do not prevent connections from being garbage collected, as the traffic of all connections is retained.
+        private final WeakReference<XMPPConnection> connection;
+        private volatile String label;
+
+        ConnectionTraffic(final XMPPConnection connection)
+        {
+            this.connection = new WeakReference<>(connection);
+        }
+
+        /**
+         * Returns the address of the connection, or a placeholder if the connection never authenticated.
+         */
+        public String getLabel()
+        {
+            return label == null ? "(unauthenticated)" : label;
+        }
+
+        void record(final Direction direction, final TopLevelStreamElement element)
+        {
+            if (label == null) {
+                // Not all connections authenticate, and most do so only after traffic has been exchanged.
+                final XMPPConnection c = connection.get();
+                if (c != null && c.getUser() != null) {
+                    label = c.getUser().toString();
+                }
+            }
+            final String kind = FlightRecorderEvents.kindOf(element);
+            final String namespace = FlightRecorderEvents.namespaceOf(element);
+            final Flow flow = new Flow(direction, kind, namespace == null ? "" : namespace);
+            final long bytes = element.toXML().toString().getBytes(StandardCharsets.UTF_8).length;
+
+            add(flow, bytes);
+            runWide.add(flow, bytes);
+            final Traffic test = current;
+            if (test != null) {
+                test.add(flow, bytes);
+            }
+        }
+
+        void recordStream(final Direction direction, final long bytes)
+        {
+            addStream(direction, bytes);
+            runWide.addStream(direction, bytes);
+            final Traffic test = current;
+            if (test != null) {
+                test.addStream(direction, bytes);
+            }
+        }
+
+        /**
+         * Wraps the reader of a connection, to count the bytes of the XML stream that is received.
+         */
+        Reader countReceived(final Reader reader)
+        {
+            return new FilterReader(reader)
+            {
+                @Override
+                public int read() throws IOException
+                {
+                    final int c = super.read();
+                    if (c != -1) {
+                        recordStream(Direction.RECEIVED, utf8Length((char) c));
+                    }
+                    return c;
+                }
+
+                @Override
+                public int read(final char[] cbuf, final int off, final int len) throws IOException
+                {
+                    final int result = super.read(cbuf, off, len);
+                    if (result > 0) {
+                        recordStream(Direction.RECEIVED, utf8Length(cbuf, off, result));
+                    }
+                    return result;
+                }
+            };
+        }
+
+        /**
+         * Wraps the writer of a connection, to count the bytes of the XML stream that is sent.
+         */
+        Writer countSent(final Writer writer)
+        {
+            return new FilterWriter(writer)
+            {
+                @Override
+                public void write(final int c) throws IOException
+                {
+                    super.write(c);
+                    recordStream(Direction.SENT, utf8Length((char) c));
+                }
+
+                @Override
+                public void write(final char[] cbuf, final int off, final int len) throws IOException
+                {
+                    super.write(cbuf, off, len);
+                    recordStream(Direction.SENT, utf8Length(cbuf, off, len));
+                }
+
+                @Override
+                public void write(final String str, final int off, final int len) throws IOException
+                {
+                    super.write(str, off, len);
+                    recordStream(Direction.SENT, utf8Length(str.toCharArray(), off, len));
+                }
+            };
+        }
+    }
+
+    static long utf8Length(final char c)
+    {
+        if (c < 0x80) {
+            return 1;
+        }
+        if (c < 0x800 || Character.isSurrogate(c)) {
+            // Each half of a surrogate pair accounts for half of the four bytes of the code point that they represent.
+            return 2;
+        }
+        return 3;
+    }
+
+    static long utf8Length(final char[] chars, final int off, final int len)
+    {
+        long result = 0;
+        for (int i = off; i < off + len; i++) {
+            result += utf8Length(chars[i]);
+        }
+        return result;
+    }
+
+    /**
+     * The traffic of a test, a connection or a test run. Instances are thread-safe.
+     */
+    public static class Traffic
+    {
+        private final Map<Flow, Counter> flows = new ConcurrentHashMap<>();
+        private final LongAdder streamBytesSent = new LongAdder();
+        private final LongAdder streamBytesReceived = new LongAdder();
+
+        void add(final Flow flow, final long bytes)
+        {
+            flows.computeIfAbsent(flow, k -> new Counter()).add(bytes);
+        }
+
+        void addStream(final Direction direction, final long bytes)
+        {
+            (direction == Direction.SENT ? streamBytesSent : streamBytesReceived).add(bytes);
+        }
+
+        /**
+         * Returns the traffic per flow.
+         */
+        public SortedMap<Flow, Counter> getFlows()
+        {
+            return new TreeMap<>(flows);
+        }
+
+        public long getStanzas(final Direction direction)
+        {
+            return flows.entrySet().stream().filter(entry -> entry.getKey().getDirection() == direction).mapToLong(entry -> entry.getValue().getStanzas()).sum();
+        }
+
+        public long getBytes(final Direction direction)
+        {
+            return flows.entrySet().stream().filter(entry -> entry.getKey().getDirection() == direction).mapToLong(entry -> entry.getValue().getBytes()).sum();
+        }
+
+        /**
+         * Returns the amount of bytes of the XML stream (which includes more than stanzas alone).
+         */
+        public long getStreamBytes(final Direction direction)
+        {
+            return (direction == Direction.SENT ? streamBytesSent : streamBytesReceived).sum();
+        }
+
+        /**
+         * Returns the total amount of stanza bytes that were sent and received.
+         */
+        public long getTotalBytes()
+        {
+            return getBytes(Direction.SENT) + getBytes(Direction.RECEIVED);
+        }
+
+        /**
+         * Returns a human-readable, single-line summary of the traffic in one direction, eg: "12 stanzas, 3456 bytes".
+         */
+        public String describe(final Direction direction)
+        {
+            final String result = getStanzas(direction) + " stanzas, " + getBytes(direction) + " bytes";
+            final long streamBytes = getStreamBytes(direction);
+            return streamBytes == 0 ? result : result + " (" + streamBytes + " bytes on the XML stream)";
+        }
+
+        /**
+         * Formats the traffic as a human-readable table, with one line per flow.
+         */
+        public String format()
+        {
+            final StringBuilder sb = new StringBuilder();
+            for (final Direction direction : Direction.values()) {
+                sb.append(direction.getLabel()).append(": ").append(describe(direction)).append('\n');
+            }
+            for (final Map.Entry<Flow, Counter> entry : getFlows().entrySet()) {
+                sb.append(String.format("%-8s %-8s %-50s %6d stanzas %10d bytes%n", entry.getKey().getDirection().getLabel(), entry.getKey().getKind(), entry.getKey().getNamespace(), entry.getValue().getStanzas(), entry.getValue().getBytes()));
+            }
+            return sb.toString();
+        }
+
+        /**
+         * Returns the traffic per flow, summed over a number of instances.
+         */
+        public static SortedMap<Flow, Counter> sum(final Collection<? extends Traffic> traffic)
+        {
+            final Traffic result = new Traffic();
+            for (final Traffic t : traffic) {
+                t.flows.forEach((flow, counter) -> result.flows.computeIfAbsent(flow, k -> new Counter()).add(counter));
+            }
+            return result.getFlows();
+        }
+    }
+
+    /**
+     * The amount of stanzas and bytes of one flow.
+     */
+    public static class Counter
+    {
+        private final LongAdder stanzas = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        void add(final long bytes)
+        {
+            this.stanzas.increment();
+            this.bytes.add(bytes);
+        }
+
+        void add(final Counter other)
+        {
+            this.stanzas.add(other.getStanzas());
+            this.bytes.add(other.getBytes());
+        }
+
+        public long getStanzas()
+        {
+            return stanzas.sum();
+        }
+
+        public long getBytes()
+        {
+            return bytes.sum();
+        }
+    }
+
+    /**
+     * The combination of direction, kind of stanza (or nonza) and namespace of its first child element.
+     */
+    public static class Flow implements Comparable<Flow>
+    {
+        private final Direction direction;
+        private final String kind;
+        private final String namespace;
+
+        public Flow(final Direction direction, final String kind, final String namespace)
+        {
+            this.direction = direction;
+            this.kind = kind;
+            this.namespace = namespace;
+        }
+
+        public Direction getDirection()
+        {
+            return direction;
+        }
+
+        public String getKind()
+        {
+            return kind;
+        }
+
+        public String getNamespace()
+        {
+            return namespace;
+        }
+
+        @Override
+        public int compareTo(final Flow o)
+        {
+            int result = direction.compareTo(o.direction);
+            if (result == 0) {
+                result = kind.compareTo(o.kind);
+            }
+            return result != 0 ? result : namespace.compareTo(o.namespace);
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final Flow flow = (Flow) o;
+            return direction == flow.direction && kind.equals(flow.kind) && namespace.equals(flow.namespace);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(direction, kind, namespace);
+        }
+
+        @Override
+        public String toString()
+        {
+            return direction.getLabel() + " " + kind + (namespace.isEmpty() ? "" : " " + namespace);
+        }
+    }
+}
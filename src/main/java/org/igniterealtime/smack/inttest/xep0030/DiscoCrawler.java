@@ -0,0 +1,333 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.xep0030;
+
+import org.igniterealtime.smack.inttest.util.BenchmarkReport;
+import org.igniterealtime.smack.inttest.util.LatencyRecorder;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.XMPPConnection;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smackx.disco.ServiceDiscoveryManager;
+import org.jivesoftware.smackx.disco.packet.DiscoverInfo;
+import org.jivesoftware.smackx.disco.packet.DiscoverItems;
+import org.jxmpp.jid.Jid;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Retrieves all accessible service discovery items in a tree, including the "Node Hierarchy" as defined in XEP-0030
+ * section 4.2.
+ *
+ * Nodes of the tree are crawled in parallel, with a bounded amount of nodes being queried at the same time. Each entity
+ * (identified by its JID and node) is queried at most once, which prevents loops in the tree from being followed.
+ * Optionally, the depth of the crawl can be limited.
+ *
+ * Apart from the tree, the result of a crawl contains the time that it took, and the latency of the disco#info and
+ * disco#items requests that were sent, which makes the crawler usable as a benchmark of service discovery on servers
+ * with large trees (eg: many MUC rooms or pubsub nodes).
+ *
+ * @author Guus der Kinderen, guus@goodbytes.nl
+ * @see <a href="https://xmpp.org/extensions/xep-0030.html">XEP-0030: Service Discovery</a>
+ */
+public class DiscoCrawler
+{
+    private final ServiceDiscoveryManager manager;
+    private final int maxConcurrency;
+    private final int maxDepth;
+
+    /**
+     * Creates a new crawler.
+     *
+     * @param connection The connection used to send requests.
+     * @param maxConcurrency The maximum amount of nodes that are queried at the same time (each node is queried with up to two requests).
+     * @param maxDepth The maximum depth of nodes that are queried (where the root has a depth of 0), or -1 for no limit.
+     */
+    public DiscoCrawler(final XMPPConnection connection, final int maxConcurrency, final int maxDepth)
+    {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be a positive number, but was: " + maxConcurrency);
+        }
+        this.manager = ServiceDiscoveryManager.getInstanceFor(connection);
+        this.maxConcurrency = maxConcurrency;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Crawls the tree that starts at the provided entity.
+     *
+     * Entities that respond to a disco#info request with an error are not part of the returned tree. Entities that
+     * respond to a disco#items request with an error are part of the tree, but have no children. No disco#items request
+     * is sent to entities at the maximum depth.
+     *
+     * @param root The entity to start the crawl at.
+     * @return The crawled tree, with statistics on the crawl.
+     */
+    public Result crawl(final Coordinates root) throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
+    {
+        final Result result = new Result();
+        final Set<Coordinates> visited = ConcurrentHashMap.newKeySet();
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        final AtomicInteger pending = new AtomicInteger(1); // One for the crawl itself, and one for each node that is being queried.
+        final CountDownLatch done = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(maxConcurrency);
+        try {
+            final long start = System.nanoTime();
+            submit(executor, pending, done, failure, result, visited, result.getRoot(), root, 0);
+            if (pending.decrementAndGet() == 0) {
+                done.countDown();
+            }
+            done.await();
+            result.elapsed = Duration.ofNanos(System.nanoTime() - start);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final Exception e = failure.get();
+        if (e instanceof SmackException.NotConnectedException) {
+            throw (SmackException.NotConnectedException) e;
+        }
+        if (e instanceof SmackException.NoResponseException) {
+            throw (SmackException.NoResponseException) e;
+        }
+        if (e instanceof InterruptedException) {
+            throw (InterruptedException) e;
+        }
+        if (e != null) {
+            throw new IllegalStateException("Unexpected exception while crawling service discovery items.", e);
+        }
+        return result;
+    }
+
+    private void submit(final ExecutorService executor, final AtomicInteger pending, final CountDownLatch done, final AtomicReference<Exception> failure, final Result result, final Set<Coordinates> visited, final TreeNode parent, final Coordinates coordinates, final int depth)
+    {
+        if (failure.get() != null || (maxDepth >= 0 && depth > maxDepth) || !visited.add(coordinates)) {
+            // Do not visit nodes that are too deep, or that have already been visited before (to avoid recursion).
+            return;
+        }
+        pending.incrementAndGet();
+        executor.execute(() -> {
+            try {
+                final DiscoverInfo discoveredInfo;
+                final long infoStart = System.nanoTime();
+                try {
+                    discoveredInfo = manager.discoverInfo(coordinates.getJid(), coordinates.getNode());
+                } catch (XMPPException.XMPPErrorException e) {
+                    // Unable to crawl this particular node.
+                    result.errors.incrementAndGet();
+                    return;
+                } finally {
+                    result.infoLatency.recordSince(infoStart);
+                }
+                final TreeNode treeNode = new TreeNode(parent, coordinates, discoveredInfo);
+                parent.getChildren().add(treeNode);
+                result.maxDepth.accumulateAndGet(depth, Math::max);
+
+                if (maxDepth >= 0 && depth == maxDepth) {
+                    // The items of this node would be too deep to be visited.
+                    return;
+                }
+
+                final DiscoverItems discoveredItems;
+                final long itemsStart = System.nanoTime();
+                try {
+                    discoveredItems = manager.discoverItems(coordinates.getJid(), coordinates.getNode());
+                } catch (XMPPException.XMPPErrorException e) {
+                    // Unable to crawl this particular node.
+                    result.errors.incrementAndGet();
+                    return;
+                } finally {
+                    result.itemsLatency.recordSince(itemsStart);
+                }
+                for (final DiscoverItems.Item item : discoveredItems.getItems()) {
+                    submit(executor, pending, done, failure, result, visited, treeNode, Coordinates.of(item), depth + 1);
+                }
+            } catch (Exception e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                if (pending.decrementAndGet() == 0) {
+                    done.countDown();
+                }
+            }
+        });
+    }
+
+    /**
+     * The outcome of a crawl.
+     */
+    public static class Result
+    {
+        private final TreeNode root = new TreeNode(null, null, null);
+        private final LatencyRecorder infoLatency = new LatencyRecorder();
+        private final LatencyRecorder itemsLatency = new LatencyRecorder();
+        private final AtomicInteger errors = new AtomicInteger();
+        private final AtomicInteger maxDepth = new AtomicInteger();
+        private Duration elapsed;
+
+        /**
+         * Returns a node without coordinates or info, which children are the entities at which the crawl started.
+         */
+        public TreeNode getRoot()
+        {
+            return root;
+        }
+
+        public Duration getElapsed()
+        {
+            return elapsed;
+        }
+
+        public LatencyRecorder getInfoLatency()
+        {
+            return infoLatency;
+        }
+
+        public LatencyRecorder getItemsLatency()
+        {
+            return itemsLatency;
+        }
+
+        /**
+         * Returns the amount of requests that were answered with an error.
+         */
+        public int getErrors()
+        {
+            return errors.get();
+        }
+
+        /**
+         * Returns the depth of the deepest node that was found.
+         */
+        public int getMaxDepth()
+        {
+            return maxDepth.get();
+        }
+
+        /**
+         * Adds the statistics of this crawl to a report.
+         */
+        public BenchmarkReport addTo(final BenchmarkReport report)
+        {
+            return report
+                .add("crawl time", elapsed)
+                .add("nodes", root.getAllDescendants().size())
+                .add("depth", getMaxDepth())
+                .add("error responses", getErrors())
+                .add("disco#info latency", infoLatency)
+                .add("disco#items latency", itemsLatency)
+                .addRate("requests/sec", infoLatency.getCount() + itemsLatency.getCount(), elapsed);
+        }
+    }
+
+    public static class TreeNode {
+        private final TreeNode parent;
+        private final Coordinates coordinates;
+        private final DiscoverInfo info;
+        private final Collection<TreeNode> children;
+
+        public TreeNode(TreeNode parent, Coordinates coordinates, DiscoverInfo info)
+        {
+            this.parent = parent;
+            this.coordinates = coordinates;
+            this.info = info;
+            this.children = ConcurrentHashMap.newKeySet();
+        }
+
+        public TreeNode getParent() {
+            return parent;
+        }
+
+        public Coordinates getCoordinates()
+        {
+            return coordinates;
+        }
+
+        public DiscoverInfo getInfo()
+        {
+            return info;
+        }
+
+        public Collection<TreeNode> getChildren()
+        {
+            return children;
+        }
+
+        public Collection<TreeNode> getAllDescendants() {
+            final HashSet<TreeNode> result = new HashSet<>();
+            getDescendants(result, this);
+            return result;
+        }
+
+        void getDescendants(Collection<TreeNode> result, TreeNode node) {
+            for (TreeNode child : node.getChildren()) {
+                if (result.add(child)) {
+                    getDescendants(result, child);
+                }
+            }
+        }
+    }
+
+    public static class Coordinates
+    {
+        private final Jid jid;
+
+        private final String node;
+
+        public static Coordinates of(final DiscoverItems.Item item) {
+            return new Coordinates(item.getEntityID(), item.getNode());
+        }
+
+        public Coordinates(final Jid jid, final String node)
+        {
+            this.jid = jid;
+            this.node = node;
+        }
+
+        public Jid getJid()
+        {
+            return jid;
+        }
+
+        public String getNode()
+        {
+            return node;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Coordinates that = (Coordinates) o;
+            return Objects.equals(jid, that.jid) && Objects.equals(node, that.node);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(jid, node);
+        }
+    }
+}
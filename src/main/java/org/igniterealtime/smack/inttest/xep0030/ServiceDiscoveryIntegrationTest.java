@@ -20,6 +20,9 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.BenchmarkConfiguration;
+import org.igniterealtime.smack.inttest.util.BenchmarkReport;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
 import org.jivesoftware.smack.packet.Stanza;
@@ -30,14 +33,12 @@ import org.jivesoftware.smackx.disco.ServiceDiscoveryManager;
 import org.jivesoftware.smackx.disco.packet.DiscoverInfo;
 import org.jivesoftware.smackx.disco.packet.DiscoverItems;
 import org.jxmpp.jid.EntityBareJid;
-import org.jxmpp.jid.Jid;
 import org.jxmpp.jid.impl.JidCreate;
 import org.jxmpp.jid.parts.Localpart;
 import org.jxmpp.stringprep.XmppStringprepException;
 
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -49,6 +50,8 @@ import static org.junit.jupiter.api.Assertions.*;
 @SpecificationReference(document = "XEP-0030", version = "2.5.0")
 public class ServiceDiscoveryIntegrationTest extends AbstractSmackIntegrationTest
 {
+    private DiscoCrawler.Result crawlResult;
+
     public ServiceDiscoveryIntegrationTest(SmackIntegrationTestEnvironment environment) throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         super(environment);
@@ -70,14 +73,17 @@ public class ServiceDiscoveryIntegrationTest extends AbstractSmackIntegrationTes
     public void testDiscoInfoResponseContainsIdentity() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
+        Phases.setup();
         final DiscoverInfo request = DiscoverInfo.builder(conOne)
             .to(conOne.getXMPPServiceDomain())
             .build();
 
         // Execute system-under-test.
+        Phases.execute();
         final DiscoverInfo response = connection.sendIqRequestAndWaitForResponse(request);
 
         // Verify result.
+        Phases.verify();
         assertFalse(response.getIdentities().isEmpty(), "Expected the disco#info response from '" + conOne.getXMPPServiceDomain() + "' to contain at least one identity (but it did not).");
     }
 
@@ -88,14 +94,17 @@ public class ServiceDiscoveryIntegrationTest extends AbstractSmackIntegrationTes
     public void testDiscoInfoResponseContainsFeature() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
+        Phases.setup();
         final DiscoverInfo request = DiscoverInfo.builder(conOne)
             .to(conOne.getXMPPServiceDomain())
             .build();
 
         // Execute system-under-test.
+        Phases.execute();
         final DiscoverInfo response = connection.sendIqRequestAndWaitForResponse(request);
 
         // Verify result.
+        Phases.verify();
         assertFalse(response.getFeatures().isEmpty(), "Expected the disco#info response from '" + conOne.getXMPPServiceDomain() + "' to contain at least one feature (but it did not).");
     }
 
@@ -107,14 +116,17 @@ public class ServiceDiscoveryIntegrationTest extends AbstractSmackIntegrationTes
     public void testDiscoInfoResponseContainsDiscoInfoFeature() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
+        Phases.setup();
         final DiscoverInfo request = DiscoverInfo.builder(conOne)
             .to(conOne.getXMPPServiceDomain())
             .build();
 
         // Execute system-under-test.
+        Phases.execute();
         final DiscoverInfo response = connection.sendIqRequestAndWaitForResponse(request);
 
         // Verify result.
+        Phases.verify();
         final String needle = "http://jabber.org/protocol/disco#info";
         assertTrue(response.getFeatures().stream().anyMatch(feature -> feature.getVar().equals(needle)), "Expected the disco#info response from '" + conOne.getXMPPServiceDomain() + "' to contain the '" + needle + "' feature (but it did not).");
     }
@@ -126,15 +138,18 @@ public class ServiceDiscoveryIntegrationTest extends AbstractSmackIntegrationTes
     public void testIdentitiesPossessCategory() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
+        Phases.setup();
         final DiscoverInfo request = DiscoverInfo.builder(conOne)
             .to(conOne.getXMPPServiceDomain())
             .build();
 
         // Execute system-under-test.
+        Phases.execute();
         try {
             connection.sendIqRequestAndWaitForResponse(request);
         } catch (IllegalArgumentException e) {
             // Verify result.
+            Phases.verify();
             // Smack's XMPP parser will catch a missing category, and will throw an exception with this particular message.
             if ("category cannot be null".equals(e.getMessage())) { // TODO: Instead of hard-coding the error message used by Smack, detect it programmatically.
                 fail("Expected all 'identity' elements returned by '" + conOne.getXMPPServiceDomain() + "' to contain a category (but at least one did not).");
@@ -151,15 +166,18 @@ public class ServiceDiscoveryIntegrationTest extends AbstractSmackIntegrationTes
     public void testIdentitiesPossessType() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
+        Phases.setup();
         final DiscoverInfo request = DiscoverInfo.builder(conOne)
             .to(conOne.getXMPPServiceDomain())
             .build();
 
         // Execute system-under-test.
+        Phases.execute();
         try {
             connection.sendIqRequestAndWaitForResponse(request);
         } catch (IllegalArgumentException e) {
             // Verify result.
+            Phases.verify();
             // Smack's XMPP parser will catch a missing category, and will throw an exception with this particular message.
             if ("type cannot be null".equals(e.getMessage())) { // TODO: Instead of hard-coding the error message used by Smack, detect it programmatically.
                 fail("Expected all 'identity' elements returned by '" + conOne.getXMPPServiceDomain() + "' to contain a type (but at least one did not).");
@@ -177,14 +195,17 @@ public class ServiceDiscoveryIntegrationTest extends AbstractSmackIntegrationTes
     public void testDiscoInfoResponseNoDifferentNameForCatTypeAndLang() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
+        Phases.setup();
         final DiscoverInfo request = DiscoverInfo.builder(conOne)
             .to(conOne.getXMPPServiceDomain())
             .build();
 
         // Execute system-under-test.
+        Phases.execute();
         final DiscoverInfo response = connection.sendIqRequestAndWaitForResponse(request);
 
         // Verify result.
+        Phases.verify();
         final Function<DiscoverInfo.Identity, String> keyFunction = identity -> identity.getCategory() + "|" + identity.getType() + "|" + identity.getLanguage();
         final ConcurrentMap<String, HashSet<String>> namesByKey = new ConcurrentHashMap<>();
         for (final DiscoverInfo.Identity identity : response.getIdentities()) {
@@ -200,15 +221,18 @@ public class ServiceDiscoveryIntegrationTest extends AbstractSmackIntegrationTes
     public void testFeaturesPossessVar() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
+        Phases.setup();
         final DiscoverInfo request = DiscoverInfo.builder(conOne)
             .to(conOne.getXMPPServiceDomain())
             .build();
 
         // Execute system-under-test.
+        Phases.execute();
         try {
             connection.sendIqRequestAndWaitForResponse(request);
         } catch (IllegalArgumentException e) {
             // Verify result.
+            Phases.verify();
             // Smack's XMPP parser will catch a missing category, and will throw an exception with this particular message.
             if ("variable cannot be null".equals(e.getMessage())) { // TODO: Instead of hard-coding the error message used by Smack, detect it programmatically.
                 fail("Expected all 'feature' elements returned by '" + conOne.getXMPPServiceDomain() + "' to contain a var (but at least one did not).");
@@ -226,12 +250,14 @@ public class ServiceDiscoveryIntegrationTest extends AbstractSmackIntegrationTes
         Stanza response;
         try {
             // Execute system-under-test.
+            Phases.execute();
             response = ServiceDiscoveryManager.getInstanceFor(conOne).discoverItems(conOne.getXMPPServiceDomain());
         } catch (XMPPException.XMPPErrorException e) {
             response = e.getStanza();
         }
 
         // Verify result.
+        Phases.verify();
         assertNotNull(response, "Expected '" + conOne.getUser()  + "' to receive a response (either an error or a result) from '" + conOne.getXMPPServiceDomain() + "' on the discovery items request that it sent.");
     }
 
@@ -240,23 +266,17 @@ public class ServiceDiscoveryIntegrationTest extends AbstractSmackIntegrationTes
      */
     @SmackIntegrationTest(section = "4.1", quote = "the <item/> child MUST possess a 'jid' attribute specifying the JID of the item")
     public void testDiscoItemsHaveJidNodeHierarchy() throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException {
-        try {
-            // Prepare fixture
-            final TreeNode root = new TreeNode(null,null, null);
-
-            // Execute system-under-test.
-            populate(root, ServiceDiscoveryManager.getInstanceFor(conOne), new Coordinates(conOne.getXMPPServiceDomain(), null), new HashSet<>());
-            final Collection<TreeNode> everything = root.getAllDescendants();
-
-            // Verify result.
-            if (everything.isEmpty()) {
-                throw new TestNotPossibleException("Service " + conOne.getXMPPServiceDomain() + " returns an empty list of disco items, making it impossible to test if items have a 'jid' attribute value.");
-            }
+        // Execute system-under-test.
+        Phases.execute();
+        final Collection<DiscoCrawler.TreeNode> everything = getCrawlResult().getRoot().getAllDescendants();
 
-            assertFalse(everything.stream().anyMatch(treeNode -> treeNode.getCoordinates().getJid() == null), "Expected all disco items returned by '" + conOne.getXMPPServiceDomain() + "' to contain a 'jid' attribute value (but at least one did not).");
-        } catch (XMPPException.XMPPErrorException e) {
-            throw new TestNotPossibleException("Service " + conOne.getXMPPServiceDomain() + " returns an IQ error instead of disco items, making it impossible to test if items have a 'jid' attribute value.");
+        // Verify result.
+        Phases.verify();
+        if (everything.isEmpty()) {
+            throw new TestNotPossibleException("Service " + conOne.getXMPPServiceDomain() + " returns an empty list of disco items, making it impossible to test if items have a 'jid' attribute value.");
         }
+
+        assertFalse(everything.stream().anyMatch(treeNode -> treeNode.getCoordinates().getJid() == null), "Expected all disco items returned by '" + conOne.getXMPPServiceDomain() + "' to contain a 'jid' attribute value (but at least one did not).");
     }
 
     /**
@@ -264,39 +284,33 @@ public class ServiceDiscoveryIntegrationTest extends AbstractSmackIntegrationTes
      */
     @SmackIntegrationTest(section = "4.3", quote = "If the hierarchy category is used, every node in the hierarchy MUST be identified as either a branch or a leaf")
     public void testDiscoItemsHaveConsistentHierarchy() throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException {
-        try {
-            // Prepare fixture
-            final TreeNode root = new TreeNode(null, null, null);
-
-            // Execute system-under-test.
-            populate(root, ServiceDiscoveryManager.getInstanceFor(conOne), new Coordinates(conOne.getXMPPServiceDomain(), null), new HashSet<>());
-            final Collection<TreeNode> everything = root.getAllDescendants();
+        // Execute system-under-test.
+        Phases.execute();
+        final Collection<DiscoCrawler.TreeNode> everything = getCrawlResult().getRoot().getAllDescendants();
 
-            // Verify result.
-            final Set<String> hierarchyButNotBranchOrLeaf = everything.stream()
-                .filter(treeNode -> treeNode.getInfo().getIdentities().stream()
-                    .anyMatch(identity -> identity.getCategory().equals("hierarchy") && !Set.of("branch", "leaf").contains(identity.getType()))
-                )
-                .map(TreeNode::getCoordinates)
-                .map(c -> c.getJid() + (c.getNode() == null ? "" : ("#" + c.getNode())))
-                .collect(Collectors.toSet());
-            assertTrue(hierarchyButNotBranchOrLeaf.isEmpty(), "Unexpectedly found service discovery node(s) returned by '" + conOne.getXMPPServiceDomain() + "' that define a category 'branch' but not a type of 'branch' or 'leaf'. Offending node coordinate(s): " + String.join(", ", hierarchyButNotBranchOrLeaf));
-
-            final Set<String> branchWithChildrenOutOfHierarchy = everything.stream()
-                .filter(treeNode -> treeNode.getInfo().hasIdentity("hierarchy", "branch"))
-                .filter(treeNode -> treeNode.getChildren().stream().noneMatch(childNode -> childNode.getInfo().getIdentities().stream().anyMatch(identity -> identity.getCategory().equals("hierarchy"))))
-                .map(TreeNode::getCoordinates)
-                .map(c -> c.getJid() + (c.getNode() == null ? "" : ("#" + c.getNode())))
-                .collect(Collectors.toSet());
-            assertTrue(branchWithChildrenOutOfHierarchy.isEmpty(), "Unexpectedly found service discovery node(s) returned by '" + conOne.getXMPPServiceDomain() + "' that are a 'branch' but have at least one child element that does not identify as either a branch or a leaf. Offending branch node coordinate(s): " + String.join(", ", hierarchyButNotBranchOrLeaf));
-
-            // Assuming that a hierarchy does not need to start at the very root node then:
-            // - a branch, but also a leaf, doesn't have to have a parent that's in the hierarchy (as they're the 'start' of the hierarchy)
-            // - a branch, but also a leaf, can exist in collection of siblings that are not in a hierarchy (as it is the 'start' of the hierarchy that the siblings aren't part of).
-            // TODO: Is this rationale correct? Are more assertions needed in this test?
-        } catch (XMPPException.XMPPErrorException e) {
-            throw new TestNotPossibleException("Service " + conOne.getXMPPServiceDomain() + " returns an IQ error instead of disco items, making it impossible to test if items have a 'jid' attribute value.");
-        }
+        // Verify result.
+        Phases.verify();
+        final Set<String> hierarchyButNotBranchOrLeaf = everything.stream()
+            .filter(treeNode -> treeNode.getInfo().getIdentities().stream()
+                .anyMatch(identity -> identity.getCategory().equals("hierarchy") && !Set.of("branch", "leaf").contains(identity.getType()))
+            )
+            .map(DiscoCrawler.TreeNode::getCoordinates)
+            .map(c -> c.getJid() + (c.getNode() == null ? "" : ("#" + c.getNode())))
+            .collect(Collectors.toSet());
+        assertTrue(hierarchyButNotBranchOrLeaf.isEmpty(), "Unexpectedly found service discovery node(s) returned by '" + conOne.getXMPPServiceDomain() + "' that define a category 'branch' but not a type of 'branch' or 'leaf'. Offending node coordinate(s): " + String.join(", ", hierarchyButNotBranchOrLeaf));
+
+        final Set<String> branchWithChildrenOutOfHierarchy = everything.stream()
+            .filter(treeNode -> treeNode.getInfo().hasIdentity("hierarchy", "branch"))
+            .filter(treeNode -> treeNode.getChildren().stream().noneMatch(childNode -> childNode.getInfo().getIdentities().stream().anyMatch(identity -> identity.getCategory().equals("hierarchy"))))
+            .map(DiscoCrawler.TreeNode::getCoordinates)
+            .map(c -> c.getJid() + (c.getNode() == null ? "" : ("#" + c.getNode())))
+            .collect(Collectors.toSet());
+        assertTrue(branchWithChildrenOutOfHierarchy.isEmpty(), "Unexpectedly found service discovery node(s) returned by '" + conOne.getXMPPServiceDomain() + "' that are a 'branch' but have at least one child element that does not identify as either a branch or a leaf. Offending branch node coordinate(s): " + String.join(", ", hierarchyButNotBranchOrLeaf));
+
+        // Assuming that a hierarchy does not need to start at the very root node then:
+        // - a branch, but also a leaf, doesn't have to have a parent that's in the hierarchy (as they're the 'start' of the hierarchy)
+        // - a branch, but also a leaf, can exist in collection of siblings that are not in a hierarchy (as it is the 'start' of the hierarchy that the siblings aren't part of).
+        // TODO: Is this rationale correct? Are more assertions needed in this test?
     }
 
     /**
@@ -308,15 +322,18 @@ public class ServiceDiscoveryIntegrationTest extends AbstractSmackIntegrationTes
     public void testQueryInfoNonExistingBareJidClientEntityWithoutNode() throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, XmppStringprepException
     {
         // Setup test fixture.
+        Phases.setup();
         final DiscoverInfo request = DiscoverInfo.builder(conOne)
             .to(JidCreate.entityBareFrom(Localpart.from("test-non-existing-bare-jid-" + StringUtils.randomString(19)), conOne.getXMPPServiceDomain()))
             .build();
 
         // Execute system-under-test.
+        Phases.execute();
         try {
             connection.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             fail("Expected the disco#info request from '" + conOne.getUser() + "' to non-existing entity '" + request.getTo() + "' to be responded to with an error (but it was not).");
         } catch (XMPPException.XMPPErrorException e) {
             assertEquals(StanzaError.Condition.service_unavailable, e.getStanzaError().getCondition(), "Unexpected condition in (expected) error response to the disco#info request from '" + conOne.getUser() + "' to non-existing entity '" + request.getTo() + "'.");
@@ -332,16 +349,19 @@ public class ServiceDiscoveryIntegrationTest extends AbstractSmackIntegrationTes
     public void testQueryInfoNonExistingBareJidClientEntityWithNode() throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, XmppStringprepException
     {
         // Setup test fixture.
+        Phases.setup();
         final DiscoverInfo request = DiscoverInfo.builder(conOne)
             .to(JidCreate.entityBareFrom(Localpart.from("test-non-existing-bare-jid-" + StringUtils.randomString(19)), conOne.getXMPPServiceDomain()))
             .setNode("a-test-node-" + StringUtils.randomString(11))
             .build();
 
         // Execute system-under-test.
+        Phases.execute();
         try {
             connection.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             fail("Expected the disco#info request from '" + conOne.getUser() + "' to non-existing entity '" + request.getTo() + "' to be responded to with an error (but it was not).");
         } catch (XMPPException.XMPPErrorException e) {
             assertEquals(StanzaError.Condition.service_unavailable, e.getStanzaError().getCondition(), "Unexpected condition in (expected) error response to the disco#info request from '" + conOne.getUser() + "' to non-existing entity '" + request.getTo() + "'.");
@@ -358,16 +378,19 @@ public class ServiceDiscoveryIntegrationTest extends AbstractSmackIntegrationTes
     public void testQueryInfoWithoutPresenceSubscriptionBareJidWithoutNode() throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
+        Phases.setup();
         RosterUtil.ensureNotSubscribedToEachOther(conOne, conTwo);
         final DiscoverInfo request = DiscoverInfo.builder(conOne)
             .to(conTwo.getUser().asBareJid())
             .build();
 
         // Execute system-under-test.
+        Phases.execute();
         try {
             connection.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             fail("Expected the disco#info request from '" + conOne.getUser() + "' to '" + request.getTo() + "' (which has not granted presence subscription to the requestor) to be responded to with an error (but it was not).");
         } catch (XMPPException.XMPPErrorException e) {
             assertEquals(StanzaError.Condition.service_unavailable, e.getStanzaError().getCondition(), "Unexpected condition in (expected) error response to the disco#info request from '" + conOne.getUser() + "' to '" + request.getTo() + "' (which has not granted presence subscription to the requestor).");
@@ -384,6 +407,7 @@ public class ServiceDiscoveryIntegrationTest extends AbstractSmackIntegrationTes
     public void testQueryInfoWithoutPresenceSubscriptionBareJidWithNode() throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
+        Phases.setup();
         RosterUtil.ensureNotSubscribedToEachOther(conOne, conTwo);
         final DiscoverInfo request = DiscoverInfo.builder(conOne)
             .to(conTwo.getUser().asBareJid())
@@ -391,10 +415,12 @@ public class ServiceDiscoveryIntegrationTest extends AbstractSmackIntegrationTes
             .build();
 
         // Execute system-under-test.
+        Phases.execute();
         try {
             connection.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             fail("Expected the disco#info request from '" + conOne.getUser() + "' to '" + request.getTo() + "' (which has not granted presence subscription to the requestor) to be responded to with an error (but it was not).");
         } catch (XMPPException.XMPPErrorException e) {
             assertEquals(StanzaError.Condition.service_unavailable, e.getStanzaError().getCondition(), "Unexpected condition in (expected) error response to the disco#info request from '" + conOne.getUser() + "' to '" + request.getTo() + "' (which has not granted presence subscription to the requestor).");
@@ -410,13 +436,16 @@ public class ServiceDiscoveryIntegrationTest extends AbstractSmackIntegrationTes
     public void testQueryItemsNonExistingEntityBareJidWithoutNode() throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, XmppStringprepException, XMPPException.XMPPErrorException
     {
         // Setup test fixture.
+        Phases.setup();
         final ServiceDiscoveryManager manOne = ServiceDiscoveryManager.getInstanceFor(conOne);
         final EntityBareJid nonexistingEntityAddress = JidCreate.entityBareFrom(Localpart.from("test-non-existing-bare-jid-" + StringUtils.randomString(19)), conOne.getXMPPServiceDomain());
 
         // Execute system-under-test.
+        Phases.execute();
         final DiscoverItems result = manOne.discoverItems(nonexistingEntityAddress);
 
         // Verify result.
+        Phases.verify();
         assertTrue(result.getItems().isEmpty(), "Expected the disco#items request from '" + conOne.getUser() + "' to non-existing entity '" + nonexistingEntityAddress + "' to be responded to with an empty result set (but it was not).");
     }
 
@@ -428,13 +457,16 @@ public class ServiceDiscoveryIntegrationTest extends AbstractSmackIntegrationTes
     public void testQueryItemsNonExistingEntityBareJidWithNode() throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, XmppStringprepException, XMPPException.XMPPErrorException
     {
         // Setup test fixture.
+        Phases.setup();
         final ServiceDiscoveryManager manOne = ServiceDiscoveryManager.getInstanceFor(conOne);
         final EntityBareJid nonexistingEntityAddress = JidCreate.entityBareFrom(Localpart.from("test-non-existing-bare-jid-" + StringUtils.randomString(19)), conOne.getXMPPServiceDomain());
 
         // Execute system-under-test.
+        Phases.execute();
         final DiscoverItems result = manOne.discoverItems(nonexistingEntityAddress, "a-test-node-" + StringUtils.randomString(11));
 
         // Verify result.
+        Phases.verify();
         assertTrue(result.getItems().isEmpty(), "Expected the disco#items request from '" + conOne.getUser() + "' to non-existing entity '" + nonexistingEntityAddress + "' to be responded to with an empty result set (but it was not).");
     }
 
@@ -448,138 +480,44 @@ public class ServiceDiscoveryIntegrationTest extends AbstractSmackIntegrationTes
     public void testItemsQueryWithoutPresenceSubscriptionBareJidWithoutNode() throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, XmppStringprepException, XMPPException.XMPPErrorException
     {
         // Setup test fixture.
+        Phases.setup();
         RosterUtil.ensureNotSubscribedToEachOther(conOne, conTwo);
         final ServiceDiscoveryManager manOne = ServiceDiscoveryManager.getInstanceFor(conOne);
 
         // Execute system-under-test.
+        Phases.execute();
         final DiscoverItems result = manOne.discoverItems(conTwo.getUser().asEntityBareJid());
 
         // Verify result.
+        Phases.verify();
         assertFalse(result.getItems().stream().anyMatch(item -> item.getNode() == null && item.getEntityID() != null && item.getEntityID().isEntityFullJid()), "Expected the disco#items request from '" + conOne.getUser() + "' to '" + conTwo.getUser() + "' (which has not granted presence subscription to the requestor) to not include any available resources (but it did).");
     }
 
     /**
-     * Retrieves all accessible service discovery items in a tree, including the "Node Hierarchy" as defined in XEP-0030 section 4.2.
+     * Crawls all accessible service discovery items of the domain under test (once, as the result is shared by all
+     * tests that need it), and reports on the performance of that crawl.
+     *
+     * The amount of nodes that is queried concurrently can be configured with the system property
+     * <tt>sinttest.benchmark.disco.concurrency</tt> (default: 8), the maximum depth of the crawl with
+     * <tt>sinttest.benchmark.disco.depth</tt> (default: unlimited).
      */
-    private void populate(final TreeNode parent, final ServiceDiscoveryManager manager, final Coordinates coordinates, final Set<Coordinates> uniques) throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
+    private synchronized DiscoCrawler.Result getCrawlResult() throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
-        if (!uniques.add(coordinates)) {
-            // This node has already been visited before. To avoid recursion, stop here.
-            return;
-        }
-
-        final DiscoverInfo discoveredInfo;
-        try {
-            discoveredInfo = manager.discoverInfo(coordinates.getJid(), coordinates.getNode());
-        } catch (XMPPException.XMPPErrorException e) {
-            // Unable to crawl this particular node.
-            return;
-        }
-        final TreeNode treeNode = new TreeNode(parent, coordinates, discoveredInfo);
-        parent.getChildren().add(treeNode);
-
-        final DiscoverItems discoveredItems;
-        try {
-            discoveredItems = manager.discoverItems(coordinates.getJid(), coordinates.getNode());
-        } catch (XMPPException.XMPPErrorException e) {
-            // Unable to crawl this particular node.
-            return;
-        }
-        if (!discoveredItems.getItems().isEmpty()) {
-            for (final DiscoverItems.Item item : discoveredItems.getItems()) {
-                final Coordinates childCoordinates = Coordinates.of(item);
-                populate(treeNode, manager, childCoordinates, uniques);
+        if (crawlResult == null) {
+            final int concurrency = BenchmarkConfiguration.getInt("disco.concurrency", 8);
+            final int depth = BenchmarkConfiguration.getInt("disco.depth", -1);
+            final DiscoCrawler.Result result = new DiscoCrawler(conOne, concurrency, depth).crawl(new DiscoCrawler.Coordinates(conOne.getXMPPServiceDomain(), null));
+
+            // The crawl is needed by conformance tests, but is reported as a benchmark only when benchmarks are enabled.
+            if (BenchmarkConfiguration.isEnabled()) {
+                result.addTo(new BenchmarkReport("XEP-0030 service discovery crawl (concurrency " + concurrency + ", depth limit " + (depth < 0 ? "none" : depth) + ")", conOne.getXMPPServiceDomain()))
+                    .publish();
             }
+            crawlResult = result;
         }
-    }
-
-    public static class TreeNode {
-        private final TreeNode parent;
-        private final Coordinates coordinates;
-        private final DiscoverInfo info;
-        private final Collection<TreeNode> children;
-
-        public TreeNode(TreeNode parent, Coordinates coordinates, DiscoverInfo info)
-        {
-            this.parent = parent;
-            this.coordinates = coordinates;
-            this.info = info;
-            this.children = new HashSet<>();
-        }
-
-        public TreeNode getParent() {
-            return parent;
-        }
-
-        public Coordinates getCoordinates()
-        {
-            return coordinates;
-        }
-
-        public DiscoverInfo getInfo()
-        {
-            return info;
-        }
-
-        public Collection<TreeNode> getChildren()
-        {
-            return children;
-        }
-
-        public Collection<TreeNode> getAllDescendants() {
-            final HashSet<TreeNode> result = new HashSet<>();
-            getDescendants(result, this);
-            return result;
-        }
-
-        void getDescendants(Collection<TreeNode> result, TreeNode node) {
-            for (TreeNode child : node.getChildren()) {
-                if (result.add(child)) {
-                    getDescendants(result, child);
-                }
-            }
-        }
-    }
-
-    public static class Coordinates
-    {
-        private final Jid jid;
-
-        private final String node;
-
-        public static Coordinates of(final DiscoverItems.Item item) {
-            return new Coordinates(item.getEntityID(), item.getNode());
-        }
-
-        public Coordinates(final Jid jid, final String node)
-        {
-            this.jid = jid;
-            this.node = node;
-        }
-
-        public Jid getJid()
-        {
-            return jid;
-        }
-
-        public String getNode()
-        {
-            return node;
-        }
-
-        @Override
-        public boolean equals(Object o)
-        {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            Coordinates that = (Coordinates) o;
-            return Objects.equals(jid, that.jid) && Objects.equals(node, that.node);
-        }
-
-        @Override
-        public int hashCode()
-        {
-            return Objects.hash(jid, node);
+        if (crawlResult.getRoot().getChildren().isEmpty()) {
+            throw new TestNotPossibleException("Service " + conOne.getXMPPServiceDomain() + " returns an IQ error instead of disco info, making it impossible to crawl its disco items.");
         }
+        return crawlResult;
     }
 }
@@ -20,6 +20,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.jivesoftware.smack.AbstractXMPPConnection;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
@@ -63,9 +64,11 @@ public class ServiceDiscoveryLowLevelIntegrationTest extends AbstractSmackLowLev
     public void testServerInfoResponseForRequestToBareJid(final AbstractXMPPConnection conOne, final AbstractXMPPConnection conTwo) throws SmackException.NotConnectedException, InterruptedException
     {
         // Setup test fixture.
+        Phases.setup();
         conTwo.disconnect(); // Shut down the client, to ensure that any response is generated by the server.
 
         // Execute system under test.
+        Phases.execute();
         Stanza response = null;
         try {
             final DiscoverInfo request = DiscoverInfo.builder(conOne)
@@ -88,9 +91,11 @@ public class ServiceDiscoveryLowLevelIntegrationTest extends AbstractSmackLowLev
     public void testServerItemsResponseForRequestToBareJid(final AbstractXMPPConnection conOne, final AbstractXMPPConnection conTwo) throws SmackException.NotConnectedException, InterruptedException
     {
         // Setup test fixture.
+        Phases.setup();
         conTwo.disconnect(); // Shut down the client, to ensure that any response is generated by the server.
 
         // Execute system under test.
+        Phases.execute();
         Stanza response = null;
         try {
             response = ServiceDiscoveryManager.getInstanceFor(conOne)
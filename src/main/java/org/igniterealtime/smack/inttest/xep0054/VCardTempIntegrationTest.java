@@ -20,6 +20,8 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
+import org.igniterealtime.smack.inttest.util.ServerCapabilities;
 import org.jivesoftware.smack.ListenerHandle;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.StanzaCollector;
@@ -49,9 +51,7 @@ public class VCardTempIntegrationTest extends AbstractSmackIntegrationTest
     {
         super(environment);
 
-        if (!VCardManager.getInstanceFor(conOne).isSupported(conOne.getXMPPServiceDomain())) {
-            throw new TestNotPossibleException("Domain does not seem support XEP-0054 vcard-temp.");
-        }
+        ServerCapabilities.of(conOne).requireServerFeature(VCardManager.NAMESPACE, "Domain does not seem support XEP-0054 vcard-temp.");
     }
 
     /**
@@ -61,14 +61,17 @@ public class VCardTempIntegrationTest extends AbstractSmackIntegrationTest
     public void testRequestOwnExistingVCard() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
+        Phases.setup();
         final VCard vCard = new VCard();
         vCard.setFirstName("John");
         VCardManager.getInstanceFor(conOne).saveVCard(vCard);
 
         // Execute system-under-test.
+        Phases.execute();
         final VCard result = conOne.sendIqRequestAndWaitForResponse(new VCard());
 
         // Verify result.
+        Phases.verify();
         assertNotNull(result, "Expected the request of '" + conOne.getUser() + " for its VCard to be responded to by its domain with a VCard (but no VCard was returned).");
     }
 
@@ -79,6 +82,7 @@ public class VCardTempIntegrationTest extends AbstractSmackIntegrationTest
     public void testPublishVCard() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         try {
             final VCard preExistingVCard = VCardManager.getInstanceFor(conTwo).loadVCard();
             if (preExistingVCard != null && !preExistingVCard.equals(new VCard())) {
@@ -93,9 +97,11 @@ public class VCardTempIntegrationTest extends AbstractSmackIntegrationTest
         publish.setFirstName("John");
 
         // Execute system-under-test.
+        Phases.execute();
         final IQ result = conTwo.sendIqRequestAndWaitForResponse(publish);
 
         // Verify result.
+        Phases.verify();
         assertEquals(IQ.Type.result, result.getType(), "Expected the request of '" + conTwo.getUser() + " to set it's initial VCard to be responded to by its domain with a 'result' typed IQ stanza response (but it was not).");
     }
 
@@ -106,6 +112,7 @@ public class VCardTempIntegrationTest extends AbstractSmackIntegrationTest
     public void testUpdateVCard() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
+        Phases.setup();
         final VCard original = new VCard();
         original.setType(IQ.Type.set);
         original.setFirstName("Jane");
@@ -116,9 +123,11 @@ public class VCardTempIntegrationTest extends AbstractSmackIntegrationTest
         update.setFirstName("John");
 
         // Execute system-under-test.
+        Phases.execute();
         final IQ result = conOne.sendIqRequestAndWaitForResponse(update);
 
         // Verify result.
+        Phases.verify();
         assertEquals(IQ.Type.result, result.getType(), "Expected the request of '" + conOne.getUser() + " to replace its VCard to be responded to by its domain with a 'result' typed IQ stanza response (but it was not).");
     }
 
@@ -129,16 +138,19 @@ public class VCardTempIntegrationTest extends AbstractSmackIntegrationTest
     public void testUpdateOtherUsersVCard() throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
+        Phases.setup();
         final VCard request = new VCard();
         request.setType(IQ.Type.set);
         request.setFirstName("Jake");
 
         // Execute system-under-test.
+        Phases.execute();
         request.setTo(conTwo.getUser().asBareJid());
         try {
             conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             fail("Expected the server to return an error when '" + conOne.getUser() + "' tried to set a vcard for someone else ('" + request.getTo() + "') (but the server did not).");
         } catch (XMPPException.XMPPErrorException e) {
             assertNotNull(e.getStanzaError(), "Expected the server to return a non-empty error when '" + conOne.getUser() + "' tried to set a vcard for someone else ('" + request.getTo() + "') (but the server did not).");
@@ -153,6 +165,7 @@ public class VCardTempIntegrationTest extends AbstractSmackIntegrationTest
     public void testRequestAnsweredByServerWhenRecipientHasNoVCard() throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         try {
             final VCard preExistingVCard = VCardManager.getInstanceFor(conThree).loadVCard();
             if (preExistingVCard != null && !preExistingVCard.equals(new VCard())) {
@@ -169,6 +182,7 @@ public class VCardTempIntegrationTest extends AbstractSmackIntegrationTest
         try (final ListenerHandle ignored = conThree.addStanzaListener(stanza -> conThreeGotRequest.set(true), new AndFilter(IQTypeFilter.GET, FromMatchesFilter.createBare(conOne.getUser()), new StanzaExtensionFilter(VCard.ELEMENT, VCard.NAMESPACE))))
         {
             // Execute system-under-test.
+            Phases.execute();
             try {
                 conOne.sendIqRequestAndWaitForResponse(request);
             } catch (XMPPException.XMPPErrorException e) {
@@ -176,6 +190,7 @@ public class VCardTempIntegrationTest extends AbstractSmackIntegrationTest
             }
 
             // Verify result
+            Phases.verify();
             assertFalse(conThreeGotRequest.get(), "Did NOT expect '" + conThree.getUser() + "' to receive the request made by '" + conOne.getUser() + "' to the bare JID of '" + conThree.getUser() + "' (but the request was unexpectedly received anyway).");
         }
     }
@@ -188,6 +203,7 @@ public class VCardTempIntegrationTest extends AbstractSmackIntegrationTest
     public void testRequestAnsweredByServerWhenRecipientHasVCard() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
+        Phases.setup();
         final VCard publish = new VCard();
         publish.setType(IQ.Type.set);
         publish.setFirstName("Jane");
@@ -200,9 +216,11 @@ public class VCardTempIntegrationTest extends AbstractSmackIntegrationTest
         try (final ListenerHandle ignored = conOne.addStanzaListener(stanza -> conOneGotRequest.set(true), new AndFilter(IQTypeFilter.GET, FromMatchesFilter.createBare(conTwo.getUser()), new StanzaExtensionFilter(VCard.ELEMENT, VCard.NAMESPACE))))
         {
             // Execute system-under-test.
+            Phases.execute();
             conTwo.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             assertFalse(conOneGotRequest.get(), "Did NOT expect '" + conOne.getUser() + "' to receive the request made by '" + conTwo.getUser() + "' to the bare JID of '" + conOne.getUser() + "' (but the request was unexpectedly received anyway).");
         }
     }
@@ -214,6 +232,7 @@ public class VCardTempIntegrationTest extends AbstractSmackIntegrationTest
     public void testForErrorWhenRecipientHasNoVCard() throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         try {
             final VCard preExistingVCard = VCardManager.getInstanceFor(conThree).loadVCard();
             if (preExistingVCard != null && !preExistingVCard.equals(new VCard())) {
@@ -227,9 +246,11 @@ public class VCardTempIntegrationTest extends AbstractSmackIntegrationTest
 
         try {
             // Execute system under test
+            Phases.execute();
             conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             fail("Expected the server to return an error when '" + conOne.getUser() + "' requested a vcard from a user that does not have one ('" + request.getTo() + "') (but the server did not).");
         } catch (XMPPException.XMPPErrorException e) {
             assertNotNull(e.getStanzaError(), "Expected the server to return a non-empty error when '" + conOne.getUser() + "' requested a vcard from a user that does not have one ('" + request.getTo() + "') (but the server did not).");
@@ -243,14 +264,17 @@ public class VCardTempIntegrationTest extends AbstractSmackIntegrationTest
     public void testForErrorWhenRecipientDoesntExist() throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, XmppStringprepException
     {
         // Setup test fixture.
+        Phases.setup();
         final VCard request = new VCard();
         request.setTo(JidCreate.entityBareFrom(Localpart.from("non-existing-test-user-" + StringUtils.randomString(5)), conOne.getXMPPServiceDomain()));
 
         try {
             // Execute system under test
+            Phases.execute();
             conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             fail("Expected the server to return an error when '" + conOne.getUser() + "' requested a vcard from a user that does not exist ('" + request.getTo() + "') (but the server did not).");
         } catch (XMPPException.XMPPErrorException e) {
             assertNotNull(e.getStanzaError(), "Expected the server to return a non-empty error when '" + conOne.getUser() + "' requested a vcard from a user that does not exist ('" + request.getTo() + "') (but the server did not).");
@@ -265,6 +289,7 @@ public class VCardTempIntegrationTest extends AbstractSmackIntegrationTest
     public void testForErrorEquality() throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException, XmppStringprepException
     {
         // Setup test fixture.
+        Phases.setup();
         try {
             final VCard preExistingVCard = VCardManager.getInstanceFor(conThree).loadVCard();
             if (preExistingVCard != null && !preExistingVCard.equals(new VCard())) {
@@ -280,6 +305,7 @@ public class VCardTempIntegrationTest extends AbstractSmackIntegrationTest
         requestNonExistingUser.setTo(JidCreate.entityBareFrom(Localpart.from("non-existing-test-user-" + StringUtils.randomString(5)), conOne.getXMPPServiceDomain()));
 
         // Execute system under test
+        Phases.execute();
         StanzaError errorNonExistingVCard = null;
         StanzaError errorNonExistingUser = null;
         try {
@@ -295,6 +321,7 @@ public class VCardTempIntegrationTest extends AbstractSmackIntegrationTest
 
         try {
             // Execute system under test
+            Phases.execute();
             conOne.sendIqRequestAndWaitForResponse(requestNonExistingUser);
         } catch (XMPPException.XMPPErrorException e) {
             errorNonExistingUser = e.getStanzaError();
@@ -306,6 +333,7 @@ public class VCardTempIntegrationTest extends AbstractSmackIntegrationTest
         }
 
         // Verify result
+        Phases.verify();
         assertEquals(errorNonExistingUser.getCondition(), errorNonExistingVCard.getCondition(), "Expected '" + conOne.getUser() + "' to receive the same error condition when requesting a VCard from a user that does not have one ('" + requestNonExistingVCard.getTo() + "') and when requesting a VCard from a user that does not exist ('" + requestNonExistingUser.getTo() + "'), but distinct conditions were received.");
     }
 
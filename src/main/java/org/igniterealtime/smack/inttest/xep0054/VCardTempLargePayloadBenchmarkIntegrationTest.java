@@ -0,0 +1,207 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.xep0054;
+
+import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.AccountPool;
+import org.igniterealtime.smack.inttest.util.BenchmarkConfiguration;
+import org.igniterealtime.smack.inttest.util.BenchmarkReport;
+import org.igniterealtime.smack.inttest.util.LatencyRecorder;
+import org.igniterealtime.smack.inttest.util.Phases;
+import org.igniterealtime.smack.inttest.util.ServerCapabilities;
+import org.jivesoftware.smack.AbstractXMPPConnection;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smack.util.stringencoder.Base64;
+import org.jivesoftware.smackx.vcardtemp.VCardManager;
+import org.jivesoftware.smackx.vcardtemp.packet.VCard;
+import org.jxmpp.jid.EntityBareJid;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A benchmark for XEP-0054: vcard-temp, using vCards that contain photos of realistic sizes.
+ *
+ * For every photo size, conOne publishes a vCard containing a photo of that size, after which the vCard is requested
+ * (from conOne's bare JID, which causes the server to answer on behalf of the user) sequentially by conTwo, and
+ * concurrently by a pool of dedicated accounts. The latency of publication and retrieval, the retrieval throughput and
+ * the size of the responses (relative to the size of the base64-encoded photo) are reported.
+ *
+ * The photo sizes can be configured with the system property <tt>sinttest.benchmark.vcard.photos</tt> (default:
+ * 16KiB,128KiB,512KiB,1MiB), the amount of sequential requests for each size with
+ * <tt>sinttest.benchmark.vcard.fetches</tt> (default: 10), the amount of concurrent requesters with
+ * <tt>sinttest.benchmark.vcard.requesters</tt> (default: 8) and the amount of requests that each of those sends with
+ * <tt>sinttest.benchmark.vcard.requests</tt> (default: 10).
+ *
+ * @see <a href="https://xmpp.org/extensions/xep-0054.html">XEP-0054: vcard-temp</a>
+ */
+@SpecificationReference(document = "XEP-0054", version = "1.2")
+public class VCardTempLargePayloadBenchmarkIntegrationTest extends AbstractSmackIntegrationTest
+{
+    private final SmackIntegrationTestEnvironment environment;
+
+    private final List<Long> photoSizes;
+    private final int fetches;
+    private final int requesterCount;
+    private final int requestsPerRequester;
+
+    public VCardTempLargePayloadBenchmarkIntegrationTest(SmackIntegrationTestEnvironment environment) throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
+    {
+        super(environment);
+        BenchmarkConfiguration.requireEnabled();
+        this.environment = environment;
+
+        ServerCapabilities.of(conOne).requireServerFeature(VCardManager.NAMESPACE, "Domain does not seem support XEP-0054 vcard-temp.");
+
+        photoSizes = BenchmarkConfiguration.getSizes("vcard.photos", "16KiB,128KiB,512KiB,1MiB");
+        fetches = BenchmarkConfiguration.getInt("vcard.fetches", 10);
+        requesterCount = BenchmarkConfiguration.getInt("vcard.requesters", 8);
+        requestsPerRequester = BenchmarkConfiguration.getInt("vcard.requests", 10);
+        if (photoSizes.isEmpty() || photoSizes.stream().anyMatch(size -> size < 1 || size > Integer.MAX_VALUE / 2) || fetches < 1 || requesterCount < 1 || requestsPerRequester < 1) {
+            throw new TestNotPossibleException("The configured photo sizes (" + photoSizes + "), amount of fetches (" + fetches + "), requesters (" + requesterCount + ") and/or requests per requester (" + requestsPerRequester + ") is not valid.");
+        }
+    }
+
+    /**
+     * Publishes vCards with increasingly large photos, and verifies that every retrieval of such a vCard (answered by
+     * the server on behalf of the user) returns a photo that is byte-for-byte equal to the photo that was published.
+     */
+    @SmackIntegrationTest(section = "3.3", quote = "In accordance with XMPP Core, a compliant server MUST respond on behalf of the requestor and not forward the IQ to the requestee's connected resource.")
+    public void testLargePhotoRoundTrip() throws Exception
+    {
+        // Setup test fixture.
+        Phases.setup();
+        final EntityBareJid owner = conOne.getUser().asEntityBareJid();
+        final Random random = new Random();
+        final List<Long> rejectedSizes = new ArrayList<>();
+
+        try (final AccountPool requesters = AccountPool.create(environment, sinttestConfiguration, "vcard-load", requesterCount, 16))
+        {
+            for (final long photoSize : photoSizes) {
+                final byte[] photo = new byte[(int) photoSize];
+                random.nextBytes(photo);
+                final VCard vCard = new VCard();
+                vCard.setFirstName("Jane");
+                vCard.setLastName("Large-Photo");
+                vCard.setAvatar(photo, "image/jpeg");
+
+                // Execute system under test.
+                Phases.execute();
+                final long publishStart = System.nanoTime();
+                try {
+                    VCardManager.getInstanceFor(conOne).saveVCard(vCard);
+                } catch (XMPPException.XMPPErrorException e) {
+                    // Servers may impose a limit on the size of vCards. That is not a failure, but it should be reported.
+                    rejectedSizes.add(photoSize);
+                    new BenchmarkReport("XEP-0054 vCard with a " + photoSize + " byte photo", conOne.getXMPPServiceDomain())
+                        .add("publication rejected", e.getStanzaError().getCondition())
+                        .publish();
+                    continue;
+                }
+                final Duration publishLatency = Duration.ofNanos(System.nanoTime() - publishStart);
+
+                final LatencyRecorder fetchLatency = new LatencyRecorder();
+                long responseSize = 0;
+                for (int i = 0; i < fetches; i++) {
+                    final long fetchStart = System.nanoTime();
+                    final VCard result = VCardManager.getInstanceFor(conTwo).loadVCard(owner);
+                    fetchLatency.recordSince(fetchStart);
+
+                    // Verify result.
+                    Phases.verify();
+                    assertPhotoEquals(photo, result, conTwo.getUser().toString());
+                    responseSize = result.toXML().toString().length();
+                }
+
+                final LatencyRecorder concurrentLatency = new LatencyRecorder();
+                final AtomicInteger mismatches = new AtomicInteger();
+                final ExecutorService executor = Executors.newFixedThreadPool(requesterCount);
+                final Duration concurrentElapsed;
+                try {
+                    final long concurrentStart = System.nanoTime();
+                    final List<Future<?>> futures = new ArrayList<>(requesterCount);
+                    for (final AbstractXMPPConnection requester : requesters.getConnections()) {
+                        futures.add(executor.submit(() -> {
+                            for (int i = 0; i < requestsPerRequester; i++) {
+                                final long fetchStart = System.nanoTime();
+                                final VCard result = VCardManager.getInstanceFor(requester).loadVCard(owner);
+                                concurrentLatency.recordSince(fetchStart);
+                                if (!Arrays.equals(photo, result.getAvatar())) {
+                                    mismatches.incrementAndGet();
+                                }
+                            }
+                            return null;
+                        }));
+                    }
+                    for (final Future<?> future : futures) {
+                        future.get(timeout + (long) requestsPerRequester * timeout / 10, TimeUnit.MILLISECONDS);
+                    }
+                    concurrentElapsed = Duration.ofNanos(System.nanoTime() - concurrentStart);
+                } finally {
+                    executor.shutdownNow();
+                }
+
+                // Verify result.
+                Phases.verify();
+                final long encodedPhotoSize = Base64.encodeToString(photo).length();
+                new BenchmarkReport("XEP-0054 vCard with a " + photoSize + " byte photo (" + fetches + " sequential fetches, " + requesterCount + " concurrent requesters with " + requestsPerRequester + " requests each)", conOne.getXMPPServiceDomain())
+                    .add("publish latency", publishLatency)
+                    .add("fetch latency", fetchLatency)
+                    .add("concurrent fetch latency", concurrentLatency)
+                    .addRate("concurrent fetches/sec", concurrentLatency.getCount(), concurrentElapsed)
+                    .add("concurrent fetch throughput (MB/s)", String.format("%.2f", BenchmarkReport.rate((long) concurrentLatency.getCount() * responseSize, concurrentElapsed) / 1_000_000))
+                    .add("response size (chars)", responseSize)
+                    .add("response size overhead over base64 photo (chars)", responseSize - encodedPhotoSize)
+                    .publish();
+
+                assertEquals(0, mismatches.get(), "Expected all vCards that were retrieved concurrently from '" + owner + "' by " + requesterCount + " requesters to contain a photo that is equal to the " + photoSize + " byte photo that was published (but " + mismatches.get() + " did not).");
+            }
+        } finally {
+            // Tear down test fixture: do not burden other tests with a large vCard.
+            Phases.teardown();
+            final VCard small = new VCard();
+            small.setFirstName("Jane");
+            VCardManager.getInstanceFor(conOne).saveVCard(small);
+        }
+
+        if (rejectedSizes.size() == photoSizes.size()) {
+            throw new TestNotPossibleException("The server under test rejected all vCards that contained a photo (sizes: " + rejectedSizes + ").");
+        }
+    }
+
+    private static void assertPhotoEquals(final byte[] expected, final VCard actual, final String requester)
+    {
+        final byte[] avatar = actual.getAvatar();
+        if (!Arrays.equals(expected, avatar)) {
+            throw new AssertionError("Expected the vCard that was retrieved by '" + requester + "' to contain a photo that is equal to the " + expected.length + " byte photo that was published (but " + (avatar == null ? "it contained no photo" : "it contained a photo of " + avatar.length + " bytes that differs") + ").");
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.xep0060;
+
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smackx.pubsub.NodeType;
+import org.jivesoftware.smackx.pubsub.PubSubManager;
+import org.jivesoftware.smackx.pubsub.form.FillableConfigureForm;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Creates a tree of XEP-0060 collection and leaf nodes, of configurable depth and fan-out.
+ *
+ * Every level of the tree consists of a number of sibling nodes (the fan-out), that share the same parent collection
+ * node (the root level has no parent). The first sibling on every level but the last is a collection node that is the
+ * parent of the next level. All other nodes are leaf nodes. This produces a tree that is both deep and wide, while the
+ * amount of nodes grows linearly (depth × fan-out) rather than exponentially.
+ *
+ * Levels are created one after the other (as a parent must exist before its children can be created), but the nodes
+ * within a level are created in parallel.
+ *
+ * @author Guus der Kinderen, guus@goodbytes.nl
+ */
+public class NodeTreeGenerator
+{
+    private static final Logger LOGGER = Logger.getLogger(NodeTreeGenerator.class.getName());
+
+    private final PubSubManager pubSubManager;
+    private final String prefix;
+    private final int depth;
+    private final int fanOut;
+    private final int parallelism;
+    private final long timeoutMillis;
+
+    /**
+     * Creates a new generator.
+     *
+     * @param pubSubManager The manager used to create (and delete) nodes.
+     * @param prefix A prefix for the IDs of all nodes in the tree.
+     * @param depth The amount of levels in the tree.
+     * @param fanOut The amount of nodes in every level.
+     * @param parallelism The maximum amount of nodes that are created in parallel.
+     * @param timeoutMillis The maximum amount of time to wait for the creation (or deletion) of one node.
+     */
+    public NodeTreeGenerator(final PubSubManager pubSubManager, final String prefix, final int depth, final int fanOut, final int parallelism, final long timeoutMillis)
+    {
+        if (depth < 1 || fanOut < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("Depth (" + depth + "), fan-out (" + fanOut + ") and parallelism (" + parallelism + ") must all be positive numbers.");
+        }
+        this.pubSubManager = pubSubManager;
+        this.prefix = prefix;
+        this.depth = depth;
+        this.fanOut = fanOut;
+        this.parallelism = parallelism;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Creates all nodes of the tree.
+     *
+     * When the creation of any node fails, the nodes that were already created are deleted again, before the exception
+     * is rethrown.
+     *
+     * @return The tree that was created.
+     */
+    public NodeTree generate() throws Exception
+    {
+        final NodeTree tree = new NodeTree();
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            final long start = System.nanoTime();
+            String parent = null;
+            for (int level = 0; level < depth; level++) {
+                final TreeLevel nodes = new TreeLevel(level, parent);
+                final List<Future<?>> futures = new ArrayList<>(fanOut);
+                for (int i = 0; i < fanOut; i++) {
+                    final String nodeId = prefix + "-" + level + "-" + i;
+                    final boolean collection = i == 0 && level < depth - 1;
+                    final String parentId = parent;
+                    futures.add(executor.submit(() -> {
+                        create(nodeId, collection, parentId);
+                        nodes.add(nodeId, collection);
+                        return null;
+                    }));
+                }
+                tree.levels.add(nodes);
+                for (final Future<?> future : futures) {
+                    future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+                }
+                parent = nodes.getCollection();
+            }
+            tree.elapsed = Duration.ofNanos(System.nanoTime() - start);
+            return tree;
+        } catch (Exception e) {
+            delete(tree);
+            throw e;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void create(final String nodeId, final boolean collection, final String parentId) throws Exception
+    {
+        final FillableConfigureForm config = pubSubManager.getDefaultConfiguration().getFillableForm();
+        if (collection) {
+            config.setNodeType(NodeType.collection);
+        }
+        if (parentId != null) {
+            config.setCollection(parentId);
+        }
+        pubSubManager.createNode(nodeId, config);
+    }
+
+    /**
+     * Deletes all nodes of a tree, starting with the deepest level. Failures to delete a node are logged, but otherwise
+     * ignored.
+     */
+    public void delete(final NodeTree tree)
+    {
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            final List<TreeLevel> levels = new ArrayList<>(tree.getLevels());
+            Collections.reverse(levels);
+            for (final TreeLevel level : levels) {
+                final List<Future<?>> futures = new ArrayList<>();
+                for (final String nodeId : level.getNodeIds()) {
+                    futures.add(executor.submit(() -> {
+                        try {
+                            pubSubManager.deleteNode(nodeId);
+                        } catch (XMPPException.XMPPErrorException e) {
+                            LOGGER.log(Level.WARNING, "Unable to delete node that was created in the test fixture. Node ID: " + nodeId, e);
+                        }
+                        return null;
+                    }));
+                }
+                for (final Future<?> future : futures) {
+                    try {
+                        future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+                    } catch (Exception e) {
+                        LOGGER.log(Level.WARNING, "Unable to delete node that was created in the test fixture.", e);
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * A tree of nodes, as created by a generator.
+     */
+    public static class NodeTree
+    {
+        private final List<TreeLevel> levels = Collections.synchronizedList(new ArrayList<>());
+        private Duration elapsed;
+
+        public List<TreeLevel> getLevels()
+        {
+            synchronized (levels) {
+                return new ArrayList<>(levels);
+            }
+        }
+
+        public int size()
+        {
+            return getLevels().stream().mapToInt(level -> level.getNodeIds().size()).sum();
+        }
+
+        /**
+         * Returns the time it took to create the tree.
+         */
+        public Duration getElapsed()
+        {
+            return elapsed;
+        }
+    }
+
+    /**
+     * The sibling nodes at one depth of a tree.
+     */
+    public static class TreeLevel
+    {
+        private final int depth;
+        private final String parent;
+        private final List<String> nodeIds = Collections.synchronizedList(new ArrayList<>());
+        private volatile String collection;
+
+        TreeLevel(final int depth, final String parent)
+        {
+            this.depth = depth;
+            this.parent = parent;
+        }
+
+        void add(final String nodeId, final boolean isCollection)
+        {
+            nodeIds.add(nodeId);
+            if (isCollection) {
+                collection = nodeId;
+            }
+        }
+
+        /**
+         * Returns the depth of this level, where the root level has depth 0.
+         */
+        public int getDepth()
+        {
+            return depth;
+        }
+
+        /**
+         * Returns the ID of the collection node that is the parent of all nodes in this level, or null for the root level.
+         */
+        public String getParent()
+        {
+            return parent;
+        }
+
+        public List<String> getNodeIds()
+        {
+            synchronized (nodeIds) {
+                return new ArrayList<>(nodeIds);
+            }
+        }
+
+        /**
+         * Returns the ID of the collection node in this level that is the parent of the next level, or null if this is
+         * the deepest level.
+         */
+        public String getCollection()
+        {
+            return collection;
+        }
+    }
+}
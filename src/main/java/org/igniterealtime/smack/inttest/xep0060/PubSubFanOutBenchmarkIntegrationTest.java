@@ -0,0 +1,306 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.xep0060;
+
+import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.AccountPool;
+import org.igniterealtime.smack.inttest.util.BenchmarkConfiguration;
+import org.igniterealtime.smack.inttest.util.BenchmarkReport;
+import org.igniterealtime.smack.inttest.util.LatencyRecorder;
+import org.igniterealtime.smack.inttest.util.Phases;
+import org.jivesoftware.smack.AbstractXMPPConnection;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smackx.geoloc.packet.GeoLocation;
+import org.jivesoftware.smackx.pubsub.EventElement;
+import org.jivesoftware.smackx.pubsub.EventElementType;
+import org.jivesoftware.smackx.pubsub.Item;
+import org.jivesoftware.smackx.pubsub.ItemEventListener;
+import org.jivesoftware.smackx.pubsub.LeafNode;
+import org.jivesoftware.smackx.pubsub.Node;
+import org.jivesoftware.smackx.pubsub.PayloadItem;
+import org.jivesoftware.smackx.pubsub.PubSubManager;
+import org.jivesoftware.smackx.pubsub.form.FillableConfigureForm;
+import org.jxmpp.jid.DomainBareJid;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A benchmark for the fan-out of XEP-0060 Publish-Subscribe notifications, in which one publisher publishes items to a
+ * node that has many subscribers.
+ *
+ * Every subscriber uses a dedicated account, that is provisioned for the duration of the test. The amount of subscribers
+ * can be configured with the system property <tt>sinttest.benchmark.pubsub.subscribers</tt> (default: 10, tested up to
+ * 10000), the amount of items that is published with <tt>sinttest.benchmark.pubsub.items</tt> (default: 50), the rate
+ * at which items are published (items per second, 0 for 'as fast as possible') with
+ * <tt>sinttest.benchmark.pubsub.rate</tt> (default: 20) and the size of the payload of each item with
+ * <tt>sinttest.benchmark.pubsub.payload</tt> (default: 256B).
+ *
+ * @see <a href="https://xmpp.org/extensions/xep-0060.html">XEP-0060: Publish-Subscribe</a>
+ */
+@SpecificationReference(document = "XEP-0060", version = "1.26.0")
+public class PubSubFanOutBenchmarkIntegrationTest extends AbstractSmackIntegrationTest
+{
+    private final SmackIntegrationTestEnvironment environment;
+    private final DomainBareJid pubSubService;
+    private final PubSubManager pubSubManagerOne;
+
+    private final int subscriberCount;
+    private final int itemCount;
+    private final int rate;
+    private final int payloadSize;
+
+    public PubSubFanOutBenchmarkIntegrationTest(final SmackIntegrationTestEnvironment environment) throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
+    {
+        super(environment);
+        BenchmarkConfiguration.requireEnabled();
+        this.environment = environment;
+
+        pubSubService = PubSubManager.getPubSubService(conOne);
+        if (pubSubService == null) {
+            throw new TestNotPossibleException("No PubSub service found");
+        }
+        pubSubManagerOne = PubSubManager.getInstanceFor(conOne, pubSubService);
+        if (!pubSubManagerOne.canCreateNodesAndPublishItems()) {
+            throw new TestNotPossibleException("PubSub service does not allow node creation");
+        }
+
+        subscriberCount = BenchmarkConfiguration.getInt("pubsub.subscribers", 10);
+        itemCount = BenchmarkConfiguration.getInt("pubsub.items", 50);
+        rate = BenchmarkConfiguration.getInt("pubsub.rate", 20);
+        payloadSize = (int) BenchmarkConfiguration.getSize("pubsub.payload", "256B");
+        if (subscriberCount < 1 || itemCount < 1 || rate < 0 || payloadSize < 0) {
+            throw new TestNotPossibleException("The configured amount of subscribers (" + subscriberCount + "), items (" + itemCount + "), rate (" + rate + ") and/or payload size (" + payloadSize + ") is not valid.");
+        }
+    }
+
+    /**
+     * Publishes items (each with a unique ID) to a node with many subscribers, and reports the latency between the
+     * publication of each item and the receipt of the corresponding notification by each subscriber, as well as the
+     * rate at which notifications are delivered. Asserts that all subscribers receive a notification for every item.
+     */
+    @SmackIntegrationTest(section = "7.1.2.1", quote = "If the node is configured to include payloads, the subscribers will receive payloads with the event notifications.")
+    public void testPublishFanOut() throws Exception
+    {
+        final String nodeName = "sinttest-fanout-publish-" + testRunId;
+        benchmark(nodeName, false);
+    }
+
+    /**
+     * Repeatedly publishes an item with the same ID to a node with many subscribers, and reports the latency between
+     * each publication and the receipt of the corresponding notification by each subscriber. Asserts that all
+     * subscribers receive a notification for every publication, and that the node retains only the last publication.
+     */
+    @SmackIntegrationTest(section = "7.1.2", quote = "If the publisher previously published an item with the same ItemID, successfully processing the request means that the service MUST overwrite the old item with the new item and then proceed as follows.")
+    public void testOverwriteFanOut() throws Exception
+    {
+        final String nodeName = "sinttest-fanout-overwrite-" + testRunId;
+        benchmark(nodeName, true);
+    }
+
+    /**
+     * Deletes a node with many subscribers, and reports the time it takes for all subscribers to be notified. Asserts
+     * that all subscribers are notified.
+     */
+    @SmackIntegrationTest(section = "8.4.2", quote = "If no error occurs, the service MUST inform the owner of success. [...] In addition, the service MUST also send notification to all subscribers.")
+    public void testDeleteNodeFanOut() throws Exception
+    {
+        // Setup test fixture.
+        Phases.setup();
+        final String nodeName = "sinttest-fanout-delete-" + testRunId;
+        final LatencyRecorder latency = new LatencyRecorder();
+        try (final AccountPool subscribers = AccountPool.create(environment, sinttestConfiguration, "pubsub-fanout", subscriberCount, 16))
+        {
+            final LeafNode node = createNode(nodeName);
+            boolean deleted = false;
+            try {
+                subscribeAll(subscribers, nodeName);
+
+                final CountDownLatch notified = new CountDownLatch(subscriberCount);
+                final AtomicLong sent = new AtomicLong();
+                for (final AbstractXMPPConnection subscriber : subscribers.getConnections()) {
+                    subscriber.addAsyncStanzaListener(stanza -> {
+                        latency.recordSince(sent.get());
+                        notified.countDown();
+                    }, stanza -> {
+                        final EventElement event = stanza.getExtension(EventElement.class);
+                        return event != null && event.getEventType() == EventElementType.delete && nodeName.equals(event.getEvent().getNode());
+                    });
+                }
+
+                // Execute system under test.
+                Phases.execute();
+                sent.set(System.nanoTime());
+                pubSubManagerOne.deleteNode(node.getId());
+                deleted = true;
+                final boolean complete = notified.await(timeout, TimeUnit.MILLISECONDS);
+                final Duration elapsed = Duration.ofNanos(System.nanoTime() - sent.get());
+
+                // Verify result.
+                Phases.verify();
+                new BenchmarkReport("XEP-0060 node deletion fan-out (" + subscriberCount + " subscribers)", pubSubService)
+                    .add("delete notification latency", latency)
+                    .addRate("delete notifications/sec", latency.getCount(), elapsed)
+                    .publish();
+
+                assertTrue(complete, "Expected all " + subscriberCount + " subscribers of node '" + nodeName + "' to receive a notification after '" + conOne.getUser() + "' deleted the node (but only " + (subscriberCount - notified.getCount()) + " did).");
+            } finally {
+                if (!deleted) {
+                    pubSubManagerOne.deleteNode(nodeName);
+                }
+            }
+        }
+    }
+
+    private void benchmark(final String nodeName, final boolean overwrite) throws Exception
+    {
+        // Setup test fixture.
+        Phases.setup();
+        final String itemIdPrefix = overwrite ? "reused-id-" : "item-";
+        final AtomicLongArray sent = new AtomicLongArray(itemCount);
+        final LatencyRecorder latency = new LatencyRecorder();
+        final CountDownLatch received = new CountDownLatch(itemCount * subscriberCount);
+        final AtomicLong lastReceived = new AtomicLong();
+        final String filler = "x".repeat(payloadSize);
+
+        try (final AccountPool subscribers = AccountPool.create(environment, sinttestConfiguration, "pubsub-fanout", subscriberCount, 16))
+        {
+            final LeafNode node = createNode(nodeName);
+            try {
+                final List<Node> subscriberNodes = subscribeAll(subscribers, nodeName);
+                final ItemEventListener<Item> listener = event -> {
+                    final long now = System.nanoTime();
+                    for (final Item item : event.getItems()) {
+                        final int sequence = getSequence(item);
+                        if (sequence >= 0 && sequence < itemCount) {
+                            latency.record(now - sent.get(sequence));
+                            lastReceived.accumulateAndGet(now, Math::max);
+                            received.countDown();
+                        }
+                    }
+                };
+                subscriberNodes.forEach(n -> n.addItemEventListener(listener));
+
+                // Execute system under test.
+                Phases.execute();
+                final long intervalNanos = rate == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / rate;
+                final long start = System.nanoTime();
+                for (int i = 0; i < itemCount; i++) {
+                    final long due = start + i * intervalNanos;
+                    final long wait = due - System.nanoTime();
+                    if (wait > 0) {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    }
+                    final String itemId = itemIdPrefix + (overwrite ? 0 : i);
+                    sent.set(i, System.nanoTime());
+                    node.publish(new PayloadItem<>(itemId, GeoLocation.builder().setDescription(i + ":" + filler).build()));
+                }
+                final Duration publishElapsed = Duration.ofNanos(System.nanoTime() - start);
+                final boolean complete = received.await(timeout, TimeUnit.MILLISECONDS);
+                final Duration fanOutElapsed = Duration.ofNanos(Math.max(lastReceived.get() - start, 0));
+
+                // Verify result.
+                Phases.verify();
+                new BenchmarkReport("XEP-0060 " + (overwrite ? "overwrite" : "publish") + " fan-out (" + subscriberCount + " subscribers, " + itemCount + " items of " + payloadSize + " bytes, target rate " + (rate == 0 ? "unlimited" : rate + "/sec") + ")", pubSubService)
+                    .addRate("publications/sec", itemCount, publishElapsed)
+                    .add("publish-to-notification latency", latency)
+                    .addRate("notifications/sec", latency.getCount(), fanOutElapsed)
+                    .add("missing notifications", received.getCount())
+                    .publish();
+
+                assertTrue(complete, "Expected all " + subscriberCount + " subscribers of node '" + nodeName + "' to receive a notification for each of the " + itemCount + " items published by '" + conOne.getUser() + "' (but " + received.getCount() + " notifications were not received).");
+                if (overwrite) {
+                    final List<Item> items = node.getItems();
+                    assertEquals(1, items.size(), "Expected node '" + nodeName + "' to contain exactly one item after '" + conOne.getUser() + "' repeatedly published an item with the same ID (but it did not).");
+                    assertEquals(itemCount - 1, getSequence(items.get(0)), "Expected the item in node '" + nodeName + "' to be the last item that was published by '" + conOne.getUser() + "' using the same ID (but it was not).");
+                }
+            } finally {
+                pubSubManagerOne.deleteNode(nodeName);
+            }
+        }
+    }
+
+    private LeafNode createNode(final String nodeName) throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
+    {
+        final FillableConfigureForm config = pubSubManagerOne.getDefaultConfiguration().getFillableForm();
+        config.setPersistentItems(true);
+        config.setMaxItems(1);
+        config.setDeliverPayloads(true);
+        config.setNotifyDelete(true);
+        config.setNotifyRetract(false);
+        return (LeafNode) pubSubManagerOne.createNode(nodeName, config);
+    }
+
+    /**
+     * Subscribes all accounts in the pool to a node (in parallel), and returns the node as obtained by each subscriber.
+     */
+    private List<Node> subscribeAll(final AccountPool subscribers, final String nodeName) throws Exception
+    {
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(16, subscribers.size()));
+        try {
+            final List<Future<Node>> futures = new ArrayList<>(subscribers.size());
+            for (final AbstractXMPPConnection subscriber : subscribers.getConnections()) {
+                futures.add(executor.submit(() -> {
+                    final Node node = PubSubManager.getInstanceFor(subscriber, pubSubService).getNode(nodeName);
+                    node.subscribe(subscriber.getUser().asEntityBareJid());
+                    return node;
+                }));
+            }
+            final List<Node> result = new ArrayList<>(subscribers.size());
+            for (final Future<Node> future : futures) {
+                result.add(future.get(timeout, TimeUnit.MILLISECONDS));
+            }
+            return result;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the sequence number that is encoded in the payload of an item, or -1 if the item has no such payload.
+     */
+    static int getSequence(final Item item)
+    {
+        if (!(item instanceof PayloadItem) || !(((PayloadItem<?>) item).getPayload() instanceof GeoLocation)) {
+            return -1;
+        }
+        final String description = ((GeoLocation) ((PayloadItem<?>) item).getPayload()).getDescription();
+        if (description == null || description.indexOf(':') < 1) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(description.substring(0, description.indexOf(':')));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.xep0060;
+
+import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.BenchmarkConfiguration;
+import org.igniterealtime.smack.inttest.util.BenchmarkReport;
+import org.igniterealtime.smack.inttest.util.LatencyRecorder;
+import org.igniterealtime.smack.inttest.util.Phases;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smack.util.StringUtils;
+import org.jivesoftware.smackx.disco.ServiceDiscoveryManager;
+import org.jivesoftware.smackx.disco.packet.DiscoverInfo;
+import org.jivesoftware.smackx.disco.packet.DiscoverItems;
+import org.jivesoftware.smackx.pubsub.PubSubManager;
+import org.jxmpp.jid.DomainBareJid;
+
+import static org.igniterealtime.smack.inttest.xep0060.PubSubUtils.assertContainsItemRepresentingNode;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A scale test for hierarchies of XEP-0060 collection nodes, that creates a tree of nodes that is both deep and wide
+ * (using a {@link NodeTreeGenerator}), and verifies that every node can be discovered through service discovery.
+ *
+ * The latency of service discovery is reported for every level of the tree. Implementations that need to traverse all
+ * ancestors of a node to process a request will show an increase in latency for deeper levels.
+ *
+ * The depth of the tree can be configured with the system property <tt>sinttest.benchmark.pubsub.tree.depth</tt>
+ * (default: 4), the amount of nodes in every level with <tt>sinttest.benchmark.pubsub.tree.fanout</tt> (default: 10),
+ * the amount of nodes that is created in parallel with <tt>sinttest.benchmark.pubsub.tree.parallelism</tt>
+ * (default: 8), and the amount of times that the nodes on every level are discovered with
+ * <tt>sinttest.benchmark.pubsub.tree.samples</tt> (default: 5).
+ *
+ * @see <a href="https://xmpp.org/extensions/xep-0060.html#entity-nodes">XEP-0060: Publish-Subscribe</a>
+ */
+@SpecificationReference(document = "XEP-0060", version = "1.26.0")
+public class PubSubNodeTreeScaleIntegrationTest extends AbstractSmackIntegrationTest
+{
+    private final DomainBareJid pubsubServiceAddress;
+
+    private final int depth;
+    private final int fanOut;
+    private final int parallelism;
+    private final int samples;
+
+    public PubSubNodeTreeScaleIntegrationTest(SmackIntegrationTestEnvironment environment) throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
+    {
+        super(environment);
+        BenchmarkConfiguration.requireEnabled();
+        pubsubServiceAddress = PubSubManager.getPubSubService(conOne);
+        if (pubsubServiceAddress == null) {
+            throw new TestNotPossibleException("No PubSub service found");
+        }
+
+        final DiscoverInfo pubsubServiceInfo;
+        try {
+            final ServiceDiscoveryManager serviceDiscoveryManager = ServiceDiscoveryManager.getInstanceFor(conOne);
+            pubsubServiceInfo = serviceDiscoveryManager.discoverInfo(pubsubServiceAddress);
+        } catch (SmackException.NoResponseException | XMPPException.XMPPErrorException e) {
+            throw new TestNotPossibleException("PubSub service service discovery information response was missing or of type error.", e);
+        }
+
+        if (!pubsubServiceInfo.containsFeature("http://jabber.org/protocol/pubsub#collections")) {
+            throw new TestNotPossibleException("PubSub service does not support collection nodes.");
+        }
+
+        depth = BenchmarkConfiguration.getInt("pubsub.tree.depth", 4);
+        fanOut = BenchmarkConfiguration.getInt("pubsub.tree.fanout", 10);
+        parallelism = BenchmarkConfiguration.getInt("pubsub.tree.parallelism", 8);
+        samples = BenchmarkConfiguration.getInt("pubsub.tree.samples", 5);
+        if (depth < 1 || fanOut < 1 || parallelism < 1 || samples < 1) {
+            throw new TestNotPossibleException("The configured depth (" + depth + "), fan-out (" + fanOut + "), parallelism (" + parallelism + ") and/or amount of samples (" + samples + ") of the node tree is not a positive number.");
+        }
+    }
+
+    /**
+     * Creates a deep and wide tree of nodes, and asserts that, on every level of the tree, the disco#items response of
+     * the parent contains all nodes of that level, and the disco#info response of every collection node identifies it
+     * as a collection.
+     */
+    @SmackIntegrationTest(section = "5.2", quote = "If a service implements a hierarchy of nodes (by means of Collection Nodes), it MUST also enable entities to discover the nodes in that hierarchy by means of the Service Discovery protocol [...]")
+    public void testDiscoverNodesInDeepAndWideTree() throws Exception
+    {
+        // Setup test fixture.
+        Phases.setup();
+        final PubSubManager pubSubManagerOne = PubSubManager.getInstanceFor(conOne, pubsubServiceAddress);
+        final ServiceDiscoveryManager serviceDiscoveryManager = ServiceDiscoveryManager.getInstanceFor(conOne);
+        final NodeTreeGenerator generator = new NodeTreeGenerator(pubSubManagerOne, "testtree-" + StringUtils.randomString(5), depth, fanOut, parallelism, timeout);
+        final NodeTreeGenerator.NodeTree tree;
+        try {
+            tree = generator.generate();
+        } catch (Exception e) {
+            throw new TestNotPossibleException("Unable to create a node hierarchy.", e);
+        }
+
+        try {
+            final BenchmarkReport report = new BenchmarkReport("XEP-0060 collection node tree (depth " + depth + ", fan-out " + fanOut + ", parallelism " + parallelism + ")", pubsubServiceAddress)
+                .add("nodes", tree.size())
+                .add("creation time", tree.getElapsed())
+                .addRate("nodes created/sec", tree.size(), tree.getElapsed());
+
+            for (final NodeTreeGenerator.TreeLevel level : tree.getLevels()) {
+                // Execute system under test.
+                Phases.execute();
+                final LatencyRecorder itemsLatency = new LatencyRecorder();
+                final LatencyRecorder infoLatency = new LatencyRecorder();
+                DiscoverItems discoveredItems = null;
+                DiscoverInfo collectionInfo = null;
+                for (int i = 0; i < samples; i++) {
+                    final long itemsStart = System.nanoTime();
+                    discoveredItems = level.getParent() == null ? serviceDiscoveryManager.discoverItems(pubsubServiceAddress) : serviceDiscoveryManager.discoverItems(pubsubServiceAddress, level.getParent());
+                    itemsLatency.recordSince(itemsStart);
+
+                    if (level.getCollection() != null) {
+                        final long infoStart = System.nanoTime();
+                        collectionInfo = serviceDiscoveryManager.discoverInfo(pubsubServiceAddress, level.getCollection());
+                        infoLatency.recordSince(infoStart);
+                    }
+                }
+
+                // Verify result.
+                Phases.verify();
+                report.add("level " + level.getDepth() + " disco#items latency", itemsLatency);
+                if (collectionInfo != null) {
+                    report.add("level " + level.getDepth() + " disco#info latency", infoLatency);
+                }
+
+                for (final String nodeId : level.getNodeIds()) {
+                    assertContainsItemRepresentingNode(nodeId, discoveredItems.getItems(),
+                        "Expected the response to the service discovery items request that was made by '" + conOne.getUser() + "' to " + (level.getParent() == null ? "service '" + pubsubServiceAddress + "'" : "the collection node with id '" + level.getParent() + "' in service '" + pubsubServiceAddress + "'") + " to contain the node with id '" + nodeId + "' at depth " + level.getDepth() + " that was created prior to this request (but the node was not found in the disco#items response).");
+                }
+                if (collectionInfo != null) {
+                    assertTrue(collectionInfo.hasIdentity("pubsub", "collection"), "Expected the response to the service discovery information request that was made by '" + conOne.getUser() + "' to the node with id '" + level.getCollection() + "' at depth " + level.getDepth() + " in service '" + pubsubServiceAddress + "' to identify the node as a collection node (but it did not).");
+                }
+            }
+            report.publish();
+        } finally {
+            // Tear down test fixture.
+            Phases.teardown();
+            generator.delete(tree);
+        }
+    }
+}
@@ -20,11 +20,12 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
+import org.igniterealtime.smack.inttest.util.ServerCapabilities;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
-import org.jivesoftware.smackx.disco.ServiceDiscoveryManager;
 import org.jivesoftware.smackx.disco.packet.DiscoverInfo;
-import org.jivesoftware.smackx.pubsub.PubSubManager;
+import org.jivesoftware.smackx.pubsub.packet.PubSub;
 import org.jxmpp.jid.DomainBareJid;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -44,22 +45,13 @@ public class PubSubSection5_1_IntegrationTest extends AbstractSmackIntegrationTe
     public PubSubSection5_1_IntegrationTest(SmackIntegrationTestEnvironment environment) throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         super(environment);
-        pubsubServiceAddress = PubSubManager.getPubSubService(conOne);
-        if (pubsubServiceAddress == null) {
-            throw new TestNotPossibleException("No PubSub service found");
-        }
+        final ServerCapabilities capabilities = ServerCapabilities.of(conOne);
+        pubsubServiceAddress = capabilities.requireService(PubSub.NAMESPACE, "pubsub", "service", "No PubSub service found");
 
         // Doing this here instead of in a test, so that other tests (that depend on this information being available)
         // can be marked as 'not possible' if the data is not available. Note that #testDiscoInfoNonErrorResponse will
         // ensure that at least one tests fails in that case.
-        final ServiceDiscoveryManager serviceDiscoveryManager = ServiceDiscoveryManager.getInstanceFor(conOne);
-        DiscoverInfo discoverInfo;
-        try {
-            discoverInfo = serviceDiscoveryManager.discoverInfo(pubsubServiceAddress);
-        } catch (SmackException.NoResponseException | XMPPException.XMPPErrorException e) {
-            discoverInfo = null;
-        }
-        this.pubsubServiceInfo = discoverInfo;
+        this.pubsubServiceInfo = capabilities.getInfo(pubsubServiceAddress);
     }
 
     /**
@@ -69,12 +61,15 @@ public class PubSubSection5_1_IntegrationTest extends AbstractSmackIntegrationTe
     public void testDiscoInfoNonErrorResponse()
     {
         // Setup test fixture.
+        Phases.setup();
         // (This is achieved in the constructor of this class).
 
         // Execute system under test.
+        Phases.execute();
         // (This is achieved in the constructor of this class).
 
         // Verify results.
+        Phases.verify();
         assertNotNull(pubsubServiceInfo, "Expected a non-error response to the service discovery information request that was made by '" + conOne.getUser() + "' to '" + pubsubServiceAddress + "', but either no response was received, or it was of type error.");
     }
 
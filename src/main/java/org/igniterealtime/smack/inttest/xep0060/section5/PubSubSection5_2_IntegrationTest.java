@@ -20,6 +20,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
 import org.jivesoftware.smack.util.StringUtils;
@@ -76,13 +77,16 @@ public class PubSubSection5_2_IntegrationTest extends AbstractSmackIntegrationTe
     public void testDiscoItemNonErrorResponse() throws SmackException.NotConnectedException, InterruptedException
     {
         // Setup test fixture.
+        Phases.setup();
         final ServiceDiscoveryManager serviceDiscoveryManager = ServiceDiscoveryManager.getInstanceFor(conOne);
 
         try {
             // Execute system under test.
+            Phases.execute();
             serviceDiscoveryManager.discoverItems(pubsubServiceAddress);
 
             // Verify results.
+            Phases.verify();
         } catch (SmackException.NoResponseException e) {
             fail("Expected a response to the service discovery items request that was made by '" + conOne.getUser() + "' to '" + pubsubServiceAddress + "' (which advertises support for collection nodes) but no response was received.");
         } catch (XMPPException.XMPPErrorException e) {
@@ -97,6 +101,7 @@ public class PubSubSection5_2_IntegrationTest extends AbstractSmackIntegrationTe
     public void testDiscoItemContainsCollectionNode() throws SmackException.NotConnectedException, InterruptedException, SmackException.NoResponseException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final String nodeId = "testcollection-" + StringUtils.randomString(5);
         final PubSubManager pubSubManagerOne = PubSubManager.getInstanceFor(conOne);
         try {
@@ -110,9 +115,11 @@ public class PubSubSection5_2_IntegrationTest extends AbstractSmackIntegrationTe
 
         try {
             // Execute system under test.
+            Phases.execute();
             final DiscoverItems discoveredItems = serviceDiscoveryManager.discoverItems(pubsubServiceAddress);
 
             // Verify results.
+            Phases.verify();
             assertContainsItemRepresentingNode(nodeId, discoveredItems.getItems(),
                 "Expected the response to the service discovery items request that was made by '" + conOne.getUser() + "' to service '" + pubsubServiceAddress + "' to contain the node with id '" + nodeId + "' that was created prior to this request (but the node was not found in the disco#items response).");
         } catch (SmackException.NoResponseException e) {
@@ -121,6 +128,7 @@ public class PubSubSection5_2_IntegrationTest extends AbstractSmackIntegrationTe
             fail("Expected a non-error response to the service discovery items request that was made by '" + conOne.getUser() + "' to '" + pubsubServiceAddress + "' (which advertises support for collection nodes), but an error was received. " + e.getStanzaError());
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             try {
                 pubSubManagerOne.deleteNode(nodeId);
             } catch (XMPPException.XMPPErrorException e) {
@@ -136,6 +144,7 @@ public class PubSubSection5_2_IntegrationTest extends AbstractSmackIntegrationTe
     public void testDiscoItemContainsNestedCollectionNode() throws SmackException.NotConnectedException, InterruptedException, SmackException.NoResponseException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final String nodeIdParent = "testcollection-1-" + StringUtils.randomString(5);
         final String nodeIdChild = "testcollection-2-" + StringUtils.randomString(5);
         final PubSubManager pubSubManagerOne = PubSubManager.getInstanceFor(conOne);
@@ -164,10 +173,12 @@ public class PubSubSection5_2_IntegrationTest extends AbstractSmackIntegrationTe
 
         try {
             // Execute system under test.
+            Phases.execute();
             final DiscoverItems discoveredItems1 = serviceDiscoveryManager.discoverItems(pubsubServiceAddress);
             final DiscoverItems discoveredItems2 = serviceDiscoveryManager.discoverItems(pubsubServiceAddress, nodeIdParent); // Note: although it's preferred to test only one invocation in a test, two invocations are needed to be able to verify the hierarchy.
 
             // Verify results.
+            Phases.verify();
             assertContainsItemRepresentingNode(nodeIdParent, discoveredItems1.getItems(),
                 "Expected the response to the service discovery items request that was made by '" + conOne.getUser() + "' to service '" + pubsubServiceAddress + "' to contain the node with id '" + nodeIdParent + "' that was created prior to this request (but the node was not found in the disco#items response).");
             assertContainsItemRepresentingNode(nodeIdChild, discoveredItems2.getItems(),
@@ -178,6 +189,7 @@ public class PubSubSection5_2_IntegrationTest extends AbstractSmackIntegrationTe
             fail("Expected a non-error response to the service discovery items request that was made by '" + conOne.getUser() + "' to '" + pubsubServiceAddress + "' (which advertises support for collection nodes), but an error was received. " + e.getStanzaError());
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             try {
                 pubSubManagerOne.deleteNode(nodeIdChild);
             } catch (XMPPException.XMPPErrorException e) {
@@ -20,6 +20,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
 import org.jivesoftware.smack.util.StringUtils;
@@ -65,6 +66,7 @@ public class PubSubSection5_3_IntegrationTest extends AbstractSmackIntegrationTe
     public void testDiscoInfoLeafNode() throws TestNotPossibleException, SmackException.NotConnectedException, InterruptedException, SmackException.NoResponseException
     {
         // Setup test fixture.
+        Phases.setup();
         final String nodeId = "testleaf-" + StringUtils.randomString(5);
         final PubSubManager pubSubManagerOne = PubSubManager.getInstanceFor(conOne);
         try {
@@ -78,9 +80,11 @@ public class PubSubSection5_3_IntegrationTest extends AbstractSmackIntegrationTe
 
         try {
             // Execute system under test.
+            Phases.execute();
             final DiscoverInfo discoveredInfo = serviceDiscoveryManager.discoverInfo(pubsubServiceAddress, nodeId);
 
             // Verify results.
+            Phases.verify();
             assertTrue(discoveredInfo.hasIdentity("pubsub", "leaf"),
                 "Expected the response to the service discovery info request that was made by '" + conOne.getUser() + "' to leaf node '" + nodeId + "' of service '" + pubsubServiceAddress + "' to contain an identity of category 'pubsub' and type 'leaf' (but no such identity was returned).");
         } catch (SmackException.NoResponseException e) {
@@ -89,6 +93,7 @@ public class PubSubSection5_3_IntegrationTest extends AbstractSmackIntegrationTe
             fail("Expected a non-error response to the service discovery info request that was made by '" + conOne.getUser() + "' to leaf node '" + nodeId + "' of service '" + pubsubServiceAddress + "' (which advertises support for leaf nodes), but an error was received. " + e.getStanzaError());
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             try {
                 pubSubManagerOne.deleteNode(nodeId);
             } catch (XMPPException.XMPPErrorException e) {
@@ -104,6 +109,7 @@ public class PubSubSection5_3_IntegrationTest extends AbstractSmackIntegrationTe
     public void testDiscoInfoCollectionNode() throws TestNotPossibleException, SmackException.NotConnectedException, InterruptedException, SmackException.NoResponseException
     {
         // Setup test fixture.
+        Phases.setup();
         final String nodeId = "testcollection-" + StringUtils.randomString(5);
         final PubSubManager pubSubManagerOne = PubSubManager.getInstanceFor(conOne);
         try {
@@ -117,9 +123,11 @@ public class PubSubSection5_3_IntegrationTest extends AbstractSmackIntegrationTe
 
         try {
             // Execute system under test.
+            Phases.execute();
             final DiscoverInfo discoveredInfo = serviceDiscoveryManager.discoverInfo(pubsubServiceAddress, nodeId);
 
             // Verify results.
+            Phases.verify();
             assertTrue(discoveredInfo.hasIdentity("pubsub", "collection"),
                 "Expected the response to the service discovery info request that was made by '" + conOne.getUser() + "' to collection node '" + nodeId + "' of service '" + pubsubServiceAddress + "' to contain an identity of category 'pubsub' and type 'collection' (but no such identity was returned).");
         } catch (SmackException.NoResponseException e) {
@@ -128,6 +136,7 @@ public class PubSubSection5_3_IntegrationTest extends AbstractSmackIntegrationTe
             fail("Expected a non-error response to the service discovery info request that was made by '" + conOne.getUser() + "' to collection node '" + nodeId + "' of service '" + pubsubServiceAddress + "' (which advertises support for collection nodes), but an error was received. " + e.getStanzaError());
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             try {
                 pubSubManagerOne.deleteNode(nodeId);
             } catch (XMPPException.XMPPErrorException e) {
@@ -144,6 +153,7 @@ public class PubSubSection5_3_IntegrationTest extends AbstractSmackIntegrationTe
     public void testDiscoInfoNestedLeafNode() throws TestNotPossibleException, SmackException.NotConnectedException, InterruptedException, SmackException.NoResponseException
     {
         // Setup test fixture.
+        Phases.setup();
         final String nodeIdParent = "testparent-" + StringUtils.randomString(5);
         final String nodeIdChild = "testchild-" + StringUtils.randomString(5);
         final PubSubManager pubSubManagerOne = PubSubManager.getInstanceFor(conOne);
@@ -172,9 +182,11 @@ public class PubSubSection5_3_IntegrationTest extends AbstractSmackIntegrationTe
 
         try {
             // Execute system under test.
+            Phases.execute();
             final DiscoverInfo discoveredInfo = serviceDiscoveryManager.discoverInfo(pubsubServiceAddress, nodeIdChild);
 
             // Verify results.
+            Phases.verify();
             assertTrue(discoveredInfo.hasIdentity("pubsub", "leaf"),
                 "Expected the response to the service discovery info request that was made by '" + conOne.getUser() + "' to leaf node '" + nodeIdChild + "' (that exists in a hierarchy, as a child of collection node '" + nodeIdParent + "') of service '" + pubsubServiceAddress + "' to contain an identity of category 'pubsub' and type 'leaf' (but no such identity was returned).");
         } catch (SmackException.NoResponseException e) {
@@ -183,6 +195,7 @@ public class PubSubSection5_3_IntegrationTest extends AbstractSmackIntegrationTe
             fail("Expected a non-error response to the service discovery info request that was made by '" + conOne.getUser() + "' to leaf node '" + nodeIdChild + "' (that exists in a hierarchy, as a child of collection node '" + nodeIdParent + "') of service '" + pubsubServiceAddress + "' (which advertises support for leaf nodes), but an error was received. " + e.getStanzaError());
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             try {
                 pubSubManagerOne.deleteNode(nodeIdChild);
             } catch (XMPPException.XMPPErrorException e) {
@@ -204,6 +217,7 @@ public class PubSubSection5_3_IntegrationTest extends AbstractSmackIntegrationTe
     public void testDiscoInfoNestedCollectionNode() throws TestNotPossibleException, SmackException.NotConnectedException, InterruptedException, SmackException.NoResponseException
     {
         // Setup test fixture.
+        Phases.setup();
         final String nodeIdParent = "testparent-" + StringUtils.randomString(5);
         final String nodeIdChild = "testchild-" + StringUtils.randomString(5);
         final PubSubManager pubSubManagerOne = PubSubManager.getInstanceFor(conOne);
@@ -232,9 +246,11 @@ public class PubSubSection5_3_IntegrationTest extends AbstractSmackIntegrationTe
 
         try {
             // Execute system under test.
+            Phases.execute();
             final DiscoverInfo discoveredInfo = serviceDiscoveryManager.discoverInfo(pubsubServiceAddress, nodeIdChild);
 
             // Verify results.
+            Phases.verify();
             assertTrue(discoveredInfo.hasIdentity("pubsub", "collection"),
                 "Expected the response to the service discovery info request that was made by '" + conOne.getUser() + "' to collection node '" + nodeIdChild + "' (that exists in a hierarchy, as a child of collection node '" + nodeIdParent + "') of service '" + pubsubServiceAddress + "' to contain an identity of category 'pubsub' and type 'leaf' (but no such identity was returned).");
         } catch (SmackException.NoResponseException e) {
@@ -243,6 +259,7 @@ public class PubSubSection5_3_IntegrationTest extends AbstractSmackIntegrationTe
             fail("Expected a non-error response to the service discovery info request that was made by '" + conOne.getUser() + "' to collection node '" + nodeIdChild + "' (that exists in a hierarchy, as a child of collection node '" + nodeIdParent + "') of service '" + pubsubServiceAddress + "' (which advertises support for leaf nodes), but an error was received. " + e.getStanzaError());
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             try {
                 pubSubManagerOne.deleteNode(nodeIdChild);
             } catch (XMPPException.XMPPErrorException e) {
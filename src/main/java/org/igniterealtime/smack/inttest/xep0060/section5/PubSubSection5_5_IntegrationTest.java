@@ -20,6 +20,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
 import org.jivesoftware.smack.util.StringUtils;
@@ -66,6 +67,7 @@ public class PubSubSection5_5_IntegrationTest extends AbstractSmackIntegrationTe
     public void testDiscoItemsLeafNode() throws TestNotPossibleException, SmackException.NotConnectedException, InterruptedException, SmackException.NoResponseException
     {
         // Setup test fixture.
+        Phases.setup();
         final String nodeId = "testleaf-" + StringUtils.randomString(5);
         final String itemId = "testitem-" + StringUtils.randomString(5);
         final PubSubManager pubSubManagerOne = PubSubManager.getInstanceFor(conOne);
@@ -91,12 +93,14 @@ public class PubSubSection5_5_IntegrationTest extends AbstractSmackIntegrationTe
 
         try {
             // Execute system under test.
+            Phases.execute();
             final List<DiscoverItems.Item> items = serviceDiscoveryManager.discoverItems(pubsubServiceAddress, nodeId).getItems();
             if (items.isEmpty()) {
                 throw new TestNotPossibleException("PubSub service does not support Discover Items for a Node");
             }
 
             // Verify results.
+            Phases.verify();
             assertTrue(items.stream().anyMatch(item -> itemId.equals(item.getName())),
                 "Expected the response to the service discovery items request that was made by '" + conOne.getUser() + "' to leaf node '" + nodeId + "' of service '" + pubsubServiceAddress + "' to contain an item with name '" + itemId+ "' which matches the itemID of an item that is known to have been published to the node (but no such item was returned).");
             assertTrue(items.stream().noneMatch(item -> item.getNode() != null),
@@ -105,6 +109,7 @@ public class PubSubSection5_5_IntegrationTest extends AbstractSmackIntegrationTe
             throw new TestNotPossibleException("PubSub service does not support Discover Items for a Node", e);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             try {
                 pubSubManagerOne.deleteNode(nodeId);
             } catch (XMPPException.XMPPErrorException e) {
@@ -121,6 +126,7 @@ public class PubSubSection5_5_IntegrationTest extends AbstractSmackIntegrationTe
     public void testDiscoItemsNestedLeafNode() throws TestNotPossibleException, SmackException.NotConnectedException, InterruptedException, SmackException.NoResponseException
     {
         // Setup test fixture.
+        Phases.setup();
         final String nodeIdParent = "testparent-" + StringUtils.randomString(5);
         final String nodeIdChild = "testchild-" + StringUtils.randomString(5);
         final String itemId = "testitem-" + StringUtils.randomString(5);
@@ -162,12 +168,14 @@ public class PubSubSection5_5_IntegrationTest extends AbstractSmackIntegrationTe
 
         try {
             // Execute system under test.
+            Phases.execute();
             final List<DiscoverItems.Item> items = serviceDiscoveryManager.discoverItems(pubsubServiceAddress, nodeIdChild).getItems();
             if (items.isEmpty()) {
                 throw new TestNotPossibleException("PubSub service does not support Discover Items for a Node");
             }
 
             // Verify results.
+            Phases.verify();
             assertTrue(items.stream().anyMatch(item -> itemId.equals(item.getName())),
                 "Expected the response to the service discovery items request that was made by '" + conOne.getUser() + "' to leaf node '" + nodeIdChild + "' of service '" + pubsubServiceAddress + "' to contain an item with name '" + itemId+ "' which matches the itemID of an item that is known to have been published to the node (but no such item was returned).");
             assertTrue(items.stream().noneMatch(item -> item.getNode() != null),
@@ -176,6 +184,7 @@ public class PubSubSection5_5_IntegrationTest extends AbstractSmackIntegrationTe
             throw new TestNotPossibleException("PubSub service does not support Discover Items for a Node", e);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             try {
                 pubSubManagerOne.deleteNode(nodeIdChild);
             } catch (XMPPException.XMPPErrorException e) {
@@ -22,6 +22,8 @@ import org.igniterealtime.smack.inttest.annotations.AfterClass;
 import org.igniterealtime.smack.inttest.annotations.BeforeClass;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
+import org.igniterealtime.smack.inttest.util.ServerCapabilities;
 import org.igniterealtime.smack.inttest.xep0092.provider.Version;
 import org.jivesoftware.smack.SmackException.NoResponseException;
 import org.jivesoftware.smack.SmackException.NotConnectedException;
@@ -29,7 +31,6 @@ import org.jivesoftware.smack.XMPPException.XMPPErrorException;
 import org.jivesoftware.smack.packet.IQ;
 import org.jivesoftware.smack.provider.IqProvider;
 import org.jivesoftware.smack.provider.ProviderManager;
-import org.jivesoftware.smackx.disco.ServiceDiscoveryManager;
 import org.jxmpp.jid.Jid;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -41,9 +42,7 @@ public class VersionServerIntegrationTest extends AbstractSmackIntegrationTest {
     {
         super(environment);
 
-        if (!ServiceDiscoveryManager.getInstanceFor(conOne).serverSupportsFeature(Version.NAMESPACE)) {
-            throw new TestNotPossibleException("Server does not advertise support for " + Version.NAMESPACE);
-        }
+        ServerCapabilities.of(conOne).requireServerFeature(Version.NAMESPACE, "Server does not advertise support for " + Version.NAMESPACE);
     }
 
     private IqProvider smackProvider = null;
@@ -72,12 +71,14 @@ public class VersionServerIntegrationTest extends AbstractSmackIntegrationTest {
     public void testResultContainsName() throws NoResponseException, XMPPErrorException, NotConnectedException, InterruptedException
     {
         // Setup test fixture.
+        Phases.setup();
         final Jid target = conOne.getXMPPServiceDomain();
         final IQ request = new Version();
         request.setType(IQ.Type.get);
         request.setTo(target);
 
         // Execute System under Test.
+        Phases.execute();
         final Version result;
         try {
             result = conOne.sendIqRequestAndWaitForResponse(request);
@@ -86,6 +87,7 @@ public class VersionServerIntegrationTest extends AbstractSmackIntegrationTest {
             return;
         }
         // Verify result.
+        Phases.verify();
         assertNotNull(result.getName(), "Expected the 'version' response from '" + target + "' received by '" + conOne.getUser() + "' to contain a name (but it did not)");
     }
 
@@ -93,12 +95,14 @@ public class VersionServerIntegrationTest extends AbstractSmackIntegrationTest {
     public void testResultContainsVersion() throws NoResponseException, XMPPErrorException, NotConnectedException, InterruptedException
     {
         // Setup test fixture.
+        Phases.setup();
         final Jid target = conOne.getXMPPServiceDomain();
         final IQ request = new Version();
         request.setType(IQ.Type.get);
         request.setTo(target);
 
         // Execute System under Test.
+        Phases.execute();
         final Version result;
         try {
             result = conOne.sendIqRequestAndWaitForResponse(request);
@@ -107,6 +111,7 @@ public class VersionServerIntegrationTest extends AbstractSmackIntegrationTest {
             return;
         }
         // Verify result.
+        Phases.verify();
         assertNotNull(result.getVersion(), "Expected the 'version' response from '" + target + "' received by '" + conOne.getUser() + "' to contain a version (but it did not)");
     }
 }
@@ -20,6 +20,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
 import org.jivesoftware.smackx.caps.CapsUtil;
@@ -62,9 +63,11 @@ public class EntityCapabilitiesIntegrationTest extends AbstractSmackIntegrationT
     public void testServerFeatureHasHashAttribute()
     {
         // Execute system under test
+        Phases.execute();
         final CapsExtension streamFeature = conOne.getFeature(new QName(EntityCapsManager.NAMESPACE, EntityCapsManager.ELEMENT));
 
         // Verify result
+        Phases.verify();
         assertNotNull(streamFeature.getHash(), "The stream feature as advertised by '" + conOne.getXMPPServiceDomain() + "' was expected to contain a 'hash' attribute (but it did not).");
     }
 
@@ -75,9 +78,11 @@ public class EntityCapabilitiesIntegrationTest extends AbstractSmackIntegrationT
     public void testServerFeatureHasNodeAttribute()
     {
         // Execute system under test
+        Phases.execute();
         final CapsExtension streamFeature = conOne.getFeature(new QName(EntityCapsManager.NAMESPACE, EntityCapsManager.ELEMENT));
 
         // Verify result
+        Phases.verify();
         assertNotNull(streamFeature.getNode(), "The stream feature as advertised by '" + conOne.getXMPPServiceDomain() + "' was expected to contain a 'node' attribute (but it did not).");
     }
 
@@ -88,9 +93,11 @@ public class EntityCapabilitiesIntegrationTest extends AbstractSmackIntegrationT
     public void testServerFeatureHasVerAttribute()
     {
         // Execute system under test
+        Phases.execute();
         final CapsExtension streamFeature = conOne.getFeature(new QName(EntityCapsManager.NAMESPACE, EntityCapsManager.ELEMENT));
 
         // Verify result
+        Phases.verify();
         assertNotNull(streamFeature.getVer(), "The stream feature as advertised by '" + conOne.getXMPPServiceDomain() + "' was expected to contain a 'ver' attribute (but it did not).");
     }
 
@@ -98,14 +105,17 @@ public class EntityCapabilitiesIntegrationTest extends AbstractSmackIntegrationT
     public void testServerVerificationStringCalculation() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
+        Phases.setup();
         final CapsExtension streamFeature = conOne.getFeature(new QName(EntityCapsManager.NAMESPACE, EntityCapsManager.ELEMENT));
         final ServiceDiscoveryManager manager = ServiceDiscoveryManager.getInstanceFor(conOne);
         final String node = streamFeature.getNode() + "#" + streamFeature.getVer();
 
         // Execute system under test.
+        Phases.execute();
         final DiscoverInfo discoveredInfo = manager.discoverInfo(conOne.getXMPPServiceDomain(), node);
 
         // Verify result.
+        Phases.verify();
         final CapsVersionAndHash expectedCapsVersionAndHash = CapsUtil.generateVerificationString(discoveredInfo);
 
         assertEquals(expectedCapsVersionAndHash.version, streamFeature.getVer());
@@ -116,14 +126,17 @@ public class EntityCapabilitiesIntegrationTest extends AbstractSmackIntegrationT
     public void testDiscoInfoResponseMirrorsRequestedNode() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
+        Phases.setup();
         final CapsExtension streamFeature = conOne.getFeature(new QName(EntityCapsManager.NAMESPACE, EntityCapsManager.ELEMENT));
         final ServiceDiscoveryManager manager = ServiceDiscoveryManager.getInstanceFor(conOne);
         final String node = streamFeature.getNode() + "#" + streamFeature.getVer();
 
         // Execute system under test.
+        Phases.execute();
         final DiscoverInfo discoveredInfo = manager.discoverInfo(conOne.getXMPPServiceDomain(), node);
 
         // Verify result
+        Phases.verify();
         assertEquals(node, discoveredInfo.getNode(), "Expected the disco 'node' attribute in the response from '" + conOne.getXMPPServiceDomain() + "' sent to '" + conOne.getUser() + "' to include the original node value (but it did not).");
     }
 
@@ -131,9 +144,11 @@ public class EntityCapabilitiesIntegrationTest extends AbstractSmackIntegrationT
     public void testServerSupportsMandatoryAlgorithm() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
+        Phases.setup();
         final CapsExtension streamFeature = conOne.getFeature(new QName(EntityCapsManager.NAMESPACE, EntityCapsManager.ELEMENT));
 
         // Verify result.
+        Phases.verify();
         final String algorithm = streamFeature.getHash();
 
         assertEquals("sha-1", algorithm.toLowerCase(), "Expected the domain '" + conOne.getXMPPServiceDomain()  + "' to advertise support for the SHA-1 hash algorithm in its stream feature (but it did not).");
@@ -0,0 +1,186 @@
+/**
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.xep0115;
+
+import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.BenchmarkConfiguration;
+import org.igniterealtime.smack.inttest.util.BenchmarkReport;
+import org.igniterealtime.smack.inttest.util.LatencyRecorder;
+import org.igniterealtime.smack.inttest.util.Phases;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.XMPPConnection;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smackx.caps.CapsUtil;
+import org.jivesoftware.smackx.caps.CapsVersionAndHash;
+import org.jivesoftware.smackx.caps.EntityCapsManager;
+import org.jivesoftware.smackx.caps.packet.CapsExtension;
+import org.jivesoftware.smackx.disco.ServiceDiscoveryManager;
+import org.jivesoftware.smackx.disco.packet.DiscoverInfo;
+
+import javax.xml.namespace.QName;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the XEP-0115: Entity Capabilities, that verify that a server computes and serves its
+ * capabilities consistently when many entities request them at the same time.
+ *
+ * The amount of disco#info requests can be configured with the system property <tt>sinttest.benchmark.caps.requests</tt>
+ * (default: 500), the amount of requests that are outstanding at any time with
+ * <tt>sinttest.benchmark.caps.concurrency</tt> (default: 16). The amount of times that the verification string of a
+ * response is computed client-side, to compare the cache of {@link CapsUtil} with recomputation, can be configured with
+ * <tt>sinttest.benchmark.caps.computations</tt> (default: 10000).
+ *
+ * @see <a href="https://xmpp.org/extensions/xep-0115.html">XEP-0115: Entity Capabilities</a>
+ */
+@SpecificationReference(document = "XEP-0115", version = "1.6.0")
+public class EntityCapabilitiesLoadIntegrationTest extends AbstractSmackIntegrationTest
+{
+    private final int requestCount;
+    private final int concurrency;
+    private final int computationCount;
+
+    public EntityCapabilitiesLoadIntegrationTest(SmackIntegrationTestEnvironment environment) throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
+    {
+        super(environment);
+        BenchmarkConfiguration.requireEnabled();
+
+        if (!EntityCapsManager.getInstanceFor(conOne).areEntityCapsSupportedByServer()) {
+            throw new TestNotPossibleException("Domain does not seem support XEP-0115 Entity Capabilities.");
+        }
+
+        if (!conOne.hasFeature(new QName(EntityCapsManager.NAMESPACE, EntityCapsManager.ELEMENT))) {
+            throw new TestNotPossibleException("Domain does not advertise its entity capabilities in a stream feature element.");
+        }
+
+        requestCount = BenchmarkConfiguration.getInt("caps.requests", 500);
+        concurrency = BenchmarkConfiguration.getInt("caps.concurrency", 16);
+        computationCount = BenchmarkConfiguration.getInt("caps.computations", 10_000);
+        if (requestCount < 1 || concurrency < 1 || computationCount < 1) {
+            throw new TestNotPossibleException("The configured amount of requests (" + requestCount + "), concurrency (" + concurrency + ") and/or computations (" + computationCount + ") is not a positive number.");
+        }
+    }
+
+    /**
+     * Floods the server with concurrent disco#info requests for the node that is advertised in its entity capabilities
+     * stream feature (using all test connections), and asserts that the verification string of every response is equal
+     * to the advertised 'ver' value.
+     *
+     * Responses typically have identical content, which makes the client-side computation of the verification string a
+     * cache hit (see {@link CapsUtil}), so that the measurements reflect the server, rather than the test. Latency of
+     * the requests, and the amount of requests that are processed per second, are reported. Additionally, the rate at
+     * which the verification string of a response is computed client-side is reported, both through the cache and by
+     * recomputing it, to quantify the benefit of the cache.
+     */
+    @SmackIntegrationTest(section = "5.1", quote = "In order to help prevent poisoning of entity capabilities information, the value of the verification string MUST be generated according to the following method.")
+    public void testServerVerificationStringUnderLoad() throws Exception
+    {
+        // Setup test fixture.
+        Phases.setup();
+        final CapsExtension streamFeature = conOne.getFeature(new QName(EntityCapsManager.NAMESPACE, EntityCapsManager.ELEMENT));
+        final String node = streamFeature.getNode() + "#" + streamFeature.getVer();
+        final XMPPConnection[] connections = new XMPPConnection[] { conOne, conTwo, conThree };
+
+        final LatencyRecorder latency = new LatencyRecorder();
+        final Queue<String> mismatches = new ConcurrentLinkedQueue<>();
+        final AtomicInteger index = new AtomicInteger();
+        final AtomicReference<DiscoverInfo> sample = new AtomicReference<>();
+        final long cacheHitsBefore = CapsUtil.getCacheHits();
+        final long cacheMissesBefore = CapsUtil.getCacheMisses();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            // Execute system under test.
+            Phases.execute();
+            final long start = System.nanoTime();
+            final List<Future<?>> futures = new ArrayList<>(requestCount);
+            for (int i = 0; i < requestCount; i++) {
+                futures.add(executor.submit(() -> {
+                    final XMPPConnection connection = connections[index.getAndIncrement() % connections.length];
+                    final long sent = System.nanoTime();
+                    final DiscoverInfo discoveredInfo = ServiceDiscoveryManager.getInstanceFor(connection).discoverInfo(connection.getXMPPServiceDomain(), node);
+                    latency.recordSince(sent);
+                    sample.compareAndSet(null, discoveredInfo);
+
+                    final CapsVersionAndHash calculated = CapsUtil.generateVerificationString(discoveredInfo);
+                    if (!streamFeature.getVer().equals(calculated.version)) {
+                        mismatches.add(calculated.version);
+                    }
+                    return null;
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get(timeout, TimeUnit.MILLISECONDS);
+            }
+            final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            // Verify results.
+            Phases.verify();
+            assertEquals(requestCount, latency.getCount(), "Expected each of the " + requestCount + " disco#info requests that were sent to '" + conOne.getXMPPServiceDomain() + "' for node '" + node + "' to have received a response (but only " + latency.getCount() + " responses were recorded).");
+            assertTrue(mismatches.isEmpty(), "Expected the verification string of each of the " + requestCount + " disco#info responses that '" + conOne.getXMPPServiceDomain() + "' sent for node '" + node + "' to be equal to the advertised 'ver' value '" + streamFeature.getVer() + "'. However, " + mismatches.size() + " responses had a different verification string (eg: '" + mismatches.peek() + "').");
+
+            final long cacheHits = CapsUtil.getCacheHits() - cacheHitsBefore;
+            final long cacheMisses = CapsUtil.getCacheMisses() - cacheMissesBefore;
+            final Duration recomputed = timeComputations(() -> CapsUtil.generateVerificationStringUncached(sample.get()));
+            final Duration cached = timeComputations(() -> CapsUtil.generateVerificationString(sample.get()));
+
+            new BenchmarkReport("XEP-0115 caps disco#info flood (" + requestCount + " requests, concurrency " + concurrency + ")", conOne.getXMPPServiceDomain())
+                .add("disco#info latency", latency)
+                .addRate("disco#info requests/sec", requestCount, elapsed)
+                .add("client-side verification string cache hits", cacheHits)
+                .add("client-side verification string cache misses", cacheMisses)
+                .addRate("client-side verification strings/sec, recomputed", computationCount, recomputed)
+                .addRate("client-side verification strings/sec, cached", computationCount, cached)
+                .publish();
+        } finally {
+            // Tear down test fixture.
+            Phases.teardown();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the time it takes to compute a verification string the configured amount of times, after having computed it
+     * that same amount of times to warm up.
+     */
+    private Duration timeComputations(final Runnable computation)
+    {
+        for (int i = 0; i < computationCount; i++) {
+            computation.run();
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < computationCount; i++) {
+            computation.run();
+        }
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+}
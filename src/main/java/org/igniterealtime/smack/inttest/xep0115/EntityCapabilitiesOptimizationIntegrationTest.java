@@ -21,6 +21,7 @@ import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
 import org.igniterealtime.smack.inttest.util.IntegrationTestRosterUtil;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.ResultSyncPoint;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
@@ -82,13 +83,16 @@ public class EntityCapabilitiesOptimizationIntegrationTest extends AbstractSmack
 
         try {
             // Execute system under test.
+            Phases.execute();
             IntegrationTestRosterUtil.ensureSubscribedTo(conTwo, conOne, timeout);
 
             // Verify results.
+            Phases.verify();
             final Presence result = assertResult(oneReceivedFromTwo, "Expected '" + conOne.getUser() + "' to receive presence notification from '" + conTwo.getUser() + "' after subscribing (but no presence notification was received).");
             assertNotNull(result.getExtension(new QName(EntityCapsManager.NAMESPACE, EntityCapsManager.ELEMENT)), "Expected the presence notification as received by '" + conOne.getUser() + "' after subscribing to '" + conTwo.getUser() + "' to contain a entity capabilities annotation (but it did not).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             rosterOne.removePresenceEventListener(presenceEventListener);
             IntegrationTestRosterUtil.ensureBothAccountsAreNotInEachOthersRoster(conOne, conTwo);
         }
@@ -135,9 +139,11 @@ public class EntityCapabilitiesOptimizationIntegrationTest extends AbstractSmack
 
         try {
             // Execute system under test.
+            Phases.execute();
             ServiceDiscoveryManager.getInstanceFor(conTwo).addFeature("urn:example:xmppinteroptesting:" + StringUtils.randomString(17));
 
             // Verify results.
+            Phases.verify();
             final Presence result = assertResult(updatePoint, "Expected '" + conOne.getUser() + "' to receive presence notification from '" + conTwo.getUser() + "' after its 'ver' value changed (but no presence notification was received).");
             final CapsExtension caps = (CapsExtension) result.getExtension(new QName(EntityCapsManager.NAMESPACE, EntityCapsManager.ELEMENT));
             assertNotNull(caps, "Expected the presence notification as received by '" + conOne.getUser() + "' after '" + conTwo.getUser() + "' updated its 'ver' value to contain a entity capabilities annotation (but it did not).");
@@ -0,0 +1,193 @@
+/**
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.xep0115;
+
+import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.AccountPool;
+import org.igniterealtime.smack.inttest.util.BenchmarkConfiguration;
+import org.igniterealtime.smack.inttest.util.BenchmarkReport;
+import org.igniterealtime.smack.inttest.util.IntegrationTestRosterUtil;
+import org.igniterealtime.smack.inttest.util.LatencyRecorder;
+import org.igniterealtime.smack.inttest.util.Phases;
+import org.jivesoftware.smack.AbstractXMPPConnection;
+import org.jivesoftware.smack.ListenerHandle;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smack.packet.IQ;
+import org.jivesoftware.smack.packet.Presence;
+import org.jivesoftware.smack.packet.PresenceBuilder;
+import org.jivesoftware.smack.roster.Roster;
+import org.jivesoftware.smack.roster.RosterEntry;
+import org.jivesoftware.smackx.caps.EntityCapsManager;
+import org.jivesoftware.smackx.caps.packet.CapsExtension;
+import org.jivesoftware.smackx.disco.ServiceDiscoveryManager;
+import org.jivesoftware.smackx.disco.packet.DiscoverInfo;
+import org.jxmpp.jid.Jid;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the XEP-0115: Entity Capabilities, that verify how a server deals with a large amount of
+ * contacts that come online at the same time, each annotating their presence with entity capabilities. Many of these
+ * contacts share the same 'ver' value, which the protocol intends to be discovered only once.
+ *
+ * The amount of contacts can be configured with the system property <tt>sinttest.benchmark.caps.storm.contacts</tt>
+ * (default: 100), the amount of distinct 'ver' values that they use with <tt>sinttest.benchmark.caps.storm.vers</tt>
+ * (default: 5).
+ *
+ * @see <a href="https://xmpp.org/extensions/xep-0115.html">XEP-0115: Entity Capabilities</a>
+ */
+@SpecificationReference(document = "XEP-0115", version = "1.6.0")
+public class EntityCapabilitiesPresenceStormIntegrationTest extends AbstractSmackIntegrationTest
+{
+    private final SmackIntegrationTestEnvironment environment;
+
+    private final int contactCount;
+    private final int distinctVerCount;
+
+    public EntityCapabilitiesPresenceStormIntegrationTest(SmackIntegrationTestEnvironment environment) throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
+    {
+        super(environment);
+        BenchmarkConfiguration.requireEnabled();
+        this.environment = environment;
+
+        if (!EntityCapsManager.getInstanceFor(conOne).areEntityCapsSupportedByServer()) {
+            throw new TestNotPossibleException("Domain does not seem support XEP-0115 Entity Capabilities.");
+        }
+
+        contactCount = BenchmarkConfiguration.getInt("caps.storm.contacts", 100);
+        distinctVerCount = BenchmarkConfiguration.getInt("caps.storm.vers", 5);
+        if (contactCount < 1 || distinctVerCount < 1 || distinctVerCount > contactCount) {
+            throw new TestNotPossibleException("The configured amount of contacts (" + contactCount + ") and/or distinct 'ver' values (" + distinctVerCount + ") is not valid.");
+        }
+    }
+
+    /**
+     * Has many contacts of a user become available at the same time, each with a caps-annotated presence (where groups
+     * of contacts share the same 'ver' value). Asserts that the user receives presence from each of them.
+     *
+     * The latency of the presence fan-out, and the amount of disco#info queries that the contacts receive (which are
+     * issued or forwarded by the server), are reported. As caching the capabilities that are associated with a 'ver'
+     * value is optional, the amount of 'ver' values for which more than one query was received is reported, rather than
+     * asserted.
+     */
+    @SmackIntegrationTest(section = "1", quote = "In order to minimize network impact, the transport mechanism is standard XMPP presence broadcast (thus forestalling the need for polling related to service discovery data), the capabilities information can be cached either within a session or across sessions, and the format has been kept as small as possible.")
+    public void testPresenceStormWithSharedVer() throws Exception
+    {
+        // Setup test fixture: contacts that each advertise one of a limited set of (distinct) feature sets.
+        Phases.setup();
+        final String featurePrefix = "urn:example:xmppinteroptesting:caps-storm:" + System.nanoTime() + ":";
+        final AtomicInteger verGroup = new AtomicInteger();
+        final Map<String, AtomicInteger> discoQueriesByVer = new ConcurrentHashMap<>();
+        final AtomicInteger discoQueriesTotal = new AtomicInteger();
+        final List<ListenerHandle> listenerHandles = new ArrayList<>();
+        final Roster rosterOne = Roster.getInstanceFor(conOne);
+
+        try (final AccountPool contacts = AccountPool.create(environment, sinttestConfiguration, "caps-storm", contactCount, 16, connection -> ServiceDiscoveryManager.getInstanceFor(connection).addFeature(featurePrefix + (verGroup.getAndIncrement() % distinctVerCount))))
+        {
+            for (final AbstractXMPPConnection contact : contacts.getConnections()) {
+                IntegrationTestRosterUtil.ensureSubscribedTo(contact, conOne, timeout);
+
+                // Count disco#info requests that are not sent by the test itself (those are issued or forwarded by the server).
+                listenerHandles.add(contact.addStanzaListener(stanza -> {
+                    final DiscoverInfo query = (DiscoverInfo) stanza;
+                    final String node = query.getNode();
+                    final String ver = node != null && node.contains("#") ? node.substring(node.indexOf('#') + 1) : "(none)";
+                    discoQueriesByVer.computeIfAbsent(ver, v -> new AtomicInteger()).incrementAndGet();
+                    discoQueriesTotal.incrementAndGet();
+                }, stanza -> stanza instanceof DiscoverInfo && ((IQ) stanza).getType() == IQ.Type.get && !conOne.getUser().equals(stanza.getFrom())));
+            }
+
+            // Have all contacts go offline, to be able to have them come online at the same time.
+            for (final AbstractXMPPConnection contact : contacts.getConnections()) {
+                contact.sendStanza(PresenceBuilder.buildPresence().ofType(Presence.Type.unavailable).build());
+            }
+
+            final Map<Jid, Long> sentNanos = new ConcurrentHashMap<>();
+            final Map<Jid, Long> receivedNanos = new ConcurrentHashMap<>();
+            final Map<Jid, String> receivedVer = new ConcurrentHashMap<>();
+            final CountDownLatch allReceived = new CountDownLatch(contactCount);
+            final Set<Jid> contactAddresses = new HashSet<>();
+            for (final AbstractXMPPConnection contact : contacts.getConnections()) {
+                contactAddresses.add(contact.getUser());
+            }
+            listenerHandles.add(conOne.addStanzaListener(stanza -> {
+                final long now = System.nanoTime();
+                if (!sentNanos.containsKey(stanza.getFrom())) {
+                    // Not part of the storm (eg: a presence that was sent while the test fixture was being set up).
+                    return;
+                }
+                if (receivedNanos.putIfAbsent(stanza.getFrom(), now) == null) {
+                    final CapsExtension caps = stanza.getExtension(CapsExtension.class);
+                    receivedVer.put(stanza.getFrom(), caps == null ? "(none)" : caps.getVer());
+                    allReceived.countDown();
+                }
+            }, stanza -> stanza instanceof Presence && ((Presence) stanza).getType() == Presence.Type.available && contactAddresses.contains(stanza.getFrom())));
+
+            // Execute system under test.
+            Phases.execute();
+            final long start = System.nanoTime();
+            for (final AbstractXMPPConnection contact : contacts.getConnections()) {
+                sentNanos.put(contact.getUser(), System.nanoTime());
+                contact.sendStanza(PresenceBuilder.buildPresence().ofType(Presence.Type.available).build()); // Smack's EntityCapsManager adds the caps annotation.
+            }
+
+            // Verify result.
+            Phases.verify();
+            final long stormTimeout = timeout + contactCount * 50L;
+            final boolean complete = allReceived.await(stormTimeout, TimeUnit.MILLISECONDS);
+            final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            assertTrue(complete, "Expected '" + conOne.getUser() + "' to receive an available presence from each of its " + contactCount + " contacts that came online at the same time, but " + allReceived.getCount() + " presences were not received within " + stormTimeout + "ms.");
+
+            final long withoutCaps = receivedVer.values().stream().filter("(none)"::equals).count();
+            final LatencyRecorder fanOutLatency = new LatencyRecorder();
+            receivedNanos.forEach((jid, received) -> fanOutLatency.record(received - sentNanos.get(jid)));
+
+            new BenchmarkReport("XEP-0115 presence storm (" + contactCount + " contacts, " + distinctVerCount + " distinct 'ver' values)", conOne.getXMPPServiceDomain())
+                .add("presence fan-out latency", fanOutLatency)
+                .addRate("presences/sec", contactCount, elapsed)
+                .add("presences without caps annotation", withoutCaps)
+                .add("disco#info queries received by contacts", discoQueriesTotal.get())
+                .add("disco#info queries received by contacts, per 'ver'", discoQueriesByVer)
+                .add("'ver' values that were queried more than once", discoQueriesByVer.values().stream().filter(count -> count.get() > 1).count())
+                .publish();
+        } finally {
+            // Tear down test fixture.
+            Phases.teardown();
+            listenerHandles.forEach(ListenerHandle::close);
+            for (final RosterEntry entry : rosterOne.getEntries()) {
+                if (entry.getJid().getLocalpartOrNull() != null && entry.getJid().getLocalpartOrNull().toString().startsWith("caps-storm-")) {
+                    rosterOne.removeEntry(entry);
+                }
+            }
+        }
+    }
+}
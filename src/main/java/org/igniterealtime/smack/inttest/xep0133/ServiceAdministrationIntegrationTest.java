@@ -21,6 +21,7 @@ import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
 import org.igniterealtime.smack.inttest.util.AccountUtilities;
 import org.igniterealtime.smack.inttest.util.IntegrationTestRosterUtil;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.*;
 import org.jivesoftware.smack.filter.*;
@@ -127,11 +128,14 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         "with the service in question.")
     public void testGetCommandsForUser() throws Exception {
         // Setup test fixture.
+        Phases.setup();
 
         // Execute system under test.
+        Phases.execute();
         DiscoverItems result = adHocCommandManagerForConOne.discoverCommands(conOne.getUser().asEntityBareJid());
 
         // Verify results.
+        Phases.verify();
         List<DiscoverItems.Item> items = result.getItems();
     }
 
@@ -141,11 +145,14 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         "with the service in question.")
     public void testGetCommandsForAdmin() throws Exception {
         // Setup test fixture.
+        Phases.setup();
 
         // Execute system under test.
+        Phases.execute();
         DiscoverItems result = adHocCommandManagerForAdmin.discoverCommands(adminConnection.getUser().asEntityBareJid());
 
         // Verify results.
+        Phases.verify();
         List<DiscoverItems.Item> items = result.getItems();
         assertFalse(items.isEmpty(), "Expected '" + adminConnection.getUser() +"' (an administrator) to be able to retrieve a non-empty 'command list' using service discovery (but the command list was empty).");
     }
@@ -155,9 +162,11 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
     public void testAddUser() throws Exception {
         checkServerSupportCommand(ADD_A_USER);
         // Setup test fixture.
+        Phases.setup();
         final Jid addedUser = JidCreate.bareFrom(Localpart.from("addusertest-" + StringUtils.randomString(5)), connection.getXMPPServiceDomain());
         try {
             // Execute system under test.
+            Phases.execute();
             AdHocCommandData result = executeCommandWithArgs(ADD_A_USER, adminConnection.getUser().asEntityBareJid(),
                 "accountjid", addedUser.toString(),
                 "password", "password",
@@ -165,6 +174,7 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
             );
 
             // Verify results.
+            Phases.verify();
             assertCommandCompletedSuccessfully(result, "Expected response to the " + ADD_A_USER + " command that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
 
             try {
@@ -177,6 +187,7 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDeleteUser(addedUser);
         }
     }
@@ -185,9 +196,11 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
     public void testAddUserWithMismatchedPassword() throws Exception {
         checkServerSupportCommand(ADD_A_USER);
         // Setup test fixture.
+        Phases.setup();
         final Jid newUser = JidCreate.bareFrom(Localpart.from("addusermismatchedpasswordtest-" + StringUtils.randomString(5)), connection.getXMPPServiceDomain());
         try {
             // Execute system under test.
+            Phases.execute();
             AdHocCommandData result = executeCommandWithArgs(ADD_A_USER, adminConnection.getUser().asEntityBareJid(),
                 "accountjid", newUser.toString(),
                 "password", "password",
@@ -195,9 +208,11 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
             );
 
             // Verify results.
+            Phases.verify();
             assertCommandFailed(result, "Expected response to the " + ADD_A_USER + " command that was executed by '" + adminConnection.getUser() + "' to represent failure (but it does not), as the two provided password values were not equal to each-other.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDeleteUser(newUser);
         }
     }
@@ -206,9 +221,11 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
     public void testAddUserWithRemoteJid() throws Exception {
         checkServerSupportCommand(ADD_A_USER);
         // Setup test fixture.
+        Phases.setup();
         final Jid newUser = JidCreate.bareFrom("adduserinvalidjidtest-" + StringUtils.randomString(5) + "@somewhereelse.org");
         try {
             // Execute system under test.
+            Phases.execute();
             AdHocCommandData result = executeCommandWithArgs(ADD_A_USER, adminConnection.getUser().asEntityBareJid(),
                 "accountjid", newUser.toString(),
                 "password", "password",
@@ -216,9 +233,11 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
             );
 
             // Verify results.
+            Phases.verify();
             assertCommandFailed(result, "Expected response to the " + ADD_A_USER + " command that was executed by '" + adminConnection.getUser() + "' to represent failure (but it does not) as the provided 'accountjid' value is not an address of the local XMPP domain.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDeleteUser(newUser);
         }
     }
@@ -227,9 +246,11 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
     public void testAddUserWithInvalidJid() throws Exception {
         checkServerSupportCommand(ADD_A_USER);
         // Setup test fixture.
+        Phases.setup();
         final String newUserInvalidJid = "adduserinvalidjidtest-" + StringUtils.randomString(5) + "@invalid@domain";
         try {
             // Execute system under test.
+            Phases.execute();
             AdHocCommandData result = executeCommandWithArgs(ADD_A_USER, adminConnection.getUser().asEntityBareJid(),
                 "accountjid", newUserInvalidJid,
                 "password", "password",
@@ -237,9 +258,11 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
             );
 
             // Verify results.
+            Phases.verify();
             assertCommandFailed(result, "Expected response to the " + ADD_A_USER + " command that was executed by '" + adminConnection.getUser() + "' to represent failure (but it does not) as the provided 'accountjid' value is not a valid JID.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDeleteUser(newUserInvalidJid);
         }
     }
@@ -249,19 +272,23 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
     public void testDeleteUser() throws Exception {
         checkServerSupportCommand(DELETE_A_USER);
         // Setup test fixture.
+        Phases.setup();
         final Jid deletedUser = JidCreate.bareFrom(Localpart.from("deleteusertest-" + StringUtils.randomString(5)), connection.getXMPPServiceDomain());
         createUser(deletedUser);
 
         try {
             // Execute system under test.
+            Phases.execute();
             AdHocCommandData result = executeCommandWithArgs(DELETE_A_USER, adminConnection.getUser().asEntityBareJid(),
                 "accountjids", deletedUser.toString()
             );
 
             // Verify results.
+            Phases.verify();
             assertCommandCompletedSuccessfully(result, "Expected response to the " + DELETE_A_USER + " command (targeting a user by bare JID) that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDeleteUser(deletedUser);
         }
     }
@@ -270,22 +297,26 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
     public void testDeleteUserWithFullJid() throws Exception {
         checkServerSupportCommand(DELETE_A_USER);
         // Setup test fixture.
+        Phases.setup();
         final Jid deletedUser = JidCreate.bareFrom(Localpart.from("deleteusertest2-" + StringUtils.randomString(5)), connection.getXMPPServiceDomain());
         createUser(deletedUser);
 
         try {
             // Execute system under test.
+            Phases.execute();
             AdHocCommandData result = executeCommandWithArgs(DELETE_A_USER, adminConnection.getUser().asEntityBareJid(),
                 "accountjids", deletedUser.toString() + "/resource"
             );
 
             // Verify results.
+            Phases.verify();
             assertCommandCompletedSuccessfully(result, "Expected response to the " + DELETE_A_USER + " command (targeting a user by full JID) that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
             // Although https://xmpp.org/extensions/xep-0133.html#delete-user specifies that the client should send the bare
             // JID, there's no error handling specified for the case where the full JID is sent, and so it's expected that
             // the server should handle it gracefully.
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDeleteUser(deletedUser);
         }
     }
@@ -295,19 +326,23 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
     public void testDisableUser() throws Exception {
         checkServerSupportCommand(DISABLE_A_USER);
         // Setup test fixture.
+        Phases.setup();
         final Jid disabledUser = JidCreate.bareFrom(Localpart.from("disableusertest-" + StringUtils.randomString(5)), connection.getXMPPServiceDomain());
         try {
             createUser(disabledUser);
 
             // Execute system under test.
+            Phases.execute();
             AdHocCommandData result = executeCommandWithArgs(DISABLE_A_USER, adminConnection.getUser().asEntityBareJid(),
                 "accountjids", disabledUser.toString()
             );
 
             // Verify results.
+            Phases.verify();
             assertCommandCompletedSuccessfully(result, "Expected response to the " + DISABLE_A_USER + " command that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDeleteUser(disabledUser);
         }
     }
@@ -316,6 +351,7 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
     public void testDisableUserGetsSessionsTerminated() throws Exception {
         checkServerSupportCommand(DISABLE_A_USER);
         // Setup test fixture.
+        Phases.setup();
         final Jid disabledUser = JidCreate.bareFrom(Localpart.from("disableusertest-" + StringUtils.randomString(5)), connection.getXMPPServiceDomain());
         AbstractXMPPConnection userConnectionOne = null;
         AbstractXMPPConnection userConnectionTwo = null;
@@ -356,15 +392,18 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
             });
 
             // Execute system under test.
+            Phases.execute();
             executeCommandWithArgs(DISABLE_A_USER, adminConnection.getUser().asEntityBareJid(),
                 "accountjids", disabledUser.toString()
             );
 
             // Verify results.
+            Phases.verify();
             assertResult(isOneDisconnected, "Expected the connection of '" + userConnectionOne.getUser() + "' to be disconnected after '" + adminConnection.getUser() + "' invoked the " + DISABLE_A_USER + " ad-hoc command using the target's bare JID (but the connection remains connected).");
             assertResult(isTwoDisconnected, "Expected the connection of '" + userConnectionTwo.getUser() + "' to be disconnected after '" + adminConnection.getUser() + "' invoked the " + DISABLE_A_USER + " ad-hoc command using the target's bare JID (but the connection remains connected).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             if (userConnectionOne != null && userConnectionOne.isConnected()) {
                 userConnectionOne.disconnect();
             }
@@ -380,23 +419,27 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         checkServerSupportCommand(DISABLE_A_USER);
 
         // Setup test fixture.
+        Phases.setup();
         AbstractXMPPConnection userConnectionOne = null;
         final Jid disabledUser = JidCreate.bareFrom(Localpart.from("disableusertest-" + StringUtils.randomString(5)), connection.getXMPPServiceDomain());
         try {
             createUser(disabledUser);
 
             // Execute system under test.
+            Phases.execute();
             executeCommandWithArgs(DISABLE_A_USER, adminConnection.getUser().asEntityBareJid(),
                 "accountjids", disabledUser.toString()
             );
 
             // Verify results.
+            Phases.verify();
             userConnectionOne = AccountUtilities.spawnNewConnection(environment, sinttestConfiguration);
             userConnectionOne.connect();
             AbstractXMPPConnection finalUserConnectionOne = userConnectionOne;
             assertThrows(SASLErrorException.class, () -> finalUserConnectionOne.login(disabledUser.getLocalpartOrThrow().toString(), "password", Resourcepart.from("resource-one-" + StringUtils.randomString(5))), "Expected '" + disabledUser + "' to not be able to login after their account was disabled by '" + adminConnection.getUser() + "' using the '" + DISABLE_A_USER + "' command (but the user was able to login).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             if (userConnectionOne != null && userConnectionOne.isConnected()) {
                 userConnectionOne.disconnect();
             }
@@ -411,6 +454,7 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         checkServerSupportCommand(GET_USER_ROSTER); // Used in assertion.
 
         // Setup test fixture.
+        Phases.setup();
         AbstractXMPPConnection userConnectionOne = null;
         final Jid disabledUser = JidCreate.bareFrom(Localpart.from("disableusertest-" + StringUtils.randomString(5)), connection.getXMPPServiceDomain());
         try {
@@ -423,11 +467,13 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
             Roster.getInstanceFor(userConnectionOne).createItem(contactJid, contactName, null);
 
             // Execute system under test.
+            Phases.execute();
             executeCommandWithArgs(DISABLE_A_USER, adminConnection.getUser().asEntityBareJid(),
                 "accountjids", disabledUser.toString()
             );
 
             // Verify results.
+            Phases.verify();
             AdHocCommandData rosterData = executeCommandWithArgs(GET_USER_ROSTER, adminConnection.getUser().asEntityBareJid(),
                 "accountjids", disabledUser.toString()
             );
@@ -436,6 +482,7 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
             assertTrue(roster.getRosterItems().stream().anyMatch(item -> item.getJid().equals(contactJid) && item.getName().equals(contactName)), "Expected the roster of the disabled user '" + disabledUser + "' to remain unaffected, but an entry (jid: '" + contactJid + "', name: '" + contactName + "') that was added before the user was disabled does not appear on the roster anymore.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             if (userConnectionOne != null && userConnectionOne.isConnected()) {
                 userConnectionOne.disconnect();
             }
@@ -453,20 +500,24 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         final Jid disabledUser = JidCreate.entityBareFrom(Localpart.from("reenableusertest-" + StringUtils.randomString(5)), connection.getXMPPServiceDomain());
         try {
             // Setup test fixture.
+            Phases.setup();
             createUser(disabledUser);
             executeCommandWithArgs(DISABLE_A_USER, adminConnection.getUser().asEntityBareJid(),
                 "accountjids", disabledUser.toString()
             );
 
             // Execute system under test.
+            Phases.execute();
             AdHocCommandData result = executeCommandWithArgs(REENABLE_A_USER, adminConnection.getUser().asEntityBareJid(),
                 "accountjids", disabledUser.toString()
             );
 
             // Verify results.
+            Phases.verify();
             assertCommandCompletedSuccessfully(result, "Expected response to the " + REENABLE_A_USER + " command that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDeleteUser(disabledUser);
         }
     }
@@ -480,23 +531,27 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         AbstractXMPPConnection userConnectionOne = null;
         try {
             // Setup test fixture.
+            Phases.setup();
             createUser(disabledUser);
             executeCommandWithArgs(DISABLE_A_USER, adminConnection.getUser().asEntityBareJid(),
                 "accountjids", disabledUser.toString()
             );
 
             // Execute system under test.
+            Phases.execute();
             executeCommandWithArgs(REENABLE_A_USER, adminConnection.getUser().asEntityBareJid(),
                 "accountjids", disabledUser.toString()
             );
 
             // Verify results.
+            Phases.verify();
             userConnectionOne = AccountUtilities.spawnNewConnection(environment, sinttestConfiguration);
             userConnectionOne.connect();
             AbstractXMPPConnection finalUserConnectionOne = userConnectionOne;
             assertDoesNotThrow(() -> finalUserConnectionOne.login(disabledUser.getLocalpartOrThrow().toString(), "password", Resourcepart.from("resource-one-" + StringUtils.randomString(5))), "Expected '" + disabledUser + "' to be able to login after their account was disabled and re-enabled by '" + adminConnection.getUser() + "' using the '" + REENABLE_A_USER + "' command (but the user was not able to login).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             if (userConnectionOne != null && userConnectionOne.isConnected()) {
                 userConnectionOne.disconnect();
             }
@@ -509,14 +564,17 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         checkServerSupportCommand(REENABLE_A_USER);
 
         // Setup test fixture.
+        Phases.setup();
         final Jid disabledUser = JidCreate.entityBareFrom(Localpart.from("reenablenonexistingusertest-" + StringUtils.randomString(5)), connection.getXMPPServiceDomain());
 
         // Execute system under test.
+        Phases.execute();
         AdHocCommandData result = executeCommandWithArgs(REENABLE_A_USER, adminConnection.getUser().asEntityBareJid(),
             "accountjids", disabledUser.toString()
         );
 
         // Verify results.
+        Phases.verify();
         assertCommandFailed(result, "Expected response to the " + REENABLE_A_USER + " command that was executed by '" + adminConnection.getUser() + "' to represent failure (but it does not) as the targeted user does not exist.");
     }
 
@@ -525,14 +583,17 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         checkServerSupportCommand(REENABLE_A_USER);
 
         // Setup test fixture.
+        Phases.setup();
         final Jid disabledUser = JidCreate.entityBareFrom("reenableremoteusertest-" + StringUtils.randomString(5) + "@elsewhere.org");
 
         // Execute system under test.
+        Phases.execute();
         AdHocCommandData result = executeCommandWithArgs(REENABLE_A_USER, adminConnection.getUser().asEntityBareJid(),
             "accountjids", disabledUser.toString()
         );
 
         // Verify results.
+        Phases.verify();
         assertCommandFailed(result, "Expected response to the " + REENABLE_A_USER + " command that was executed by '" + adminConnection.getUser() + "' to represent failure (but it does not) as the targeted user is not a user of the local domain.");
     }
 
@@ -735,17 +796,20 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
     public void testChangePassword() throws Exception {
         checkServerSupportCommand(CHANGE_USER_PASSWORD);
         // Setup test fixture.
+        Phases.setup();
         final Jid userToChangePassword = JidCreate.bareFrom(Localpart.from("changepasswordtest-" + StringUtils.randomString(5)), connection.getXMPPServiceDomain());
         try {
             createUser(userToChangePassword);
 
             // Execute system under test.
+            Phases.execute();
             AdHocCommandData result = executeCommandWithArgs(CHANGE_USER_PASSWORD, adminConnection.getUser().asEntityBareJid(),
                 "accountjid", userToChangePassword.toString(),
                 "password", "password2"
             );
 
             // Verify results.
+            Phases.verify();
             assertCommandCompletedSuccessfully(result, "Expected response to the " + CHANGE_USER_PASSWORD + " command that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
 
             AbstractXMPPConnection userConnection = AccountUtilities.spawnNewConnection(environment, sinttestConfiguration);
@@ -754,6 +818,7 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
             assertDoesNotThrow(() -> userConnection.login(userToChangePassword.getLocalpartOrThrow().toString(), "password2"), "Expected user '" + userToChangePassword + "' to be able to authenticate using the new credentials, after '" + adminConnection.getUser() + "' changed their password using the '" + CHANGE_USER_PASSWORD + "' command (but the user was not able to authenticate).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDeleteUser(userToChangePassword);
         }
     }
@@ -764,14 +829,17 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         checkServerSupportCommand(GET_USER_ROSTER);
 
         // Setup test fixture.
+        Phases.setup();
         IntegrationTestRosterUtil.ensureBothAccountsAreSubscribedToEachOther(conOne, conTwo, 10000);
 
         // Execute system under test.
+        Phases.execute();
         AdHocCommandData result = executeCommandWithArgs(GET_USER_ROSTER, adminConnection.getUser().asEntityBareJid(),
             "accountjids", conOne.getUser().asEntityBareJidString()
         );
 
         // Verify results.
+        Phases.verify();
         assertCommandCompletedSuccessfully(result, "Expected response to the " + GET_USER_ROSTER + " command that was executed by '" + adminConnection.getUser() + "' to retrieve the roster of '" + conOne.getUser() + "' to represent success (but it does not).");
         List<Element> elements = result.getForm().getExtensionElements();
         final Optional<RosterPacket> roster = elements.stream().filter(element -> element instanceof RosterPacket).map(element -> (RosterPacket) element).findAny();
@@ -779,6 +847,7 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         assertTrue(roster.get().getRosterItems().stream().anyMatch(item -> item.getJid().equals(conTwo.getUser().asEntityBareJid())), "Expected response to the " + GET_USER_ROSTER + " command that was executed by '" + adminConnection.getUser() + "' to retrieve the roster of '" + conOne.getUser() + "' to contain their roster. A roster was returned, but it does not contain an expected item for '" + conTwo.getUser() + "'.");
 
         // Tear down test fixture.
+        Phases.teardown();
         IntegrationTestRosterUtil.ensureBothAccountsAreNotInEachOthersRoster(conOne, conTwo);
     }
 
@@ -787,11 +856,13 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         checkServerSupportCommand(GET_USER_LAST_LOGIN_TIME);
 
         // Execute system under test.
+        Phases.execute();
         AdHocCommandData result = executeCommandWithArgs(GET_USER_LAST_LOGIN_TIME, adminConnection.getUser().asEntityBareJid(),
             "accountjids", conOne.getUser().asEntityBareJidString()
         );
 
         // Verify results.
+        Phases.verify();
         assertCommandCompletedSuccessfully(result, "Expected response to the " + GET_USER_LAST_LOGIN_TIME + " command that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
         if (result.getForm().getField("lastlogin") == null) {
             // The implementation uses a different field than 'lastlogin' maybe? Can't perform the rest of the assertions.
@@ -813,11 +884,13 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         checkServerSupportCommand(GET_USER_STATISTICS);
 
         // Execute system under test.
+        Phases.execute();
         AdHocCommandData result = executeCommandWithArgs(GET_USER_STATISTICS, adminConnection.getUser().asEntityBareJid(),
             "accountjids", conOne.getUser().asEntityBareJidString()
         );
 
         // Verify results.
+        Phases.verify();
         assertCommandCompletedSuccessfully(result, "Expected response to the " + GET_USER_STATISTICS + " command that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
         assertFormFieldCountAtLeast(1, result, "Expected response to the " + GET_USER_STATISTICS + " command that was executed by '" + adminConnection.getUser() + "' to contain at least one field (but it does not).");
         // Which stats a server should support isn't defined, so we can't check for specific fields or values.
@@ -831,8 +904,10 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         final String blacklistDomain = "xmpp.someotherdomain.org";
         try {
             // Setup test fixture.
+            Phases.setup();
 
             // Execute system under test: Pretend it's a 1-stage command initially, so that we can check that the current list of Blocked Users is populated
+            Phases.execute();
             AdHocCommandData result = executeCommandSimple(EDIT_BLOCKED_LIST, adminConnection.getUser().asEntityBareJid());
 
             if (result.getForm().getField("blacklistjids").hasValueSet()) {
@@ -840,11 +915,13 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
             }
 
             // Execute system under test: Run the full 2-stage command to alter the Blocklist.
+            Phases.execute();
             result = executeCommandWithArgs(EDIT_BLOCKED_LIST, adminConnection.getUser().asEntityBareJid(),
                 "blacklistjids", blacklistDomain
             );
 
             // Verify Results.
+            Phases.verify();
             assertCommandCompletedSuccessfully(result, "Expected response to the " + EDIT_BLOCKED_LIST + " command that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
 
             // Pretend it's a 1-stage command again, so that we can check that the new list of Blocked Users is correct.
@@ -853,6 +930,7 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
 
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             executeCommandWithArgs(EDIT_BLOCKED_LIST, adminConnection.getUser().asEntityBareJid(),
                 "blacklistjids", ""
             );
@@ -866,8 +944,10 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         final String whitelistDomain = "xmpp.someotherdomain.org";
         try {
             // Setup test fixture.
+            Phases.setup();
 
             // Execute system under test: Pretend it's a 1-stage command initially, so that we can check that the current list of Allowed Users is populated
+            Phases.execute();
             AdHocCommandData result = executeCommandSimple(EDIT_ALLOWED_LIST, adminConnection.getUser().asEntityBareJid());
 
             if (result.getForm().getField("whitelistjids").hasValueSet()) {
@@ -875,11 +955,13 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
             }
 
             // Execute system under test: Run the full 2-stage command to alter the Whitelist.
+            Phases.execute();
             result = executeCommandWithArgs(EDIT_ALLOWED_LIST, adminConnection.getUser().asEntityBareJid(),
                 "whitelistjids", whitelistDomain
             );
 
             // Verify Results.
+            Phases.verify();
             assertCommandCompletedSuccessfully(result, "Expected response to the " + EDIT_ALLOWED_LIST + " command that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
 
             // Pretend it's a 1-stage command again, so that we can check that the new list of Allowed Users is correct.
@@ -888,6 +970,7 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
 
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             executeCommandWithArgs(EDIT_ALLOWED_LIST, adminConnection.getUser().asEntityBareJid(),
                 "whitelistjids", ""
             );
@@ -900,9 +983,11 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         checkServerSupportCommand(GET_NUMBER_OF_REGISTERED_USERS);
 
         // Execute system under test.
+        Phases.execute();
         AdHocCommandData result = executeCommandSimple(GET_NUMBER_OF_REGISTERED_USERS, adminConnection.getUser().asEntityBareJid());
 
         // Verify results.
+        Phases.verify();
         assertCommandCompletedSuccessfully(result, "Expected response to the " + GET_NUMBER_OF_REGISTERED_USERS + " command that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
         final int expectedMinimumCount = 3; // Each test runs with at least three registered test accounts (but more users might be active!)
         final int reportedCount = Integer.parseInt(result.getForm().getField("registeredusersnum").getFirstValue());
@@ -917,6 +1002,7 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         checkServerSupportCommand(DISABLE_A_USER);
 
         // Setup test fixture.
+        Phases.setup();
         final Jid disabledUser = JidCreate.bareFrom(Localpart.from("disableusernumtest-" + StringUtils.randomString(5)), connection.getXMPPServiceDomain());
         try {
             // Create and disable a user
@@ -926,15 +1012,18 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
             );
 
             // Execute system under test.
+            Phases.execute();
             AdHocCommandData result = executeCommandSimple(GET_NUMBER_OF_DISABLED_USERS, adminConnection.getUser().asEntityBareJid());
 
             // Verify results.
+            Phases.verify();
             assertCommandCompletedSuccessfully(result, "Expected response to the " + GET_NUMBER_OF_DISABLED_USERS + " command that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
             final int expectedMinimumCount = 1; // This test disabled one user.
             final int reportedCount = Integer.parseInt(result.getForm().getField("disabledusersnum").getFirstValue());
             assertTrue(reportedCount >= expectedMinimumCount, "Expected the response to the command " + GET_NUMBER_OF_DISABLED_USERS + " that was executed by '" + adminConnection.getUser() + "' to be at least " + expectedMinimumCount + " (as that's how many test accounts were disabled by this test), but it was '" + reportedCount + "' instead.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             executeCommandWithArgs(REENABLE_A_USER, adminConnection.getUser().asEntityBareJid(),
                 "accountjids", disabledUser.toString()
             );
@@ -948,9 +1037,11 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         checkServerSupportCommand(GET_NUMBER_OF_ONLINE_USERS);
 
         // Execute system under test.
+        Phases.execute();
         AdHocCommandData result = executeCommandSimple(GET_NUMBER_OF_ONLINE_USERS, adminConnection.getUser().asEntityBareJid());
 
         // Verify results.
+        Phases.verify();
         assertCommandCompletedSuccessfully(result, "Expected response to the " + GET_NUMBER_OF_ONLINE_USERS + " command that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
         final int expectedMinimumCount = 3; // Each test runs with at least three registered test accounts (but more users might be active!)
         final int reportedCount = Integer.parseInt(result.getForm().getField("onlineusersnum").getFirstValue());
@@ -963,9 +1054,11 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         checkServerSupportCommand(GET_NUMBER_OF_ACTIVE_USERS);
 
         // Execute system under test.
+        Phases.execute();
         AdHocCommandData result = executeCommandSimple(GET_NUMBER_OF_ACTIVE_USERS, adminConnection.getUser().asEntityBareJid());
 
         // Verify results.
+        Phases.verify();
         assertCommandCompletedSuccessfully(result, "Expected response to the " + GET_NUMBER_OF_ACTIVE_USERS + " command that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
         final int expectedMinimumCount = 3; // Each test runs with at least three test accounts (but more users might be active!)
         final int reportedCount = Integer.parseInt(result.getForm().getField("activeusersnum").getFirstValue());
@@ -978,9 +1071,11 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         checkServerSupportCommand(GET_NUMBER_OF_IDLE_USERS);
 
         // Execute system under test.
+        Phases.execute();
         AdHocCommandData result = executeCommandSimple(GET_NUMBER_OF_IDLE_USERS, adminConnection.getUser().asEntityBareJid());
 
         // Verify results.
+        Phases.verify();
         assertCommandCompletedSuccessfully(result, "Expected response to the " + GET_NUMBER_OF_IDLE_USERS + " command that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
         final int reportedCount = Integer.parseInt(result.getForm().getField("idleusersnum").getFirstValue());
         assertTrue(reportedCount >= 0, "Expected the response to the command " + GET_NUMBER_OF_IDLE_USERS + " that was executed by '" + adminConnection.getUser() + "' to be any non-negative number, but it was " + reportedCount + " instead.");
@@ -992,9 +1087,11 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         checkServerSupportCommand(GET_LIST_OF_REGISTERED_USERS);
 
         // Execute system under test.
+        Phases.execute();
         AdHocCommandData result = executeCommandWithArgs(GET_LIST_OF_REGISTERED_USERS, adminConnection.getUser().asEntityBareJid());
 
         // Verify results.
+        Phases.verify();
         assertCommandCompletedSuccessfully(result, "Expected response to the " + GET_LIST_OF_REGISTERED_USERS + " command that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
 
         final RSMSet rsm = result.getExtension(RSMSet.class);
@@ -1045,6 +1142,7 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             executeCommandWithArgs(REENABLE_A_USER, adminConnection.getUser().asEntityBareJid(),
                 "accountjids", disabledUser.toString()
             );
@@ -1058,9 +1156,11 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         checkServerSupportCommand(GET_LIST_OF_ONLINE_USERS);
 
         // Execute system under test.
+        Phases.execute();
         AdHocCommandData result = executeCommandWithArgs(GET_LIST_OF_ONLINE_USERS, adminConnection.getUser().asEntityBareJid());
 
         // Verify results.
+        Phases.verify();
         assertCommandCompletedSuccessfully(result, "Expected response to the " + GET_LIST_OF_ONLINE_USERS + " command that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
 
         final RSMSet rsm = result.getExtension(RSMSet.class);
@@ -1085,9 +1185,11 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         checkServerSupportCommand(GET_LIST_OF_ACTIVE_USERS);
 
         // Execute system under test.
+        Phases.execute();
         AdHocCommandData result = executeCommandWithArgs(GET_LIST_OF_ACTIVE_USERS, adminConnection.getUser().asEntityBareJid());
 
         // Verify results.
+        Phases.verify();
         assertCommandCompletedSuccessfully(result, "Expected response to the " + GET_LIST_OF_ACTIVE_USERS + " command that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
 
         final RSMSet rsm = result.getExtension(RSMSet.class);
@@ -1112,9 +1214,11 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         checkServerSupportCommand(GET_LIST_OF_IDLE_USERS);
 
         // Execute system under test.
+        Phases.execute();
         AdHocCommandData result = executeCommandWithArgs(GET_LIST_OF_IDLE_USERS, adminConnection.getUser().asEntityBareJid());
 
         // Verify results.
+        Phases.verify();
         assertCommandCompletedSuccessfully(result, "Expected response to the " + GET_LIST_OF_IDLE_USERS + " command that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
 
         // We can't be sure how 'idle' is defined in servers. This could be a period of inactivity, a presence status, or something else.
@@ -1125,6 +1229,7 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
     public void testSendAnnouncementToOnlineUsers() throws Exception {
         checkServerSupportCommand(SEND_ANNOUNCEMENT_TO_ONLINE_USERS);
         // Setup test fixture.
+        Phases.setup();
         final String announcement = "testAnnouncement-" + StringUtils.randomString(5);
         final SimpleResultSyncPoint syncPoint = new SimpleResultSyncPoint();
 
@@ -1139,16 +1244,19 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
 
         try {
             // Execute system under test.
+            Phases.execute();
             AdHocCommandData result = executeCommandWithArgs(SEND_ANNOUNCEMENT_TO_ONLINE_USERS, adminConnection.getUser().asEntityBareJid(),
                 "announcement", announcement
             );
 
             // Verify results.
+            Phases.verify();
             assertCommandCompletedSuccessfully(result, "Expected response to the " + SEND_ANNOUNCEMENT_TO_ONLINE_USERS + " command that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
             assertResult(syncPoint, "Expected '" + conOne.getUser() + "' to receive the announcement that was sent by '" + adminConnection.getUser() + "' (but the announcement was not received).");
         }
         finally {
             // Tear down test fixture.
+            Phases.teardown();
             adminConnection.removeSyncStanzaListener(stanzaListener);
         }
     }
@@ -1176,6 +1284,7 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         AbstractXMPPConnection userConnection = null;
         try {
             // Setup test fixture.
+            Phases.setup();
             createUser(testUser);
             userConnection = AccountUtilities.spawnNewConnection(environment, sinttestConfiguration);
             userConnection.addSyncStanzaListener(stanzaListener, StanzaTypeFilter.MESSAGE);
@@ -1183,6 +1292,7 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
             executeCommandSimple(DELETE_MOTD, adminConnection.getUser().asEntityBareJid()); // Ensure that no MOTD pre-exists.
 
             // Execute system under test.
+            Phases.execute();
             AdHocCommandData result = executeCommandWithArgs(
                 SET_MOTD,
                 adminConnection.getUser().asEntityBareJid(),
@@ -1191,12 +1301,14 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
             );
 
             // Verify results.
+            Phases.verify();
             assertCommandCompletedSuccessfully(result, "Expected response to the " + SET_MOTD + " command that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
             userConnection.connect();
             userConnection.login(testUser.getLocalpartOrThrow().toString(), "password");
             assertResult(syncPoint, "Expected user '" + userConnection.getUser() + "' to receive the Message of the Day, that was set by '" + adminConnection.getUser() + "' using the " + SET_MOTD + " command, before the intended recipient connected to the server (but they did not receive it).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             try {
                 executeCommandSimple(DELETE_MOTD, adminConnection.getUser().asEntityBareJid());
             } catch (XMPPException e) {
@@ -1234,6 +1346,7 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         AbstractXMPPConnection userConnection = null;
 
         // Setup test fixture.
+        Phases.setup();
         try {
             executeCommandWithArgs(
                 SET_MOTD,
@@ -1247,6 +1360,7 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
             userConnection.addSyncStanzaListener(stanzaListener, StanzaTypeFilter.MESSAGE);
 
             // Execute system under test: Now run the full thing
+            Phases.execute();
             AdHocCommandData result = executeCommandWithArgs(
                 EDIT_MOTD,
                 adminConnection.getUser().asEntityBareJid(),
@@ -1255,12 +1369,14 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
             );
 
             // Verify results.
+            Phases.verify();
             assertCommandCompletedSuccessfully(result, "Expected response to the " + EDIT_MOTD + " command that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
             userConnection.connect();
             userConnection.login(testUser.getLocalpartOrThrow().toString(), "password");
             assertResult(syncPoint, "Expected user '" + userConnection.getUser() + "' to receive the Message of the Day, that was edited by '" + adminConnection.getUser() + "' using the " + EDIT_MOTD + " command, before the intended recipient connected to the server (but they did not receive it).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             try {
                 executeCommandSimple(DELETE_MOTD, adminConnection.getUser().asEntityBareJid());
             } catch (XMPPException e) {
@@ -1283,6 +1399,7 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
 
         try {
             // Setup test fixture.
+            Phases.setup();
             executeCommandWithArgs(
                 SET_MOTD,
                 adminConnection.getUser().asEntityBareJid(),
@@ -1291,11 +1408,13 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
             );
 
             // Execute system under test.
+            Phases.execute();
             AdHocCommandData result = executeCommandSimple(
                 DELETE_MOTD,
                 adminConnection.getUser().asEntityBareJid());
 
             // Verify results.
+            Phases.verify();
             assertCommandCompletedSuccessfully(result, "Expected response to the " + DELETE_MOTD + " command that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
 
             // Check value using the edit form
@@ -1304,6 +1423,7 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
             assertFalse(motdField.hasValueSet(), "Expected the pre-filled Message of the Day value of the 'edit' form returned as a response to the " + EDIT_MOTD + " command to be empty, as '" + adminConnection + "' earlier removed the MotD using the " + DELETE_MOTD + " command (but the edit for did have a pre-filled motd: '" + String.join(" ", motdField.getValues()) + "').");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             try {
                 executeCommandSimple(DELETE_MOTD, adminConnection.getUser().asEntityBareJid());
             } catch (XMPPException e) {
@@ -1338,6 +1458,7 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
 
         try {
             // Execute system under test: Now run the full thing
+            Phases.execute();
             AdHocCommandData result = executeCommandWithArgs(
                 SET_WELCOME_MESSAGE,
                 adminConnection.getUser().asEntityBareJid(),
@@ -1346,6 +1467,7 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
             );
 
             // Verify results.
+            Phases.verify();
             assertCommandCompletedSuccessfully(result, "Expected response to the " + SET_WELCOME_MESSAGE + " command that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
 
             createUser(testUser); // Create user _after_ setting the welcome message!
@@ -1354,6 +1476,7 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
             assertResult(syncPoint, "Expected the newly created user '" + userConnection.getUser() + "' to receive the Welcome Message that was set by '" + adminConnection.getUser() + "' using the " + SET_WELCOME_MESSAGE + " command before the intended recipient was created (but they did not receive it).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             if (userConnection != null) {
                 userConnection.removeSyncStanzaListener(stanzaListener);
                 userConnection.disconnect();
@@ -1374,6 +1497,7 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         checkServerSupportCommand(SET_WELCOME_MESSAGE); // Used for setup and validation
 
         // Setup test fixture.
+        Phases.setup();
         executeCommandWithArgs(
             SET_WELCOME_MESSAGE,
             adminConnection.getUser().asEntityBareJid(),
@@ -1382,9 +1506,11 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         );
 
         // Execute system under test.
+        Phases.execute();
         AdHocCommandData result = executeCommandSimple(DELETE_WELCOME_MESSAGE, adminConnection.getUser().asEntityBareJid());
 
         // Verify results.
+        Phases.verify();
         assertCommandCompletedSuccessfully(result, "Expected response to the " + DELETE_WELCOME_MESSAGE + " command that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
 
         // Use Set Welcome Message form to check the value
@@ -1401,9 +1527,11 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         List<? extends CharSequence> preexistingValues = null;
         try {
             // Setup test fixture.
+            Phases.setup();
             createUser(adminToAdd);
 
             // Execute system under test: Pretend it's a 1-stage command initially, so that we can check that the current list of Admins is populated
+            Phases.execute();
             AdHocCommandData result = executeCommandSimple(EDIT_ADMIN_LIST, adminConnection.getUser().asEntityBareJid());
 
             preexistingValues = result.getForm().getField("adminjids").getValues();
@@ -1412,14 +1540,17 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
             }
 
             // Execute system under test: Run the full 2-stage command to alter the list of Admins
+            Phases.execute();
             result = executeCommandWithArgs(EDIT_ADMIN_LIST, adminConnection.getUser().asEntityBareJid(),
                 "adminjids", String.join(",", preexistingValues) + "," + adminToAdd
             );
 
             // Verify results.
+            Phases.verify();
             assertCommandCompletedSuccessfully(result, "Expected response to the " + EDIT_ADMIN_LIST + " command that was executed by '" + adminConnection.getUser() + "' to represent success (but it does not).");
 
             // Execute system under test: Pretend it's a 1-stage command again, so that we can check that the new list of Admins is correct
+            Phases.execute();
             result = executeCommandSimple(EDIT_ADMIN_LIST, adminConnection.getUser().asEntityBareJid());
             assertFormFieldJidEquals("adminjids", new HashSet<>(Arrays.asList(
                 adminConnection.getUser().asEntityBareJid(),
@@ -1427,6 +1558,7 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
             )), result, "Expected the pre-filled 'adminjids'' value of the 'edit-admin' form returned as a response to the " + EDIT_ADMIN_LIST + " command to be contain '" + adminToAdd + "', as '" + adminConnection + "' added them using the " + EDIT_ADMIN_LIST + " command (but they were not on the list).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDeleteUser(adminToAdd);
             if (preexistingValues != null && !preexistingValues.isEmpty()) {
                 executeCommandWithArgs(EDIT_ADMIN_LIST, adminConnection.getUser().asEntityBareJid(),
@@ -1441,9 +1573,11 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         checkServerSupportCommand(RESTART_SERVICE);
 
         // Execute system under test: Pretend it's a 1-stage command initially, so that we can check the current Welcome Message form
+        Phases.execute();
         AdHocCommandData result = executeCommandSimple(RESTART_SERVICE, adminConnection.getUser().asEntityBareJid());
 
         // Verify results.
+        Phases.verify();
         assertFormFieldExists("delay", result, "Expected the form for the " + RESTART_SERVICE + " command to contain a 'delay' field (but it does not).");
         assertFormFieldExists("announcement", result, "Expected the form for the " + RESTART_SERVICE + " command to contain a 'announcement' field (but it does not).");
 
@@ -1456,9 +1590,11 @@ public class ServiceAdministrationIntegrationTest extends AbstractAdHocCommandIn
         checkServerSupportCommand(SHUTDOWN_SERVICE);
 
         // Execute system under test: Pretend it's a 1-stage command initially, so that we can check the current Welcome Message form
+        Phases.execute();
         AdHocCommandData result = executeCommandSimple(SHUTDOWN_SERVICE, adminConnection.getUser().asEntityBareJid());
 
         // Verify results.
+        Phases.verify();
         assertFormFieldExists("delay", result, "Expected the form for the " + SHUTDOWN_SERVICE + " command to contain a 'delay' field (but it does not).");
         assertFormFieldExists("announcement", result, "Expected the form for the " + SHUTDOWN_SERVICE + " command to contain a 'announcement' field (but it does not).");
 
@@ -20,6 +20,8 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
+import org.igniterealtime.smack.inttest.util.ServerCapabilities;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.AbstractXMPPConnection;
 import org.jivesoftware.smack.SmackException;
@@ -52,14 +54,20 @@ public class StreamManagementLowLevelIntegrationTest extends AbstractSmackSpecif
     public StreamManagementLowLevelIntegrationTest(final SmackIntegrationTestEnvironment environment) throws XMPPException, SmackException, InterruptedException, IOException, TestNotPossibleException
     {
         super(environment, XMPPTCPConnection.class);
-        final XMPPTCPConnection connection = getSpecificUnconnectedConnection();
-        try {
-            connection.connect().login();
-            if (!connection.isSmAvailable()) {
-                throw new TestNotPossibleException("Domain does not seem support XEP-0198 Stream Management.");
+        if (environment.conOne instanceof XMPPTCPConnection) {
+            // The stream features that were advertised to this (already logged in) connection are the same as those that
+            // are advertised to a new connection, which removes the need to set one up for this check.
+            ServerCapabilities.of(environment.conOne).requireStreamFeature(StreamManagement.StreamManagementFeature.ELEMENT, StreamManagement.NAMESPACE, "Domain does not seem support XEP-0198 Stream Management.");
+        } else {
+            final XMPPTCPConnection connection = getSpecificUnconnectedConnection();
+            try {
+                connection.connect().login();
+                if (!connection.isSmAvailable()) {
+                    throw new TestNotPossibleException("Domain does not seem support XEP-0198 Stream Management.");
+                }
+            } finally {
+                recycle(connection);
             }
-        } finally {
-            recycle(connection);
         }
     }
 
@@ -70,16 +78,19 @@ public class StreamManagementLowLevelIntegrationTest extends AbstractSmackSpecif
     public void testEnable() throws XMPPException, SmackException, InterruptedException, IOException
     {
         // Setup test fixture.
+        Phases.setup();
         final XMPPTCPConnection connection = getSpecificUnconnectedConnection();
         try {
             connection.setUseStreamManagement(true);
             connection.setUseStreamManagementResumption(false);
 
             // Execute system under test.
+            Phases.execute();
             try {
                 connection.connect().login();
             } catch (SmackException | XMPPException e) {
                 // Verify result.
+                Phases.verify();
                 fail("Expected the server to respond with either 'enabled' or 'failed' after '" + connection.getUser() + "' attempted to enable the use of stream management (but it did not).");
             }
         } finally {
@@ -94,16 +105,19 @@ public class StreamManagementLowLevelIntegrationTest extends AbstractSmackSpecif
     public void testEnableWithResumption() throws XMPPException, SmackException, InterruptedException, IOException
     {
         // Setup test fixture.
+        Phases.setup();
         final XMPPTCPConnection connection = getSpecificUnconnectedConnection();
         try {
             connection.setUseStreamManagement(true);
             connection.setUseStreamManagementResumption(true);
 
             // Execute system under test.
+            Phases.execute();
             try {
                 connection.connect().login();
             } catch (SmackException | XMPPException e) {
                 // Verify result.
+                Phases.verify();
                 fail("Expected the server to respond with either 'enabled' or 'failed' after '" + connection.getUser() + "' attempted to enable the use of stream management with the resumption feature enabled (but it did not).");
             }
         } finally {
@@ -118,6 +132,7 @@ public class StreamManagementLowLevelIntegrationTest extends AbstractSmackSpecif
     public void testEnableWithResumptionAndMaxResumptionTime() throws XMPPException, SmackException, InterruptedException, IOException
     {
         // Setup test fixture.
+        Phases.setup();
         final XMPPTCPConnection connection = getSpecificUnconnectedConnection();
         try {
             connection.setUseStreamManagement(true);
@@ -125,10 +140,12 @@ public class StreamManagementLowLevelIntegrationTest extends AbstractSmackSpecif
             connection.setPreferredResumptionTime(30);
 
             // Execute system under test.
+            Phases.execute();
             try {
                 connection.connect().login();
             } catch (SmackException | XMPPException e) {
                 // Verify result.
+                Phases.verify();
                 fail("Expected the server to respond with either 'enabled' or 'failed' after '" + connection.getUser() + "' attempted to enable the use of stream management with the resumption feature enabled and a preferred maximum resumption time provided (but it did not).");
             }
         } finally {
@@ -143,13 +160,16 @@ public class StreamManagementLowLevelIntegrationTest extends AbstractSmackSpecif
     public void testEnableBeforeLogin() throws XMPPException, SmackException, InterruptedException, IOException, TimeoutException
     {
         // Setup test fixture.
+        Phases.setup();
         final XMPPTCPConnection connection = getSpecificUnconnectedConnection();
         try {
             // Execute system under test.
+            Phases.execute();
             connection.connect();
             connection.sendNonza(new StreamManagement.Enable(false, -1));
 
             // Verify result.
+            Phases.verify();
             final String assertionFailedMessage = "Expected the server to return a '<failed/>' element on the connection with stream-id '" + connection.getStreamId() + "' after it sent an '<enabled/>' element without/before authenticating (but the server did not send such an element).";
             final SmackException.SmackWrappedException wrappedException = assertThrows(SmackException.SmackWrappedException.class, connection::login, assertionFailedMessage);
             assertNotNull(wrappedException.getCause(), assertionFailedMessage);
@@ -190,6 +210,7 @@ public class StreamManagementLowLevelIntegrationTest extends AbstractSmackSpecif
     public void testRequestsAreAcknowledged() throws XMPPException, SmackException, InterruptedException, IOException, TimeoutException
     {
         // Setup test fixture.
+        Phases.setup();
         final XMPPTCPConnection connection = getSpecificUnconnectedConnection();
         final SimpleResultSyncPoint anyAckReceived = new SimpleResultSyncPoint();
         final StanzaListener ackListener = s -> anyAckReceived.signal();
@@ -203,9 +224,11 @@ public class StreamManagementLowLevelIntegrationTest extends AbstractSmackSpecif
             connection.sendStanza(new Ping(connection.getXMPPServiceDomain()));
 
             // Execute system under test.
+            Phases.execute();
             connection.requestSmAcknowledgement();
 
             // Verify result.
+            Phases.verify();
             assertResult(anyAckReceived, timeout, "Expected the server to send an a stream management ack in response to the request that was sent by '" + connection.getUser() + "' (but no ack was received).");
 
         } finally {
@@ -221,16 +244,19 @@ public class StreamManagementLowLevelIntegrationTest extends AbstractSmackSpecif
     public void testEnabledWithResumptionHasId() throws XMPPException, SmackException, InterruptedException, IOException
     {
         // Setup test fixture.
+        Phases.setup();
         final XMPPTCPConnection connection = getSpecificUnconnectedConnection();
         try {
             connection.setUseStreamManagement(true);
             connection.setUseStreamManagementResumption(true);
 
             // Execute system under test
+            Phases.execute();
             try {
                 connection.connect().login();
             } catch (SmackException.SmackMessageException e) {
                 // Verify result.
+                Phases.verify();
                 if ("Stream Management 'enabled' element with resume attribute but without session id received".equals(e.getMessage())) { // TODO This is brittle. Find a better way than depending on a Smack exception message to test this.
                     fail("Server allows the stream from '" + connection.getUser() + "' to be resumed, but does not include an 'id' attribute.", e);
                 }
@@ -248,6 +274,7 @@ public class StreamManagementLowLevelIntegrationTest extends AbstractSmackSpecif
     public void testStreamManagementIdUniqueInSubsequentSessions() throws XMPPException, SmackException, InterruptedException, IOException, NoSuchFieldException, TestNotPossibleException, IllegalAccessException
     {
         // Setup test fixture.
+        Phases.setup();
         final int distinctConnectionCount = 5;
         final List<XMPPTCPConnection> connections = getSpecificUnconnectedConnections(distinctConnectionCount);
         final Set<String> uniqueIds = new HashSet<>();
@@ -257,6 +284,7 @@ public class StreamManagementLowLevelIntegrationTest extends AbstractSmackSpecif
                 connection.setUseStreamManagementResumption(true);
 
                 // Execute system under test
+                Phases.execute();
                 connection.connect().login();
                 if (!connection.isSmAvailable()) {
                     throw new TestNotPossibleException("Service does not allow streams to be resumed.");
@@ -278,6 +306,7 @@ public class StreamManagementLowLevelIntegrationTest extends AbstractSmackSpecif
             }
 
             // Verify result.
+            Phases.verify();
             assertEquals(distinctConnectionCount, uniqueIds.size(), "Expected the server to use distinct stream management IDs for subsequent sessions, but only " + uniqueIds.size() + " unique IDs were used between " + distinctConnectionCount + " connections.");
         } finally {
             connections.forEach(this::recycle);
@@ -291,6 +320,7 @@ public class StreamManagementLowLevelIntegrationTest extends AbstractSmackSpecif
     public void testStreamManagementIdUniqueInSimultaneousSessions() throws XMPPException, SmackException, InterruptedException, IOException, NoSuchFieldException, IllegalAccessException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final int distinctConnectionCount = 5;
         final List<XMPPTCPConnection> connections = getSpecificUnconnectedConnections(distinctConnectionCount);
         final Set<String> uniqueIds = new HashSet<>();
@@ -300,6 +330,7 @@ public class StreamManagementLowLevelIntegrationTest extends AbstractSmackSpecif
                 connection.setUseStreamManagementResumption(true);
 
                 // Execute system under test
+                Phases.execute();
                 connection.connect().login();
                 if (!connection.isSmAvailable()) {
                     throw new TestNotPossibleException("Service does not allow streams to be resumed.");
@@ -313,6 +344,7 @@ public class StreamManagementLowLevelIntegrationTest extends AbstractSmackSpecif
             }
 
             // Verify result.
+            Phases.verify();
             assertEquals(distinctConnectionCount, uniqueIds.size(), "Expected the server to use distinct stream management IDs for simultaneous sessions, but only " + uniqueIds.size() + " unique IDs were used between " + distinctConnectionCount + " connections.");
         } finally {
             connections.forEach(this::recycle);
@@ -326,6 +358,7 @@ public class StreamManagementLowLevelIntegrationTest extends AbstractSmackSpecif
     public void testResumeResponse() throws XMPPException, SmackException, InterruptedException, IOException, NoSuchFieldException, IllegalAccessException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final XMPPTCPConnection connection = getSpecificUnconnectedConnection();
         try {
             connection.setUseStreamManagement(true);
@@ -344,9 +377,11 @@ public class StreamManagementLowLevelIntegrationTest extends AbstractSmackSpecif
             }
 
             // Execute system under test.
+            Phases.execute();
             connection.connect().login(); // Smack will attempt resumption.
 
             // Verify result
+            Phases.verify();
             final boolean receivedResumed = connection.streamWasResumed();
             final boolean receivedFailed = getDeclaredFieldValueThroughReflection(connection, "smResumptionFailed") != null;
             assertTrue(receivedResumed || receivedFailed, "Expected " + connection.getUser() + " to receive either 'resumed' or or 'failed' after a it requested a stream to be resumed (but it did not).");
@@ -362,6 +397,7 @@ public class StreamManagementLowLevelIntegrationTest extends AbstractSmackSpecif
     public void testRejectInvalidResume() throws XMPPException, SmackException, InterruptedException, IOException, NoSuchFieldException, IllegalAccessException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final XMPPTCPConnection connection = getSpecificUnconnectedConnection();
         try {
             connection.setUseStreamManagement(true);
@@ -371,9 +407,11 @@ public class StreamManagementLowLevelIntegrationTest extends AbstractSmackSpecif
             setDeclaredFieldValueThroughReflection(connection, "smSessionId", "non-existing-previd-" + StringUtils.randomString(23));
 
             // Execute system under test.
+            Phases.execute();
             connection.connect().login(); // Smack will attempt resumption.
 
             // Verify result
+            Phases.verify();
             final boolean receivedFailed = getDeclaredFieldValueThroughReflection(connection, "smResumptionFailed") != null;
             assertTrue(receivedFailed, "Expected " + connection.getUser() + " to receive 'failed' after a it requested a stream to be resumed using a previd that can not have been recognized by the server (but it did not).");
         } finally {
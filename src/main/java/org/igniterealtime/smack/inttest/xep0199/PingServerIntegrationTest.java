@@ -20,6 +20,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.StanzaCollector;
 import org.jivesoftware.smack.XMPPException;
@@ -53,12 +54,15 @@ public class PingServerIntegrationTest extends AbstractSmackIntegrationTest
         }
 
         // Setup test fixture.
+        Phases.setup();
         final Jid target = conOne.getUser().asBareJid();
         final Ping request = new Ping(conOne, target);
 
         // Execute System under test.
+        Phases.execute();
         try (final StanzaCollector collector = connection.createStanzaCollectorAndSend(request)) {
             // Verify result.
+            Phases.verify();
             collector.nextResultOrThrow();
         } catch (XMPPException.XMPPErrorException e) {
             fail("As server advertises support for XMPP Ping, expected server to respond with a non-error response after '" + conOne.getUser() + "' queried its own bare JID. Received: " + e.getStanzaError());
@@ -75,12 +79,15 @@ public class PingServerIntegrationTest extends AbstractSmackIntegrationTest
         }
 
         // Setup test fixture.
+        Phases.setup();
         final Jid target = conOne.getXMPPServiceDomain();
         final Ping request = new Ping(conOne, target);
 
         // Execute System under test.
+        Phases.execute();
         try (final StanzaCollector collector = connection.createStanzaCollectorAndSend(request)) {
             // Verify result.
+            Phases.verify();
             collector.nextResultOrThrow();
         } catch (XMPPException.XMPPErrorException e) {
             fail("As server advertises support for XMPP Ping, expected server to respond with a non-error response after '" + conOne.getUser() + "' queried the server domain. Received: " + e.getStanzaError());
@@ -97,12 +104,15 @@ public class PingServerIntegrationTest extends AbstractSmackIntegrationTest
         }
 
         // Setup test fixture.
+        Phases.setup();
         final Jid target = null;
         final Ping request = new Ping(conOne, target);
 
         // Execute System under test.
+        Phases.execute();
         try (final StanzaCollector collector = connection.createStanzaCollectorAndSend(request)) {
             // Verify result.
+            Phases.verify();
             collector.nextResultOrThrow();
         } catch (XMPPException.XMPPErrorException e) {
             fail("As server advertises support for XMPP Ping, expected server to respond with a non-error response after '" + conOne.getUser() + "' queried without using a 'to' address. Received: " + e.getStanzaError());
@@ -119,12 +129,15 @@ public class PingServerIntegrationTest extends AbstractSmackIntegrationTest
         }
 
         // Setup test fixture.
+        Phases.setup();
         final Jid target = conOne.getUser().asBareJid();
         final Ping request = new Ping(conOne, target);
 
         // Execute System under test.
+        Phases.execute();
         try (final StanzaCollector collector = connection.createStanzaCollectorAndSend(request)) {
             // Verify result.
+            Phases.verify();
             collector.nextResultOrThrow();
             fail("As server advertises NO support for XMPP Ping, expected server to respond with an error response after '" + conOne.getUser() + "' queried its own bare JID. Received a non-error result instead.");
         } catch (XMPPException.XMPPErrorException e) {
@@ -142,12 +155,15 @@ public class PingServerIntegrationTest extends AbstractSmackIntegrationTest
         }
 
         // Setup test fixture.
+        Phases.setup();
         final Jid target = conOne.getXMPPServiceDomain();
         final Ping request = new Ping(conOne, target);
 
         // Execute System under test.
+        Phases.execute();
         try (final StanzaCollector collector = connection.createStanzaCollectorAndSend(request)) {
             // Verify result.
+            Phases.verify();
             collector.nextResultOrThrow();
             fail("As server advertises NO support for XMPP Ping, expected server to respond with an error response after '" + conOne.getUser() + "' queried the server domain. Received a non-error result instead.");
         } catch (XMPPException.XMPPErrorException e) {
@@ -165,12 +181,15 @@ public class PingServerIntegrationTest extends AbstractSmackIntegrationTest
         }
 
         // Setup test fixture.
+        Phases.setup();
         final Jid target = null;
         final Ping request = new Ping(conOne, target);
 
         // Execute System under test.
+        Phases.execute();
         try (final StanzaCollector collector = connection.createStanzaCollectorAndSend(request)) {
             // Verify result.
+            Phases.verify();
             collector.nextResultOrThrow();
             fail("As server advertises NO support for XMPP Ping, expected server to respond with an error response after '" + conOne.getUser() + "' queried without using a 'to' address. Received a non-error result instead.");
         } catch (XMPPException.XMPPErrorException e) {
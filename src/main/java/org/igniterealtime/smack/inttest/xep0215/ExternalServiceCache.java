@@ -0,0 +1,223 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.xep0215;
+
+import org.igniterealtime.smack.inttest.xep0215.packet.DiscoverExternalServices;
+import org.igniterealtime.smack.inttest.xep0215.packet.ServiceCredentials;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.XMPPConnection;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smack.util.ParserUtils;
+import org.jxmpp.jid.Jid;
+
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A client-side cache of the external services, and the credentials for those services, that are provided by an
+ * XEP-0215 External Service Discovery service.
+ *
+ * Cached data is used until the 'expires' timestamp of any of its credentials (minus a safety margin) has passed.
+ * Data without an 'expires' timestamp is used until the cache is invalidated. Credentials are requested only for
+ * services that are 'restricted', and for which no username and password was already provided in the service listing.
+ *
+ * Instances are intended to be used by one connection.
+ *
+ * @author Guus der Kinderen, guus@goodbytes.nl
+ * @see <a href="https://xmpp.org/extensions/xep-0215.html">XEP-0215: External Service Discovery</a>
+ */
+public class ExternalServiceCache
+{
+    /**
+     * The duration before the 'expires' timestamp of credentials at which the credentials are no longer used.
+     */
+    public static final Duration DEFAULT_EXPIRY_MARGIN = Duration.ofSeconds(5);
+
+    private final XMPPConnection connection;
+    private final Jid service;
+    private final Duration expiryMargin;
+    private final Clock clock;
+
+    private final Map<String, CacheEntry<List<DiscoverExternalServices.Service>>> servicesByType = new HashMap<>();
+    private final Map<List<Object>, CacheEntry<ServiceCredentials.Service>> credentialsByService = new HashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public ExternalServiceCache(final XMPPConnection connection, final Jid service)
+    {
+        this(connection, service, DEFAULT_EXPIRY_MARGIN, Clock.systemUTC());
+    }
+
+    ExternalServiceCache(final XMPPConnection connection, final Jid service, final Duration expiryMargin, final Clock clock)
+    {
+        this.connection = connection;
+        this.service = service;
+        this.expiryMargin = expiryMargin;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the external services of a particular type, or all external services.
+     *
+     * @param type The service type (eg: 'turn'), or null to obtain all services.
+     * @return The services (possibly empty).
+     */
+    public synchronized List<DiscoverExternalServices.Service> getServices(final String type) throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
+    {
+        final String key = type == null ? "" : type;
+        final CacheEntry<List<DiscoverExternalServices.Service>> cached = servicesByType.get(key);
+        if (cached != null && cached.isValid(clock.instant())) {
+            hits.incrementAndGet();
+            return cached.value;
+        }
+
+        misses.incrementAndGet();
+        final DiscoverExternalServices request = new DiscoverExternalServices();
+        request.setTo(service);
+        request.setServiceType(type);
+        final DiscoverExternalServices response = connection.sendIqRequestAndWaitForResponse(request);
+
+        final List<DiscoverExternalServices.Service> services = List.copyOf(response.getServices());
+        servicesByType.put(key, new CacheEntry<>(services, earliestExpiry(services.stream().map(DiscoverExternalServices.Service::getExpires).toArray(String[]::new))));
+        return services;
+    }
+
+    /**
+     * Returns credentials for an external service.
+     *
+     * When the service is not restricted, or when the service listing already provided a username and password, the
+     * credentials from the listing are returned. Otherwise, credentials are requested (when no valid credentials are
+     * cached).
+     *
+     * @param externalService A service, as obtained through {@link #getServices(String)}.
+     * @return Credentials for the service.
+     */
+    public synchronized ServiceCredentials.Service getCredentials(final DiscoverExternalServices.Service externalService) throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, SmackException.SmackMessageException, InterruptedException
+    {
+        if (!Boolean.TRUE.equals(externalService.isRestricted()) || (externalService.getUsername() != null && externalService.getPassword() != null)) {
+            final ServiceCredentials.Service result = new ServiceCredentials.Service(externalService.getHost(), externalService.getType());
+            result.setPort(externalService.getPort());
+            result.setUsername(externalService.getUsername());
+            result.setPassword(externalService.getPassword());
+            result.setExpires(externalService.getExpires());
+            result.setRestricted(externalService.isRestricted());
+            return result;
+        }
+
+        final List<Object> key = List.of(externalService.getHost(), externalService.getType(), Objects.requireNonNullElse(externalService.getPort(), -1));
+        final CacheEntry<ServiceCredentials.Service> cached = credentialsByService.get(key);
+        if (cached != null && cached.isValid(clock.instant())) {
+            hits.incrementAndGet();
+            return cached.value;
+        }
+
+        misses.incrementAndGet();
+        final ServiceCredentials.Service credentials = requestCredentials(connection, service, externalService);
+        if (credentials == null) {
+            throw new SmackException.SmackMessageException("The response from '" + service + "' to a request for credentials for '" + externalService.getHost() + "' did not contain any credentials.");
+        }
+        credentialsByService.put(key, new CacheEntry<>(credentials, earliestExpiry(credentials.getExpires())));
+        return credentials;
+    }
+
+    /**
+     * Removes all cached data.
+     */
+    public synchronized void invalidate()
+    {
+        servicesByType.clear();
+        credentialsByService.clear();
+    }
+
+    public long getHits()
+    {
+        return hits.get();
+    }
+
+    public long getMisses()
+    {
+        return misses.get();
+    }
+
+    /**
+     * Requests credentials for an external service, without making use of a cache.
+     *
+     * @return The credentials, or null when the response did not contain any.
+     */
+    public static ServiceCredentials.Service requestCredentials(final XMPPConnection connection, final Jid service, final DiscoverExternalServices.Service externalService) throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
+    {
+        final ServiceCredentials request = new ServiceCredentials(externalService.getHost(), externalService.getType(), externalService.getPort());
+        request.setTo(service);
+        final ServiceCredentials response = connection.sendIqRequestAndWaitForResponse(request);
+
+        // The parsed response contains a placeholder service without a host, that precedes the parsed services.
+        return response.getServices().stream().filter(s -> s.getHost() != null).findFirst().orElse(null);
+    }
+
+    /**
+     * Parses an XEP-0082 timestamp, as used in the 'expires' attribute.
+     *
+     * @return the parsed timestamp, or null if the value is null or cannot be parsed.
+     */
+    public static Instant parseExpires(final String expires)
+    {
+        if (expires == null) {
+            return null;
+        }
+        try {
+            return ParserUtils.getDateFromXep82String(expires).toInstant();
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    private Instant earliestExpiry(final String... expiries)
+    {
+        Instant result = null;
+        for (final String expires : expiries) {
+            final Instant instant = parseExpires(expires);
+            if (instant != null && (result == null || instant.isBefore(result))) {
+                result = instant;
+            }
+        }
+        return result == null ? null : result.minus(expiryMargin);
+    }
+
+    private static final class CacheEntry<V>
+    {
+        private final V value;
+        private final Instant validUntil; // null when the value does not expire.
+
+        private CacheEntry(final V value, final Instant validUntil)
+        {
+            this.value = value;
+            this.validUntil = validUntil;
+        }
+
+        private boolean isValid(final Instant now)
+        {
+            return validUntil == null || now.isBefore(validUntil);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.xep0215;
+
+import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.AccountPool;
+import org.igniterealtime.smack.inttest.util.BenchmarkConfiguration;
+import org.igniterealtime.smack.inttest.util.BenchmarkReport;
+import org.igniterealtime.smack.inttest.util.LatencyRecorder;
+import org.igniterealtime.smack.inttest.util.Phases;
+import org.igniterealtime.smack.inttest.xep0215.packet.DiscoverExternalServices;
+import org.igniterealtime.smack.inttest.xep0215.packet.ServiceCredentials;
+import org.igniterealtime.smack.inttest.xep0215.provider.DiscoverExternalServicesProvider;
+import org.igniterealtime.smack.inttest.xep0215.provider.ServiceCredentialsProvider;
+import org.jivesoftware.smack.AbstractXMPPConnection;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smack.provider.ProviderManager;
+import org.jivesoftware.smackx.disco.ServiceDiscoveryManager;
+import org.jxmpp.jid.DomainBareJid;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A load test for XEP-0215: External Service Discovery, that simulates a burst of call setups, in which many sessions
+ * request credentials for an external service (typically a TURN server) at the same time.
+ *
+ * The amount of sessions can be configured with the system property <tt>sinttest.benchmark.extdisco.sessions</tt>
+ * (default: 10), the amount of credential requests that each session sends with
+ * <tt>sinttest.benchmark.extdisco.requests</tt> (default: 10).
+ *
+ * @see <a href="https://xmpp.org/extensions/xep-0215.html">XEP-0215: External Service Discovery</a>
+ */
+@SpecificationReference(document = "XEP-0215", version = "1.0.0")
+public class ExternalServiceCredentialsLoadIntegrationTest extends AbstractSmackIntegrationTest
+{
+    private final SmackIntegrationTestEnvironment environment;
+    private final DomainBareJid service;
+
+    private final int sessionCount;
+    private final int requestsPerSession;
+
+    public ExternalServiceCredentialsLoadIntegrationTest(SmackIntegrationTestEnvironment environment) throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
+    {
+        super(environment);
+        BenchmarkConfiguration.requireEnabled();
+        this.environment = environment;
+
+        service = ServiceDiscoveryManager.getInstanceFor(environment.conOne).findService(ExternalServiceDiscoveryIntegrationTest.NAMESPACE, true);
+        if (service == null) {
+            throw new TestNotPossibleException("Unable to find any service on domain that supports XEP-0215 External Service Discovery.");
+        }
+
+        sessionCount = BenchmarkConfiguration.getInt("extdisco.sessions", 10);
+        requestsPerSession = BenchmarkConfiguration.getInt("extdisco.requests", 10);
+        if (sessionCount < 1 || requestsPerSession < 1) {
+            throw new TestNotPossibleException("The configured amount of sessions (" + sessionCount + ") and/or requests per session (" + requestsPerSession + ") is not a positive number.");
+        }
+
+        ProviderManager.addIQProvider(DiscoverExternalServices.ELEMENT, DiscoverExternalServices.NAMESPACE, new DiscoverExternalServicesProvider());
+        ProviderManager.addIQProvider(ServiceCredentials.ELEMENT, ServiceCredentials.NAMESPACE, new ServiceCredentialsProvider());
+    }
+
+    /**
+     * Has many sessions request credentials for the same external service at the same time, and verifies that none of
+     * the issued credentials has already expired when it is received. The latency of credential requests, and the time
+     * that issued credentials remain valid, are reported.
+     *
+     * Afterwards, each session obtains the same credentials repeatedly through an {@link ExternalServiceCache}, which
+     * should only issue new requests after the credentials have expired.
+     */
+    @SmackIntegrationTest(section = "3.3", quote = "The entity can request credentials by sending a special request to the server composed of a <credentials/> element qualified by the 'urn:xmpp:extdisco:2' namespace and contains a <service/> element.")
+    public void testCredentialRequestBurst() throws Exception
+    {
+        // Setup test fixture.
+        Phases.setup();
+        final DiscoverExternalServices.Service externalService = new ExternalServiceCache(conOne, service).getServices(null).stream()
+            .min((a, b) -> Boolean.compare(!Boolean.TRUE.equals(a.isRestricted()), !Boolean.TRUE.equals(b.isRestricted()))) // Prefer restricted services, as credentials for those are issued on request.
+            .orElseThrow(() -> new TestNotPossibleException("The server under test does not provide any data. Cannot request credentials for a service (as there do not appear to be any in existence)."));
+
+        final LatencyRecorder latency = new LatencyRecorder();
+        final LatencyRecorder remainingValidity = new LatencyRecorder();
+        final Queue<String> expiredOnReceipt = new ConcurrentLinkedQueue<>();
+        final Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        final AtomicInteger withoutExpiry = new AtomicInteger();
+        final List<ExternalServiceCache> caches = new ArrayList<>();
+
+        try (final AccountPool sessions = AccountPool.create(environment, sinttestConfiguration, "extdisco-load", sessionCount, 16))
+        {
+            final ExecutorService executor = Executors.newFixedThreadPool(sessionCount);
+            try {
+                // Execute system under test.
+                Phases.execute();
+                final long start = System.nanoTime();
+                final List<Future<?>> futures = new ArrayList<>(sessionCount);
+                for (final AbstractXMPPConnection session : sessions.getConnections()) {
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < requestsPerSession; i++) {
+                            final long sent = System.nanoTime();
+                            try {
+                                final ServiceCredentials.Service credentials = ExternalServiceCache.requestCredentials(session, service, externalService);
+                                latency.recordSince(sent);
+                                final Instant received = Instant.now();
+                                final Instant expires = credentials == null ? null : ExternalServiceCache.parseExpires(credentials.getExpires());
+                                if (expires == null) {
+                                    withoutExpiry.incrementAndGet();
+                                } else if (!expires.isAfter(received)) {
+                                    expiredOnReceipt.add(credentials.getExpires());
+                                } else {
+                                    remainingValidity.record(Duration.between(received, expires));
+                                }
+                            } catch (XMPPException.XMPPErrorException | SmackException.NoResponseException e) {
+                                errors.add(e);
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (final Future<?> future : futures) {
+                    future.get(timeout + (long) requestsPerSession * timeout / 10, TimeUnit.MILLISECONDS);
+                }
+                final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+                if (latency.isEmpty()) {
+                    throw new TestNotPossibleException("None of the requests for credentials for '" + externalService.getHost() + "' (of type '" + externalService.getType() + "') were answered successfully by '" + service + "' (eg: " + errors.peek() + ").");
+                }
+
+                // Execute system under test: obtain credentials repeatedly through a cache (in which they should be retained until they expire).
+                Phases.execute();
+                final List<Future<?>> cacheFutures = new ArrayList<>(sessionCount);
+                for (final AbstractXMPPConnection session : sessions.getConnections()) {
+                    final ExternalServiceCache cache = new ExternalServiceCache(session, service);
+                    caches.add(cache);
+                    cacheFutures.add(executor.submit(() -> {
+                        for (int i = 0; i < requestsPerSession; i++) {
+                            try {
+                                cache.getCredentials(externalService);
+                            } catch (XMPPException.XMPPErrorException | SmackException.NoResponseException | SmackException.SmackMessageException e) {
+                                errors.add(e);
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (final Future<?> future : cacheFutures) {
+                    future.get(timeout + (long) requestsPerSession * timeout / 10, TimeUnit.MILLISECONDS);
+                }
+
+                // Verify result.
+                Phases.verify();
+                new BenchmarkReport("XEP-0215 credential burst (" + sessionCount + " sessions, " + requestsPerSession + " requests each, service type '" + externalService.getType() + "')", conOne.getXMPPServiceDomain())
+                    .add("credential request latency", latency)
+                    .addRate("credential requests/sec", latency.getCount(), elapsed)
+                    .add("failed requests", errors.size())
+                    .add("credentials without expiry", withoutExpiry.get())
+                    .add("remaining validity of credentials on receipt", remainingValidity)
+                    .add("cache hits", caches.stream().mapToLong(ExternalServiceCache::getHits).sum())
+                    .add("cache misses", caches.stream().mapToLong(ExternalServiceCache::getMisses).sum())
+                    .publish();
+
+                assertTrue(expiredOnReceipt.isEmpty(), "Expected all credentials for '" + externalService.getHost() + "' that were issued by '" + service + "' to be valid when they were received, but " + expiredOnReceipt.size() + " had an 'expires' value that was not in the future (eg: '" + expiredOnReceipt.peek() + "').");
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+}
@@ -89,6 +89,10 @@ public class ServiceCredentials extends IQ
 
         private String username;
 
+        private String expires;
+
+        private Boolean restricted;
+
         private DataForm dataForm;
 
         public Service(String host, String type)
@@ -137,6 +141,30 @@ public class ServiceCredentials extends IQ
             this.username = username;
         }
 
+        /**
+         * A timestamp indicating when the provided username and password credentials will expire, in the format
+         * specified in XMPP Date and Time Profiles (XEP-0082).
+         */
+        public String getExpires()
+        {
+            return expires;
+        }
+
+        public void setExpires(String expires)
+        {
+            this.expires = expires;
+        }
+
+        public Boolean isRestricted()
+        {
+            return restricted;
+        }
+
+        public void setRestricted(Boolean restricted)
+        {
+            this.restricted = restricted;
+        }
+
         public DataForm getDataForm()
         {
             return dataForm;
@@ -155,6 +183,10 @@ public class ServiceCredentials extends IQ
             xml.optAttribute("port", port);
             xml.optAttribute("password", password);
             xml.optAttribute("username", username);
+            xml.optAttribute("expires", expires);
+            if (restricted != null) {
+                xml.optAttribute("restricted", Boolean.toString(restricted));
+            }
             xml.optAppend(dataForm);
 
             xml.closeEmptyElement();
@@ -167,13 +199,13 @@ public class ServiceCredentials extends IQ
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             Service service = (Service) o;
-            return Objects.equals(host, service.host) && Objects.equals(type, service.type) && Objects.equals(port, service.port) && Objects.equals(password, service.password) && Objects.equals(username, service.username) && Objects.equals(dataForm, service.dataForm);
+            return Objects.equals(host, service.host) && Objects.equals(type, service.type) && Objects.equals(port, service.port) && Objects.equals(password, service.password) && Objects.equals(username, service.username) && Objects.equals(expires, service.expires) && Objects.equals(restricted, service.restricted) && Objects.equals(dataForm, service.dataForm);
         }
 
         @Override
         public int hashCode()
         {
-            return Objects.hash(host, type, port, password, username, dataForm);
+            return Objects.hash(host, type, port, password, username, expires, restricted, dataForm);
         }
 
         @Override
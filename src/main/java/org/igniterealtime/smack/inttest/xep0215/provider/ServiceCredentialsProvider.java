@@ -44,6 +44,8 @@ public class ServiceCredentialsProvider extends IqProvider<ServiceCredentials>
         Integer port = null;
         String type = null;
         String username = null;
+        String expires = null;
+        Boolean restricted = null;
         final ServiceCredentials result = new ServiceCredentials(host, type);
 
         while (!done)
@@ -58,6 +60,8 @@ public class ServiceCredentialsProvider extends IqProvider<ServiceCredentials>
                 port = ParserUtils.getIntegerAttribute(parser, "port");
                 type = ParserUtils.getRequiredAttribute(parser,"type");
                 username = parser.getAttributeValue("username");
+                expires = parser.getAttributeValue("expires");
+                restricted = ParserUtils.getBooleanAttribute(parser, "restricted");
             }
             else if (eventType == XmlPullParser.Event.END_ELEMENT && ServiceCredentials.Service.ELEMENT.equals(parser.getName()))
             {
@@ -66,6 +70,8 @@ public class ServiceCredentialsProvider extends IqProvider<ServiceCredentials>
                 service.setPassword(password);
                 service.setPort(port);
                 service.setUsername(username);
+                service.setExpires(expires);
+                service.setRestricted(restricted);
 
                 result.addService(service);
             }
@@ -21,9 +21,12 @@ import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
 import org.igniterealtime.smack.inttest.util.IntegrationTestRosterUtil;
+import org.igniterealtime.smack.inttest.util.Phases;
+import org.igniterealtime.smack.inttest.util.ServerCapabilities;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
 import org.jivesoftware.smackx.csi.ClientStateIndicationManager;
+import org.jivesoftware.smackx.csi.packet.ClientStateIndication;
 import org.jivesoftware.smackx.disco.ServiceDiscoveryManager;
 import org.jivesoftware.smackx.disco.packet.DiscoverInfo;
 import org.jivesoftware.smackx.disco.packet.DiscoverItems;
@@ -40,9 +43,7 @@ public class CsiIntegrationTest extends AbstractSmackIntegrationTest
     {
         super(environment);
 
-        if (!ClientStateIndicationManager.isSupported(environment.conOne)) {
-            throw new TestNotPossibleException("Domain does not seem support XEP-0352 Client State Indication.");
-        }
+        ServerCapabilities.of(environment.conOne).requireStreamFeature(ClientStateIndication.Feature.ELEMENT, ClientStateIndication.NAMESPACE, "Domain does not seem support XEP-0352 Client State Indication.");
     }
 
     @SmackIntegrationTest(section = "4.2", quote = "If a client wishes to inform the server that it has become inactive, it sends an <inactive/> element in the 'urn:xmpp:csi:0' namespace")
@@ -80,12 +81,15 @@ public class CsiIntegrationTest extends AbstractSmackIntegrationTest
     {
         try {
             // Setup test fixture.
+            Phases.setup();
             IntegrationTestRosterUtil.ensureBothAccountsAreSubscribedToEachOther(conOne, conTwo, timeout);
 
             // Execute system under test & assert results.
+            Phases.execute();
             detectDiscoInfoChangeTest();
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             IntegrationTestRosterUtil.ensureBothAccountsAreNotInEachOthersRoster(conOne, conTwo);
         }
     }
@@ -128,12 +132,15 @@ public class CsiIntegrationTest extends AbstractSmackIntegrationTest
     {
         try {
             // Setup test fixture.
+            Phases.setup();
             IntegrationTestRosterUtil.ensureBothAccountsAreSubscribedToEachOther(conOne, conTwo, timeout);
 
             // Execute system under test & assert results.
+            Phases.execute();
             detectDiscoItemsChangeTest();
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             IntegrationTestRosterUtil.ensureBothAccountsAreNotInEachOthersRoster(conOne, conTwo);
         }
     }
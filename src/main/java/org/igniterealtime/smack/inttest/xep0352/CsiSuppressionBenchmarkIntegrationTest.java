@@ -0,0 +1,423 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.xep0352;
+
+import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.BenchmarkConfiguration;
+import org.igniterealtime.smack.inttest.util.BenchmarkReport;
+import org.igniterealtime.smack.inttest.util.IntegrationTestRosterUtil;
+import org.igniterealtime.smack.inttest.util.LatencyRecorder;
+import org.igniterealtime.smack.inttest.util.Phases;
+import org.igniterealtime.smack.inttest.util.ServerCapabilities;
+import org.jivesoftware.smack.ListenerHandle;
+import org.jivesoftware.smack.packet.IQ;
+import org.jivesoftware.smack.packet.Message;
+import org.jivesoftware.smack.packet.Presence;
+import org.jivesoftware.smack.packet.PresenceBuilder;
+import org.jivesoftware.smack.packet.Stanza;
+import org.jivesoftware.smack.packet.StanzaBuilder;
+import org.jivesoftware.smack.util.StringUtils;
+import org.jivesoftware.smackx.csi.ClientStateIndicationManager;
+import org.jivesoftware.smackx.csi.packet.ClientStateIndication;
+import org.jivesoftware.smackx.disco.ServiceDiscoveryManager;
+import org.jivesoftware.smackx.geoloc.packet.GeoLocation;
+import org.jivesoftware.smackx.muc.MultiUserChat;
+import org.jivesoftware.smackx.muc.MultiUserChatManager;
+import org.jivesoftware.smackx.pep.PepManager;
+import org.jivesoftware.smackx.pubsub.PayloadItem;
+import org.jivesoftware.smackx.pubsub.packet.PubSub;
+import org.jxmpp.jid.DomainBareJid;
+import org.jxmpp.jid.EntityBareJid;
+import org.jxmpp.jid.impl.JidCreate;
+import org.jxmpp.jid.parts.Localpart;
+import org.jxmpp.jid.parts.Resourcepart;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A benchmark for XEP-0352: Client State Indication, that quantifies how effective a server is in suppressing traffic
+ * to a client that has indicated that it is inactive.
+ *
+ * The same mix of traffic (presence churn, MUC chatter, PEP notifications and chat messages) is sent to conOne twice:
+ * once while it is active, and once while it is inactive. The stanzas and bytes that are delivered in both phases are
+ * reported, as is the latency of chat messages while inactive, and the time it takes for the server to flush its
+ * backlog after the client becomes active again.
+ *
+ * The mix can be configured with the system properties <tt>sinttest.benchmark.csi.presences</tt> (default: 50),
+ * <tt>sinttest.benchmark.csi.groupchats</tt> (default: 50), <tt>sinttest.benchmark.csi.pep</tt> (default: 20) and
+ * <tt>sinttest.benchmark.csi.chats</tt> (default: 5). The amount of milliseconds that the client remains inactive after
+ * the mix has been sent can be configured with <tt>sinttest.benchmark.csi.hold</tt> (default: 2000).
+ *
+ * @see <a href="https://xmpp.org/extensions/xep-0352.html">XEP-0352: Client State Indication</a>
+ */
+@SpecificationReference(document = "XEP-0352", version = "1.0.0")
+public class CsiSuppressionBenchmarkIntegrationTest extends AbstractSmackIntegrationTest
+{
+    /**
+     * The amount of time without any inbound traffic after which a backlog flush is considered complete.
+     */
+    private static final Duration QUIET_PERIOD = Duration.ofMillis(250);
+
+    enum Kind { PRESENCE, GROUPCHAT, PEP, CHAT, OTHER }
+
+    private final int presenceCount;
+    private final int groupchatCount;
+    private final int pepCount;
+    private final int chatCount;
+    private final long holdMillis;
+
+    public CsiSuppressionBenchmarkIntegrationTest(final SmackIntegrationTestEnvironment environment) throws TestNotPossibleException
+    {
+        super(environment);
+        BenchmarkConfiguration.requireEnabled();
+
+        ServerCapabilities.of(environment.conOne).requireStreamFeature(ClientStateIndication.Feature.ELEMENT, ClientStateIndication.NAMESPACE, "Domain does not seem support XEP-0352 Client State Indication.");
+
+        presenceCount = BenchmarkConfiguration.getInt("csi.presences", 50);
+        groupchatCount = BenchmarkConfiguration.getInt("csi.groupchats", 50);
+        pepCount = BenchmarkConfiguration.getInt("csi.pep", 20);
+        chatCount = BenchmarkConfiguration.getInt("csi.chats", 5);
+        holdMillis = BenchmarkConfiguration.getLong("csi.hold", 2000);
+        if (presenceCount < 0 || groupchatCount < 0 || pepCount < 0 || chatCount < 1 || holdMillis < 0) {
+            throw new TestNotPossibleException("The configured traffic mix (presences: " + presenceCount + ", groupchats: " + groupchatCount + ", pep: " + pepCount + ", chats: " + chatCount + ", hold: " + holdMillis + "ms) is not valid. At least one chat message is required.");
+        }
+    }
+
+    /**
+     * Sends the same traffic mix to conOne while it is active and while it is inactive, and reports the difference in
+     * delivered stanzas and bytes. Asserts that all chat messages are delivered in both phases (either while inactive,
+     * or when the backlog is flushed).
+     */
+    @SmackIntegrationTest(section = "1", quote = "Common examples of such \"unimportant\" stanzas include presence updates and PEP notifications. [...] By queuing, or otherwise optimizing the delivery of these stanzas while the client is inactive, the server can save the client bandwidth and battery life.")
+    public void testSuppressionEfficiency() throws Exception
+    {
+        // Setup test fixture.
+        Phases.setup();
+        final MultiUserChat ownerRoom = createRoom();
+        final boolean pepSupported = pepCount > 0 && PepManager.getInstanceFor(conTwo).isSupported();
+        final String pepNotifyFeature = GeoLocation.NAMESPACE + "+notify";
+        final Traffic traffic = new Traffic();
+        ListenerHandle listenerHandle = null;
+        try {
+            IntegrationTestRosterUtil.ensureBothAccountsAreSubscribedToEachOther(conOne, conTwo, timeout);
+            if (ownerRoom != null) {
+                MultiUserChatManager.getInstanceFor(conOne).getMultiUserChat(ownerRoom.getRoom()).join(Resourcepart.from("csi-" + StringUtils.randomString(5)));
+            }
+            if (pepSupported) {
+                ServiceDiscoveryManager.getInstanceFor(conOne).addFeature(pepNotifyFeature);
+            }
+            listenerHandle = conOne.addStanzaListener(stanza -> traffic.record(classify(stanza, ownerRoom), stanza), stanza -> !(stanza instanceof IQ));
+
+            // Execute system under test: first while active (as a baseline), then while inactive.
+            Phases.execute();
+            final PhaseResult active = runPhase("active", false, ownerRoom, pepSupported, traffic);
+            final PhaseResult inactive = runPhase("inactive", true, ownerRoom, pepSupported, traffic);
+
+            // Verify result.
+            Phases.verify();
+            new BenchmarkReport("XEP-0352 CSI suppression (presences: " + presenceCount + ", groupchats: " + (ownerRoom == null ? "n/a" : groupchatCount) + ", pep: " + (pepSupported ? pepCount : "n/a") + ", chats: " + chatCount + ")", conOne.getXMPPServiceDomain())
+                .add("stanzas delivered while active", active.delivered.stanzas())
+                .add("bytes delivered while active", active.delivered.bytes())
+                .add("stanzas delivered while active, per kind", active.delivered.stanzasPerKind())
+                .add("stanzas delivered while inactive", inactive.delivered.stanzas())
+                .add("bytes delivered while inactive", inactive.delivered.bytes())
+                .add("stanzas delivered while inactive, per kind", inactive.delivered.stanzasPerKind())
+                .add("stanzas delivered in backlog flush", inactive.flushed.stanzas())
+                .add("bytes delivered in backlog flush", inactive.flushed.bytes())
+                .add("stanzas delivered in backlog flush, per kind", inactive.flushed.stanzasPerKind())
+                .add("stanza reduction (inactive + flush vs. active)", percentage(active.delivered.stanzas() - inactive.delivered.stanzas() - inactive.flushed.stanzas(), active.delivered.stanzas()))
+                .add("byte reduction (inactive + flush vs. active)", percentage(active.delivered.bytes() - inactive.delivered.bytes() - inactive.flushed.bytes(), active.delivered.bytes()))
+                .add("chat message latency while active", active.chatLatency)
+                .add("chat message latency while inactive", inactive.chatLatency)
+                .add("chat messages held until active", inactive.chatsHeld)
+                .add("backlog flush time", inactive.flushTime)
+                .publish();
+
+            assertTrue(active.chatsMissing == 0, "Expected '" + conOne.getUser() + "' to receive all " + chatCount + " chat messages sent by '" + conTwo.getUser() + "' while it was active, but " + active.chatsMissing + " were not received.");
+            assertTrue(inactive.chatsMissing == 0, "Expected '" + conOne.getUser() + "' to receive all " + chatCount + " chat messages sent by '" + conTwo.getUser() + "' while it was inactive (either immediately, or after it became active again), but " + inactive.chatsMissing + " were not received.");
+        } finally {
+            // Tear down test fixture.
+            Phases.teardown();
+            ClientStateIndicationManager.active(conOne);
+            if (listenerHandle != null) {
+                listenerHandle.close();
+            }
+            if (pepSupported) {
+                ServiceDiscoveryManager.getInstanceFor(conOne).removeFeature(pepNotifyFeature);
+            }
+            if (ownerRoom != null) {
+                ownerRoom.destroy();
+            }
+            IntegrationTestRosterUtil.ensureBothAccountsAreNotInEachOthersRoster(conOne, conTwo);
+        }
+    }
+
+    /**
+     * Sends the traffic mix to conOne, and collects the traffic that it receives.
+     *
+     * When conOne is to be inactive, it is marked as such before the traffic is sent, and marked active again after all
+     * chat messages have been received (or when the hold period expires, whichever comes last). Traffic that is then
+     * received is attributed to the backlog flush.
+     */
+    private PhaseResult runPhase(final String phase, final boolean inactive, final MultiUserChat ownerRoom, final boolean pepSupported, final Traffic traffic) throws Exception
+    {
+        final PhaseResult result = new PhaseResult();
+        final Map<String, Long> chatsSent = new ConcurrentHashMap<>();
+        traffic.reset(chatsSent);
+
+        if (inactive) {
+            ClientStateIndicationManager.inactive(conOne);
+        }
+
+        final long start = System.nanoTime();
+        final int total = Math.max(Math.max(presenceCount, groupchatCount), Math.max(pepCount, chatCount));
+        for (int i = 0; i < total; i++) {
+            if (i < presenceCount) {
+                conTwo.sendStanza(PresenceBuilder.buildPresence().ofType(Presence.Type.available).setStatus("csi churn " + phase + " " + i).build());
+            }
+            if (ownerRoom != null && i < groupchatCount) {
+                ownerRoom.sendMessage("csi chatter " + phase + " " + i);
+            }
+            if (pepSupported && i < pepCount) {
+                PepManager.getInstanceFor(conTwo).publish(GeoLocation.NAMESPACE, new PayloadItem<>(GeoLocation.builder().setDescription("csi " + phase + " " + i).build()));
+            }
+            if (i < chatCount) {
+                final String id = "csi-" + phase + "-" + i + "-" + StringUtils.randomString(5);
+                chatsSent.put(id, System.nanoTime());
+                conTwo.sendStanza(StanzaBuilder.buildMessage(id).ofType(Message.Type.chat).to(conOne.getUser()).setBody("csi chat " + phase + " " + i).build());
+            }
+        }
+
+        // Wait for the chat messages (that are expected to be delivered, even while inactive), and the hold period.
+        final long holdUntil = start + Duration.ofMillis(holdMillis).toNanos();
+        final long chatDeadline = start + Duration.ofMillis(timeout).toNanos();
+        while (System.nanoTime() < holdUntil || (traffic.chatLatency().getCount() < chatCount && System.nanoTime() < chatDeadline)) {
+            Thread.sleep(10);
+        }
+        if (!inactive) {
+            awaitQuiet(traffic);
+        }
+        result.delivered = traffic.snapshot();
+        result.chatLatency = traffic.chatLatencySnapshot(); // Excludes chat messages that are delivered in a backlog flush.
+
+        if (inactive) {
+            result.chatsHeld = chatCount - result.chatLatency.getCount();
+            final long activated = System.nanoTime();
+            ClientStateIndicationManager.active(conOne);
+            final long lastReceived = awaitQuiet(traffic);
+            result.flushTime = Duration.ofNanos(Math.max(0, lastReceived - activated));
+            result.flushed = traffic.snapshot().minus(result.delivered);
+        }
+        result.chatsMissing = chatCount - traffic.chatLatency().getCount();
+        return result;
+    }
+
+    /**
+     * Waits until no traffic has been received for a while (or the test timeout expires), and returns the (nano)time at
+     * which the last traffic was received.
+     */
+    private long awaitQuiet(final Traffic traffic) throws InterruptedException
+    {
+        final long deadline = System.nanoTime() + Duration.ofMillis(timeout).toNanos();
+        final long waitStart = System.nanoTime();
+        while (System.nanoTime() < deadline) {
+            final long last = Math.max(waitStart, traffic.lastReceivedNanos());
+            if (System.nanoTime() - last >= QUIET_PERIOD.toNanos()) {
+                break;
+            }
+            Thread.sleep(10);
+        }
+        return traffic.lastReceivedNanos();
+    }
+
+    private MultiUserChat createRoom() throws Exception
+    {
+        if (groupchatCount == 0) {
+            return null;
+        }
+        final MultiUserChatManager mucManager = MultiUserChatManager.getInstanceFor(conThree);
+        final Optional<DomainBareJid> mucDomain = mucManager.getMucServiceDomains().stream().findFirst();
+        if (mucDomain.isEmpty()) {
+            LOGGER.info("Unable to find a MUC service domain. The benchmark will not include MUC chatter.");
+            return null;
+        }
+        final EntityBareJid roomAddress = JidCreate.entityBareFrom(Localpart.from("smack-inttest-xep0352-" + testRunId + "-" + StringUtils.randomString(5).toLowerCase()), mucDomain.get());
+        final MultiUserChat ownerRoom = mucManager.getMultiUserChat(roomAddress);
+        ownerRoom.create(Resourcepart.from("csi-owner")).makeInstant();
+        return ownerRoom;
+    }
+
+    static Kind classify(final Stanza stanza, final MultiUserChat room)
+    {
+        if (room != null && stanza.getFrom() != null && stanza.getFrom().asBareJid().equals(room.getRoom())) {
+            return Kind.GROUPCHAT;
+        }
+        if (stanza instanceof Presence) {
+            return Kind.PRESENCE;
+        }
+        if (stanza instanceof Message) {
+            if (((Message) stanza).getType() == Message.Type.chat) {
+                return Kind.CHAT;
+            }
+            if (stanza.hasExtension(PubSub.NAMESPACE + "#event")) {
+                return Kind.PEP;
+            }
+        }
+        return Kind.OTHER;
+    }
+
+    private static String percentage(final long part, final long whole)
+    {
+        if (whole == 0) {
+            return "n/a";
+        }
+        return String.format("%.1f%%", part * 100d / whole);
+    }
+
+    /**
+     * Collects the traffic that is received by conOne. The size of a stanza is approximated by the length of its XML
+     * representation.
+     */
+    static class Traffic
+    {
+        private final Map<Kind, AtomicLong> stanzas = new EnumMap<>(Kind.class);
+        private final Map<Kind, AtomicLong> bytes = new EnumMap<>(Kind.class);
+        private final AtomicLong lastReceivedNanos = new AtomicLong();
+        private volatile Map<String, Long> chatsSent = new ConcurrentHashMap<>();
+        private volatile LatencyRecorder chatLatency = new LatencyRecorder();
+
+        Traffic()
+        {
+            for (final Kind kind : Kind.values()) {
+                stanzas.put(kind, new AtomicLong());
+                bytes.put(kind, new AtomicLong());
+            }
+        }
+
+        void reset(final Map<String, Long> chatsSent)
+        {
+            this.chatsSent = chatsSent;
+            this.chatLatency = new LatencyRecorder();
+            for (final Kind kind : Kind.values()) {
+                stanzas.get(kind).set(0);
+                bytes.get(kind).set(0);
+            }
+        }
+
+        void record(final Kind kind, final Stanza stanza)
+        {
+            final long now = System.nanoTime();
+            lastReceivedNanos.set(now);
+            stanzas.get(kind).incrementAndGet();
+            bytes.get(kind).addAndGet(stanza.toXML().length());
+            if (kind == Kind.CHAT) {
+                final Long sent = chatsSent.remove(stanza.getStanzaId());
+                if (sent != null) {
+                    chatLatency.record(now - sent);
+                }
+            }
+        }
+
+        long lastReceivedNanos()
+        {
+            return lastReceivedNanos.get();
+        }
+
+        LatencyRecorder chatLatency()
+        {
+            return chatLatency;
+        }
+
+        LatencyRecorder chatLatencySnapshot()
+        {
+            final LatencyRecorder result = new LatencyRecorder();
+            for (final long sample : chatLatency.getSamples()) {
+                result.record(sample);
+            }
+            return result;
+        }
+
+        Snapshot snapshot()
+        {
+            final Map<Kind, Long> stanzaCounts = new EnumMap<>(Kind.class);
+            final Map<Kind, Long> byteCounts = new EnumMap<>(Kind.class);
+            for (final Kind kind : Kind.values()) {
+                stanzaCounts.put(kind, stanzas.get(kind).get());
+                byteCounts.put(kind, bytes.get(kind).get());
+            }
+            return new Snapshot(stanzaCounts, byteCounts);
+        }
+    }
+
+    static class Snapshot
+    {
+        private final Map<Kind, Long> stanzas;
+        private final Map<Kind, Long> bytes;
+
+        Snapshot(final Map<Kind, Long> stanzas, final Map<Kind, Long> bytes)
+        {
+            this.stanzas = stanzas;
+            this.bytes = bytes;
+        }
+
+        long stanzas()
+        {
+            return stanzas.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        long bytes()
+        {
+            return bytes.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        Map<Kind, Long> stanzasPerKind()
+        {
+            return stanzas;
+        }
+
+        Snapshot minus(final Snapshot other)
+        {
+            final Map<Kind, Long> stanzaCounts = new EnumMap<>(Kind.class);
+            final Map<Kind, Long> byteCounts = new EnumMap<>(Kind.class);
+            for (final Kind kind : Kind.values()) {
+                stanzaCounts.put(kind, stanzas.get(kind) - other.stanzas.get(kind));
+                byteCounts.put(kind, bytes.get(kind) - other.bytes.get(kind));
+            }
+            return new Snapshot(stanzaCounts, byteCounts);
+        }
+    }
+
+    static class PhaseResult
+    {
+        Snapshot delivered;
+        Snapshot flushed;
+        LatencyRecorder chatLatency;
+        int chatsHeld;
+        int chatsMissing;
+        Duration flushTime = Duration.ZERO;
+    }
+}
@@ -20,8 +20,12 @@ import org.dmfs.rfc3986.uris.LazyUri;
 import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
 import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.AfterClass;
+import org.igniterealtime.smack.inttest.annotations.BeforeClass;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
+import org.igniterealtime.smack.inttest.util.ScopedIqProviders;
 import org.igniterealtime.smack.inttest.xep0363.element.RetryError;
 import org.igniterealtime.smack.inttest.xep0363.element.SlotRaw;
 import org.igniterealtime.smack.inttest.xep0363.provider.RetryErrorProvider;
@@ -29,9 +33,7 @@ import org.igniterealtime.smack.inttest.xep0363.provider.SlotRawProvider;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
 import org.jivesoftware.smack.packet.ExtensionElement;
-import org.jivesoftware.smack.packet.IQ;
 import org.jivesoftware.smack.provider.ExtensionElementProvider;
-import org.jivesoftware.smack.provider.IqProvider;
 import org.jivesoftware.smack.provider.ProviderManager;
 import org.jivesoftware.smack.util.ParserUtils;
 import org.jivesoftware.smack.util.StringUtils;
@@ -76,27 +78,41 @@ public class HttpFileUploadExtIntegrationTest extends AbstractSmackIntegrationTe
         }
     }
 
+    private ExtensionElementProvider<ExtensionElement> previousRetryErrorProvider = null;
+
+    @BeforeClass
+    public void setup()
+    {
+        // Smack does not parse this element. Registering a provider for it does therefore not replace any of Smack's behavior (but restore whatever was registered, if anything, after the tests).
+        previousRetryErrorProvider = ProviderManager.getExtensionProvider(RetryError.ELEMENT, RetryError.NAMESPACE);
+        ProviderManager.addExtensionProvider(RetryError.ELEMENT, RetryError.NAMESPACE, new RetryErrorProvider());
+    }
+
+    @AfterClass
+    public void teardown()
+    {
+        ProviderManager.removeExtensionProvider(RetryError.ELEMENT, RetryError.NAMESPACE);
+        if (previousRetryErrorProvider != null) {
+            ProviderManager.addExtensionProvider(RetryError.ELEMENT, RetryError.NAMESPACE, previousRetryErrorProvider);
+        }
+    }
+
     @SmackIntegrationTest(section = "4", quote = "A client requests a new upload slot [...] The upload service responds with [..] a GET URL wrapped by a <slot> element.")
     public void testSlotResponseContainsGet() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
-        final IqProvider<IQ> oldProvider = ProviderManager.getIQProvider("slot", "urn:xmpp:http:upload:0");
-        ProviderManager.addIQProvider("slot", "urn:xmpp:http:upload:0", new SlotRawProvider());
-        try {
+        Phases.setup();
+        try (final ScopedIqProviders.Scope ignored = ScopedIqProviders.install(conOne, "slot", "urn:xmpp:http:upload:0", new SlotRawProvider())) {
             final String data = "This is part of an integration test.";
             final SlotRequest request = new SlotRequest(hfumOne.getDefaultUploadService().getAddress(), "testfile-" + StringUtils.randomString(5) + ".txt", data.getBytes().length);
 
             // Execute system-under-test.
+            Phases.execute();
             final SlotRaw response = connection.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             assertNotNull(response.getGetUrl(), "Expected the slot requested by '" + conOne + "' from '" + request.getTo() + "' to contain a GET URL (but it did not).");
-        } finally {
-            // Restore the previous provider, if there was one.
-            ProviderManager.removeIQProvider("slot", "urn:xmpp:http:upload:0");
-            if (oldProvider != null) {
-                ProviderManager.addIQProvider("slot", "urn:xmpp:http:upload:0", oldProvider);
-            }
         }
     }
 
@@ -104,23 +120,18 @@ public class HttpFileUploadExtIntegrationTest extends AbstractSmackIntegrationTe
     public void testSlotResponseContainsPut() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
-        final IqProvider<IQ> oldProvider = ProviderManager.getIQProvider("slot", "urn:xmpp:http:upload:0");
-        ProviderManager.addIQProvider("slot", "urn:xmpp:http:upload:0", new SlotRawProvider());
-        try {
+        Phases.setup();
+        try (final ScopedIqProviders.Scope ignored = ScopedIqProviders.install(conOne, "slot", "urn:xmpp:http:upload:0", new SlotRawProvider())) {
             final String data = "This is part of an integration test.";
             final SlotRequest request = new SlotRequest(hfumOne.getDefaultUploadService().getAddress(), "testfile-" + StringUtils.randomString(5) + ".txt", data.getBytes().length);
 
             // Execute system-under-test.
+            Phases.execute();
             final SlotRaw response = connection.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             assertNotNull(response.getPutUrl(), "Expected the slot requested by '" + conOne + "' from '" + request.getTo() + "' to contain a PUT URL (but it did not).");
-        } finally {
-            // Restore the previous provider, if there was one.
-            ProviderManager.removeIQProvider("slot", "urn:xmpp:http:upload:0");
-            if (oldProvider != null) {
-                ProviderManager.addIQProvider("slot", "urn:xmpp:http:upload:0", oldProvider);
-            }
         }
     }
 
@@ -128,23 +139,18 @@ public class HttpFileUploadExtIntegrationTest extends AbstractSmackIntegrationTe
     public void testSlotResponseGetUrlProvideTLS() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
-        final IqProvider<IQ> oldProvider = ProviderManager.getIQProvider("slot", "urn:xmpp:http:upload:0");
-        ProviderManager.addIQProvider("slot", "urn:xmpp:http:upload:0", new SlotRawProvider());
-        try {
+        Phases.setup();
+        try (final ScopedIqProviders.Scope ignored = ScopedIqProviders.install(conOne, "slot", "urn:xmpp:http:upload:0", new SlotRawProvider())) {
             final String data = "This is part of an integration test.";
             final SlotRequest request = new SlotRequest(hfumOne.getDefaultUploadService().getAddress(), "testfile-" + StringUtils.randomString(5) + ".txt", data.getBytes().length);
 
             // Execute system-under-test.
+            Phases.execute();
             final SlotRaw response = connection.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             assertEquals("https", response.getGetUrl().substring(0, 5), "Expected the GET URL from the slot returned by '" + request.getTo() + "' to '" + conOne + "' to start with 'https' (but it did not).");
-        } finally {
-            // Restore the previous provider, if there was one.
-            ProviderManager.removeIQProvider("slot", "urn:xmpp:http:upload:0");
-            if (oldProvider != null) {
-                ProviderManager.addIQProvider("slot", "urn:xmpp:http:upload:0", oldProvider);
-            }
         }
     }
 
@@ -152,23 +158,18 @@ public class HttpFileUploadExtIntegrationTest extends AbstractSmackIntegrationTe
     public void testSlotResponsePutUrlProvideTLS() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
-        final IqProvider<IQ> oldProvider = ProviderManager.getIQProvider("slot", "urn:xmpp:http:upload:0");
-        ProviderManager.addIQProvider("slot", "urn:xmpp:http:upload:0", new SlotRawProvider());
-        try {
+        Phases.setup();
+        try (final ScopedIqProviders.Scope ignored = ScopedIqProviders.install(conOne, "slot", "urn:xmpp:http:upload:0", new SlotRawProvider())) {
             final String data = "This is part of an integration test.";
             final SlotRequest request = new SlotRequest(hfumOne.getDefaultUploadService().getAddress(), "testfile-" + StringUtils.randomString(5) + ".txt", data.getBytes().length);
 
             // Execute system-under-test.
+            Phases.execute();
             final SlotRaw response = connection.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             assertEquals("https", response.getPutUrl().substring(0, 5), "Expected the PUT URL from the slot returned by '" + request.getTo() + "' to '" + conOne + "' to start with 'https' (but it did not).");
-        } finally {
-            // Restore the previous provider, if there was one.
-            ProviderManager.removeIQProvider("slot", "urn:xmpp:http:upload:0");
-            if (oldProvider != null) {
-                ProviderManager.addIQProvider("slot", "urn:xmpp:http:upload:0", oldProvider);
-            }
         }
     }
 
@@ -176,27 +177,22 @@ public class HttpFileUploadExtIntegrationTest extends AbstractSmackIntegrationTe
     public void testSlotResponseGetUrlAdhereToRFC3986() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
-        final IqProvider<IQ> oldProvider = ProviderManager.getIQProvider("slot", "urn:xmpp:http:upload:0");
-        ProviderManager.addIQProvider("slot", "urn:xmpp:http:upload:0", new SlotRawProvider());
-        try {
+        Phases.setup();
+        try (final ScopedIqProviders.Scope ignored = ScopedIqProviders.install(conOne, "slot", "urn:xmpp:http:upload:0", new SlotRawProvider())) {
             final String data = "This is part of an integration test.";
             final SlotRequest request = new SlotRequest(hfumOne.getDefaultUploadService().getAddress(), "testfile-" + StringUtils.randomString(5) + ".txt", data.getBytes().length);
 
             // Execute system-under-test.
+            Phases.execute();
             final SlotRaw response = connection.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             try {
                 new LazyUri(new Precoded(response.getGetUrl())).fragment().isPresent(); // call fragment().isPresent() to cause entire URI to be parsed.
             } catch (RuntimeException e) {
                 fail("Expected the GET URL from the slot returned by '" + request.getTo() + "' to '" + conOne + "' to parse as a RFC3986 URI (but it did not).", e);
             }
-        } finally {
-            // Restore the previous provider, if there was one.
-            ProviderManager.removeIQProvider("slot", "urn:xmpp:http:upload:0");
-            if (oldProvider != null) {
-                ProviderManager.addIQProvider("slot", "urn:xmpp:http:upload:0", oldProvider);
-            }
         }
     }
 
@@ -204,27 +200,22 @@ public class HttpFileUploadExtIntegrationTest extends AbstractSmackIntegrationTe
     public void testSlotResponsePutUrlAdhereToRFC3986() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
-        final IqProvider<IQ> oldProvider = ProviderManager.getIQProvider("slot", "urn:xmpp:http:upload:0");
-        ProviderManager.addIQProvider("slot", "urn:xmpp:http:upload:0", new SlotRawProvider());
-        try {
+        Phases.setup();
+        try (final ScopedIqProviders.Scope ignored = ScopedIqProviders.install(conOne, "slot", "urn:xmpp:http:upload:0", new SlotRawProvider())) {
             final String data = "This is part of an integration test.";
             final SlotRequest request = new SlotRequest(hfumOne.getDefaultUploadService().getAddress(), "testfile-" + StringUtils.randomString(5) + ".txt", data.getBytes().length);
 
             // Execute system-under-test.
+            Phases.execute();
             final SlotRaw response = connection.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             try {
                 new LazyUri(new Precoded(response.getPutUrl())).fragment().isPresent(); // call fragment().isPresent() to cause entire URI to be parsed.
             } catch (RuntimeException e) {
                 fail("Expected the PUT URL from the slot returned by '" + request.getTo() + "' to '" + conOne + "' to parse as a RFC3986 URI (but it did not).", e);
             }
-        } finally {
-            // Restore the previous provider, if there was one.
-            ProviderManager.removeIQProvider("slot", "urn:xmpp:http:upload:0");
-            if (oldProvider != null) {
-                ProviderManager.addIQProvider("slot", "urn:xmpp:http:upload:0", oldProvider);
-            }
         }
     }
 
@@ -232,16 +223,17 @@ public class HttpFileUploadExtIntegrationTest extends AbstractSmackIntegrationTe
     public void testSlotResponseGetUrlIsPercentEncoded() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
-        final IqProvider<IQ> oldProvider = ProviderManager.getIQProvider("slot", "urn:xmpp:http:upload:0");
-        ProviderManager.addIQProvider("slot", "urn:xmpp:http:upload:0", new SlotRawProvider());
-        try {
+        Phases.setup();
+        try (final ScopedIqProviders.Scope ignored = ScopedIqProviders.install(conOne, "slot", "urn:xmpp:http:upload:0", new SlotRawProvider())) {
             final String data = "This is part of an integration test.";
             final SlotRequest request = new SlotRequest(hfumOne.getDefaultUploadService().getAddress(), "très cool.txt", data.getBytes().length);
 
             // Execute system-under-test.
+            Phases.execute();
             final SlotRaw response = connection.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             final String rawGetUrl = response.getGetUrl();
             final String decodedGetUrl = URLDecoder.decode(rawGetUrl, StandardCharsets.UTF_8);
             // Note: we can't be sure that the service used the file name from the request in the response. We can only check for the absence of characters that need to be percent-encoded.
@@ -249,12 +241,6 @@ public class HttpFileUploadExtIntegrationTest extends AbstractSmackIntegrationTe
             if (rawGetUrl.equals(decodedGetUrl)) {
                 throw new TestNotPossibleException("The generated GET URL did not contain percent-encoded character nor characters that needed percent-encoding.");
             }
-        } finally {
-            // Restore the previous provider, if there was one.
-            ProviderManager.removeIQProvider("slot", "urn:xmpp:http:upload:0");
-            if (oldProvider != null) {
-                ProviderManager.addIQProvider("slot", "urn:xmpp:http:upload:0", oldProvider);
-            }
         }
     }
 
@@ -262,16 +248,17 @@ public class HttpFileUploadExtIntegrationTest extends AbstractSmackIntegrationTe
     public void testSlotResponsePutUrlIsPercentEncoded() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
-        final IqProvider<IQ> oldProvider = ProviderManager.getIQProvider("slot", "urn:xmpp:http:upload:0");
-        ProviderManager.addIQProvider("slot", "urn:xmpp:http:upload:0", new SlotRawProvider());
-        try {
+        Phases.setup();
+        try (final ScopedIqProviders.Scope ignored = ScopedIqProviders.install(conOne, "slot", "urn:xmpp:http:upload:0", new SlotRawProvider())) {
             final String data = "This is part of an integration test.";
             final SlotRequest request = new SlotRequest(hfumOne.getDefaultUploadService().getAddress(), "très cool.txt", data.getBytes().length);
 
             // Execute system-under-test.
+            Phases.execute();
             final SlotRaw response = connection.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             final String rawPutUrl = response.getPutUrl();
             final String decodedPutUrl = URLDecoder.decode(rawPutUrl, StandardCharsets.UTF_8);
             // Note: we can't be sure that the service used the file name from the request in the response. We can only check for the absence of characters that need to be percent-encoded.
@@ -279,12 +266,6 @@ public class HttpFileUploadExtIntegrationTest extends AbstractSmackIntegrationTe
             if (rawPutUrl.equals(decodedPutUrl)) {
                 throw new TestNotPossibleException("The generated PUT URL did not contain percent-encoded character nor characters that needed percent-encoding.");
             }
-        } finally {
-            // Restore the previous provider, if there was one.
-            ProviderManager.removeIQProvider("slot", "urn:xmpp:http:upload:0");
-            if (oldProvider != null) {
-                ProviderManager.addIQProvider("slot", "urn:xmpp:http:upload:0", oldProvider);
-            }
         }
     }
 
@@ -292,28 +273,23 @@ public class HttpFileUploadExtIntegrationTest extends AbstractSmackIntegrationTe
     public void testPutHeadersHaveNameAttribute() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
-        final IqProvider<IQ> oldProvider = ProviderManager.getIQProvider("slot", "urn:xmpp:http:upload:0");
-        ProviderManager.addIQProvider("slot", "urn:xmpp:http:upload:0", new SlotRawProvider());
-        try {
+        Phases.setup();
+        try (final ScopedIqProviders.Scope ignored = ScopedIqProviders.install(conOne, "slot", "urn:xmpp:http:upload:0", new SlotRawProvider())) {
             final String data = "This is part of an integration test.";
             final SlotRequest request = new SlotRequest(hfumOne.getDefaultUploadService().getAddress(), "très cool.txt", data.getBytes().length);
 
             // Execute system-under-test.
+            Phases.execute();
             final SlotRaw response = connection.sendIqRequestAndWaitForResponse(request);
             final Map<String, String> headers = response.getHeaders();
 
             // Verify result.
+            Phases.verify();
             if (headers.isEmpty()) {
                 throw new TestNotPossibleException("The generated PUT URL did not contain any headers that can be tested.");
             }
             assertFalse(headers.containsKey(null), "Expected all of the headers in the 'put' element in the slot sent to '" + request.getTo() + "' by '" + conOne + "' to have a name-attribute (but not all had - detected a missing or 'null' name).");
             assertFalse(headers.containsKey(""), "Expected all of the headers in the 'put' element in the slot sent to '" + request.getTo() + "' by '" + conOne + "' to have a name-attribute (but not all had - detected a missing or empty name).");
-        } finally {
-            // Restore the previous provider, if there was one.
-            ProviderManager.removeIQProvider("slot", "urn:xmpp:http:upload:0");
-            if (oldProvider != null) {
-                ProviderManager.addIQProvider("slot", "urn:xmpp:http:upload:0", oldProvider);
-            }
         }
     }
 
@@ -321,17 +297,18 @@ public class HttpFileUploadExtIntegrationTest extends AbstractSmackIntegrationTe
     public void testPutHeadersHaveValidNames() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
-        final IqProvider<IQ> oldProvider = ProviderManager.getIQProvider("slot", "urn:xmpp:http:upload:0");
-        ProviderManager.addIQProvider("slot", "urn:xmpp:http:upload:0", new SlotRawProvider());
-        try {
+        Phases.setup();
+        try (final ScopedIqProviders.Scope ignored = ScopedIqProviders.install(conOne, "slot", "urn:xmpp:http:upload:0", new SlotRawProvider())) {
             final String data = "This is part of an integration test.";
             final SlotRequest request = new SlotRequest(hfumOne.getDefaultUploadService().getAddress(), "très cool.txt", data.getBytes().length);
 
             // Execute system-under-test.
+            Phases.execute();
             final SlotRaw response = connection.sendIqRequestAndWaitForResponse(request);
             final Map<String, String> headers = response.getHeaders();
 
             // Verify result.
+            Phases.verify();
             if (headers.isEmpty()) {
                 throw new TestNotPossibleException("The generated PUT URL did not contain any headers that can be tested.");
             }
@@ -343,12 +320,6 @@ public class HttpFileUploadExtIntegrationTest extends AbstractSmackIntegrationTe
                 }
             }
             assertTrue(offendingNames.isEmpty(), "Expected all of the headers returned in the 'put' element in the slot sent to '" + request.getTo() + "' by '" + conOne + "' to have a name-attribute that (case-insensitively) matches one of [" + String.join(", ", validHeaderNames) + "] (but not all had. Invalid value(s): [" + String.join(", ", offendingNames) + "]).");
-        } finally {
-            // Restore the previous provider, if there was one.
-            ProviderManager.removeIQProvider("slot", "urn:xmpp:http:upload:0");
-            if (oldProvider != null) {
-                ProviderManager.addIQProvider("slot", "urn:xmpp:http:upload:0", oldProvider);
-            }
         }
     }
 
@@ -356,12 +327,10 @@ public class HttpFileUploadExtIntegrationTest extends AbstractSmackIntegrationTe
     public void testRetryError() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
-        final IqProvider<IQ> oldProvider = ProviderManager.getIQProvider("slot", "urn:xmpp:http:upload:0");
-        ProviderManager.addIQProvider("slot", "urn:xmpp:http:upload:0", new SlotRawProvider());
-        final ExtensionElementProvider<ExtensionElement> oldExtensionProvider = ProviderManager.getExtensionProvider(RetryError.ELEMENT, RetryError.NAMESPACE);
-        ProviderManager.addExtensionProvider(RetryError.ELEMENT, RetryError.NAMESPACE, new RetryErrorProvider());
-        try {
+        Phases.setup();
+        try (final ScopedIqProviders.Scope ignored = ScopedIqProviders.install(conOne, "slot", "urn:xmpp:http:upload:0", new SlotRawProvider())) {
             // Execute system-under-test (attempt to hit a rate-limit).
+            Phases.execute();
             for (int i = 0; i < 10; i++) {
                 final String data = "This is part of an integration test that attempts to hit a rate-limit. " + StringUtils.randomString(10);
                 final SlotRequest request = new SlotRequest(hfumOne.getDefaultUploadService().getAddress(), "test-ratelimit-" + StringUtils.randomString(4) + ".txt", data.getBytes().length);
@@ -370,6 +339,7 @@ public class HttpFileUploadExtIntegrationTest extends AbstractSmackIntegrationTe
             throw new TestNotPossibleException("The test was unable to generate an error of which this test intends to assert its properties.");
         } catch (XMPPException.XMPPErrorException e) {
             // Verify result.
+            Phases.verify();
             final RetryError retry = e.getStanzaError().getExtension("retry", "urn:xmpp:http:upload:0");
             if (retry != null) {
                 // Multiple assertions, that could go in seperate tests. As this test involves generating a flood of requests (trying to reach resource starvation), let's combine all the tests into one. This reduces overhead.
@@ -385,16 +355,6 @@ public class HttpFileUploadExtIntegrationTest extends AbstractSmackIntegrationTe
             }
             // This test intentionally floods the service. This might result in an exception that is not explicitly the subject of the assertions of this text, but not unexpected either. Do not rethrow.
             throw new TestNotPossibleException("The error returned by the service did not contain an attribute that can be checked by this test.");
-        } finally {
-            // Restore the previous provider, if there was one.
-            ProviderManager.removeIQProvider("slot", "urn:xmpp:http:upload:0");
-            if (oldProvider != null) {
-                ProviderManager.addIQProvider("slot", "urn:xmpp:http:upload:0", oldProvider);
-            }
-            ProviderManager.removeExtensionProvider(RetryError.ELEMENT, RetryError.NAMESPACE);
-            if (oldExtensionProvider != null) {
-                ProviderManager.addExtensionProvider(RetryError.ELEMENT, RetryError.NAMESPACE, oldExtensionProvider);
-            }
         }
     }
 }
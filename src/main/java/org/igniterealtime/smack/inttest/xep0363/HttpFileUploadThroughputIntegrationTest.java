@@ -0,0 +1,302 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.xep0363;
+
+import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.BenchmarkConfiguration;
+import org.igniterealtime.smack.inttest.util.BenchmarkReport;
+import org.igniterealtime.smack.inttest.util.LatencyRecorder;
+import org.igniterealtime.smack.inttest.util.Phases;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smack.util.StringUtils;
+import org.jivesoftware.smackx.httpfileupload.HttpFileUploadManager;
+import org.jivesoftware.smackx.httpfileupload.UploadService;
+import org.jivesoftware.smackx.httpfileupload.element.Slot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A throughput benchmark for XEP-0363: HTTP File Upload, that requests upload slots concurrently, uploads data to the
+ * slots and downloads it again.
+ *
+ * Data is streamed from (and, for verification, digested from) a file on disk, so that the size of the uploaded data is
+ * not limited by the heap of the test runner.
+ *
+ * The sizes of the data to upload can be configured with the system property <tt>sinttest.benchmark.upload.sizes</tt>,
+ * as a comma-separated list of sizes that can use 'KiB', 'MiB' and 'GiB' suffixes (default: "1KiB,1MiB"). Sizes that
+ * are not accepted by the upload service are skipped. The amount of files that is uploaded for each size can be
+ * configured with <tt>sinttest.benchmark.upload.files</tt> (default: 8), the amount of concurrent slot requests and
+ * transfers with <tt>sinttest.benchmark.upload.concurrency</tt> (default: 4).
+ *
+ * @see <a href="https://xmpp.org/extensions/xep-0363.html">XEP-0363: HTTP File Upload</a>
+ */
+@SpecificationReference(document = "XEP-0363", version = "1.1.0")
+public class HttpFileUploadThroughputIntegrationTest extends AbstractSmackIntegrationTest
+{
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final HttpFileUploadManager hfumOne;
+    private final HttpClient httpClient;
+
+    private final List<Long> sizes;
+    private final int fileCount;
+    private final int concurrency;
+
+    public HttpFileUploadThroughputIntegrationTest(SmackIntegrationTestEnvironment environment) throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
+    {
+        super(environment);
+        BenchmarkConfiguration.requireEnabled();
+        hfumOne = HttpFileUploadManager.getInstanceFor(conOne);
+        if (!hfumOne.discoverUploadService()) {
+            throw new TestNotPossibleException("Unable to find any service on domain that supports XEP-0363: HTTP File Upload.");
+        }
+
+        sizes = BenchmarkConfiguration.getSizes("upload.sizes", "1KiB,1MiB");
+        fileCount = BenchmarkConfiguration.getInt("upload.files", 8);
+        concurrency = BenchmarkConfiguration.getInt("upload.concurrency", 4);
+        if (sizes.isEmpty() || sizes.stream().anyMatch(size -> size < 1) || fileCount < 1 || concurrency < 1) {
+            throw new TestNotPossibleException("The configured sizes (" + sizes + "), amount of files (" + fileCount + ") and/or concurrency (" + concurrency + ") is not valid.");
+        }
+
+        final HttpClient.Builder builder = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(timeout))
+            .followRedirects(HttpClient.Redirect.NORMAL);
+        if (environment.configuration.sslContextFactory != null) {
+            builder.sslContext(environment.configuration.sslContextFactory.createSslContext());
+        }
+        httpClient = builder.build();
+    }
+
+    /**
+     * For each of the configured sizes, requests slots concurrently, uploads a file to each slot, downloads each file
+     * again and verifies that the downloaded data is equal to the uploaded data (by comparing SHA-256 checksums).
+     *
+     * The rate at which slots are issued, the aggregated upload and download rate, and the time to first byte of
+     * downloads are reported.
+     */
+    @SmackIntegrationTest(section = "4", quote = "The upload service responds with both a PUT and a GET URL [...] The client can now upload the file to the PUT URL [...] and share the GET URL with other entities.")
+    public void testConcurrentUploadAndDownloadThroughput() throws Exception
+    {
+        final UploadService uploadService = hfumOne.getDefaultUploadService();
+        final ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            boolean anySizeTested = false;
+            for (final long size : sizes) {
+                if (!uploadService.acceptsFileOfSize(size)) {
+                    LOGGER.info("Skipping upload size " + size + " bytes, as it exceeds the maximum file size of upload service '" + uploadService.getAddress() + "'.");
+                    continue;
+                }
+                anySizeTested = true;
+                benchmarkSize(size, executor);
+            }
+            if (!anySizeTested) {
+                throw new TestNotPossibleException("Upload service '" + uploadService.getAddress() + "' does not accept files of any of the configured sizes (" + sizes + ").");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void benchmarkSize(final long size, final ExecutorService executor) throws Exception
+    {
+        // Setup test fixture: one file on disk, that is uploaded to every slot.
+        Phases.setup();
+        final Path file = Files.createTempFile("sinttest-upload-", ".bin");
+        try {
+            final byte[] expectedChecksum = writeRandomFile(file, size);
+
+            // Execute system under test: request slots.
+            Phases.execute();
+            final LatencyRecorder slotLatency = new LatencyRecorder();
+            final List<Future<Slot>> slotFutures = new ArrayList<>(fileCount);
+            final long slotStart = System.nanoTime();
+            for (int i = 0; i < fileCount; i++) {
+                final String filename = "throughput-" + StringUtils.randomString(5) + "-" + i + ".bin";
+                slotFutures.add(executor.submit(() -> {
+                    final long start = System.nanoTime();
+                    final Slot slot = hfumOne.requestSlot(filename, size);
+                    slotLatency.recordSince(start);
+                    return slot;
+                }));
+            }
+            final List<Slot> slots = new ArrayList<>(fileCount);
+            for (final Future<Slot> future : slotFutures) {
+                slots.add(future.get(timeout, TimeUnit.MILLISECONDS));
+            }
+            final Duration slotElapsed = Duration.ofNanos(System.nanoTime() - slotStart);
+
+            // Execute system under test: upload.
+            Phases.execute();
+            final long transferTimeout = timeout + size / 1024; // Allow for at least 1 MiB/s.
+            final LatencyRecorder uploadLatency = new LatencyRecorder();
+            final List<Future<?>> uploadFutures = new ArrayList<>(fileCount);
+            final long uploadStart = System.nanoTime();
+            for (final Slot slot : slots) {
+                uploadFutures.add(executor.submit(() -> {
+                    final long start = System.nanoTime();
+                    upload(slot, file);
+                    uploadLatency.recordSince(start);
+                    return null;
+                }));
+            }
+            for (final Future<?> future : uploadFutures) {
+                future.get(transferTimeout, TimeUnit.MILLISECONDS);
+            }
+            final Duration uploadElapsed = Duration.ofNanos(System.nanoTime() - uploadStart);
+
+            // Execute system under test: download.
+            Phases.execute();
+            final LatencyRecorder downloadLatency = new LatencyRecorder();
+            final LatencyRecorder timeToFirstByte = new LatencyRecorder();
+            final List<Future<byte[]>> downloadFutures = new ArrayList<>(fileCount);
+            final long downloadStart = System.nanoTime();
+            for (final Slot slot : slots) {
+                downloadFutures.add(executor.submit(() -> {
+                    final long start = System.nanoTime();
+                    final byte[] checksum = download(slot, start, timeToFirstByte);
+                    downloadLatency.recordSince(start);
+                    return checksum;
+                }));
+            }
+            final List<byte[]> checksums = new ArrayList<>(fileCount);
+            for (final Future<byte[]> future : downloadFutures) {
+                checksums.add(future.get(transferTimeout, TimeUnit.MILLISECONDS));
+            }
+            final Duration downloadElapsed = Duration.ofNanos(System.nanoTime() - downloadStart);
+
+            // Verify result.
+            Phases.verify();
+            final long mismatches = checksums.stream().filter(checksum -> !Arrays.equals(expectedChecksum, checksum)).count();
+            new BenchmarkReport("XEP-0363 upload throughput (" + fileCount + " files of " + size + " bytes, concurrency " + concurrency + ")", conOne.getXMPPServiceDomain())
+                .add("slot request latency", slotLatency)
+                .addRate("slots/sec", fileCount, slotElapsed)
+                .add("upload latency", uploadLatency)
+                .add("upload MB/s", megabytesPerSecond(size * fileCount, uploadElapsed))
+                .add("download latency", downloadLatency)
+                .add("download time to first byte", timeToFirstByte)
+                .add("download MB/s", megabytesPerSecond(size * fileCount, downloadElapsed))
+                .add("checksum mismatches", mismatches)
+                .publish();
+
+            assertEquals(0, mismatches, "Expected the data that '" + conOne.getUser() + "' downloaded from each of the " + fileCount + " slots (of " + size + " bytes) that were provided by '" + hfumOne.getDefaultUploadService().getAddress() + "' to be equal to the data that was uploaded to them, but " + mismatches + " downloads had a different checksum.");
+        } finally {
+            // Tear down test fixture.
+            Phases.teardown();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Uploads a file to the PUT URL of a slot, streaming its content from disk.
+     */
+    private void upload(final Slot slot, final Path file) throws IOException, InterruptedException, URISyntaxException
+    {
+        final HttpRequest.Builder request = HttpRequest.newBuilder(slot.getPutUrl().toURI())
+            .PUT(HttpRequest.BodyPublishers.ofFile(file))
+            .header("Content-Type", "application/octet-stream");
+        for (final Map.Entry<String, String> header : slot.getHeaders().entrySet()) {
+            request.header(header.getKey(), header.getValue());
+        }
+        final HttpResponse<Void> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            throw new IOException("Upload to '" + slot.getPutUrl() + "' failed with HTTP status code " + response.statusCode());
+        }
+    }
+
+    /**
+     * Downloads the data from the GET URL of a slot, returning its SHA-256 checksum. The data is digested as it is
+     * received, and is not retained.
+     */
+    private byte[] download(final Slot slot, final long start, final LatencyRecorder timeToFirstByte) throws IOException, InterruptedException, URISyntaxException, NoSuchAlgorithmException
+    {
+        final HttpRequest request = HttpRequest.newBuilder(slot.getGetUrl().toURI()).GET().build();
+        final HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            response.body().close();
+            throw new IOException("Download from '" + slot.getGetUrl() + "' failed with HTTP status code " + response.statusCode());
+        }
+
+        final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        try (final InputStream in = response.body()) {
+            final byte[] buffer = new byte[CHUNK_SIZE];
+            int read = in.read(buffer);
+            timeToFirstByte.recordSince(start);
+            while (read != -1) {
+                digest.update(buffer, 0, read);
+                read = in.read(buffer);
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Writes random data to a file, in chunks, and returns the SHA-256 checksum of the data.
+     */
+    static byte[] writeRandomFile(final Path file, final long size) throws IOException, NoSuchAlgorithmException
+    {
+        final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        final Random random = new Random(size);
+        final byte[] chunk = new byte[CHUNK_SIZE];
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long remaining = size;
+            while (remaining > 0) {
+                final int length = (int) Math.min(chunk.length, remaining);
+                random.nextBytes(chunk);
+                digest.update(chunk, 0, length);
+                final ByteBuffer buffer = ByteBuffer.wrap(chunk, 0, length);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                remaining -= length;
+            }
+        }
+        return digest.digest();
+    }
+
+    private static String megabytesPerSecond(final long bytes, final Duration elapsed)
+    {
+        return String.format("%.2f", BenchmarkReport.rate(bytes, elapsed) / (1024 * 1024));
+    }
+}
@@ -21,6 +21,7 @@ import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
 import org.igniterealtime.smack.inttest.util.AccountUtilities;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.jivesoftware.smack.AbstractXMPPConnection;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
@@ -113,6 +114,7 @@ public class MucSelfPingIntegrationTest extends AbstractSmackIntegrationTest
 
         try {
             // Setup test fixture.
+            Phases.setup();
             createRoom();
             MultiUserChatManager.getInstanceFor(conOne).getMultiUserChat(testRoomAddress).join(nick);
 
@@ -149,9 +151,11 @@ public class MucSelfPingIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             final IQ response = conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify results
+            Phases.verify();
             assertEquals(IQ.Type.result, response.getType(), "Expected a non-error response to the ping request that '" + conOne.getUser() + "' sent to its own nickname in room '" + addressInRoom + "' (but an error response was received.");
             assertFalse(wasInvoked.get(), "After sending a 'self-ping' to its own nickname in room '" + addressInRoom + "' the server should have processed the request on behalf of the user. Instead, '" + conOne.getUser() + "' received the ping request from the server.");
         } finally {
@@ -174,6 +178,7 @@ public class MucSelfPingIntegrationTest extends AbstractSmackIntegrationTest
 
         try {
             // Setup test fixture.
+            Phases.setup();
             createRoom();
 
             conOneSecondary.connect();
@@ -245,9 +250,11 @@ public class MucSelfPingIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             final IQ response = conOne.sendIqRequestAndWaitForResponse(new Ping(addressInRoom));
 
             // Verify results
+            Phases.verify();
             assertEquals(IQ.Type.result, response.getType(), "Expected a non-error response to the ping request that '" + conOne.getUser() + "' sent to its own nickname in room '" + addressInRoom + "' (but an error response was received.");
             assertFalse(wasInvokedA.get(), "After sending a 'self-ping' to its own nickname in room '" + addressInRoom + "' the server should have processed the request on behalf of the user. Instead, '" + conOne.getUser() + "' received the ping request from the server.");
             assertFalse(wasInvokedB.get(), "After sending a 'self-ping' to its own nickname in room '" + addressInRoom + "' the server should have processed the request on behalf of the user. Instead, '" + conOneSecondary.getUser() + "' (a different session for the same user, that joined the room using the same nickname) received the ping request from the server.");
@@ -272,12 +279,14 @@ public class MucSelfPingIntegrationTest extends AbstractSmackIntegrationTest
 
         try {
             // Setup test fixture.
+            Phases.setup();
             createRoom();
 
             final FullJid addressInRoom = JidCreate.fullFrom(testRoomAddress, nick);
             final Ping request = new Ping(addressInRoom);
 
             // Execute system under test & Verify results
+            Phases.execute();
             final XMPPException.XMPPErrorException error = assertThrows(XMPPException.XMPPErrorException.class, () -> conOne.sendIqRequestAndWaitForResponse(request), "Expected an error response to the ping request that '" + conOne.getUser() + "' sent to an occupant-JID in room '" + addressInRoom + "' without being an actual occupant of that room(but no error was received.");
             assertEquals(StanzaError.Condition.not_acceptable, error.getStanzaError().getCondition(), "Unexpected condition in the (expected) error that was received to the ping request that '" + conOne.getUser() + "' sent to an occupant-JID in room '" + addressInRoom + "' without being an actual occupant of that room.");
         } finally {
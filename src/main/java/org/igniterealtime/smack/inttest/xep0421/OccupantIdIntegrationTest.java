@@ -20,6 +20,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.ResultSyncPoint;
 import org.igniterealtime.smack.inttest.xep0421.provider.OccupantId;
 import org.jivesoftware.smack.ListenerHandle;
@@ -130,18 +131,22 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForReflectedJoinPresence(final Function<Presence, Void> assertion) throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException, XmppStringprepException, MultiUserChatException.NotAMucServiceException, MultiUserChatException.MucNotJoinedException
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChat room = mucManagerOne.getMultiUserChat(testRoomAddress);
 
         try {
             // Execute system under test.
+            Phases.execute();
             final Presence reflectedPresence = room.join(Resourcepart.from("test-user"));
 
             // Verify result.
+            Phases.verify();
             assertion.apply(reflectedPresence);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -173,6 +178,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     public void fixtureForBroadcastJoinPresence(final Resourcepart recipientNickname, final Function<Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChatManager mucManagerTwo = MultiUserChatManager.getInstanceFor(conTwo);
@@ -193,13 +199,16 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             roomOne.join(joinerNickname);
             final Presence result = presenceReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(result);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -227,6 +236,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForReflectedMessage(final Function<Message, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChat room = mucManagerOne.getMultiUserChat(testRoomAddress);
@@ -242,13 +252,16 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             room.sendMessage("test");
             final Message reflectedMessage = messageReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(reflectedMessage);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -280,6 +293,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForBroadcastMessage(final Resourcepart recipientNickname, final Function<Message, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChatManager mucManagerTwo = MultiUserChatManager.getInstanceFor(conTwo);
@@ -301,13 +315,16 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             roomOne.sendMessage("test message");
             final Message result = messageReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(result);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -316,6 +333,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     public void testOccupantIdInReflectedMessageReplaced() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChat room = mucManagerOne.getMultiUserChat(testRoomAddress);
@@ -337,16 +355,19 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
                 .build();
 
             // Execute system under test.
+            Phases.execute();
             conOne.sendStanza(message);
             final Message reflectedMessage = messageReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             final List<OccupantId> extensions = reflectedMessage.getExtensions(OccupantId.class);
             assertFalse(extensions.isEmpty(), "Expected the message sent back to user '" + conOne.getUser() + "' after they sent it in room '" + testRoomAddress + "' to contain an occupant-id element (but it did not).");
             final Set<String> receivedOccupantIDs = extensions.stream().map(OccupantId::getId).collect(Collectors.toSet());
             assertFalse(receivedOccupantIDs.contains(needle), "Expected the message sent back to user '" + conOne.getUser() + "' after they sent it in room '" + testRoomAddress + "' to no longer contain the occupant-id provided by the client (but it did) The server should have replaced the client-provided occupant ID.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -355,6 +376,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     public void testOccupantIdInReflectedMessageReplacedMultiple() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChat room = mucManagerOne.getMultiUserChat(testRoomAddress);
@@ -378,10 +400,12 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
                 .build();
 
             // Execute system under test.
+            Phases.execute();
             conOne.sendStanza(message);
             final Message reflectedMessage = messageReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             final List<OccupantId> extensions = reflectedMessage.getExtensions(OccupantId.class);
             assertFalse(extensions.isEmpty(), "Expected the message sent back to user '" + conOne.getUser() + "' after they sent it in room '" + testRoomAddress + "' to contain an occupant-id element (but it did not).");
             final Set<String> receivedOccupantIDs = extensions.stream().map(OccupantId::getId).collect(Collectors.toSet());
@@ -389,6 +413,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             assertFalse(receivedOccupantIDs.contains(needleB), "Expected the message sent back to user '" + conOne.getUser() + "' after they sent it in room '" + testRoomAddress + "' to no longer contain any of the occupant-ids provided by the client (but at least one of the received occupant-id was the same) The server should have replaced all client-provided occupant IDs.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -397,6 +422,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     public void testOccupantIdInBroadcastMessageReplaced() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChatManager mucManagerTwo = MultiUserChatManager.getInstanceFor(conTwo);
@@ -425,16 +451,19 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
                 .build();
 
             // Execute system under test.
+            Phases.execute();
             conOne.sendStanza(message);
             final Message result = messageReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             final List<OccupantId> extensions = result.getExtensions(OccupantId.class);
             assertFalse(extensions.isEmpty(), "Expected the message received by occupant '" + conTwo.getUser() + "' (using nickname '" + recipientNickname + "') in room '" + testRoomAddress + "' after user '" + conOne.getUser()+ "' sent that message in room to contain an occupant-id element (but it did not).");
             assertFalse(extensions.size() > 1, "Expected the message received by occupant '" + conTwo.getUser() + "' (using nickname '" + recipientNickname + "') in room '" + testRoomAddress + "' after user '" + conOne.getUser()+ "' sent that message in room to contain not more than one occupant-id (but it contained " + extensions.size() + " occupant-id elements).");
             assertNotEquals(needle, extensions.get(0).getId(), "Expected the message received by occupant '" + conTwo.getUser() + "' (using nickname '" + recipientNickname + "') in room '" + testRoomAddress + "' after user '" + conOne.getUser()+ "' sent that message in room to contain a different occupant-id than the occupant-id provided by the client (but the received occupant-id was the same).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -443,6 +472,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     public void testOccupantIdInReflectedAvailabilityStatusChangeReplaced() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChat room = mucManagerOne.getMultiUserChat(testRoomAddress);
@@ -460,6 +490,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             final Presence changePresence = connection.getStanzaFactory().buildPresenceStanza()
                 .to(room.getMyRoomJid())
                 .ofType(Presence.Type.available)
@@ -471,12 +502,14 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             final Presence reflectedPresence = presenceReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             final List<OccupantId> extensions = reflectedPresence.getExtensions(OccupantId.class);
             assertFalse(extensions.isEmpty(), "Expected the presence sent back to user '" + conOne.getUser() + "' after they changed their availability status in room '" + testRoomAddress + "' to contain an occupant-id element (but it did not).");
             assertFalse(extensions.size() > 1, "Expected the presence sent back to user '" + conOne.getUser() + "' after they changed their availability status in room '" + testRoomAddress + "' to contain not more than one occupant-id (but it contained " + extensions.size() + " occupant-id elements).");
             assertNotEquals(needleA, extensions.get(0).getId(), "Expected the presence sent back to user '" + conOne.getUser() + "' after they changed their availability status in room '" + testRoomAddress + "' to contain a different occupant-id than the occupant-id provided by the client (but the received occupant-id was the same).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -485,6 +518,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     public void testOccupantIdInBroadcastAvailabilityStatusChangeReplaced() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChatManager mucManagerTwo = MultiUserChatManager.getInstanceFor(conTwo);
@@ -509,6 +543,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             final Presence changePresence = connection.getStanzaFactory().buildPresenceStanza()
                 .to(roomOne.getMyRoomJid())
                 .ofType(Presence.Type.available)
@@ -522,12 +557,14 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             final Presence result = presenceReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             final List<OccupantId> extensions = result.getExtensions(OccupantId.class);
             assertFalse(extensions.isEmpty(), "Expected the presence received by occupant '" + conTwo.getUser() + "' (using nickname '" + recipientNickname + "') in room '" + testRoomAddress + "' after user '" + conOne.getUser()+ "' changed their availability status in the room to contain an occupant-id element (but it did not).");
             assertFalse(extensions.size() > 1, "Expected the presence received by occupant '" + conTwo.getUser() + "' (using nickname '" + recipientNickname + "') in room '" + testRoomAddress + "' after user '" + conOne.getUser()+ "' changed their availability status in the room to contain not more than one occupant-id (but it contained " + extensions.size() + " occupant-id elements).");
             assertNotEquals(needleA, extensions.get(0).getId(), "Expected the presence received by occupant '" + conTwo.getUser() + "' (using nickname '" + recipientNickname + "') in room '" + testRoomAddress + "' after user '" + conOne.getUser()+ "' changed their availability status in the room to contain a different occupant-id than the occupant-id provided by the client (but the received occupant-id was the same).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -555,6 +592,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForReflectedAvailabilityStatusChange(final Function<Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChat room = mucManagerOne.getMultiUserChat(testRoomAddress);
@@ -571,13 +609,16 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             room.changeAvailabilityStatus(needle, Presence.Mode.away);
             final Presence reflectedPresence = presenceReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(reflectedPresence);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -609,6 +650,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForBroadcastAvailabilityStatusChange(final Resourcepart recipientNickname, final Function<Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChatManager mucManagerTwo = MultiUserChatManager.getInstanceFor(conTwo);
@@ -631,13 +673,16 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             roomOne.changeAvailabilityStatus(needle, Presence.Mode.away);
             final Presence result = presenceReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(result);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -665,6 +710,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForReflectedNicknameChange(final Function<Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChat room = mucManagerOne.getMultiUserChat(testRoomAddress);
@@ -681,13 +727,16 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             room.changeNickname(needle);
             final Presence reflectedPresence = presenceReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(reflectedPresence);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -718,6 +767,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForBroadcastNicknameChange(final Resourcepart recipientNickname, final Function<Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChatManager mucManagerTwo = MultiUserChatManager.getInstanceFor(conTwo);
@@ -740,13 +790,16 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             roomOne.changeNickname(needle);
             final Presence result = presenceReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(result);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -774,6 +827,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForReflectedLeavePresence(final Function<Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChat room = mucManagerOne.getMultiUserChat(testRoomAddress);
@@ -783,12 +837,15 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             room.join(nickname);
 
             // Execute system under test.
+            Phases.execute();
             final Presence reflectedPresence = room.leave();
 
             // Verify result.
+            Phases.verify();
             assertion.apply(reflectedPresence);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -820,6 +877,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForBroadcastLeavePresence(final Resourcepart recipientNickname, final Function<Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChatManager mucManagerTwo = MultiUserChatManager.getInstanceFor(conTwo);
@@ -841,13 +899,16 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             roomOne.leave();
             final Presence result = presenceReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(result);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -875,6 +936,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForReflectedRoleChangeToParticipant(final Function<Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom(true);
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChat room = mucManagerOne.getMultiUserChat(testRoomAddress);
@@ -904,13 +966,16 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             ownerRoom.grantVoice(nickname);
             final Presence reflectedPresence = presenceReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(reflectedPresence);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -942,6 +1007,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForBroadcastRoleChangeToParticipant(final Resourcepart recipientNickname, final Function<Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom(true);
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChatManager mucManagerTwo = MultiUserChatManager.getInstanceFor(conTwo);
@@ -975,13 +1041,16 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             ownerRoom.grantVoice(joinerNickname);
             final Presence result = presenceReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(result);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -1009,6 +1078,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForReflectedRoleChangeToVisitor(final Function<Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom(true);
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChat room = mucManagerOne.getMultiUserChat(testRoomAddress);
@@ -1037,13 +1107,16 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             ownerRoom.revokeVoice(nickname);
             final Presence reflectedPresence = becomesVisitor.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(reflectedPresence);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -1075,6 +1148,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForBroadcastRoleChangeToVisitor(final Resourcepart recipientNickname, final Function<Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom(true);
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChatManager mucManagerTwo = MultiUserChatManager.getInstanceFor(conTwo);
@@ -1108,13 +1182,16 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             ownerRoom.revokeVoice(joinerNickname);
             final Presence result = becomesVisitor.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(result);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -1142,6 +1219,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForReflectedRoleChangeToModerator(final Function<Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChat room = mucManagerOne.getMultiUserChat(testRoomAddress);
@@ -1171,13 +1249,16 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             ownerRoom.grantModerator(nickname);
             final Presence reflectedPresence = presenceReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(reflectedPresence);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -1207,6 +1288,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForBroadcastRoleChangeToModerator(final Resourcepart recipientNickname, final Function<Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChatManager mucManagerTwo = MultiUserChatManager.getInstanceFor(conTwo);
@@ -1241,13 +1323,16 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             ownerRoom.grantModerator(joinerNickname);
             final Presence result = presenceReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(result);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -1275,6 +1360,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForReflectedAffiliationChangeToOutcast(final Function<Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChat room = mucManagerOne.getMultiUserChat(testRoomAddress);
@@ -1295,14 +1381,17 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
 
             try (listenerHandle) {
                 // Execute system under test.
+                Phases.execute();
                 ownerRoom.banUser(conOne.getUser().asBareJid(), "banning for testing purposes");
                 final Presence reflectedPresence = presenceReceived.waitForResult(timeout);
 
                 // Verify result.
+                Phases.verify();
                 assertion.apply(reflectedPresence);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -1334,6 +1423,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForBroadcastAffiliationChangeToOutcast(final Resourcepart recipientNickname, final Function<Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChatManager mucManagerTwo = MultiUserChatManager.getInstanceFor(conTwo);
@@ -1357,14 +1447,17 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
 
             try (listenerHandle) {
                 // Execute system under test.
+                Phases.execute();
                 ownerRoom.banUser(conOne.getUser().asBareJid(), "banning for testing purposes");
                 final Presence result = presenceReceived.waitForResult(timeout);
 
                 // Verify result.
+                Phases.verify();
                 assertion.apply(result);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -1392,6 +1485,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForReflectedAffiliationChangeToNone(final Function<Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChat room = mucManagerOne.getMultiUserChat(testRoomAddress);
@@ -1417,13 +1511,16 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             ownerRoom.revokeMembership(conOne.getUser().asBareJid());
             final Presence reflectedPresence = seeRevoke.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(reflectedPresence);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -1455,6 +1552,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForBroadcastAffiliationChangeToNone(final Resourcepart recipientNickname, final Function<Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChatManager mucManagerTwo = MultiUserChatManager.getInstanceFor(conTwo);
@@ -1484,13 +1582,16 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             ownerRoom.revokeMembership(conOne.getUser().asBareJid());
             final Presence result = seeRevoke.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(result);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -1518,6 +1619,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForReflectedAffiliationChangeToMember(final Function<Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChat room = mucManagerOne.getMultiUserChat(testRoomAddress);
@@ -1534,13 +1636,16 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             ownerRoom.grantMembership(conOne.getUser().asBareJid());
             final Presence reflectedPresence = presenceReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(reflectedPresence);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -1572,6 +1677,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForBroadcastAffiliationChangeToMember(final Resourcepart recipientNickname, final Function<Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChatManager mucManagerTwo = MultiUserChatManager.getInstanceFor(conTwo);
@@ -1593,13 +1699,16 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             ownerRoom.grantMembership(conOne.getUser().asBareJid());
             final Presence result = presenceReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(result);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -1627,6 +1736,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForReflectedAffiliationChangeToAdmin(final Function<Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChat room = mucManagerOne.getMultiUserChat(testRoomAddress);
@@ -1643,13 +1753,16 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             ownerRoom.grantAdmin(conOne.getUser().asBareJid());
             final Presence reflectedPresence = presenceReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(reflectedPresence);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -1681,6 +1794,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForBroadcastAffiliationChangeToAdmin(final Resourcepart recipientNickname, final Function<Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChatManager mucManagerTwo = MultiUserChatManager.getInstanceFor(conTwo);
@@ -1702,13 +1816,16 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             ownerRoom.grantAdmin(conOne.getUser().asBareJid());
             final Presence result = presenceReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(result);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -1736,6 +1853,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForReflectedAffiliationChangeToOwner(final Function<Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChat room = mucManagerOne.getMultiUserChat(testRoomAddress);
@@ -1752,13 +1870,16 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             ownerRoom.grantOwnership(conOne.getUser().asBareJid());
             final Presence reflectedPresence = presenceReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(reflectedPresence);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -1790,6 +1911,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForBroadcastAffiliationChangeToOwner(final Resourcepart recipientNickname, final Function<Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChatManager mucManagerTwo = MultiUserChatManager.getInstanceFor(conTwo);
@@ -1811,13 +1933,16 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             ownerRoom.grantOwnership(conOne.getUser().asBareJid());
             final Presence result = presenceReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(result);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -1846,12 +1971,14 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForReflectedJoinPresenceAfterRejoin(final BiFunction<Presence, Presence, Void> assertion) throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException, XmppStringprepException, MultiUserChatException.NotAMucServiceException, MultiUserChatException.MucNotJoinedException
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChat room = mucManagerOne.getMultiUserChat(testRoomAddress);
 
         try {
             // Execute system under test.
+            Phases.execute();
             final Presence firstReflectedPresence = room.join(Resourcepart.from("test-user"));
             room.leave();
 
@@ -1860,9 +1987,11 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             final Presence secondReflectedPresence = room.join(Resourcepart.from("test-user"));
 
             // Verify result.
+            Phases.verify();
             assertion.apply(firstReflectedPresence, secondReflectedPresence);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -1893,6 +2022,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForBroadcastJoinPresenceAfterRejoin(final Resourcepart recipientNickname, final BiFunction<Presence, Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChatManager mucManagerTwo = MultiUserChatManager.getInstanceFor(conTwo);
@@ -1913,6 +2043,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             roomOne.join(joinerNickname);
             final Presence firstPresence = presenceReceived.waitForResult(timeout);
             roomOne.leave();
@@ -1920,9 +2051,11 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             final Presence secondPresence = presenceReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(firstPresence, secondPresence);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -1957,12 +2090,14 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForReflectedJoinPresenceAfterNicknameChangeAndRejoin(final Resourcepart firstNickname, final Resourcepart secondNickname, final BiFunction<Presence, Presence, Void> assertion) throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException, XmppStringprepException, MultiUserChatException.NotAMucServiceException, MultiUserChatException.MucNotJoinedException
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChat room = mucManagerOne.getMultiUserChat(testRoomAddress);
 
         try {
             // Execute system under test.
+            Phases.execute();
             final Presence firstReflectedPresence = room.join(firstNickname);
             room.leave();
 
@@ -1971,9 +2106,11 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             final Presence secondReflectedPresence = room.join(secondNickname);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(firstReflectedPresence, secondReflectedPresence);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -2010,6 +2147,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     void fixtureForBroadcastJoinPresenceAfterNicknameChangeAndRejoin(final Resourcepart recipientNickname, final Resourcepart joinerFirstNickname, final Resourcepart joinerSecondNickname, final BiFunction<Presence, Presence, Void> assertion) throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChatManager mucManagerTwo = MultiUserChatManager.getInstanceFor(conTwo);
@@ -2036,6 +2174,7 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             });
 
             // Execute system under test.
+            Phases.execute();
             roomOne.join(joinerFirstNickname);
             final Presence firstPresence = firstPresenceReceived.waitForResult(timeout);
             roomOne.leave();
@@ -2043,9 +2182,11 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
             final Presence secondPresence = secondPresenceReceived.waitForResult(timeout);
 
             // Verify result.
+            Phases.verify();
             assertion.apply(firstPresence, secondPresence);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -2054,20 +2195,24 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     public void testOccupantIdDoesntContainUsername() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException, XmppStringprepException, MultiUserChatException.NotAMucServiceException, MultiUserChatException.MucNotJoinedException
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChat room = mucManagerOne.getMultiUserChat(testRoomAddress);
 
         try {
             // Execute system under test.
+            Phases.execute();
             final Presence reflectedPresence = room.join(Resourcepart.from("test-user"));
 
             // Verify result.
+            Phases.verify();
             final OccupantId extension = reflectedPresence.getExtension(OccupantId.class);
             assertNotNull(extension, "Expected the presence sent back to user '" + conOne.getUser() + "' after they joined room '" + testRoomAddress + "' to contain an occupant-id element (but it did not).");
             assertFalse(extension.getId().contains(conOne.getUser().getLocalpart().toString()), "Expected the occupant-id value ('" + extension.getId() + "') for user '" + conOne.getUser() + "' in room '" + testRoomAddress + "' to be psuedonymous. However, the local-part of the user's real JID is a literal part of the occupant-id.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -2076,20 +2221,24 @@ public class OccupantIdIntegrationTest extends AbstractSmackIntegrationTest
     public void testOccupantIdLength() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException, XmppStringprepException, MultiUserChatException.NotAMucServiceException, MultiUserChatException.MucNotJoinedException
     {
         // Setup test fixture.
+        Phases.setup();
         createRoom();
         final MultiUserChatManager mucManagerOne = MultiUserChatManager.getInstanceFor(conOne);
         final MultiUserChat room = mucManagerOne.getMultiUserChat(testRoomAddress);
 
         try {
             // Execute system under test.
+            Phases.execute();
             final Presence reflectedPresence = room.join(Resourcepart.from("test-user"));
 
             // Verify result.
+            Phases.verify();
             final OccupantId extension = reflectedPresence.getExtension(OccupantId.class);
             assertNotNull(extension, "Expected the presence sent back to user '" + conOne.getUser() + "' after they joined room '" + testRoomAddress + "' to contain an occupant-id element (but it did not).");
             assertTrue(extension.getId().length() <= 128, "Expected the occupant-id value for user '" + conOne.getUser() + "' in room '" + testRoomAddress + "' to have at most 128 characters. However, value consists of more: " + extension.getId().length() + ". Offending occupant-id: '" + extension.getId() + "'");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             removeRoom();
         }
     }
@@ -22,6 +22,7 @@ import org.igniterealtime.smack.inttest.annotations.AfterClass;
 import org.igniterealtime.smack.inttest.annotations.BeforeClass;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
 import org.jivesoftware.smack.packet.IQ;
@@ -114,11 +115,13 @@ public class ExtendedChannelSearchAllIntegrationTest extends AbstractSmackIntegr
     public void testRequestSearchFormVarAll() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final ExtendedChannelSearchForm request = new ExtendedChannelSearchForm();
         request.setType(IQ.Type.get);
         request.setTo(searchService);
 
         // Execute system under test.
+        Phases.execute();
         final IQ response = conOne.sendIqRequestAndWaitForResponse(request);
         final DataForm form = DataForm.from(response);
         final FormField field = form.getField("all");
@@ -127,6 +130,7 @@ public class ExtendedChannelSearchAllIntegrationTest extends AbstractSmackIntegr
         }
 
         // Verify result.
+        Phases.verify();
         assertEquals(FormField.Type.bool, field.getType(), "Unexpected type of the field 'all' in the search form received from search service '" + searchService + "' by '" + conOne.getUser() + "')");
     }
 
@@ -134,6 +138,7 @@ public class ExtendedChannelSearchAllIntegrationTest extends AbstractSmackIntegr
     public void testSubmitConflictingQandAll() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final ExtendedChannelSearchForm formRequest = new ExtendedChannelSearchForm();
         formRequest.setType(IQ.Type.get);
         formRequest.setTo(searchService);
@@ -169,9 +174,11 @@ public class ExtendedChannelSearchAllIntegrationTest extends AbstractSmackIntegr
 
         try {
             // Execute system under test.
+            Phases.execute();
             conOne.sendIqRequestAndWaitForResponse(searchRequest);
 
             // Verify result.
+            Phases.verify();
             fail( "The search request issued by '" + conOne.getUser() + "' that contained conflicting fields 'q' and 'all' did not result in an error response from '" + searchService + "'." );
         } catch (XMPPException.XMPPErrorException e) {
             final StanzaError stanzaError = e.getStanzaError();
@@ -196,6 +203,7 @@ public class ExtendedChannelSearchAllIntegrationTest extends AbstractSmackIntegr
     public void testSubmitSearchForm() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final ExtendedChannelSearchForm formRequest = new ExtendedChannelSearchForm();
         formRequest.setType(IQ.Type.get);
         formRequest.setTo(searchService);
@@ -226,6 +234,7 @@ public class ExtendedChannelSearchAllIntegrationTest extends AbstractSmackIntegr
         searchRequest.addExtension(fillableForm.getDataFormToSubmit());
 
         // Execute system under test.
+        Phases.execute();
         final ExtendedChannelResult searchResponse;
         try {
             searchResponse = conOne.sendIqRequestAndWaitForResponse(searchRequest);
@@ -246,6 +255,7 @@ public class ExtendedChannelSearchAllIntegrationTest extends AbstractSmackIntegr
         }
 
         // Verify result.
+        Phases.verify();
         assertNotNull(searchResponse, "The search request issued by '" + conOne.getUser() + "' did not result in a response from '" + searchService + "'." );
         assertFalse(searchResponse.getItems().isEmpty(), "The search request issued by '" + conOne.getUser() + "' (for all rooms) did not contain any rooms from '" + searchService + "' (but at least "+ROOMS_AMOUNT+" rooms are known to exist)." );
     }
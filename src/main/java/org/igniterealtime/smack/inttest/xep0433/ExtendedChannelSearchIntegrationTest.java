@@ -22,6 +22,7 @@ import org.igniterealtime.smack.inttest.annotations.AfterClass;
 import org.igniterealtime.smack.inttest.annotations.BeforeClass;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
 import org.jivesoftware.smack.packet.IQ;
@@ -107,15 +108,18 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
     public void testRequestSearchForm() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
+        Phases.setup();
         final ExtendedChannelSearchForm request = new ExtendedChannelSearchForm();
         request.setType(IQ.Type.get);
         request.setTo(searchService);
 
         // Execute system under test.
+        Phases.execute();
         final IQ response = conOne.sendIqRequestAndWaitForResponse(request);
         final DataForm form = DataForm.from(response);
 
         // Verify result.
+        Phases.verify();
         assertNotNull(form, "Expected the response from search service '" + searchService + "' to a request from '" + conOne.getUser() + "' for a extended channel search form to contain a data form (but it did not).");
         assertEquals("urn:xmpp:channel-search:0:search-params", form.getFormType(), "Unexpected data form type in the search form received by '" + conOne.getUser() + "' from '" + searchService + "'." );
     }
@@ -124,6 +128,7 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
     public void testSubmitSearchForm() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final ExtendedChannelSearchForm formRequest = new ExtendedChannelSearchForm();
         formRequest.setType(IQ.Type.get);
         formRequest.setTo(searchService);
@@ -148,6 +153,7 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
         searchRequest.addExtension(fillableForm.getDataFormToSubmit());
 
         // Execute system under test.
+        Phases.execute();
         final IQ searchResponse;
         try {
             searchResponse = conOne.sendIqRequestAndWaitForResponse(searchRequest);
@@ -159,6 +165,7 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
         }
 
         // Verify result.
+        Phases.verify();
         assertNotNull(searchResponse, "The search request issued by '" + conOne.getUser() + "' did not result in a response from '" + searchService + "'." );
     }
 
@@ -166,6 +173,7 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
     public void testSubmitSearchFormRSM() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final ExtendedChannelSearchForm formRequest = new ExtendedChannelSearchForm();
         formRequest.setType(IQ.Type.get);
         formRequest.setTo(searchService);
@@ -191,6 +199,7 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
         searchRequest.addExtension(new RSMSet(1));
 
         // Execute system under test.
+        Phases.execute();
         final IQ searchResponse;
         try {
             searchResponse = conOne.sendIqRequestAndWaitForResponse(searchRequest);
@@ -202,6 +211,7 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
         }
 
         // Verify result.
+        Phases.verify();
         assertNotNull(searchResponse, "The search request issued by '" + conOne.getUser() + "' did not result in a response from '" + searchService + "'." );
         // We cannot assert this, as the RMS XEP explicitly states that no RMS element is present when the total result set contains 0 items). assertTrue(searchResponse.hasExtension(RSMSet.class), "Expected the response from '" + searchService + "' to the search request issued by '" + conOne.getUser() + "' to contain a Result Set Management extension (but it did not).");
     }
@@ -210,6 +220,7 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
     public void testUnsupportedKey() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final ExtendedChannelSearchForm formRequest = new ExtendedChannelSearchForm();
         formRequest.setType(IQ.Type.get);
         formRequest.setTo(searchService);
@@ -237,6 +248,7 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
         searchRequest.addExtension(fillableForm.getDataFormToSubmit());
 
         // Execute system under test &Verify result.
+        Phases.execute();
         final XMPPException.XMPPErrorException xmppErrorException = assertThrows(XMPPException.XMPPErrorException.class, () -> conOne.sendIqRequestAndWaitForResponse(searchRequest),
             "Expected an error after '" + conOne.getUser() + "' issues a search query using a sort key that is not supported by the search service (but none occurred).");
 
@@ -252,6 +264,7 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
     public void testSubmitNoFields() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final ExtendedChannelSearchForm formRequest = new ExtendedChannelSearchForm();
         formRequest.setType(IQ.Type.get);
         formRequest.setTo(searchService);
@@ -277,9 +290,11 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
 
         try {
             // Execute system under test.
+            Phases.execute();
             conOne.sendIqRequestAndWaitForResponse(searchRequest);
 
             // Verify result.
+            Phases.verify();
             fail( "The search request issued by '" + conOne.getUser() + "' that did not contain any fields did not result in an error response from '" + searchService + "'." );
         } catch (XMPPException.XMPPErrorException e) {
             final StanzaError stanzaError = e.getStanzaError();
@@ -296,6 +311,7 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
     public void testSubmitSearchFormWithUnknownVar() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final ExtendedChannelSearchForm formRequest = new ExtendedChannelSearchForm();
         formRequest.setType(IQ.Type.get);
         formRequest.setTo(searchService);
@@ -322,6 +338,7 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
         searchRequest.addExtension(fillableForm.getDataFormToSubmit());
 
         // Execute system under test.
+        Phases.execute();
         final IQ searchResponse;
         try {
             searchResponse = conOne.sendIqRequestAndWaitForResponse(searchRequest);
@@ -331,6 +348,7 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
             }
 
             // Verify result.
+            Phases.verify();
             fail("Expected the search service '" + searchService + "' to ignore the unknown form field in the request issued by '" + conOne.getUser() + "', but the service returned an error: " + e.getStanzaError());
             return;
         }
@@ -342,6 +360,7 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
     public void testSubmitSearchWithNoResults() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final ExtendedChannelSearchForm formRequest = new ExtendedChannelSearchForm();
         formRequest.setType(IQ.Type.get);
         formRequest.setTo(searchService);
@@ -368,6 +387,7 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
         searchRequest.addExtension(fillableForm.getDataFormToSubmit());
 
         // Execute system under test.
+        Phases.execute();
         final ExtendedChannelResult searchResponse;
         try {
             searchResponse = conOne.sendIqRequestAndWaitForResponse(searchRequest);
@@ -377,6 +397,7 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
             }
 
             // Verify result.
+            Phases.verify();
             if (e.getStanzaError().getCondition().equals(StanzaError.Condition.item_not_found)) {
                 fail("Expected the search service '" + searchService + "' to return an empty result to '" + conOne.getUser() + "' when the search does not yield results, but the service returned an 'item-not-found' error.");
             }
@@ -397,11 +418,13 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
     public void testRequestSearchFormVarQ() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final ExtendedChannelSearchForm request = new ExtendedChannelSearchForm();
         request.setType(IQ.Type.get);
         request.setTo(searchService);
 
         // Execute system under test.
+        Phases.execute();
         final IQ response = conOne.sendIqRequestAndWaitForResponse(request);
         final DataForm form = DataForm.from(response);
         final FormField field = form.getField("q");
@@ -410,6 +433,7 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
         }
 
         // Verify result.
+        Phases.verify();
         assertEquals(FormField.Type.text_single, field.getType(), "Unexpected type of the field 'q' in the search form received from search service '" + searchService + "' by '" + conOne.getUser() + "')");
     }
 
@@ -417,11 +441,13 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
     public void testRequestSearchFormVarSinaddress() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final ExtendedChannelSearchForm request = new ExtendedChannelSearchForm();
         request.setType(IQ.Type.get);
         request.setTo(searchService);
 
         // Execute system under test.
+        Phases.execute();
         final IQ response = conOne.sendIqRequestAndWaitForResponse(request);
         final DataForm form = DataForm.from(response);
         final FormField field = form.getField("sinaddress");
@@ -430,6 +456,7 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
         }
 
         // Verify result.
+        Phases.verify();
         assertEquals(FormField.Type.bool, field.getType(), "Unexpected type of the field 'sinaddress' in the search form received from search service '" + searchService + "' by '" + conOne.getUser() + "')");
     }
 
@@ -437,11 +464,13 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
     public void testRequestSearchFormVarSinname() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final ExtendedChannelSearchForm request = new ExtendedChannelSearchForm();
         request.setType(IQ.Type.get);
         request.setTo(searchService);
 
         // Execute system under test.
+        Phases.execute();
         final IQ response = conOne.sendIqRequestAndWaitForResponse(request);
         final DataForm form = DataForm.from(response);
         final FormField q = form.getField("q");
@@ -451,6 +480,7 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
         final FormField field = form.getField("sinname");
 
         // Verify result.
+        Phases.verify();
         assertNotNull(field, "Expected the search form received from search service '" + searchService + "' by '" + conOne.getUser() + "' to include the mandatory field 'sinname', as it also supports the 'q' field (but it did not).");
         assertEquals(FormField.Type.bool, field.getType(), "Unexpected type of the field 'sinname' in the search form received from search service '" + searchService + "' by '" + conOne.getUser() + "')");
     }
@@ -459,11 +489,13 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
     public void testRequestSearchFormVarSindescription() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final ExtendedChannelSearchForm request = new ExtendedChannelSearchForm();
         request.setType(IQ.Type.get);
         request.setTo(searchService);
 
         // Execute system under test.
+        Phases.execute();
         final IQ response = conOne.sendIqRequestAndWaitForResponse(request);
         final DataForm form = DataForm.from(response);
         final FormField q = form.getField("q");
@@ -473,6 +505,7 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
         final FormField field = form.getField("sindescription");
 
         // Verify result.
+        Phases.verify();
         assertNotNull(field, "Expected the search form received from search service '" + searchService + "' by '" + conOne.getUser() + "' to include the mandatory field 'sindescription', as it also supports the 'q' field (but it did not).");
         assertEquals(FormField.Type.bool, field.getType(), "Unexpected type of the field 'sindescription' in the search form received from search service '" + searchService + "' by '" + conOne.getUser() + "')");
     }
@@ -481,11 +514,13 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
     public void testRequestSearchFormVarTypes() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final ExtendedChannelSearchForm request = new ExtendedChannelSearchForm();
         request.setType(IQ.Type.get);
         request.setTo(searchService);
 
         // Execute system under test.
+        Phases.execute();
         final IQ response = conOne.sendIqRequestAndWaitForResponse(request);
         final DataForm form = DataForm.from(response);
         final FormField field = form.getField("types");
@@ -494,6 +529,7 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
         }
 
         // Verify result.
+        Phases.verify();
         assertEquals(FormField.Type.list_multi, field.getType(), "Unexpected type of the field 'types' in the search form received from search service '" + searchService + "' by '" + conOne.getUser() + "')");
     }
 
@@ -501,16 +537,19 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
     public void testRequestSearchFormVarKey() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
     {
         // Setup test fixture.
+        Phases.setup();
         final ExtendedChannelSearchForm request = new ExtendedChannelSearchForm();
         request.setType(IQ.Type.get);
         request.setTo(searchService);
 
         // Execute system under test.
+        Phases.execute();
         final IQ response = conOne.sendIqRequestAndWaitForResponse(request);
         final DataForm form = DataForm.from(response);
         final FormField field = form.getField("key");
 
         // Verify result.
+        Phases.verify();
         assertNotNull(field, "Expected the search form received from search service '" + searchService + "' by '" + conOne.getUser() + "' to include the mandatory field 'key' (but it did not).");
         assertEquals(FormField.Type.list_single, field.getType(), "Unexpected type of the field 'key' in the search form received from search service '" + searchService + "' by '" + conOne.getUser() + "')");
     }
@@ -519,6 +558,7 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
     public void testPositiveQSearch() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final ExtendedChannelSearchForm formRequest = new ExtendedChannelSearchForm();
         formRequest.setType(IQ.Type.get);
         formRequest.setTo(searchService);
@@ -543,6 +583,7 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
         searchRequest.addExtension(fillableForm.getDataFormToSubmit());
 
         // Execute system under test.
+        Phases.execute();
         final ExtendedChannelResult searchResponse;
         try {
             searchResponse = conOne.sendIqRequestAndWaitForResponse(searchRequest);
@@ -554,6 +595,7 @@ public class ExtendedChannelSearchIntegrationTest extends AbstractSmackIntegrati
         }
 
         // Verify result.
+        Phases.verify();
         assertNotNull(searchResponse, "The search request issued by '" + conOne.getUser() + "' did not result in a response from '" + searchService + "'." );
         assertFalse(searchResponse.getItems().isEmpty(), "The search request issued by '" + conOne.getUser() + "' (using the 'test' keyword for the 'q' field) did not contain any rooms from '" + searchService + "' (but at least "+ROOMS_AMOUNT+" rooms are known to exist that use this keyword in their address and name)." );
     }
@@ -22,6 +22,7 @@ import org.igniterealtime.smack.inttest.annotations.AfterClass;
 import org.igniterealtime.smack.inttest.annotations.BeforeClass;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
 import org.jivesoftware.smack.packet.IQ;
@@ -172,6 +173,7 @@ public class ExtendedChannelSearchSortIntegrationTest extends AbstractSmackInteg
     public void testRequestSearchSortByAddress() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final ExtendedChannelSearchForm formRequest = new ExtendedChannelSearchForm();
         formRequest.setType(IQ.Type.get);
         formRequest.setTo(searchService);
@@ -214,9 +216,11 @@ public class ExtendedChannelSearchSortIntegrationTest extends AbstractSmackInteg
 
         try {
             // Execute system under test.
+            Phases.execute();
             final ExtendedChannelResult result = conOne.sendIqRequestAndWaitForResponse(searchRequest);
 
             // Verify result.
+            Phases.verify();
             if (result.getItems().size() < 3) {
                 throw new TestNotPossibleException("The service did not return enough results for the implementation to be able to assert that they're consistently ordered.");
             }
@@ -238,6 +242,7 @@ public class ExtendedChannelSearchSortIntegrationTest extends AbstractSmackInteg
     public void testRequestSearchSortByNumberOfUsers() throws XMPPException.XMPPErrorException, SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final ExtendedChannelSearchForm formRequest = new ExtendedChannelSearchForm();
         formRequest.setType(IQ.Type.get);
         formRequest.setTo(searchService);
@@ -280,9 +285,11 @@ public class ExtendedChannelSearchSortIntegrationTest extends AbstractSmackInteg
 
         try {
             // Execute system under test.
+            Phases.execute();
             final ExtendedChannelResult result = conOne.sendIqRequestAndWaitForResponse(searchRequest);
 
             // Verify result.
+            Phases.verify();
             if (result.getItems().size() < 3) {
                 throw new TestNotPossibleException("The service did not return enough results for the implementation to be able to assert that they're consistently ordered.");
             }
@@ -15,15 +15,150 @@
  */
 package org.jivesoftware.smackx.caps;
 
+import org.jivesoftware.smackx.disco.packet.DiscoverInfo;
 import org.jivesoftware.smackx.disco.packet.DiscoverInfoView;
+import org.jivesoftware.smackx.xdata.FormField;
+import org.jivesoftware.smackx.xdata.packet.DataForm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class CapsUtil
 {
+    /**
+     * The maximum amount of verification strings that is cached. When exceeded, the cache is cleared.
+     */
+    static final int MAX_CACHE_SIZE = 1024;
+
+    private static final Map<Fingerprint, CapsVersionAndHash> CACHE = new ConcurrentHashMap<>();
+    private static final AtomicLong CACHE_HITS = new AtomicLong();
+    private static final AtomicLong CACHE_MISSES = new AtomicLong();
+
     /**
      * A utility method to elevate the access modifier of {@link EntityCapsManager#generateVerificationString(DiscoverInfoView)}
      * from package-private to public.
+     *
+     * Results are cached, keyed by the identities, features and extended forms of the provided disco#info. Computing
+     * that key is cheaper than computing the verification string (which requires sorting and hashing), which makes
+     * repeated invocations for the same disco#info content (as in caps-heavy tests) cheap. Note that two disco#info
+     * elements with the same content share a cache entry, even if they are different instances.
      */
     public static CapsVersionAndHash generateVerificationString(final DiscoverInfoView discoInfo) {
+        final Fingerprint fingerprint = new Fingerprint(discoInfo);
+        final CapsVersionAndHash cached = CACHE.get(fingerprint);
+        if (cached != null) {
+            CACHE_HITS.incrementAndGet();
+            return cached;
+        }
+
+        CACHE_MISSES.incrementAndGet();
+        final CapsVersionAndHash result = generateVerificationStringUncached(discoInfo);
+        if (CACHE.size() >= MAX_CACHE_SIZE) {
+            CACHE.clear();
+        }
+        CACHE.put(fingerprint, result);
+        return result;
+    }
+
+    /**
+     * Computes the verification string, without making use of (or populating) the cache.
+     */
+    public static CapsVersionAndHash generateVerificationStringUncached(final DiscoverInfoView discoInfo) {
         return EntityCapsManager.generateVerificationString(discoInfo);
     }
+
+    public static long getCacheHits() {
+        return CACHE_HITS.get();
+    }
+
+    public static long getCacheMisses() {
+        return CACHE_MISSES.get();
+    }
+
+    /**
+     * Removes all entries from the cache, and resets its statistics.
+     */
+    public static void clearCache() {
+        CACHE.clear();
+        CACHE_HITS.set(0);
+        CACHE_MISSES.set(0);
+    }
+
+    /**
+     * A structural representation of those parts of a disco#info element that are used as input for the verification
+     * string. The order in which identities, features and forms occur is irrelevant (as it is for the verification
+     * string), but duplicates are not (as these affect the verification string).
+     *
+     * Identities and forms are represented by lists of their values, which (contrary to a concatenation of those values)
+     * distinguishes between a value that is absent and one that is, for example, the string "null".
+     */
+    static final class Fingerprint
+    {
+        private final Map<List<String>, Integer> identities;
+        private final Map<String, Integer> features;
+        private final Map<List<List<String>>, Integer> forms;
+        private final int hashCode;
+
+        Fingerprint(final DiscoverInfoView discoInfo) {
+            final List<DiscoverInfo.Identity> discoIdentities = discoInfo.getIdentities();
+            identities = new HashMap<>(discoIdentities.size() * 2);
+            for (final DiscoverInfo.Identity identity : discoIdentities) {
+                identities.merge(Arrays.asList(identity.getCategory(), identity.getType(), identity.getLanguage(), identity.getName()), 1, Integer::sum);
+            }
+
+            final List<DiscoverInfo.Feature> discoFeatures = discoInfo.getFeatures();
+            features = new HashMap<>(discoFeatures.size() * 2);
+            for (final DiscoverInfo.Feature feature : discoFeatures) {
+                features.merge(feature.getVar(), 1, Integer::sum);
+            }
+
+            final List<DataForm> dataForms = discoInfo.getExtensions(DataForm.class);
+            forms = new HashMap<>(dataForms.size() * 2);
+            for (final DataForm dataForm : dataForms) {
+                forms.merge(fieldsOf(dataForm), 1, Integer::sum);
+            }
+
+            hashCode = 31 * (31 * identities.hashCode() + features.hashCode()) + forms.hashCode();
+        }
+
+        /**
+         * Returns the name and values of every field of a form (which includes the FORM_TYPE field), in document order.
+         * These are the parts of a form that are used as input for the verification string.
+         */
+        private static List<List<String>> fieldsOf(final DataForm dataForm) {
+            final List<FormField> fields = dataForm.getFields();
+            final List<List<String>> result = new ArrayList<>(fields.size());
+            for (final FormField field : fields) {
+                final List<String> nameAndValues = new ArrayList<>(field.getValues().size() + 1);
+                nameAndValues.add(field.getFieldName());
+                for (final CharSequence value : field.getValues()) {
+                    nameAndValues.add(value.toString());
+                }
+                result.add(nameAndValues);
+            }
+            return result;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Fingerprint)) {
+                return false;
+            }
+            final Fingerprint that = (Fingerprint) o;
+            return hashCode == that.hashCode && identities.equals(that.identities) && features.equals(that.features) && forms.equals(that.forms);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
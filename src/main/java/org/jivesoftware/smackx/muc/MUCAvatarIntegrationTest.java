@@ -19,6 +19,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
 import org.jivesoftware.smack.packet.IQ;
@@ -69,6 +70,7 @@ public class MUCAvatarIntegrationTest extends AbstractMultiUserChatIntegrationTe
     public void testPublishAvatar() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("mucavatar-publish");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -81,13 +83,16 @@ public class MUCAvatarIntegrationTest extends AbstractMultiUserChatIntegrationTe
             vCard.setType(IQ.Type.set);
 
             // Execute system under test.
+            Phases.execute();
             conOne.sendIqRequestAndWaitForResponse(vCard);
 
             // Verify result.
+            Phases.verify();
         } catch (XMPPException.XMPPErrorException e) {
             fail("Expected '" + conOne.getUser() + "' (an owner) to be able to publish an avatar (via vCard) for '" + mucAddress + "' (but the server returned an error).", e);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -122,6 +127,7 @@ public class MUCAvatarIntegrationTest extends AbstractMultiUserChatIntegrationTe
     public void testUnpublishAvatar() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("mucavatar-unpublish");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -133,9 +139,11 @@ public class MUCAvatarIntegrationTest extends AbstractMultiUserChatIntegrationTe
             vCard.setType(IQ.Type.set);
 
             // Execute system under test.
+            Phases.execute();
             conOne.sendIqRequestAndWaitForResponse(vCard);
 
             // Verify result.
+            Phases.verify();
             final VCard request = new VCard();
             request.setTo(mucAddress);
             request.setType(IQ.Type.get);
@@ -145,6 +153,7 @@ public class MUCAvatarIntegrationTest extends AbstractMultiUserChatIntegrationTe
             fail("Expected '" + conOne.getUser() + "' (an owner) to be able to unpublish an avatar (via vCard) for '" + mucAddress + "' (but the server returned an error).", e);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -156,6 +165,7 @@ public class MUCAvatarIntegrationTest extends AbstractMultiUserChatIntegrationTe
     public void testRetrieveAvatar() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("mucavatar-unpublish");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -167,14 +177,17 @@ public class MUCAvatarIntegrationTest extends AbstractMultiUserChatIntegrationTe
             request.setType(IQ.Type.get);
 
             // Execute system under test.
+            Phases.execute();
             final VCard response = conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             assertEquals(TINY_PNG_BASE64, Base64.encodeToString(response.getAvatar()), "Expected the avatar for room '" + mucAddress + "' as requested and received by '" + conOne.getUser() + "' to be equal to the avatar that was set for the room (but it was not).");
         } catch (XMPPException.XMPPErrorException e) {
             fail("Expected '" + conOne.getUser() + "' (an owner) to be able to request a vCard for '" + mucAddress + "' (but the server returned an error).", e);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -186,6 +199,7 @@ public class MUCAvatarIntegrationTest extends AbstractMultiUserChatIntegrationTe
     public void testPNGSupport() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("mucavatar-png");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -198,13 +212,16 @@ public class MUCAvatarIntegrationTest extends AbstractMultiUserChatIntegrationTe
             vCard.setType(IQ.Type.set);
 
             // Execute system under test.
+            Phases.execute();
             conOne.sendIqRequestAndWaitForResponse(vCard);
 
             // Verify result
+            Phases.verify();
         } catch (XMPPException.XMPPErrorException e) {
             fail("Expected '" + conOne.getUser() + "' (an owner) to be able to publish a PNG avatar for '" + mucAddress + "' (but the server returned an error).", e);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
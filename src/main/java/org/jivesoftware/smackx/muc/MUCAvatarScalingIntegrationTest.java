@@ -0,0 +1,336 @@
+/**
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jivesoftware.smackx.muc;
+
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.AccountPool;
+import org.igniterealtime.smack.inttest.util.BenchmarkConfiguration;
+import org.igniterealtime.smack.inttest.util.BenchmarkReport;
+import org.igniterealtime.smack.inttest.util.LatencyRecorder;
+import org.igniterealtime.smack.inttest.util.Phases;
+import org.jivesoftware.smack.AbstractXMPPConnection;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.StanzaListener;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smack.filter.AndFilter;
+import org.jivesoftware.smack.filter.FromMatchesFilter;
+import org.jivesoftware.smack.filter.StanzaFilter;
+import org.jivesoftware.smack.filter.StanzaTypeFilter;
+import org.jivesoftware.smack.packet.IQ;
+import org.jivesoftware.smackx.disco.ServiceDiscoveryManager;
+import org.jivesoftware.smackx.vcardtemp.packet.VCard;
+import org.jxmpp.jid.EntityBareJid;
+import org.jxmpp.jid.parts.Resourcepart;
+import org.jxmpp.stringprep.XmppStringprepException;
+
+import javax.xml.namespace.QName;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A scaling test for XEP-0486: "MUC Avatars", that publishes room avatars of increasing size in a room with many
+ * occupants (provisioned as dedicated accounts).
+ *
+ * For every avatar size, the latency of publication is measured, as well as the amount of avatar-hash presence updates
+ * (presence stanzas from the room's bare JID that contain a 'vcard-temp:x:update' element) that are received by the
+ * occupants, and how long it takes for those to arrive. As the XEP describes this broadcast as optional, its absence is
+ * reported rather than treated as a failure. Additionally, the latency and throughput of concurrent avatar retrieval by
+ * all occupants is measured.
+ *
+ * The avatar sizes can be configured with the system property <tt>sinttest.benchmark.muc.avatar.sizes</tt> (default:
+ * 1KiB,16KiB,64KiB,256KiB), the amount of occupants with <tt>sinttest.benchmark.muc.avatar.occupants</tt> (default:
+ * 20) and the amount of times that each occupant retrieves the avatar with
+ * <tt>sinttest.benchmark.muc.avatar.fetches</tt> (default: 5). Note that a MUC service might limit the amount of
+ * occupants in a room by default.
+ *
+ * @see <a href="https://xmpp.org/extensions/xep-0486.html">XEP-0486</a>
+ */
+@SpecificationReference(document = "XEP-0486", version = "0.1.0")
+public class MUCAvatarScalingIntegrationTest extends AbstractMultiUserChatIntegrationTest
+{
+    private static final QName VCARD_UPDATE = new QName("vcard-temp:x:update", "x");
+
+    private final SmackIntegrationTestEnvironment environment;
+
+    private final List<Long> avatarSizes;
+    private final int occupantCount;
+    private final int fetches;
+
+    public MUCAvatarScalingIntegrationTest(SmackIntegrationTestEnvironment environment)
+        throws SmackException.NoResponseException, XMPPException.XMPPErrorException, SmackException.NotConnectedException,
+        InterruptedException, TestNotPossibleException, MultiUserChatException.MissingMucCreationAcknowledgeException, MultiUserChatException.NotAMucServiceException, XmppStringprepException, MultiUserChatException.MucAlreadyJoinedException
+    {
+        super(environment);
+        BenchmarkConfiguration.requireEnabled();
+        this.environment = environment;
+
+        final EntityBareJid mucAddress = getRandomRoom("mucavatar-support");
+        final MultiUserChat muc = mucManagerOne.getMultiUserChat(mucAddress);
+        createMuc(muc, Resourcepart.from("owner-" + randomString));
+        try {
+            if (!ServiceDiscoveryManager.getInstanceFor(conOne).discoverInfo(mucAddress).containsFeature("vcard-temp")) {
+                throw new TestNotPossibleException("Rooms of the MUC service do not advertise the 'vcard-temp' feature.");
+            }
+        } finally {
+            tryDestroy(muc);
+        }
+
+        avatarSizes = BenchmarkConfiguration.getSizes("muc.avatar.sizes", "1KiB,16KiB,64KiB,256KiB");
+        occupantCount = BenchmarkConfiguration.getInt("muc.avatar.occupants", 20);
+        fetches = BenchmarkConfiguration.getInt("muc.avatar.fetches", 5);
+        if (avatarSizes.isEmpty() || avatarSizes.stream().anyMatch(size -> size < 1 || size > Integer.MAX_VALUE / 2) || occupantCount < 1 || fetches < 1) {
+            throw new TestNotPossibleException("The configured avatar sizes (" + avatarSizes + "), amount of occupants (" + occupantCount + ") and/or amount of fetches (" + fetches + ") is not valid.");
+        }
+    }
+
+    /**
+     * Publishes avatars of increasing size for a room with many occupants, and reports the avatar-hash presence
+     * updates that are received by the occupants as a result.
+     */
+    @SmackIntegrationTest(section = "3.2", quote = "an owner [...] must publish a vCard-temp containing the avatar’s data, using the protocol defined in vcard-temp (XEP-0054).")
+    public void testAvatarUpdatePresenceStorm() throws Exception
+    {
+        // Setup test fixture.
+        Phases.setup();
+        final EntityBareJid mucAddress = getRandomRoom("mucavatar-storm");
+        final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
+        final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
+        final Random random = new Random();
+        int rejected = 0;
+
+        createMuc(mucAsSeenByOwner, nicknameOwner);
+        try (final AccountPool occupants = AccountPool.create(environment, sinttestConfiguration, "mucavatar-storm", occupantCount, 16))
+        {
+            joinAll(occupants, mucAddress);
+
+            final StanzaFilter fromRoom = new AndFilter(StanzaTypeFilter.PRESENCE, FromMatchesFilter.createBare(mucAddress));
+            final StanzaFilter avatarUpdate = new AndFilter(StanzaTypeFilter.PRESENCE, FromMatchesFilter.createFull(mucAddress), stanza -> stanza.getExtension(VCARD_UPDATE) != null);
+
+            for (final long avatarSize : avatarSizes) {
+                final byte[] avatar = new byte[(int) avatarSize];
+                random.nextBytes(avatar);
+
+                final AtomicInteger presencesFromRoom = new AtomicInteger();
+                final AtomicInteger updates = new AtomicInteger();
+                final LatencyRecorder deliveryLatency = new LatencyRecorder();
+                final CountDownLatch allNotified = new CountDownLatch(occupants.size());
+                final List<StanzaListener> countListeners = new ArrayList<>();
+                final List<StanzaListener> updateListeners = new ArrayList<>();
+                final AtomicLong publishStart = new AtomicLong();
+
+                for (final AbstractXMPPConnection occupant : occupants.getConnections()) {
+                    final AtomicBoolean notified = new AtomicBoolean();
+                    final StanzaListener countListener = stanza -> presencesFromRoom.incrementAndGet();
+                    final StanzaListener updateListener = stanza -> {
+                        updates.incrementAndGet();
+                        if (notified.compareAndSet(false, true)) {
+                            deliveryLatency.recordSince(publishStart.get());
+                            allNotified.countDown();
+                        }
+                    };
+                    occupant.addStanzaListener(countListener, fromRoom);
+                    occupant.addStanzaListener(updateListener, avatarUpdate);
+                    countListeners.add(countListener);
+                    updateListeners.add(updateListener);
+                }
+
+                try {
+                    final VCard vCard = new VCard();
+                    vCard.setAvatar(avatar, "image/png");
+                    vCard.setTo(mucAddress);
+                    vCard.setType(IQ.Type.set);
+
+                    // Execute system under test.
+                    Phases.execute();
+                    publishStart.set(System.nanoTime());
+                    try {
+                        conOne.sendIqRequestAndWaitForResponse(vCard);
+                    } catch (XMPPException.XMPPErrorException e) {
+                        // Services may impose a limit on the size of avatars. That is not a failure, but it should be reported.
+                        rejected++;
+                        new BenchmarkReport("XEP-0486 room avatar of " + avatarSize + " bytes", mucAddress.asDomainBareJid())
+                            .add("publication rejected", e.getStanzaError().getCondition())
+                            .publish();
+                        continue;
+                    }
+                    final Duration publishLatency = Duration.ofNanos(System.nanoTime() - publishStart.get());
+                    final boolean complete = allNotified.await(timeout, TimeUnit.MILLISECONDS);
+                    final Duration elapsed = Duration.ofNanos(System.nanoTime() - publishStart.get());
+
+                    // Verify result.
+                    Phases.verify();
+                    new BenchmarkReport("XEP-0486 room avatar of " + avatarSize + " bytes (" + occupants.size() + " occupants)", mucAddress.asDomainBareJid())
+                        .add("publish latency", publishLatency)
+                        .add("occupants notified of avatar hash", (occupants.size() - allNotified.getCount()) + "/" + occupants.size() + (complete ? "" : " (after waiting " + timeout + "ms)"))
+                        .add("avatar hash presence delivery latency", deliveryLatency)
+                        .add("avatar hash presences received", updates.get())
+                        .add("presences received from room", presencesFromRoom.get())
+                        .addRate("presences received from room/sec", presencesFromRoom.get(), elapsed)
+                        .publish();
+                } finally {
+                    final List<AbstractXMPPConnection> connections = occupants.getConnections();
+                    for (int i = 0; i < connections.size(); i++) {
+                        connections.get(i).removeStanzaListener(countListeners.get(i));
+                        connections.get(i).removeStanzaListener(updateListeners.get(i));
+                    }
+                }
+            }
+        } finally {
+            // Tear down test fixture.
+            Phases.teardown();
+            tryDestroy(mucAsSeenByOwner);
+        }
+
+        if (rejected == avatarSizes.size()) {
+            throw new TestNotPossibleException("The service rejected all avatars of room '" + mucAddress + "' (sizes: " + avatarSizes + ").");
+        }
+    }
+
+    /**
+     * Publishes avatars of increasing size for a room with many occupants, and verifies that each retrieval of the
+     * avatar by any of the occupants (that retrieve it concurrently) is equal to the avatar that was published.
+     */
+    @SmackIntegrationTest(section = "3.4", quote = "the client [...] can retrieve the room’s vCard-temp.")
+    public void testConcurrentAvatarRetrieval() throws Exception
+    {
+        // Setup test fixture.
+        Phases.setup();
+        final EntityBareJid mucAddress = getRandomRoom("mucavatar-fetch");
+        final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
+        final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
+        final Random random = new Random();
+        int rejected = 0;
+
+        createMuc(mucAsSeenByOwner, nicknameOwner);
+        try (final AccountPool occupants = AccountPool.create(environment, sinttestConfiguration, "mucavatar-fetch", occupantCount, 16))
+        {
+            joinAll(occupants, mucAddress);
+
+            for (final long avatarSize : avatarSizes) {
+                final byte[] avatar = new byte[(int) avatarSize];
+                random.nextBytes(avatar);
+
+                final VCard vCard = new VCard();
+                vCard.setAvatar(avatar, "image/png");
+                vCard.setTo(mucAddress);
+                vCard.setType(IQ.Type.set);
+                try {
+                    conOne.sendIqRequestAndWaitForResponse(vCard);
+                } catch (XMPPException.XMPPErrorException e) {
+                    rejected++;
+                    continue;
+                }
+
+                // Execute system under test.
+                Phases.execute();
+                final LatencyRecorder fetchLatency = new LatencyRecorder();
+                final AtomicInteger mismatches = new AtomicInteger();
+                final ExecutorService executor = Executors.newFixedThreadPool(occupants.size());
+                final Duration elapsed;
+                try {
+                    final long start = System.nanoTime();
+                    final List<Future<?>> futures = new ArrayList<>(occupants.size());
+                    for (final AbstractXMPPConnection occupant : occupants.getConnections()) {
+                        futures.add(executor.submit(() -> {
+                            for (int i = 0; i < fetches; i++) {
+                                final VCard request = new VCard();
+                                request.setTo(mucAddress);
+                                request.setType(IQ.Type.get);
+
+                                final long fetchStart = System.nanoTime();
+                                final VCard response = occupant.sendIqRequestAndWaitForResponse(request);
+                                fetchLatency.recordSince(fetchStart);
+                                if (!Arrays.equals(avatar, response.getAvatar())) {
+                                    mismatches.incrementAndGet();
+                                }
+                            }
+                            return null;
+                        }));
+                    }
+                    for (final Future<?> future : futures) {
+                        future.get(timeout + (long) fetches * timeout / 10, TimeUnit.MILLISECONDS);
+                    }
+                    elapsed = Duration.ofNanos(System.nanoTime() - start);
+                } finally {
+                    executor.shutdownNow();
+                }
+
+                // Verify result.
+                Phases.verify();
+                new BenchmarkReport("XEP-0486 concurrent retrieval of room avatar of " + avatarSize + " bytes (" + occupants.size() + " occupants, " + fetches + " fetches each)", mucAddress.asDomainBareJid())
+                    .add("fetch latency", fetchLatency)
+                    .addRate("fetches/sec", fetchLatency.getCount(), elapsed)
+                    .publish();
+
+                assertEquals(0, mismatches.get(), "Expected all avatars for room '" + mucAddress + "' that were concurrently requested by " + occupants.size() + " occupants to be equal to the " + avatarSize + " byte avatar that was set for the room (but " + mismatches.get() + " were not).");
+            }
+        } finally {
+            // Tear down test fixture.
+            Phases.teardown();
+            tryDestroy(mucAsSeenByOwner);
+        }
+
+        if (rejected == avatarSizes.size()) {
+            throw new TestNotPossibleException("The service rejected all avatars of room '" + mucAddress + "' (sizes: " + avatarSizes + ").");
+        }
+    }
+
+    /**
+     * Joins the connection of every account in the pool to a room, in parallel.
+     *
+     * @throws TestNotPossibleException When not all accounts can join the room (eg: due to a limit on the amount of occupants).
+     */
+    private void joinAll(final AccountPool occupants, final EntityBareJid mucAddress) throws Exception
+    {
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(16, occupants.size()));
+        try {
+            final List<Future<?>> futures = new ArrayList<>(occupants.size());
+            int i = 0;
+            for (final AbstractXMPPConnection occupant : occupants.getConnections()) {
+                final Resourcepart nickname = Resourcepart.from("occupant-" + i++ + "-" + randomString);
+                futures.add(executor.submit(() -> {
+                    MultiUserChatManager.getInstanceFor(occupant).getMultiUserChat(mucAddress).join(nickname);
+                    return null;
+                }));
+            }
+            for (final Future<?> future : futures) {
+                try {
+                    future.get(timeout, TimeUnit.MILLISECONDS);
+                } catch (Exception e) {
+                    throw new TestNotPossibleException("Unable to have " + occupants.size() + " occupants join room '" + mucAddress + "'.", e);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
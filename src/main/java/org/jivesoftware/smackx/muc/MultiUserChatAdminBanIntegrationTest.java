@@ -19,6 +19,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
@@ -61,6 +62,7 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
     public void testBanNonOccupantWithoutOptionalReason() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-ban-nonoccupant-without-reason");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -76,14 +78,17 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
 
             try {
                 // Execute system under test.
+                Phases.execute();
                 mucAsSeenByAdmin.banUser(targetAddress, null);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected '" + conTwo.getUser() + "' (an admin) to be able to ban '" + targetAddress + "' (that was not an occupant) from '" + mucAddress + "' without providing the optional 'reason' attribute (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -96,6 +101,7 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
     public void testBanOccupantWithoutOptionalReason() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-ban-occupant-without-reason");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -128,14 +134,17 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
 
             try {
                 // Execute system under test.
+                Phases.execute();
                 mucAsSeenByAdmin.banUser(targetAddress, null);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected '" + conTwo.getUser() + "' (an admin) to be able to ban '" + targetAddress + "' (an existing occupant) from '" + mucAddress + "' without providing the optional 'reason' attribute (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -148,6 +157,7 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
     public void testBanNonOccupantWithOptionalReason() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-ban-nonoccupant-with-reason");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -163,14 +173,17 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
 
             try {
                 // Execute system under test.
+                Phases.execute();
                 mucAsSeenByAdmin.banUser(targetAddress, "Banned as part of a test.");
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected admin '" + conTwo.getUser() + "' to be able to ban '" + targetAddress + "' (that was not an occupant) from '" + mucAddress + "' while providing the optional 'reason' attribute (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -183,6 +196,7 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
     public void testBanOccupantWithOptionalReason() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-ban-occupant-with-reason");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -215,14 +229,17 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
 
             try {
                 // Execute system under test.
+                Phases.execute();
                 mucAsSeenByAdmin.banUser(targetAddress, "Banned as part of a test.");
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected '" + conTwo.getUser() + "' (an admin) to be able to ban '" + targetAddress + "' (an existing occupant) from '" + mucAddress + "' while providing the optional 'reason' attribute (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -234,6 +251,7 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
     public void testParticipantNotAllowedToBan() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-ban-notallowed");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -247,12 +265,14 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
             mucAsSeenByParticipant.join(nicknameParticipant);
 
             // Execute system under test & Verify result.
+            Phases.execute();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 mucAsSeenByParticipant.banUser(targetAddress, "Banned as part of a test.");
             }, "Expected an error after '" + conTwo.getUser() + "' (that is not an admin) tried to ban another participant ('" + targetAddress + "') from room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' after it tried to ban another participant ('" + targetAddress + "') from room '" + mucAddress + "' while not being an admin.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -264,6 +284,7 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
     public void testBanNonOccupantJidOnBanList() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-nonoccupant-banned-jid-on-banlist");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -278,12 +299,15 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
             mucAsSeenByAdmin.join(nicknameAdmin);
 
             // Execute system under test.
+            Phases.execute();
             mucAsSeenByAdmin.banUser(targetAddress, "Banned as part of a test.");
 
             // Verify result.
+            Phases.verify();
             assertTrue(mucAsSeenByAdmin.getOutcasts().stream().anyMatch(affiliate -> affiliate.getJid().equals(targetAddress)), "Expected '" + targetAddress +"' (that was not an occupant) to be on the Ban List after the were banned by '" + conTwo.getUser() + "' (an admin) from '" + mucAddress + "' (but the JID does not appear on the Ban List).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -295,6 +319,7 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
     public void testBanOccupantJidOnBanList() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-occupant-banned-jid-on-banlist");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -326,12 +351,15 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
             adminSeesTarget.waitForResult(timeout);
 
             // Execute system under test.
+            Phases.execute();
             mucAsSeenByAdmin.banUser(targetAddress, "Banned as part of a test.");
 
             // Verify result.
+            Phases.verify();
             assertTrue(mucAsSeenByAdmin.getOutcasts().stream().anyMatch(affiliate -> affiliate.getJid().equals(targetAddress)), "Expected '" + targetAddress +"' (an existing occupant) to be on the Ban List after the were banned by '" + conTwo.getUser() + "' (an admin) from '" + mucAddress + "' (but the JID does not appear on the Ban List).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -343,6 +371,7 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
     public void testBanOccupantRemovesRegisteredNickname() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-ban-removes-registered-nickname");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -396,12 +425,15 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
             adminSeesTarget.waitForResult(timeout);
 
             // Execute system under test.
+            Phases.execute();
             mucAsSeenByAdmin.banUser(targetAddress, "Banned as part of a test.");
 
             // Verify result.
+            Phases.verify();
             assertTrue(mucAsSeenByAdmin.getMembers().stream().noneMatch(affiliate -> nicknameTarget.equals(affiliate.getNick())), "Expected the registered nickname ('" + nicknameTarget + "') of '" + targetAddress + "' to no longer be on the list of registered nicknames after the were banned by '" + conTwo.getUser() + "' (an admin) from '" + mucAddress + "' (but the nickname does still appear on the list).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -413,6 +445,7 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
     public void testBannedOccupantReceivesRemoval() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-ban-notification");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -452,12 +485,15 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
             });
 
             // Execute system under test.
+            Phases.execute();
             mucAsSeenByAdmin.banUser(targetAddress, "Banned as part of a test.");
 
             // Verify result.
+            Phases.verify();
             assertResult(targetSeesBan, "Expected '" + conThree.getUser() + "' to receive a presence stanza of type \"unavailable\" including status code 301 in the extended presence information after being banned by '" + conTwo.getUser() + "' (an admin) from '" + mucAddress + "' (but no such stanza was received).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -469,6 +505,7 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
     public void mucTestRemainingOccupantsInformedOfBan() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-ban-broadcast");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -519,13 +556,16 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
             });
 
             // Execute system under test.
+            Phases.execute();
             mucAsSeenByAdmin.banUser(targetAddress, "Banned as part of a test.");
 
             // Verify result.
+            Phases.verify();
             assertResult(ownerSeesBan, "Expected '" + conOne.getUser() + "' to receive a presence stanza of type \"unavailable\" of '" + targetMucAddress + "' including status code 301 in the extended presence information after '" + targetAddress + "' is banned by '" + conTwo.getUser() + "' (an admin) from '" + mucAddress + "' (but no such stanza was received).");
             assertResult(adminSeesBan, "Expected '" + conTwo.getUser() + "' to receive a presence stanza of type \"unavailable\" of '" + targetMucAddress + "' including status code 301 in the extended presence information after '" + targetAddress + "' is banned by '" + conTwo.getUser() + "' (an admin) from '" + mucAddress + "' (but no such stanza was received).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -537,6 +577,7 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
     public void mucTestAdminCannotBanSelf() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-cannot-ban-self");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -551,12 +592,14 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
             mucAsSeenByAdmin.join(nicknameAdmin);
 
             // Execute system under test & Verify result.
+            Phases.execute();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 mucAsSeenByAdmin.banUser(targetAddress, "Banned as part of a test.");
             }, "Expected an error after '" + conTwo.getUser() + "' (that is an admin) tried to ban itself from room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.conflict, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (that is an admin) after it tried to ban itself from room '" + mucAddress + "'.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -568,6 +611,7 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
     public void mucTestAdminCannotBanOwner() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-cannot-ban-owner");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -582,12 +626,14 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
             mucAsSeenByAdmin.join(nicknameAdmin);
 
             // Execute system under test & Verify result.
+            Phases.execute();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 mucAsSeenByAdmin.banUser(targetAddress, "Banned as part of a test.");
             }, "Expected an error after '" + conTwo.getUser() + "' (that is an admin) tried to ban an owner ('" + targetAddress + "') from room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.not_allowed, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (that is an admin) after it tried to ban an owner ('" + targetAddress + "') from room '" + mucAddress + "' while not being an admin.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -599,6 +645,7 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
     public void mucTestOwnerCannotBanSelf() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-cannot-ban-self");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final EntityBareJid targetAddress = conOne.getUser().asEntityBareJid();
@@ -608,12 +655,14 @@ public class MultiUserChatAdminBanIntegrationTest extends AbstractMultiUserChatI
         createMuc(mucAsSeenByOwner, nicknameOwner);
         try {
             // Execute system under test & Verify result.
+            Phases.execute();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 mucAsSeenByOwner.banUser(targetAddress, "Banned as part of a test.");
             }, "Expected an error after '" + conTwo.getUser() + "' (that is an owner) tried to ban itself from room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.conflict, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (that is an owner) after it tried to ban itself from room '" + mucAddress + "'.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -19,6 +19,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
@@ -64,6 +65,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
     public void mucTestAdminRequestsBanList() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-requests-banlist");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -77,6 +79,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
             mucAsSeenByAdmin.join(nicknameAdmin);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.get);
@@ -84,10 +87,12 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
             conTwo.sendIqRequestAndWaitForResponse(iq);
 
             // Verify result.
+            Phases.verify();
         } catch (XMPPException.XMPPErrorException e) {
             fail("Expected '" + conTwo.getUser() + "' (an admin) to be able to receive the ban list from '" + mucAddress + "' (but the server returned an error).", e);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -104,6 +109,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
     public void mucTestAdminBanListFullJid() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-banlist-fulljid");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -128,6 +134,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
             }
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.get);
@@ -141,9 +148,11 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
             }
 
             // Verify result.
+            Phases.verify();
             assertFalse(response.getItems().stream().anyMatch(i -> i.getJid().isEntityFullJid()), "The ban list for '" + mucAddress + "' as received by '" + conTwo.getUser() + "' (an admin) unexpectedly contained an item with a full JID (where only bare JIDs are allowed).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -155,6 +164,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
     public void mucTestAdminBanListItemCheck() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-banlist-attr");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -170,6 +180,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
             mucAsSeenByAdmin.join(nicknameAdmin);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.get);
@@ -183,11 +194,13 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
             }
 
             // Verify result.
+            Phases.verify();
             assertFalse(response.getItems().stream().anyMatch(i -> i.getJid() == null), "The ban list for '" + mucAddress + "' as received by '" + conTwo.getUser() + "' (an admin) contains an item that does not have a 'jid' attribute (but all items must have one).");
             assertFalse(response.getItems().stream().anyMatch(i -> i.getAffiliation() == null), "The ban list for '" + mucAddress + "' as received by '" + conTwo.getUser() + "' (an admin) contains an item that does not have an 'affiliation' attribute (but all items must have one).");
             assertTrue(response.getItems().stream().anyMatch(i -> i.getJid().equals(targetAddress)), "Expected the ban list requested by '" + conTwo.getUser() + "' (an admin) from '" + mucAddress + "' to include the recently added outcast '" + targetAddress + "' (but it did not).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -199,6 +212,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
     public void mucTestAdminBanListMultipleItems() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-banlist-multiple");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -214,6 +228,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
             mucAsSeenByAdmin.join(nicknameAdmin);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -224,6 +239,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
                 conTwo.sendIqRequestAndWaitForResponse(iq);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected the service to inform '" + conTwo.getUser() + "' (an admin) of success after they modified the ban list of room '" + mucAddress + "' (but instead, an error was returned).", e);
             }
@@ -231,6 +247,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
             assertTrue(mucAsSeenByAdmin.getOutcasts().stream().anyMatch(i -> i.getAffiliation() == MUCAffiliation.outcast && i.getJid().equals(targetAddress2)), "Expected the ban list for '" + mucAddress + "' to contain '" + targetAddress2 + "' that was just added to the ban list by '" + conTwo.getUser() + "' (an admin) (but does not appear on the ban list).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -242,6 +259,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
     public void testParticipantNotAllowedToModifyBanList() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-banlist-notallowed");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -256,12 +274,14 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
             mucAsSeenByParticipant.join(nicknameParticipant);
 
             // Execute system under test & Verify result.
+            Phases.execute();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 mucAsSeenByParticipant.banUsers(List.of(targetAddress1, targetAddress2));
             }, "Expected an error after '" + conTwo.getUser() + "' (that is not an admin) tried to modify the ban list of room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' after it tried to modify the ban list of room '" + mucAddress + "' while not being an admin.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -273,6 +293,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
     public void mucTestAdminBanListMultipleItemsUnban() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-banlist-multiple");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -290,6 +311,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
             mucAsSeenByAdmin.banUsers(List.of(targetAddress1, targetAddress2));
 
             // Execute system under test
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -300,6 +322,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
                 conTwo.sendIqRequestAndWaitForResponse(iq);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected the service to inform '" + conTwo.getUser() + "' (an admin) of success after they modified the ban list of room '" + mucAddress + "' (but instead, an error was returned).", e);
             }
@@ -307,6 +330,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
             assertTrue(mucAsSeenByAdmin.getOutcasts().stream().noneMatch(i -> i.getAffiliation() == MUCAffiliation.outcast && i.getJid().equals(targetAddress2)), "Expected the ban list for '" + mucAddress + "' to no longer contain '" + targetAddress2 + "' that was just removed from the ban list by '" + conTwo.getUser() + "' (an admin) (but does appear on the ban list).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -318,6 +342,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
     public void mucTestAdminBanListMultipleItemsWithOptionalAttributes() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-banlist-multiple-opt");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -333,6 +358,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
             mucAsSeenByAdmin.join(nicknameAdmin);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -343,6 +369,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
                 conTwo.sendIqRequestAndWaitForResponse(iq);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected the service to inform '" + conTwo.getUser() + "' (an admin) of success after they modified the ban list of room '" + mucAddress + "' (but instead, an error was returned).", e);
             }
@@ -350,6 +377,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
             assertTrue(mucAsSeenByAdmin.getOutcasts().stream().anyMatch(i -> i.getAffiliation() == MUCAffiliation.outcast && i.getJid().equals(targetAddress2)), "Expected the ban list for '" + mucAddress + "' to contain '" + targetAddress2 + "' that was just added to the ban list by '" + conTwo.getUser() + "' (an admin) (but does not appear on the ban list).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -362,6 +390,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
     public void mucTestAdminBanListIsDelta() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-banlist-delta");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -379,6 +408,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
             mucAsSeenByAdmin.banUsers(List.of(targetAddress1, targetAddress2));
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -389,6 +419,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
                 conTwo.sendIqRequestAndWaitForResponse(iq);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected the service to inform '" + conTwo.getUser() + "' (an admin) of success after they modified the ban list of room '" + mucAddress + "' (but instead, an error was returned).", e);
             }
@@ -399,6 +430,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
             assertTrue(outcasts.contains(targetAddress3), "Expected '" + targetAddress3 + "' to be on the ban list of '" + mucAddress + "', after the ban list that previously did not contain them got updated by '" + conTwo.getUser() + "' (an admin) with items that include them.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -410,6 +442,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
     public void mucTestBanListOccupantsInformedOfBan() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-banlist-notification");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -450,12 +483,15 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
             });
 
             // Execute system under test.
+            Phases.execute();
             mucAsSeenByAdmin.banUsers(List.of(targetAddress1, targetAddress2));
 
             // Verify result.
+            Phases.verify();
             assertResult(targetSeesBan, "Expected '" + conThree.getUser() + "' to receive a presence stanza of type \"unavailable\" including status code 301 in the extended presence information after being banned by '" + conTwo.getUser() + "' (an admin) from '" + mucAddress + "' (but no such stanza was received).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -467,6 +503,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
     public void mucTestBanListRemainingOccupantsInformedOfBan() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-banlist-broadcast");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -518,13 +555,16 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
             });
 
             // Execute system under test.
+            Phases.execute();
             mucAsSeenByAdmin.banUsers(List.of(targetAddress1, targetAddress2));
 
             // Verify result.
+            Phases.verify();
             assertResult(ownerSeesBan, "Expected '" + conOne.getUser() + "' to receive a presence stanza of type \"unavailable\" of '" + targetMucAddress + "' including status code 301 in the extended presence information after '" + targetAddress1 + "' is banned by '" + conTwo.getUser() + "' (an admin) from '" + mucAddress + "' (but no such stanza was received).");
             assertResult(adminSeesBan, "Expected '" + conTwo.getUser() + "' to receive a presence stanza of type \"unavailable\" of '" + targetMucAddress + "' including status code 301 in the extended presence information after '" + targetAddress1 + "' is banned by '" + conTwo.getUser() + "' (an admin) from '" + mucAddress + "' (but no such stanza was received).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -537,6 +577,7 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
     public void mucTestBanListRemovesRegisteredNickname() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-banlist-removes-registered-nickname");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -579,13 +620,16 @@ public class MultiUserChatAdminBanListIntegrationTest extends AbstractMultiUserC
             mucAsSeenByAdmin.join(nicknameAdmin);
 
             // Execute system under test.
+            Phases.execute();
             mucAsSeenByAdmin.banUsers(List.of(targetAddress1, targetAddress2));
 
             // Verify result.
+            Phases.verify();
             assertTrue(mucAsSeenByAdmin.getMembers().stream().noneMatch(affiliate -> nicknameTarget1.equals(affiliate.getNick())), "Expected the registered nickname ('" + nicknameTarget1 + "') of '" + targetAddress1 + "' to no longer be on the list of registered nicknames after the were banned by '" + conTwo.getUser() + "' (an admin) from '" + mucAddress + "' (but the nickname does still appear on the list).");
             assertTrue(mucAsSeenByAdmin.getMembers().stream().noneMatch(affiliate -> nicknameTarget2.equals(affiliate.getNick())), "Expected the registered nickname ('" + nicknameTarget2 + "') of '" + targetAddress2 + "' to no longer be on the list of registered nicknames after the were banned by '" + conTwo.getUser() + "' (an admin) from '" + mucAddress + "' (but the nickname does still appear on the list).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
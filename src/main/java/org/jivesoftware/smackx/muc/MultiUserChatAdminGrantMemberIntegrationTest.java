@@ -19,6 +19,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
@@ -56,6 +57,7 @@ public class MultiUserChatAdminGrantMemberIntegrationTest extends AbstractMultiU
     public void testGrantMembership() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-member-grant");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -70,6 +72,7 @@ public class MultiUserChatAdminGrantMemberIntegrationTest extends AbstractMultiU
             mucAsSeenByAdmin.join(nicknameAdmin);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -79,11 +82,13 @@ public class MultiUserChatAdminGrantMemberIntegrationTest extends AbstractMultiU
                 conTwo.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected '" + conTwo.getUser() + "'(an admin) to be able to grant membership to '" + targetAddress + "' in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -95,6 +100,7 @@ public class MultiUserChatAdminGrantMemberIntegrationTest extends AbstractMultiU
     public void testGrantMembershipWithNick() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-member-grant-nick");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -110,6 +116,7 @@ public class MultiUserChatAdminGrantMemberIntegrationTest extends AbstractMultiU
             mucAsSeenByAdmin.join(nicknameAdmin);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -119,11 +126,13 @@ public class MultiUserChatAdminGrantMemberIntegrationTest extends AbstractMultiU
                 conTwo.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected '" + conTwo.getUser() + "' (an admin) to be able to grant membership to '" + targetAddress + "' in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -135,6 +144,7 @@ public class MultiUserChatAdminGrantMemberIntegrationTest extends AbstractMultiU
     public void testGrantMembershipWithReason() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-member-grant-reason");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -149,6 +159,7 @@ public class MultiUserChatAdminGrantMemberIntegrationTest extends AbstractMultiU
             mucAsSeenByAdmin.join(nicknameAdmin);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -158,11 +169,13 @@ public class MultiUserChatAdminGrantMemberIntegrationTest extends AbstractMultiU
                 conTwo.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected '" + conTwo.getUser() + "' (an admin) to be able to grant membership to '" + targetAddress + "' in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -174,6 +187,7 @@ public class MultiUserChatAdminGrantMemberIntegrationTest extends AbstractMultiU
     public void testParticipantNotAllowedToGrantMembership() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-member-grant-notallowed");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -187,18 +201,21 @@ public class MultiUserChatAdminGrantMemberIntegrationTest extends AbstractMultiU
             mucAsSeenByParticipant.join(nicknameParticipant);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
             request.addItem(new MUCItem(MUCAffiliation.member, targetAddress));
 
             // Execute system under test & Verify result.
+            Phases.execute();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conTwo.sendIqRequestAndWaitForResponse(request);
             }, "Expected an error after '" + conTwo.getUser() + "' (that is not an admin) tried to grant membership to another participant ('" + targetAddress + "') for room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' after it tried to grant membership to another participant ('" + targetAddress + "') for room '" + mucAddress + "' while not being an admin.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -210,6 +227,7 @@ public class MultiUserChatAdminGrantMemberIntegrationTest extends AbstractMultiU
     public void testMemberOnMemberList() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-member-on-memberlist");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -224,6 +242,7 @@ public class MultiUserChatAdminGrantMemberIntegrationTest extends AbstractMultiU
             mucAsSeenByAdmin.join(nicknameAdmin);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -236,9 +255,11 @@ public class MultiUserChatAdminGrantMemberIntegrationTest extends AbstractMultiU
             }
 
             // Verify result.
+            Phases.verify();
             assertTrue(mucAsSeenByAdmin.getMembers().stream().anyMatch(affiliate -> affiliate.getJid().equals(targetAddress)), "Expected '" + targetAddress + "' to be on the Member List after the were granted membership by '" + conTwo.getUser() + "' (an admin) to '" + mucAddress + "' (but the JID does not appear on the Member List).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -250,6 +271,7 @@ public class MultiUserChatAdminGrantMemberIntegrationTest extends AbstractMultiU
     public void mucTestOccupantsInformed() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-member-broadcast");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -309,6 +331,7 @@ public class MultiUserChatAdminGrantMemberIntegrationTest extends AbstractMultiU
             });
 
             // Execute system under test.
+            Phases.execute();
             try {
                 mucAsSeenByAdmin.grantMembership(targetAddress);
             } catch (XMPPException.XMPPErrorException e) {
@@ -316,11 +339,13 @@ public class MultiUserChatAdminGrantMemberIntegrationTest extends AbstractMultiU
             }
 
             // Verify result.
+            Phases.verify();
             assertResult(targetSeesMembership, "Expected '" + conThree.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the granting of membership, after they are granted membership by '" + conTwo.getUser() + "' (an admin) in '" + mucAddress + "' (but no such stanza was received).");
             assertResult(ownerSeesMembership, "Expected '" + conOne.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the granting of membership, after '" + targetAddress + "' is granted membership by '" + conTwo.getUser() + "' (an admin) in '" + mucAddress + "' (but no such stanza was received).");
             assertResult(adminSeesMembership, "Expected '" + conTwo.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the granting of membership, after '" + targetAddress + "' is granted membership by '" + conTwo.getUser() + "' (an admin) in '" + mucAddress + "' (but no such stanza was received).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -19,6 +19,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
@@ -56,6 +57,7 @@ public class MultiUserChatAdminGrantModeratorIntegrationTest extends AbstractMul
     public void testGrantModerator() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-moderator-grant");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -85,6 +87,7 @@ public class MultiUserChatAdminGrantModeratorIntegrationTest extends AbstractMul
             adminSeesTarget.waitForResult(timeout);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -93,11 +96,13 @@ public class MultiUserChatAdminGrantModeratorIntegrationTest extends AbstractMul
                 conTwo.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected '" + conTwo.getUser() + "' (an admin) to be able to grant moderator status to '" + targetMucAddress + "' in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -109,6 +114,7 @@ public class MultiUserChatAdminGrantModeratorIntegrationTest extends AbstractMul
     public void testGrantModeratorOptionalReason() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-moderator-grant-reason");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -138,6 +144,7 @@ public class MultiUserChatAdminGrantModeratorIntegrationTest extends AbstractMul
             adminSeesTarget.waitForResult(timeout);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -147,11 +154,13 @@ public class MultiUserChatAdminGrantModeratorIntegrationTest extends AbstractMul
                 conTwo.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected '" + conTwo.getUser() + "' (an admin) to be able to grant moderator status to '" + targetMucAddress + "' in '" + mucAddress + "' when providing an optional 'reason' element (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -163,6 +172,7 @@ public class MultiUserChatAdminGrantModeratorIntegrationTest extends AbstractMul
     public void testParticipantNotAllowedToGrantModeratorStatus() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-moderator-notallowed");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -191,18 +201,21 @@ public class MultiUserChatAdminGrantModeratorIntegrationTest extends AbstractMul
             participantSeesTarget.waitForResult(timeout);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
             request.addItem(new MUCItem(MUCRole.moderator, nicknameTarget, "Granting Moderator Status as part of an integration test."));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conTwo.sendIqRequestAndWaitForResponse(request);
             }, "Expected an error after '" + conTwo.getUser() + "' (that is not an admin) tried to grant moderator status to another participant ('" + targetMucAddress + "') for room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' after it tried to grant moderator status to another participant ('" + targetMucAddress + "') for room '" + mucAddress + "' while not being an admin.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -214,6 +227,7 @@ public class MultiUserChatAdminGrantModeratorIntegrationTest extends AbstractMul
     public void testModeratorOnModeratorList() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-moderator-on-moderatorlist");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -243,6 +257,7 @@ public class MultiUserChatAdminGrantModeratorIntegrationTest extends AbstractMul
             adminSeesTarget.waitForResult(timeout);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -255,9 +270,11 @@ public class MultiUserChatAdminGrantModeratorIntegrationTest extends AbstractMul
             }
 
             // Verify result.
+            Phases.verify();
             assertTrue(mucAsSeenByAdmin.getModerators().stream().anyMatch(affiliate -> affiliate.getNick().equals(nicknameTarget)), "Expected '" + nicknameTarget + "' to be on the Moderator List after the were granted moderator status by '" + conTwo.getUser() + "' (an admin) in '" + mucAddress + "' (but the nickname does not appear on the Moderator List).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -268,6 +285,7 @@ public class MultiUserChatAdminGrantModeratorIntegrationTest extends AbstractMul
     @SmackIntegrationTest(section = "9.6", quote = "The service MUST then send updated presence from this individual to all occupants, indicating the addition of moderator status by including an <x/> element qualified by the 'http://jabber.org/protocol/muc#user' namespace and containing an <item/> child with the 'role' attribute set to a value of \"moderator\".")
     public void mucTestOccupantsInformed() throws Exception {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-moderator-broadcast");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -325,6 +343,7 @@ public class MultiUserChatAdminGrantModeratorIntegrationTest extends AbstractMul
             });
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -337,11 +356,13 @@ public class MultiUserChatAdminGrantModeratorIntegrationTest extends AbstractMul
             }
 
             // Verify result.
+            Phases.verify();
             assertResult(targetSeesModerator, "Expected '" + conThree.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the granting of moderator status, after they are granted moderator status by '" + conTwo.getUser() + "' (an admin) in '" + mucAddress + "' (but no such stanza was received).");
             assertResult(ownerSeesModerator, "Expected '" + conOne.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the granting of moderator status, after '" + targetMucAddress + "' is granted moderator status by '" + conTwo.getUser() + "' (an admin) in '" + mucAddress + "' (but no such stanza was received).");
             assertResult(adminSeesModerator, "Expected '" + conTwo.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the granting of moderator status, after '" + targetMucAddress + "' is granted moderator status by '" + conTwo.getUser() + "' (an admin) in '" + mucAddress + "' (but no such stanza was received).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -19,6 +19,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.ResultSyncPoint;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.SmackException;
@@ -64,6 +65,7 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
     public void mucTestAdminRequestsMemberList() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-requests-memberlist");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -77,6 +79,7 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
             mucAsSeenByAdmin.join(nicknameAdmin);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.get);
@@ -84,10 +87,12 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
             conTwo.sendIqRequestAndWaitForResponse(iq);
 
             // Verify result.
+            Phases.verify();
         } catch (XMPPException.XMPPErrorException e) {
             fail("Expected '" + conTwo.getUser() + "' (an admin) to be able to receive the member list from '" + mucAddress + "' (but the server returned an error).", e);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -99,6 +104,7 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
     public void mucTestAdminMemberListItemCheck() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-memberlist-attr");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -114,6 +120,7 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
             mucAsSeenByAdmin.join(nicknameAdmin);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.get);
@@ -121,11 +128,13 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
             final MUCAdmin response = conTwo.sendIqRequestAndWaitForResponse(iq);
 
             // Verify result.
+            Phases.verify();
             assertFalse(response.getItems().stream().anyMatch(i -> i.getJid() == null), "The member list for '" + mucAddress + "' as requested by '" + conTwo.getUser() + "' (an admin) contains an item that does not have a 'jid' attribute (but all items must have one).");
             assertFalse(response.getItems().stream().anyMatch(i -> i.getAffiliation() == null), "The member list for '" + mucAddress + "' as requested by '" + conTwo.getUser() + "' (an admin) contains an item that does not have an 'affiliation' attribute (but all items must have one).");
             assertTrue(response.getItems().stream().anyMatch(i -> i.getJid().equals(targetAddress)), "Expected the member list requested by '" + conTwo.getUser() + "' (an admin) from '" + mucAddress + "' to include the recently added member '" + targetAddress + "' (but it did not).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -137,6 +146,7 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
     public void mucTestAdminMemberListMultipleItems() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-memberlist-multiple");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -152,6 +162,7 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
             mucAsSeenByAdmin.join(nicknameAdmin);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -162,6 +173,7 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
                 conTwo.sendIqRequestAndWaitForResponse(iq);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected the service to inform '" + conTwo.getUser() + "' (an admin) of success after they modified the member list of room '" + mucAddress + "' (but instead, an error was returned).", e);
             }
@@ -169,6 +181,7 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
             assertTrue(mucAsSeenByAdmin.getMembers().stream().anyMatch(i -> i.getAffiliation() == MUCAffiliation.member && i.getJid().equals(targetAddress2)), "Expected the member list for '" + mucAddress + "' to contain '" + targetAddress2 + "' that was just added to the member list by '" + conTwo.getUser() + "' (an admin) (but does not appear on the member list).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -180,6 +193,7 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
     public void mucTestAdminMemberListMultipleItemsRevoke() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-memberlist-revoke");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -197,6 +211,7 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
             mucAsSeenByAdmin.grantMembership(List.of(targetAddress1, targetAddress2));
 
             // Execute system under test
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -207,6 +222,7 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
                 conTwo.sendIqRequestAndWaitForResponse(iq);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected the service to inform '" + conTwo.getUser() + "' (an admin) of success after they modified the member list of room '" + mucAddress + "' (but instead, an error was returned).", e);
             }
@@ -214,6 +230,7 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
             assertTrue(mucAsSeenByAdmin.getMembers().stream().noneMatch(i -> i.getAffiliation() == MUCAffiliation.member && i.getJid().equals(targetAddress2)), "Expected the member list for '" + mucAddress + "' to no longer contain '" + targetAddress2 + "' that was just removed from the member list by '" + conTwo.getUser() + "' (an admin) (but does appear on the member list).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -226,6 +243,7 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
     public void mucTestAdminMemberListIsDelta() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-memberlist-delta");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -243,6 +261,7 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
             mucAsSeenByAdmin.grantMembership(List.of(targetAddress1, targetAddress2));
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -256,12 +275,14 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
             }
 
             // Verify result.
+            Phases.verify();
             final Set<Jid> members = mucAsSeenByAdmin.getMembers().stream().filter(i -> i.getAffiliation().equals(MUCAffiliation.member)).map(Affiliate::getJid).collect(Collectors.toSet());
             assertFalse(members.contains(targetAddress1), "Expected '" + targetAddress1 + "' to no longer be on the member list of '" + mucAddress + "', after '" + conTwo.getUser() + "' (an admin) updated the member list that previously contained them with their removal (but does still appear on the member list).");
             assertTrue(members.contains(targetAddress2), "Expected '" + targetAddress2 + "' to be on the member list of '" + mucAddress + "', after the member list that previously contained them got updated by '" + conTwo.getUser() + "' (an admin) with different items (which should have been applied as a delta).");
             assertTrue(members.contains(targetAddress3), "Expected '" + targetAddress3 + "' to be on the member list of '" + mucAddress + "', after the member list that previously did not contain them got updated by '" + conTwo.getUser() + "' (an admin) with items that include them.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -274,6 +295,7 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
     public void mucTestMemberListNoEntryAfterRevoke() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-memberlist-noentry");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -291,12 +313,15 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
             mucAsSeenByAdmin.join(nicknameAdmin);
 
             // Execute system under test.
+            Phases.execute();
             mucAsSeenByAdmin.revokeMembership(targetAddress);
 
             // Verify result.
+            Phases.verify();
             assertThrows(XMPPException.XMPPErrorException.class, () -> mucAsSeenByTarget.join(nicknameTarget), "Expected '" + conThree.getUser() + "' to receive an error when trying to join room '" + mucAddress + "' after '" + conTwo.getUser() + "' (an admin) removed them from the member list (but no error was received).'");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -308,6 +333,7 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
     public void mucTestMemberListRemainingOccupantsInformedOfRevokeOpenRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-memberlist-broadcast-revoke-open");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -361,13 +387,16 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
             });
 
             // Execute system under test.
+            Phases.execute();
             mucAsSeenByAdmin.revokeMembership(List.of(targetAddress1, targetAddress2));
 
             // Verify result.
+            Phases.verify();
             assertResult(ownerSeesRevoke, "Expected '" + conOne.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the change in affiliation by including an <x/> element qualified by the 'http://jabber.org/protocol/muc#user' namespace and containing an <item/> child with the 'affiliation' attribute set to a value of \"none\" for '" + targetAddress1 + "' after its membership was revoked by '" + conTwo.getUser() + "' (an admin) in '" + mucAddress + "' which is configured to be an open room (but no such stanza was received).");
             assertResult(adminSeesRevoke, "Expected '" + conTwo.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the change in affiliation by including an <x/> element qualified by the 'http://jabber.org/protocol/muc#user' namespace and containing an <item/> child with the 'affiliation' attribute set to a value of \"none\" for '" + targetAddress1 + "' after its membership was revoked by '" + conTwo.getUser() + "' (an admin) in '" + mucAddress + "' which is configured to be an open room (but no such stanza was received).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -379,6 +408,7 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
     public void mucTestMemberListRemainingOccupantsInformedOfRevokeMemberOnlyRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-memberlist-broadcast-revoke-memberonly");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -419,15 +449,18 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
             conTwo.addAsyncStanzaListener(stanza -> adminSeesRevoke.signal((Presence) stanza), notificationFilter);
 
             // Execute system under test.
+            Phases.execute();
             mucAsSeenByAdmin.revokeMembership(List.of(targetAddress1, targetAddress2));
 
             // Verify result.
+            Phases.verify();
             final Presence ownerReceivedPresence = assertResult(ownerSeesRevoke, "Expected '" + conOne.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the change in affiliation by including an <x/> element qualified by the 'http://jabber.org/protocol/muc#user' namespace and containing an <item/> child with the 'affiliation' attribute set to a value of \"none\" for '" + targetAddress1 + "' after its membership was revoked by '" + conTwo.getUser() + "' (an admin) in '" + mucAddress + "' which is configured to be a member-only room (but no such stanza was received).");
             final Presence adminReceivedPresence = assertResult(adminSeesRevoke, "Expected '" + conTwo.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the change in affiliation by including an <x/> element qualified by the 'http://jabber.org/protocol/muc#user' namespace and containing an <item/> child with the 'affiliation' attribute set to a value of \"none\" for '" + targetAddress1 + "' after its membership was revoked by '" + conTwo.getUser() + "' (an admin) in '" + mucAddress + "' which is configured to be a member-only room (but no such stanza was received).");
             assertTrue(ownerReceivedPresence.getExtension(MUCUser.class).getItem() != null && ownerReceivedPresence.getExtension(MUCUser.class).getItem().getAffiliation().equals(MUCAffiliation.none), "Expected to find an item with affiliation 'none' in the presence stanza received by '" + conOne.getUser() + "' when '" + conThree.getUser() + "' was removed from members-only room '" + mucAddress + "' as a result of '" + conTwo.getUser() + "' (an admin) revoking their membership (but it was not).");
             assertTrue(adminReceivedPresence.getExtension(MUCUser.class).getItem() != null && ownerReceivedPresence.getExtension(MUCUser.class).getItem().getAffiliation().equals(MUCAffiliation.none), "Expected to find an item with affiliation 'none' in the presence stanza received by '" + conTwo.getUser() + "' when '" + conThree.getUser() + "' was removed from members-only room '" + mucAddress + "' as a result of '" + conTwo.getUser() + "' (an admin) revoking their membership (but it was not).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -439,6 +472,7 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
     public void mucTestMemberListNoChangeWithInviteInOpenRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-memberlist-invite-open");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -453,12 +487,15 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
             mucAsSeenByAdmin.join(nicknameAdmin);
 
             // Execute system under test.
+            Phases.execute();
             mucAsSeenByAdmin.invite(targetAddress, "Invitation as part of an integration test.");
 
             // Verify result.
+            Phases.verify();
             assertFalse(mucAsSeenByOwner.getMembers().stream().anyMatch(i -> i.getJid().equals(targetAddress)), "Did not expect '" + targetAddress + "' to be on the member list of open room '" + mucAddress + "' after they were invited by '" + conTwo.getUser() + "' (an admin) (but they are on the member list).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -470,6 +507,7 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
     public void mucTestMemberListOccupantsInformedOfGrantOpenRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-memberlist-broadcast-grant-open");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -528,14 +566,17 @@ public class MultiUserChatAdminMemberListIntegrationTest extends AbstractMultiUs
             });
 
             // Execute system under test.
+            Phases.execute();
             mucAsSeenByAdmin.grantMembership(List.of(targetAddress1, targetAddress2));
 
             // Verify result.
+            Phases.verify();
             assertResult(ownerSeesGrant, "Expected '" + conOne.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the change in affiliation by including an <x/> element qualified by the 'http://jabber.org/protocol/muc#user' namespace and containing an <item/> child with the 'affiliation' attribute set to a value of \"member\" for '" + targetAddress1 + "' after its membership was granted by '" + conTwo.getUser() + "' (an admin) in '" + mucAddress + "' which is configured to be an open room (but no such stanza was received).");
             assertResult(adminSeesGrant, "Expected '" + conTwo.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the change in affiliation by including an <x/> element qualified by the 'http://jabber.org/protocol/muc#user' namespace and containing an <item/> child with the 'affiliation' attribute set to a value of \"member\" for '" + targetAddress1 + "' after its membership was granted by '" + conTwo.getUser() + "' (an admin) in '" + mucAddress + "' which is configured to be an open room (but no such stanza was received).");
             assertResult(target1SeesGrant, "Expected '" + conThree.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the change in affiliation by including an <x/> element qualified by the 'http://jabber.org/protocol/muc#user' namespace and containing an <item/> child with the 'affiliation' attribute set to a value of \"member\" for '" + targetAddress1 + "' after its membership was granted by '" + conTwo.getUser() + "' (an admin) in '" + mucAddress + "' which is configured to be an open room (but no such stanza was received).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -19,6 +19,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
@@ -58,6 +59,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
     public void mucTestAdminRequestsModeratorList() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-requests-moderatorlist");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -71,6 +73,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
             mucAsSeenByAdmin.join(nicknameAdmin);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.get);
@@ -78,10 +81,12 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
             conTwo.sendIqRequestAndWaitForResponse(iq);
 
             // Verify result.
+            Phases.verify();
         } catch (XMPPException.XMPPErrorException e) {
             fail("Expected '" + conTwo.getUser() + "' (an admin) to be able to receive the moderator list from '" + mucAddress + "' (but the server returned an error).", e);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -93,6 +98,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
     public void mucTestAdminModeratorListItemCheck() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-moderator-not-on-moderator-list");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -128,6 +134,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
             }
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.get);
@@ -135,11 +142,13 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
             final MUCAdmin response = conTwo.sendIqRequestAndWaitForResponse(iq);
 
             // Verify result.
+            Phases.verify();
             assertFalse(response.getItems().stream().anyMatch(i -> i.getNick() == null), "The moderator list for '" + mucAddress + "' as requested by '" +  conTwo.getUser() + "' (an admin) contains an item that does not have a 'nick' attribute (but all items must have one).");
             assertFalse(response.getItems().stream().anyMatch(i -> i.getRole() == null), "The moderator list for '" + mucAddress + "' as requested by '" +  conTwo.getUser() + "' (an admin) contains an item that does not have a 'role' attribute (but all items must have one).");
             assertTrue(response.getItems().stream().anyMatch(i -> i.getNick().equals(nicknameTarget)), "Expected the moderator list requested by '" + conTwo.getUser() + "' from '" + mucAddress + "' to include '" + nicknameTarget + "' (but it did not).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -158,6 +167,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
     public void mucTestAdminModeratorListMultipleItems() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-moderatorlist-multiple");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget1 = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -202,6 +212,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
             ownerSeesTarget2.waitForResult(timeout);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -212,6 +223,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
                 conOne.sendIqRequestAndWaitForResponse(iq); // As we're limited to only three connections, we're using the owner rather than an admin for this test.
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected the service to inform '" + conOne.getUser() + "' of success after they modified the moderator list of room '" + mucAddress + "' (but instead, an error was returned).", e);
             }
@@ -219,6 +231,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
             assertTrue(mucAsSeenByOwner.getModerators().stream().anyMatch(i -> i.getRole() == MUCRole.moderator && i.getNick().equals(nicknameTarget2)), "Expected the moderator list for '" + mucAddress + "' to contain '" + nicknameTarget2 + "' that was just added to the moderator list by '" + conOne.getUser() + "' (an owner) (but does not appear on the moderator list).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -237,6 +250,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
     public void mucTestAdminModeratorListMultipleItemsRevoke() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-moderatorlist-revoke");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget1 = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -287,6 +301,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
             }
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -297,6 +312,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
                 conOne.sendIqRequestAndWaitForResponse(iq); // As we're limited to only three connections, we're using the owner rather than an admin for this test.
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected the service to inform '" + conOne.getUser() + "' (an owner) of success after they modified the moderator list of room '" + mucAddress + "' (but instead, an error was returned).", e);
             }
@@ -304,6 +320,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
             assertTrue(mucAsSeenByOwner.getModerators().stream().noneMatch(i -> i.getRole() == MUCRole.moderator && i.getNick().equals(nicknameTarget2)), "Expected the moderator list for '" + mucAddress + "' to no longer contain '" + nicknameTarget2 + "' that was just removed from the moderator list by '" + conOne.getUser() + "' (an owner) (but does appear on the moderator list).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -323,6 +340,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
     public void mucTestAdminModeratorListIsDelta() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-moderatorlist-delta");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget1 = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -373,6 +391,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
             }
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -383,6 +402,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
                 conOne.sendIqRequestAndWaitForResponse(iq); // As we're limited to only three connections, we're using the owner rather than an admin for this test.
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected the service to inform '" + conOne.getUser() + "' of success after they modified the moderator list of room '" + mucAddress + "' (but instead, an error was returned).", e);
             }
@@ -391,6 +411,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
             assertTrue(mucAsSeenByOwner.getModerators().stream().anyMatch(i -> i.getRole() == MUCRole.moderator && i.getNick().equals(nicknameTarget2)), "Expected the moderator list for '" + mucAddress + "' to contain '" + nicknameTarget2 + "' that was just added to the moderator list by '" + conOne.getUser() + "' (but does not appear on the moderator list).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -402,6 +423,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
     public void mucTestAdminModeratorListBroadcast() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-moderatorlist-broadcast");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -478,6 +500,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
             });
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -488,6 +511,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
                 conTwo.sendIqRequestAndWaitForResponse(iq);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected the service to inform '" + conTwo.getUser() + "' of success after they modified the moderator list of room '" + mucAddress + "' (but instead, an error was returned).", e);
             }
@@ -497,6 +521,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
             assertResult(targetSeesGrantTarget, "Expected '" + conThree.getUser() + "' to receive a presence stanza from '" + mucAddress + "' indicating the change in moderator status for themself by '" + conTwo.getUser() + "' (an admin) (but did not).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -512,6 +537,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
     public void testAdminNotAllowedToRevokeModeratorFromAdmin() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-moderatorlist-revoke-admin-rejected");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTargetAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -559,6 +585,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
             }
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -569,6 +596,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
             assertEquals(StanzaError.Condition.not_allowed, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conThree.getUser() + "' (an admin) after it tried to modify the moderator list of room '" + mucAddress + "' by removing moderator status of '" + nicknameOwner + "', that is an admin.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -584,6 +612,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
     public void testAdminNotAllowedToRevokeModeratorFromOwner() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-moderatorlist-revoke-owner-rejected");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -634,6 +663,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
             adminSeesParticipant.waitForResult(timeout);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -644,6 +674,7 @@ public class MultiUserChatAdminModeratorListIntegrationTest extends AbstractMult
             assertEquals(StanzaError.Condition.not_allowed, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conThree.getUser() + "' (an admin) after it tried to modify the moderator list of room '" + mucAddress + "' by removing moderator status of '" + nicknameOwner + "', that is an owner.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
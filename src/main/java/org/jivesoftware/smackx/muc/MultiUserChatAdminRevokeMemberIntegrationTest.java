@@ -19,6 +19,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.ResultSyncPoint;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.SmackException;
@@ -64,6 +65,7 @@ public class MultiUserChatAdminRevokeMemberIntegrationTest extends AbstractMulti
     public void testRevokeMembership() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-member-revoke");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -79,6 +81,7 @@ public class MultiUserChatAdminRevokeMemberIntegrationTest extends AbstractMulti
             mucAsSeenByAdmin.grantMembership(targetAddress);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -88,11 +91,13 @@ public class MultiUserChatAdminRevokeMemberIntegrationTest extends AbstractMulti
                 conTwo.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected '" + conTwo.getUser() + "' (an admin) to be able to revoke membership from '" + targetAddress + "' in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -105,6 +110,7 @@ public class MultiUserChatAdminRevokeMemberIntegrationTest extends AbstractMulti
     public void testRevokeMembershipWithReason() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-member-revoke-reason");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -120,6 +126,7 @@ public class MultiUserChatAdminRevokeMemberIntegrationTest extends AbstractMulti
             mucAsSeenByAdmin.grantMembership(targetAddress);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -129,11 +136,13 @@ public class MultiUserChatAdminRevokeMemberIntegrationTest extends AbstractMulti
                 conTwo.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected '" + conTwo.getUser() + "' (an admin) to be able to revoke membership (using the optional 'reason' element) from '" + targetAddress + "' in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -145,6 +154,7 @@ public class MultiUserChatAdminRevokeMemberIntegrationTest extends AbstractMulti
     public void testParticipantNotAllowedToRevokeMembership() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-member-revoke-notallowed");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -164,12 +174,14 @@ public class MultiUserChatAdminRevokeMemberIntegrationTest extends AbstractMulti
             request.addItem(new MUCItem(MUCAffiliation.none, null, null, null, targetAddress, null, null));
 
             // Execute system under test & Verify result.
+            Phases.execute();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conTwo.sendIqRequestAndWaitForResponse(request);
             }, "Expected an error after '" + conTwo.getUser() + "' (that is not an admin) tried to revoke membership from another participant ('" + targetAddress + "') for room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (that is not an admin) after it tried to revoke membership from another participant ('" + targetAddress + "') for room '" + mucAddress + "' while not being an admin.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -181,6 +193,7 @@ public class MultiUserChatAdminRevokeMemberIntegrationTest extends AbstractMulti
     public void testMemberNotOnMemberList() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-member-not-on-memberlist");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -196,6 +209,7 @@ public class MultiUserChatAdminRevokeMemberIntegrationTest extends AbstractMulti
             mucAsSeenByAdmin.grantMembership(targetAddress);
 
             // Execute system under test.
+            Phases.execute();
             try {
                 mucAsSeenByAdmin.revokeMembership(targetAddress);
             } catch (XMPPException.XMPPErrorException e) {
@@ -203,9 +217,11 @@ public class MultiUserChatAdminRevokeMemberIntegrationTest extends AbstractMulti
             }
 
             // Verify result.
+            Phases.verify();
             assertFalse(mucAsSeenByAdmin.getMembers().stream().anyMatch(affiliate -> affiliate.getJid().equals(targetAddress)), "Expected '" + targetAddress + "' to no longer be on the Member List after their membership was revoked by '" + conTwo.getUser() + "' (an admin) from '" + mucAddress + "' (but the JID does appear on the Member List).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -217,6 +233,7 @@ public class MultiUserChatAdminRevokeMemberIntegrationTest extends AbstractMulti
     public void mucTestOccupantsInformedRevoke() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-memberrevoke-broadcast");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -282,6 +299,7 @@ public class MultiUserChatAdminRevokeMemberIntegrationTest extends AbstractMulti
             });
 
             // Execute system under test.
+            Phases.execute();
             try {
                 mucAsSeenByAdmin.revokeMembership(targetAddress);
             } catch (XMPPException.XMPPErrorException e) {
@@ -289,11 +307,13 @@ public class MultiUserChatAdminRevokeMemberIntegrationTest extends AbstractMulti
             }
 
             // Verify result.
+            Phases.verify();
             assertResult(targetSeesRevoke, "Expected '" + conThree.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the revokation of membership, after it was revoked by '" + conTwo.getUser() + "' (an admin) in '" + mucAddress + "' (but no such stanza was received).");
             assertResult(ownerSeesRevoke, "Expected '" + conOne.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the revokation of membership, after '" + targetAddress + "' was revoked by '" + conTwo.getUser() + "' (an admin) in '" + mucAddress + "' (but no such stanza was received).");
             assertResult(adminSeesRevoke, "Expected '" + conTwo.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the revokation of membership, after '" + targetAddress + "' was revoked by '" + conTwo.getUser() + "' (an admin) in '" + mucAddress + "' (but no such stanza was received).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -305,6 +325,7 @@ public class MultiUserChatAdminRevokeMemberIntegrationTest extends AbstractMulti
     public void mucTestRemovalOfUserInMembersOnlyRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-revoke-removal");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -342,9 +363,11 @@ public class MultiUserChatAdminRevokeMemberIntegrationTest extends AbstractMulti
             conThree.addAsyncStanzaListener(stanza -> targetSeesRemoval.signal((Presence) stanza), leaveRoomFilter);
 
             // Execute system under test.
+            Phases.execute();
             mucAsSeenByAdmin.revokeMembership(targetAddress);
 
             // Verify result
+            Phases.verify();
             final Presence presence = assertResult(targetSeesRemoval, "Expected '" + conThree.getUser() + "' to receive a presence 'unavailable' stanza from room '" + mucAddress + "' indicating that they removed from the room, after '" + conTwo.getUser() + "' (an admin) revoked their membership from the (members-only) room (but that presence stanza did not arrive).");
             final MUCUser extension = presence.getExtension(MUCUser.class);
             assertNotNull(extension, "Expected an <x/> child element qualified by the 'http://jabber.org/protocol/muc#user' namespace to exist in the presence stanza received by '" + conThree.getUser() + "' when they were removed from members-only room '" + mucAddress + "' when '" + conTwo.getUser() + "' (an admin) revoked their membership (but no such child element was detected).");
@@ -352,6 +375,7 @@ public class MultiUserChatAdminRevokeMemberIntegrationTest extends AbstractMulti
             assertTrue(extension.getStatus().stream().anyMatch(status -> status.getCode() == 321), "Expected to find status code 321 in the presence stanza received by '" + conThree.getUser() + "' when they were removed from members-only room '" + mucAddress + "' when '" + conTwo.getUser() + "' (an admin) revoked their membership (but it was not).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -363,6 +387,7 @@ public class MultiUserChatAdminRevokeMemberIntegrationTest extends AbstractMulti
     public void mucTestOccupantsInformedKick() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-revoke-removal-notif");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -406,9 +431,11 @@ public class MultiUserChatAdminRevokeMemberIntegrationTest extends AbstractMulti
             conTwo.addAsyncStanzaListener(adminListener, leaveRoomFilter);
 
             // Execute system under test.
+            Phases.execute();
             mucAsSeenByAdmin.revokeMembership(targetAddress);
 
             // Verify result
+            Phases.verify();
             final Presence presenceRecvdByAdmin = assertResult(adminSeesRemoval, "Expected '" + conTwo.getUser() + "' to receive a presence 'unavailable' stanza from room '" + mucAddress + "' indicating that '" + conThree.getUser() + "' was removed from the room, as a result of '" + conTwo.getUser() + "' (an admin) revoking their membership from the (members-only) room (but that presence stanza did not arrive).");
             final MUCUser extensionRecvdByAdmin = presenceRecvdByAdmin.getExtension(MUCUser.class);
             assertNotNull(extensionRecvdByAdmin, "Expected an <x/> child element qualified by the 'http://jabber.org/protocol/muc#user' namespace to exist in the presence stanza received by '" + conTwo.getUser() + "' when '" + conThree.getUser() + "' was removed from members-only room '" + mucAddress + "' as a result of '" + conTwo.getUser() + "' (an admin) revoking their membership (but no such child element was detected).");
@@ -423,6 +450,7 @@ public class MultiUserChatAdminRevokeMemberIntegrationTest extends AbstractMulti
 
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             conOne.removeAsyncStanzaListener(ownerListener);
             conTwo.removeAsyncStanzaListener(adminListener);
             tryDestroy(mucAsSeenByOwner);
@@ -19,6 +19,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
@@ -58,6 +59,7 @@ public class MultiUserChatAdminRevokeModeratorIntegrationTest extends AbstractMu
     public void testRevokeModerator() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-moderator-revoke");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -93,6 +95,7 @@ public class MultiUserChatAdminRevokeModeratorIntegrationTest extends AbstractMu
             }
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -102,11 +105,13 @@ public class MultiUserChatAdminRevokeModeratorIntegrationTest extends AbstractMu
                 conTwo.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected '" + conTwo.getUser() + "' (an admin) to be able to revoke moderator status from '" + targetMucAddress + "' in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -118,6 +123,7 @@ public class MultiUserChatAdminRevokeModeratorIntegrationTest extends AbstractMu
     public void testRevokeModeratorWithReason() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-moderator-revoke-reason");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -153,6 +159,7 @@ public class MultiUserChatAdminRevokeModeratorIntegrationTest extends AbstractMu
             }
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -162,11 +169,13 @@ public class MultiUserChatAdminRevokeModeratorIntegrationTest extends AbstractMu
                 conTwo.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected '" + conTwo.getUser() + "' (an admin) to be able to revoke moderator status (using the optional 'reason' element) from '" + targetMucAddress + "' in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -178,6 +187,7 @@ public class MultiUserChatAdminRevokeModeratorIntegrationTest extends AbstractMu
     public void testParticipantNotAllowedToRevokeModerator() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-moderator-revoke-notallowed");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -217,12 +227,14 @@ public class MultiUserChatAdminRevokeModeratorIntegrationTest extends AbstractMu
             request.addItem(new MUCItem(MUCRole.participant, nicknameTarget));
 
             // Execute system under test & Verify result.
+            Phases.execute();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conTwo.sendIqRequestAndWaitForResponse(request);
             }, "Expected an error after '" + conTwo.getUser() + "' (that is not an admin) tried to revoke moderator status from another participant ('" + targetMucAddress + "') for room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (that is not an admin) after it tried to revoke moderator status from another participant ('" + targetMucAddress + "') for room '" + mucAddress + "' while not being an admin.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -234,6 +246,7 @@ public class MultiUserChatAdminRevokeModeratorIntegrationTest extends AbstractMu
     public void testModeratorNotOnModeratorList() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-moderator-not-on-moderator-list");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -269,6 +282,7 @@ public class MultiUserChatAdminRevokeModeratorIntegrationTest extends AbstractMu
             }
 
             // Execute system under test.
+            Phases.execute();
             try {
                 mucAsSeenByAdmin.revokeModerator(nicknameTarget);
             } catch (XMPPException.XMPPErrorException e) {
@@ -276,9 +290,11 @@ public class MultiUserChatAdminRevokeModeratorIntegrationTest extends AbstractMu
             }
 
             // Verify result.
+            Phases.verify();
             assertFalse(mucAsSeenByAdmin.getModerators().stream().anyMatch(affiliate -> affiliate.getNick().equals(nicknameTarget)), "Expected '" + nicknameTarget + "' to no longer be on the Moderator List after their moderator status was revoked by '" + conTwo.getUser() + "' (an admin) from '" + mucAddress + "' (but their nickname does appear on the Moderator List).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -290,6 +306,7 @@ public class MultiUserChatAdminRevokeModeratorIntegrationTest extends AbstractMu
     public void mucTestOccupantsInformed() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-moderator-revoke-broadcast");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -353,6 +370,7 @@ public class MultiUserChatAdminRevokeModeratorIntegrationTest extends AbstractMu
             });
 
             // Execute system under test.
+            Phases.execute();
             try {
                 mucAsSeenByAdmin.revokeModerator(nicknameTarget);
             } catch (XMPPException.XMPPErrorException e) {
@@ -360,11 +378,13 @@ public class MultiUserChatAdminRevokeModeratorIntegrationTest extends AbstractMu
             }
 
             // Verify result.
+            Phases.verify();
             assertResult(targetSeesRevoke, "Expected '" + conThree.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the revokation of moderator status, after their status was revoked by '" + conTwo.getUser() + "' (an admin) in '" + mucAddress + "' (but no such stanza was received).");
             assertResult(ownerSeesRevoke, "Expected '" + conOne.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the revokation of moderator status, after '" + targetMucAddress + "'s status was revoked by '" + conTwo.getUser() + "' (an admin) in '" + mucAddress + "' (but no such stanza was received).");
             assertResult(adminSeesRevoke, "Expected '" + conTwo.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the revokation of moderator status, after '" + targetMucAddress + "'s status was revoked by '" + conTwo.getUser() + "' (an admin) in '" + mucAddress + "' (but no such stanza was received).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -376,6 +396,7 @@ public class MultiUserChatAdminRevokeModeratorIntegrationTest extends AbstractMu
     public void testAdminNotAllowedToRevokeModeratorFromAdmin() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-moderator-revoke-admin-notallowed");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -416,12 +437,14 @@ public class MultiUserChatAdminRevokeModeratorIntegrationTest extends AbstractMu
             request.addItem(new MUCItem(MUCRole.participant, nicknameTarget));
 
             // Execute system under test & Verify result.
+            Phases.execute();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conTwo.sendIqRequestAndWaitForResponse(request);
             }, "Expected an error after '" + conTwo.getUser() + "' (that is an admin) tried to revoke moderator status from another admin ('" + targetMucAddress + "') for room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.not_allowed, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (that is an admin) after it tried to revoke moderator status from another admin ('" + targetMucAddress + "') for room '" + mucAddress + "'.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -433,6 +456,7 @@ public class MultiUserChatAdminRevokeModeratorIntegrationTest extends AbstractMu
     public void testAdminNotAllowedToRevokeModeratorFromOwner() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("admin-moderator-revoke-owner-notallowed");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -474,12 +498,14 @@ public class MultiUserChatAdminRevokeModeratorIntegrationTest extends AbstractMu
             request.addItem(new MUCItem(MUCRole.participant, nicknameTarget));
 
             // Execute system under test & Verify result.
+            Phases.execute();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conTwo.sendIqRequestAndWaitForResponse(request);
             }, "Expected an error after '" + conTwo.getUser() + "' (that is an admin) tried to revoke moderator status from an owner ('" + targetMucAddress + "') for room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.not_allowed, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (that is an admin) after it tried to revoke moderator status from an owner ('" + targetMucAddress + "') for room '" + mucAddress + "'.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
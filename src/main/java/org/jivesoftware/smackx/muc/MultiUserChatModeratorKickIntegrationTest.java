@@ -19,6 +19,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.ResultSyncPoint;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.SmackException;
@@ -274,6 +275,7 @@ public class MultiUserChatModeratorKickIntegrationTest extends AbstractMultiUser
             twoGetsModerator.waitForResult(timeout);
 
             // Execute System under test
+            Phases.execute();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 mucAsSeenByTwo.kickParticipant(nicknameThree, "Integration test moderator-member trying to kick admin");
             }, "Expected an error after '" + conTwo.getUser() + "' (that is a member and moderator, using nickname '" + nicknameTwo + "') tried to kick '" + conThree.getUser() + "' (that is an admin, using nickname '" + nicknameThree + "') from room '" + mucAddress + "' (but none occurred).");
@@ -330,6 +332,7 @@ public class MultiUserChatModeratorKickIntegrationTest extends AbstractMultiUser
             twoGetsModerator.waitForResult(timeout);
 
             // Execute System under test
+            Phases.execute();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 mucAsSeenByTwo.kickParticipant(nicknameOne, "Integration test moderator-member trying to kick owner");
             }, "Expected an error after '" + conTwo.getUser() + "' (that is a member and moderator, using nickname '" + nicknameTwo + "') tried to kick '" + conOne.getUser() + "' (that is an owner, using nickname '" + nicknameOne + "') from room '" + mucAddress + "' (but none occurred).");
@@ -385,6 +388,7 @@ public class MultiUserChatModeratorKickIntegrationTest extends AbstractMultiUser
             twoGetsModerator.waitForResult(timeout);
 
             // Execute System under test
+            Phases.execute();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 mucAsSeenByTwo.kickParticipant(nicknameOne, "Integration test moderator-admin trying to kick owner");
             }, "Expected an error after '" + conTwo.getUser() + "' (that is a admin and moderator, using nickname '" + nicknameTwo + "') tried to kick '" + conOne.getUser() + "' (that is an owner, using nickname '" + nicknameOne + "') from room '" + mucAddress + "' (but none occurred).");
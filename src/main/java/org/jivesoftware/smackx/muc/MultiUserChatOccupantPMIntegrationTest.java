@@ -19,6 +19,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.ResultSyncPoint;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.ListenerHandle;
@@ -86,6 +87,7 @@ public class MultiUserChatOccupantPMIntegrationTest extends AbstractMultiUserCha
     public void testSendPM() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("occupant-pm");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -117,6 +119,7 @@ public class MultiUserChatOccupantPMIntegrationTest extends AbstractMultiUserCha
             try (final ListenerHandle ignored = conTwo.addStanzaListener(targetReceivedPrivateMessage::signal, new AndFilter(StanzaTypeFilter.MESSAGE, new StanzaIdFilter(randomString))))
             {
                 // Execute system under test.
+                Phases.execute();
                 final MessageBuilder pmBuilder = MessageBuilder.buildMessage(randomString)
                     .ofType(Message.Type.chat)
                     .addExtension(new MUCUser())
@@ -126,11 +129,13 @@ public class MultiUserChatOccupantPMIntegrationTest extends AbstractMultiUserCha
                 conOne.sendStanza(pmBuilder.build());
 
                 // Verify result.
+                Phases.verify();
                 final Stanza receivedMessage = assertResult(targetReceivedPrivateMessage, "Expected '" + conTwo.getUser() + "' (using nickname '" + nicknameTarget + "') to receive the private message that was sent by '" + conOne.getUser() + "' (using nickname '" + nicknameOwner + "') in '" + mucAddress + "' (but the message was not received).");
                 assertEquals(ownerMucAddress, receivedMessage.getFrom(), "Expected the 'from' address of the private message sent by '" + conOne.getUser() + "' (using nickname '" + nicknameOwner + "') to '" + conTwo.getUser() + "' (using nickname '" + nicknameTarget + "') in '" + mucAddress + "' to match the occupant JID of the sender (but it did not).");
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -142,6 +147,7 @@ public class MultiUserChatOccupantPMIntegrationTest extends AbstractMultiUserCha
     public void testSendGroupchatPM() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("occupant-pm-groupchat");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -172,6 +178,7 @@ public class MultiUserChatOccupantPMIntegrationTest extends AbstractMultiUserCha
             try (final ListenerHandle ignored = conOne.addStanzaListener(ownerSeesError::signal, new AndFilter(new StanzaIdFilter(randomString), MessageTypeFilter.ERROR))) {
 
                 // Execute system under test.
+                Phases.execute();
                 final MessageBuilder pmBuilder = MessageBuilder.buildMessage(randomString)
                     .ofType(Message.Type.groupchat)
                     .addExtension(new MUCUser())
@@ -181,11 +188,13 @@ public class MultiUserChatOccupantPMIntegrationTest extends AbstractMultiUserCha
                 conOne.sendStanza(pmBuilder.build());
 
                 // Verify result.
+                Phases.verify();
                 final Stanza error = assertResult(ownerSeesError, "Expected '" + conOne.getUser() + "' (using nickname '" + nicknameOwner + "') to receive an error after it tried to send a private message of type 'groupchat' to '" + conTwo.getUser() + "' (using nickname '" + nicknameTarget + "') in '" + mucAddress + "' (but no error was received).");
                 assertEquals(StanzaError.Condition.bad_request, error.getError().getCondition(), "Unexpected error condition in the (expected) error that was received by '" + conOne.getUser() + "' (using nickname '" + nicknameOwner + "') after it tried to send a private message of type 'groupchat' to '" + conTwo.getUser() + "' (using nickname '" + nicknameTarget + "') in '" + mucAddress + "'.");
             }
        } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -197,6 +206,7 @@ public class MultiUserChatOccupantPMIntegrationTest extends AbstractMultiUserCha
     public void testSendNonOccupantTargetPM() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("occupant-pm-nonoccupant-target");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
 
@@ -213,6 +223,7 @@ public class MultiUserChatOccupantPMIntegrationTest extends AbstractMultiUserCha
             try (final ListenerHandle ignored = conOne.addStanzaListener(ownerSeesError::signal, new AndFilter(new StanzaIdFilter(randomString), MessageTypeFilter.ERROR)))
             {
                 // Execute system under test.
+                Phases.execute();
                 final MessageBuilder pmBuilder = MessageBuilder.buildMessage(randomString)
                     .ofType(Message.Type.chat)
                     .addExtension(new MUCUser())
@@ -222,11 +233,13 @@ public class MultiUserChatOccupantPMIntegrationTest extends AbstractMultiUserCha
                 conOne.sendStanza(pmBuilder.build());
 
                 // Verify result.
+                Phases.verify();
                 final Stanza error = assertResult(ownerSeesError, "Expected '" + conOne.getUser() + "' (using nickname '" + nicknameOwner + "') to receive an error after it tried to send a private message to '" + nicknameTarget + "' in '" + mucAddress + "' that is not an occupant (but no error was received).");
                 assertEquals(StanzaError.Condition.item_not_found, error.getError().getCondition(), "Unexpected error condition in the (expected) error that was received by '" + conOne.getUser() + "' (using nickname '" + nicknameOwner + "') after it tried to send a private message to '" + nicknameTarget + "' in '" + mucAddress + "' that is not an occupant.");
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -238,6 +251,7 @@ public class MultiUserChatOccupantPMIntegrationTest extends AbstractMultiUserCha
     public void testSendNonOccupantSenderPM() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("occupant-pm-nonoccupant-sender");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -270,6 +284,7 @@ public class MultiUserChatOccupantPMIntegrationTest extends AbstractMultiUserCha
             try (final ListenerHandle ignored = conOne.addStanzaListener(ownerSeesError::signal, new AndFilter(new StanzaIdFilter(randomString), MessageTypeFilter.ERROR)))
             {
                 // Execute system under test.
+                Phases.execute();
                 final MessageBuilder pmBuilder = MessageBuilder.buildMessage(randomString)
                     .ofType(Message.Type.chat)
                     .addExtension(new MUCUser())
@@ -279,11 +294,13 @@ public class MultiUserChatOccupantPMIntegrationTest extends AbstractMultiUserCha
                 conOne.sendStanza(pmBuilder.build());
 
                 // Verify result.
+                Phases.verify();
                 final Stanza error = assertResult(ownerSeesError, "Expected '" + conOne.getUser() + "' (that currently is not an occupant) to receive an error after it tried to send a private message to '" + conTwo.getUser() + "' (using nickname '" + nicknameTarget + "') in '" + mucAddress + "' (but no error was received).");
                 assertEquals(StanzaError.Condition.not_acceptable, error.getError().getCondition(), "Unexpected error condition in the (expected) error that was received by '" + conOne.getUser() + "' (that currently is not an occupant) after it tried to send a private message to '" + conTwo.getUser() + "' (using nickname '" + nicknameTarget + "') in '" + mucAddress + "'.");
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             mucAsSeenByOwner.join(nicknameOwner);
             tryDestroy(mucAsSeenByOwner);
         }
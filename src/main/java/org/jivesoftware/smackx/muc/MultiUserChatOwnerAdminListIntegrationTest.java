@@ -19,6 +19,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
@@ -78,6 +79,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
     public void testOwnerRequestsAdminList() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-requests-adminlist");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
 
@@ -86,6 +88,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
         createMuc(mucAsSeenByOwner, nicknameOwner);
         try {
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.get);
@@ -93,10 +96,12 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
             conOne.sendIqRequestAndWaitForResponse(iq);
 
             // Verify result.
+            Phases.verify();
         } catch (XMPPException.XMPPErrorException e) {
             fail("Expected owner '" + conOne.getUser() + "' to be able to receive the admin list from '" + mucAddress + "' (but the server returned an error).", e);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -110,6 +115,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
     public void testUserRequestsAdminList() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-user-requests-adminlist");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
 
@@ -118,17 +124,20 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
         createMucSemiAnonymous(mucAsSeenByOwner, nicknameOwner);
         try {
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.get);
             iq.addItem(new MUCItem(MUCAffiliation.admin));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> conTwo.sendIqRequestAndWaitForResponse(iq),
                 "Expected user '" + conTwo.getUser() + "' (that is not in the room) to receive an error when requesting the admin list from '" + mucAddress + "' (but the server did not return an error).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (that is not in the room) after it requested the admin list of room '" + mucAddress + "'.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -142,6 +151,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
     public void testParticipantRequestsAdminList() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-user-requests-adminlist");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -154,17 +164,20 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
             mucAsSeenByParticipant.join(nicknameParticipant);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.get);
             iq.addItem(new MUCItem(MUCAffiliation.admin));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> conTwo.sendIqRequestAndWaitForResponse(iq),
                 "Expected participant '" + conTwo.getUser() + "' to receive an error when requesting the admin list from '" + mucAddress + "' (but the server did not return an error).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (that is a participant in the room) after it requested the admin list of room '" + mucAddress + "'.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -176,6 +189,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
     public void testAdminListItemCheck() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-admin-list-itemcheck");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -189,6 +203,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
             mucAsSeenByTarget.join(nicknameTarget);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.get);
@@ -196,11 +211,13 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
             final MUCAdmin response = conOne.sendIqRequestAndWaitForResponse(iq);
 
             // Verify result.
+            Phases.verify();
             assertFalse(response.getItems().stream().anyMatch(i -> i.getAffiliation() == null), "The admin list for '" + mucAddress + "' contains an item that does not have an 'affiliation' attribute (but all items must have one).");
             assertFalse(response.getItems().stream().anyMatch(i -> i.getJid() == null), "The admin list for '" + mucAddress + "' contains an item that does not have a 'jid' attribute (but all items must have one).");
             assertTrue(response.getItems().stream().anyMatch(i -> i.getJid().equals(conTwo.getUser().asBareJid())), "Expected the admin list requested by '" + conOne.getUser() + "' from '" + mucAddress + "' to include '" + conTwo.getUser().asBareJid() + "' (but it did not).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -212,6 +229,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
     public void testAdminListMultipleItems() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-adminlist-multiple");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -219,6 +237,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
         createMuc(mucAsSeenByOwner, nicknameOwner);
         try {
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -229,6 +248,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
                 conOne.sendIqRequestAndWaitForResponse(iq);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected the service to inform '" + conOne.getUser() + "' of success after they modified the admin list of room '" + mucAddress + "' (but instead, an error was returned).", e);
             }
@@ -236,6 +256,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
             assertTrue(mucAsSeenByOwner.getAdmins().stream().anyMatch(i -> i.getAffiliation() == MUCAffiliation.admin && i.getJid().equals(conThree.getUser().asBareJid())), "Expected the admin list for '" + mucAddress + "' to contain '" + conThree.getUser().asBareJid() + "' that was just added to the admin list by '" + conOne.getUser() + "' (but does not appear on the admin list).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -247,6 +268,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
     public void testAdminAdminListMultipleItemsRevoke() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-adminlist-revoke");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
 
@@ -261,6 +283,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
             }
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -271,6 +294,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
                 conOne.sendIqRequestAndWaitForResponse(iq);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected the service to inform '" + conOne.getUser() + "' of success after they modified the admin list of room '" + mucAddress + "' (but instead, an error was returned).", e);
             }
@@ -278,6 +302,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
             assertTrue(mucAsSeenByOwner.getAdmins().stream().noneMatch(i -> i.getAffiliation() == MUCAffiliation.admin && i.getJid().equals(conThree.getUser().asBareJid())), "Expected the admin list for '" + mucAddress + "' to not contain '" + conThree.getUser().asBareJid() + "' that was just removed from the admin list by '" + conOne.getUser() + "' (but does appear on the admin list).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -290,6 +315,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
     public void testOwnerAdminListIsDelta() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-adminlist-delta");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -309,6 +335,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
             }
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -319,6 +346,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
                 conOne.sendIqRequestAndWaitForResponse(iq);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected the service to inform '" + conOne.getUser() + "' of success after they modified the admin list of room '" + mucAddress + "' (but instead, an error was returned).", e);
             }
@@ -327,6 +355,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
             assertTrue(mucAsSeenByOwner.getAdmins().stream().anyMatch(i -> i.getAffiliation() == MUCAffiliation.admin && i.getJid().equals(unchangedAddress)), "Expected the admin list for '" + mucAddress + "' to contain '" + unchangedAddress + "' that already was an admin, and not in the change request issued by '" + conOne.getUser() + "' (but does not appear on the admin list).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -338,6 +367,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
     public void testAdminListRejectAdmin() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-adminlist-reject-admin");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -354,6 +384,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
             mucAsSeenByAdmin.join(nicknameAdmin); // Not strictly needed.
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -364,6 +395,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (that is not an owner but an admin) after it attempted to modify the admin list of room '" + mucAddress + "'.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -375,6 +407,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
     public void testAdminListRejectMember() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-adminlist-reject-member");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByMember = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -391,6 +424,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
             mucAsSeenByMember.join(nicknameMember); // Not strictly needed.
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -401,6 +435,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (that is not an owner but a member) after it attempted to modify the admin list of room '" + mucAddress + "'.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -412,6 +447,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
     public void testAdminListRejectOutcast() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-adminlist-reject-member");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -425,6 +461,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
             }
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -435,6 +472,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (that is not an owner but an outcast) after it attempted to modify the admin list of room '" + mucAddress + "'.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -446,6 +484,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
     public void testAdminListRejectNoneAffiliation() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-adminlist-reject-nonaff");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -457,6 +496,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
             mucAsSeenByParticipant.join(nicknameParticipant); // Not strictly needed.
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -467,6 +507,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (that is not an owner but a user without an affiliation) after it attempted to modify the admin list of room '" + mucAddress + "'.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -478,6 +519,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
     public void testAdminAdminListBroadcast() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-adminlist-broadcast");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget1 = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -569,6 +611,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
             });
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -579,6 +622,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
                 conOne.sendIqRequestAndWaitForResponse(iq);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected the service to inform '" + conOne.getUser() + "' of success after they modified the admin list of room '" + mucAddress + "' (but instead, an error was returned).", e);
             }
@@ -591,6 +635,7 @@ public class MultiUserChatOwnerAdminListIntegrationTest extends AbstractMultiUse
             assertResult(target2SeesGrantTarget2, "Expected '" + conThree.getUser() + "' to receive a presence stanza from '" + mucAddress + "' indicating the change in admin status for themself' (but did not).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
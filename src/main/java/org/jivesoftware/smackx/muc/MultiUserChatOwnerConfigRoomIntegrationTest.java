@@ -19,6 +19,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.ResultSyncPoint;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.ListenerHandle;
@@ -70,6 +71,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
             throw new TestNotPossibleException("The service at '" + mucAddress.asDomainBareJid() + "' does not allow for a room to be created." + e.getMessage());
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -81,6 +83,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
     public void testObtainRoomConfigWithoutRoleOrAffiliation() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-config-get-no-role-or-affiliation");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -92,12 +95,14 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
             requestConfigurationFormStanza.setType(IQ.Type.get);
 
             // Execute system under test & Verify result.
+            Phases.execute();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conTwo.sendIqRequestAndWaitForResponse(requestConfigurationFormStanza);
             }, "Expected an error after '" + conTwo.getUser() + "' (that has no role or affiliation) tried to get a room configuration form for room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' after it tried to get a room configuration form for room '" + mucAddress + "' while not having a role or affiliation for that room.");
        } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -109,6 +114,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
     public void testObtainRoomConfigNonAffiliatedUser() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-config-get-by-participant");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -123,12 +129,14 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
             requestConfigurationFormStanza.setType(IQ.Type.get);
 
             // Execute system under test & Verify result.
+            Phases.execute();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conTwo.sendIqRequestAndWaitForResponse(requestConfigurationFormStanza);
             }, "Expected an error after '" + conTwo.getUser() + "' (that is a participant but no owner) tried to get a room configuration form for room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' after it tried to get a room configuration form for room '" + mucAddress + "' while having joined the room, but without being an owner.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -143,6 +151,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
     public void testObtainRoomConfigOwnerNonJoined() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-config-get-by-owner-not-joined");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -162,14 +171,17 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
 
             try {
                 // Execute system under test.
+                Phases.execute();
                 conOne.sendIqRequestAndWaitForResponse(requestConfigurationFormStanza);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to request a configuration form for '" + mucAddress + "' without being in the room (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             if (!mucAsSeenByOwner.isJoined()) {
                 mucAsSeenByOwner.join(nicknameOwner);
             }
@@ -184,6 +196,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
     public void testObtainRoomConfigOwnerJoined() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-config-get-by-owner-joined");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -197,14 +210,17 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
 
             try {
                 // Execute system under test.
+                Phases.execute();
                 conOne.sendIqRequestAndWaitForResponse(requestConfigurationFormStanza);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to request a configuration form for '" + mucAddress + "' while being in the room (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -219,6 +235,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
     public void testObtainRoomConfigHasCurrentOptionsAsDefaults() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-config-defaults");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -257,6 +274,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
             }
 
             // Execute system under test.
+            Phases.execute();
             final MUCOwner requestConfigurationFormStanza = new MUCOwner();
             requestConfigurationFormStanza.setTo(mucAddress);
             requestConfigurationFormStanza.setType(IQ.Type.get);
@@ -265,6 +283,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
                 final IQ response = conOne.sendIqRequestAndWaitForResponse(requestConfigurationFormStanza);
 
                 // Verify result.
+                Phases.verify();
                 final DataForm configurationForm = DataForm.from(response);
                 for (final Map.Entry<String, FormField.Value> entry : optionValues.entrySet()) {
                     final String fieldName = entry.getKey();
@@ -277,6 +296,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -288,6 +308,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
     public void testRoomConfigCancel() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-config-cancel");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -299,6 +320,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
 
             try {
                 // Execute system under test.
+                Phases.execute();
                 final MUCOwner cancelRequest = new MUCOwner();
                 cancelRequest.setTo(mucAddress);
                 cancelRequest.setType(IQ.Type.set);
@@ -307,6 +329,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
                 conOne.sendIqRequestAndWaitForResponse(cancelRequest);
 
                 // Verify result.
+                Phases.verify();
                 final List<FormField> laterConfig = mucAsSeenByOwner.getConfigurationForm().getDataForm().getFields();
                 assertArrayEquals(originalConfig.toArray(), laterConfig.toArray(), "Expected the room configuration for '" + mucAddress + "' to remain unchanged after cancelling a configuration form, but the list of form field taken before and after the form cancellation differs.");
             } catch (XMPPException.XMPPErrorException e) {
@@ -314,6 +337,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -325,6 +349,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
     public void testRoomConfigDropAdmin() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-drop-admin");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -392,11 +417,13 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
 
             try {
                 // Execute system under test.
+                Phases.execute();
                 mucAsSeenByOwner.getConfigFormManager()
                     .setRoomAdmins(Set.of()) // Remove the admin.
                     .submitConfigurationForm();
 
                 // Verify result.
+                Phases.verify();
                 assertResult(ownerSeesRevoke, "Expected '" + conOne.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the revokation of admin status from '" + targetMucAddress + "', after '" + conOne.getUser() + " updated the room configuration to remove '" + conTwo.getUser() + "' as a room admin (but no such stanza was received).");
                 assertResult(targetSeesRevoke, "Expected '" + conTwo.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the revokation of admin status from '" + targetMucAddress + "', after '" + conOne.getUser() + " updated the room configuration to remove '" + conTwo.getUser() + "' as a room admin (but no such stanza was received).");
                 assertResult(participantSeesRevoke, "Expected '" + conThree.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the revokation of admin status from '" + targetMucAddress + "', after '" + conOne.getUser() + " updated the room configuration to remove '" + conTwo.getUser() + "' as a room admin (but no such stanza was received).");
@@ -407,6 +434,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
             throw new TestNotPossibleException(e);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -418,6 +446,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
     public void testRoomConfigAddAdmin() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-add-admin");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -483,11 +512,13 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
 
             try {
                 // Execute system under test.
+                Phases.execute();
                 mucAsSeenByOwner.getConfigFormManager()
                     .setRoomAdmins(Set.of( conTwo.getUser().asBareJid()))
                     .submitConfigurationForm();
 
                 // Verify result.
+                Phases.verify();
                 assertResult(ownerSeesGrant, "Expected '" + conOne.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the granting of admin status to '" + targetMucAddress + "', after '" + conOne.getUser() + " updated the room configuration to add '" + conTwo.getUser() + "' as a room admin (but no such stanza was received).");
                 assertResult(targetSeesGrant, "Expected '" + conTwo.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the granting of admin status to '" + targetMucAddress + "', after '" + conOne.getUser() + " updated the room configuration to add '" + conTwo.getUser() + "' as a room admin (but no such stanza was received).");
                 assertResult(participantSeesGrant, "Expected '" + conThree.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the granting of admin status to '" + targetMucAddress + "', after '" + conOne.getUser() + " updated the room configuration to add '" + conTwo.getUser() + "' as a room admin (but no such stanza was received).");
@@ -498,6 +529,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
             throw new TestNotPossibleException(e);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -509,6 +541,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
     public void testRoomConfigDropOwner() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-drop-owner");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -576,11 +609,13 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
 
             try {
                 // Execute system under test.
+                Phases.execute();
                 mucAsSeenByOwner.getConfigFormManager()
                     .setRoomOwners(Set.of(conOne.getUser().asBareJid()))
                     .submitConfigurationForm();
 
                 // Verify result.
+                Phases.verify();
                 assertResult(ownerSeesRevoke, "Expected '" + conOne.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the revokation of ownership from '" + targetMucAddress + "', after '" + conOne.getUser() + " updated the room configuration to remove '" + conTwo.getUser() + "' as a room owner (but no such stanza was received).");
                 assertResult(targetSeesRevoke, "Expected '" + conTwo.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the revokation of ownership from '" + targetMucAddress + "', after '" + conOne.getUser() + " updated the room configuration to remove '" + conTwo.getUser() + "' as a room owner (but no such stanza was received).");
                 assertResult(participantSeesRevoke, "Expected '" + conThree.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the revokation of ownership from '" + targetMucAddress + "', after '" + conOne.getUser() + " updated the room configuration to remove '" + conTwo.getUser() + "' as a room owner (but no such stanza was received).");
@@ -591,6 +626,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
             throw new TestNotPossibleException(e);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -602,6 +638,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
     public void testRoomConfigRemoveLastOwner() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-remove-last");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -610,6 +647,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
             createMuc(mucAsSeenByOwner, nicknameOwner);
 
             // Execute system under test & Verify result.
+            Phases.execute();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 mucAsSeenByOwner.getConfigFormManager()
                     .setRoomOwners(new HashSet<>())
@@ -618,6 +656,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
             assertEquals(StanzaError.Condition.conflict, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conOne.getUser() + "' after it tried to remove itself as owner of room '" + mucAddress + "' using the room configuration form.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -629,6 +668,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
     public void testRoomConfigAddOwner() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-add-owner");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -694,11 +734,13 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
 
             try {
                 // Execute system under test.
+                Phases.execute();
                 mucAsSeenByOwner.getConfigFormManager()
                     .setRoomOwners(Set.of(conOne.getUser().asBareJid(), conTwo.getUser().asBareJid()))
                     .submitConfigurationForm();
 
                 // Verify result.
+                Phases.verify();
                 assertResult(ownerSeesGrant, "Expected '" + conOne.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the granting of ownership to '" + targetMucAddress + "', after '" + conOne.getUser() + " updated the room configuration to add '" + conTwo.getUser() + "' as a room owner (but no such stanza was received).");
                 assertResult(targetSeesGrant, "Expected '" + conTwo.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the granting of ownership to '" + targetMucAddress + "', after '" + conOne.getUser() + " updated the room configuration to add '" + conTwo.getUser() + "' as a room owner (but no such stanza was received).");
                 assertResult(participantSeesGrant, "Expected '" + conThree.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the granting of ownership to '" + targetMucAddress + "', after '" + conOne.getUser() + " updated the room configuration to add '" + conTwo.getUser() + "' as a room owner (but no such stanza was received).");
@@ -709,6 +751,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
             throw new TestNotPossibleException(e);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -720,6 +763,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
     public void testRoomConfigToMemberOnly() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-make-memberonly");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -773,11 +817,13 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
                  final ListenerHandle ignored3 = conThree.addStanzaListener(stanza -> memberSeesRemoval.signal((Presence) stanza), removalDetectionFilter))
             {
                 // Execute system under test.
+                Phases.execute();
                 mucAsSeenByOwner.getConfigFormManager()
                     .setMembersOnly(true)
                     .submitConfigurationForm();
 
                 // Verify result.
+                Phases.verify();
                 final Presence ownerKick = assertResult(ownerSeesRemoval, "Expected '" + conOne.getUser() + "' to receive an 'unavailable' presence stanza from '" + targetMucAddress + "' indicating that non-member '" + targetMucAddress + "' was removed from the room, after '" + conOne.getUser() + " updated the room configuration to be members-only (but no such stanza was received).");
                 assertTrue(ownerKick.getExtension(MUCUser.class).getStatus().stream().anyMatch(status -> status.getCode() == 322), "Expected to find status code '322' in the 'unavailable' presence stanza that '" + conOne.getUser() + "' received from '" + targetMucAddress + "' indicating that non-member '" + targetMucAddress + "' was removed from the room, after '" + conOne.getUser() + " updated the room configuration to be members-only (but that status code was not found).");
                 final Stanza targetKick = assertResult(targetSeesRemoval, "Expected '" + conTwo.getUser() + "' to receive an 'unavailable' presence stanza from '" + targetMucAddress + "' indicating that non-member '" + targetMucAddress + "' was removed from the room, after '" + conOne.getUser() + " updated the room configuration to be members-only (but no such stanza was received).");
@@ -791,6 +837,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
             throw new TestNotPossibleException(e);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -802,6 +849,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
     public void testRoomConfigNotification170() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-notify-170");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -828,11 +876,13 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
                  final ListenerHandle ignored2 = conTwo.addStanzaListener(stanza -> participantSeesNotification.signal(), notificationDetectionFilter))
             {
                 // Execute system under test.
+                Phases.execute();
                 mucAsSeenByOwner.getConfigFormManager()
                     .enablePublicLogging()
                     .submitConfigurationForm();
 
                 // Verify result.
+                Phases.verify();
                 assertResult(ownerSeesNotification, "Expected '" + conOne.getUser() + "' to receive an a message stanza notification with status code " + statusCode + " from '" + mucAddress + "'  after '" + conOne.getUser() + " updated the room configuration to enable room logging (but no such stanza was received).");
                 assertResult(participantSeesNotification, "Expected '" + conTwo.getUser() + "' to receive an a message stanza notification with status code " + statusCode + " from '" + mucAddress + "'  after '" + conOne.getUser() + " updated the room configuration to enable room logging (but no such stanza was received).");
             } catch (XMPPException.XMPPErrorException e) {
@@ -842,6 +892,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
             throw new TestNotPossibleException(e);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -853,6 +904,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
     public void testRoomConfigNotification171() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-notify-171");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -879,11 +931,13 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
                  final ListenerHandle ignored2 = conTwo.addStanzaListener(stanza -> participantSeesNotification.signal(), notificationDetectionFilter))
             {
                 // Execute system under test.
+                Phases.execute();
                 mucAsSeenByOwner.getConfigFormManager()
                     .disablPublicLogging()
                     .submitConfigurationForm();
 
                 // Verify result.
+                Phases.verify();
                 assertResult(ownerSeesNotification, "Expected '" + conOne.getUser() + "' to receive an a message stanza notification with status code " + statusCode + " from '" + mucAddress + "'  after '" + conOne.getUser() + " updated the room configuration to disable room logging (but no such stanza was received).");
                 assertResult(participantSeesNotification, "Expected '" + conTwo.getUser() + "' to receive an a message stanza notification with status code " + statusCode + " from '" + mucAddress + "'  after '" + conOne.getUser() + " updated the room configuration to disable room logging (but no such stanza was received).");
             } catch (XMPPException.XMPPErrorException e) {
@@ -893,6 +947,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
             throw new TestNotPossibleException(e);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -904,6 +959,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
     public void testRoomConfigNotification172() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-notify-172");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -928,12 +984,14 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
                  final ListenerHandle ignored2 = conTwo.addStanzaListener(stanza -> participantSeesNotification.signal(), notificationDetectionFilter))
             {
                 // Execute system under test.
+                Phases.execute();
                 final Form configForm = mucAsSeenByOwner.getConfigurationForm();
                 final FillableForm answerForm = configForm.getFillableForm();
                 answerForm.setAnswer("muc#roomconfig_whois", "anyone");
                 mucAsSeenByOwner.sendConfigurationForm(answerForm);
 
                 // Verify result.
+                Phases.verify();
                 assertResult(ownerSeesNotification, "Expected '" + conOne.getUser() + "' to receive an a message stanza notification with status code " + statusCode + " from '" + mucAddress + "'  after '" + conOne.getUser() + " updated the room configuration to be non-anonymous (but no such stanza was received).");
                 assertResult(participantSeesNotification, "Expected '" + conTwo.getUser() + "' to receive an a message stanza notification with status code " + statusCode + " from '" + mucAddress + "'  after '" + conOne.getUser() + " updated the room configuration to be non-anonymous (but no such stanza was received).");
             } catch (XMPPException.XMPPErrorException e) {
@@ -941,6 +999,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -952,6 +1011,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
     public void testRoomConfigNotification173() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-notify-173");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -975,12 +1035,14 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
                  final ListenerHandle ignored2 = conTwo.addStanzaListener(stanza -> participantSeesNotification.signal(), notificationDetectionFilter))
             {
                 // Execute system under test.
+                Phases.execute();
                 final Form configForm = mucAsSeenByOwner.getConfigurationForm();
                 final FillableForm answerForm = configForm.getFillableForm();
                 answerForm.setAnswer("muc#roomconfig_whois", "moderators");
                 mucAsSeenByOwner.sendConfigurationForm(answerForm);
 
                 // Verify result.
+                Phases.verify();
                 assertResult(ownerSeesNotification, "Expected '" + conOne.getUser() + "' to receive an a message stanza notification with status code " + statusCode + " from '" + mucAddress + "'  after '" + conOne.getUser() + " updated the room configuration to be semi-anonymous (but no such stanza was received).");
                 assertResult(participantSeesNotification, "Expected '" + conTwo.getUser() + "' to receive an a message stanza notification with status code " + statusCode + " from '" + mucAddress + "'  after '" + conOne.getUser() + " updated the room configuration to be semi-anonymous (but no such stanza was received).");
             } catch (XMPPException.XMPPErrorException e) {
@@ -988,6 +1050,7 @@ public class MultiUserChatOwnerConfigRoomIntegrationTest extends AbstractMultiUs
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
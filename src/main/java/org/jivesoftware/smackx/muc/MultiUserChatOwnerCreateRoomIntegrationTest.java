@@ -19,6 +19,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.StanzaCollector;
@@ -68,6 +69,7 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
     public void testRoomLockedWhenCreated() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-locked-when-created");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -85,14 +87,17 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
         final StanzaFilter responseFilter = new AndFilter(StanzaTypeFilter.PRESENCE, FromMatchesFilter.createBare(ownerMucAddress));
 
         // Execute system under test.
+        Phases.execute();
         try (final StanzaCollector collector = conOne.createStanzaCollectorAndSend(responseFilter, createMucStanza)) {
             collector.nextResult();
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException xmppErrorException = assertThrows(XMPPException.XMPPErrorException.class, () -> mucAsSeenByParticipant.join(nicknameParticipant), "Expected an error to be returned to '" + conTwo.getUser() + "' when they tried to join room '" + mucAddress + "' that should currently be 'locked' (but no error was returned).");
             assertEquals(StanzaError.Condition.item_not_found, xmppErrorException.getStanzaError().getCondition(), "Unexpected condition in (expected) error that was returned to '" + conTwo.getUser() + "' when they tried to join room '" + mucAddress + "' that should currently be 'locked'.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -104,6 +109,7 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
     public void testRoomResponseIndicatesAcknowledgement() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-response-indicates-acknowledgement");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -117,15 +123,18 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
         final StanzaFilter responseFilter = new AndFilter(StanzaTypeFilter.PRESENCE, FromMatchesFilter.createBare(ownerMucAddress));
 
         // Execute system under test.
+        Phases.execute();
         try (final StanzaCollector collector = conOne.createStanzaCollectorAndSend(responseFilter, createMucStanza)) {
             final Presence response = collector.nextResult();
 
             // Verify result.
+            Phases.verify();
             final MUCUser extension = response.getExtension(MUCUser.class);
             assertNotNull(extension, "Expected the initial presence returned by '" + mucAddress + "' to owner '" + conOne.getUser() + "' (MUC address '" + ownerMucAddress + "') to include extended presence information (but it does not).");
             assertTrue(extension.getStatus().contains(MUCUser.Status.ROOM_CREATED_201), "Expected the initial presence returned by '" + mucAddress + "' to owner '" + conOne.getUser() + "' (MUC address '" + ownerMucAddress + "') to acknowledge that the room has been created by including the '201' status code (but it does not).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -137,6 +146,7 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
     public void testRoomResponseIndicatesCreatorIsOwner() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-response-indicates-creator-is-owner");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -150,10 +160,12 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
         final StanzaFilter responseFilter = new AndFilter(StanzaTypeFilter.PRESENCE, FromMatchesFilter.createBare(ownerMucAddress));
 
         // Execute system under test.
+        Phases.execute();
         try (final StanzaCollector collector = conOne.createStanzaCollectorAndSend(responseFilter, createMucStanza)) {
             final Presence response = collector.nextResult();
 
             // Verify result.
+            Phases.verify();
             final MUCUser extension = response.getExtension(MUCUser.class);
             assertNotNull(extension, "Expected the initial presence returned by '" + mucAddress + "' to owner '" + conOne.getUser() + "' (MUC address '" + ownerMucAddress + "') to include extended presence information (but it does not).");
             assertTrue(extension.getStatus().contains(MUCUser.Status.PRESENCE_TO_SELF_110), "Expected the initial presence returned by '" + mucAddress + "' to owner '" + conOne.getUser() + "' (MUC address '" + ownerMucAddress + "') to indicate the user's status as 'owner' by including the '110' status code (but it does not).");
@@ -161,6 +173,7 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
             assertEquals(MUCAffiliation.owner, extension.getItem().getAffiliation(), "Expected the initial presence returned by '" + mucAddress + "' to owner '" + conOne.getUser() + "' (MUC address '" + ownerMucAddress + "') to indicate the user's status as 'owner' by including the 'owner' affiliation (but it does not).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -172,6 +185,7 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
     public void testRoomConfigurationFormRequest() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-request-conf-form");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -192,12 +206,15 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
             collector.nextResult();
 
             // Execute system under test.
+            Phases.execute();
             final IQ response = conOne.sendIqRequestAndWaitForResponse(requestConfigurationFormStanza);
 
             // Verify result.
+            Phases.verify();
             assertTrue(response instanceof MUCOwner || response.hasExtension(MUCOwner.ELEMENT, MUCOwner.NAMESPACE), "Expected the response with stanza ID '" + response.getStanzaId() + "' from '" + mucAddress + "' to the request for a configuration form from '" + conOne.getUser() + "' (MUC address '" + ownerMucAddress + "') to be a stanza that includes a child element named '" + MUCOwner.ELEMENT + "' qualified by the namespace '" + MUCOwner.NAMESPACE + "' (but it does not).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -209,6 +226,7 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
     public void testRoomConfigurationFormResponse() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-request-conf-form-response");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -229,10 +247,12 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
             collector.nextResult();
 
             // Execute system under test.
+            Phases.execute();
             final IQ response = conOne.sendIqRequestAndWaitForResponse(requestConfigurationFormStanza);
             final DataForm form = response.getExtension(DataForm.class);
 
             // Verify result (a null form is a valid response!)
+            Phases.verify();
             boolean hasConfigurationOptions = false;
             if (form != null) {
                 hasConfigurationOptions = form.getFields().stream().anyMatch(formField -> !List.of(FormField.Type.hidden, FormField.Type.fixed).contains(formField.getType()));
@@ -240,6 +260,7 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
             assertTrue(form == null || hasConfigurationOptions, "Expected the response with stanza ID '" + response.getStanzaId() + "' from '" + mucAddress + "' to the request for a configuration form from '" + conOne.getUser() + "' (MUC address '" + ownerMucAddress + "') to either contain no configuration form, or a form that includes one or more configuration options. The form that was returned has no configuration options.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -258,6 +279,7 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
     public void testRoomConfigurationUnlocksRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-config-unlocks");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -288,6 +310,7 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
             }
 
             // Execute system under test.
+            Phases.execute();
             final DataForm dataFormToSubmit;
             final FillableForm fillableForm = new FillableForm(form);
             try {
@@ -331,6 +354,7 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
             }
 
             // Verify result
+            Phases.verify();
             try {
                 mucAsSeenByParticipant.join(nicknameParticipant);
             } catch (XMPPException.XMPPErrorException e) {
@@ -341,6 +365,7 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -352,6 +377,7 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
     public void testRoomRequestInstantRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-request-instant");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
 
@@ -374,6 +400,7 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
             collector.nextResult();
 
             // Execute system under test.
+            Phases.execute();
             final MUCOwner instantRoomRequest = new MUCOwner();
             instantRoomRequest.setTo(mucAddress);
             instantRoomRequest.setType(IQ.Type.set);
@@ -384,11 +411,13 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
                 response = conOne.sendIqRequestAndWaitForResponse(instantRoomRequest);
             } catch (XMPPException.XMPPErrorException e) {
                 // Verify result
+                Phases.verify();
                 fail("Expected '" + mucAddress + "' to receive an IQ response of type 'result' after '" + conOne.getUser() + "' (MUC address '" + ownerMucAddress + "') requested an instant room to be created, but an error was returned instead: " + e.getStanzaError());
             }
             assertEquals(IQ.Type.result, response.getType(), "Expected '" + mucAddress + "' to receive an IQ response of type 'result' after '" + conOne.getUser() + "' (MUC address '" + ownerMucAddress + "') requested an instant room to be created (but another type was received).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -400,6 +429,7 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
     public void testRoomConfigCancelDestroysRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-cancel-destroys");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -420,6 +450,7 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
             collector.nextResult();
 
             // Execute system under test.
+            Phases.execute();
             final MUCOwner cancelRequest = new MUCOwner();
             cancelRequest.setTo(mucAddress);
             cancelRequest.setType(IQ.Type.set);
@@ -433,9 +464,11 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
             conOne.sendStanza(cancelRequest);
 
             // Verify result
+            Phases.verify();
             assertResult(ownerSeesDestruction, "Expected '" + mucAddress + "' to be destroyed after '" + conOne.getUser() + "' (MUC address '" + ownerMucAddress + "') cancelled the configuration of the room, but no destruction stanza was received by the user.");
         } catch (Throwable t) { // Only tear down on a failure, as the MUC will otherwise already have been destroyed!
             // Tear down test fixture.
+            Phases.teardown();
             try {
                 tryDestroy(mucAsSeenByOwner);
             } catch (XMPPException.XMPPErrorException e) {
@@ -454,6 +487,7 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
     public void testRoomRequestInstantUnlocksRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-instant-unlocks");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -490,10 +524,12 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
             }
 
             // Execute system under test.
+            Phases.execute();
             try {
                 mucAsSeenByParticipant.join(nicknameParticipant);
             } catch (XMPPException.XMPPErrorException e) {
                 // Verify result
+                Phases.verify();
                 if (StanzaError.Condition.item_not_found.equals(e.getStanzaError().getCondition())) {
                     fail("Expected '" + mucAddress + "' to be unlocked after '" + conOne.getUser() + "' (MUC address '" + ownerMucAddress + "') requested an instant room to be created, but '" + conTwo.getUser()+ "' (using nickname '" + nicknameParticipant + "') cannot join the room.");
                 }
@@ -501,6 +537,7 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -513,6 +550,7 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
     public void testRoomRequestInitialConfigForm() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-get-config");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
 
@@ -532,15 +570,18 @@ public class MultiUserChatOwnerCreateRoomIntegrationTest extends AbstractMultiUs
         requestConfigurationFormStanza.setType(IQ.Type.get);
 
         // Execute system under test.
+        Phases.execute();
         try (final StanzaCollector collector = conOne.createStanzaCollectorAndSend(responseFilter, createMucStanza)) {
             collector.nextResult();
             final IQ response = conOne.sendIqRequestAndWaitForResponse(requestConfigurationFormStanza);
 
             // Verify result
+            Phases.verify();
             final DataForm form = response.getExtension(DataForm.class);
             assertNotNull(form, "Expected '" + conOne.getUser() + "' (MUC address '" + ownerMucAddress + "') to receive a (possibly empty) initial configuration form after requesting one from '" + mucAddress + "' (but none was received).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
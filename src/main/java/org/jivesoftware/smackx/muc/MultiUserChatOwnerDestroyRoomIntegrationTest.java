@@ -19,6 +19,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.ResultSyncPoint;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.SmackException;
@@ -60,6 +61,7 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
     public void testDestroyPersistentRoom() throws MultiUserChatException.MucAlreadyJoinedException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, MultiUserChatException.MissingMucCreationAcknowledgeException, SmackException.NoResponseException, InterruptedException, MultiUserChatException.NotAMucServiceException, XmppStringprepException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-destroy-prst");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -79,6 +81,7 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
             }
 
             // Execute system under test.
+            Phases.execute();
             final MUCOwner request = new MUCOwner();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -88,11 +91,13 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
                 conOne.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to destroy the persistent room '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             if (mucAsSeenByOwner.isJoined()) {
                 tryDestroy(mucAsSeenByOwner);
             }
@@ -106,6 +111,7 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
     public void testDestroyTemporaryRoom() throws MultiUserChatException.MucAlreadyJoinedException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, MultiUserChatException.MissingMucCreationAcknowledgeException, SmackException.NoResponseException, InterruptedException, MultiUserChatException.NotAMucServiceException, XmppStringprepException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-destroy-temporary");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -125,6 +131,7 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
             }
 
             // Execute system under test.
+            Phases.execute();
             final MUCOwner request = new MUCOwner();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -133,11 +140,13 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
                 conOne.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to destroy the temporary room '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             if (mucAsSeenByOwner.isJoined()) {
                 tryDestroy(mucAsSeenByOwner);
             }
@@ -151,6 +160,7 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
     public void testAlternateVenue() throws MultiUserChatException.MucAlreadyJoinedException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, MultiUserChatException.MissingMucCreationAcknowledgeException, SmackException.NoResponseException, InterruptedException, MultiUserChatException.NotAMucServiceException, XmppStringprepException
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-destroy-alternatevenue");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -158,6 +168,7 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
             createMuc(mucAsSeenByOwner, nicknameOwner);
 
             // Execute system under test.
+            Phases.execute();
             final MUCOwner request = new MUCOwner();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -166,11 +177,13 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
                 conOne.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to destroy room '" + mucAddress + "' while providing an alternative venue (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             if (mucAsSeenByOwner.isJoined()) {
                 tryDestroy(mucAsSeenByOwner);
             }
@@ -184,6 +197,7 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
     public void testAlternateVenuePassword() throws MultiUserChatException.MucAlreadyJoinedException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, MultiUserChatException.MissingMucCreationAcknowledgeException, SmackException.NoResponseException, InterruptedException, MultiUserChatException.NotAMucServiceException, XmppStringprepException
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-destroy-alternatevenuepassword");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -191,6 +205,7 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
             createMuc(mucAsSeenByOwner, nicknameOwner);
 
             // Execute system under test.
+            Phases.execute();
             final MUCOwner request = new MUCOwner();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -199,11 +214,13 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
                 conOne.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to destroy room '" + mucAddress + "' while providing an alternative venue and password (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             if (mucAsSeenByOwner.isJoined()) {
                 tryDestroy(mucAsSeenByOwner);
             }
@@ -217,6 +234,7 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
     public void testReason() throws MultiUserChatException.MucAlreadyJoinedException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, MultiUserChatException.MissingMucCreationAcknowledgeException, SmackException.NoResponseException, InterruptedException, MultiUserChatException.NotAMucServiceException, XmppStringprepException
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-destroy-reason");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -224,6 +242,7 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
             createMuc(mucAsSeenByOwner, nicknameOwner);
 
             // Execute system under test.
+            Phases.execute();
             final MUCOwner request = new MUCOwner();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -232,11 +251,13 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
                 conOne.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to destroy room '" + mucAddress + "' while providing reason for the destruction (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             if (mucAsSeenByOwner.isJoined()) {
                 tryDestroy(mucAsSeenByOwner);
             }
@@ -250,6 +271,7 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
     public void testPresence() throws MultiUserChatException.MucAlreadyJoinedException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, MultiUserChatException.MissingMucCreationAcknowledgeException, SmackException.NoResponseException, InterruptedException, MultiUserChatException.NotAMucServiceException, XmppStringprepException, TimeoutException
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-destroy-presence");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -278,6 +300,7 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
             mucAsSeenByParticipant.join(nicknameParticipant);
 
             // Execute system under test.
+            Phases.execute();
             final MUCOwner request = new MUCOwner();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -286,10 +309,12 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
             conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             assertResult(ownerSeesDestroy, "Expected owner '" + conOne.getUser() + "' (joined as '" + nicknameOwner + "') to be notified of destruction of room '" + mucAddress + "' (but no such notification was received).");
             assertResult(participantSeesDestroy, "Expected participant '" + conTwo.getUser() + "' (joined as '" + nicknameParticipant + "') to be notified of destruction of room '" + mucAddress + "' (but no such notification was received).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             mucAsSeenByOwner.removeUserStatusListener(ownerListener);
             mucAsSeenByParticipant.removeUserStatusListener(participantListener);
             if (mucAsSeenByOwner.isJoined()) {
@@ -306,6 +331,7 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
     public void testPresenceOptional() throws MultiUserChatException.MucAlreadyJoinedException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, MultiUserChatException.MissingMucCreationAcknowledgeException, SmackException.NoResponseException, InterruptedException, MultiUserChatException.NotAMucServiceException, XmppStringprepException, TimeoutException
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-destroy-presenceext");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -338,6 +364,7 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
             mucAsSeenByParticipant.join(nicknameParticipant);
 
             // Execute system under test.
+            Phases.execute();
             final MUCOwner request = new MUCOwner();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -346,6 +373,7 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
             conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             final Destroy ownerDestroy = assertResult(ownerSeesDestroy, "Expected owner '" + conOne.getUser() + "' (joined as '" + nicknameOwner + "') to be notified of destruction of room '" + mucAddress + "' (but no such notification was received).");
             assertEquals(alternateVenue, ownerDestroy.getJid(), "Expected the presence received by owner '" + conOne.getUser() + "' (joined as '" + nicknameOwner + "') after room '" + mucAddress + "' got destroyed to include the alternate venue address that was provided in the destruction request (but that was found in the received presence).");
             assertEquals(password, ownerDestroy.getPassword(), "Expected the presence received by owner '" + conOne.getUser() + "' (joined as '" + nicknameOwner + "') after room '" + mucAddress + "' got destroyed to include the alternate venue password that was provided in the destruction request (but that was found in the received presence).");
@@ -356,6 +384,7 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
             assertEquals(reason, participantDestroy.getReason(), "Expected the presence received by participant '" + conTwo.getUser() + "' (joined as '" + nicknameParticipant + "') after room '" + mucAddress + "' got destroyed to include the reason that was provided in the destruction request (but that was found in the received presence).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             mucAsSeenByOwner.removeUserStatusListener(ownerListener);
             mucAsSeenByParticipant.removeUserStatusListener(participantListener);
             if (mucAsSeenByOwner.isJoined()) {
@@ -371,6 +400,7 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
     public void testAuthorizationAdmin() throws MultiUserChatException.MucAlreadyJoinedException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, MultiUserChatException.MissingMucCreationAcknowledgeException, SmackException.NoResponseException, InterruptedException, MultiUserChatException.NotAMucServiceException, XmppStringprepException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-destroy-auth-admin");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -389,17 +419,20 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
             mucAsSeenByAdmin.join(nicknameAdmin);
 
             // Execute system under test.
+            Phases.execute();
             final MUCOwner request = new MUCOwner();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
             request.setDestroy(new Destroy(null, null));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException xmppErrorException = assertThrows(XMPPException.XMPPErrorException.class, () -> { conTwo.sendIqRequestAndWaitForResponse(request); },
                 "Expected an error to be returned when '" + conTwo.getUser() + "' (joined as '" + nicknameAdmin + "', an admin, not a room owner) tried to destroy room '" + mucAddress + "' (but no error was received).");
             assertEquals(StanzaError.Condition.forbidden, xmppErrorException.getStanzaError().getCondition(), "Unexpected condition in the (expected) error after '" + conTwo.getUser() + "' (joined as '" + nicknameAdmin + "', an admin, not a room owner) tried to destroy room '" + mucAddress);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             if (mucAsSeenByOwner.isJoined()) {
                 tryDestroy(mucAsSeenByOwner);
             }
@@ -413,6 +446,7 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
     public void testAuthorizationMember() throws MultiUserChatException.MucAlreadyJoinedException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, MultiUserChatException.MissingMucCreationAcknowledgeException, SmackException.NoResponseException, InterruptedException, MultiUserChatException.NotAMucServiceException, XmppStringprepException, TestNotPossibleException, MultiUserChatException.MucConfigurationNotSupportedException
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-destroy-auth-member");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByMember = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -431,17 +465,20 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
             mucAsSeenByMember.join(nicknameMember);
 
             // Execute system under test.
+            Phases.execute();
             final MUCOwner request = new MUCOwner();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
             request.setDestroy(new Destroy(null, null));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException xmppErrorException = assertThrows(XMPPException.XMPPErrorException.class, () -> { conTwo.sendIqRequestAndWaitForResponse(request); },
                 "Expected an error to be returned when '" + conTwo.getUser() + "' (joined as '" + nicknameMember + "', a member, not a room owner) tried to destroy room '" + mucAddress + "' (but no error was received).");
             assertEquals(StanzaError.Condition.forbidden, xmppErrorException.getStanzaError().getCondition(), "Unexpected condition in the (expected) error after '" + conTwo.getUser() + "' (joined as '" + nicknameMember + "', a member, not a room owner) tried to destroy room '" + mucAddress);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             if (mucAsSeenByOwner.isJoined()) {
                 tryDestroy(mucAsSeenByOwner);
             }
@@ -455,6 +492,7 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
     public void testAuthorizationOutcast() throws MultiUserChatException.MucAlreadyJoinedException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, MultiUserChatException.MissingMucCreationAcknowledgeException, SmackException.NoResponseException, InterruptedException, MultiUserChatException.NotAMucServiceException, XmppStringprepException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-destroy-auth-outcast");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
 
@@ -469,17 +507,20 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
             }
 
             // Execute system under test.
+            Phases.execute();
             final MUCOwner request = new MUCOwner();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
             request.setDestroy(new Destroy(null, null));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException xmppErrorException = assertThrows(XMPPException.XMPPErrorException.class, () -> { conTwo.sendIqRequestAndWaitForResponse(request); },
                 "Expected an error to be returned when '" + conTwo.getUser() + "' (an outcast, not a room owner) tried to destroy room '" + mucAddress + "' (but no error was received).");
             assertEquals(StanzaError.Condition.forbidden, xmppErrorException.getStanzaError().getCondition(), "Unexpected condition in the (expected) error after '" + conTwo.getUser() + "' (an outcast, not a room owner) tried to destroy room '" + mucAddress);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             if (mucAsSeenByOwner.isJoined()) {
                 tryDestroy(mucAsSeenByOwner);
             }
@@ -493,6 +534,7 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
     public void testAuthorizationParticipant() throws MultiUserChatException.MucAlreadyJoinedException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, MultiUserChatException.MissingMucCreationAcknowledgeException, SmackException.NoResponseException, InterruptedException, MultiUserChatException.NotAMucServiceException, XmppStringprepException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-destroy-auth-participant");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -505,17 +547,20 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
             mucAsSeenByParticipant.join(nicknameParticipant);
 
             // Execute system under test.
+            Phases.execute();
             final MUCOwner request = new MUCOwner();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
             request.setDestroy(new Destroy(null, null));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException xmppErrorException = assertThrows(XMPPException.XMPPErrorException.class, () -> { conTwo.sendIqRequestAndWaitForResponse(request); },
                 "Expected an error to be returned when '" + conTwo.getUser() + "' (joined as '" + nicknameParticipant + "', an unaffiliated participant, not a room owner) tried to destroy room '" + mucAddress + "' (but no error was received).");
             assertEquals(StanzaError.Condition.forbidden, xmppErrorException.getStanzaError().getCondition(), "Unexpected condition in the (expected) error after '" + conTwo.getUser() + "' (joined as '" + nicknameParticipant + "', an unaffiliated participant, not a room owner) tried to destroy room '" + mucAddress);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             if (mucAsSeenByOwner.isJoined()) {
                 tryDestroy(mucAsSeenByOwner);
             }
@@ -529,6 +574,7 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
     public void testAuthorizationNonParticipant() throws MultiUserChatException.MucAlreadyJoinedException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, MultiUserChatException.MissingMucCreationAcknowledgeException, SmackException.NoResponseException, InterruptedException, MultiUserChatException.NotAMucServiceException, XmppStringprepException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-destroy-auth-nonparticipant");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
 
@@ -538,17 +584,20 @@ public class MultiUserChatOwnerDestroyRoomIntegrationTest extends AbstractMultiU
             createMuc(mucAsSeenByOwner, nicknameOwner);
 
             // Execute system under test.
+            Phases.execute();
             final MUCOwner request = new MUCOwner();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
             request.setDestroy(new Destroy(null, null));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException xmppErrorException = assertThrows(XMPPException.XMPPErrorException.class, () -> { conTwo.sendIqRequestAndWaitForResponse(request); },
                 "Expected an error to be returned when '" + conTwo.getUser() + "' (not joined in the room, not a room owner) tried to destroy room '" + mucAddress + "' (but no error was received).");
             assertEquals(StanzaError.Condition.forbidden, xmppErrorException.getStanzaError().getCondition(), "Unexpected condition in the (expected) error after '" + conTwo.getUser() + "' (not joined in the room, not a room owner) tried to destroy room '" + mucAddress);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             if (mucAsSeenByOwner.isJoined()) {
                 tryDestroy(mucAsSeenByOwner);
             }
@@ -19,6 +19,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
@@ -71,6 +72,7 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
     public void testGrantAdminMember() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-admin-grant-member");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -84,6 +86,7 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
             }
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -92,11 +95,13 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
                 conOne.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to grant admin status to '" + conTwo.getUser().asBareJid() + "' (a member that's currently not joined in the room) in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -108,6 +113,7 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
     public void testGrantAdminUnaffiliated() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-admin-grant-unaffiliated");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -115,6 +121,7 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
         createMuc(mucAsSeenByOwner, nicknameOwner);
         try {
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -123,11 +130,13 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
                 conOne.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to grant admin status to '" + conTwo.getUser().asBareJid() + "' (an unaffiliated user that's currently not joined in the room) in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -139,6 +148,7 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
     public void testGrantAdminMemberWhileInRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-admin-grant-member-inroom");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -169,6 +179,7 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
             ownerSeesTarget.waitForResult(timeout);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -177,11 +188,13 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
                 conOne.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to grant admin status to '" + conTwo.getUser().asBareJid() + "' (a member that is currently joined as '" + nicknameTarget+ "') in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -193,6 +206,7 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
     public void testGrantAdminUnaffiliatedWhileInRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-admin-grant-unaffiliated-inroom");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -217,6 +231,7 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
             ownerSeesTarget.waitForResult(timeout);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -225,11 +240,13 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
                 conOne.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to grant admin status to '" + conTwo.getUser().asBareJid() + "' (an unaffiliated user that is currently joined as '" + nicknameTarget+ "') in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -241,6 +258,7 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
     public void testGrantAdminOptionalReason() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-admin-grant-reason");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -248,6 +266,7 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
         createMuc(mucAsSeenByOwner, nicknameOwner);
         try {
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -256,11 +275,13 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
                 conOne.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to grant admin status to '" + conTwo.getUser().asBareJid() + "' in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -272,6 +293,7 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
     public void testGrantAdminOptionalReasonWhileInRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-admin-grant-reason-inroom");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -296,6 +318,7 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
             ownerSeesTarget.waitForResult(timeout);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -304,11 +327,13 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
                 conOne.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to grant admin status to '" + conTwo.getUser().asBareJid() + "' (that is currently joined as '" + nicknameTarget+ "') in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -320,6 +345,7 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
     public void testUserNotAllowedToGrantAdminStatus() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-admin-grant-user-notallowed");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
 
@@ -328,18 +354,21 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
         createMuc(mucAsSeenByOwner, nicknameOwner);
         try {
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
             request.addItem(new MUCItem(MUCAffiliation.admin, conThree.getUser().asBareJid(), "Granting Admin Status as part of an integration test."));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conTwo.sendIqRequestAndWaitForResponse(request);
             }, "Expected an error after '" + conTwo.getUser() + "' (that is not an owner) tried to grant admin status to another user ('" + conThree.getUser().asBareJid() + "') in room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' after it tried to grant admin status to user ('" + conThree.getUser().asBareJid() + "') in room '" + mucAddress + "' while not being an owner.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -351,6 +380,7 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
     public void testUserNotAllowedToGrantAdminStatusInRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-admin-grant-user-notallowed-inroom");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget = mucManagerThree.getMultiUserChat(mucAddress);
@@ -363,18 +393,21 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
             mucAsSeenByTarget.join(nicknameTarget);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
             request.addItem(new MUCItem(MUCAffiliation.admin, conThree.getUser().asBareJid(), "Granting Admin Status as part of an integration test."));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conTwo.sendIqRequestAndWaitForResponse(request);
             }, "Expected an error after '" + conTwo.getUser() + "' (that is not an owner) tried to grant admin status to another user ('" + conThree.getUser().asBareJid() + "', joined as '" + nicknameTarget + "') in room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' after it tried to grant admin status to user ('" + conThree.getUser().asBareJid() + "', joined as '" + nicknameTarget + "') in room '" + mucAddress + "' while not being an owner.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -386,6 +419,7 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
     public void testParticipantNotAllowedToGrantAdminStatus() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-admin-grant-participant-notallowed");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -398,18 +432,21 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
             mucAsSeenByParticipant.join(nicknameParticipant);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
             request.addItem(new MUCItem(MUCAffiliation.admin, conThree.getUser().asBareJid(), "Granting Admin Status as part of an integration test."));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conTwo.sendIqRequestAndWaitForResponse(request);
             }, "Expected an error after '" + conTwo.getUser() + "' (that is not an owner, but joined the room as '" + nicknameParticipant + "') tried to grant admin status to another user ('" + conThree.getUser().asBareJid() + "') in room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (joined as '" + nicknameParticipant + "') after it tried to grant admin status to user ('" + conThree.getUser().asBareJid() + "') in room '" + mucAddress + "' while not being an owner.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -421,6 +458,7 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
     public void testParticipantNotAllowedToGrantAdminStatusInRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-admin-grant-participant-notallowed-inroom");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -449,18 +487,21 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
             participantSeesTarget.waitForResult(timeout);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
             request.addItem(new MUCItem(MUCAffiliation.admin, conThree.getUser().asBareJid(), "Granting Admin Status as part of an integration test."));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conTwo.sendIqRequestAndWaitForResponse(request);
             }, "Expected an error after '" + conTwo.getUser() + "' (that is not an owner, but joined the room as '" + nicknameParticipant + "') tried to grant admin status to another user ('" + conThree.getUser().asBareJid() + "', joined as '" + nicknameTarget + "') in room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (joined as '" + nicknameParticipant + "') after it tried to grant admin status to user ('" + conThree.getUser().asBareJid() + "', joined as '" + nicknameTarget + "') in room '" + mucAddress + "' while not being an owner.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -472,6 +513,7 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
     public void testAdminOnAdminList() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-admin-on-adminlist");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -479,6 +521,7 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
         createMuc(mucAsSeenByOwner, nicknameOwner);
         try {
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -487,9 +530,11 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
             conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             assertTrue(mucAsSeenByOwner.getAdmins().stream().anyMatch(owner -> owner.getJid().equals(conTwo.getUser().asBareJid())), "Expected '" + conTwo.getUser().asBareJid() + "' to be on the Admin List after they were granted admin status by '" + conOne.getUser() + "' in '" + mucAddress + "' (but the JID does not appear on the Admin List).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -501,6 +546,7 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
     public void testOccupantsInformed() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-admin-broadcast");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -566,6 +612,7 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
             });
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -574,11 +621,13 @@ public class MultiUserChatOwnerGrantAdminIntegrationTest extends AbstractMultiUs
             conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             assertResult(targetSeesGrant, "Expected '" + conThree.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the granting of admin status, after they are granted admin status by '" + conOne.getUser() + "' in '" + mucAddress + "' (but no such stanza was received).");
             assertResult(ownerSeesGrant, "Expected '" + conOne.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the granting of admin status, after '" + targetMucAddress + "' is granted admin status by '" + conOne.getUser() + "' in '" + mucAddress + "' (but no such stanza was received).");
             assertResult(participantSeeSGrant, "Expected '" + conTwo.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the granting of admin status, after '" + targetMucAddress + "' is granted admin status by '" + conOne.getUser() + "' in '" + mucAddress + "' (but no such stanza was received).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -19,6 +19,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
@@ -71,6 +72,7 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
     public void testGrantOwner() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-owner-grant");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -78,6 +80,7 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
         createMuc(mucAsSeenByOwner, nicknameOwner);
         try {
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -86,11 +89,13 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
                 conOne.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to grant owner status to '" + conTwo.getUser().asBareJid() + "' in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -102,6 +107,7 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
     public void testGrantOwnerWhileInRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-owner-grant-inroom");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -126,6 +132,7 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
             ownerSeesTarget.waitForResult(timeout);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -134,11 +141,13 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
                 conOne.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to grant owner status to '" + conTwo.getUser().asBareJid() + "' (that is currently joined as '" + nicknameTarget+ "') in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -150,6 +159,7 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
     public void testGrantOwnerOptionalReason() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-owner-grant-reason");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -157,6 +167,7 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
         createMuc(mucAsSeenByOwner, nicknameOwner);
         try {
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -165,11 +176,13 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
                 conOne.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to grant owner status to '" + conTwo.getUser().asBareJid() + "' in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -181,6 +194,7 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
     public void testGrantOwnerOptionalReasonWhileInRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-owner-grant-reason-inroom");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -205,6 +219,7 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
             ownerSeesTarget.waitForResult(timeout);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -213,11 +228,13 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
                 conOne.sendIqRequestAndWaitForResponse(request);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to grant owner status to '" + conTwo.getUser().asBareJid() + "' (that is currently joined as '" + nicknameTarget+ "') in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -229,6 +246,7 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
     public void testUserNotAllowedToGrantOwnerStatus() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-owner-grant-user-notallowed");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
 
@@ -237,18 +255,21 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
         createMuc(mucAsSeenByOwner, nicknameOwner);
         try {
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
             request.addItem(new MUCItem(MUCAffiliation.owner, conThree.getUser().asBareJid(), "Granting Owner Status as part of an integration test."));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conTwo.sendIqRequestAndWaitForResponse(request);
             }, "Expected an error after '" + conTwo.getUser() + "' (that is not an owner) tried to grant owner status to another user ('" + conThree.getUser().asBareJid() + "') in room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' after it tried to grant owner status to user ('" + conThree.getUser().asBareJid() + "') in room '" + mucAddress + "' while not being an owner.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -260,6 +281,7 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
     public void testUserNotAllowedToGrantOwnerStatusInRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-owner-grant-user-notallowed-inroom");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget = mucManagerThree.getMultiUserChat(mucAddress);
@@ -272,18 +294,21 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
             mucAsSeenByTarget.join(nicknameTarget);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
             request.addItem(new MUCItem(MUCAffiliation.owner, conThree.getUser().asBareJid(), "Granting Owner Status as part of an integration test."));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conTwo.sendIqRequestAndWaitForResponse(request);
             }, "Expected an error after '" + conTwo.getUser() + "' (that is not an owner) tried to grant owner status to another user ('" + conThree.getUser().asBareJid() + "', joined as '" + nicknameTarget + "') in room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' after it tried to grant owner status to user ('" + conThree.getUser().asBareJid() + "', joined as '" + nicknameTarget + "') in room '" + mucAddress + "' while not being an owner.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -295,6 +320,7 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
     public void testParticipantNotAllowedToGrantOwnerStatus() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-owner-grant-participant-notallowed");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -307,18 +333,21 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
             mucAsSeenByParticipant.join(nicknameParticipant);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
             request.addItem(new MUCItem(MUCAffiliation.owner, conThree.getUser().asBareJid(), "Granting Owner Status as part of an integration test."));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conTwo.sendIqRequestAndWaitForResponse(request);
             }, "Expected an error after '" + conTwo.getUser() + "' (that is not an owner, but joined the room as '" + nicknameParticipant + "') tried to grant owner status to another user ('" + conThree.getUser().asBareJid() + "') in room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (joined as '" + nicknameParticipant + "') after it tried to grant owner status to user ('" + conThree.getUser().asBareJid() + "') in room '" + mucAddress + "' while not being an owner.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -330,6 +359,7 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
     public void testParticipantNotAllowedToGrantOwnerStatusInRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-owner-grant-participant-notallowed-inroom");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -358,18 +388,21 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
             participantSeesTarget.waitForResult(timeout);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
             request.addItem(new MUCItem(MUCAffiliation.owner, conThree.getUser().asBareJid(), "Granting Owner Status as part of an integration test."));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conTwo.sendIqRequestAndWaitForResponse(request);
             }, "Expected an error after '" + conTwo.getUser() + "' (that is not an owner, but joined the room as '" + nicknameParticipant + "') tried to grant owner status to another user ('" + conThree.getUser().asBareJid() + "', joined as '" + nicknameTarget + "') in room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (joined as '" + nicknameParticipant + "') after it tried to grant owner status to user ('" + conThree.getUser().asBareJid() + "', joined as '" + nicknameTarget + "') in room '" + mucAddress + "' while not being an owner.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -381,6 +414,7 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
     public void testOwnerOnOwnerList() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-owner-on-ownerlist");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -388,6 +422,7 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
         createMuc(mucAsSeenByOwner, nicknameOwner);
         try {
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -396,9 +431,11 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
             conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             assertTrue(mucAsSeenByOwner.getOwners().stream().anyMatch(owner -> owner.getJid().equals(conTwo.getUser().asBareJid())), "Expected '" + conTwo.getUser().asBareJid() + "' to be on the Owner List after they were granted owner status by '" + conOne.getUser() + "' in '" + mucAddress + "' (but the JID does not appear on the Owner List).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -410,6 +447,7 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
     public void testOccupantsInformed() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-owner-broadcast");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -475,6 +513,7 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
             });
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin request = new MUCAdmin();
             request.setTo(mucAddress);
             request.setType(IQ.Type.set);
@@ -483,11 +522,13 @@ public class MultiUserChatOwnerGrantOwnerIntegrationTest extends AbstractMultiUs
             conOne.sendIqRequestAndWaitForResponse(request);
 
             // Verify result.
+            Phases.verify();
             assertResult(targetSeesGrant, "Expected '" + conThree.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the granting of owner status, after they are granted owner status by '" + conOne.getUser() + "' in '" + mucAddress + "' (but no such stanza was received).");
             assertResult(ownerSeesGrant, "Expected '" + conOne.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the granting of owner status, after '" + targetMucAddress + "' is granted owner status by '" + conOne.getUser() + "' in '" + mucAddress + "' (but no such stanza was received).");
             assertResult(participantSeeSGrant, "Expected '" + conTwo.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the granting of owner status, after '" + targetMucAddress + "' is granted owner status by '" + conOne.getUser() + "' in '" + mucAddress + "' (but no such stanza was received).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
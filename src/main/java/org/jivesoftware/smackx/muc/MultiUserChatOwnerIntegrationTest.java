@@ -19,6 +19,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
@@ -54,6 +55,7 @@ public class MultiUserChatOwnerIntegrationTest extends AbstractMultiUserChatInte
     public void testRoomHasOwnerAfterOriginalOwnerLeaves() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-after-leave");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -78,13 +80,16 @@ public class MultiUserChatOwnerIntegrationTest extends AbstractMultiUserChatInte
             });
 
             // Execute system under test.
+            Phases.execute();
             mucAsSeenByOwner.leave();
             final List<Affiliate> owners = mucAsSeenByParticipant.getOwners();
 
             // Verify result.
+            Phases.verify();
             assertFalse(owners.isEmpty(), "Room '" + mucAddress + "' unexpectedly has no owners, after the user that created the room ('" + conOne.getUser() + "') left.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             mucAsSeenByOwner.join(nicknameOwner);
             tryDestroy(mucAsSeenByOwner);
         }
@@ -19,6 +19,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
@@ -75,6 +76,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
     public void testOwnerRequestsOwnerList() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-requests-ownerlist");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
 
@@ -83,6 +85,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
         createMuc(mucAsSeenByOwner, nicknameOwner);
         try {
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.get);
@@ -90,10 +93,12 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
             conOne.sendIqRequestAndWaitForResponse(iq);
 
             // Verify result.
+            Phases.verify();
         } catch (XMPPException.XMPPErrorException e) {
             fail("Expected owner '" + conOne.getUser() + "' to be able to receive the owner list from '" + mucAddress + "' (but the server returned an error).", e);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -107,6 +112,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
     public void testUserRequestsOwnerList() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-user-requests-ownerlist");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
 
@@ -115,17 +121,20 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
         createMucSemiAnonymous(mucAsSeenByOwner, nicknameOwner);
         try {
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.get);
             iq.addItem(new MUCItem(MUCAffiliation.owner));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> conTwo.sendIqRequestAndWaitForResponse(iq),
                 "Expected user '" + conTwo.getUser() + "' (that is not in the room) to receive an error when requesting the owner list from '" + mucAddress + "' (but the server did not return an error).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (that is not in the room) after it requested the owner list of room '" + mucAddress + "'.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -139,6 +148,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
     public void testParticipantRequestsOwnerList() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-user-requests-ownerlist");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -151,17 +161,20 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
             mucAsSeenByParticipant.join(nicknameParticipant);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.get);
             iq.addItem(new MUCItem(MUCAffiliation.owner));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> conTwo.sendIqRequestAndWaitForResponse(iq),
                 "Expected participant '" + conTwo.getUser() + "' to receive an error when requesting the owner list from '" + mucAddress + "' (but the server did not return an error).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (that is a participant in the room) after it requested the owner list of room '" + mucAddress + "'.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -173,6 +186,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
     public void testOwnerListItemCheck() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-owner-list-itemcheck");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -186,6 +200,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
             mucAsSeenByTarget.join(nicknameTarget);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.get);
@@ -193,11 +208,13 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
             final MUCAdmin response = conOne.sendIqRequestAndWaitForResponse(iq);
 
             // Verify result.
+            Phases.verify();
             assertFalse(response.getItems().stream().anyMatch(i -> i.getAffiliation() == null), "The owner list for '" + mucAddress + "' contains an item that does not have an 'affiliation' attribute (but all items must have one).");
             assertFalse(response.getItems().stream().anyMatch(i -> i.getJid() == null), "The owner list for '" + mucAddress + "' contains an item that does not have a 'jid' attribute (but all items must have one).");
             assertTrue(response.getItems().stream().anyMatch(i -> i.getJid().equals(conTwo.getUser().asBareJid())), "Expected the owner list requested by '" + conOne.getUser() + "' from '" + mucAddress + "' to include '" + conTwo.getUser().asBareJid() + "' (but it did not).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -209,6 +226,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
     public void testOwnerListMultipleItems() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-ownerlist-multiple");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -216,6 +234,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
         createMuc(mucAsSeenByOwner, nicknameOwner);
         try {
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -226,6 +245,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
                 conOne.sendIqRequestAndWaitForResponse(iq);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected the service to inform '" + conOne.getUser() + "' of success after they modified the owner list of room '" + mucAddress + "' (but instead, an error was returned).", e);
             }
@@ -233,6 +253,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
             assertTrue(mucAsSeenByOwner.getOwners().stream().anyMatch(i -> i.getAffiliation() == MUCAffiliation.owner && i.getJid().equals(conThree.getUser().asBareJid())), "Expected the owner list for '" + mucAddress + "' to contain '" + conThree.getUser().asBareJid() + "' that was just added to the owner list by '" + conOne.getUser() + "' (but does not appear on the owner list).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -244,6 +265,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
     public void testAdminOwnerListMultipleItemsRevoke() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-ownerlist-revoke");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
 
@@ -258,6 +280,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
             }
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -268,6 +291,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
                 conOne.sendIqRequestAndWaitForResponse(iq);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected the service to inform '" + conOne.getUser() + "' of success after they modified the owner list of room '" + mucAddress + "' (but instead, an error was returned).", e);
             }
@@ -275,6 +299,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
             assertTrue(mucAsSeenByOwner.getOwners().stream().noneMatch(i -> i.getAffiliation() == MUCAffiliation.owner && i.getJid().equals(conThree.getUser().asBareJid())), "Expected the owner list for '" + mucAddress + "' to not contain '" + conThree.getUser().asBareJid() + "' that was just removed from the owner list by '" + conOne.getUser() + "' (but does appear on the owner list).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -287,6 +312,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
     public void testOwnerOwnerListIsDelta() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-ownerlist-delta");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -300,6 +326,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
             }
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -311,6 +338,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
                 conOne.sendIqRequestAndWaitForResponse(iq);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected the service to inform '" + conOne.getUser() + "' of success after they modified the owner list of room '" + mucAddress + "' (but instead, an error was returned).", e);
             }
@@ -319,6 +347,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
             assertTrue(mucAsSeenByOwner.getOwners().stream().anyMatch(i -> i.getAffiliation() == MUCAffiliation.owner && i.getJid().equals(conThree.getUser().asBareJid())), "Expected the owner list for '" + mucAddress + "' to contain '" + conThree.getUser().asBareJid() + "' that was just added to the owner list by '" + conOne.getUser() + "' (but does not appear on the owner list).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -330,6 +359,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
     public void testOwnerListRejectAdmin() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-ownerlist-reject-admin");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByAdmin = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -346,6 +376,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
             mucAsSeenByAdmin.join(nicknameAdmin); // Not strictly needed.
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -356,6 +387,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (that is not an owner but an admin) after it attempted to modify the owner list of room '" + mucAddress + "'.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -367,6 +399,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
     public void testOwnerListRejectMember() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-ownerlist-reject-member");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByMember = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -383,6 +416,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
             mucAsSeenByMember.join(nicknameMember); // Not strictly needed.
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -393,6 +427,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (that is not an owner but a member) after it attempted to modify the owner list of room '" + mucAddress + "'.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -404,6 +439,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
     public void testOwnerListRejectOutcast() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-ownerlist-reject-member");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -417,6 +453,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
             }
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -427,6 +464,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (that is not an owner but an outcast) after it attempted to modify the owner list of room '" + mucAddress + "'.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -438,6 +476,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
     public void testOwnerListRejectNoneAffiliation() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-ownerlist-reject-nonaff");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -449,6 +488,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
             mucAsSeenByParticipant.join(nicknameParticipant); // Not strictly needed.
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -459,6 +499,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (that is not an owner but a user without an affiliation) after it attempted to modify the owner list of room '" + mucAddress + "'.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -470,6 +511,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
     public void testOwnerListRejectRemovalLastOwner() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-ownerlist-remove-last");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -477,6 +519,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
         createMuc(mucAsSeenByOwner, nicknameOwner);
         try {
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -487,6 +530,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
             assertEquals(StanzaError.Condition.conflict, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conOne.getUser() + "' (that is the only owner of the room) after it attempted to revoke their own owner status through modification of the owner list room '" + mucAddress + "'.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -498,6 +542,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
     public void testAdminOwnerListBroadcast() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-ownerlist-broadcast");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget1 = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -589,6 +634,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
             });
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin iq = new MUCAdmin();
             iq.setTo(mucAddress);
             iq.setType(IQ.Type.set);
@@ -599,6 +645,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
                 conOne.sendIqRequestAndWaitForResponse(iq);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected the service to inform '" + conOne.getUser() + "' of success after they modified the owner list of room '" + mucAddress + "' (but instead, an error was returned).", e);
             }
@@ -611,6 +658,7 @@ public class MultiUserChatOwnerOwnerListIntegrationTest extends AbstractMultiUse
             assertResult(target2SeesGrantTarget2, "Expected '" + conThree.getUser() + "' to receive a presence stanza from '" + mucAddress + "' indicating the change in owner status for themself' (but did not).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -19,6 +19,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
@@ -76,6 +77,7 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
     public void testRevokeAdmin() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-admin-revoke");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -90,6 +92,7 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
             conOne.sendIqRequestAndWaitForResponse(grantRequest);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin revokeRequest = new MUCAdmin();
             revokeRequest.setTo(mucAddress);
             revokeRequest.setType(IQ.Type.set);
@@ -98,11 +101,13 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
                 conOne.sendIqRequestAndWaitForResponse(revokeRequest);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to revoke admin status from '" + conTwo.getUser().asBareJid() + "' in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -114,6 +119,7 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
     public void testRevokeAdminWhileInRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-admin-revoke-inroom");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -145,6 +151,7 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
             conOne.sendIqRequestAndWaitForResponse(grantRequest);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin revokeRequest = new MUCAdmin();
             revokeRequest.setTo(mucAddress);
             revokeRequest.setType(IQ.Type.set);
@@ -154,11 +161,13 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
                 conOne.sendIqRequestAndWaitForResponse(revokeRequest);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to revoke admin status from '" + conTwo.getUser().asBareJid() + "' (that is currently joined as '" + nicknameTarget+ "') in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -170,6 +179,7 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
     public void testRevokeAdminOptionalReason() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-admin-revoke-reason");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -184,6 +194,7 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
             conOne.sendIqRequestAndWaitForResponse(grantRequest);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin revokeRequest = new MUCAdmin();
             revokeRequest.setTo(mucAddress);
             revokeRequest.setType(IQ.Type.set);
@@ -192,11 +203,13 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
                 conOne.sendIqRequestAndWaitForResponse(revokeRequest);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to revoke admin status from '" + conTwo.getUser().asBareJid() + "' in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -208,6 +221,7 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
     public void testRevokeAdminOptionalReasonWhileInRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-admin-revoke-reason-inroom");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -239,6 +253,7 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
             conOne.sendIqRequestAndWaitForResponse(grantRequest);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin revokeRequest = new MUCAdmin();
             revokeRequest.setTo(mucAddress);
             revokeRequest.setType(IQ.Type.set);
@@ -247,11 +262,13 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
                 conOne.sendIqRequestAndWaitForResponse(revokeRequest);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to revoke admin status from '" + conTwo.getUser().asBareJid() + "' (that is currently joined as '" + nicknameTarget+ "') in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -263,6 +280,7 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
     public void testUserNotAllowedToRevokeAdminStatus() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-admin-revoke-user-notallowed");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
 
@@ -278,18 +296,21 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
             conOne.sendIqRequestAndWaitForResponse(grantRequest);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin revokeRequest = new MUCAdmin();
             revokeRequest.setTo(mucAddress);
             revokeRequest.setType(IQ.Type.set);
             revokeRequest.addItem(new MUCItem(MUCAffiliation.none, conThree.getUser().asBareJid()));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conTwo.sendIqRequestAndWaitForResponse(revokeRequest);
             }, "Expected an error after '" + conTwo.getUser() + "' (that is not an owner) tried to revoke admin status from another user ('" + conThree.getUser().asBareJid() + "') in room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' after it tried to revoke admin status from user ('" + conThree.getUser().asBareJid() + "') in room '" + mucAddress + "' while not being an owner.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -301,6 +322,7 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
     public void testUserNotAllowedToRevokeAdminStatusInRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-admin-revoke-user-notallowed-inroom");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget = mucManagerThree.getMultiUserChat(mucAddress);
@@ -320,18 +342,21 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
             conOne.sendIqRequestAndWaitForResponse(grantRequest);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin revokeRequest = new MUCAdmin();
             revokeRequest.setTo(mucAddress);
             revokeRequest.setType(IQ.Type.set);
             revokeRequest.addItem(new MUCItem(MUCAffiliation.none, conThree.getUser().asBareJid()));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conTwo.sendIqRequestAndWaitForResponse(revokeRequest);
             }, "Expected an error after '" + conTwo.getUser() + "' (that is not an owner) tried to revoke admin status from another user ('" + conThree.getUser().asBareJid() + "', joined as '" + nicknameTarget + "') in room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' after it tried to revoke admin status from user ('" + conThree.getUser().asBareJid() + "', joined as '" + nicknameTarget + "') in room '" + mucAddress + "' while not being an owner.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -343,6 +368,7 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
     public void testParticipantNotAllowedToRevokeAdminStatus() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-admin-revoke-participant-notallowed");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -362,18 +388,21 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
             conOne.sendIqRequestAndWaitForResponse(grantRequest);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin revokeRequest = new MUCAdmin();
             revokeRequest.setTo(mucAddress);
             revokeRequest.setType(IQ.Type.set);
             revokeRequest.addItem(new MUCItem(MUCAffiliation.none, conThree.getUser().asBareJid()));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conTwo.sendIqRequestAndWaitForResponse(revokeRequest);
             }, "Expected an error after '" + conTwo.getUser() + "' (that is not an owner, but joined the room as '" + nicknameParticipant + "') tried to revoke admin status from another user ('" + conThree.getUser().asBareJid() + "') in room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (joined as '" + nicknameParticipant + "') after it tried to revoke admin status from user ('" + conThree.getUser().asBareJid() + "') in room '" + mucAddress + "' while not being an owner.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -385,6 +414,7 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
     public void testParticipantNotAllowedToRevokeAdminStatusInRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-admin-revoke-participant-notallowed-inroom");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -420,18 +450,21 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
             conOne.sendIqRequestAndWaitForResponse(grantRequest);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin revokeRequest = new MUCAdmin();
             revokeRequest.setTo(mucAddress);
             revokeRequest.setType(IQ.Type.set);
             revokeRequest.addItem(new MUCItem(MUCAffiliation.none, conThree.getUser().asBareJid()));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conTwo.sendIqRequestAndWaitForResponse(revokeRequest);
             }, "Expected an error after '" + conTwo.getUser() + "' (that is not an owner, but joined the room as '" + nicknameParticipant + "') tried to revoke admin status from another user ('" + conThree.getUser().asBareJid() + "', joined as '" + nicknameTarget + "') in room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (joined as '" + nicknameParticipant + "') after it tried to revoke admin status from user ('" + conThree.getUser().asBareJid() + "', joined as '" + nicknameTarget + "') in room '" + mucAddress + "' while not being an owner.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -443,6 +476,7 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
     public void testOwnerNotOnOwnerList() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-admin-not-on-admin-list");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
 
@@ -458,6 +492,7 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
             conOne.sendIqRequestAndWaitForResponse(grantRequest);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin revokeRequest = new MUCAdmin();
             revokeRequest.setTo(mucAddress);
             revokeRequest.setType(IQ.Type.set);
@@ -470,9 +505,11 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
             }
 
             // Verify result.
+            Phases.verify();
             assertFalse(mucAsSeenByOwner.getAdmins().stream().anyMatch(owner -> owner.getJid().equals(conTwo.getUser().asBareJid())), "Expected '" + conTwo.getUser().asBareJid() + "' to no longer be on the Admin List after their admin status was removed '" + conOne.getUser() + "' in '" + mucAddress + "' (but the JID does still appear on the Admin List).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -484,6 +521,7 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
     public void testOccupantsInformed() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-admin-broadcast");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -556,6 +594,7 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
             });
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin requestRevoke = new MUCAdmin();
             requestRevoke.setTo(mucAddress);
             requestRevoke.setType(IQ.Type.set);
@@ -564,11 +603,13 @@ public class MultiUserChatOwnerRevokeAdminIntegrationTest extends AbstractMultiU
             conOne.sendIqRequestAndWaitForResponse(requestRevoke);
 
             // Verify result.
+            Phases.verify();
             assertResult(targetSeesRevoke, "Expected '" + conThree.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the revokation of admin status, after their admin status is revoked by '" + conOne.getUser() + "' in '" + mucAddress + "' (but no such stanza was received).");
             assertResult(ownerSeesRevoke, "Expected '" + conOne.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the revokation of admin status, after '" + targetMucAddress + "' has their admin status revoked by '" + conOne.getUser() + "' in '" + mucAddress + "' (but no such stanza was received).");
             assertResult(participantSeesRevoke, "Expected '" + conTwo.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the revokation of admin status, after '" + targetMucAddress + "' has their admin status revoked by '" + conOne.getUser() + "' in '" + mucAddress + "' (but no such stanza was received).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -19,6 +19,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.XMPPException;
@@ -77,6 +78,7 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
     public void testRevokeOwner() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-owner-revoke");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -91,6 +93,7 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
             conOne.sendIqRequestAndWaitForResponse(grantRequest);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin revokeRequest = new MUCAdmin();
             revokeRequest.setTo(mucAddress);
             revokeRequest.setType(IQ.Type.set);
@@ -99,11 +102,13 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
                 conOne.sendIqRequestAndWaitForResponse(revokeRequest);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to revoke owner status from '" + conTwo.getUser().asBareJid() + "' in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -115,6 +120,7 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
     public void testRevokeOwnerWhileInRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-owner-revoke-inroom");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -146,6 +152,7 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
             conOne.sendIqRequestAndWaitForResponse(grantRequest);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin revokeRequest = new MUCAdmin();
             revokeRequest.setTo(mucAddress);
             revokeRequest.setType(IQ.Type.set);
@@ -155,11 +162,13 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
                 conOne.sendIqRequestAndWaitForResponse(revokeRequest);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to revoke owner status from '" + conTwo.getUser().asBareJid() + "' (that is currently joined as '" + nicknameTarget+ "') in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -171,6 +180,7 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
     public void testRevokeOwnerOptionalReason() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-owner-revoke-reason");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -185,6 +195,7 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
             conOne.sendIqRequestAndWaitForResponse(grantRequest);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin revokeRequest = new MUCAdmin();
             revokeRequest.setTo(mucAddress);
             revokeRequest.setType(IQ.Type.set);
@@ -193,11 +204,13 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
                 conOne.sendIqRequestAndWaitForResponse(revokeRequest);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to revoke owner status from '" + conTwo.getUser().asBareJid() + "' in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -209,6 +222,7 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
     public void testRevokeOwnerOptionalReasonWhileInRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-owner-revoke-reason-inroom");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -240,6 +254,7 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
             conOne.sendIqRequestAndWaitForResponse(grantRequest);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin revokeRequest = new MUCAdmin();
             revokeRequest.setTo(mucAddress);
             revokeRequest.setType(IQ.Type.set);
@@ -248,11 +263,13 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
                 conOne.sendIqRequestAndWaitForResponse(revokeRequest);
 
                 // Verify result.
+                Phases.verify();
             } catch (XMPPException.XMPPErrorException e) {
                 fail("Expected owner '" + conOne.getUser() + "' to be able to revoke owner status from '" + conTwo.getUser().asBareJid() + "' (that is currently joined as '" + nicknameTarget+ "') in '" + mucAddress + "' (but the server returned an error).", e);
             }
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -264,6 +281,7 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
     public void testUserNotAllowedToRevokeOwnerStatus() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-owner-revoke-user-notallowed");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
 
@@ -279,18 +297,21 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
             conOne.sendIqRequestAndWaitForResponse(grantRequest);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin revokeRequest = new MUCAdmin();
             revokeRequest.setTo(mucAddress);
             revokeRequest.setType(IQ.Type.set);
             revokeRequest.addItem(new MUCItem(MUCAffiliation.none, conThree.getUser().asBareJid()));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conTwo.sendIqRequestAndWaitForResponse(revokeRequest);
             }, "Expected an error after '" + conTwo.getUser() + "' (that is not an owner) tried to revoke owner status from another user ('" + conThree.getUser().asBareJid() + "') in room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' after it tried to revoke owner status from user ('" + conThree.getUser().asBareJid() + "') in room '" + mucAddress + "' while not being an owner.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -302,6 +323,7 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
     public void testUserNotAllowedToRevokeOwnerStatusInRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-owner-revoke-user-notallowed-inroom");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByTarget = mucManagerThree.getMultiUserChat(mucAddress);
@@ -321,18 +343,21 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
             conOne.sendIqRequestAndWaitForResponse(grantRequest);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin revokeRequest = new MUCAdmin();
             revokeRequest.setTo(mucAddress);
             revokeRequest.setType(IQ.Type.set);
             revokeRequest.addItem(new MUCItem(MUCAffiliation.none, conThree.getUser().asBareJid()));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conTwo.sendIqRequestAndWaitForResponse(revokeRequest);
             }, "Expected an error after '" + conTwo.getUser() + "' (that is not an owner) tried to revoke owner status from another user ('" + conThree.getUser().asBareJid() + "', joined as '" + nicknameTarget + "') in room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' after it tried to revoke owner status from user ('" + conThree.getUser().asBareJid() + "', joined as '" + nicknameTarget + "') in room '" + mucAddress + "' while not being an owner.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -344,6 +369,7 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
     public void testParticipantNotAllowedToRevokeOwnerStatus() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-owner-revoke-participant-notallowed");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -363,18 +389,21 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
             conOne.sendIqRequestAndWaitForResponse(grantRequest);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin revokeRequest = new MUCAdmin();
             revokeRequest.setTo(mucAddress);
             revokeRequest.setType(IQ.Type.set);
             revokeRequest.addItem(new MUCItem(MUCAffiliation.none, conThree.getUser().asBareJid()));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conTwo.sendIqRequestAndWaitForResponse(revokeRequest);
             }, "Expected an error after '" + conTwo.getUser() + "' (that is not an owner, but joined the room as '" + nicknameParticipant + "') tried to revoke owner status from another user ('" + conThree.getUser().asBareJid() + "') in room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (joined as '" + nicknameParticipant + "') after it tried to revoke owner status from user ('" + conThree.getUser().asBareJid() + "') in room '" + mucAddress + "' while not being an owner.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -386,6 +415,7 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
     public void testParticipantNotAllowedToRevokeOwnerStatusInRoom() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-owner-revoke-participant-notallowed-inroom");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -421,18 +451,21 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
             conOne.sendIqRequestAndWaitForResponse(grantRequest);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin revokeRequest = new MUCAdmin();
             revokeRequest.setTo(mucAddress);
             revokeRequest.setType(IQ.Type.set);
             revokeRequest.addItem(new MUCItem(MUCAffiliation.none, conThree.getUser().asBareJid()));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conTwo.sendIqRequestAndWaitForResponse(revokeRequest);
             }, "Expected an error after '" + conTwo.getUser() + "' (that is not an owner, but joined the room as '" + nicknameParticipant + "') tried to revoke owner status from another user ('" + conThree.getUser().asBareJid() + "', joined as '" + nicknameTarget + "') in room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.forbidden, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conTwo.getUser() + "' (joined as '" + nicknameParticipant + "') after it tried to revoke owner status from user ('" + conThree.getUser().asBareJid() + "', joined as '" + nicknameTarget + "') in room '" + mucAddress + "' while not being an owner.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -444,6 +477,7 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
     public void testOwnerRemoveLastOwner() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-owner-revoke-last");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final Resourcepart nicknameOwner = Resourcepart.from("owner-" + randomString);
@@ -451,18 +485,21 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
         createMuc(mucAsSeenByOwner, nicknameOwner);
         try {
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin revokeRequest = new MUCAdmin();
             revokeRequest.setTo(mucAddress);
             revokeRequest.setType(IQ.Type.set);
             revokeRequest.addItem(new MUCItem(MUCAffiliation.none, conOne.getUser().asBareJid()));
 
             // Verify result.
+            Phases.verify();
             final XMPPException.XMPPErrorException e = assertThrows(XMPPException.XMPPErrorException.class, () -> {
                 conOne.sendIqRequestAndWaitForResponse(revokeRequest);
             }, "Expected an error after '" + conOne.getUser() + "' (that is the only owner) tried to revoke owner status from itself in room '" + mucAddress + "' (but none occurred).");
             assertEquals(StanzaError.Condition.conflict, e.getStanzaError().getCondition(), "Unexpected error condition in the (expected) error that was returned to '" + conOne.getUser() + "' (that is the only owner) after it tried to revoke owner status from itself in for room '" + mucAddress + "'.");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -474,6 +511,7 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
     public void testOwnerNotOnOwnerList() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-owner-not-on-owner-list");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
 
@@ -489,6 +527,7 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
             conOne.sendIqRequestAndWaitForResponse(grantRequest);
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin revokeRequest = new MUCAdmin();
             revokeRequest.setTo(mucAddress);
             revokeRequest.setType(IQ.Type.set);
@@ -501,9 +540,11 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
             }
 
             // Verify result.
+            Phases.verify();
             assertFalse(mucAsSeenByOwner.getOwners().stream().anyMatch(owner -> owner.getJid().equals(conTwo.getUser().asBareJid())), "Expected '" + conTwo.getUser().asBareJid() + "' to no longer be on the Owner List after their owner status was removed '" + conOne.getUser() + "' in '" + mucAddress + "' (but the JID does still appear on the Owner List).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -515,6 +556,7 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
     public void testOccupantsInformed() throws Exception
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("owner-owner-broadcast");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -587,6 +629,7 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
             });
 
             // Execute system under test.
+            Phases.execute();
             final MUCAdmin requestRevoke = new MUCAdmin();
             requestRevoke.setTo(mucAddress);
             requestRevoke.setType(IQ.Type.set);
@@ -595,11 +638,13 @@ public class MultiUserChatOwnerRevokeOwnerIntegrationTest extends AbstractMultiU
             conOne.sendIqRequestAndWaitForResponse(requestRevoke);
 
             // Verify result.
+            Phases.verify();
             assertResult(targetSeesRevoke, "Expected '" + conThree.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the revokation of owner status, after their owner status is revoked by '" + conOne.getUser() + "' in '" + mucAddress + "' (but no such stanza was received).");
             assertResult(ownerSeesRevoke, "Expected '" + conOne.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the revokation of owner status, after '" + targetMucAddress + "' has their owner status revoked by '" + conOne.getUser() + "' in '" + mucAddress + "' (but no such stanza was received).");
             assertResult(participantSeesRevoke, "Expected '" + conTwo.getUser() + "' to receive a presence stanza from '" + targetMucAddress + "' indicating the revokation of owner status, after '" + targetMucAddress + "' has their owner status revoked by '" + conOne.getUser() + "' in '" + mucAddress + "' (but no such stanza was received).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -19,6 +19,7 @@ import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
 import org.igniterealtime.smack.inttest.TestNotPossibleException;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.Phases;
 import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
 import org.jivesoftware.smack.MessageListener;
 import org.jivesoftware.smack.SmackException;
@@ -56,6 +57,7 @@ public class MultiUserChatSecurityConsiderationsIntegrationTest extends Abstract
             throw new TestNotPossibleException("The service at '" + mucAddress.asDomainBareJid() + "' does not allow for a room to be created." + e.getMessage());
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -68,6 +70,7 @@ public class MultiUserChatSecurityConsiderationsIntegrationTest extends Abstract
     public void testPublicLoggingStatusOnInitialPresence() throws XmppStringprepException, MultiUserChatException.MucAlreadyJoinedException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, MultiUserChatException.MissingMucCreationAcknowledgeException, SmackException.NoResponseException, InterruptedException, MultiUserChatException.NotAMucServiceException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("security-initial-170");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -79,15 +82,18 @@ public class MultiUserChatSecurityConsiderationsIntegrationTest extends Abstract
                 .submitConfigurationForm();
 
             // Execute system under test
+            Phases.execute();
             final Presence initialPresence = mucAsSeenByParticipant.join(nicknameParticipant);
 
             // Verify result
+            Phases.verify();
             final MUCUser extension = MUCUser.from(initialPresence);
             assertTrue(extension.getStatus().stream().anyMatch(status -> status.getCode() == 170), "Expected the initial presence received by '" + conTwo.getUser()+ "' when it joined room '" + mucAddress + "' (as '" + nicknameParticipant + "') to include status code '170', as the room is configured to have public logging enabled (but no such status was received).");
         } catch (MultiUserChatException.MucConfigurationNotSupportedException e) {
             throw new TestNotPossibleException("Unable to configure a room with public logging enabled.", e);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -100,6 +106,7 @@ public class MultiUserChatSecurityConsiderationsIntegrationTest extends Abstract
     public void testPublicLoggingStatusOnConfigChange() throws XmppStringprepException, MultiUserChatException.MucAlreadyJoinedException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, MultiUserChatException.MissingMucCreationAcknowledgeException, SmackException.NoResponseException, InterruptedException, MultiUserChatException.NotAMucServiceException, TestNotPossibleException, TimeoutException
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("security-reconfig-170");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -122,16 +129,19 @@ public class MultiUserChatSecurityConsiderationsIntegrationTest extends Abstract
             mucAsSeenByParticipant.addMessageListener(listener);
 
             // Execute system under test.
+            Phases.execute();
             mucAsSeenByOwner.getConfigFormManager()
                 .enablePublicLogging()
                 .submitConfigurationForm();
 
             // Verify result
+            Phases.verify();
             assertResult(detected170Status, "Expected '" + conTwo.getUser()+ "' that is an occupant of room '" + mucAddress + "' (as '" + nicknameParticipant + "') to receive a notification with status code '170' after room owner '" + conOne.getUser() + "' (as '" + nicknameOwner + "') reconfigured the room to have public logging enabled (but no such status was received).");
         } catch (MultiUserChatException.MucConfigurationNotSupportedException e) {
             throw new TestNotPossibleException("Unable to configure a room with public logging enabled.", e);
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             mucAsSeenByParticipant.removeMessageListener(listener);
             tryDestroy(mucAsSeenByOwner);
         }
@@ -145,6 +155,7 @@ public class MultiUserChatSecurityConsiderationsIntegrationTest extends Abstract
     public void testAnonymityStatusOnInitialPresence() throws XmppStringprepException, MultiUserChatException.MucAlreadyJoinedException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, MultiUserChatException.MissingMucCreationAcknowledgeException, SmackException.NoResponseException, InterruptedException, MultiUserChatException.NotAMucServiceException, TestNotPossibleException
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("security-initial-100");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -154,13 +165,16 @@ public class MultiUserChatSecurityConsiderationsIntegrationTest extends Abstract
             createMucNonAnonymous(mucAsSeenByOwner, nicknameOwner);
 
             // Execute system under test
+            Phases.execute();
             final Presence initialPresence = mucAsSeenByParticipant.join(nicknameParticipant);
 
             // Verify result
+            Phases.verify();
             final MUCUser extension = MUCUser.from(initialPresence);
             assertTrue(extension.getStatus().stream().anyMatch(status -> status.getCode() == 100), "Expected the initial presence received by '" + conTwo.getUser()+ "' when it joined room '" + mucAddress + "' (as '" + nicknameParticipant + "') to include status code '100', as the room is configured to be non-anonymous (but no such status was received).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             tryDestroy(mucAsSeenByOwner);
         }
     }
@@ -173,6 +187,7 @@ public class MultiUserChatSecurityConsiderationsIntegrationTest extends Abstract
     public void testAnonymityStatusOnConfigChange() throws XmppStringprepException, MultiUserChatException.MucAlreadyJoinedException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, MultiUserChatException.MissingMucCreationAcknowledgeException, SmackException.NoResponseException, InterruptedException, MultiUserChatException.NotAMucServiceException, TestNotPossibleException, TimeoutException
     {
         // Setup test fixture.
+        Phases.setup();
         final EntityBareJid mucAddress = getRandomRoom("security-reconfig-172");
         final MultiUserChat mucAsSeenByOwner = mucManagerOne.getMultiUserChat(mucAddress);
         final MultiUserChat mucAsSeenByParticipant = mucManagerTwo.getMultiUserChat(mucAddress);
@@ -193,15 +208,18 @@ public class MultiUserChatSecurityConsiderationsIntegrationTest extends Abstract
             mucAsSeenByParticipant.addMessageListener(listener);
 
             // Execute system under test.
+            Phases.execute();
             final Form configForm = mucAsSeenByOwner.getConfigurationForm();
             final FillableForm answerForm = configForm.getFillableForm();
             answerForm.setAnswer("muc#roomconfig_whois", "anyone");
             mucAsSeenByOwner.sendConfigurationForm(answerForm);
 
             // Verify result
+            Phases.verify();
             assertResult(detected172Status, "Expected '" + conTwo.getUser()+ "' that is an occupant of room '" + mucAddress + "' (as '" + nicknameParticipant + "') to receive a notification with status code '172' after room owner '" + conOne.getUser() + "' (as '" + nicknameOwner + "') reconfigured the room from semi-anonymous to non-anonymous (but no such status was received).");
         } finally {
             // Tear down test fixture.
+            Phases.teardown();
             mucAsSeenByParticipant.removeMessageListener(listener);
             tryDestroy(mucAsSeenByOwner);
         }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests that verify the statistical test that is implemented in {@link PerformanceRegressionTestRunResultProcessor}
+ *
+ * @author Guus der Kinderen, guus@goodbytes.nl
+ */
+public class PerformanceRegressionTestRunResultProcessorTest
+{
+    @Test
+    public void testSingleValueLargerThanAllReferenceValues() throws Exception
+    {
+        // Setup test fixture.
+        final double[] sample = { 200 };
+        final double[] reference = new double[20];
+        for (int i = 0; i < reference.length; i++) {
+            reference[i] = 100 + i;
+        }
+
+        // Execute system under test.
+        final double result = PerformanceRegressionTestRunResultProcessor.mannWhitneyGreater(sample, reference);
+
+        // Verify results.
+        assertEquals(1 / 21.0, result, 1e-9);
+    }
+
+    @Test
+    public void testSingleValueSmallerThanAllReferenceValues() throws Exception
+    {
+        // Setup test fixture.
+        final double[] sample = { 50 };
+        final double[] reference = { 100, 101, 102, 103, 104 };
+
+        // Execute system under test.
+        final double result = PerformanceRegressionTestRunResultProcessor.mannWhitneyGreater(sample, reference);
+
+        // Verify results.
+        assertEquals(1.0, result, 1e-9);
+    }
+
+    @Test
+    public void testIdenticalValuesAreNotSignificant() throws Exception
+    {
+        // Setup test fixture.
+        final double[] sample = { 5, 5, 5 };
+        final double[] reference = { 5, 5, 5, 5, 5, 5 };
+
+        // Execute system under test.
+        final double result = PerformanceRegressionTestRunResultProcessor.mannWhitneyGreater(sample, reference);
+
+        // Verify results.
+        assertTrue(result > 0.5);
+    }
+
+    @Test
+    public void testNormalApproximationForLargeSamples() throws Exception
+    {
+        // Setup test fixture.
+        final double[] sample = new double[30];
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = 100 + i;
+        }
+        final double[] reference = new double[100];
+        for (int i = 0; i < reference.length; i++) {
+            reference[i] = i;
+        }
+
+        // Execute system under test.
+        final double result = PerformanceRegressionTestRunResultProcessor.mannWhitneyGreater(sample, reference);
+
+        // Verify results.
+        assertTrue(result < 0.001);
+    }
+
+    @Test
+    public void testMinimumReferenceSize() throws Exception
+    {
+        // Execute system under test.
+        final int single = PerformanceRegressionTestRunResultProcessor.minimumReferenceSize(1, 0.05);
+        final int triple = PerformanceRegressionTestRunResultProcessor.minimumReferenceSize(3, 0.05);
+
+        // Verify results.
+        assertEquals(20, single);
+        assertEquals(4, triple); // 1 / (7 choose 3) = 1/35, while 1 / (6 choose 3) = 1/20 is not below 0.05
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2025 Guus der Kinderen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jivesoftware.smackx.caps;
+
+import org.jivesoftware.smackx.disco.packet.DiscoverInfo;
+import org.jivesoftware.smackx.disco.packet.DiscoverInfoBuilder;
+import org.jivesoftware.smackx.xdata.FormField;
+import org.jivesoftware.smackx.xdata.packet.DataForm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests that verify the implementation of {@link CapsUtil}
+ *
+ * @author Guus der Kinderen, guus.der.kinderen@gmail.com
+ */
+public class CapsUtilTest
+{
+    @BeforeEach
+    public void setUp()
+    {
+        CapsUtil.clearCache();
+    }
+
+    @Test
+    public void testCachedEqualsUncached() throws Exception
+    {
+        // Setup test fixture.
+        final DiscoverInfo discoInfo = generateDiscoInfo(60, 0, false);
+
+        // Execute system under test.
+        final CapsVersionAndHash cached = CapsUtil.generateVerificationString(discoInfo);
+        final CapsVersionAndHash uncached = CapsUtil.generateVerificationStringUncached(discoInfo);
+
+        // Verify results.
+        assertEquals(uncached.version, cached.version);
+        assertEquals(uncached.hash, cached.hash);
+    }
+
+    @Test
+    public void testSameContentHitsCache() throws Exception
+    {
+        // Setup test fixture.
+        final DiscoverInfo discoInfo = generateDiscoInfo(60, 0, false);
+        final DiscoverInfo sameContentReordered = generateDiscoInfo(60, 0, true);
+        CapsUtil.generateVerificationString(discoInfo);
+
+        // Execute system under test.
+        final CapsVersionAndHash result = CapsUtil.generateVerificationString(sameContentReordered);
+
+        // Verify results.
+        assertEquals(1, CapsUtil.getCacheMisses());
+        assertEquals(1, CapsUtil.getCacheHits());
+        assertEquals(CapsUtil.generateVerificationStringUncached(sameContentReordered).version, result.version);
+    }
+
+    @Test
+    public void testDifferentContentMissesCache() throws Exception
+    {
+        // Setup test fixture.
+        final DiscoverInfo discoInfo = generateDiscoInfo(60, 0, false);
+        final DiscoverInfo otherContent = generateDiscoInfo(60, 1, false);
+        final CapsVersionAndHash original = CapsUtil.generateVerificationString(discoInfo);
+
+        // Execute system under test.
+        final CapsVersionAndHash result = CapsUtil.generateVerificationString(otherContent);
+
+        // Verify results.
+        assertEquals(2, CapsUtil.getCacheMisses());
+        assertNotEquals(original.version, result.version);
+        assertEquals(CapsUtil.generateVerificationStringUncached(otherContent).version, result.version);
+    }
+
+    @Test
+    public void testAbsentNameDoesNotCollideWithNullString() throws Exception
+    {
+        // Setup test fixture.
+        final DiscoverInfo withoutName = DiscoverInfo.builder("test-without-name")
+            .addIdentity(new DiscoverInfo.Identity("client", "pc", null, null))
+            .addFeature("http://jabber.org/protocol/caps")
+            .build();
+        final DiscoverInfo withNullString = DiscoverInfo.builder("test-with-null-string")
+            .addIdentity(new DiscoverInfo.Identity("client", "pc", "null", null))
+            .addFeature("http://jabber.org/protocol/caps")
+            .build();
+        CapsUtil.generateVerificationString(withoutName);
+
+        // Execute system under test.
+        final CapsVersionAndHash result = CapsUtil.generateVerificationString(withNullString);
+
+        // Verify results.
+        assertEquals(2, CapsUtil.getCacheMisses());
+        assertEquals(CapsUtil.generateVerificationStringUncached(withNullString).version, result.version);
+    }
+
+    /**
+     * Generates a disco#info element that resembles what is sent by a typical client.
+     *
+     * @param featureCount The amount of features.
+     * @param variant A number that is included in the features and form, to be able to generate different payloads.
+     * @param reverse Whether to add identities, features and forms in reverse order.
+     */
+    static DiscoverInfo generateDiscoInfo(final int featureCount, final int variant, final boolean reverse)
+    {
+        final List<String> features = new ArrayList<>(featureCount);
+        features.add("http://jabber.org/protocol/caps");
+        features.add("http://jabber.org/protocol/disco#info");
+        features.add("http://jabber.org/protocol/disco#items");
+        for (int i = features.size(); i < featureCount; i++) {
+            features.add("urn:example:xmppinteroptesting:feature:" + variant + ":" + i + "+notify");
+        }
+
+        final List<DiscoverInfo.Identity> identities = new ArrayList<>();
+        identities.add(new DiscoverInfo.Identity("client", "pc"));
+        identities.add(new DiscoverInfo.Identity("client", "phone"));
+
+        final List<DataForm> forms = new ArrayList<>();
+        forms.add(DataForm.builder(DataForm.Type.result)
+            .setFormType("urn:xmpp:dataforms:softwareinfo")
+            .addField(FormField.textSingleBuilder("os").setValue("Linux").build())
+            .addField(FormField.textSingleBuilder("software").setValue("Test Client " + variant).build())
+            .build());
+
+        if (reverse) {
+            Collections.reverse(features);
+            Collections.reverse(identities);
+        }
+
+        final DiscoverInfoBuilder builder = DiscoverInfo.builder("test-" + variant);
+        identities.forEach(builder::addIdentity);
+        features.forEach(builder::addFeature);
+        forms.forEach(builder::addExtension);
+        return builder.build();
+    }
+}